@@ -23,6 +23,7 @@ import org.apache.flink.annotation.Internal;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
 import org.apache.kafka.common.TopicPartition;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 
@@ -51,4 +52,14 @@ public class KafkaConsumerCallBridge010 extends KafkaConsumerCallBridge {
 	public void seekPartitionToEnd(KafkaConsumer<?, ?> consumer, TopicPartition partition) {
 		consumer.seekToEnd(Collections.singletonList(partition));
 	}
+
+	@Override
+	public void pausePartitions(KafkaConsumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+		consumer.pause(partitions);
+	}
+
+	@Override
+	public void resumePartitions(KafkaConsumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+		consumer.resume(partitions);
+	}
 }
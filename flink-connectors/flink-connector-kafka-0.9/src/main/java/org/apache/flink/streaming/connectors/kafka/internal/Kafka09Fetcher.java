@@ -41,9 +41,11 @@ import org.slf4j.LoggerFactory;
 import javax.annotation.Nonnull;
 
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
 
 import static org.apache.flink.util.Preconditions.checkState;
 
@@ -242,4 +244,14 @@ public class Kafka09Fetcher<T> extends AbstractFetcher<T, TopicPartition> {
 		// record the work to be committed by the main consumer thread and make sure the consumer notices that
 		consumerThread.setOffsetsToCommit(offsetsToCommit, commitCallback);
 	}
+
+	@Override
+	protected void updatePausedPartitions(List<KafkaTopicPartitionState<TopicPartition>> pausedPartitions) {
+		Set<TopicPartition> partitionsToPause = new HashSet<>(pausedPartitions.size());
+		for (KafkaTopicPartitionState<TopicPartition> partition : pausedPartitions) {
+			partitionsToPause.add(partition.getKafkaPartitionHandle());
+		}
+
+		consumerThread.setPausedPartitions(partitionsToPause);
+	}
 }
@@ -23,6 +23,7 @@ import org.apache.flink.annotation.Internal;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
 import org.apache.kafka.common.TopicPartition;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -50,4 +51,12 @@ public class KafkaConsumerCallBridge {
 		consumer.seekToEnd(partition);
 	}
 
+	public void pausePartitions(KafkaConsumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+		consumer.pause(partitions.toArray(new TopicPartition[0]));
+	}
+
+	public void resumePartitions(KafkaConsumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+		consumer.resume(partitions.toArray(new TopicPartition[0]));
+	}
+
 }
@@ -41,10 +41,13 @@ import org.slf4j.Logger;
 import javax.annotation.Nonnull;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static org.apache.flink.util.Preconditions.checkNotNull;
@@ -74,6 +77,12 @@ public class KafkaConsumerThread extends Thread {
 	/** The next offsets that the main thread should commit and the commit callback. */
 	private final AtomicReference<Tuple2<Map<TopicPartition, OffsetAndMetadata>, KafkaCommitCallback>> nextOffsetsToCommit;
 
+	/** The partitions that the consumer should pause next, or null if they did not change. */
+	private final AtomicReference<Set<TopicPartition>> nextPausedPartitions;
+
+	/** The partitions that are currently paused in the consumer. */
+	private Set<TopicPartition> pausedPartitions;
+
 	/** The configuration for the Kafka consumer. */
 	private final Properties kafkaProperties;
 
@@ -149,6 +158,8 @@ public class KafkaConsumerThread extends Thread {
 
 		this.consumerReassignmentLock = new Object();
 		this.nextOffsetsToCommit = new AtomicReference<>();
+		this.nextPausedPartitions = new AtomicReference<>();
+		this.pausedPartitions = Collections.emptySet();
 		this.running = true;
 	}
 
@@ -251,6 +262,12 @@ public class KafkaConsumerThread extends Thread {
 					continue;
 				}
 
+				// check if the paused partitions have changed
+				final Set<TopicPartition> newPausedPartitions = nextPausedPartitions.getAndSet(null);
+				if (newPausedPartitions != null) {
+					updatePausedPartitions(newPausedPartitions);
+				}
+
 				// get the next batch of records, unless we did not manage to hand the old batch over
 				if (records == null) {
 					try {
@@ -318,6 +335,18 @@ public class KafkaConsumerThread extends Thread {
 		}
 	}
 
+	/**
+	 * Tells this thread to pause fetching from the given partitions, and to resume fetching from
+	 * all other partitions. This method does not block, the partitions are paused and resumed
+	 * before the next poll of the consumer. Records of paused partitions which have already been
+	 * fetched are still handed over.
+	 *
+	 * @param partitions The partitions to pause
+	 */
+	void setPausedPartitions(Set<TopicPartition> partitions) {
+		nextPausedPartitions.set(checkNotNull(partitions));
+	}
+
 	/**
 	 * Tells this thread to commit a set of offsets. This method does not block, the committing
 	 * operation will happen asynchronously.
@@ -477,6 +506,30 @@ public class KafkaConsumerThread extends Thread {
 		}
 	}
 
+	private void updatePausedPartitions(Set<TopicPartition> newPausedPartitions) {
+		final Set<TopicPartition> assignedPartitions = consumer.assignment();
+
+		final List<TopicPartition> partitionsToResume = new ArrayList<>();
+		for (TopicPartition partition : pausedPartitions) {
+			if (!newPausedPartitions.contains(partition) && assignedPartitions.contains(partition)) {
+				partitionsToResume.add(partition);
+			}
+		}
+
+		// partitions that are not assigned yet are paused once the alignment checks them again
+		final Set<TopicPartition> partitionsToPause = new HashSet<>(newPausedPartitions);
+		partitionsToPause.retainAll(assignedPartitions);
+
+		if (!partitionsToResume.isEmpty()) {
+			consumerCallBridge.resumePartitions(consumer, partitionsToResume);
+		}
+		if (!partitionsToPause.isEmpty()) {
+			consumerCallBridge.pausePartitions(consumer, partitionsToPause);
+		}
+
+		pausedPartitions = partitionsToPause;
+	}
+
 	@VisibleForTesting
 	KafkaConsumer<byte[], byte[]> getConsumer(Properties kafkaProperties) {
 		return new KafkaConsumer<>(kafkaProperties);
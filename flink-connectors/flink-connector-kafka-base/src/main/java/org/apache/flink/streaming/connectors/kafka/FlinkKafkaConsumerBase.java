@@ -37,6 +37,7 @@ import org.apache.flink.runtime.state.FunctionSnapshotContext;
 import org.apache.flink.streaming.api.checkpoint.CheckpointedFunction;
 import org.apache.flink.streaming.api.functions.AssignerWithPeriodicWatermarks;
 import org.apache.flink.streaming.api.functions.AssignerWithPunctuatedWatermarks;
+import org.apache.flink.streaming.api.functions.source.GlobalWatermarkTracker;
 import org.apache.flink.streaming.api.functions.source.RichParallelSourceFunction;
 import org.apache.flink.streaming.api.operators.StreamingRuntimeContext;
 import org.apache.flink.streaming.connectors.kafka.config.OffsetCommitMode;
@@ -108,6 +109,15 @@ public abstract class FlinkKafkaConsumerBase<T> extends RichParallelSourceFuncti
 	/** State name of the consumer's partition offset states. */
 	private static final String OFFSETS_STATE_NAME = "topic-partition-offset-states";
 
+	/** Prefix of the names of the global aggregates that align the watermarks of a group of sources. */
+	private static final String WATERMARK_ALIGNMENT_AGGREGATE_PREFIX = "watermark-alignment-";
+
+	/**
+	 * The number of alignment intervals after which a subtask which did not report its watermark
+	 * anymore does not hold back the watermark alignment of the other subtasks.
+	 */
+	private static final int WATERMARK_ALIGNMENT_EXPIRATION_INTERVALS = 10;
+
 	// ------------------------------------------------------------------------
 	//  configuration state, set on the client relevant for all subtasks
 	// ------------------------------------------------------------------------
@@ -156,6 +166,15 @@ public abstract class FlinkKafkaConsumerBase<T> extends RichParallelSourceFuncti
 	/** Timestamp to determine startup offsets; only relevant when startup mode is {@link StartupMode#TIMESTAMP}. */
 	private Long startupOffsetsTimestamp;
 
+	/** The group of sources whose watermarks are aligned, or null if the watermark alignment is disabled. */
+	private String watermarkAlignmentGroup;
+
+	/** The maximum drift of the watermark of a partition ahead of the aligned watermark, in milliseconds. */
+	private long watermarkAlignmentMaxDrift;
+
+	/** The interval in which the watermarks are aligned, in milliseconds. */
+	private long watermarkAlignmentInterval;
+
 	// ------------------------------------------------------------------------
 	//  runtime state (used individually by each parallel subtask)
 	// ------------------------------------------------------------------------
@@ -335,6 +354,42 @@ public abstract class FlinkKafkaConsumerBase<T> extends RichParallelSourceFuncti
 		return this;
 	}
 
+	/**
+	 * Aligns the watermarks of this consumer with the watermarks of all other sources in the same
+	 * alignment group. The subtasks of the sources share their current watermark through the
+	 * JobMaster, and a subtask stops fetching from a Kafka partition whose watermark is more than
+	 * the maximum drift ahead of the minimum watermark of the group. The partition is resumed once
+	 * the watermark of the group has caught up.
+	 *
+	 * <p>This bounds the amount of data which downstream event time operators, like windows or
+	 * joins, have to buffer when some partitions or sources lag behind, for example when
+	 * reprocessing historic data. The records which the consumer has already fetched from a
+	 * partition are still emitted when the partition is paused, so the drift is not strictly bounded.
+	 *
+	 * <p>The alignment requires an {@link AssignerWithPeriodicWatermarks}. It does not pause
+	 * partitions as long as a subtask of the group has not emitted a watermark yet. The consumer for
+	 * Kafka 0.8 only shares its watermark with the group and does not pause partitions.
+	 *
+	 * @param alignmentGroup The name of the group of sources whose watermarks are aligned.
+	 * @param maxDriftMillis The maximum drift of the watermark of a partition ahead of the
+	 *                       watermark of the group, in milliseconds.
+	 * @param updateIntervalMillis The interval in which the watermarks are shared, in milliseconds.
+	 * @return The consumer object, to allow function chaining.
+	 */
+	public FlinkKafkaConsumerBase<T> setWatermarkAlignment(
+			String alignmentGroup,
+			long maxDriftMillis,
+			long updateIntervalMillis) {
+
+		checkArgument(maxDriftMillis >= 0, "The maximum drift must not be negative.");
+		checkArgument(updateIntervalMillis > 0, "The update interval must be positive.");
+
+		this.watermarkAlignmentGroup = checkNotNull(alignmentGroup);
+		this.watermarkAlignmentMaxDrift = maxDriftMillis;
+		this.watermarkAlignmentInterval = updateIntervalMillis;
+		return this;
+	}
+
 	/**
 	 * Specifies the consumer to start reading from the earliest offset for all partitions.
 	 * This lets the consumer ignore any committed group offsets in Zookeeper / Kafka brokers.
@@ -455,6 +510,10 @@ public abstract class FlinkKafkaConsumerBase<T> extends RichParallelSourceFuncti
 
 	@Override
 	public void open(Configuration configuration) throws Exception {
+		if (watermarkAlignmentGroup != null && periodicWatermarkAssigner == null) {
+			throw new IllegalStateException("The watermark alignment requires an AssignerWithPeriodicWatermarks.");
+		}
+
 		// determine the offset commit mode
 		this.offsetCommitMode = OffsetCommitModes.fromConfiguration(
 				getIsAutoCommitEnabled(),
@@ -654,6 +713,19 @@ public abstract class FlinkKafkaConsumerBase<T> extends RichParallelSourceFuncti
 				getRuntimeContext().getMetricGroup().addGroup(KAFKA_CONSUMER_METRICS_GROUP),
 				useMetrics);
 
+		if (watermarkAlignmentGroup != null) {
+			final StreamingRuntimeContext runtimeContext = (StreamingRuntimeContext) getRuntimeContext();
+
+			kafkaFetcher.enableWatermarkAlignment(
+				new GlobalWatermarkTracker(
+					runtimeContext.getGlobalAggregateManager(),
+					WATERMARK_ALIGNMENT_AGGREGATE_PREFIX + watermarkAlignmentGroup,
+					runtimeContext.getOperatorUniqueID() + '-' + runtimeContext.getIndexOfThisSubtask(),
+					WATERMARK_ALIGNMENT_EXPIRATION_INTERVALS * watermarkAlignmentInterval),
+				watermarkAlignmentMaxDrift,
+				watermarkAlignmentInterval);
+		}
+
 		if (!running) {
 			return;
 		}
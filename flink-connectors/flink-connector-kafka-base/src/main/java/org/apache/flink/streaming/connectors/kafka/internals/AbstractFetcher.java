@@ -23,6 +23,7 @@ import org.apache.flink.metrics.Gauge;
 import org.apache.flink.metrics.MetricGroup;
 import org.apache.flink.streaming.api.functions.AssignerWithPeriodicWatermarks;
 import org.apache.flink.streaming.api.functions.AssignerWithPunctuatedWatermarks;
+import org.apache.flink.streaming.api.functions.source.GlobalWatermarkTracker;
 import org.apache.flink.streaming.api.functions.source.SourceFunction.SourceContext;
 import org.apache.flink.streaming.api.watermark.Watermark;
 import org.apache.flink.streaming.connectors.kafka.config.OffsetCommitMode;
@@ -31,12 +32,19 @@ import org.apache.flink.streaming.runtime.tasks.ProcessingTimeCallback;
 import org.apache.flink.streaming.runtime.tasks.ProcessingTimeService;
 import org.apache.flink.util.SerializedValue;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import javax.annotation.Nonnull;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 
@@ -46,7 +54,10 @@ import static org.apache.flink.streaming.connectors.kafka.internals.metrics.Kafk
 import static org.apache.flink.streaming.connectors.kafka.internals.metrics.KafkaConsumerMetricConstants.LEGACY_CURRENT_OFFSETS_METRICS_GROUP;
 import static org.apache.flink.streaming.connectors.kafka.internals.metrics.KafkaConsumerMetricConstants.OFFSETS_BY_PARTITION_METRICS_GROUP;
 import static org.apache.flink.streaming.connectors.kafka.internals.metrics.KafkaConsumerMetricConstants.OFFSETS_BY_TOPIC_METRICS_GROUP;
+import static org.apache.flink.streaming.connectors.kafka.internals.metrics.KafkaConsumerMetricConstants.PAUSED_PARTITIONS_METRICS_GAUGE;
+import static org.apache.flink.util.Preconditions.checkArgument;
 import static org.apache.flink.util.Preconditions.checkNotNull;
+import static org.apache.flink.util.Preconditions.checkState;
 
 /**
  * Base class for all fetchers, which implement the connections to Kafka brokers and
@@ -62,6 +73,8 @@ import static org.apache.flink.util.Preconditions.checkNotNull;
 @Internal
 public abstract class AbstractFetcher<T, KPH> {
 
+	private static final Logger LOG = LoggerFactory.getLogger(AbstractFetcher.class);
+
 	private static final int NO_TIMESTAMPS_WATERMARKS = 0;
 	private static final int PERIODIC_WATERMARKS = 1;
 	private static final int PUNCTUATED_WATERMARKS = 2;
@@ -109,6 +122,12 @@ public abstract class AbstractFetcher<T, KPH> {
 	/** User class loader used to deserialize watermark assigners. */
 	private final ClassLoader userCodeClassLoader;
 
+	/** The service to register the timers for the periodic watermarks and the watermark alignment. */
+	private final ProcessingTimeService processingTimeProvider;
+
+	/** The number of partitions which are currently paused by the watermark alignment. */
+	private volatile int numPausedPartitions;
+
 	/** Only relevant for punctuated watermarks: The current cross partition watermark. */
 	private volatile long maxWatermarkSoFar = Long.MIN_VALUE;
 
@@ -148,6 +167,7 @@ public abstract class AbstractFetcher<T, KPH> {
 		this.sourceContext = checkNotNull(sourceContext);
 		this.checkpointLock = sourceContext.getCheckpointLock();
 		this.userCodeClassLoader = checkNotNull(userCodeClassLoader);
+		this.processingTimeProvider = processingTimeProvider;
 
 		this.useMetrics = useMetrics;
 		this.consumerMetricGroup = checkNotNull(consumerMetricGroup);
@@ -268,6 +288,51 @@ public abstract class AbstractFetcher<T, KPH> {
 
 	public abstract void cancel();
 
+	// ------------------------------------------------------------------------
+	//  Watermark alignment
+	// ------------------------------------------------------------------------
+
+	/**
+	 * Enables the alignment of the watermarks of this fetcher with the watermarks of all other
+	 * source subtasks that use the same {@link GlobalWatermarkTracker} aggregate. In the given
+	 * interval, the fetcher reports the minimum watermark of its partitions to the tracker and
+	 * pauses the partitions whose watermark is more than the maximum drift ahead of the global
+	 * minimum watermark. The partitions are resumed once the global watermark has caught up.
+	 * The global watermark is updated asynchronously, so the partitions are paused and resumed
+	 * based on the result of the previous update, which arrived while the fetcher kept running.
+	 *
+	 * <p>The alignment requires periodic watermarks. It does not pause any partitions as long as
+	 * one of the aligned subtasks has not emitted a watermark yet.
+	 *
+	 * @param watermarkTracker The tracker which shares the watermark of this fetcher.
+	 * @param maxDrift The maximum difference between the watermark of a partition and the global
+	 *                 watermark, in milliseconds.
+	 * @param updateInterval The interval in which the watermark is shared, in milliseconds.
+	 */
+	public void enableWatermarkAlignment(GlobalWatermarkTracker watermarkTracker, long maxDrift, long updateInterval) {
+		checkState(timestampWatermarkMode == PERIODIC_WATERMARKS,
+			"The watermark alignment requires periodic watermarks.");
+		checkArgument(maxDrift >= 0, "The maximum drift must not be negative.");
+		checkArgument(updateInterval > 0, "The update interval must be positive.");
+
+		if (useMetrics) {
+			consumerMetricGroup.gauge(PAUSED_PARTITIONS_METRICS_GAUGE, () -> numPausedPartitions);
+		}
+
+		new WatermarkAlignmentCallback(checkNotNull(watermarkTracker), maxDrift, updateInterval).start();
+	}
+
+	/**
+	 * Pauses fetching from the given partitions, and resumes fetching from all other partitions
+	 * that were paused before. This is called by the watermark alignment, under the checkpoint lock.
+	 *
+	 * <p>The default implementation does not pause any partitions, so that the fetcher only shares
+	 * its watermark with the other aligned subtasks.
+	 *
+	 * @param pausedPartitions The partitions that should not be fetched from.
+	 */
+	protected void updatePausedPartitions(List<KafkaTopicPartitionState<KPH>> pausedPartitions) {}
+
 	// ------------------------------------------------------------------------
 	//  Kafka version specifics
 	// ------------------------------------------------------------------------
@@ -669,6 +734,93 @@ public abstract class AbstractFetcher<T, KPH> {
 	}
  	// ------------------------------------------------------------------------
 
+	/**
+	 * The callback of the watermark alignment, which shares the watermark of this fetcher and
+	 * pauses the partitions that are too far ahead.
+	 */
+	private class WatermarkAlignmentCallback implements ProcessingTimeCallback {
+
+		private final GlobalWatermarkTracker watermarkTracker;
+
+		private final long maxDrift;
+
+		private final long interval;
+
+		/** The last update of the global watermark, which may still be in flight. */
+		private CompletableFuture<Long> pendingUpdate;
+
+		WatermarkAlignmentCallback(GlobalWatermarkTracker watermarkTracker, long maxDrift, long interval) {
+			this.watermarkTracker = watermarkTracker;
+			this.maxDrift = maxDrift;
+			this.interval = interval;
+		}
+
+		void start() {
+			processingTimeProvider.registerTimer(processingTimeProvider.getCurrentProcessingTime() + interval, this);
+		}
+
+		@Override
+		public void onProcessingTime(long timestamp) throws Exception {
+			// the partitions may be added concurrently, so we work on a stable copy
+			final List<KafkaTopicPartitionState<KPH>> partitions = new ArrayList<>(subscribedPartitionStates);
+			final long[] partitionWatermarks = new long[partitions.size()];
+
+			// a fetcher without partitions must not hold back the other subtasks
+			long localWatermark = Long.MAX_VALUE;
+			for (int i = 0; i < partitions.size(); i++) {
+				final KafkaTopicPartitionState<KPH> state = partitions.get(i);
+
+				//noinspection SynchronizationOnLocalVariableOrMethodParameter
+				synchronized (state) {
+					partitionWatermarks[i] =
+						((KafkaTopicPartitionStateWithPeriodicWatermarks<?, ?>) state).getCurrentWatermarkTimestamp();
+				}
+				localWatermark = Math.min(localWatermark, partitionWatermarks[i]);
+			}
+
+			// this runs under the checkpoint lock, so we never wait for the JobMaster here: the global
+			// watermark is updated asynchronously and its result is applied in a later call
+			if (pendingUpdate == null) {
+				pendingUpdate = watermarkTracker.updateWatermark(localWatermark);
+			} else if (pendingUpdate.isDone()) {
+				applyGlobalWatermark(getGlobalWatermark(), partitions, partitionWatermarks);
+				pendingUpdate = watermarkTracker.updateWatermark(localWatermark);
+			}
+
+			processingTimeProvider.registerTimer(processingTimeProvider.getCurrentProcessingTime() + interval, this);
+		}
+
+		private long getGlobalWatermark() {
+			try {
+				return pendingUpdate.getNow(Long.MIN_VALUE);
+			} catch (CompletionException | CancellationException e) {
+				// we rather resume all partitions than stalling on a stale global watermark
+				LOG.warn("Could not update the global watermark, resuming all partitions.", e);
+				return Long.MIN_VALUE;
+			}
+		}
+
+		private void applyGlobalWatermark(
+				long globalWatermark,
+				List<KafkaTopicPartitionState<KPH>> partitions,
+				long[] partitionWatermarks) {
+
+			final List<KafkaTopicPartitionState<KPH>> pausedPartitions = new ArrayList<>();
+
+			// as long as some subtask has no watermark, the drift of the other ones is not defined
+			if (globalWatermark != Long.MIN_VALUE && globalWatermark <= Long.MAX_VALUE - maxDrift) {
+				for (int i = 0; i < partitions.size(); i++) {
+					if (partitionWatermarks[i] > globalWatermark + maxDrift) {
+						pausedPartitions.add(partitions.get(i));
+					}
+				}
+			}
+
+			numPausedPartitions = pausedPartitions.size();
+			updatePausedPartitions(pausedPartitions);
+		}
+	}
+
 	/**
 	 * The periodic watermark emitter. In its given interval, it checks all partitions for
 	 * the current event time watermark, and possibly emits the next watermark.
@@ -36,6 +36,8 @@ public class KafkaConsumerMetricConstants {
 	public static final String COMMITS_SUCCEEDED_METRICS_COUNTER = "commitsSucceeded";
 	public static final String COMMITS_FAILED_METRICS_COUNTER = "commitsFailed";
 
+	public static final String PAUSED_PARTITIONS_METRICS_GAUGE = "pausedPartitions";
+
 	// ------------------------------------------------------------------------
 	//  Per-partition metrics
 	// ------------------------------------------------------------------------
@@ -18,11 +18,15 @@
 
 package org.apache.flink.streaming.connectors.kafka.internals;
 
+import org.apache.flink.api.common.functions.AggregateFunction;
 import org.apache.flink.core.testutils.CheckedThread;
 import org.apache.flink.core.testutils.OneShotLatch;
 import org.apache.flink.metrics.groups.UnregisteredMetricsGroup;
+import org.apache.flink.runtime.taskexecutor.GlobalAggregateManager;
+import org.apache.flink.runtime.taskexecutor.TestGlobalAggregateManager;
 import org.apache.flink.streaming.api.functions.AssignerWithPeriodicWatermarks;
 import org.apache.flink.streaming.api.functions.AssignerWithPunctuatedWatermarks;
+import org.apache.flink.streaming.api.functions.source.GlobalWatermarkTracker;
 import org.apache.flink.streaming.api.functions.source.SourceFunction.SourceContext;
 import org.apache.flink.streaming.api.watermark.Watermark;
 import org.apache.flink.streaming.connectors.kafka.testutils.TestSourceContext;
@@ -35,13 +39,19 @@ import org.junit.Test;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -434,13 +444,161 @@ public class AbstractFetcherTest {
 		checkedThread.sync();
 	}
 
+	@Test
+	public void testWatermarkAlignment() throws Exception {
+		final String testTopic = "test topic name";
+		Map<KafkaTopicPartition, Long> originalPartitions = new HashMap<>();
+		originalPartitions.put(new KafkaTopicPartition(testTopic, 7), KafkaTopicPartitionStateSentinel.LATEST_OFFSET);
+		originalPartitions.put(new KafkaTopicPartition(testTopic, 13), KafkaTopicPartitionStateSentinel.LATEST_OFFSET);
+		originalPartitions.put(new KafkaTopicPartition(testTopic, 21), KafkaTopicPartitionStateSentinel.LATEST_OFFSET);
+
+		TestSourceContext<Long> sourceContext = new TestSourceContext<>();
+
+		TestProcessingTimeService processingTimeService = new TestProcessingTimeService();
+
+		TestFetcher<Long> fetcher = new TestFetcher<>(
+				sourceContext,
+				originalPartitions,
+				new SerializedValue<AssignerWithPeriodicWatermarks<Long>>(new PeriodicTestExtractor()),
+				null, /* punctuated watermarks assigner*/
+				processingTimeService,
+				10);
+
+		// another subtask of the alignment group is at event time 100
+		TestGlobalAggregateManager aggregateManager = new TestGlobalAggregateManager();
+		GlobalWatermarkTracker otherTracker = new GlobalWatermarkTracker(aggregateManager, "group", "other", 60_000L);
+		otherTracker.updateWatermark(100L).get();
+
+		fetcher.enableWatermarkAlignment(
+			new GlobalWatermarkTracker(aggregateManager, "group", "fetcher", 60_000L),
+			50L,
+			10L);
+
+		final KafkaTopicPartitionState<Object> part1 = fetcher.subscribedPartitionStates().get(0);
+		final KafkaTopicPartitionState<Object> part2 = fetcher.subscribedPartitionStates().get(1);
+		final KafkaTopicPartitionState<Object> part3 = fetcher.subscribedPartitionStates().get(2);
+
+		fetcher.emitRecord(200L, part1, 1L);
+		fetcher.emitRecord(120L, part2, 1L);
+
+		// the first update is sent, its result is only applied in the next interval
+		processingTimeService.setCurrentTime(10);
+		assertNull(fetcher.getLastPausedPartitions());
+
+		fetcher.emitRecord(130L, part3, 1L);
+
+		// nothing is paused as long as a partition had no watermark when the update was sent
+		processingTimeService.setCurrentTime(20);
+		assertEquals(Collections.emptyList(), fetcher.getLastPausedPartitions());
+
+		// partition 1 is more than 50 ms ahead of the other subtask
+		processingTimeService.setCurrentTime(30);
+		assertEquals(Collections.singletonList(part1), fetcher.getLastPausedPartitions());
+
+		// the other subtask catches up, but partition 1 is still too far ahead of this subtask
+		otherTracker.updateWatermark(1000L).get();
+
+		processingTimeService.setCurrentTime(40);
+		assertEquals(Collections.singletonList(part1), fetcher.getLastPausedPartitions());
+		processingTimeService.setCurrentTime(50);
+		assertEquals(Collections.singletonList(part1), fetcher.getLastPausedPartitions());
+
+		// this subtask catches up with partition 1
+		fetcher.emitRecord(180L, part2, 2L);
+		fetcher.emitRecord(190L, part3, 2L);
+
+		processingTimeService.setCurrentTime(60);
+		assertEquals(Collections.singletonList(part1), fetcher.getLastPausedPartitions());
+		processingTimeService.setCurrentTime(70);
+		assertEquals(Collections.emptyList(), fetcher.getLastPausedPartitions());
+
+		// partitions 2 and 3 are ahead of partition 1
+		fetcher.emitRecord(260L, part2, 3L);
+		fetcher.emitRecord(251L, part3, 3L);
+
+		processingTimeService.setCurrentTime(80);
+		assertEquals(Arrays.asList(part2, part3), fetcher.getLastPausedPartitions());
+	}
+
+	@Test
+	public void testWatermarkAlignmentDoesNotWaitForUpdates() throws Exception {
+		Map<KafkaTopicPartition, Long> originalPartitions = new HashMap<>();
+		originalPartitions.put(new KafkaTopicPartition("test topic name", 7), KafkaTopicPartitionStateSentinel.LATEST_OFFSET);
+
+		TestSourceContext<Long> sourceContext = new TestSourceContext<>();
+
+		TestProcessingTimeService processingTimeService = new TestProcessingTimeService();
+
+		TestFetcher<Long> fetcher = new TestFetcher<>(
+				sourceContext,
+				originalPartitions,
+				new SerializedValue<AssignerWithPeriodicWatermarks<Long>>(new PeriodicTestExtractor()),
+				null, /* punctuated watermarks assigner*/
+				processingTimeService,
+				10);
+
+		ManualGlobalAggregateManager aggregateManager = new ManualGlobalAggregateManager();
+
+		fetcher.enableWatermarkAlignment(
+			new GlobalWatermarkTracker(aggregateManager, "group", "fetcher", 60_000L),
+			50L,
+			10L);
+
+		final KafkaTopicPartitionState<Object> part1 = fetcher.subscribedPartitionStates().get(0);
+		fetcher.emitRecord(200L, part1, 1L);
+
+		processingTimeService.setCurrentTime(10);
+		assertEquals(1, aggregateManager.updates.size());
+
+		// no further update is sent while the previous one is in flight
+		processingTimeService.setCurrentTime(20);
+		assertEquals(1, aggregateManager.updates.size());
+		assertNull(fetcher.getLastPausedPartitions());
+
+		// the result is applied in the next interval
+		aggregateManager.updates.get(0).complete(100L);
+
+		processingTimeService.setCurrentTime(30);
+		assertEquals(2, aggregateManager.updates.size());
+		assertEquals(Collections.singletonList(part1), fetcher.getLastPausedPartitions());
+
+		// a failed update resumes all partitions
+		aggregateManager.updates.get(1).completeExceptionally(new IOException("test exception"));
+
+		processingTimeService.setCurrentTime(40);
+		assertEquals(3, aggregateManager.updates.size());
+		assertEquals(Collections.emptyList(), fetcher.getLastPausedPartitions());
+	}
+
 	// ------------------------------------------------------------------------
 	//  Test mocks
 	// ------------------------------------------------------------------------
 
+	/**
+	 * A {@link GlobalAggregateManager} whose updates are completed by the test.
+	 */
+	private static final class ManualGlobalAggregateManager implements GlobalAggregateManager {
+
+		final List<CompletableFuture<Object>> updates = new ArrayList<>();
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public <IN, ACC, OUT> CompletableFuture<OUT> updateGlobalAggregate(
+				String aggregateName,
+				IN aggregand,
+				AggregateFunction<IN, ACC, OUT> aggregateFunction) {
+
+			final CompletableFuture<Object> update = new CompletableFuture<>();
+			updates.add(update);
+			return (CompletableFuture<OUT>) update;
+		}
+	}
+
 	private static final class TestFetcher<T> extends AbstractFetcher<T, Object> {
 		Optional<Map<KafkaTopicPartition, Long>> lastCommittedOffsets = Optional.empty();
 
+		List<KafkaTopicPartitionState<Object>> lastPausedPartitions;
+
 		private final OneShotLatch fetchLoopWaitLatch;
 		private final OneShotLatch stateIterationBlockLatch;
 
@@ -525,6 +683,15 @@ public class AbstractFetcherTest {
 		public Optional<Map<KafkaTopicPartition, Long>> getLastCommittedOffsets() {
 			return lastCommittedOffsets;
 		}
+
+		@Override
+		protected void updatePausedPartitions(List<KafkaTopicPartitionState<Object>> pausedPartitions) {
+			lastPausedPartitions = pausedPartitions;
+		}
+
+		public List<KafkaTopicPartitionState<Object>> getLastPausedPartitions() {
+			return lastPausedPartitions;
+		}
 	}
 
 	// ------------------------------------------------------------------------
@@ -282,4 +282,47 @@ public interface KeyedStateStore {
 	 */
 	@PublicEvolving
 	<UK, UV> MapState<UK, UV> getMapState(MapStateDescriptor<UK, UV> stateProperties);
+
+	/**
+	 * Gets a handle to the system's key/value sorted map state. This state is similar to the state
+	 * accessed via {@link #getMapState(MapStateDescriptor)}, but the mappings are sorted by their
+	 * keys, so that the first and the last key and ranges of mappings can be retrieved without
+	 * iterating over all mappings.
+	 *
+	 * <p>This state is only accessible if the function is executed on a KeyedStream.
+	 *
+	 * <pre>{@code
+	 * DataStream<MyType> stream = ...;
+	 * KeyedStream<MyType> keyedStream = stream.keyBy("id");
+	 *
+	 * keyedStream.process(new KeyedProcessFunction<Key, MyType, List<MyType>>() {
+	 *
+	 *     private SortedMapState<Long, MyType> state;
+	 *
+	 *     public void open(Configuration cfg) {
+	 *         state = getRuntimeContext().getSortedMapState(
+	 *                 new SortedMapStateDescriptor<>("buffer", Comparator.naturalOrder(),
+	 *                         OrderPreservingLongSerializer.INSTANCE, new MyTypeSerializer()));
+	 *     }
+	 *
+	 *     public void processElement(MyType value, Context ctx, Collector<List<MyType>> out) {
+	 *         state.put(ctx.timestamp(), value);
+	 *         ...
+	 *     }
+	 * });
+	 *
+	 * }</pre>
+	 *
+	 * @param stateProperties The descriptor defining the properties of the stats.
+	 *
+	 * @param <UK> The type of the user keys stored in the state.
+	 * @param <UV> The type of the user values stored in the state.
+	 *
+	 * @return The partitioned state object.
+	 *
+	 * @throws UnsupportedOperationException Thrown, if no partitioned state is available for the
+	 *                                       function (function is not part of a KeyedStream).
+	 */
+	@PublicEvolving
+	<UK, UV> SortedMapState<UK, UV> getSortedMapState(SortedMapStateDescriptor<UK, UV> stateProperties);
 }
@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.api.common.state;
+
+import org.apache.flink.annotation.PublicEvolving;
+
+import javax.annotation.Nullable;
+
+import java.util.Map;
+
+/**
+ * {@link MapState} whose mappings are sorted by their keys. In addition to the operations of the
+ * {@code MapState}, the first and the last key and the mappings within a range of keys can be
+ * retrieved without iterating over all mappings of the state. This makes the state suitable for
+ * time-indexed data, like event buffers that are keyed by timestamp.
+ *
+ * <p>The keys are ordered by the comparator of the {@link SortedMapStateDescriptor}. Backends that
+ * keep their state in serialized form order the keys by their serialized bytes, so the key
+ * serializer must be order preserving, see {@link SortedMapStateDescriptor}.
+ *
+ * <p>The state is only accessible by functions applied on a {@code KeyedStream}. The key is
+ * automatically supplied by the system, so the function always sees the value mapped to the
+ * key of the current element. That way, the system can handle stream and state partitioning
+ * consistently together.
+ *
+ * @param <UK> Type of the keys in the state.
+ * @param <UV> Type of the values in the state.
+ */
+@PublicEvolving
+public interface SortedMapState<UK, UV> extends MapState<UK, UV> {
+
+	/**
+	 * Returns the lowest key in the state.
+	 *
+	 * @return The lowest key in the state, or {@code null} if the state is empty.
+	 *
+	 * @throws Exception Thrown if the system cannot access the state.
+	 */
+	@Nullable
+	UK firstKey() throws Exception;
+
+	/**
+	 * Returns the highest key in the state.
+	 *
+	 * @return The highest key in the state, or {@code null} if the state is empty.
+	 *
+	 * @throws Exception Thrown if the system cannot access the state.
+	 */
+	@Nullable
+	UK lastKey() throws Exception;
+
+	/**
+	 * Returns all the mappings whose keys are lower than the given key, in ascending order of
+	 * their keys.
+	 *
+	 * @param toKey The highest key of the range (exclusive)
+	 * @return An iterable view of the mappings in the range, which is empty if there are none.
+	 *
+	 * @throws Exception Thrown if the system cannot access the state.
+	 */
+	Iterable<Map.Entry<UK, UV>> headMap(UK toKey) throws Exception;
+
+	/**
+	 * Returns all the mappings whose keys are greater than or equal to the given key, in
+	 * ascending order of their keys.
+	 *
+	 * @param fromKey The lowest key of the range (inclusive)
+	 * @return An iterable view of the mappings in the range, which is empty if there are none.
+	 *
+	 * @throws Exception Thrown if the system cannot access the state.
+	 */
+	Iterable<Map.Entry<UK, UV>> tailMap(UK fromKey) throws Exception;
+
+	/**
+	 * Returns all the mappings whose keys lie in the given range, in ascending order of their keys.
+	 *
+	 * @param fromKey The lowest key of the range (inclusive), or {@code null} for no lower bound
+	 * @param toKey The highest key of the range (exclusive), or {@code null} for no upper bound
+	 * @return An iterable view of the mappings in the range, which is empty if there are none.
+	 *
+	 * @throws Exception Thrown if the system cannot access the state.
+	 */
+	Iterable<Map.Entry<UK, UV>> subMap(@Nullable UK fromKey, @Nullable UK toKey) throws Exception;
+}
@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.api.common.state;
+
+import org.apache.flink.annotation.PublicEvolving;
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.api.common.typeutils.base.SortedMapSerializer;
+
+import java.util.Comparator;
+import java.util.Map;
+
+/**
+ * A {@link StateDescriptor} for {@link SortedMapState}. This can be used to create map state whose
+ * mappings are sorted by their keys and can be retrieved by ranges of keys.
+ *
+ * <p>The given comparator defines the order of the keys on the heap. Backends that keep their
+ * state in serialized form, like RocksDB, order the keys by their serialized bytes, compared
+ * lexicographically as unsigned bytes. The key serializer must therefore produce bytes whose
+ * order matches the order of the comparator, for example the
+ * {@link org.apache.flink.api.common.typeutils.base.OrderPreservingLongSerializer} for the
+ * natural order of longs. The comparator must be serializable, like {@link Comparator#naturalOrder()}.
+ *
+ * <p>State time-to-live is not supported for sorted map state.
+ *
+ * @param <UK> The type of the keys that can be added to the map state.
+ * @param <UV> The type of the values that can be added to the map state.
+ */
+@PublicEvolving
+public class SortedMapStateDescriptor<UK, UV> extends StateDescriptor<SortedMapState<UK, UV>, Map<UK, UV>> {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Create a new {@code SortedMapStateDescriptor} with the given name, key comparator and type serializers.
+	 *
+	 * @param name The name of the {@code SortedMapStateDescriptor}.
+	 * @param comparator The serializable comparator that defines the order of the keys.
+	 * @param keySerializer The order preserving type serializer for the keys in the state.
+	 * @param valueSerializer The type serializer for the values in the state.
+	 */
+	public SortedMapStateDescriptor(
+			String name,
+			Comparator<UK> comparator,
+			TypeSerializer<UK> keySerializer,
+			TypeSerializer<UV> valueSerializer) {
+		super(name, new SortedMapSerializer<>(comparator, keySerializer, valueSerializer), null);
+	}
+
+	@Override
+	public Type getType() {
+		return Type.SORTED_MAP;
+	}
+
+	/**
+	 * Gets the serializer for the keys in the state.
+	 *
+	 * @return The serializer for the keys in the state.
+	 */
+	public TypeSerializer<UK> getKeySerializer() {
+		return getSortedMapSerializer().getKeySerializer();
+	}
+
+	/**
+	 * Gets the serializer for the values in the state.
+	 *
+	 * @return The serializer for the values in the state.
+	 */
+	public TypeSerializer<UV> getValueSerializer() {
+		return getSortedMapSerializer().getValueSerializer();
+	}
+
+	/**
+	 * Gets the comparator that defines the order of the keys in the state.
+	 *
+	 * @return The comparator for the keys in the state.
+	 */
+	public Comparator<UK> getComparator() {
+		return getSortedMapSerializer().getComparator();
+	}
+
+	private SortedMapSerializer<UK, UV> getSortedMapSerializer() {
+		final TypeSerializer<Map<UK, UV>> rawSerializer = getSerializer();
+		if (!(rawSerializer instanceof SortedMapSerializer)) {
+			throw new IllegalStateException("Unexpected serializer type.");
+		}
+
+		return (SortedMapSerializer<UK, UV>) rawSerializer;
+	}
+}
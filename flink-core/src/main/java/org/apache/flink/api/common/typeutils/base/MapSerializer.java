@@ -43,11 +43,14 @@ import java.util.HashMap;
  * followed by the serialized representation of each key-value pair. To allow null values, each value
  * is prefixed by a null marker.
  *
+ * <p>Subclasses can change the type of the maps that are created by the serializer, see
+ * {@link #createMap(int)}.
+ *
  * @param <K> The type of the keys in the map.
  * @param <V> The type of the values in the map.
  */
 @Internal
-public final class MapSerializer<K, V> extends TypeSerializer<Map<K, V>> {
+public class MapSerializer<K, V> extends TypeSerializer<Map<K, V>> {
 
 	private static final long serialVersionUID = -6885593032367050078L;
 	
@@ -96,17 +99,17 @@ public final class MapSerializer<K, V> extends TypeSerializer<Map<K, V>> {
 
 		return (duplicateKeySerializer == keySerializer) && (duplicateValueSerializer == valueSerializer)
 				? this
-				: new MapSerializer<>(duplicateKeySerializer, duplicateValueSerializer);
+				: withSerializers(duplicateKeySerializer, duplicateValueSerializer);
 	}
 
 	@Override
 	public Map<K, V> createInstance() {
-		return new HashMap<>();
+		return createMap(0);
 	}
 
 	@Override
 	public Map<K, V> copy(Map<K, V> from) {
-		Map<K, V> newMap = new HashMap<>(from.size());
+		Map<K, V> newMap = createMap(from.size());
 
 		for (Map.Entry<K, V> entry : from.entrySet()) {
 			K newKey = keySerializer.copy(entry.getKey());
@@ -149,7 +152,7 @@ public final class MapSerializer<K, V> extends TypeSerializer<Map<K, V>> {
 	public Map<K, V> deserialize(DataInputView source) throws IOException {
 		final int size = source.readInt();
 
-		final Map<K, V> map = new HashMap<>(size);
+		final Map<K, V> map = createMap(size);
 		for (int i = 0; i < size; ++i) {
 			K key = keySerializer.deserialize(source);
 
@@ -202,6 +205,22 @@ public final class MapSerializer<K, V> extends TypeSerializer<Map<K, V>> {
 		return keySerializer.hashCode() * 31 + valueSerializer.hashCode();
 	}
 
+	/**
+	 * Creates an empty map for the given number of key-value pairs, into which maps are copied
+	 * and deserialized.
+	 */
+	protected Map<K, V> createMap(int expectedSize) {
+		return new HashMap<>(expectedSize);
+	}
+
+	/**
+	 * Creates a serializer of the same kind as this serializer that uses the given key and value
+	 * serializers.
+	 */
+	protected MapSerializer<K, V> withSerializers(TypeSerializer<K> keySerializer, TypeSerializer<V> valueSerializer) {
+		return new MapSerializer<>(keySerializer, valueSerializer);
+	}
+
 	// --------------------------------------------------------------------------------------------
 	// Serializer configuration snapshotting & compatibility
 	// --------------------------------------------------------------------------------------------
@@ -233,7 +252,7 @@ public final class MapSerializer<K, V> extends TypeSerializer<Map<K, V>> {
 				return CompatibilityResult.compatible();
 			} else if (keyCompatResult.getConvertDeserializer() != null && valueCompatResult.getConvertDeserializer() != null) {
 				return CompatibilityResult.requiresMigration(
-					new MapSerializer<>(
+					withSerializers(
 						new TypeDeserializerAdapter<>(keyCompatResult.getConvertDeserializer()),
 						new TypeDeserializerAdapter<>(valueCompatResult.getConvertDeserializer())));
 			}
@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.api.common.typeutils.base;
+
+import org.apache.flink.annotation.PublicEvolving;
+import org.apache.flink.core.memory.DataInputView;
+import org.apache.flink.core.memory.DataOutputView;
+import org.apache.flink.util.MathUtils;
+
+import java.io.IOException;
+
+/**
+ * Serializer for {@link Long} values whose serialized bytes, compared lexicographically as
+ * unsigned bytes, have the same order as the values. The sign bit of the values is flipped, so
+ * that negative values are ordered before positive values.
+ *
+ * <p>The serializer can be used for the keys of a
+ * {@link org.apache.flink.api.common.state.SortedMapState} with the natural order of longs.
+ */
+@PublicEvolving
+public final class OrderPreservingLongSerializer extends TypeSerializerSingleton<Long> {
+
+	private static final long serialVersionUID = 1L;
+
+	public static final OrderPreservingLongSerializer INSTANCE = new OrderPreservingLongSerializer();
+
+	private static final Long ZERO = 0L;
+
+	@Override
+	public boolean isImmutableType() {
+		return true;
+	}
+
+	@Override
+	public Long createInstance() {
+		return ZERO;
+	}
+
+	@Override
+	public Long copy(Long from) {
+		return from;
+	}
+
+	@Override
+	public Long copy(Long from, Long reuse) {
+		return from;
+	}
+
+	@Override
+	public int getLength() {
+		return Long.BYTES;
+	}
+
+	@Override
+	public void serialize(Long record, DataOutputView target) throws IOException {
+		target.writeLong(MathUtils.flipSignBit(record));
+	}
+
+	@Override
+	public Long deserialize(DataInputView source) throws IOException {
+		return MathUtils.flipSignBit(source.readLong());
+	}
+
+	@Override
+	public Long deserialize(Long reuse, DataInputView source) throws IOException {
+		return deserialize(source);
+	}
+
+	@Override
+	public void copy(DataInputView source, DataOutputView target) throws IOException {
+		target.writeLong(source.readLong());
+	}
+
+	@Override
+	public boolean canEqual(Object obj) {
+		return obj instanceof OrderPreservingLongSerializer;
+	}
+}
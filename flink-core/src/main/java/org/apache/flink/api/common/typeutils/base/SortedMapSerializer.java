@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.api.common.typeutils.base;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.util.Preconditions;
+
+import java.io.Serializable;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A serializer for maps that are sorted by their keys. The serialization format is the same as
+ * the one of the {@link MapSerializer}, but the maps are copied and deserialized into
+ * {@link TreeMap TreeMaps} that are ordered by the given comparator.
+ *
+ * @param <K> The type of the keys in the map.
+ * @param <V> The type of the values in the map.
+ */
+@Internal
+public final class SortedMapSerializer<K, V> extends MapSerializer<K, V> {
+
+	private static final long serialVersionUID = 1L;
+
+	/** The comparator that defines the order of the keys in the map. */
+	private final Comparator<K> comparator;
+
+	/**
+	 * Creates a sorted map serializer that uses the given serializers to serialize the key-value
+	 * pairs in the map, and the given comparator to order the keys.
+	 *
+	 * @param comparator The serializable comparator for the keys in the map
+	 * @param keySerializer The serializer for the keys in the map
+	 * @param valueSerializer The serializer for the values in the map
+	 */
+	public SortedMapSerializer(
+			Comparator<K> comparator,
+			TypeSerializer<K> keySerializer,
+			TypeSerializer<V> valueSerializer) {
+
+		super(keySerializer, valueSerializer);
+
+		this.comparator = Preconditions.checkNotNull(comparator, "The comparator cannot be null.");
+		Preconditions.checkArgument(comparator instanceof Serializable, "The comparator must be serializable.");
+	}
+
+	public Comparator<K> getComparator() {
+		return comparator;
+	}
+
+	@Override
+	protected Map<K, V> createMap(int expectedSize) {
+		return new TreeMap<>(comparator);
+	}
+
+	@Override
+	protected MapSerializer<K, V> withSerializers(TypeSerializer<K> keySerializer, TypeSerializer<V> valueSerializer) {
+		return new SortedMapSerializer<>(comparator, keySerializer, valueSerializer);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		return super.equals(obj) && comparator.equals(((SortedMapSerializer<?, ?>) obj).getComparator());
+	}
+
+	@Override
+	public int hashCode() {
+		return super.hashCode() * 31 + comparator.hashCode();
+	}
+}
@@ -97,6 +97,24 @@ public class CheckpointingOptions {
 			.withDescription("The default directory for savepoints. Used by the state backends that write savepoints to" +
 				" file systems (MemoryStateBackend, FsStateBackend, RocksDBStateBackend).");
 
+	/** The maximum time (in ms) that a savepoint may take before it is discarded. A non-positive
+	 * value means that savepoints use the checkpoint timeout of the job. */
+	public static final ConfigOption<Long> SAVEPOINT_TIMEOUT = ConfigOptions
+			.key("state.savepoints.timeout")
+			.defaultValue(-1L)
+			.withDescription("The maximum time in milliseconds that a savepoint may take before it is discarded." +
+				" Setting a shorter timeout than the checkpoint timeout lets failing savepoints fail fast. A" +
+				" non-positive value means that savepoints use the checkpoint timeout of the job.");
+
+	/** Whether triggering a savepoint aborts the pending checkpoints, rather than running alongside them. */
+	public static final ConfigOption<Boolean> SAVEPOINT_SUBSUMES_PENDING_CHECKPOINTS = ConfigOptions
+			.key("state.savepoints.subsume-pending-checkpoints")
+			.defaultValue(false)
+			.withDescription("Option whether triggering a savepoint aborts the checkpoints which are in progress," +
+				" so that the savepoint gets the full capacity of the job. By default, savepoints run alongside" +
+				" the in-progress checkpoints. Savepoints are never delayed by the limit of concurrent" +
+				" checkpoints or the minimum pause between checkpoints.");
+
 	/** The default directory used for storing the data files and meta data of checkpoints in a Flink supported filesystem.
 	 * The storage path must be accessible from all participating processes/nodes(i.e. all TaskManagers and JobManagers).*/
 	@Documentation.CommonOption(position = Documentation.CommonOption.POSITION_FAULT_TOLERANCE)
@@ -115,4 +133,23 @@ public class CheckpointingOptions {
 			.defaultValue(1024)
 			.withDescription("The minimum size of state data files. All state chunks smaller than that are stored" +
 				" inline in the root checkpoint metadata file.");
+
+	/** Whether the file system state backend appends small state chunks of all tasks in a TaskManager
+	 * to shared segment files, rather than writing one file per chunk. */
+	public static final ConfigOption<Boolean> FS_SEGMENT_AGGREGATION = ConfigOptions
+			.key("state.backend.fs.segment-aggregation.enabled")
+			.defaultValue(false)
+			.withDescription("Option whether the file system state backend should append the checkpointed state" +
+				" chunks of all tasks in a TaskManager to shared segment files, rather than writing a separate file" +
+				" for every chunk. This drastically reduces the number of files per checkpoint. Segment aggregation" +
+				" is only supported by file systems like HDFS which persist data when the output stream is synced," +
+				" and is ignored for object stores like S3.");
+
+	/** The maximum size of a state chunk that is appended to a segment file. */
+	public static final ConfigOption<Integer> FS_SEGMENT_AGGREGATION_MAX_STATE_SIZE = ConfigOptions
+			.key("state.backend.fs.segment-aggregation.max-state-size")
+			.defaultValue(1024 * 1024)
+			.withDescription("The maximum size of a state chunk that is appended to a shared segment file when" +
+				" segment aggregation is enabled. Larger state chunks are written to their own files. Chunks are" +
+				" buffered in memory up to this size.");
 }
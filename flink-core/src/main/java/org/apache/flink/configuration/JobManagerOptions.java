@@ -118,6 +118,82 @@ public class JobManagerOptions {
 					text("'region': Restarts all tasks that could be affected by the task failure.")
 				).build());
 
+	/**
+	 * Flag to enable the speculative execution of slow subtasks of batch vertices.
+	 */
+	public static final ConfigOption<Boolean> SPECULATIVE_EXECUTION_ENABLED =
+		key("jobmanager.execution.speculative.enabled")
+			.defaultValue(false)
+			.withDescription("Whether a backup attempt is launched for slow subtasks of vertices which consume and produce" +
+				" only blocking results. The result of the attempt which finishes first is used and the other attempt is" +
+				" cancelled. The option can also be set in the job configuration.");
+
+	/**
+	 * The ratio of subtasks of a vertex which have to be finished before slow subtasks are speculated.
+	 */
+	public static final ConfigOption<Double> SPECULATIVE_EXECUTION_MIN_FINISHED_RATIO =
+		key("jobmanager.execution.speculative.min-finished-ratio")
+			.defaultValue(0.75)
+			.withDescription("The ratio of subtasks of a vertex which have to be finished before the remaining subtasks" +
+				" are checked for being slow. The option can also be set in the job configuration.");
+
+	/**
+	 * The factor by which a subtask has to run longer than the median of its finished siblings to be slow.
+	 */
+	public static final ConfigOption<Double> SPECULATIVE_EXECUTION_SLOW_TASK_MULTIPLIER =
+		key("jobmanager.execution.speculative.slow-task-multiplier")
+			.defaultValue(1.5)
+			.withDescription("A subtask is slow if it has been running for longer than this multiple of the median" +
+				" running time of the finished subtasks of the same vertex. The option can also be set in the job" +
+				" configuration.");
+
+	/**
+	 * The interval in which the running subtasks are checked for being slow.
+	 */
+	public static final ConfigOption<Long> SPECULATIVE_EXECUTION_CHECK_INTERVAL =
+		key("jobmanager.execution.speculative.check-interval")
+			.defaultValue(1000L)
+			.withDescription("The interval in milliseconds in which the running subtasks are checked for being slow.");
+
+	/**
+	 * The maximum number of tasks which are submitted to a TaskExecutor with a single rpc call.
+	 */
+	public static final ConfigOption<Integer> TASK_SUBMISSION_BATCH_SIZE =
+		key("jobmanager.execution.task-submission-batch-size")
+			.defaultValue(32)
+			.withDescription("The maximum number of tasks which are deployed to a TaskExecutor with a single rpc call." +
+				" Tasks which are deployed together share the serialized job and task information. A value of 1" +
+				" deploys every task with its own rpc call.");
+
+	/**
+	 * Whether rescaling operations take a checkpoint instead of a savepoint.
+	 */
+	public static final ConfigOption<Boolean> RESCALE_FROM_CHECKPOINT =
+		key("jobmanager.rescale.from-checkpoint")
+			.defaultValue(false)
+			.withDescription("Whether rescaling operations take a checkpoint instead of a savepoint of the job. The" +
+				" checkpoint is taken in the format of the configured state backend, which can be incremental, and it" +
+				" is discarded once it is subsumed by a later checkpoint of the rescaled job.");
+
+	/**
+	 * Whether the job is rescaled automatically to the available slots of the cluster.
+	 */
+	public static final ConfigOption<Boolean> REACTIVE_RESCALING_ENABLED =
+		key("jobmanager.rescale.reactive.enabled")
+			.defaultValue(false)
+			.withDescription("Whether the JobMaster rescales the job to the number of available slots of the cluster" +
+				" whenever TaskManagers join or leave. The parallelism of every operator is bounded by its maximum" +
+				" parallelism.");
+
+	/**
+	 * The interval in which the available resources are checked for reactive rescaling.
+	 */
+	public static final ConfigOption<Long> REACTIVE_RESCALING_CHECK_INTERVAL =
+		key("jobmanager.rescale.reactive.check-interval")
+			.defaultValue(10000L)
+			.withDescription("The interval in milliseconds in which the JobMaster checks the available resources of" +
+				" the cluster when reactive rescaling is enabled.");
+
 	/**
 	 * This option specifies the interval in order to trigger a resource manager reconnection if the connection
 	 * to the resource manager has been lost.
@@ -171,6 +247,52 @@ public class JobManagerOptions {
 			.defaultValue(HeartbeatManagerOptions.HEARTBEAT_TIMEOUT.defaultValue())
 			.withDescription("The timeout in milliseconds for a idle slot in Slot Pool.");
 
+	/**
+	 * Whether slots are spread out evenly across all TaskManagers.
+	 */
+	public static final ConfigOption<Boolean> EVENLY_SPREAD_OUT_SLOTS =
+		key("slot.evenly-spread-out")
+			.defaultValue(false)
+			.withDescription("Whether slots are spread out evenly across all TaskManagers instead of filling up one" +
+				" TaskManager after the other. If enabled, the ResourceManager allocates slots of the least utilized" +
+				" TaskManagers and the JobManager places the subtasks of every vertex on the TaskManagers with the" +
+				" most free slots for that vertex, unless location preferences favour other TaskManagers.");
+
+	/**
+	 * Whether TaskManagers and hosts with too many task failures are blacklisted.
+	 */
+	public static final ConfigOption<Boolean> SLOT_BLACKLIST_ENABLED =
+		key("slot.blacklist.enabled")
+			.defaultValue(false)
+			.withDescription("Whether TaskManagers and hosts on which too many tasks failed are blacklisted. The" +
+				" JobManager does not place tasks into slots of blacklisted TaskManagers and hosts, the ResourceManager" +
+				" does not allocate their slots, and the YARN ResourceManager requests containers on other hosts.");
+
+	/**
+	 * The number of task failures after which a TaskManager or host is blacklisted.
+	 */
+	public static final ConfigOption<Integer> SLOT_BLACKLIST_MAX_FAILURES =
+		key("slot.blacklist.max-failures")
+			.defaultValue(3)
+			.withDescription("The number of task failures within the failure window after which a TaskManager or a" +
+				" host is blacklisted.");
+
+	/**
+	 * The window in which task failures are counted.
+	 */
+	public static final ConfigOption<Long> SLOT_BLACKLIST_FAILURE_WINDOW =
+		key("slot.blacklist.failure-window")
+			.defaultValue(60L * 1000L)
+			.withDescription("The time in milliseconds in which task failures are counted for blacklisting.");
+
+	/**
+	 * The time for which a TaskManager or host stays blacklisted.
+	 */
+	public static final ConfigOption<Long> SLOT_BLACKLIST_DURATION =
+		key("slot.blacklist.duration")
+			.defaultValue(60L * 60L * 1000L)
+			.withDescription("The time in milliseconds for which a TaskManager or host stays blacklisted.");
+
 	// ---------------------------------------------------------------------------------------------
 
 	private JobManagerOptions() {
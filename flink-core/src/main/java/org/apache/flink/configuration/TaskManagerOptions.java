@@ -159,6 +159,18 @@ public class TaskManagerOptions {
 			.withDescription("Defines the timeout for the TaskManager registration. If the duration is" +
 				" exceeded without a successful registration, then the TaskManager terminates.");
 
+	/**
+	 * The maximum time for which task state updates and checkpoint acknowledgements are batched
+	 * before they are sent to the JobManager.
+	 */
+	public static final ConfigOption<Long> RPC_BATCH_DELAY =
+		key("taskmanager.rpc.batch-delay")
+			.defaultValue(0L)
+			.withDescription("The maximum time in milliseconds for which the TaskManager collects task state updates" +
+				" and checkpoint acknowledgements of a job before sending them in a single message to the JobManager." +
+				" Pending checkpoint acknowledgements are also sent along with the next heartbeat. A value of 0 disables" +
+				" the batching.");
+
 	/**
 	 * The config parameter defining the number of task slots of a task manager.
 	 */
@@ -383,6 +395,18 @@ public class TaskManagerOptions {
 			.defaultValue(7500L)
 			.withDeprecatedKeys("timerservice.exceptional.shutdown.timeout");
 
+	/**
+	 * The resolution in milliseconds in which the processing-time timers of a stream task fire.
+	 * A value of <code>0</code> schedules every timer separately.
+	 */
+	public static final ConfigOption<Long> TASK_PROCESSING_TIME_TIMER_RESOLUTION =
+			key("task.processing-time.timer-resolution")
+			.defaultValue(0L)
+			.withDescription("The resolution in milliseconds in which the processing-time timers of a stream task" +
+				" fire. If positive, the timers are fired in ticks of this resolution, all due timers within a" +
+				" single acquisition of the checkpoint lock, and fire up to one resolution later than requested." +
+				" A value of 0 schedules every timer separately.");
+
 	/**
 	 * The maximum number of bytes that a checkpoint alignment may buffer.
 	 * If the checkpoint alignment buffers more than the configured amount of
@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.api.common.typeutils.base;
+
+import org.apache.flink.api.common.typeutils.SerializerTestBase;
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.core.memory.DataOutputSerializer;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * A test for the {@link OrderPreservingLongSerializer}.
+ */
+public class OrderPreservingLongSerializerTest extends SerializerTestBase<Long> {
+
+	@Override
+	protected TypeSerializer<Long> createSerializer() {
+		return new OrderPreservingLongSerializer();
+	}
+
+	@Override
+	protected int getLength() {
+		return 8;
+	}
+
+	@Override
+	protected Class<Long> getTypeClass() {
+		return Long.class;
+	}
+
+	@Override
+	protected Long[] getTestData() {
+		Random rnd = new Random(874597969123412341L);
+		long rndLong = rnd.nextLong();
+
+		return new Long[] {0L, 1L, -1L, Long.MAX_VALUE, Long.MIN_VALUE, rndLong, -rndLong};
+	}
+
+	@Test
+	public void testSerializedBytesPreserveOrder() throws IOException {
+		final Long[] values = getTestData();
+		final Long[] sortedValues = values.clone();
+		Arrays.sort(sortedValues);
+
+		final byte[][] serializedValues = new byte[values.length][];
+		for (int i = 0; i < values.length; i++) {
+			serializedValues[i] = serialize(values[i]);
+		}
+		Arrays.sort(serializedValues, OrderPreservingLongSerializerTest::compareUnsigned);
+
+		for (int i = 0; i < sortedValues.length; i++) {
+			assertEquals(serialize(sortedValues[i]).length, serializedValues[i].length);
+			assertEquals(0, compareUnsigned(serialize(sortedValues[i]), serializedValues[i]));
+		}
+	}
+
+	private static byte[] serialize(long value) throws IOException {
+		DataOutputSerializer out = new DataOutputSerializer(Long.BYTES);
+		OrderPreservingLongSerializer.INSTANCE.serialize(value, out);
+		return out.getCopyOfBuffer();
+	}
+
+	private static int compareUnsigned(byte[] left, byte[] right) {
+		for (int i = 0; i < Math.min(left.length, right.length); i++) {
+			int result = Integer.compare(left[i] & 0xff, right[i] & 0xff);
+			if (result != 0) {
+				return result;
+			}
+		}
+		return Integer.compare(left.length, right.length);
+	}
+}
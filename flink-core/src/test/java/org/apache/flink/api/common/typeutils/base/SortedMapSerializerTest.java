@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.api.common.typeutils.base;
+
+import org.apache.flink.api.common.typeutils.SerializerTestBase;
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A test for the {@link SortedMapSerializer}.
+ */
+public class SortedMapSerializerTest extends SerializerTestBase<Map<Long, String>> {
+
+	@Override
+	protected TypeSerializer<Map<Long, String>> createSerializer() {
+		return new SortedMapSerializer<>(Comparator.<Long>reverseOrder(), LongSerializer.INSTANCE, StringSerializer.INSTANCE);
+	}
+
+	@Override
+	protected int getLength() {
+		return -1;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	protected Class<Map<Long, String>> getTypeClass() {
+		return (Class<Map<Long, String>>) (Class<?>) Map.class;
+	}
+
+	@SuppressWarnings({"rawtypes", "unchecked"})
+	@Override
+	protected Map<Long, String>[] getTestData() {
+		final Random rnd = new Random(123654789);
+
+		// empty maps
+		final Map<Long, String> map1 = Collections.emptyMap();
+		final Map<Long, String> map2 = new TreeMap<>();
+
+		// single element maps
+		final Map<Long, String> map3 = Collections.singletonMap(0L, "hello");
+		final Map<Long, String> map4 = new HashMap<>();
+		map4.put(12345L, "12345L");
+
+		// longer maps
+		final Map<Long, String> map5 = new TreeMap<>();
+		for (int i = 0; i < rnd.nextInt(200); i++) {
+			map5.put(rnd.nextLong(), Long.toString(rnd.nextLong()));
+		}
+
+		// null-value maps
+		final Map<Long, String> map6 = new TreeMap<>();
+		map6.put(666L, null);
+
+		return (Map<Long, String>[]) new Map[] {
+				map1, map2, map3, map4, map5, map6
+		};
+	}
+
+	@Test
+	public void testCopiesAreSortedByComparator() {
+		final TypeSerializer<Map<Long, String>> serializer = getSerializer();
+
+		final Map<Long, String> map = new HashMap<>();
+		map.put(1L, "1");
+		map.put(3L, "3");
+		map.put(2L, "2");
+
+		final Map<Long, String> copy = serializer.copy(map);
+		assertTrue(copy instanceof SortedMap);
+
+		final List<Long> keys = new ArrayList<>(copy.keySet());
+		assertEquals(3L, (long) keys.get(0));
+		assertEquals(2L, (long) keys.get(1));
+		assertEquals(1L, (long) keys.get(2));
+
+		assertTrue(serializer.createInstance() instanceof SortedMap);
+	}
+
+	@Test
+	public void testComparatorIsPartOfEquality() {
+		final SortedMapSerializer<Long, String> reverse =
+			new SortedMapSerializer<>(Comparator.<Long>reverseOrder(), LongSerializer.INSTANCE, StringSerializer.INSTANCE);
+		final SortedMapSerializer<Long, String> natural =
+			new SortedMapSerializer<>(Comparator.<Long>naturalOrder(), LongSerializer.INSTANCE, StringSerializer.INSTANCE);
+
+		assertEquals(reverse, getSerializer());
+		assertNotEquals(reverse, natural);
+		assertNotEquals(natural, new MapSerializer<>(LongSerializer.INSTANCE, StringSerializer.INSTANCE));
+		assertNotEquals(new MapSerializer<>(LongSerializer.INSTANCE, StringSerializer.INSTANCE), natural);
+	}
+}
@@ -0,0 +1,282 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.blacklist;
+
+import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.configuration.JobManagerOptions;
+import org.apache.flink.runtime.clusterframework.types.ResourceID;
+import org.apache.flink.runtime.taskmanager.TaskManagerLocation;
+import org.apache.flink.runtime.util.clock.Clock;
+import org.apache.flink.runtime.util.clock.SystemClock;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * Tracks the task failures per TaskManager and per host and blacklists TaskManagers and hosts
+ * with too many failures within a time window. A blacklisted TaskManager or host is removed
+ * from the blacklist once the blacklist duration has passed.
+ *
+ * <p>Failures which are outside of the failure window and expired blacklistings are pruned at
+ * most once per failure window, when a failure is reported. The history of a TaskManager is
+ * dropped when it is removed with {@link #removeTaskManager(ResourceID)}, so that the tracked
+ * state stays bounded by the TaskManagers and hosts which recently failed.
+ *
+ * <p>The tracker is not thread-safe and has to be accessed from the main thread of its owner.
+ */
+public class BlacklistTracker {
+
+	private final boolean enabled;
+
+	private final int maxFailures;
+
+	private final long failureWindowMillis;
+
+	private final long blacklistDurationMillis;
+
+	private final Clock clock;
+
+	/** The timestamps of the failures within the failure window, per TaskManager. */
+	private final Map<ResourceID, ArrayDeque<Long>> taskManagerFailures;
+
+	/** The timestamps of the failures within the failure window, per host. */
+	private final Map<String, ArrayDeque<Long>> hostFailures;
+
+	/** The blacklisted TaskManagers with the time until which they are blacklisted. */
+	private final Map<ResourceID, Long> blacklistedTaskManagers;
+
+	/** The blacklisted hosts with the time until which they are blacklisted. */
+	private final Map<String, Long> blacklistedHosts;
+
+	/** The time at which the expired failures and blacklistings were last pruned. */
+	private long lastPruneTimestamp;
+
+	public BlacklistTracker(int maxFailures, long failureWindowMillis, long blacklistDurationMillis, Clock clock) {
+		this(true, maxFailures, failureWindowMillis, blacklistDurationMillis, clock);
+	}
+
+	private BlacklistTracker(
+			boolean enabled,
+			int maxFailures,
+			long failureWindowMillis,
+			long blacklistDurationMillis,
+			Clock clock) {
+		checkArgument(maxFailures > 0, "The maximum number of failures must be positive.");
+		checkArgument(failureWindowMillis > 0L, "The failure window must be positive.");
+		checkArgument(blacklistDurationMillis > 0L, "The blacklist duration must be positive.");
+
+		this.enabled = enabled;
+		this.maxFailures = maxFailures;
+		this.failureWindowMillis = failureWindowMillis;
+		this.blacklistDurationMillis = blacklistDurationMillis;
+		this.clock = checkNotNull(clock);
+
+		this.taskManagerFailures = new HashMap<>(4);
+		this.hostFailures = new HashMap<>(4);
+		this.blacklistedTaskManagers = new HashMap<>(4);
+		this.blacklistedHosts = new HashMap<>(4);
+
+		this.lastPruneTimestamp = clock.relativeTimeMillis();
+	}
+
+	/**
+	 * Records a task failure on the given TaskManager.
+	 *
+	 * @param taskManagerId of the TaskManager on which the task failed
+	 * @param host of the TaskManager on which the task failed
+	 * @return true, if the TaskManager or its host has been blacklisted because of the failure
+	 */
+	public boolean reportFailure(ResourceID taskManagerId, String host) {
+		if (!enabled) {
+			return false;
+		}
+
+		final long now = clock.relativeTimeMillis();
+		final long blacklistedUntil = now + blacklistDurationMillis;
+		boolean newlyBlacklisted = false;
+
+		if (now - lastPruneTimestamp >= failureWindowMillis) {
+			pruneExpiredEntries(now);
+		}
+
+		if (recordFailure(taskManagerFailures, taskManagerId, now) &&
+				blacklistedTaskManagers.put(taskManagerId, blacklistedUntil) == null) {
+			newlyBlacklisted = true;
+		}
+
+		if (recordFailure(hostFailures, host, now) &&
+				blacklistedHosts.put(host, blacklistedUntil) == null) {
+			newlyBlacklisted = true;
+		}
+
+		return newlyBlacklisted;
+	}
+
+	public boolean reportFailure(TaskManagerLocation taskManagerLocation) {
+		return reportFailure(taskManagerLocation.getResourceID(), taskManagerLocation.getFQDNHostname());
+	}
+
+	/**
+	 * Checks whether the given TaskManager or its host is blacklisted.
+	 */
+	public boolean isBlacklisted(ResourceID taskManagerId, String host) {
+		if (!enabled) {
+			return false;
+		}
+
+		final long now = clock.relativeTimeMillis();
+		return isBlacklisted(blacklistedTaskManagers, taskManagerId, now) || isBlacklisted(blacklistedHosts, host, now);
+	}
+
+	public boolean isBlacklisted(TaskManagerLocation taskManagerLocation) {
+		return isBlacklisted(taskManagerLocation.getResourceID(), taskManagerLocation.getFQDNHostname());
+	}
+
+	/**
+	 * Returns the currently blacklisted hosts.
+	 */
+	public Set<String> getBlacklistedHosts() {
+		if (!enabled) {
+			return new HashSet<>(0);
+		}
+
+		final long now = clock.relativeTimeMillis();
+		blacklistedHosts.values().removeIf(blacklistedUntil -> blacklistedUntil <= now);
+		return new HashSet<>(blacklistedHosts.keySet());
+	}
+
+	/**
+	 * Drops the failure history of the given TaskManager, for example because it was unregistered.
+	 * A current blacklisting of the TaskManager is kept until it expires, in case the TaskManager
+	 * registers again under the same id.
+	 */
+	public void removeTaskManager(ResourceID taskManagerId) {
+		taskManagerFailures.remove(taskManagerId);
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public long getBlacklistDurationMillis() {
+		return blacklistDurationMillis;
+	}
+
+	private <K> boolean recordFailure(Map<K, ArrayDeque<Long>> failures, K key, long now) {
+		final ArrayDeque<Long> failureTimestamps = failures.computeIfAbsent(key, ignored -> new ArrayDeque<>(maxFailures));
+		failureTimestamps.addLast(now);
+		removeExpiredFailures(failureTimestamps, now);
+
+		if (failureTimestamps.size() >= maxFailures) {
+			// the failures have been accounted for, start counting anew once the blacklisting ends
+			failures.remove(key);
+			return true;
+		} else {
+			return false;
+		}
+	}
+
+	/**
+	 * Removes the failures outside of the failure window and the expired blacklistings, including
+	 * the entries of TaskManagers and hosts which have no failures within the window any more.
+	 */
+	private void pruneExpiredEntries(long now) {
+		taskManagerFailures.values().removeIf(failureTimestamps -> removeExpiredFailures(failureTimestamps, now));
+		hostFailures.values().removeIf(failureTimestamps -> removeExpiredFailures(failureTimestamps, now));
+
+		blacklistedTaskManagers.values().removeIf(blacklistedUntil -> blacklistedUntil <= now);
+		blacklistedHosts.values().removeIf(blacklistedUntil -> blacklistedUntil <= now);
+
+		lastPruneTimestamp = now;
+	}
+
+	/**
+	 * Removes the failures outside of the failure window from the given timestamps, which are
+	 * ordered from oldest to newest.
+	 *
+	 * @return true, if no failures are left
+	 */
+	private boolean removeExpiredFailures(ArrayDeque<Long> failureTimestamps, long now) {
+		final Iterator<Long> iterator = failureTimestamps.iterator();
+		while (iterator.hasNext() && iterator.next() <= now - failureWindowMillis) {
+			iterator.remove();
+		}
+
+		return failureTimestamps.isEmpty();
+	}
+
+	@VisibleForTesting
+	int getNumberTrackedTaskManagers() {
+		return taskManagerFailures.size() + blacklistedTaskManagers.size();
+	}
+
+	@VisibleForTesting
+	int getNumberTrackedHosts() {
+		return hostFailures.size() + blacklistedHosts.size();
+	}
+
+	private static <K> boolean isBlacklisted(Map<K, Long> blacklist, K key, long now) {
+		final Long blacklistedUntil = blacklist.get(key);
+
+		if (blacklistedUntil == null) {
+			return false;
+		} else if (blacklistedUntil <= now) {
+			blacklist.remove(key);
+			return false;
+		} else {
+			return true;
+		}
+	}
+
+	// ------------------------------------------------------------------------
+	//  Factories
+	// ------------------------------------------------------------------------
+
+	/**
+	 * Creates a tracker which never blacklists any TaskManager or host.
+	 */
+	public static BlacklistTracker disabled() {
+		return new BlacklistTracker(
+			false,
+			JobManagerOptions.SLOT_BLACKLIST_MAX_FAILURES.defaultValue(),
+			JobManagerOptions.SLOT_BLACKLIST_FAILURE_WINDOW.defaultValue(),
+			JobManagerOptions.SLOT_BLACKLIST_DURATION.defaultValue(),
+			SystemClock.getInstance());
+	}
+
+	public static BlacklistTracker fromConfiguration(Configuration configuration) {
+		if (configuration.getBoolean(JobManagerOptions.SLOT_BLACKLIST_ENABLED)) {
+			return new BlacklistTracker(
+				configuration.getInteger(JobManagerOptions.SLOT_BLACKLIST_MAX_FAILURES),
+				configuration.getLong(JobManagerOptions.SLOT_BLACKLIST_FAILURE_WINDOW),
+				configuration.getLong(JobManagerOptions.SLOT_BLACKLIST_DURATION),
+				SystemClock.getInstance());
+		} else {
+			return disabled();
+		}
+	}
+}
@@ -22,6 +22,7 @@ import org.apache.flink.annotation.VisibleForTesting;
 import org.apache.flink.api.common.JobID;
 import org.apache.flink.api.common.time.Time;
 import org.apache.flink.runtime.checkpoint.hooks.MasterHooks;
+import org.apache.flink.runtime.concurrent.Executors;
 import org.apache.flink.runtime.concurrent.FutureUtils;
 import org.apache.flink.runtime.execution.ExecutionState;
 import org.apache.flink.runtime.executiongraph.Execution;
@@ -52,10 +53,11 @@ import javax.annotation.Nullable;
 import java.util.ArrayDeque;
 import java.util.HashMap;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
@@ -91,6 +93,13 @@ public class CheckpointCoordinator {
 	 * messages during that phase. */
 	private final Object triggerLock = new Object();
 
+	/** Lock to serialize the accesses to the completed checkpoint store. The store may block
+	 * on external systems (ZooKeeper), so this is not done with the coordinator-wide lock.
+	 * That way, adding a finalized checkpoint does not block the processing of
+	 * 'acknowledge/decline' messages. If both locks are needed, the coordinator-wide lock
+	 * must be acquired first. */
+	private final Object storeLock = new Object();
+
 	/** The job whose checkpoint this coordinator coordinates */
 	private final JobID job;
 
@@ -100,6 +109,9 @@ public class CheckpointCoordinator {
 	/** The executor used for asynchronous calls, like potentially blocking I/O */
 	private final Executor executor;
 
+	/** The executor which finalizes fully acknowledged checkpoints, one at a time and in order */
+	private final Executor finalizationExecutor;
+
 	/** Tasks who need to be sent a message when a checkpoint is started */
 	private final ExecutionVertex[] tasksToTrigger;
 
@@ -109,7 +121,8 @@ public class CheckpointCoordinator {
 	/** Tasks who need to be sent a message when a checkpoint is confirmed */
 	private final ExecutionVertex[] tasksToCommitTo;
 
-	/** Map from checkpoint ID to the pending checkpoint */
+	/** Map from checkpoint ID to the pending checkpoint. Modified in the coordinator-wide lock,
+	 * but read without it when processing acknowledgements */
 	private final Map<Long, PendingCheckpoint> pendingCheckpoints;
 
 	/** Completed checkpoints. Implementations can be blocking. Make sure calls to methods
@@ -134,6 +147,13 @@ public class CheckpointCoordinator {
 	/** The max time (in ms) that a checkpoint may take */
 	private final long checkpointTimeout;
 
+	/** The max time (in ms) that a savepoint may take. Defaults to the checkpoint timeout */
+	private volatile long savepointTimeout;
+
+	/** Flag whether triggering a savepoint aborts the pending checkpoints rather than running
+	 * alongside them */
+	private volatile boolean subsumePendingCheckpointsOnSavepoint;
+
 	/** The min time(in ns) to delay after a checkpoint could be triggered. Allows to
 	 * enforce minimum processing time between checkpoint attempts */
 	private final long minPauseBetweenCheckpointsNanos;
@@ -219,15 +239,17 @@ public class CheckpointCoordinator {
 		this.job = checkNotNull(job);
 		this.baseInterval = baseInterval;
 		this.checkpointTimeout = checkpointTimeout;
+		this.savepointTimeout = checkpointTimeout;
 		this.minPauseBetweenCheckpointsNanos = minPauseBetweenCheckpoints * 1_000_000;
 		this.maxConcurrentCheckpointAttempts = maxConcurrentCheckpointAttempts;
 		this.tasksToTrigger = checkNotNull(tasksToTrigger);
 		this.tasksToWaitFor = checkNotNull(tasksToWaitFor);
 		this.tasksToCommitTo = checkNotNull(tasksToCommitTo);
-		this.pendingCheckpoints = new LinkedHashMap<>();
+		this.pendingCheckpoints = new ConcurrentHashMap<>();
 		this.checkpointIdCounter = checkNotNull(checkpointIDCounter);
 		this.completedCheckpointStore = checkNotNull(completedCheckpointStore);
 		this.executor = checkNotNull(executor);
+		this.finalizationExecutor = Executors.serialExecutor(executor);
 		this.sharedStateRegistryFactory = checkNotNull(sharedStateRegistryFactory);
 		this.sharedStateRegistry = sharedStateRegistryFactory.create(executor);
 
@@ -303,6 +325,28 @@ public class CheckpointCoordinator {
 		this.statsTracker = statsTracker;
 	}
 
+	/**
+	 * Sets the maximum time that a savepoint may take before it is discarded. By default,
+	 * savepoints use the checkpoint timeout. A shorter timeout lets failing savepoints fail fast.
+	 *
+	 * @param savepointTimeout The savepoint timeout in milliseconds.
+	 */
+	public void setSavepointTimeout(long savepointTimeout) {
+		checkArgument(savepointTimeout >= 1, "Savepoint timeout must be larger than zero");
+		this.savepointTimeout = savepointTimeout;
+	}
+
+	/**
+	 * Sets whether triggering a savepoint aborts the pending checkpoints. By default, savepoints
+	 * run alongside the pending checkpoints. Aborting them gives the savepoint the full capacity
+	 * of a backpressured job.
+	 *
+	 * @param subsumePendingCheckpoints True, if savepoints should subsume pending checkpoints.
+	 */
+	public void setSubsumePendingCheckpointsOnSavepoint(boolean subsumePendingCheckpoints) {
+		this.subsumePendingCheckpointsOnSavepoint = subsumePendingCheckpoints;
+	}
+
 	// --------------------------------------------------------------------------------------------
 	//  Clean shutdown
 	// --------------------------------------------------------------------------------------------
@@ -335,7 +379,9 @@ public class CheckpointCoordinator {
 				}
 				pendingCheckpoints.clear();
 
-				completedCheckpointStore.shutdown(jobStatus);
+				synchronized (storeLock) {
+					completedCheckpointStore.shutdown(jobStatus);
+				}
 				checkpointIdCounter.shutdown(jobStatus);
 			}
 		}
@@ -364,7 +410,33 @@ public class CheckpointCoordinator {
 			long timestamp,
 			@Nullable String targetLocation) {
 
-		CheckpointProperties props = CheckpointProperties.forSavepoint();
+		return triggerSavepoint(timestamp, CheckpointProperties.forSavepoint(), targetLocation);
+	}
+
+	/**
+	 * Triggers a savepoint after which the job is stopped. Before taking the savepoint, the
+	 * sources advance to the end of event time, so that the savepoint holds the final state
+	 * of the job.
+	 *
+	 * @param timestamp The timestamp for the savepoint.
+	 * @param targetLocation Target location for the savepoint, optional. If null, the
+	 *                       state backend's configured default will be used.
+	 * @return A future to the completed checkpoint
+	 * @throws IllegalStateException If no savepoint directory has been
+	 *                               specified and no default savepoint directory has been
+	 *                               configured
+	 */
+	public CompletableFuture<CompletedCheckpoint> triggerTerminatingSavepoint(
+			long timestamp,
+			@Nullable String targetLocation) {
+
+		return triggerSavepoint(timestamp, CheckpointProperties.forTerminatingSavepoint(), targetLocation);
+	}
+
+	private CompletableFuture<CompletedCheckpoint> triggerSavepoint(
+			long timestamp,
+			CheckpointProperties props,
+			@Nullable String targetLocation) {
 
 		CheckpointTriggerResult triggerResult = triggerCheckpoint(
 			timestamp,
@@ -380,6 +452,29 @@ public class CheckpointCoordinator {
 		}
 	}
 
+	/**
+	 * Triggers a checkpoint from which a rescaled version of the job can be restored. In contrast
+	 * to a savepoint, the checkpoint is taken in the checkpoint format of the state backends
+	 * and is not retained after it has been subsumed.
+	 *
+	 * @param timestamp The timestamp for the checkpoint.
+	 * @return A future to the completed checkpoint
+	 */
+	public CompletableFuture<CompletedCheckpoint> triggerRescalingCheckpoint(long timestamp) {
+		CheckpointTriggerResult triggerResult = triggerCheckpoint(
+			timestamp,
+			CheckpointProperties.forRescaling(),
+			null,
+			false);
+
+		if (triggerResult.isSuccess()) {
+			return triggerResult.getPendingCheckpoint().getCompletionFuture();
+		} else {
+			Throwable cause = new CheckpointTriggerException("Failed to trigger rescaling checkpoint.", triggerResult.getFailureReason());
+			return FutureUtils.completedExceptionally(cause);
+		}
+	}
+
 	/**
 	 * Triggers a new standard checkpoint and uses the given timestamp as the checkpoint
 	 * timestamp.
@@ -519,6 +614,8 @@ public class CheckpointCoordinator {
 				return new CheckpointTriggerResult(CheckpointDeclineReason.EXCEPTION);
 			}
 
+			final long timeout = props.isSavepoint() ? savepointTimeout : checkpointTimeout;
+
 			final PendingCheckpoint checkpoint = new PendingCheckpoint(
 				job,
 				checkpointID,
@@ -598,11 +695,18 @@ public class CheckpointCoordinator {
 
 					LOG.info("Triggering checkpoint {} @ {} for job {}.", checkpointID, timestamp, job);
 
+					// a savepoint has priority over the pending checkpoints: either it runs alongside
+					// them (it is never queued), or it aborts them to get the full capacity of the job
+					if (props.isSavepoint() && subsumePendingCheckpointsOnSavepoint) {
+						LOG.info("Savepoint {} of job {} subsumes the pending checkpoints.", checkpointID, job);
+						dropSubsumedCheckpoints(checkpointID);
+					}
+
 					pendingCheckpoints.put(checkpointID, checkpoint);
 
 					ScheduledFuture<?> cancellerHandle = timer.schedule(
 							canceller,
-							checkpointTimeout, TimeUnit.MILLISECONDS);
+							timeout, TimeUnit.MILLISECONDS);
 
 					if (!checkpoint.setCancellerHandle(cancellerHandle)) {
 						// checkpoint is already disposed!
@@ -611,7 +715,7 @@ public class CheckpointCoordinator {
 
 					// trigger the master hooks for the checkpoint
 					final List<MasterState> masterStates = MasterHooks.triggerMasterHooks(masterHooks.values(),
-							checkpointID, timestamp, executor, Time.milliseconds(checkpointTimeout));
+							checkpointID, timestamp, executor, Time.milliseconds(timeout));
 					for (MasterState s : masterStates) {
 						checkpoint.addMasterState(s);
 					}
@@ -687,16 +791,17 @@ public class CheckpointCoordinator {
 				return;
 			}
 
-			checkpoint = pendingCheckpoints.remove(checkpointId);
+			checkpoint = pendingCheckpoints.get(checkpointId);
 
 			if (checkpoint != null && !checkpoint.isDiscarded()) {
 				LOG.info("Decline checkpoint {} by task {} of job {}.", checkpointId, message.getTaskExecutionId(), job);
+				pendingCheckpoints.remove(checkpointId);
 				discardCheckpoint(checkpoint, message.getReason());
 			}
 			else if (checkpoint != null) {
-				// this should not happen
-				throw new IllegalStateException(
-						"Received message for discarded but non-removed checkpoint " + checkpointId);
+				// the checkpoint is being finalized and is removed once the finalization is done
+				LOG.debug("Received decline message for checkpoint {} of job {} which is being finalized : {}",
+						checkpointId, job, reason);
 			}
 			else if (LOG.isDebugEnabled()) {
 				if (recentPendingCheckpoints.contains(checkpointId)) {
@@ -716,14 +821,18 @@ public class CheckpointCoordinator {
 	 * Receives an AcknowledgeCheckpoint message and returns whether the
 	 * message was associated with a pending checkpoint.
 	 *
+	 * <p>Acknowledgements are processed without the coordinator-wide lock, because the pending
+	 * checkpoint guards its own state. Once a checkpoint is fully acknowledged, it is finalized
+	 * asynchronously by the finalization executor. If writing the checkpoint metadata fails, the
+	 * checkpoint's completion future is completed exceptionally. If the completed checkpoint cannot
+	 * be added to the completed checkpoint store, it is discarded and the failure is logged.
+	 *
 	 * @param message Checkpoint ack from the task manager
 	 *
 	 * @return Flag indicating whether the ack'd checkpoint was associated
 	 * with a pending checkpoint.
-	 *
-	 * @throws CheckpointException If the checkpoint cannot be added to the completed checkpoint store.
 	 */
-	public boolean receiveAcknowledgeMessage(AcknowledgeCheckpoint message) throws CheckpointException {
+	public boolean receiveAcknowledgeMessage(AcknowledgeCheckpoint message) {
 		if (shutdown || message == null) {
 			return false;
 		}
@@ -734,94 +843,117 @@ public class CheckpointCoordinator {
 		}
 
 		final long checkpointId = message.getCheckpointId();
+		final long processingStartNanos = System.nanoTime();
 
-		synchronized (lock) {
-			// we need to check inside the lock for being shutdown as well, otherwise we
-			// get races and invalid error log messages
-			if (shutdown) {
-				return false;
-			}
+		final PendingCheckpoint checkpoint = pendingCheckpoints.get(checkpointId);
 
-			final PendingCheckpoint checkpoint = pendingCheckpoints.get(checkpointId);
+		if (checkpoint != null) {
 
-			if (checkpoint != null && !checkpoint.isDiscarded()) {
+			switch (checkpoint.acknowledgeTask(message.getTaskExecutionId(), message.getSubtaskState(), message.getCheckpointMetrics())) {
+				case SUCCESS:
+					LOG.debug("Received acknowledge message for checkpoint {} from task {} of job {}.",
+						checkpointId, message.getTaskExecutionId(), message.getJob());
 
-				switch (checkpoint.acknowledgeTask(message.getTaskExecutionId(), message.getSubtaskState(), message.getCheckpointMetrics())) {
-					case SUCCESS:
-						LOG.debug("Received acknowledge message for checkpoint {} from task {} of job {}.",
-							checkpointId, message.getTaskExecutionId(), message.getJob());
+					if (checkpoint.claimFinalization()) {
+						finalizationExecutor.execute(() -> {
+							try {
+								completePendingCheckpoint(checkpoint);
+							} catch (Throwable t) {
+								LOG.warn("Could not complete checkpoint {} of job {}.", checkpointId, job, t);
+							}
+						});
+					}
+					break;
+				case DUPLICATE:
+					LOG.debug("Received a duplicate acknowledge message for checkpoint {}, task {}, job {}.",
+						message.getCheckpointId(), message.getTaskExecutionId(), message.getJob());
+					break;
+				case UNKNOWN:
+					LOG.warn("Could not acknowledge the checkpoint {} for task {} of job {}, " +
+							"because the task's execution attempt id was unknown. Discarding " +
+							"the state handle to avoid lingering state.", message.getCheckpointId(),
+						message.getTaskExecutionId(), message.getJob());
+
+					discardSubtaskState(message.getJob(), message.getTaskExecutionId(), message.getCheckpointId(), message.getSubtaskState());
+
+					break;
+				case DISCARDED:
+					LOG.warn("Could not acknowledge the checkpoint {} for task {} of job {}, " +
+						"because the pending checkpoint had been discarded. Discarding the " +
+							"state handle tp avoid lingering state.",
+						message.getCheckpointId(), message.getTaskExecutionId(), message.getJob());
+
+					discardSubtaskState(message.getJob(), message.getTaskExecutionId(), message.getCheckpointId(), message.getSubtaskState());
+			}
 
-						if (checkpoint.isFullyAcknowledged()) {
-							completePendingCheckpoint(checkpoint);
-						}
-						break;
-					case DUPLICATE:
-						LOG.debug("Received a duplicate acknowledge message for checkpoint {}, task {}, job {}.",
-							message.getCheckpointId(), message.getTaskExecutionId(), message.getJob());
-						break;
-					case UNKNOWN:
-						LOG.warn("Could not acknowledge the checkpoint {} for task {} of job {}, " +
-								"because the task's execution attempt id was unknown. Discarding " +
-								"the state handle to avoid lingering state.", message.getCheckpointId(),
-							message.getTaskExecutionId(), message.getJob());
-
-						discardSubtaskState(message.getJob(), message.getTaskExecutionId(), message.getCheckpointId(), message.getSubtaskState());
-
-						break;
-					case DISCARDED:
-						LOG.warn("Could not acknowledge the checkpoint {} for task {} of job {}, " +
-							"because the pending checkpoint had been discarded. Discarding the " +
-								"state handle tp avoid lingering state.",
-							message.getCheckpointId(), message.getTaskExecutionId(), message.getJob());
-
-						discardSubtaskState(message.getJob(), message.getTaskExecutionId(), message.getCheckpointId(), message.getSubtaskState());
-				}
+			// to prevent null-pointers from concurrent modification, copy reference onto stack
+			final CheckpointStatsTracker statsTracker = this.statsTracker;
+			if (statsTracker != null) {
+				statsTracker.reportAcknowledgeProcessingDuration(System.nanoTime() - processingStartNanos);
+			}
 
-				return true;
+			return true;
+		}
+		else {
+			boolean wasPendingCheckpoint;
+
+			synchronized (lock) {
+				wasPendingCheckpoint = recentPendingCheckpoints.contains(checkpointId);
 			}
-			else if (checkpoint != null) {
-				// this should not happen
-				throw new IllegalStateException(
-						"Received message for discarded but non-removed checkpoint " + checkpointId);
+
+			// message is for an unknown checkpoint, or comes too late (checkpoint disposed)
+			if (wasPendingCheckpoint) {
+				LOG.warn("Received late message for now expired checkpoint attempt {} from " +
+					"{} of job {}.", checkpointId, message.getTaskExecutionId(), message.getJob());
 			}
 			else {
-				boolean wasPendingCheckpoint;
-
-				// message is for an unknown checkpoint, or comes too late (checkpoint disposed)
-				if (recentPendingCheckpoints.contains(checkpointId)) {
-					wasPendingCheckpoint = true;
-					LOG.warn("Received late message for now expired checkpoint attempt {} from " +
-						"{} of job {}.", checkpointId, message.getTaskExecutionId(), message.getJob());
-				}
-				else {
-					LOG.debug("Received message for an unknown checkpoint {} from {} of job {}.",
-						checkpointId, message.getTaskExecutionId(), message.getJob());
-					wasPendingCheckpoint = false;
-				}
+				LOG.debug("Received message for an unknown checkpoint {} from {} of job {}.",
+					checkpointId, message.getTaskExecutionId(), message.getJob());
+			}
 
-				// try to discard the state so that we don't have lingering state lying around
-				discardSubtaskState(message.getJob(), message.getTaskExecutionId(), message.getCheckpointId(), message.getSubtaskState());
+			// try to discard the state so that we don't have lingering state lying around
+			discardSubtaskState(message.getJob(), message.getTaskExecutionId(), message.getCheckpointId(), message.getSubtaskState());
 
-				return wasPendingCheckpoint;
-			}
+			return wasPendingCheckpoint;
 		}
 	}
 
 	/**
 	 * Try to complete the given pending checkpoint.
 	 *
-	 * <p>Important: This method should only be called in the checkpoint lock scope.
+	 * <p>Important: This method must be called by the finalization executor and must not be
+	 * called in the checkpoint lock scope. Writing the checkpoint metadata and adding the
+	 * checkpoint to the completed checkpoint store may block on external systems, so the
+	 * coordinator-wide lock is only acquired for the bookkeeping before and after.
 	 *
 	 * @param pendingCheckpoint to complete
 	 * @throws CheckpointException if the completion failed
 	 */
 	private void completePendingCheckpoint(PendingCheckpoint pendingCheckpoint) throws CheckpointException {
 		final long checkpointId = pendingCheckpoint.getCheckpointId();
+		final long finalizationStartNanos = System.nanoTime();
+		final boolean isSavepoint = pendingCheckpoint.getProps().isSavepoint();
 		final CompletedCheckpoint completedCheckpoint;
 
-		// As a first step to complete the checkpoint, we register its state with the registry
-		Map<OperatorID, OperatorState> operatorStates = pendingCheckpoint.getOperatorStates();
-		sharedStateRegistry.registerAll(operatorStates.values());
+		// As a first step to complete the checkpoint, we register its state with the registry.
+		// The registry is replaced on restore, which happens under the checkpoint lock.
+		synchronized (lock) {
+			if (shutdown || pendingCheckpoint.isDiscarded()) {
+				LOG.debug("Checkpoint {} of job {} was discarded before it could be completed.", checkpointId, job);
+				pendingCheckpoints.remove(checkpointId);
+
+				// the discarded checkpoint may have been the one that held back queued trigger requests
+				if (!shutdown) {
+					triggerQueuedRequests();
+				}
+				return;
+			}
+
+			Map<OperatorID, OperatorState> operatorStates = pendingCheckpoint.getOperatorStates();
+			sharedStateRegistry.registerAll(operatorStates.values());
+		}
+
+		boolean completed = false;
 
 		try {
 			try {
@@ -840,42 +972,66 @@ public class CheckpointCoordinator {
 			Preconditions.checkState(pendingCheckpoint.isDiscarded() && completedCheckpoint != null);
 
 			// TODO: add savepoints to completed checkpoint store once FLINK-4815 has been completed
-			if (!completedCheckpoint.getProperties().isSavepoint()) {
-				try {
-					completedCheckpointStore.addCheckpoint(completedCheckpoint);
-				} catch (Exception exception) {
-					// we failed to store the completed checkpoint. Let's clean up
-					executor.execute(new Runnable() {
-						@Override
-						public void run() {
-							try {
-								completedCheckpoint.discardOnFailedStoring();
-							} catch (Throwable t) {
-								LOG.warn("Could not properly discard completed checkpoint {} of job {}.", completedCheckpoint.getCheckpointID(), job, t);
-							}
+			if (!isSavepoint) {
+				synchronized (storeLock) {
+					try {
+						// the checkpoint could have been aborted while it was finalized, for example
+						// because the coordinator was suspended
+						if (pendingCheckpoints.get(checkpointId) != pendingCheckpoint) {
+							throw new CheckpointException("Checkpoint " + checkpointId + " was aborted while being finalized.");
 						}
-					});
 
-					throw new CheckpointException("Could not complete the pending checkpoint " + checkpointId + '.', exception);
-				}
+						completedCheckpointStore.addCheckpoint(completedCheckpoint);
+					} catch (Exception exception) {
+						// we failed to store the completed checkpoint. Let's clean up
+						executor.execute(new Runnable() {
+							@Override
+							public void run() {
+								try {
+									completedCheckpoint.discardOnFailedStoring();
+								} catch (Throwable t) {
+									LOG.warn("Could not properly discard completed checkpoint {} of job {}.", completedCheckpoint.getCheckpointID(), job, t);
+								}
+							}
+						});
 
-				// drop those pending checkpoints that are at prior to the completed one
-				dropSubsumedCheckpoints(checkpointId);
+						throw new CheckpointException("Could not complete the pending checkpoint " + checkpointId + '.', exception);
+					}
+				}
 			}
+
+			completed = true;
 		} finally {
-			pendingCheckpoints.remove(checkpointId);
+			synchronized (lock) {
+				pendingCheckpoints.remove(checkpointId);
 
-			triggerQueuedRequests();
+				if (completed) {
+					// drop those pending checkpoints that are at prior to the completed one
+					if (!isSavepoint) {
+						dropSubsumedCheckpoints(checkpointId);
+					}
+
+					rememberRecentCheckpointId(checkpointId);
+
+					// record the time when this was completed, to calculate
+					// the 'min delay between checkpoints'
+					lastCheckpointCompletionNanos = System.nanoTime();
+				}
+
+				triggerQueuedRequests();
+			}
 		}
 
-		rememberRecentCheckpointId(checkpointId);
+		final long finalizationDurationMillis = (System.nanoTime() - finalizationStartNanos) / 1_000_000;
 
-		// record the time when this was completed, to calculate
-		// the 'min delay between checkpoints'
-		lastCheckpointCompletionNanos = System.nanoTime();
+		// to prevent null-pointers from concurrent modification, copy reference onto stack
+		final CheckpointStatsTracker statsTracker = this.statsTracker;
+		if (statsTracker != null) {
+			statsTracker.reportFinalizationDuration(finalizationDurationMillis);
+		}
 
-		LOG.info("Completed checkpoint {} for job {} ({} bytes in {} ms).", checkpointId, job,
-			completedCheckpoint.getStateSize(), completedCheckpoint.getDuration());
+		LOG.info("Completed checkpoint {} for job {} ({} bytes in {} ms, finalized in {} ms).", checkpointId, job,
+			completedCheckpoint.getStateSize(), completedCheckpoint.getDuration(), finalizationDurationMillis);
 
 		if (LOG.isDebugEnabled()) {
 			StringBuilder builder = new StringBuilder();
@@ -1010,24 +1166,28 @@ public class CheckpointCoordinator {
 				throw new IllegalStateException("CheckpointCoordinator is shut down");
 			}
 
-			// We create a new shared state registry object, so that all pending async disposal requests from previous
-			// runs will go against the old object (were they can do no harm).
-			// This must happen under the checkpoint lock.
-			sharedStateRegistry.close();
-			sharedStateRegistry = sharedStateRegistryFactory.create(executor);
+			final CompletedCheckpoint latest;
 
-			// Recover the checkpoints, TODO this could be done only when there is a new leader, not on each recovery
-			completedCheckpointStore.recover();
+			synchronized (storeLock) {
+				// We create a new shared state registry object, so that all pending async disposal requests from previous
+				// runs will go against the old object (were they can do no harm).
+				// This must happen under the checkpoint lock.
+				sharedStateRegistry.close();
+				sharedStateRegistry = sharedStateRegistryFactory.create(executor);
 
-			// Now, we re-register all (shared) states from the checkpoint store with the new registry
-			for (CompletedCheckpoint completedCheckpoint : completedCheckpointStore.getAllCheckpoints()) {
-				completedCheckpoint.registerSharedStatesAfterRestored(sharedStateRegistry);
-			}
+				// Recover the checkpoints, TODO this could be done only when there is a new leader, not on each recovery
+				completedCheckpointStore.recover();
 
-			LOG.debug("Status of the shared state registry of job {} after restore: {}.", job, sharedStateRegistry);
+				// Now, we re-register all (shared) states from the checkpoint store with the new registry
+				for (CompletedCheckpoint completedCheckpoint : completedCheckpointStore.getAllCheckpoints()) {
+					completedCheckpoint.registerSharedStatesAfterRestored(sharedStateRegistry);
+				}
+
+				LOG.debug("Status of the shared state registry of job {} after restore: {}.", job, sharedStateRegistry);
 
-			// Restore from the latest checkpoint
-			CompletedCheckpoint latest = completedCheckpointStore.getLatestCheckpoint();
+				// Restore from the latest checkpoint
+				latest = completedCheckpointStore.getLatestCheckpoint();
+			}
 
 			if (latest == null) {
 				if (errorIfNoCheckpoint) {
@@ -1076,6 +1236,98 @@ public class CheckpointCoordinator {
 		}
 	}
 
+	/**
+	 * Restores the latest checkpointed state to a subset of the subtasks of the job, for example
+	 * to a failover region that is restarted while the remaining tasks keep running.
+	 *
+	 * <p>In contrast to {@link #restoreLatestCheckpointedState(Map, boolean, boolean)}, this
+	 * neither recovers the completed checkpoint store nor recreates the shared state registry,
+	 * and it does not reset or restore the master hooks, because the job as a whole continues.
+	 *
+	 * @param tasks Map of all job vertices of the job.
+	 * @param verticesToRestore The subtasks whose current executions receive the restored state.
+	 * @param allowNonRestoredState Allow checkpoint state that cannot be mapped
+	 * to any job vertex in tasks.
+	 * @return <code>true</code> if state was restored, <code>false</code> if there is no completed checkpoint.
+	 * @throws IllegalStateException If the CheckpointCoordinator is shut down.
+	 */
+	public boolean restoreLatestCheckpointedStateToSubtasks(
+			Map<JobVertexID, ExecutionJobVertex> tasks,
+			Set<ExecutionVertex> verticesToRestore,
+			boolean allowNonRestoredState) throws Exception {
+
+		synchronized (lock) {
+			if (shutdown) {
+				throw new IllegalStateException("CheckpointCoordinator is shut down");
+			}
+
+			final CompletedCheckpoint latest;
+
+			synchronized (storeLock) {
+				latest = completedCheckpointStore.getLatestCheckpoint();
+			}
+
+			if (latest == null) {
+				return false;
+			}
+
+			LOG.info("Restoring {} subtasks of job {} from latest valid checkpoint: {}.",
+				verticesToRestore.size(), job, latest);
+
+			StateAssignmentOperation stateAssignmentOperation = new StateAssignmentOperation(
+				latest.getCheckpointID(),
+				tasks,
+				latest.getOperatorStates(),
+				allowNonRestoredState,
+				verticesToRestore);
+
+			stateAssignmentOperation.assignStates();
+
+			return true;
+		}
+	}
+
+	/**
+	 * Restores the state of the given completed checkpoint, which has been taken by another
+	 * execution of the same job, for example before the job was rescaled. The checkpoint is
+	 * added to the completed checkpoint store unless the store has already recovered it.
+	 *
+	 * @param checkpoint The completed checkpoint to restore.
+	 * @param tasks Map of job vertices to restore. State for these vertices is
+	 * restored via {@link Execution#setInitialState(JobManagerTaskRestore)}.
+	 * @param allowNonRestoredState Allow checkpoint state that cannot be mapped
+	 * to any job vertex in tasks.
+	 * @return <code>true</code> if state was restored.
+	 */
+	public boolean restoreCompletedCheckpoint(
+			CompletedCheckpoint checkpoint,
+			Map<JobVertexID, ExecutionJobVertex> tasks,
+			boolean allowNonRestoredState) throws Exception {
+
+		checkNotNull(checkpoint, "The checkpoint cannot be null.");
+		checkArgument(job.equals(checkpoint.getJobId()), "The checkpoint belongs to another job.");
+
+		LOG.info("Restoring job {} from completed checkpoint {}.", job, checkpoint.getCheckpointID());
+
+		synchronized (storeLock) {
+			completedCheckpointStore.recover();
+
+			final CompletedCheckpoint latest = completedCheckpointStore.getLatestCheckpoint();
+
+			if (latest == null || latest.getCheckpointID() < checkpoint.getCheckpointID()) {
+				completedCheckpointStore.addCheckpoint(checkpoint);
+			}
+		}
+
+		// Reset the checkpoint ID counter
+		long nextCheckpointId = checkpoint.getCheckpointID() + 1;
+		checkpointIdCounter.setCount(nextCheckpointId);
+
+		LOG.info("Reset the checkpoint ID of job {} to {}.", job, nextCheckpointId);
+
+		return restoreLatestCheckpointedState(tasks, true, allowNonRestoredState);
+	}
+
 	/**
 	 * Restore the state with given savepoint.
 	 *
@@ -1105,7 +1357,9 @@ public class CheckpointCoordinator {
 		CompletedCheckpoint savepoint = Checkpoints.loadAndValidateCheckpoint(
 				job, tasks, checkpointLocation, userClassLoader, allowNonRestored);
 
-		completedCheckpointStore.addCheckpoint(savepoint);
+		synchronized (storeLock) {
+			completedCheckpointStore.addCheckpoint(savepoint);
+		}
 
 		// Reset the checkpoint ID counter
 		long nextCheckpointId = savepoint.getCheckpointID() + 1;
@@ -1125,7 +1379,7 @@ public class CheckpointCoordinator {
 	}
 
 	public int getNumberOfRetainedSuccessfulCheckpoints() {
-		synchronized (lock) {
+		synchronized (storeLock) {
 			return completedCheckpointStore.getNumberOfRetainedCheckpoints();
 		}
 	}
@@ -1137,7 +1391,7 @@ public class CheckpointCoordinator {
 	}
 
 	public List<CompletedCheckpoint> getSuccessfulCheckpoints() throws Exception {
-		synchronized (lock) {
+		synchronized (storeLock) {
 			return completedCheckpointStore.getAllCheckpoints();
 		}
 	}
@@ -1150,6 +1404,26 @@ public class CheckpointCoordinator {
 		return completedCheckpointStore;
 	}
 
+	/**
+	 * Returns the latest completed checkpoint if it is not discarded when the job is suspended,
+	 * either because of its properties or because the checkpoint store retains its checkpoints.
+	 *
+	 * @return The latest completed checkpoint which outlives a suspension of the job, or null
+	 */
+	@Nullable
+	public CompletedCheckpoint getLatestCheckpointRetainedOnSuspension() throws Exception {
+		synchronized (storeLock) {
+			final CompletedCheckpoint latest = completedCheckpointStore.getLatestCheckpoint();
+
+			if (latest != null &&
+					(completedCheckpointStore.requiresExternalizedCheckpoints() || !latest.getProperties().discardOnJobSuspended())) {
+				return latest;
+			} else {
+				return null;
+			}
+		}
+	}
+
 	public CheckpointIDCounter getCheckpointIdCounter() {
 		return checkpointIdCounter;
 	}
@@ -1158,6 +1432,10 @@ public class CheckpointCoordinator {
 		return checkpointTimeout;
 	}
 
+	public long getSavepointTimeout() {
+		return savepointTimeout;
+	}
+
 	/**
 	 * Returns whether periodic checkpointing has been configured.
 	 *
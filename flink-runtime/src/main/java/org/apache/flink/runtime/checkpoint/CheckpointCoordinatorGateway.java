@@ -20,8 +20,11 @@ package org.apache.flink.runtime.checkpoint;
 
 import org.apache.flink.api.common.JobID;
 import org.apache.flink.runtime.executiongraph.ExecutionAttemptID;
+import org.apache.flink.runtime.messages.checkpoint.AcknowledgeCheckpoint;
 import org.apache.flink.runtime.rpc.RpcGateway;
 
+import java.util.Collection;
+
 public interface CheckpointCoordinatorGateway extends RpcGateway {
 
 	void acknowledgeCheckpoint(
@@ -31,6 +34,16 @@ public interface CheckpointCoordinatorGateway extends RpcGateway {
 			final CheckpointMetrics checkpointMetrics,
 			final TaskStateSnapshot subtaskState);
 
+	/**
+	 * Acknowledges multiple checkpoints of tasks of the given job at once.
+	 *
+	 * @param jobID of the job the acknowledging tasks belong to
+	 * @param acknowledgements the checkpoint acknowledgements of the tasks
+	 */
+	void acknowledgeCheckpoints(
+			final JobID jobID,
+			final Collection<AcknowledgeCheckpoint> acknowledgements);
+
 	void declineCheckpoint(
 			JobID jobID,
 			ExecutionAttemptID executionAttemptID,
@@ -41,6 +41,15 @@ public class CheckpointMetrics implements Serializable {
 	/* The duration (in milliseconds) of the asynchronous part of the operator checkpoint  */
 	private long asyncDurationMillis;
 
+	/** The time (in nanoseconds) between the triggering of the checkpoint and the arrival of the first barrier */
+	private long checkpointStartDelayNanos = -1L;
+
+	/** The time (in nanoseconds) between the triggering of the checkpoint and the arrival of the last barrier */
+	private long barrierPropagationNanos = -1L;
+
+	/** The index of the input channel whose barrier arrived last, i.e. the channel that was waited for */
+	private int lastAlignedChannelIndex = -1;
+
 	public CheckpointMetrics() {
 		this(-1L, -1L, -1L, -1L);
 	}
@@ -99,6 +108,33 @@ public class CheckpointMetrics implements Serializable {
 		return this;
 	}
 
+	public long getCheckpointStartDelayNanos() {
+		return checkpointStartDelayNanos;
+	}
+
+	public CheckpointMetrics setCheckpointStartDelayNanos(long checkpointStartDelayNanos) {
+		this.checkpointStartDelayNanos = checkpointStartDelayNanos;
+		return this;
+	}
+
+	public long getBarrierPropagationNanos() {
+		return barrierPropagationNanos;
+	}
+
+	public CheckpointMetrics setBarrierPropagationNanos(long barrierPropagationNanos) {
+		this.barrierPropagationNanos = barrierPropagationNanos;
+		return this;
+	}
+
+	public int getLastAlignedChannelIndex() {
+		return lastAlignedChannelIndex;
+	}
+
+	public CheckpointMetrics setLastAlignedChannelIndex(int lastAlignedChannelIndex) {
+		this.lastAlignedChannelIndex = lastAlignedChannelIndex;
+		return this;
+	}
+
 	@Override
 	public boolean equals(Object o) {
 		if (this == o) {
@@ -113,7 +149,10 @@ public class CheckpointMetrics implements Serializable {
 		return bytesBufferedInAlignment == that.bytesBufferedInAlignment && 
 				alignmentDurationNanos == that.alignmentDurationNanos && 
 				syncDurationMillis == that.syncDurationMillis && 
-				asyncDurationMillis == that.asyncDurationMillis;
+				asyncDurationMillis == that.asyncDurationMillis &&
+				checkpointStartDelayNanos == that.checkpointStartDelayNanos &&
+				barrierPropagationNanos == that.barrierPropagationNanos &&
+				lastAlignedChannelIndex == that.lastAlignedChannelIndex;
 
 	}
 
@@ -123,6 +162,9 @@ public class CheckpointMetrics implements Serializable {
 		result = 31 * result + (int) (alignmentDurationNanos ^ (alignmentDurationNanos >>> 32));
 		result = 31 * result + (int) (syncDurationMillis ^ (syncDurationMillis >>> 32));
 		result = 31 * result + (int) (asyncDurationMillis ^ (asyncDurationMillis >>> 32));
+		result = 31 * result + (int) (checkpointStartDelayNanos ^ (checkpointStartDelayNanos >>> 32));
+		result = 31 * result + (int) (barrierPropagationNanos ^ (barrierPropagationNanos >>> 32));
+		result = 31 * result + lastAlignedChannelIndex;
 		return result;
 	}
 
@@ -133,6 +175,9 @@ public class CheckpointMetrics implements Serializable {
 				", alignmentDurationNanos=" + alignmentDurationNanos +
 				", syncDurationMillis=" + syncDurationMillis +
 				", asyncDurationMillis=" + asyncDurationMillis +
+				", checkpointStartDelayNanos=" + checkpointStartDelayNanos +
+				", barrierPropagationNanos=" + barrierPropagationNanos +
+				", lastAlignedChannelIndex=" + lastAlignedChannelIndex +
 				'}';
 	}
 }
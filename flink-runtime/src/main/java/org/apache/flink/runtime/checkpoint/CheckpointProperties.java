@@ -171,12 +171,13 @@ public class CheckpointProperties implements Serializable {
 	}
 
 	/**
-	 * Returns whether the checkpoint properties describe a standard savepoint.
+	 * Returns whether the checkpoint properties describe a savepoint, either a standard savepoint
+	 * or a savepoint after which the job is stopped.
 	 *
 	 * @return <code>true</code> if the properties describe a savepoint, <code>false</code> otherwise.
 	 */
 	public boolean isSavepoint() {
-		return checkpointType == CheckpointType.SAVEPOINT;
+		return checkpointType.isSavepoint();
 	}
 
 	// ------------------------------------------------------------------------
@@ -239,6 +240,15 @@ public class CheckpointProperties implements Serializable {
 			false,
 			false);
 
+	private static final CheckpointProperties TERMINATING_SAVEPOINT = new CheckpointProperties(
+			true,
+			CheckpointType.TERMINATING_SAVEPOINT,
+			false,
+			false,
+			false,
+			false,
+			false);
+
 	private static final CheckpointProperties CHECKPOINT_NEVER_RETAINED = new CheckpointProperties(
 			false,
 			CheckpointType.CHECKPOINT,
@@ -266,6 +276,14 @@ public class CheckpointProperties implements Serializable {
 			false,  // Retain on failure
 			false); // Retain on suspension
 
+	private static final CheckpointProperties RESCALING_CHECKPOINT = new CheckpointProperties(
+			true,
+			CheckpointType.CHECKPOINT,
+			true,
+			true,   // Delete on success
+			true,   // Delete on cancellation
+			true,   // Delete on failure
+			false); // Retain on suspension
 
 	/**
 	 * Creates the checkpoint properties for a (manually triggered) savepoint.
@@ -279,6 +297,31 @@ public class CheckpointProperties implements Serializable {
 		return SAVEPOINT;
 	}
 
+	/**
+	 * Creates the checkpoint properties for a savepoint after which the job is stopped.
+	 *
+	 * <p>Like regular savepoints, terminating savepoints are not queued due to time trigger
+	 * limits and have to be garbage collected manually.
+	 *
+	 * @return Checkpoint properties for a terminating savepoint.
+	 */
+	public static CheckpointProperties forTerminatingSavepoint() {
+		return TERMINATING_SAVEPOINT;
+	}
+
+	/**
+	 * Creates the checkpoint properties for a checkpoint from which a rescaled job is restored.
+	 *
+	 * <p>Rescaling checkpoints are not queued due to time trigger limits. They survive the
+	 * suspension of the job which is rescaled, and they are garbage collected like regular
+	 * checkpoints once they are subsumed.
+	 *
+	 * @return Checkpoint properties for a rescaling checkpoint.
+	 */
+	public static CheckpointProperties forRescaling() {
+		return RESCALING_CHECKPOINT;
+	}
+
 	/**
 	 * Creates the checkpoint properties for a checkpoint.
 	 *
@@ -101,6 +101,12 @@ public class CheckpointStatsTracker {
 	@Nullable
 	private volatile CompletedCheckpointStats latestCompletedCheckpoint;
 
+	/** Duration of processing the latest checkpoint acknowledgement (in nanoseconds). */
+	private volatile long latestAcknowledgeProcessingDurationNanos = -1L;
+
+	/** Duration of finalizing the latest completed checkpoint (in milliseconds). */
+	private volatile long latestFinalizationDurationMillis = -1L;
+
 	/**
 	 * Creates a new checkpoint stats tracker.
 	 *
@@ -276,6 +282,27 @@ public class CheckpointStatsTracker {
 		}
 	}
 
+	/**
+	 * Callback when the checkpoint coordinator processed a checkpoint acknowledgement.
+	 *
+	 * <p>Acknowledgements are processed concurrently, so this does not acquire the stats lock.
+	 *
+	 * @param durationNanos Duration of processing the acknowledgement in nanoseconds.
+	 */
+	void reportAcknowledgeProcessingDuration(long durationNanos) {
+		latestAcknowledgeProcessingDurationNanos = durationNanos;
+	}
+
+	/**
+	 * Callback when the checkpoint coordinator finalized a checkpoint, i.e. wrote its metadata
+	 * and added it to the completed checkpoint store.
+	 *
+	 * @param durationMillis Duration of the finalization in milliseconds.
+	 */
+	void reportFinalizationDuration(long durationMillis) {
+		latestFinalizationDurationMillis = durationMillis;
+	}
+
 	/**
 	 * Creates an empty map with a {@link TaskStateStats} instance per task
 	 * that is involved in the checkpoint.
@@ -347,6 +374,12 @@ public class CheckpointStatsTracker {
 	@VisibleForTesting
 	static final String LATEST_COMPLETED_CHECKPOINT_EXTERNAL_PATH_METRIC = "lastCheckpointExternalPath";
 
+	@VisibleForTesting
+	static final String LATEST_ACKNOWLEDGE_PROCESSING_DURATION_METRIC = "lastCheckpointAcknowledgeProcessingTime";
+
+	@VisibleForTesting
+	static final String LATEST_COMPLETED_CHECKPOINT_FINALIZATION_DURATION_METRIC = "lastCheckpointFinalizationDuration";
+
 	/**
 	 * Register the exposed metrics.
 	 *
@@ -362,6 +395,8 @@ public class CheckpointStatsTracker {
 		metricGroup.gauge(LATEST_COMPLETED_CHECKPOINT_DURATION_METRIC, new LatestCompletedCheckpointDurationGauge());
 		metricGroup.gauge(LATEST_COMPLETED_CHECKPOINT_ALIGNMENT_BUFFERED_METRIC, new LatestCompletedCheckpointAlignmentBufferedGauge());
 		metricGroup.gauge(LATEST_COMPLETED_CHECKPOINT_EXTERNAL_PATH_METRIC, new LatestCompletedCheckpointExternalPathGauge());
+		metricGroup.gauge(LATEST_ACKNOWLEDGE_PROCESSING_DURATION_METRIC, new LatestAcknowledgeProcessingDurationGauge());
+		metricGroup.gauge(LATEST_COMPLETED_CHECKPOINT_FINALIZATION_DURATION_METRIC, new LatestCompletedCheckpointFinalizationDurationGauge());
 	}
 
 	private class CheckpointsCounter implements Gauge<Long> {
@@ -452,4 +487,18 @@ public class CheckpointStatsTracker {
 		}
 	}
 
+	private class LatestAcknowledgeProcessingDurationGauge implements Gauge<Long> {
+		@Override
+		public Long getValue() {
+			return latestAcknowledgeProcessingDurationNanos;
+		}
+	}
+
+	private class LatestCompletedCheckpointFinalizationDurationGauge implements Gauge<Long> {
+		@Override
+		public Long getValue() {
+			return latestFinalizationDurationMillis;
+		}
+	}
+
 }
@@ -24,9 +24,26 @@ package org.apache.flink.runtime.checkpoint;
 public enum CheckpointType {
 
 	/** A checkpoint, full or incremental. */
-	CHECKPOINT,
+	CHECKPOINT(false),
 
 	/** A savepoint. */
-	SAVEPOINT;
+	SAVEPOINT(true),
 
+	/** A savepoint after which the job is stopped. Before the sources take this savepoint,
+	 * they advance to the end of event time, so that the savepoint holds the final state. */
+	TERMINATING_SAVEPOINT(true);
+
+	private final boolean isSavepoint;
+
+	CheckpointType(boolean isSavepoint) {
+		this.isSavepoint = isSavepoint;
+	}
+
+	/**
+	 * Returns whether this type describes a savepoint, i.e., a self-contained snapshot in the
+	 * savepoint format which is not owned by the job.
+	 */
+	public boolean isSavepoint() {
+		return isSavepoint;
+	}
 }
@@ -192,10 +192,22 @@ public class OperatorSubtaskState implements CompositeStateHandle {
 
 	@Override
 	public void registerSharedStates(SharedStateRegistry sharedStateRegistry) {
+		registerSharedOperatorState(sharedStateRegistry, managedOperatorState);
+		registerSharedOperatorState(sharedStateRegistry, rawOperatorState);
 		registerSharedState(sharedStateRegistry, managedKeyedState);
 		registerSharedState(sharedStateRegistry, rawKeyedState);
 	}
 
+	private static void registerSharedOperatorState(
+		SharedStateRegistry sharedStateRegistry,
+		Iterable<OperatorStateHandle> stateHandles) {
+		for (OperatorStateHandle stateHandle : stateHandles) {
+			if (stateHandle != null) {
+				StateUtil.registerSharedStatesIfComposite(stateHandle.getDelegateStateHandle(), sharedStateRegistry);
+			}
+		}
+	}
+
 	private static void registerSharedState(
 		SharedStateRegistry sharedStateRegistry,
 		Iterable<KeyedStateHandle> stateHandles) {
@@ -20,7 +20,7 @@ package org.apache.flink.runtime.checkpoint;
 
 import org.apache.flink.api.common.JobID;
 import org.apache.flink.runtime.checkpoint.savepoint.Savepoint;
-import org.apache.flink.runtime.checkpoint.savepoint.SavepointV2;
+import org.apache.flink.runtime.checkpoint.savepoint.SavepointV3;
 import org.apache.flink.runtime.executiongraph.ExecutionAttemptID;
 import org.apache.flink.runtime.executiongraph.ExecutionVertex;
 import org.apache.flink.runtime.jobgraph.OperatorID;
@@ -107,7 +107,11 @@ public class PendingCheckpoint {
 
 	private int numAcknowledgedTasks;
 
-	private boolean discarded;
+	/** Volatile, because it is read by the checkpoint coordinator without holding the lock. */
+	private volatile boolean discarded;
+
+	/** Flag whether a caller has taken over the finalization of this checkpoint. */
+	private boolean finalizationClaimed;
 
 	/** Optional stats tracker callback. */
 	@Nullable
@@ -185,6 +189,25 @@ public class PendingCheckpoint {
 		return discarded;
 	}
 
+	/**
+	 * Claims the finalization of this checkpoint. Acknowledgements may be processed concurrently,
+	 * so this makes sure that only a single caller finalizes the checkpoint once all tasks
+	 * have acknowledged it.
+	 *
+	 * @return True, if the checkpoint is fully acknowledged and the caller is responsible for
+	 *         finalizing it, false otherwise.
+	 */
+	boolean claimFinalization() {
+		synchronized (lock) {
+			if (isFullyAcknowledged() && !finalizationClaimed) {
+				finalizationClaimed = true;
+				return true;
+			} else {
+				return false;
+			}
+		}
+	}
+
 	/**
 	 * Checks whether this checkpoint can be subsumed or whether it should always continue, regardless
 	 * of newer checkpoints in progress.
@@ -252,7 +275,7 @@ public class PendingCheckpoint {
 			// make sure we fulfill the promise with an exception if something fails
 			try {
 				// write out the metadata
-				final Savepoint savepoint = new SavepointV2(checkpointId, operatorStates.values(), masterState);
+				final Savepoint savepoint = new SavepointV3(checkpointId, operatorStates.values(), masterState);
 				final CompletedCheckpointStorageLocation finalizedLocation;
 
 				try (CheckpointMetadataOutputStream out = targetLocation.createMetadataOutputStream()) {
@@ -365,6 +388,8 @@ public class PendingCheckpoint {
 			if (statsCallback != null) {
 				// Do this in millis because the web frontend works with them
 				long alignmentDurationMillis = metrics.getAlignmentDurationNanos() / 1_000_000;
+				long checkpointStartDelayMillis = nanosToMillis(metrics.getCheckpointStartDelayNanos());
+				long barrierPropagationMillis = nanosToMillis(metrics.getBarrierPropagationNanos());
 
 				SubtaskStateStats subtaskStateStats = new SubtaskStateStats(
 					subtaskIndex,
@@ -373,7 +398,10 @@ public class PendingCheckpoint {
 					metrics.getSyncDurationMillis(),
 					metrics.getAsyncDurationMillis(),
 					metrics.getBytesBufferedInAlignment(),
-					alignmentDurationMillis);
+					alignmentDurationMillis,
+					checkpointStartDelayMillis,
+					barrierPropagationMillis,
+					metrics.getLastAlignedChannelIndex());
 
 				statsCallback.reportSubtaskStats(vertex.getJobvertexId(), subtaskStateStats);
 			}
@@ -522,6 +550,11 @@ public class PendingCheckpoint {
 	//  Utilities
 	// ------------------------------------------------------------------------
 
+	/** Converts the given duration to milliseconds, keeping <code>-1</code> for unknown durations. */
+	private static long nanosToMillis(long nanos) {
+		return nanos < 0 ? -1L : nanos / 1_000_000;
+	}
+
 	@Override
 	public String toString() {
 		return String.format("Pending Checkpoint %d @ %d - confirmed=%d, pending=%d",
@@ -21,6 +21,7 @@ package org.apache.flink.runtime.checkpoint;
 import org.apache.flink.api.java.tuple.Tuple2;
 import org.apache.flink.runtime.executiongraph.Execution;
 import org.apache.flink.runtime.executiongraph.ExecutionJobVertex;
+import org.apache.flink.runtime.executiongraph.ExecutionVertex;
 import org.apache.flink.runtime.jobgraph.JobVertexID;
 import org.apache.flink.runtime.jobgraph.OperatorID;
 import org.apache.flink.runtime.jobgraph.OperatorInstanceID;
@@ -34,6 +35,8 @@ import org.apache.flink.util.Preconditions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
+
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -59,16 +62,36 @@ public class StateAssignmentOperation {
 	private final long restoreCheckpointId;
 	private final boolean allowNonRestoredState;
 
+	/** The vertices to assign state to, or null to assign state to all vertices of the tasks. */
+	@Nullable
+	private final Set<ExecutionVertex> verticesToRestore;
+
 	public StateAssignmentOperation(
 		long restoreCheckpointId,
 		Map<JobVertexID, ExecutionJobVertex> tasks,
 		Map<OperatorID, OperatorState> operatorStates,
 		boolean allowNonRestoredState) {
 
+		this(restoreCheckpointId, tasks, operatorStates, allowNonRestoredState, null);
+	}
+
+	/**
+	 * Creates a state assignment that only sets the initial state of the given vertices. The
+	 * state is still redistributed over the full parallelism of the tasks, so that every vertex
+	 * receives exactly the state it would receive in a restore of the whole job.
+	 */
+	public StateAssignmentOperation(
+		long restoreCheckpointId,
+		Map<JobVertexID, ExecutionJobVertex> tasks,
+		Map<OperatorID, OperatorState> operatorStates,
+		boolean allowNonRestoredState,
+		@Nullable Set<ExecutionVertex> verticesToRestore) {
+
 		this.restoreCheckpointId = restoreCheckpointId;
 		this.tasks = Preconditions.checkNotNull(tasks);
 		this.operatorStates = Preconditions.checkNotNull(operatorStates);
 		this.allowNonRestoredState = allowNonRestoredState;
+		this.verticesToRestore = verticesToRestore;
 	}
 
 	public boolean assignStates() throws Exception {
@@ -80,6 +103,10 @@ public class StateAssignmentOperation {
 		for (Map.Entry<JobVertexID, ExecutionJobVertex> task : localTasks.entrySet()) {
 			final ExecutionJobVertex executionJobVertex = task.getValue();
 
+			if (!hasVerticesToRestore(executionJobVertex)) {
+				continue;
+			}
+
 			// find the states of all operators belonging to this task
 			List<OperatorID> operatorIDs = executionJobVertex.getOperatorIDs();
 			List<OperatorID> altOperatorIDs = executionJobVertex.getUserDefinedOperatorIDs();
@@ -111,6 +138,19 @@ public class StateAssignmentOperation {
 		return true;
 	}
 
+	private boolean hasVerticesToRestore(ExecutionJobVertex executionJobVertex) {
+		if (verticesToRestore == null) {
+			return true;
+		}
+
+		for (ExecutionVertex executionVertex : executionJobVertex.getTaskVertices()) {
+			if (verticesToRestore.contains(executionVertex)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	private void assignAttemptState(ExecutionJobVertex executionJobVertex, List<OperatorState> operatorStates) {
 
 		List<OperatorID> operatorIDs = executionJobVertex.getOperatorIDs();
@@ -195,8 +235,12 @@ public class StateAssignmentOperation {
 
 		for (int subTaskIndex = 0; subTaskIndex < newParallelism; subTaskIndex++) {
 
-			Execution currentExecutionAttempt = executionJobVertex.getTaskVertices()[subTaskIndex]
-				.getCurrentExecutionAttempt();
+			ExecutionVertex executionVertex = executionJobVertex.getTaskVertices()[subTaskIndex];
+			if (verticesToRestore != null && !verticesToRestore.contains(executionVertex)) {
+				continue;
+			}
+
+			Execution currentExecutionAttempt = executionVertex.getCurrentExecutionAttempt();
 
 			TaskStateSnapshot taskState = new TaskStateSnapshot();
 			boolean statelessTask = true;
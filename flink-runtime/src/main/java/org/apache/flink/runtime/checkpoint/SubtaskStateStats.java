@@ -60,6 +60,15 @@ public class SubtaskStateStats implements Serializable {
 	/** Alignment duration in . */
 	private final long alignmentDuration;
 
+	/** Delay between the triggering of the checkpoint and the arrival of the first barrier in milliseconds. */
+	private final long checkpointStartDelay;
+
+	/** Delay between the triggering of the checkpoint and the arrival of the last barrier in milliseconds. */
+	private final long barrierPropagationDuration;
+
+	/** Index of the input channel whose barrier arrived last. */
+	private final int lastAlignedChannel;
+
 	/**
 	 * Creates the stats for a single subtask.
 	 *
@@ -79,6 +88,44 @@ public class SubtaskStateStats implements Serializable {
 			long asyncCheckpointDuration,
 			long alignmentBuffered,
 			long alignmentDuration) {
+		this(
+			subtaskIndex,
+			ackTimestamp,
+			stateSize,
+			syncCheckpointDuration,
+			asyncCheckpointDuration,
+			alignmentBuffered,
+			alignmentDuration,
+			-1L,
+			-1L,
+			-1);
+	}
+
+	/**
+	 * Creates the stats for a single subtask, including the propagation of the checkpoint barriers.
+	 *
+	 * @param subtaskIndex Index of the subtask.
+	 * @param ackTimestamp Timestamp when the acknowledgement of this subtask was received at the coordinator.
+	 * @param stateSize Size of the checkpointed state at this subtask.
+	 * @param syncCheckpointDuration Checkpoint duration at the task (synchronous part)
+	 * @param asyncCheckpointDuration  Checkpoint duration at the task (asynchronous part)
+	 * @param alignmentBuffered Bytes buffered during stream alignment (for exactly-once only).
+	 * @param alignmentDuration Duration of the stream alignment (for exactly-once only).
+	 * @param checkpointStartDelay Delay until the first barrier arrived at the subtask.
+	 * @param barrierPropagationDuration Delay until the last barrier arrived at the subtask.
+	 * @param lastAlignedChannel Index of the input channel whose barrier arrived last.
+	 */
+	SubtaskStateStats(
+			int subtaskIndex,
+			long ackTimestamp,
+			long stateSize,
+			long syncCheckpointDuration,
+			long asyncCheckpointDuration,
+			long alignmentBuffered,
+			long alignmentDuration,
+			long checkpointStartDelay,
+			long barrierPropagationDuration,
+			int lastAlignedChannel) {
 
 		checkArgument(subtaskIndex >= 0, "Negative subtask index");
 		this.subtaskIndex = subtaskIndex;
@@ -89,6 +136,9 @@ public class SubtaskStateStats implements Serializable {
 		this.asyncCheckpointDuration = asyncCheckpointDuration;
 		this.alignmentBuffered = alignmentBuffered;
 		this.alignmentDuration = alignmentDuration;
+		this.checkpointStartDelay = checkpointStartDelay;
+		this.barrierPropagationDuration = barrierPropagationDuration;
+		this.lastAlignedChannel = lastAlignedChannel;
 	}
 
 	/**
@@ -177,4 +227,42 @@ public class SubtaskStateStats implements Serializable {
 		return alignmentDuration;
 	}
 
+	/**
+	 * Returns the delay between the triggering of the checkpoint and the arrival of the first
+	 * checkpoint barrier at the subtask. For sources, this is the delay until the checkpoint
+	 * was triggered at the task.
+	 *
+	 * <p>Can return <code>-1</code> if the runtime did not report this.
+	 *
+	 * @return Start delay of the checkpoint at the subtask or <code>-1</code>.
+	 */
+	public long getCheckpointStartDelay() {
+		return checkpointStartDelay;
+	}
+
+	/**
+	 * Returns the delay between the triggering of the checkpoint and the arrival of the last
+	 * checkpoint barrier at the subtask, i.e. the time the barriers took to travel from the
+	 * sources to the subtask over its slowest input.
+	 *
+	 * <p>Can return <code>-1</code> if the runtime did not report this.
+	 *
+	 * @return Barrier propagation duration or <code>-1</code>.
+	 */
+	public long getBarrierPropagationDuration() {
+		return barrierPropagationDuration;
+	}
+
+	/**
+	 * Returns the index of the input channel whose checkpoint barrier arrived last at the
+	 * subtask. A channel which repeatedly shows up here points to a back pressured input.
+	 *
+	 * <p>Can return <code>-1</code> if the runtime did not report this, for example for sources.
+	 *
+	 * @return Index of the input channel whose barrier arrived last or <code>-1</code>.
+	 */
+	public int getLastAlignedChannel() {
+		return lastAlignedChannel;
+	}
+
 }
@@ -185,7 +185,7 @@ class SavepointV2Serializer implements SavepointSerializer<SavepointV2> {
 	//  master state (de)serialization methods
 	// ------------------------------------------------------------------------
 
-	private void serializeMasterState(MasterState state, DataOutputStream dos) throws IOException {
+	static void serializeMasterState(MasterState state, DataOutputStream dos) throws IOException {
 		// magic number for error detection
 		dos.writeInt(MASTER_STATE_MAGIC_NUMBER);
 
@@ -208,7 +208,7 @@ class SavepointV2Serializer implements SavepointSerializer<SavepointV2> {
 		dos.write(data, 0, data.length);
 	}
 
-	private MasterState deserializeMasterState(DataInputStream dis) throws IOException {
+	static MasterState deserializeMasterState(DataInputStream dis) throws IOException {
 		final int magicNumber = dis.readInt();
 		if (magicNumber != MASTER_STATE_MAGIC_NUMBER) {
 			throw new IOException("incorrect magic number in master styte byte sequence");
@@ -242,7 +242,7 @@ class SavepointV2Serializer implements SavepointSerializer<SavepointV2> {
 	//  task state (de)serialization methods
 	// ------------------------------------------------------------------------
 
-	private static <T> T extractSingleton(Collection<T> collection) {
+	static <T> T extractSingleton(Collection<T> collection) {
 		if (collection == null || collection.isEmpty()) {
 			return null;
 		}
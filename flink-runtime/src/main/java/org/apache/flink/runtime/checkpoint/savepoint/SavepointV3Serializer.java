@@ -0,0 +1,679 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.checkpoint.savepoint;
+
+import org.apache.flink.core.fs.Path;
+import org.apache.flink.runtime.checkpoint.MasterState;
+import org.apache.flink.runtime.checkpoint.OperatorState;
+import org.apache.flink.runtime.checkpoint.OperatorSubtaskState;
+import org.apache.flink.runtime.jobgraph.OperatorID;
+import org.apache.flink.runtime.state.IncrementalKeyedStateHandle;
+import org.apache.flink.runtime.state.KeyGroupRange;
+import org.apache.flink.runtime.state.KeyGroupRangeOffsets;
+import org.apache.flink.runtime.state.KeyGroupsStateHandle;
+import org.apache.flink.runtime.state.KeyedStateHandle;
+import org.apache.flink.runtime.state.OperatorStateHandle;
+import org.apache.flink.runtime.state.OperatorStreamStateHandle;
+import org.apache.flink.runtime.state.StateHandleID;
+import org.apache.flink.runtime.state.StreamStateHandle;
+import org.apache.flink.runtime.state.filesystem.FileStateHandle;
+import org.apache.flink.runtime.state.filesystem.SegmentFileStateHandle;
+import org.apache.flink.runtime.state.memory.ByteStreamStateHandle;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.apache.flink.runtime.checkpoint.savepoint.SavepointV2Serializer.deserializeMasterState;
+import static org.apache.flink.runtime.checkpoint.savepoint.SavepointV2Serializer.extractSingleton;
+import static org.apache.flink.runtime.checkpoint.savepoint.SavepointV2Serializer.serializeMasterState;
+
+/**
+ * (De)serializer for checkpoint metadata format version 3.
+ *
+ * <p>This format version holds the same information as version 2, but is much more compact
+ * for checkpoints with many state handles, as created by jobs with a high parallelism and
+ * incremental checkpoints:
+ * <ul>
+ *     <li>Strings which appear repeatedly (the directories of state files, state names,
+ *     state handle IDs) are written once to a dictionary and referenced by their index.</li>
+ *     <li>Stream state handles are written once to a handle table and referenced by their index.
+ *     Handles to the same file, for example shared incremental state, are only stored once.</li>
+ *     <li>Counts, sizes and offsets are written as variable-length integers, offsets are
+ *     delta-encoded.</li>
+ *     <li>The subtask states of each operator are written to a length-prefixed section which
+ *     only references the dictionary and the handle table, so it can be decoded on its own.</li>
+ * </ul>
+ *
+ * <p>Basic checkpoint metadata layout:
+ * <pre>
+ *  +--------------+---------------+-------------------+--------------+-----------------+
+ *  | checkpointID | master states | string dictionary | handle table | operator states |
+ *  +--------------+---------------+-------------------+--------------+-----------------+
+ *
+ *  Operator state:
+ *  +-------------+-------------+-----------------+----------------+--------------------------+
+ *  | operator ID | parallelism | max parallelism | section length | section (subtask states) |
+ *  +-------------+-------------+-----------------+----------------+--------------------------+
+ * </pre>
+ *
+ * <p>The master states are written in the same way as in version 2.
+ */
+class SavepointV3Serializer implements SavepointSerializer<SavepointV3> {
+
+	private static final byte NULL_HANDLE = 0;
+	private static final byte BYTE_STREAM_STATE_HANDLE = 1;
+	private static final byte FILE_STREAM_STATE_HANDLE = 2;
+	private static final byte KEY_GROUPS_HANDLE = 3;
+	private static final byte PARTITIONABLE_OPERATOR_STATE_HANDLE = 4;
+	private static final byte INCREMENTAL_KEY_GROUPS_HANDLE = 5;
+	private static final byte SEGMENT_FILE_STREAM_STATE_HANDLE = 6;
+
+	/** The singleton instance of the serializer. */
+	public static final SavepointV3Serializer INSTANCE = new SavepointV3Serializer();
+
+	// ------------------------------------------------------------------------
+
+	/** Singleton, not meant to be instantiated. */
+	private SavepointV3Serializer() {}
+
+	// ------------------------------------------------------------------------
+	//  (De)serialization entry points
+	// ------------------------------------------------------------------------
+
+	@Override
+	public void serialize(SavepointV3 checkpointMetadata, DataOutputStream dos) throws IOException {
+		final StringDictionary dictionary = new StringDictionary();
+		final HandleTable handleTable = new HandleTable();
+
+		// the operator sections are encoded first, because they fill the dictionary and the handle table
+		final Collection<OperatorState> operatorStates = checkpointMetadata.getOperatorStates();
+		final List<byte[]> operatorSections = new ArrayList<>(operatorStates.size());
+		final ByteArrayOutputStream sectionBuffer = new ByteArrayOutputStream();
+
+		for (OperatorState operatorState : operatorStates) {
+			sectionBuffer.reset();
+			final DataOutputStream sectionOut = new DataOutputStream(sectionBuffer);
+
+			final Map<Integer, OperatorSubtaskState> subtaskStateMap = operatorState.getSubtaskStates();
+			writeVarInt(subtaskStateMap.size(), sectionOut);
+			for (Map.Entry<Integer, OperatorSubtaskState> entry : subtaskStateMap.entrySet()) {
+				writeVarInt(entry.getKey(), sectionOut);
+				serializeSubtaskState(entry.getValue(), sectionOut, dictionary, handleTable);
+			}
+
+			sectionOut.flush();
+			operatorSections.add(sectionBuffer.toByteArray());
+		}
+
+		// the handle table references the dictionary as well, so it needs to be encoded before writing the dictionary
+		final ByteArrayOutputStream handleTableBuffer = new ByteArrayOutputStream();
+		final DataOutputStream handleTableOut = new DataOutputStream(handleTableBuffer);
+		handleTable.write(handleTableOut, dictionary);
+		handleTableOut.flush();
+
+		// first: checkpoint ID
+		dos.writeLong(checkpointMetadata.getCheckpointId());
+
+		// second: master state
+		final Collection<MasterState> masterStates = checkpointMetadata.getMasterStates();
+		dos.writeInt(masterStates.size());
+		for (MasterState ms : masterStates) {
+			serializeMasterState(ms, dos);
+		}
+
+		// third: dictionary and handle table
+		dictionary.write(dos);
+		handleTableBuffer.writeTo(dos);
+
+		// fourth: operator states
+		writeVarInt(operatorStates.size(), dos);
+
+		final Iterator<byte[]> sections = operatorSections.iterator();
+		for (OperatorState operatorState : operatorStates) {
+			dos.writeLong(operatorState.getOperatorID().getLowerPart());
+			dos.writeLong(operatorState.getOperatorID().getUpperPart());
+
+			writeVarInt(operatorState.getParallelism(), dos);
+			writeVarInt(operatorState.getMaxParallelism(), dos);
+
+			final byte[] section = sections.next();
+			writeVarInt(section.length, dos);
+			dos.write(section);
+		}
+
+		dos.flush();
+	}
+
+	@Override
+	public SavepointV3 deserialize(DataInputStream dis, ClassLoader cl) throws IOException {
+		// first: checkpoint ID
+		final long checkpointId = dis.readLong();
+		if (checkpointId < 0) {
+			throw new IOException("invalid checkpoint ID: " + checkpointId);
+		}
+
+		// second: master state
+		final List<MasterState> masterStates;
+		final int numMasterStates = dis.readInt();
+
+		if (numMasterStates == 0) {
+			masterStates = Collections.emptyList();
+		}
+		else if (numMasterStates > 0) {
+			masterStates = new ArrayList<>(numMasterStates);
+			for (int i = 0; i < numMasterStates; i++) {
+				masterStates.add(deserializeMasterState(dis));
+			}
+		}
+		else {
+			throw new IOException("invalid number of master states: " + numMasterStates);
+		}
+
+		// third: dictionary and handle table
+		final String[] dictionary = readDictionary(dis);
+		final StreamStateHandle[] handleTable = readHandleTable(dis, dictionary);
+
+		// fourth: operator states
+		final int numOperatorStates = readVarInt(dis);
+		final List<OperatorState> operatorStates = new ArrayList<>(numOperatorStates);
+
+		for (int i = 0; i < numOperatorStates; i++) {
+			final OperatorID operatorId = new OperatorID(dis.readLong(), dis.readLong());
+			final int parallelism = readVarInt(dis);
+			final int maxParallelism = readVarInt(dis);
+
+			final OperatorState operatorState = new OperatorState(operatorId, parallelism, maxParallelism);
+			operatorStates.add(operatorState);
+
+			final byte[] section = new byte[readVarInt(dis)];
+			dis.readFully(section);
+
+			final DataInputStream sectionIn = new DataInputStream(new ByteArrayInputStream(section));
+
+			final int numSubtaskStates = readVarInt(sectionIn);
+			for (int j = 0; j < numSubtaskStates; j++) {
+				final int subtaskIndex = readVarInt(sectionIn);
+				operatorState.putState(subtaskIndex, deserializeSubtaskState(sectionIn, dictionary, handleTable));
+			}
+
+			// check that the data is not corrupt
+			if (sectionIn.read() != -1) {
+				throw new IOException("found trailing bytes in the state section of operator " + operatorId);
+			}
+		}
+
+		return new SavepointV3(checkpointId, operatorStates, masterStates);
+	}
+
+	// ------------------------------------------------------------------------
+	//  task state (de)serialization methods
+	// ------------------------------------------------------------------------
+
+	private static void serializeSubtaskState(
+			OperatorSubtaskState subtaskState,
+			DataOutputStream dos,
+			StringDictionary dictionary,
+			HandleTable handleTable) throws IOException {
+
+		serializeOperatorStateHandle(extractSingleton(subtaskState.getManagedOperatorState()), dos, dictionary, handleTable);
+		serializeOperatorStateHandle(extractSingleton(subtaskState.getRawOperatorState()), dos, dictionary, handleTable);
+		serializeKeyedStateHandle(extractSingleton(subtaskState.getManagedKeyedState()), dos, dictionary, handleTable);
+		serializeKeyedStateHandle(extractSingleton(subtaskState.getRawKeyedState()), dos, dictionary, handleTable);
+	}
+
+	private static OperatorSubtaskState deserializeSubtaskState(
+			DataInputStream dis,
+			String[] dictionary,
+			StreamStateHandle[] handleTable) throws IOException {
+
+		final OperatorStateHandle managedOperatorState = deserializeOperatorStateHandle(dis, dictionary, handleTable);
+		final OperatorStateHandle rawOperatorState = deserializeOperatorStateHandle(dis, dictionary, handleTable);
+		final KeyedStateHandle managedKeyedState = deserializeKeyedStateHandle(dis, dictionary, handleTable);
+		final KeyedStateHandle rawKeyedState = deserializeKeyedStateHandle(dis, dictionary, handleTable);
+
+		return new OperatorSubtaskState(
+			managedOperatorState,
+			rawOperatorState,
+			managedKeyedState,
+			rawKeyedState);
+	}
+
+	private static void serializeKeyedStateHandle(
+			KeyedStateHandle stateHandle,
+			DataOutputStream dos,
+			StringDictionary dictionary,
+			HandleTable handleTable) throws IOException {
+
+		if (stateHandle == null) {
+			dos.writeByte(NULL_HANDLE);
+		} else if (stateHandle instanceof KeyGroupsStateHandle) {
+			KeyGroupsStateHandle keyGroupsStateHandle = (KeyGroupsStateHandle) stateHandle;
+
+			dos.writeByte(KEY_GROUPS_HANDLE);
+			writeVarInt(keyGroupsStateHandle.getKeyGroupRange().getStartKeyGroup(), dos);
+			writeVarInt(keyGroupsStateHandle.getKeyGroupRange().getNumberOfKeyGroups(), dos);
+
+			long previousOffset = 0L;
+			for (int keyGroup : keyGroupsStateHandle.getKeyGroupRange()) {
+				final long offset = keyGroupsStateHandle.getOffsetForKeyGroup(keyGroup);
+				writeVarLong(zigZagEncode(offset - previousOffset), dos);
+				previousOffset = offset;
+			}
+
+			writeHandleReference(keyGroupsStateHandle.getDelegateStateHandle(), dos, handleTable);
+		} else if (stateHandle instanceof IncrementalKeyedStateHandle) {
+			IncrementalKeyedStateHandle incrementalKeyedStateHandle =
+				(IncrementalKeyedStateHandle) stateHandle;
+
+			dos.writeByte(INCREMENTAL_KEY_GROUPS_HANDLE);
+
+			writeVarLong(incrementalKeyedStateHandle.getCheckpointId(), dos);
+			writeVarInt(dictionary.indexOf(String.valueOf(incrementalKeyedStateHandle.getBackendIdentifier())), dos);
+			writeVarInt(incrementalKeyedStateHandle.getKeyGroupRange().getStartKeyGroup(), dos);
+			writeVarInt(incrementalKeyedStateHandle.getKeyGroupRange().getNumberOfKeyGroups(), dos);
+
+			writeHandleReference(incrementalKeyedStateHandle.getMetaStateHandle(), dos, handleTable);
+
+			serializeStreamStateHandleMap(incrementalKeyedStateHandle.getSharedState(), dos, dictionary, handleTable);
+			serializeStreamStateHandleMap(incrementalKeyedStateHandle.getPrivateState(), dos, dictionary, handleTable);
+		} else {
+			throw new IllegalStateException("Unknown KeyedStateHandle type: " + stateHandle.getClass());
+		}
+	}
+
+	private static KeyedStateHandle deserializeKeyedStateHandle(
+			DataInputStream dis,
+			String[] dictionary,
+			StreamStateHandle[] handleTable) throws IOException {
+
+		final int type = dis.readByte();
+		if (NULL_HANDLE == type) {
+
+			return null;
+		} else if (KEY_GROUPS_HANDLE == type) {
+
+			int startKeyGroup = readVarInt(dis);
+			int numKeyGroups = readVarInt(dis);
+			KeyGroupRange keyGroupRange =
+				KeyGroupRange.of(startKeyGroup, startKeyGroup + numKeyGroups - 1);
+
+			long[] offsets = new long[numKeyGroups];
+			long previousOffset = 0L;
+			for (int i = 0; i < numKeyGroups; ++i) {
+				offsets[i] = previousOffset + zigZagDecode(readVarLong(dis));
+				previousOffset = offsets[i];
+			}
+
+			KeyGroupRangeOffsets keyGroupRangeOffsets = new KeyGroupRangeOffsets(keyGroupRange, offsets);
+			StreamStateHandle stateHandle = readHandleReference(dis, handleTable);
+			return new KeyGroupsStateHandle(keyGroupRangeOffsets, stateHandle);
+		} else if (INCREMENTAL_KEY_GROUPS_HANDLE == type) {
+
+			long checkpointId = readVarLong(dis);
+			String backendId = readString(dis, dictionary);
+			int startKeyGroup = readVarInt(dis);
+			int numKeyGroups = readVarInt(dis);
+			KeyGroupRange keyGroupRange =
+				KeyGroupRange.of(startKeyGroup, startKeyGroup + numKeyGroups - 1);
+
+			StreamStateHandle metaDataStateHandle = readHandleReference(dis, handleTable);
+			Map<StateHandleID, StreamStateHandle> sharedStates =
+				deserializeStreamStateHandleMap(dis, dictionary, handleTable);
+			Map<StateHandleID, StreamStateHandle> privateStates =
+				deserializeStreamStateHandleMap(dis, dictionary, handleTable);
+
+			return new IncrementalKeyedStateHandle(
+				UUID.fromString(backendId),
+				keyGroupRange,
+				checkpointId,
+				sharedStates,
+				privateStates,
+				metaDataStateHandle);
+		} else {
+			throw new IllegalStateException("Reading invalid KeyedStateHandle, type: " + type);
+		}
+	}
+
+	private static void serializeStreamStateHandleMap(
+			Map<StateHandleID, StreamStateHandle> map,
+			DataOutputStream dos,
+			StringDictionary dictionary,
+			HandleTable handleTable) throws IOException {
+
+		writeVarInt(map.size(), dos);
+		for (Map.Entry<StateHandleID, StreamStateHandle> entry : map.entrySet()) {
+			writeVarInt(dictionary.indexOf(entry.getKey().toString()), dos);
+			writeHandleReference(entry.getValue(), dos, handleTable);
+		}
+	}
+
+	private static Map<StateHandleID, StreamStateHandle> deserializeStreamStateHandleMap(
+			DataInputStream dis,
+			String[] dictionary,
+			StreamStateHandle[] handleTable) throws IOException {
+
+		final int size = readVarInt(dis);
+		Map<StateHandleID, StreamStateHandle> result = new HashMap<>(size);
+
+		for (int i = 0; i < size; ++i) {
+			StateHandleID stateHandleID = new StateHandleID(readString(dis, dictionary));
+			StreamStateHandle stateHandle = readHandleReference(dis, handleTable);
+			result.put(stateHandleID, stateHandle);
+		}
+
+		return result;
+	}
+
+	private static void serializeOperatorStateHandle(
+			OperatorStateHandle stateHandle,
+			DataOutputStream dos,
+			StringDictionary dictionary,
+			HandleTable handleTable) throws IOException {
+
+		if (stateHandle != null) {
+			dos.writeByte(PARTITIONABLE_OPERATOR_STATE_HANDLE);
+			Map<String, OperatorStateHandle.StateMetaInfo> partitionOffsetsMap =
+					stateHandle.getStateNameToPartitionOffsets();
+			writeVarInt(partitionOffsetsMap.size(), dos);
+			for (Map.Entry<String, OperatorStateHandle.StateMetaInfo> entry : partitionOffsetsMap.entrySet()) {
+				writeVarInt(dictionary.indexOf(entry.getKey()), dos);
+
+				OperatorStateHandle.StateMetaInfo stateMetaInfo = entry.getValue();
+				dos.writeByte(stateMetaInfo.getDistributionMode().ordinal());
+
+				long[] offsets = stateMetaInfo.getOffsets();
+				writeVarInt(offsets.length, dos);
+
+				long previousOffset = 0L;
+				for (long offset : offsets) {
+					writeVarLong(zigZagEncode(offset - previousOffset), dos);
+					previousOffset = offset;
+				}
+			}
+			writeHandleReference(stateHandle.getDelegateStateHandle(), dos, handleTable);
+		} else {
+			dos.writeByte(NULL_HANDLE);
+		}
+	}
+
+	private static OperatorStateHandle deserializeOperatorStateHandle(
+			DataInputStream dis,
+			String[] dictionary,
+			StreamStateHandle[] handleTable) throws IOException {
+
+		final int type = dis.readByte();
+		if (NULL_HANDLE == type) {
+			return null;
+		} else if (PARTITIONABLE_OPERATOR_STATE_HANDLE == type) {
+			int mapSize = readVarInt(dis);
+			Map<String, OperatorStateHandle.StateMetaInfo> offsetsMap = new HashMap<>(mapSize);
+			for (int i = 0; i < mapSize; ++i) {
+				String key = readString(dis, dictionary);
+
+				int modeOrdinal = dis.readByte();
+				OperatorStateHandle.Mode mode = OperatorStateHandle.Mode.values()[modeOrdinal];
+
+				long[] offsets = new long[readVarInt(dis)];
+				long previousOffset = 0L;
+				for (int j = 0; j < offsets.length; ++j) {
+					offsets[j] = previousOffset + zigZagDecode(readVarLong(dis));
+					previousOffset = offsets[j];
+				}
+
+				OperatorStateHandle.StateMetaInfo metaInfo =
+						new OperatorStateHandle.StateMetaInfo(offsets, mode);
+				offsetsMap.put(key, metaInfo);
+			}
+			StreamStateHandle stateHandle = readHandleReference(dis, handleTable);
+			return new OperatorStreamStateHandle(offsetsMap, stateHandle);
+		} else {
+			throw new IllegalStateException("Reading invalid OperatorStateHandle, type: " + type);
+		}
+	}
+
+	// ------------------------------------------------------------------------
+	//  dictionary and handle table
+	// ------------------------------------------------------------------------
+
+	private static String[] readDictionary(DataInputStream dis) throws IOException {
+		final String[] dictionary = new String[readVarInt(dis)];
+		for (int i = 0; i < dictionary.length; i++) {
+			dictionary[i] = dis.readUTF();
+		}
+		return dictionary;
+	}
+
+	private static String readString(DataInputStream dis, String[] dictionary) throws IOException {
+		final int index = readVarInt(dis);
+		if (index < 0 || index >= dictionary.length) {
+			throw new IOException("invalid dictionary index: " + index);
+		}
+		return dictionary[index];
+	}
+
+	private static StreamStateHandle[] readHandleTable(DataInputStream dis, String[] dictionary) throws IOException {
+		final StreamStateHandle[] handleTable = new StreamStateHandle[readVarInt(dis)];
+
+		for (int i = 0; i < handleTable.length; i++) {
+			final int type = dis.read();
+
+			if (FILE_STREAM_STATE_HANDLE == type) {
+				long size = readVarLong(dis);
+				String directory = readString(dis, dictionary);
+				String fileName = dis.readUTF();
+				handleTable[i] = new FileStateHandle(new Path(directory + fileName), size);
+			} else if (SEGMENT_FILE_STREAM_STATE_HANDLE == type) {
+				long startPosition = readVarLong(dis);
+				long size = readVarLong(dis);
+				String directory = readString(dis, dictionary);
+				String fileName = dis.readUTF();
+				handleTable[i] = new SegmentFileStateHandle(new Path(directory + fileName), startPosition, size);
+			} else if (BYTE_STREAM_STATE_HANDLE == type) {
+				String handleName = dis.readUTF();
+				byte[] data = new byte[readVarInt(dis)];
+				dis.readFully(data);
+				handleTable[i] = new ByteStreamStateHandle(handleName, data);
+			} else {
+				throw new IOException("Unknown implementation of StreamStateHandle, code: " + type);
+			}
+		}
+
+		return handleTable;
+	}
+
+	private static void writeHandleReference(
+			StreamStateHandle stateHandle,
+			DataOutputStream dos,
+			HandleTable handleTable) throws IOException {
+
+		// zero is reserved for null handles
+		writeVarInt(stateHandle == null ? 0 : handleTable.indexOf(stateHandle) + 1, dos);
+	}
+
+	private static StreamStateHandle readHandleReference(DataInputStream dis, StreamStateHandle[] handleTable) throws IOException {
+		final int reference = readVarInt(dis);
+		if (reference == 0) {
+			return null;
+		} else if (reference > 0 && reference <= handleTable.length) {
+			return handleTable[reference - 1];
+		} else {
+			throw new IOException("invalid state handle reference: " + reference);
+		}
+	}
+
+	/**
+	 * Assigns indices to strings in the order in which they are first added.
+	 */
+	private static final class StringDictionary {
+
+		private final Map<String, Integer> indices = new HashMap<>();
+
+		private final List<String> strings = new ArrayList<>();
+
+		int indexOf(String string) {
+			Integer index = indices.get(string);
+			if (index == null) {
+				index = strings.size();
+				strings.add(string);
+				indices.put(string, index);
+			}
+			return index;
+		}
+
+		void write(DataOutputStream dos) throws IOException {
+			writeVarInt(strings.size(), dos);
+			for (String string : strings) {
+				dos.writeUTF(string);
+			}
+		}
+	}
+
+	/**
+	 * Assigns indices to stream state handles in the order in which they are first added.
+	 * File state handles are deduplicated by their path and size, because restored handles
+	 * to the same file are distinct objects. All other handles are only deduplicated if they
+	 * are the same object, because the equality of byte stream handles does not consider
+	 * their contents.
+	 */
+	private static final class HandleTable {
+
+		private final Map<String, Integer> fileHandleIndices = new HashMap<>();
+
+		private final Map<StreamStateHandle, Integer> otherHandleIndices = new IdentityHashMap<>();
+
+		private final List<StreamStateHandle> handles = new ArrayList<>();
+
+		int indexOf(StreamStateHandle stateHandle) throws IOException {
+			if (stateHandle instanceof FileStateHandle) {
+				final String key = stateHandle.getStateSize() + "@" + ((FileStateHandle) stateHandle).getFilePath();
+				Integer index = fileHandleIndices.get(key);
+				if (index == null) {
+					index = add(stateHandle);
+					fileHandleIndices.put(key, index);
+				}
+				return index;
+			} else if (stateHandle instanceof ByteStreamStateHandle || stateHandle instanceof SegmentFileStateHandle) {
+				Integer index = otherHandleIndices.get(stateHandle);
+				if (index == null) {
+					index = add(stateHandle);
+					otherHandleIndices.put(stateHandle, index);
+				}
+				return index;
+			} else {
+				throw new IOException("Unknown implementation of StreamStateHandle: " + stateHandle.getClass());
+			}
+		}
+
+		private int add(StreamStateHandle stateHandle) {
+			handles.add(stateHandle);
+			return handles.size() - 1;
+		}
+
+		void write(DataOutputStream dos, StringDictionary dictionary) throws IOException {
+			writeVarInt(handles.size(), dos);
+
+			for (StreamStateHandle stateHandle : handles) {
+				if (stateHandle instanceof FileStateHandle) {
+					dos.writeByte(FILE_STREAM_STATE_HANDLE);
+					writeVarLong(stateHandle.getStateSize(), dos);
+					writePath(((FileStateHandle) stateHandle).getFilePath(), dos, dictionary);
+				} else if (stateHandle instanceof SegmentFileStateHandle) {
+					SegmentFileStateHandle segmentFileStateHandle = (SegmentFileStateHandle) stateHandle;
+
+					dos.writeByte(SEGMENT_FILE_STREAM_STATE_HANDLE);
+					writeVarLong(segmentFileStateHandle.getStartPosition(), dos);
+					writeVarLong(segmentFileStateHandle.getStateSize(), dos);
+					writePath(segmentFileStateHandle.getSegmentFilePath(), dos, dictionary);
+				} else {
+					ByteStreamStateHandle byteStreamStateHandle = (ByteStreamStateHandle) stateHandle;
+
+					dos.writeByte(BYTE_STREAM_STATE_HANDLE);
+					dos.writeUTF(byteStreamStateHandle.getHandleName());
+					byte[] internalData = byteStreamStateHandle.getData();
+					writeVarInt(internalData.length, dos);
+					dos.write(internalData);
+				}
+			}
+		}
+
+		private static void writePath(Path filePath, DataOutputStream dos, StringDictionary dictionary) throws IOException {
+			// the directory is shared by many files, so only the file name is written in full
+			final String path = filePath.toString();
+			final int split = path.lastIndexOf('/') + 1;
+			writeVarInt(dictionary.indexOf(path.substring(0, split)), dos);
+			dos.writeUTF(path.substring(split));
+		}
+	}
+
+	// ------------------------------------------------------------------------
+	//  variable-length integers
+	// ------------------------------------------------------------------------
+
+	static void writeVarInt(int value, DataOutputStream dos) throws IOException {
+		writeVarLong(value, dos);
+	}
+
+	static int readVarInt(DataInputStream dis) throws IOException {
+		final long value = readVarLong(dis);
+		if (value != (int) value) {
+			throw new IOException("variable-length integer out of range: " + value);
+		}
+		return (int) value;
+	}
+
+	static void writeVarLong(long value, DataOutputStream dos) throws IOException {
+		while ((value & ~0x7FL) != 0L) {
+			dos.writeByte((int) ((value & 0x7FL) | 0x80L));
+			value >>>= 7;
+		}
+		dos.writeByte((int) value);
+	}
+
+	static long readVarLong(DataInputStream dis) throws IOException {
+		long value = 0L;
+		for (int shift = 0; shift < 64; shift += 7) {
+			final int b = dis.readUnsignedByte();
+			value |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+		throw new IOException("malformed variable-length integer");
+	}
+
+	private static long zigZagEncode(long value) {
+		return (value << 1) ^ (value >> 63);
+	}
+
+	private static long zigZagDecode(long value) {
+		return (value >>> 1) ^ -(value & 1L);
+	}
+}
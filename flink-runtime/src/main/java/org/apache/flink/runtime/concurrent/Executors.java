@@ -23,10 +23,13 @@ import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nonnull;
 
+import java.util.ArrayDeque;
 import java.util.concurrent.Executor;
 
 import scala.concurrent.ExecutionContext;
 
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
 /**
  * Collection of {@link Executor} implementations.
  */
@@ -59,6 +62,82 @@ public class Executors {
 		}
 	}
 
+	/**
+	 * Return a serial executor. The serial executor runs the submitted runnables one after
+	 * another, in submission order, on the given backing executor. At no point in time are two
+	 * of its runnables executed concurrently.
+	 *
+	 * @param backingExecutor Executor which runs the runnables
+	 * @return Serial executor
+	 */
+	public static Executor serialExecutor(Executor backingExecutor) {
+		return new SerialExecutor(backingExecutor);
+	}
+
+	/**
+	 * Serial executor implementation. Queued runnables are drained by a single task on
+	 * the backing executor, which is only submitted if no drain task is active.
+	 */
+	private static class SerialExecutor implements Executor {
+
+		private final Executor backingExecutor;
+
+		/** Queued runnables, also used as the lock for the running flag. */
+		private final ArrayDeque<Runnable> queue = new ArrayDeque<>();
+
+		/** Flag whether a drain task is currently submitted to the backing executor. */
+		private boolean running;
+
+		SerialExecutor(Executor backingExecutor) {
+			this.backingExecutor = checkNotNull(backingExecutor);
+		}
+
+		@Override
+		public void execute(@Nonnull Runnable command) {
+			checkNotNull(command);
+
+			synchronized (queue) {
+				queue.add(command);
+
+				if (running) {
+					return;
+				}
+				running = true;
+			}
+
+			try {
+				backingExecutor.execute(this::drain);
+			} catch (Throwable t) {
+				synchronized (queue) {
+					queue.clear();
+					running = false;
+				}
+				throw t;
+			}
+		}
+
+		private void drain() {
+			while (true) {
+				final Runnable next;
+
+				synchronized (queue) {
+					next = queue.poll();
+
+					if (next == null) {
+						running = false;
+						return;
+					}
+				}
+
+				try {
+					next.run();
+				} catch (Throwable t) {
+					LOG.error("Uncaught exception in serial executor.", t);
+				}
+			}
+		}
+	}
+
 	/**
 	 * Return a direct execution context. The direct execution context executes the runnable directly
 	 * in the calling thread.
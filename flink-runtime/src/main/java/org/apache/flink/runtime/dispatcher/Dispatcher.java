@@ -524,6 +524,18 @@ public abstract class Dispatcher extends FencedRpcEndpoint<DispatcherId> impleme
 				jobMasterGateway.triggerSavepoint(targetDirectory, cancelJob, timeout));
 	}
 
+	@Override
+	public CompletableFuture<String> stopWithSavepoint(
+			final JobID jobId,
+			final String targetDirectory,
+			final Time timeout) {
+		final CompletableFuture<JobMasterGateway> jobMasterGatewayFuture = getJobMasterGatewayFuture(jobId);
+
+		return jobMasterGatewayFuture.thenCompose(
+			(JobMasterGateway jobMasterGateway) ->
+				jobMasterGateway.stopWithSavepoint(targetDirectory, timeout));
+	}
+
 	@Override
 	public CompletableFuture<Acknowledge> shutDownCluster() {
 		shutDown();
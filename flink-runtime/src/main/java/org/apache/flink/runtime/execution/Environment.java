@@ -39,6 +39,7 @@ import org.apache.flink.runtime.metrics.groups.TaskMetricGroup;
 import org.apache.flink.runtime.query.TaskKvStateRegistry;
 import org.apache.flink.runtime.state.TaskStateManager;
 import org.apache.flink.runtime.state.internal.InternalKvState;
+import org.apache.flink.runtime.taskexecutor.GlobalAggregateManager;
 import org.apache.flink.runtime.taskmanager.TaskManagerRuntimeInfo;
 
 import java.util.Map;
@@ -123,6 +124,14 @@ public interface Environment {
 	 */
 	InputSplitProvider getInputSplitProvider();
 
+	/**
+	 * Returns the {@link GlobalAggregateManager} which gives access to the global aggregates of
+	 * the job.
+	 *
+	 * @return The global aggregate manager of the task.
+	 */
+	GlobalAggregateManager getGlobalAggregateManager();
+
 	/**
 	 * Returns the current {@link IOManager}.
 	 *
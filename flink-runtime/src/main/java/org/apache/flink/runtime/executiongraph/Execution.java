@@ -63,6 +63,7 @@ import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
@@ -533,6 +534,85 @@ public class Execution implements AccessExecution, Archiveable<ArchivedExecution
 	 * @throws JobException if the execution cannot be deployed to the assigned resource
 	 */
 	public void deploy() throws JobException {
+		final TaskDeploymentDescriptor deployment = prepareDeployment();
+
+		if (deployment == null) {
+			return;
+		}
+
+		try {
+			final TaskManagerGateway taskManagerGateway = assignedResource.getTaskManagerGateway();
+
+			final CompletableFuture<Acknowledge> submitResultFuture = taskManagerGateway.submitTask(deployment, rpcTimeout);
+
+			handleSubmitResult(submitResultFuture);
+		}
+		catch (Throwable t) {
+			markFailed(t);
+			ExceptionUtils.rethrow(t);
+		}
+	}
+
+	/**
+	 * Deploys the given executions, which have all been assigned to slots of the same TaskManager,
+	 * with a single submission call. The information which the tasks share is thereby transferred
+	 * to the TaskManager only once.
+	 *
+	 * <p>An execution which cannot be deployed is failed on its own, after the other executions
+	 * have been submitted. If the submission fails, all submitted executions are failed.
+	 *
+	 * @param executions The executions to deploy
+	 */
+	static void deployAll(List<Execution> executions) {
+		final List<Execution> deployedExecutions = new ArrayList<>(executions.size());
+		final List<TaskDeploymentDescriptor> deployments = new ArrayList<>(executions.size());
+		final Map<Execution, Throwable> failedExecutions = new LinkedHashMap<>();
+
+		for (Execution execution : executions) {
+			try {
+				final TaskDeploymentDescriptor deployment = execution.prepareDeployment();
+
+				if (deployment != null) {
+					deployedExecutions.add(execution);
+					deployments.add(deployment);
+				}
+			}
+			catch (Throwable t) {
+				failedExecutions.put(execution, t);
+			}
+		}
+
+		if (!deployedExecutions.isEmpty()) {
+			final Execution firstExecution = deployedExecutions.get(0);
+			final TaskManagerGateway taskManagerGateway = firstExecution.assignedResource.getTaskManagerGateway();
+
+			CompletableFuture<Acknowledge> submitResultFuture;
+			try {
+				submitResultFuture = taskManagerGateway.submitTasks(deployments, firstExecution.rpcTimeout);
+			}
+			catch (Throwable t) {
+				submitResultFuture = FutureUtils.completedExceptionally(t);
+			}
+
+			for (Execution execution : deployedExecutions) {
+				execution.handleSubmitResult(submitResultFuture);
+			}
+		}
+
+		for (Map.Entry<Execution, Throwable> failedExecution : failedExecutions.entrySet()) {
+			// has no effect if the execution was already failed while preparing the deployment
+			failedExecution.getKey().markFailed(failedExecution.getValue());
+		}
+	}
+
+	/**
+	 * Transitions this execution to DEPLOYING and creates its task deployment descriptor.
+	 *
+	 * @return The task deployment descriptor, or null if the execution was concurrently
+	 * failed or canceled and its slot has been released
+	 */
+	@Nullable
+	private TaskDeploymentDescriptor prepareDeployment() throws JobException {
 		final LogicalSlot slot  = assignedResource;
 
 		checkNotNull(slot, "In order to deploy the execution we first have to assign a resource via tryAssignResource.");
@@ -569,7 +649,7 @@ public class Execution implements AccessExecution, Archiveable<ArchivedExecution
 			// race double check, did we fail/cancel and do we need to release the slot?
 			if (this.state != DEPLOYING) {
 				slot.releaseSlot(new FlinkException("Actual state of execution " + this + " (" + state + ") does not match expected state DEPLOYING."));
-				return;
+				return null;
 			}
 
 			if (LOG.isInfoEnabled()) {
@@ -586,33 +666,34 @@ public class Execution implements AccessExecution, Archiveable<ArchivedExecution
 			// null taskRestore to let it be GC'ed
 			taskRestore = null;
 
-			final TaskManagerGateway taskManagerGateway = slot.getTaskManagerGateway();
-
-			final CompletableFuture<Acknowledge> submitResultFuture = taskManagerGateway.submitTask(deployment, rpcTimeout);
-
-			submitResultFuture.whenCompleteAsync(
-				(ack, failure) -> {
-					// only respond to the failure case
-					if (failure != null) {
-						if (failure instanceof TimeoutException) {
-							String taskname = vertex.getTaskNameWithSubtaskIndex() + " (" + attemptId + ')';
-
-							markFailed(new Exception(
-								"Cannot deploy task " + taskname + " - TaskManager (" + getAssignedResourceLocation()
-									+ ") not responding after a rpcTimeout of " + rpcTimeout, failure));
-						} else {
-							markFailed(failure);
-						}
-					}
-				},
-				executor);
+			return deployment;
 		}
 		catch (Throwable t) {
 			markFailed(t);
 			ExceptionUtils.rethrow(t);
+			return null;
 		}
 	}
 
+	private void handleSubmitResult(CompletableFuture<Acknowledge> submitResultFuture) {
+		submitResultFuture.whenCompleteAsync(
+			(ack, failure) -> {
+				// only respond to the failure case
+				if (failure != null) {
+					if (failure instanceof TimeoutException) {
+						String taskname = vertex.getTaskNameWithSubtaskIndex() + " (" + attemptId + ')';
+
+						markFailed(new Exception(
+							"Cannot deploy task " + taskname + " - TaskManager (" + getAssignedResourceLocation()
+								+ ") not responding after a rpcTimeout of " + rpcTimeout, failure));
+					} else {
+						markFailed(failure);
+					}
+				}
+			},
+			executor);
+	}
+
 	/**
 	 * Sends stop RPC call.
 	 */
@@ -695,7 +776,8 @@ public class Execution implements AccessExecution, Archiveable<ArchivedExecution
 		}
 	}
 
-	void scheduleOrUpdateConsumers(List<List<ExecutionEdge>> allConsumers) {
+	void scheduleOrUpdateConsumers(IntermediateResultPartition partition) {
+		final List<List<ExecutionVertex>> allConsumers = partition.getConsumerVertices();
 		final int numConsumers = allConsumers.size();
 
 		if (numConsumers > 1) {
@@ -705,14 +787,10 @@ public class Execution implements AccessExecution, Archiveable<ArchivedExecution
 			return;
 		}
 
-		for (ExecutionEdge edge : allConsumers.get(0)) {
-			final ExecutionVertex consumerVertex = edge.getTarget();
-
+		for (ExecutionVertex consumerVertex : allConsumers.get(0)) {
 			final Execution consumer = consumerVertex.getCurrentExecutionAttempt();
 			final ExecutionState consumerState = consumer.getState();
 
-			final IntermediateResultPartition partition = edge.getSource();
-
 			// ----------------------------------------------------------------
 			// Consumer is created => try to deploy and cache input channel
 			// descriptors if there is a deployment race
@@ -933,6 +1011,10 @@ public class Execution implements AccessExecution, Archiveable<ArchivedExecution
 
 			if (current == RUNNING || current == DEPLOYING) {
 
+				// resolve a race with a concurrent speculative attempt before the transition,
+				// so that the finishing attempt is the current attempt of the vertex
+				vertex.executionFinishing(this);
+
 				if (transitionState(current, FINISHED)) {
 					try {
 						for (IntermediateResultPartition finishedPartition
@@ -942,7 +1024,7 @@ public class Execution implements AccessExecution, Archiveable<ArchivedExecution
 									.getIntermediateResult().getPartitions();
 
 							for (IntermediateResultPartition partition : allPartitions) {
-								scheduleOrUpdateConsumers(partition.getConsumers());
+								scheduleOrUpdateConsumers(partition);
 							}
 						}
 
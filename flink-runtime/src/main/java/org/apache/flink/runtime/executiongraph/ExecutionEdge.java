@@ -18,15 +18,18 @@
 
 package org.apache.flink.runtime.executiongraph;
 
+import javax.annotation.Nullable;
+
 public class ExecutionEdge {
 
 	private final IntermediateResultPartition source;
 
+	@Nullable
 	private final ExecutionVertex target;
 
 	private final int inputNum;
 
-	public ExecutionEdge(IntermediateResultPartition source, ExecutionVertex target, int inputNum) {
+	public ExecutionEdge(IntermediateResultPartition source, @Nullable ExecutionVertex target, int inputNum) {
 		this.source = source;
 		this.target = target;
 		this.inputNum = inputNum;
@@ -36,6 +39,14 @@ public class ExecutionEdge {
 		return source;
 	}
 
+	/**
+	 * Returns the vertex that consumes the source partition through this edge.
+	 *
+	 * <p>The input edges of an all-to-all connection are shared by all consuming subtasks and
+	 * therefore have no target. The edges returned by {@link IntermediateResultPartition#getConsumers()}
+	 * always have a target.
+	 */
+	@Nullable
 	public ExecutionVertex getTarget() {
 		return target;
 	}
@@ -40,8 +40,10 @@ import org.apache.flink.runtime.checkpoint.CheckpointStatsSnapshot;
 import org.apache.flink.runtime.checkpoint.CheckpointStatsTracker;
 import org.apache.flink.runtime.checkpoint.CompletedCheckpointStore;
 import org.apache.flink.runtime.checkpoint.MasterTriggerRestoreHook;
+import org.apache.flink.runtime.clusterframework.types.ResourceID;
 import org.apache.flink.runtime.concurrent.FutureUtils;
 import org.apache.flink.runtime.concurrent.FutureUtils.ConjunctFuture;
+import org.apache.flink.runtime.concurrent.ScheduledExecutor;
 import org.apache.flink.runtime.concurrent.ScheduledExecutorServiceAdapter;
 import org.apache.flink.runtime.execution.ExecutionState;
 import org.apache.flink.runtime.execution.SuppressRestartsException;
@@ -60,6 +62,7 @@ import org.apache.flink.runtime.jobgraph.tasks.CheckpointCoordinatorConfiguratio
 import org.apache.flink.runtime.jobmanager.scheduler.CoLocationGroup;
 import org.apache.flink.runtime.jobmanager.scheduler.LocationPreferenceConstraint;
 import org.apache.flink.runtime.jobmanager.scheduler.NoResourceAvailableException;
+import org.apache.flink.runtime.jobmaster.LogicalSlot;
 import org.apache.flink.runtime.jobmaster.slotpool.SlotProvider;
 import org.apache.flink.runtime.query.KvStateLocationRegistry;
 import org.apache.flink.runtime.state.SharedStateRegistry;
@@ -88,6 +91,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
@@ -96,12 +100,17 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.stream.Collectors;
 
@@ -290,6 +299,17 @@ public class ExecutionGraph implements AccessExecutionGraph {
 	 * available after archiving. */
 	private CheckpointStatsTracker checkpointStatsTracker;
 
+	/** The detector of slow tasks, if speculative execution is enabled. */
+	@Nullable
+	private SlowTaskDetector slowTaskDetector;
+
+	/** The interval in which the slow task detector runs. */
+	private long slowTaskCheckInterval;
+
+	/** The periodic execution of the slow task detector, once the job has been scheduled. */
+	@Nullable
+	private ScheduledFuture<?> slowTaskDetection;
+
 	// ------ Fields that are only relevant for archived execution graphs ------------
 	private String jsonPlan;
 
@@ -462,6 +482,23 @@ public class ExecutionGraph implements AccessExecutionGraph {
 		return false;
 	}
 
+	/**
+	 * Enables the speculative execution of slow subtasks of batch vertices.
+	 *
+	 * @param minFinishedRatio the ratio of subtasks of a vertex which have to be finished before
+	 *                         the other subtasks are checked for being slow
+	 * @param slowTaskMultiplier the factor by which a subtask has to exceed the median running
+	 *                           time of its finished siblings to be slow
+	 * @param checkInterval the interval in milliseconds in which the subtasks are checked
+	 */
+	public void enableSpeculativeExecution(double minFinishedRatio, double slowTaskMultiplier, long checkInterval) {
+		checkArgument(checkInterval > 0L, "The check interval must be positive.");
+		checkState(state == JobStatus.CREATED, "Job must be in CREATED state");
+
+		this.slowTaskDetector = new SlowTaskDetector(this, minFinishedRatio, slowTaskMultiplier);
+		this.slowTaskCheckInterval = checkInterval;
+	}
+
 	public void enableCheckpointing(
 			long interval,
 			long checkpointTimeout,
@@ -746,6 +783,16 @@ public class ExecutionGraph implements AccessExecutionGraph {
 		return futureExecutor;
 	}
 
+	/**
+	 * Returns the executor on which the {@link RestartStrategy} schedules the (delayed) restarts
+	 * of this ExecutionGraph and of its failover regions.
+	 *
+	 * @return Executor for scheduling restarts
+	 */
+	public ScheduledExecutor getRestartExecutor() {
+		return new ScheduledExecutorServiceAdapter(futureExecutor);
+	}
+
 	/**
 	 * Merges all accumulator results from the tasks previously executed in the Executions.
 	 * @return The accumulator map
@@ -817,20 +864,19 @@ public class ExecutionGraph implements AccessExecutionGraph {
 		final ArrayList<ExecutionJobVertex> newExecJobVertices = new ArrayList<>(topologiallySorted.size());
 		final long createTimestamp = System.currentTimeMillis();
 
-		for (JobVertex jobVertex : topologiallySorted) {
+		// the execution job vertices are independent of each other until they are connected,
+		// so they are created in parallel
+		final ExecutionJobVertex[] createdJobVertices = createExecutionJobVertices(topologiallySorted, createTimestamp);
+
+		for (int i = 0; i < createdJobVertices.length; i++) {
+			final JobVertex jobVertex = topologiallySorted.get(i);
 
 			if (jobVertex.isInputVertex() && !jobVertex.isStoppable()) {
 				this.isStoppable = false;
 			}
 
-			// create the execution job vertex and attach it to the graph
-			ExecutionJobVertex ejv = new ExecutionJobVertex(
-				this,
-				jobVertex,
-				1,
-				rpcTimeout,
-				globalModVersion,
-				createTimestamp);
+			// attach the execution job vertex to the graph
+			ExecutionJobVertex ejv = createdJobVertices[i];
 
 			ejv.connectToPredecessors(this.intermediateResults);
 
@@ -857,6 +903,97 @@ public class ExecutionGraph implements AccessExecutionGraph {
 		failoverStrategy.notifyNewVertices(newExecJobVertices);
 	}
 
+	/**
+	 * Creates the execution job vertices for the given job vertices, using the I/O executor
+	 * and the calling thread. The calling thread takes over all vertices that the executor does
+	 * not pick up, so that the creation also completes if the executor is busy.
+	 */
+	private ExecutionJobVertex[] createExecutionJobVertices(
+			List<JobVertex> jobVertices,
+			long createTimestamp) throws JobException {
+
+		final int numJobVertices = jobVertices.size();
+		final ExecutionJobVertex[] createdJobVertices = new ExecutionJobVertex[numJobVertices];
+
+		// vertices of the same co-location group share their location constraints, which are
+		// not thread safe. such (iterative) jobs are created serially
+		boolean createInParallel = numJobVertices > 1;
+		for (JobVertex jobVertex : jobVertices) {
+			if (jobVertex.getCoLocationGroup() != null) {
+				createInParallel = false;
+				break;
+			}
+		}
+
+		if (!createInParallel) {
+			for (int i = 0; i < numJobVertices; i++) {
+				createdJobVertices[i] = createExecutionJobVertex(jobVertices.get(i), createTimestamp);
+			}
+			return createdJobVertices;
+		}
+
+		final AtomicInteger nextIndex = new AtomicInteger(0);
+		final AtomicReference<Throwable> failure = new AtomicReference<>();
+		final CountDownLatch allCreated = new CountDownLatch(numJobVertices);
+
+		final Runnable creator = () -> {
+			int index;
+			while ((index = nextIndex.getAndIncrement()) < numJobVertices) {
+				try {
+					createdJobVertices[index] = createExecutionJobVertex(jobVertices.get(index), createTimestamp);
+				}
+				catch (Throwable t) {
+					failure.compareAndSet(null, t);
+				}
+				finally {
+					allCreated.countDown();
+				}
+			}
+		};
+
+		final int numHelpers = Math.min(numJobVertices, Runtime.getRuntime().availableProcessors()) - 1;
+		for (int i = 0; i < numHelpers; i++) {
+			try {
+				ioExecutor.execute(creator);
+			}
+			catch (RejectedExecutionException e) {
+				// the calling thread creates the remaining vertices
+				break;
+			}
+		}
+
+		creator.run();
+
+		try {
+			// all vertices are claimed at this point, wait for the ones still being created
+			allCreated.await();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new JobException("Interrupted while creating the execution job vertices.", e);
+		}
+
+		final Throwable t = failure.get();
+		if (t instanceof JobException) {
+			throw (JobException) t;
+		}
+		else if (t != null) {
+			ExceptionUtils.rethrow(t);
+		}
+
+		return createdJobVertices;
+	}
+
+	private ExecutionJobVertex createExecutionJobVertex(JobVertex jobVertex, long createTimestamp) throws JobException {
+		return new ExecutionJobVertex(
+			this,
+			jobVertex,
+			1,
+			rpcTimeout,
+			globalModVersion,
+			createTimestamp);
+	}
+
 	public void scheduleForExecution() throws JobException {
 
 		final long currentGlobalModVersion = globalModVersion;
@@ -882,6 +1019,15 @@ public class ExecutionGraph implements AccessExecutionGraph {
 			if (state == JobStatus.RUNNING && currentGlobalModVersion == globalModVersion) {
 				schedulingFuture = newSchedulingFuture;
 
+				// the detection keeps running across restarts and is stopped once the job terminates
+				if (slowTaskDetector != null && slowTaskDetection == null) {
+					slowTaskDetection = futureExecutor.scheduleWithFixedDelay(
+						slowTaskDetector,
+						slowTaskCheckInterval,
+						slowTaskCheckInterval,
+						TimeUnit.MILLISECONDS);
+				}
+
 				newSchedulingFuture.whenCompleteAsync(
 					(Void ignored, Throwable throwable) -> {
 						if (throwable != null && !(throwable instanceof CancellationException)) {
@@ -957,18 +1103,7 @@ public class ExecutionGraph implements AccessExecutionGraph {
 
 		final CompletableFuture<Void> currentSchedulingFuture = allAllocationsFuture
 			.thenAccept(
-				(Collection<Execution> executionsToDeploy) -> {
-					for (Execution execution : executionsToDeploy) {
-						try {
-							execution.deploy();
-						} catch (Throwable t) {
-							throw new CompletionException(
-								new FlinkException(
-									String.format("Could not deploy execution %s.", execution),
-									t));
-						}
-					}
-				})
+				(Collection<Execution> executionsToDeploy) -> deployAll(executionsToDeploy))
 			// Generate a more specific failure message for the eager scheduling
 			.exceptionally(
 				(Throwable throwable) -> {
@@ -992,6 +1127,60 @@ public class ExecutionGraph implements AccessExecutionGraph {
 		return currentSchedulingFuture;
 	}
 
+	/**
+	 * Deploys the given executions. Executions whose TaskManagers support batched task
+	 * submission are deployed with one submission call per TaskManager.
+	 *
+	 * <p>The input channel deployment descriptors which the executions share are only cached
+	 * for the duration of this deployment round.
+	 */
+	private void deployAll(Collection<Execution> executionsToDeploy) {
+		for (ExecutionJobVertex ejv : getVerticesTopologically()) {
+			ejv.enableInputChannelDescriptorSharing();
+		}
+
+		try {
+			final Map<ResourceID, List<Execution>> executionsByTaskManager = new LinkedHashMap<>();
+
+			for (Execution execution : executionsToDeploy) {
+				final LogicalSlot slot = execution.getAssignedResource();
+
+				if (slot != null && slot.getTaskManagerGateway().supportsBatchedTaskSubmission()) {
+					executionsByTaskManager
+						.computeIfAbsent(slot.getTaskManagerLocation().getResourceID(), ignored -> new ArrayList<>())
+						.add(execution);
+				} else {
+					deploy(execution);
+				}
+			}
+
+			for (List<Execution> executions : executionsByTaskManager.values()) {
+				if (executions.size() == 1) {
+					deploy(executions.get(0));
+				} else {
+					// executions of the batch which cannot be deployed are failed individually
+					Execution.deployAll(executions);
+				}
+			}
+		}
+		finally {
+			for (ExecutionJobVertex ejv : getVerticesTopologically()) {
+				ejv.disableInputChannelDescriptorSharing();
+			}
+		}
+	}
+
+	private static void deploy(Execution execution) {
+		try {
+			execution.deploy();
+		} catch (Throwable t) {
+			throw new CompletionException(
+				new FlinkException(
+					String.format("Could not deploy execution %s.", execution),
+					t));
+		}
+	}
+
 	public void cancel() {
 		while (true) {
 			JobStatus current = state;
@@ -1498,7 +1687,7 @@ public class ExecutionGraph implements AccessExecutionGraph {
 					LOG.info("Restarting the job {} ({}).", getJobName(), getJobID());
 
 					RestartCallback restarter = new ExecutionGraphRestartCallback(this, globalModVersionForRestart);
-					restartStrategy.restart(restarter, new ScheduledExecutorServiceAdapter(futureExecutor));
+					restartStrategy.restart(restarter, getRestartExecutor());
 
 					return true;
 				}
@@ -1525,6 +1714,11 @@ public class ExecutionGraph implements AccessExecutionGraph {
 	}
 
 	private void onTerminalState(JobStatus status) {
+		final ScheduledFuture<?> detection = this.slowTaskDetection;
+		if (detection != null) {
+			detection.cancel(false);
+		}
+
 		try {
 			CheckpointCoordinator coord = this.checkpointCoordinator;
 			this.checkpointCoordinator = null;
@@ -24,10 +24,12 @@ import org.apache.flink.api.common.time.Time;
 import org.apache.flink.configuration.CheckpointingOptions;
 import org.apache.flink.configuration.Configuration;
 import org.apache.flink.configuration.IllegalConfigurationException;
+import org.apache.flink.configuration.JobManagerOptions;
 import org.apache.flink.configuration.WebOptions;
 import org.apache.flink.metrics.MetricGroup;
 import org.apache.flink.runtime.JobException;
 import org.apache.flink.runtime.blob.BlobWriter;
+import org.apache.flink.runtime.checkpoint.CheckpointCoordinator;
 import org.apache.flink.runtime.checkpoint.CheckpointIDCounter;
 import org.apache.flink.runtime.checkpoint.CheckpointRecoveryFactory;
 import org.apache.flink.runtime.checkpoint.CheckpointStatsTracker;
@@ -356,6 +358,29 @@ public class ExecutionGraphBuilder {
 				completedCheckpoints,
 				rootBackend,
 				checkpointStatsTracker);
+
+			// configure the savepoints, the job configuration overrides the cluster configuration
+			final Configuration savepointConfig = new Configuration(jobManagerConfig);
+			savepointConfig.addAll(jobGraph.getJobConfiguration());
+
+			final CheckpointCoordinator checkpointCoordinator = executionGraph.getCheckpointCoordinator();
+			final long savepointTimeout = savepointConfig.getLong(CheckpointingOptions.SAVEPOINT_TIMEOUT);
+			if (savepointTimeout > 0) {
+				checkpointCoordinator.setSavepointTimeout(savepointTimeout);
+			}
+			checkpointCoordinator.setSubsumePendingCheckpointsOnSavepoint(
+				savepointConfig.getBoolean(CheckpointingOptions.SAVEPOINT_SUBSUMES_PENDING_CHECKPOINTS));
+		}
+
+		// configure the speculative execution, the job configuration overrides the cluster configuration
+		final Configuration speculativeConfig = new Configuration(jobManagerConfig);
+		speculativeConfig.addAll(jobGraph.getJobConfiguration());
+
+		if (speculativeConfig.getBoolean(JobManagerOptions.SPECULATIVE_EXECUTION_ENABLED)) {
+			executionGraph.enableSpeculativeExecution(
+				speculativeConfig.getDouble(JobManagerOptions.SPECULATIVE_EXECUTION_MIN_FINISHED_RATIO),
+				speculativeConfig.getDouble(JobManagerOptions.SPECULATIVE_EXECUTION_SLOW_TASK_MULTIPLIER),
+				speculativeConfig.getLong(JobManagerOptions.SPECULATIVE_EXECUTION_CHECK_INTERVAL));
 		}
 
 		// create all the metrics for the Execution Graph
@@ -25,6 +25,7 @@ import org.apache.flink.api.common.JobID;
 import org.apache.flink.api.common.accumulators.Accumulator;
 import org.apache.flink.api.common.accumulators.AccumulatorHelper;
 import org.apache.flink.api.common.time.Time;
+import org.apache.flink.api.java.tuple.Tuple2;
 import org.apache.flink.configuration.Configuration;
 import org.apache.flink.configuration.JobManagerOptions;
 import org.apache.flink.core.io.InputSplit;
@@ -34,8 +35,12 @@ import org.apache.flink.runtime.JobException;
 import org.apache.flink.runtime.accumulators.StringifiedAccumulatorResult;
 import org.apache.flink.runtime.blob.BlobWriter;
 import org.apache.flink.runtime.blob.PermanentBlobKey;
+import org.apache.flink.runtime.clusterframework.types.ResourceID;
 import org.apache.flink.runtime.concurrent.FutureUtils;
+import org.apache.flink.runtime.deployment.InputChannelDeploymentDescriptor;
 import org.apache.flink.runtime.execution.ExecutionState;
+import org.apache.flink.runtime.io.network.partition.ResultPartitionID;
+import org.apache.flink.runtime.jobgraph.DistributionPattern;
 import org.apache.flink.runtime.jobgraph.IntermediateDataSet;
 import org.apache.flink.runtime.jobgraph.IntermediateDataSetID;
 import org.apache.flink.runtime.jobgraph.JobEdge;
@@ -65,6 +70,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * An {@code ExecutionJobVertex} is part of the {@link ExecutionGraph}, and the peer
@@ -138,6 +144,16 @@ public class ExecutionJobVertex implements AccessExecutionJobVertex, Archiveable
 
 	private Either<SerializedValue<TaskInformation>, PermanentBlobKey> taskInformationOrBlobKey = null;
 
+	/**
+	 * Input channel deployment descriptors of all-to-all inputs, by input number and consuming
+	 * TaskManager. All eagerly deployed subtasks on the same TaskManager consume the same partitions
+	 * from the same locations, so they can share the descriptors instead of creating and shipping
+	 * them once per subtask. The cache only exists during an eager deployment round, and is null
+	 * otherwise.
+	 */
+	@Nullable
+	private volatile Map<Tuple2<Integer, ResourceID>, InputChannelDeploymentDescriptor[]> sharedInputChannelDescriptors;
+
 	private InputSplitAssigner splitAssigner;
 
 	/**
@@ -400,6 +416,87 @@ public class ExecutionJobVertex implements AccessExecutionJobVertex, Archiveable
 		}
 	}
 
+	/**
+	 * Returns the input channel deployment descriptors of an eagerly deployed subtask for the
+	 * given all-to-all input. The descriptors are shared with the other subtasks of this vertex
+	 * which are deployed to the same TaskManager in the current deployment round, as long as the
+	 * producers have not changed.
+	 *
+	 * @param inputNumber The number of the all-to-all input
+	 * @param edges The input edges of the subtask, which are the same for all subtasks
+	 * @param consumerResourceId The TaskManager to which the subtask is deployed
+	 */
+	InputChannelDeploymentDescriptor[] getSharedInputChannelDescriptors(
+			int inputNumber,
+			ExecutionEdge[] edges,
+			ResourceID consumerResourceId) throws ExecutionGraphException {
+
+		final Map<Tuple2<Integer, ResourceID>, InputChannelDeploymentDescriptor[]> cache = sharedInputChannelDescriptors;
+
+		if (cache == null) {
+			// not deployed as part of a deployment round, there is nobody to share with
+			return InputChannelDeploymentDescriptor.fromEdges(edges, consumerResourceId, false);
+		}
+
+		final Tuple2<Integer, ResourceID> key = Tuple2.of(inputNumber, consumerResourceId);
+		final InputChannelDeploymentDescriptor[] sharedDescriptors = cache.get(key);
+
+		if (sharedDescriptors != null && areUpToDate(sharedDescriptors, edges)) {
+			return sharedDescriptors;
+		}
+
+		final InputChannelDeploymentDescriptor[] descriptors =
+			InputChannelDeploymentDescriptor.fromEdges(edges, consumerResourceId, false);
+
+		cache.put(key, descriptors);
+		return descriptors;
+	}
+
+	/**
+	 * Starts sharing the input channel deployment descriptors of all-to-all inputs between the
+	 * subtasks of this vertex. Called at the beginning of an eager deployment round.
+	 */
+	void enableInputChannelDescriptorSharing() {
+		sharedInputChannelDescriptors = new ConcurrentHashMap<>();
+	}
+
+	/**
+	 * Stops sharing the input channel deployment descriptors and drops the cached descriptors.
+	 * Called at the end of an eager deployment round.
+	 */
+	void disableInputChannelDescriptorSharing() {
+		sharedInputChannelDescriptors = null;
+	}
+
+	/**
+	 * Checks that the descriptors still point to the current, deployable producer attempts.
+	 * The location of a partition is fixed by the slot of its producer attempt.
+	 */
+	private static boolean areUpToDate(InputChannelDeploymentDescriptor[] descriptors, ExecutionEdge[] edges) {
+		if (descriptors.length != edges.length) {
+			return false;
+		}
+
+		for (int i = 0; i < edges.length; i++) {
+			final IntermediateResultPartition consumedPartition = edges[i].getSource();
+			final Execution producer = consumedPartition.getProducer().getCurrentExecutionAttempt();
+			final ExecutionState producerState = producer.getState();
+			final ResultPartitionID consumedPartitionId = descriptors[i].getConsumedPartitionId();
+
+			if (!consumedPartitionId.getPartitionId().equals(consumedPartition.getPartitionId()) ||
+					!consumedPartitionId.getProducerId().equals(producer.getAttemptId()) ||
+					!consumedPartition.isConsumable() ||
+					!(producerState == ExecutionState.RUNNING ||
+						producerState == ExecutionState.FINISHED ||
+						producerState == ExecutionState.SCHEDULED ||
+						producerState == ExecutionState.DEPLOYING)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
 	@Override
 	public ExecutionState getAggregateState() {
 		int[] num = new int[ExecutionState.values().length];
@@ -457,13 +554,40 @@ public class ExecutionJobVertex implements AccessExecutionJobVertex, Archiveable
 
 			int consumerIndex = ires.registerConsumer();
 
-			for (int i = 0; i < parallelism; i++) {
-				ExecutionVertex ev = taskVertices[i];
-				ev.connectSource(num, ires, edge, consumerIndex);
+			if (edge.getDistributionPattern() == DistributionPattern.ALL_TO_ALL) {
+				connectAllToAll(num, ires, consumerIndex);
+			}
+			else {
+				for (int i = 0; i < parallelism; i++) {
+					ExecutionVertex ev = taskVertices[i];
+					ev.connectSource(num, ires, edge, consumerIndex);
+				}
 			}
 		}
 	}
 
+	/**
+	 * Connects all subtasks of this vertex to all partitions of the given result. Instead of
+	 * creating an edge per pair of partition and subtask, all subtasks share the same input
+	 * edges and the partitions share the array of consuming subtasks.
+	 */
+	private void connectAllToAll(int inputNumber, IntermediateResult source, int consumerNumber) {
+		final IntermediateResultPartition[] sourcePartitions = source.getPartitions();
+		final ExecutionEdge[] sharedEdges = new ExecutionEdge[sourcePartitions.length];
+
+		for (int i = 0; i < sourcePartitions.length; i++) {
+			sharedEdges[i] = new ExecutionEdge(sourcePartitions[i], null, inputNumber);
+		}
+
+		for (ExecutionVertex ev : taskVertices) {
+			ev.connectSharedSource(inputNumber, sharedEdges);
+		}
+
+		for (IntermediateResultPartition partition : sourcePartitions) {
+			partition.addAllToAllConsumers(taskVertices, inputNumber, consumerNumber);
+		}
+	}
+
 	//---------------------------------------------------------------------------------------------
 	//  Actions
 	//---------------------------------------------------------------------------------------------
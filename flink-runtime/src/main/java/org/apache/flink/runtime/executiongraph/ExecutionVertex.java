@@ -27,6 +27,8 @@ import org.apache.flink.runtime.JobException;
 import org.apache.flink.runtime.blob.PermanentBlobKey;
 import org.apache.flink.runtime.checkpoint.JobManagerTaskRestore;
 import org.apache.flink.runtime.clusterframework.types.AllocationID;
+import org.apache.flink.runtime.clusterframework.types.ResourceID;
+import org.apache.flink.runtime.concurrent.FutureUtils;
 import org.apache.flink.runtime.deployment.InputChannelDeploymentDescriptor;
 import org.apache.flink.runtime.deployment.InputGateDeploymentDescriptor;
 import org.apache.flink.runtime.deployment.PartialInputChannelDeploymentDescriptor;
@@ -53,6 +55,7 @@ import org.apache.flink.types.Either;
 import org.apache.flink.util.ExceptionUtils;
 import org.apache.flink.util.Preconditions;
 import org.apache.flink.util.SerializedValue;
+import org.apache.flink.util.concurrent.FutureConsumerWithException;
 
 import org.slf4j.Logger;
 
@@ -60,6 +63,7 @@ import javax.annotation.Nullable;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
@@ -104,6 +108,17 @@ public class ExecutionVertex implements AccessExecutionVertex, Archiveable<Archi
 	/** The current or latest execution attempt of this vertex's task. */
 	private volatile Execution currentExecution;	// this field must never be null
 
+	/** The backup attempt which runs concurrently to the current attempt, if the task was slow. */
+	@Nullable
+	private volatile Execution speculativeExecution;
+
+	/**
+	 * Whether a speculative attempt was placed on the TaskManager of the current attempt. The slot
+	 * provider is likely to return the same slot again, so the current attempt is not speculated
+	 * on any more.
+	 */
+	private volatile boolean speculationExhausted;
+
 	// --------------------------------------------------------------------------------------------
 
 	/**
@@ -254,6 +269,24 @@ public class ExecutionVertex implements AccessExecutionVertex, Archiveable<Archi
 		return currentExecution;
 	}
 
+	/**
+	 * Returns the speculative execution attempt which runs concurrently to the current
+	 * execution attempt, or null, if there is none.
+	 */
+	@Nullable
+	public Execution getSpeculativeExecutionAttempt() {
+		return speculativeExecution;
+	}
+
+	/**
+	 * Returns whether a speculative execution attempt may be launched for the current execution
+	 * attempt. This is not the case once a speculative attempt was placed on the TaskManager of
+	 * the current attempt.
+	 */
+	public boolean isSpeculativeExecutionAllowed() {
+		return !speculationExhausted;
+	}
+
 	@Override
 	public ExecutionState getExecutionState() {
 		return currentExecution.getState();
@@ -343,27 +376,20 @@ public class ExecutionVertex implements AccessExecutionVertex, Archiveable<Archi
 	//  Graph building
 	// --------------------------------------------------------------------------------------------
 
+	/**
+	 * Connects the given pointwise input of this subtask. All-to-all inputs are shared by all
+	 * subtasks and are connected through {@link #connectSharedSource(int, ExecutionEdge[])}.
+	 */
 	public void connectSource(int inputNumber, IntermediateResult source, JobEdge edge, int consumerNumber) {
 
 		final DistributionPattern pattern = edge.getDistributionPattern();
-		final IntermediateResultPartition[] sourcePartitions = source.getPartitions();
-
-		ExecutionEdge[] edges;
-
-		switch (pattern) {
-			case POINTWISE:
-				edges = connectPointwise(sourcePartitions, inputNumber);
-				break;
-
-			case ALL_TO_ALL:
-				edges = connectAllToAll(sourcePartitions, inputNumber);
-				break;
-
-			default:
-				throw new RuntimeException("Unrecognized distribution pattern.");
 
+		if (pattern != DistributionPattern.POINTWISE) {
+			throw new IllegalArgumentException("Only pointwise inputs can be connected per subtask, found " + pattern + '.');
 		}
 
+		final ExecutionEdge[] edges = connectPointwise(source.getPartitions(), inputNumber);
+
 		this.inputEdges[inputNumber] = edges;
 
 		// add the consumers to the source
@@ -374,15 +400,13 @@ public class ExecutionVertex implements AccessExecutionVertex, Archiveable<Archi
 		}
 	}
 
-	private ExecutionEdge[] connectAllToAll(IntermediateResultPartition[] sourcePartitions, int inputNumber) {
-		ExecutionEdge[] edges = new ExecutionEdge[sourcePartitions.length];
-
-		for (int i = 0; i < sourcePartitions.length; i++) {
-			IntermediateResultPartition irp = sourcePartitions[i];
-			edges[i] = new ExecutionEdge(irp, this, inputNumber);
-		}
-
-		return edges;
+	/**
+	 * Connects the given input to the edges of an all-to-all connection, which are shared by
+	 * all subtasks of this vertex's job vertex. The consumers are registered with the source
+	 * partitions by the caller.
+	 */
+	void connectSharedSource(int inputNumber, ExecutionEdge[] sharedEdges) {
+		this.inputEdges[inputNumber] = sharedEdges;
 	}
 
 	private ExecutionEdge[] connectPointwise(IntermediateResultPartition[] sourcePartitions, int inputNumber) {
@@ -577,6 +601,12 @@ public class ExecutionVertex implements AccessExecutionVertex, Archiveable<Archi
 			final ExecutionState oldState = oldExecution.getState();
 
 			if (oldState.isTerminal()) {
+				final Execution oldSpeculativeExecution = speculativeExecution;
+				if (oldSpeculativeExecution != null) {
+					speculativeExecution = null;
+					oldSpeculativeExecution.cancel();
+				}
+
 				priorExecutions.add(oldExecution.archive());
 
 				final Execution newExecution = new Execution(
@@ -588,6 +618,7 @@ public class ExecutionVertex implements AccessExecutionVertex, Archiveable<Archi
 					timeout);
 
 				this.currentExecution = newExecution;
+				this.speculationExhausted = false;
 
 				CoLocationGroup grp = jobVertex.getCoLocationGroup();
 				if (grp != null) {
@@ -601,6 +632,15 @@ public class ExecutionVertex implements AccessExecutionVertex, Archiveable<Archi
 				// we take one step back on the road to reaching global FINISHED
 				if (oldState == FINISHED) {
 					getExecutionGraph().vertexUnFinished();
+
+					// the blocking results of this vertex have to be produced again. a global
+					// reset re-initializes the results anyways, but a regional reset must not
+					// leave the results consumable while this producer is running again
+					for (IntermediateResultPartition partition : resultPartitions.values()) {
+						if (partition.getResultType().isBlocking()) {
+							partition.markUnfinished();
+						}
+					}
 				}
 
 				return newExecution;
@@ -630,6 +670,80 @@ public class ExecutionVertex implements AccessExecutionVertex, Archiveable<Archi
 			locationPreferenceConstraint);
 	}
 
+	/**
+	 * Launches a speculative execution attempt which runs concurrently to the current
+	 * execution attempt. The attempt which finishes first provides the result partitions
+	 * of this vertex, the other attempt is cancelled. If the speculative attempt obtains
+	 * a slot on the TaskManager of the current attempt, it is cancelled right away because
+	 * it would suffer from the same problems as the current attempt. In that case, no further
+	 * speculative attempts are launched for the current attempt, because the slot provider
+	 * would most likely return the same slot again.
+	 *
+	 * @param slotProvider to allocate the slot of the speculative attempt from
+	 * @param queued if the allocation can be queued
+	 * @return Future which is completed once the speculative attempt has been deployed
+	 */
+	public CompletableFuture<Void> launchSpeculativeExecution(SlotProvider slotProvider, boolean queued) {
+		final Execution originalExecution;
+		final Execution speculative;
+
+		synchronized (priorExecutions) {
+			originalExecution = currentExecution;
+
+			if (originalExecution.getState() != ExecutionState.RUNNING || speculativeExecution != null || speculationExhausted) {
+				return CompletableFuture.completedFuture(null);
+			}
+
+			speculative = new Execution(
+				getExecutionGraph().getFutureExecutor(),
+				this,
+				originalExecution.getAttemptNumber() + 1,
+				originalExecution.getGlobalModVersion(),
+				System.currentTimeMillis(),
+				timeout);
+
+			speculativeExecution = speculative;
+			getExecutionGraph().registerExecution(speculative);
+		}
+
+		LOG.info("Launching speculative execution {} for slow task {} ({}).",
+			speculative.getAttemptId(), getTaskNameWithSubtaskIndex(), originalExecution.getAttemptId());
+
+		final ResourceID originalTaskManager = originalExecution.getAssignedResourceLocation().getResourceID();
+
+		final CompletableFuture<Void> deploymentFuture;
+		try {
+			deploymentFuture = speculative
+				.allocateAndAssignSlotForExecution(
+					slotProvider,
+					queued,
+					LocationPreferenceConstraint.ANY,
+					getExecutionGraph().getAllocationTimeout())
+				.thenAccept((FutureConsumerWithException<Execution, Exception>) execution -> {
+					if (originalTaskManager.equals(execution.getAssignedResourceLocation().getResourceID())) {
+						LOG.info("Cancelling speculative execution {} because it was assigned to the TaskManager {} " +
+							"of the slow execution. No further speculative executions are launched for {}.",
+							execution.getAttemptId(), originalTaskManager, originalExecution.getAttemptId());
+						speculationExhausted = true;
+						execution.cancel();
+					} else {
+						execution.deploy();
+					}
+				});
+		} catch (IllegalExecutionStateException e) {
+			return FutureUtils.completedExceptionally(e);
+		}
+
+		deploymentFuture.whenComplete(
+			(Void ignored, Throwable failure) -> {
+				if (failure != null) {
+					speculative.markFailed(ExceptionUtils.stripCompletionException(failure));
+				}
+			});
+
+		return deploymentFuture;
+	}
+
 	@VisibleForTesting
 	public void deployToSlot(SimpleSlot slot) throws JobException {
 		if (this.currentExecution.tryAssignResource(slot)) {
@@ -649,8 +763,15 @@ public class ExecutionVertex implements AccessExecutionVertex, Archiveable<Archi
 		// to avoid any case of mixup in the presence of concurrent calls,
 		// we copy a reference to the stack to make sure both calls go to the same Execution
 		final Execution exec = this.currentExecution;
+		final Execution speculative = this.speculativeExecution;
 		exec.cancel();
-		return exec.getReleaseFuture();
+
+		if (speculative == null) {
+			return exec.getReleaseFuture();
+		} else {
+			speculative.cancel();
+			return FutureUtils.waitForAll(Arrays.asList(exec.getReleaseFuture(), speculative.getReleaseFuture()));
+		}
 	}
 
 	public void stop() {
@@ -681,7 +802,7 @@ public class ExecutionVertex implements AccessExecutionVertex, Archiveable<Archi
 
 		if (partition.getIntermediateResult().getResultType().isPipelined()) {
 			// Schedule or update receivers of this partition
-			execution.scheduleOrUpdateConsumers(partition.getConsumers());
+			execution.scheduleOrUpdateConsumers(partition);
 		}
 		else {
 			throw new IllegalArgumentException("ScheduleOrUpdateConsumers msg is only valid for" +
@@ -725,16 +846,62 @@ public class ExecutionVertex implements AccessExecutionVertex, Archiveable<Archi
 	//   Notifications from the Execution Attempt
 	// --------------------------------------------------------------------------------------------
 
+	/**
+	 * Called by an execution attempt right before it switches to FINISHED. If a speculative
+	 * attempt runs concurrently, the finishing attempt becomes the current attempt of this
+	 * vertex and the other attempt is cancelled.
+	 */
+	void executionFinishing(Execution execution) {
+		final Execution slowerExecution;
+
+		synchronized (priorExecutions) {
+			final Execution speculative = speculativeExecution;
+
+			if (speculative == null) {
+				return;
+			}
+			else if (speculative == execution) {
+				// archive the slower attempt right away to keep the attempt numbers in line
+				// with the indices of the prior executions
+				slowerExecution = currentExecution;
+				priorExecutions.add(slowerExecution.archive());
+				currentExecution = speculative;
+			}
+			else if (currentExecution == execution) {
+				slowerExecution = speculative;
+			}
+			else {
+				return;
+			}
+
+			speculativeExecution = null;
+		}
+
+		LOG.info("Execution {} of {} finished first, cancelling execution {}.",
+			execution.getAttemptId(), getTaskNameWithSubtaskIndex(), slowerExecution.getAttemptId());
+
+		slowerExecution.cancel();
+	}
+
 	void executionFinished(Execution execution) {
 		getExecutionGraph().vertexFinished();
 	}
 
 	void executionCanceled(Execution execution) {
-		// nothing to do
+		clearSpeculativeExecution(execution);
 	}
 
 	void executionFailed(Execution execution, Throwable cause) {
-		// nothing to do
+		// a failed speculative attempt does not affect the current attempt
+		clearSpeculativeExecution(execution);
+	}
+
+	private void clearSpeculativeExecution(Execution execution) {
+		synchronized (priorExecutions) {
+			if (speculativeExecution == execution) {
+				speculativeExecution = null;
+			}
+		}
 	}
 
 	// --------------------------------------------------------------------------------------------
@@ -784,18 +951,28 @@ public class ExecutionVertex implements AccessExecutionVertex, Archiveable<Archi
 				Preconditions.checkState(1 == consumers.size(),
 						"Only one consumer supported in the current implementation! Found: " + consumers.size());
 
-				List<ExecutionEdge> consumer = consumers.get(0);
-				ExecutionJobVertex vertex = consumer.get(0).getTarget().getJobVertex();
+				ExecutionJobVertex vertex = partition.getConsumerVertices().get(0).get(0).getJobVertex();
 				int maxParallelism = vertex.getMaxParallelism();
 				producedPartitions.add(ResultPartitionDeploymentDescriptor.from(partition, maxParallelism, lazyScheduling));
 			}
 		}
 
-		for (ExecutionEdge[] edges : inputEdges) {
-			InputChannelDeploymentDescriptor[] partitions = InputChannelDeploymentDescriptor.fromEdges(
-				edges,
-				targetSlot.getTaskManagerLocation().getResourceID(),
-				lazyScheduling);
+		final ResourceID consumerResourceId = targetSlot.getTaskManagerLocation().getResourceID();
+
+		for (int inputNum = 0; inputNum < inputEdges.length; inputNum++) {
+			final ExecutionEdge[] edges = inputEdges[inputNum];
+			final InputChannelDeploymentDescriptor[] partitions;
+
+			if (!lazyScheduling &&
+					jobVertex.getJobVertex().getInputs().get(inputNum).getDistributionPattern() == DistributionPattern.ALL_TO_ALL) {
+				// all subtasks consume the same partitions, share the descriptors between them
+				partitions = jobVertex.getSharedInputChannelDescriptors(inputNum, edges, consumerResourceId);
+			} else {
+				partitions = InputChannelDeploymentDescriptor.fromEdges(
+					edges,
+					consumerResourceId,
+					lazyScheduling);
+			}
 
 			// If the produced partition has multiple consumers registered, we
 			// need to request the one matching our sub task index.
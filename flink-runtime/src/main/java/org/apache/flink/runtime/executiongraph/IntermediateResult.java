@@ -162,6 +162,10 @@ public class IntermediateResult {
 		return numberOfRunningProducers.decrementAndGet();
 	}
 
+	int incrementNumberOfRunningProducersAndGetRemaining() {
+		return numberOfRunningProducers.incrementAndGet();
+	}
+
 	boolean isConsumable() {
 		if (resultType.isPipelined()) {
 			return true;
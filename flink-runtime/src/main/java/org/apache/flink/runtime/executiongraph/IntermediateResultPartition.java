@@ -21,8 +21,13 @@ package org.apache.flink.runtime.executiongraph;
 import org.apache.flink.runtime.io.network.partition.ResultPartitionType;
 import org.apache.flink.runtime.jobgraph.IntermediateResultPartitionID;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.RandomAccess;
+
+import static org.apache.flink.util.Preconditions.checkState;
 
 public class IntermediateResultPartition {
 
@@ -64,10 +69,36 @@ public class IntermediateResultPartition {
 		return totalResult.getResultType();
 	}
 
+	/**
+	 * Returns the consumer edges of this partition, per consumer group. The edges of an
+	 * all-to-all connection are created on access, use {@link #getConsumerVertices()} if
+	 * only the consuming vertices are needed.
+	 */
 	public List<List<ExecutionEdge>> getConsumers() {
 		return consumers;
 	}
 
+	/**
+	 * Returns the vertices which consume this partition, per consumer group.
+	 */
+	public List<List<ExecutionVertex>> getConsumerVertices() {
+		final List<List<ExecutionVertex>> consumerVertices = new ArrayList<>(consumers.size());
+
+		for (List<ExecutionEdge> consumerGroup : consumers) {
+			if (consumerGroup instanceof AllToAllConsumerEdges) {
+				consumerVertices.add(Arrays.asList(((AllToAllConsumerEdges) consumerGroup).consumerVertices));
+			} else {
+				final List<ExecutionVertex> vertices = new ArrayList<>(consumerGroup.size());
+				for (ExecutionEdge edge : consumerGroup) {
+					vertices.add(edge.getTarget());
+				}
+				consumerVertices.add(vertices);
+			}
+		}
+
+		return consumerVertices;
+	}
+
 	public boolean isConsumable() {
 		return totalResult.isConsumable();
 	}
@@ -88,6 +119,21 @@ public class IntermediateResultPartition {
 		consumers.get(consumerNumber).add(edge);
 	}
 
+	/**
+	 * Registers all given vertices as the consumers of this partition. The consumer edges are not
+	 * materialized, but created on access, so that an all-to-all connection needs memory linear in
+	 * the number of partitions and consumers rather than in their product.
+	 *
+	 * @param consumerVertices The consuming vertices, shared by all partitions of the result
+	 * @param inputNumber The input of the consumers which reads this partition
+	 * @param consumerNumber The consumer group to register the consumers with
+	 */
+	void addAllToAllConsumers(ExecutionVertex[] consumerVertices, int inputNumber, int consumerNumber) {
+		checkState(consumers.get(consumerNumber).isEmpty(), "The consumer group already has consumers.");
+
+		consumers.set(consumerNumber, new AllToAllConsumerEdges(this, consumerVertices, inputNumber));
+	}
+
 	boolean markFinished() {
 		// Sanity check that this is only called on blocking partitions.
 		if (!getResultType().isBlocking()) {
@@ -107,4 +153,47 @@ public class IntermediateResultPartition {
 
 		return false;
 	}
+
+	/**
+	 * Takes back a previous {@link #markFinished()} when the producer of a blocking partition
+	 * is restarted individually, i.e. without resetting the whole intermediate result.
+	 */
+	void markUnfinished() {
+		// Sanity check that this is only called on blocking partitions.
+		if (!getResultType().isBlocking()) {
+			throw new IllegalStateException("Tried to mark a non-blocking result partition as unfinished");
+		}
+
+		totalResult.incrementNumberOfRunningProducersAndGetRemaining();
+	}
+
+	// ------------------------------------------------------------------------
+
+	/**
+	 * The consumer edges of a partition that is connected all-to-all with the consuming vertices.
+	 */
+	private static final class AllToAllConsumerEdges extends AbstractList<ExecutionEdge> implements RandomAccess {
+
+		private final IntermediateResultPartition partition;
+
+		private final ExecutionVertex[] consumerVertices;
+
+		private final int inputNumber;
+
+		AllToAllConsumerEdges(IntermediateResultPartition partition, ExecutionVertex[] consumerVertices, int inputNumber) {
+			this.partition = partition;
+			this.consumerVertices = consumerVertices;
+			this.inputNumber = inputNumber;
+		}
+
+		@Override
+		public ExecutionEdge get(int index) {
+			return new ExecutionEdge(partition, consumerVertices[index], inputNumber);
+		}
+
+		@Override
+		public int size() {
+			return consumerVertices.length;
+		}
+	}
 }
@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.executiongraph;
+
+import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.runtime.execution.ExecutionState;
+import org.apache.flink.runtime.jobgraph.JobStatus;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * Periodically checks the running subtasks of an {@link ExecutionGraph} for being slow and
+ * launches speculative execution attempts for them.
+ *
+ * <p>A subtask is slow if it has been running for longer than a multiple of the median running
+ * time of the finished subtasks of the same vertex. Only vertices which consume and produce
+ * blocking results exclusively are considered, because the results of their subtasks are
+ * not visible to other subtasks before they are finished. Sources are not considered either
+ * because a speculative attempt would compete for the input splits.
+ */
+public class SlowTaskDetector implements Runnable {
+
+	private static final Logger LOG = LoggerFactory.getLogger(SlowTaskDetector.class);
+
+	private final ExecutionGraph executionGraph;
+
+	/** The ratio of subtasks of a vertex which have to be finished before the others are checked. */
+	private final double minFinishedRatio;
+
+	/** The factor by which a subtask has to exceed the median running time to be slow. */
+	private final double slowTaskMultiplier;
+
+	public SlowTaskDetector(ExecutionGraph executionGraph, double minFinishedRatio, double slowTaskMultiplier) {
+		checkArgument(minFinishedRatio > 0.0 && minFinishedRatio <= 1.0,
+			"The minimum ratio of finished subtasks must be in (0, 1].");
+		checkArgument(slowTaskMultiplier >= 1.0, "The slow task multiplier must be at least 1.");
+
+		this.executionGraph = checkNotNull(executionGraph);
+		this.minFinishedRatio = minFinishedRatio;
+		this.slowTaskMultiplier = slowTaskMultiplier;
+	}
+
+	@Override
+	public void run() {
+		try {
+			if (executionGraph.getState() != JobStatus.RUNNING) {
+				return;
+			}
+
+			final long now = System.currentTimeMillis();
+
+			for (ExecutionJobVertex jobVertex : executionGraph.getVerticesTopologically()) {
+				if (isSpeculatable(jobVertex)) {
+					checkSlowTasks(jobVertex, now);
+				}
+			}
+		} catch (Throwable t) {
+			// an exception must not cancel the periodic execution of the check
+			LOG.warn("Error while checking for slow tasks of job {}.", executionGraph.getJobID(), t);
+		}
+	}
+
+	private void checkSlowTasks(ExecutionJobVertex jobVertex, long now) {
+		final ExecutionVertex[] taskVertices = jobVertex.getTaskVertices();
+		final List<Long> finishedRuntimes = new ArrayList<>(taskVertices.length);
+		final List<ExecutionVertex> runningVertices = new ArrayList<>();
+
+		for (ExecutionVertex taskVertex : taskVertices) {
+			final Execution execution = taskVertex.getCurrentExecutionAttempt();
+			final ExecutionState state = execution.getState();
+
+			if (state == ExecutionState.FINISHED) {
+				finishedRuntimes.add(
+					execution.getStateTimestamp(ExecutionState.FINISHED) - getStartTimestamp(execution));
+			}
+			else if (state == ExecutionState.RUNNING &&
+					taskVertex.getSpeculativeExecutionAttempt() == null &&
+					taskVertex.isSpeculativeExecutionAllowed()) {
+				runningVertices.add(taskVertex);
+			}
+		}
+
+		if (runningVertices.isEmpty() ||
+				finishedRuntimes.size() < Math.ceil(minFinishedRatio * taskVertices.length)) {
+			return;
+		}
+
+		Collections.sort(finishedRuntimes);
+		final long medianRuntime = finishedRuntimes.get(finishedRuntimes.size() / 2);
+		final double slowRuntime = medianRuntime * slowTaskMultiplier;
+
+		for (ExecutionVertex runningVertex : runningVertices) {
+			final long runtime = now - getStartTimestamp(runningVertex.getCurrentExecutionAttempt());
+
+			if (runtime > slowRuntime) {
+				LOG.info("Task {} has been running for {} ms, the median running time of its finished " +
+					"siblings is {} ms.", runningVertex.getTaskNameWithSubtaskIndex(), runtime, medianRuntime);
+
+				runningVertex.launchSpeculativeExecution(
+					executionGraph.getSlotProvider(),
+					executionGraph.isQueuedSchedulingAllowed());
+			}
+		}
+	}
+
+	/**
+	 * Returns the time at which the execution started to run. Very fast tasks may switch from
+	 * DEPLOYING to FINISHED directly, so the deployment timestamp is used as a fallback.
+	 */
+	private static long getStartTimestamp(Execution execution) {
+		final long runningTimestamp = execution.getStateTimestamp(ExecutionState.RUNNING);
+		return runningTimestamp > 0 ? runningTimestamp : execution.getStateTimestamp(ExecutionState.DEPLOYING);
+	}
+
+	@VisibleForTesting
+	static boolean isSpeculatable(ExecutionJobVertex jobVertex) {
+		if (jobVertex.getCoLocationGroup() != null ||
+				jobVertex.getInputs().isEmpty() ||
+				jobVertex.getProducedDataSets().length == 0) {
+			return false;
+		}
+
+		for (IntermediateResult input : jobVertex.getInputs()) {
+			if (!input.getResultType().isBlocking()) {
+				return false;
+			}
+		}
+
+		for (IntermediateResult output : jobVertex.getProducedDataSets()) {
+			if (!output.getResultType().isBlocking()) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+}
@@ -18,11 +18,14 @@
 
 package org.apache.flink.runtime.executiongraph.failover;
 
+import org.apache.flink.runtime.checkpoint.CheckpointCoordinator;
 import org.apache.flink.runtime.concurrent.FutureUtils;
 import org.apache.flink.runtime.executiongraph.Execution;
+import org.apache.flink.runtime.executiongraph.ExecutionEdge;
 import org.apache.flink.runtime.executiongraph.ExecutionGraph;
 import org.apache.flink.runtime.executiongraph.ExecutionVertex;
 import org.apache.flink.runtime.executiongraph.GlobalModVersionMismatch;
+import org.apache.flink.runtime.executiongraph.restart.RestartCallback;
 import org.apache.flink.runtime.jobgraph.JobStatus;
 import org.apache.flink.runtime.jobmanager.scheduler.CoLocationGroup;
 import org.apache.flink.runtime.jobmanager.scheduler.LocationPreferenceConstraint;
@@ -79,13 +82,20 @@ public class FailoverRegion {
 	}
 
 	public void onExecutionFail(Execution taskExecution, Throwable cause) {
-		// TODO: check if need to failover the preceding region
+		onExecutionFail(taskExecution.getGlobalModVersion(), cause);
+	}
+
+	/**
+	 * Fails over this region because of a failure that originated in the given global
+	 * modification version, for example the failure of a consumer of this region's results.
+	 */
+	void onExecutionFail(long globalModVersionOfFailover, Throwable cause) {
 		if (!executionGraph.getRestartStrategy().canRestart()) {
 			// delegate the failure to a global fail that will check the restart strategy and not restart
 			executionGraph.failGlobal(cause);
 		}
 		else {
-			cancel(taskExecution.getGlobalModVersion());
+			cancel(globalModVersionOfFailover);
 		}
 	}
 
@@ -94,7 +104,10 @@ public class FailoverRegion {
 			JobStatus curStatus = this.state;
 			if (curStatus.equals(JobStatus.CANCELLING)) {
 				if (transitionState(curStatus, JobStatus.CANCELED)) {
-					reset(globalModVersionOfFailover);
+					// the restart strategy delays the restart of the region and counts it as a restart attempt
+					executionGraph.getRestartStrategy().restart(
+						new FailoverRegionRestartCallback(globalModVersionOfFailover),
+						executionGraph.getRestartExecutor());
 					break;
 				}
 			}
@@ -204,17 +217,32 @@ public class FailoverRegion {
 	private void restart(long globalModVersionOfFailover) {
 		try {
 			if (transitionState(JobStatus.CREATED, JobStatus.RUNNING)) {
-				// if we have checkpointed state, reload it into the executions
-				//TODO: checkpoint support restore part ExecutionVertex cp
-				/**
-				if (executionGraph.getCheckpointCoordinator() != null) {
-					executionGraph.getCheckpointCoordinator().restoreLatestCheckpointedState(
-							connectedExecutionVertexes, false, false);
+				// if we have checkpointed state, reload it into the executions of this region
+				final CheckpointCoordinator checkpointCoordinator = executionGraph.getCheckpointCoordinator();
+				if (checkpointCoordinator != null) {
+					try {
+						checkpointCoordinator.restoreLatestCheckpointedStateToSubtasks(
+							executionGraph.getAllVertices(),
+							new HashSet<>(connectedExecutionVertexes),
+							false);
+					}
+					catch (Exception e) {
+						// restoring the region again would fail the same way, escalate to a global failover
+						executionGraph.failGlobal(new FlinkException(
+							"Could not restore the state of failover region " + id + '.', e));
+						return;
+					}
 				}
-				*/
-				//TODO, use restart strategy to schedule them.
-				//restart all connected ExecutionVertexes
+
+				// restart all connected ExecutionVertexes whose blocking inputs are available. the
+				// others are scheduled once the producers of their blocking inputs have finished
 				for (ExecutionVertex ev : connectedExecutionVertexes) {
+					if (!hasConsumableBlockingInputs(ev)) {
+						LOG.debug("Deferring the scheduling of {} until its blocking inputs are finished.",
+							ev.getTaskNameWithSubtaskIndex());
+						continue;
+					}
+
 					try {
 						ev.scheduleForExecution(
 							executionGraph.getSlotProvider(),
@@ -236,6 +264,18 @@ public class FailoverRegion {
 		}
 	}
 
+	private static boolean hasConsumableBlockingInputs(ExecutionVertex vertex) {
+		for (int inputNum = 0; inputNum < vertex.getNumberOfInputs(); inputNum++) {
+			for (ExecutionEdge edge : vertex.getInputEdges(inputNum)) {
+				if (edge.getSource().getIntermediateResult().getResultType().isBlocking() &&
+						!edge.getSource().isConsumable()) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
 	private boolean transitionState(JobStatus current, JobStatus newState) {
 		if (STATE_UPDATER.compareAndSet(this, current, newState)) {
 			LOG.info("FailoverRegion {} switched from state {} to {}.", id, current, newState);
@@ -246,4 +286,23 @@ public class FailoverRegion {
 		}
 	}
 
+	// ------------------------------------------------------------------------
+
+	/**
+	 * A {@link RestartCallback} that resets and restarts this region once the
+	 * {@link org.apache.flink.runtime.executiongraph.restart.RestartStrategy} triggers the restart.
+	 */
+	private class FailoverRegionRestartCallback implements RestartCallback {
+
+		private final long globalModVersionOfFailover;
+
+		FailoverRegionRestartCallback(long globalModVersionOfFailover) {
+			this.globalModVersionOfFailover = globalModVersionOfFailover;
+		}
+
+		@Override
+		public void triggerFullRecovery() {
+			reset(globalModVersionOfFailover);
+		}
+	}
 }
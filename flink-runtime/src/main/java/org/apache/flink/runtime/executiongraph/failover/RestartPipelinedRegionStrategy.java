@@ -25,6 +25,9 @@ import org.apache.flink.runtime.executiongraph.ExecutionJobVertex;
 import org.apache.flink.runtime.executiongraph.ExecutionVertex;
 import org.apache.flink.runtime.executiongraph.ExecutionGraph;
 import org.apache.flink.runtime.executiongraph.IntermediateResult;
+import org.apache.flink.runtime.io.network.partition.PartitionNotFoundException;
+import org.apache.flink.runtime.jobgraph.IntermediateResultPartitionID;
+import org.apache.flink.util.ExceptionUtils;
 import org.apache.flink.util.FlinkException;
 import org.apache.flink.util.FlinkRuntimeException;
 
@@ -35,6 +38,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.Executor;
 
 import static org.apache.flink.util.Preconditions.checkNotNull;
@@ -42,7 +46,11 @@ import static org.apache.flink.util.Preconditions.checkNotNull;
 /**
  * A failover strategy that restarts regions of the ExecutionGraph. A region is defined
  * by this strategy as the weakly connected component of tasks that communicate via pipelined
- * data exchange.
+ * data exchange. Reconnectable pipelined results (approximate recovery) do not connect regions,
+ * because their consumers can connect to them again after a restart.
+ *
+ * <p>If a task fails because a blocking result it consumes is no longer available, the region
+ * of the task that produced the result is restarted as well, so that the result is produced again.
  */
 public class RestartPipelinedRegionStrategy extends FailoverStrategy {
 
@@ -101,10 +109,48 @@ public class RestartPipelinedRegionStrategy extends FailoverStrategy {
 					taskExecution.getAttemptNumber(),
 					taskExecution.getAttemptId());
 
+			// the producer region has to be reset first, so that the restarted consumers do not
+			// see its blocking results as still consumable
+			failoverProducerOfMissingPartition(taskExecution, failoverRegion, cause);
+
 			failoverRegion.onExecutionFail(taskExecution, cause);
 		}
 	}
 
+	private void failoverProducerOfMissingPartition(
+			Execution taskExecution,
+			FailoverRegion consumerRegion,
+			Throwable cause) {
+
+		final Optional<PartitionNotFoundException> partitionNotFound =
+			ExceptionUtils.findThrowable(cause, PartitionNotFoundException.class);
+
+		if (!partitionNotFound.isPresent()) {
+			return;
+		}
+
+		final IntermediateResultPartitionID missingPartitionId =
+			partitionNotFound.get().getPartitionId().getPartitionId();
+		final ExecutionVertex consumer = taskExecution.getVertex();
+
+		for (int inputNum = 0; inputNum < consumer.getNumberOfInputs(); inputNum++) {
+			for (ExecutionEdge edge : consumer.getInputEdges(inputNum)) {
+				if (edge.getSource().getPartitionId().equals(missingPartitionId)) {
+					final ExecutionVertex producer = edge.getSource().getProducer();
+					final FailoverRegion producerRegion = vertexToRegion.get(producer);
+
+					if (producerRegion != null && producerRegion != consumerRegion) {
+						LOG.info("Recovering missing result partition {} of {} via restart of its failover region",
+							missingPartitionId, producer.getTaskNameWithSubtaskIndex());
+
+						producerRegion.onExecutionFail(taskExecution.getGlobalModVersion(), cause);
+					}
+					return;
+				}
+			}
+		}
+	}
+
 	@Override
 	public void notifyNewVertices(List<ExecutionJobVertex> newJobVerticesTopological) {
 		generateAllFailoverRegion(newJobVerticesTopological);
@@ -141,7 +187,7 @@ public class RestartPipelinedRegionStrategy extends FailoverStrategy {
 			boolean hasPipelinedInputs = false;
 
 			for (IntermediateResult input : inputs) {
-				if (input.getResultType().isPipelined()) {
+				if (connectsRegions(input)) {
 					hasPipelinedInputs = true;
 					break;
 				}
@@ -155,7 +201,7 @@ public class RestartPipelinedRegionStrategy extends FailoverStrategy {
 					ArrayList<ExecutionVertex> thisRegion = null;
 
 					for (int inputNum = 0; inputNum < numInputs; inputNum++) {
-						if (inputs.get(inputNum).getResultType().isPipelined()) {
+						if (connectsRegions(inputs.get(inputNum))) {
 
 							for (ExecutionEdge edge : ev.getInputEdges(inputNum)) {
 								final ExecutionVertex predecessor = edge.getSource().getProducer();
@@ -216,6 +262,10 @@ public class RestartPipelinedRegionStrategy extends FailoverStrategy {
 		}
 	}
 
+	private static boolean connectsRegions(IntermediateResult result) {
+		return result.getResultType().isPipelined() && !result.getResultType().isReconnectable();
+	}
+
 	private void makeAllOneRegion(List<ExecutionJobVertex> jobVertices) {
 		LOG.warn("Cannot decompose ExecutionGraph into individual failover regions due to use of " +
 				"Co-Location constraints (iterations). Job will fail over as one holistic unit.");
@@ -131,7 +131,10 @@ public class RecordWriter<T extends IOReadableWritable> {
 		SerializationResult result = serializer.addRecord(record);
 
 		while (result.isFullBuffer()) {
-			if (tryFinishCurrentBufferBuilder(targetChannel, serializer)) {
+			// if the current buffer has been finished in the middle of the record,
+			// the next buffer starts with the remainder of the record
+			final boolean isRecordContinuation = tryFinishCurrentBufferBuilder(targetChannel, serializer);
+			if (isRecordContinuation) {
 				// If this was a full record, we are done. Not breaking
 				// out of the loop at this point will lead to another
 				// buffer request before breaking out (that would not be
@@ -141,7 +144,7 @@ public class RecordWriter<T extends IOReadableWritable> {
 					break;
 				}
 			}
-			BufferBuilder bufferBuilder = requestNewBufferBuilder(targetChannel);
+			BufferBuilder bufferBuilder = requestNewBufferBuilder(targetChannel, isRecordContinuation);
 
 			result = serializer.continueWritingWithNextBufferBuilder(bufferBuilder);
 		}
@@ -208,11 +211,14 @@ public class RecordWriter<T extends IOReadableWritable> {
 		return true;
 	}
 
-	private BufferBuilder requestNewBufferBuilder(int targetChannel) throws IOException, InterruptedException {
+	private BufferBuilder requestNewBufferBuilder(
+			int targetChannel,
+			boolean startsWithPartialRecord) throws IOException, InterruptedException {
+
 		checkState(!bufferBuilders[targetChannel].isPresent());
 		BufferBuilder bufferBuilder = targetPartition.getBufferProvider().requestBufferBuilderBlocking();
 		bufferBuilders[targetChannel] = Optional.of(bufferBuilder);
-		targetPartition.addBufferConsumer(bufferBuilder.createBufferConsumer(), targetChannel);
+		targetPartition.addBufferConsumer(bufferBuilder.createBufferConsumer(startsWithPartialRecord), targetChannel);
 		return bufferBuilder;
 	}
 
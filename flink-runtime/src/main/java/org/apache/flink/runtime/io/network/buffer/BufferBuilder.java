@@ -52,12 +52,23 @@ public class BufferBuilder {
 	 * one {@link BufferConsumer} per each {@link BufferBuilder} and vice versa.
 	 */
 	public BufferConsumer createBufferConsumer() {
+		return createBufferConsumer(false);
+	}
+
+	/**
+	 * @param startsWithPartialRecord whether the first data written to this {@link BufferBuilder} is the remainder
+	 * of a record which has been started in a previous buffer.
+	 * @return created matching instance of {@link BufferConsumer} to this {@link BufferBuilder}. There can exist only
+	 * one {@link BufferConsumer} per each {@link BufferBuilder} and vice versa.
+	 */
+	public BufferConsumer createBufferConsumer(boolean startsWithPartialRecord) {
 		checkState(!bufferConsumerCreated, "There can not exists two BufferConsumer for one BufferBuilder");
 		bufferConsumerCreated = true;
 		return new BufferConsumer(
 			memorySegment,
 			recycler,
-			positionMarker);
+			positionMarker,
+			startsWithPartialRecord);
 	}
 
 	/**
@@ -44,6 +44,8 @@ public class BufferConsumer implements Closeable {
 
 	private int currentReaderPosition = 0;
 
+	private final boolean startsWithPartialRecord;
+
 	/**
 	 * Constructs {@link BufferConsumer} instance with content that can be changed by {@link BufferBuilder}.
 	 */
@@ -51,10 +53,24 @@ public class BufferConsumer implements Closeable {
 			MemorySegment memorySegment,
 			BufferRecycler recycler,
 			PositionMarker currentWriterPosition) {
+		this(memorySegment, recycler, currentWriterPosition, false);
+	}
+
+	/**
+	 * Constructs {@link BufferConsumer} instance with content that can be changed by {@link BufferBuilder}
+	 * and which starts with the remainder of a record that has been started in a previous buffer, if
+	 * <tt>startsWithPartialRecord</tt> is set.
+	 */
+	public BufferConsumer(
+			MemorySegment memorySegment,
+			BufferRecycler recycler,
+			PositionMarker currentWriterPosition,
+			boolean startsWithPartialRecord) {
 		this(
 			new NetworkBuffer(checkNotNull(memorySegment), checkNotNull(recycler), true),
 			currentWriterPosition,
-			0);
+			0,
+			startsWithPartialRecord);
 	}
 
 	/**
@@ -63,15 +79,21 @@ public class BufferConsumer implements Closeable {
 	public BufferConsumer(MemorySegment memorySegment, BufferRecycler recycler, boolean isBuffer) {
 		this(new NetworkBuffer(checkNotNull(memorySegment), checkNotNull(recycler), isBuffer),
 			() -> -memorySegment.size(),
-			0);
+			0,
+			false);
 		checkState(memorySegment.size() > 0);
 		checkState(isFinished(), "BufferConsumer with static size must be finished after construction!");
 	}
 
-	private BufferConsumer(Buffer buffer, BufferBuilder.PositionMarker currentWriterPosition, int currentReaderPosition) {
+	private BufferConsumer(
+			Buffer buffer,
+			BufferBuilder.PositionMarker currentWriterPosition,
+			int currentReaderPosition,
+			boolean startsWithPartialRecord) {
 		this.buffer = checkNotNull(buffer);
 		this.writerPosition = new CachedPositionMarker(checkNotNull(currentWriterPosition));
 		this.currentReaderPosition = currentReaderPosition;
+		this.startsWithPartialRecord = startsWithPartialRecord;
 	}
 
 	public boolean isFinished() {
@@ -97,13 +119,22 @@ public class BufferConsumer implements Closeable {
 	 * other words, data already consumed before copying will not be visible to the returned copies.
 	 */
 	public BufferConsumer copy() {
-		return new BufferConsumer(buffer.retainBuffer(), writerPosition.positionMarker, currentReaderPosition);
+		return new BufferConsumer(
+			buffer.retainBuffer(), writerPosition.positionMarker, currentReaderPosition, startsWithPartialRecord);
 	}
 
 	public boolean isBuffer() {
 		return buffer.isBuffer();
 	}
 
+	/**
+	 * @return whether the data of this buffer starts with the remainder of a record which has been
+	 * started in the previous buffer of the same channel.
+	 */
+	public boolean startsWithPartialRecord() {
+		return startsWithPartialRecord;
+	}
+
 	@Override
 	public void close() {
 		if (!buffer.isRecycled()) {
@@ -36,6 +36,11 @@ import static org.apache.flink.util.Preconditions.checkState;
 
 /**
  * A pipelined in-memory only subpartition, which can be consumed once.
+ *
+ * <p>A reconnectable subpartition can be consumed again after its consumer has been lost, for
+ * example because the consuming task failed and has been restarted. The data which has been
+ * produced for the lost consumer and which has not been consumed yet is discarded, up to the
+ * next record boundary, so that the new consumer starts reading with a complete record.
  */
 class PipelinedSubpartition extends ResultSubpartition {
 
@@ -55,10 +60,26 @@ class PipelinedSubpartition extends ResultSubpartition {
 	/** Flag indicating whether the subpartition has been released. */
 	private volatile boolean isReleased;
 
+	/** Flag indicating whether a new consumer can connect after the previous one has been lost. */
+	private final boolean isReconnectable;
+
+	/** The number of buffers at the head of the queue which belong to a lost consumer. */
+	@GuardedBy("buffers")
+	private int numBuffersToDiscard;
+
+	/** Flag indicating whether added buffers which continue a record of a discarded buffer are discarded. */
+	@GuardedBy("buffers")
+	private boolean discardPartialRecords;
+
 	// ------------------------------------------------------------------------
 
 	PipelinedSubpartition(int index, ResultPartition parent) {
+		this(index, parent, false);
+	}
+
+	PipelinedSubpartition(int index, ResultPartition parent, boolean isReconnectable) {
 		super(index, parent);
+		this.isReconnectable = isReconnectable;
 	}
 
 	@Override
@@ -92,6 +113,14 @@ class PipelinedSubpartition extends ResultSubpartition {
 				return false;
 			}
 
+			if (discardPartialRecords) {
+				if (bufferConsumer.startsWithPartialRecord()) {
+					numBuffersToDiscard++;
+				} else {
+					discardPartialRecords = false;
+				}
+			}
+
 			// Add the bufferConsumer and update the stats
 			buffers.add(bufferConsumer);
 			updateStatistics(bufferConsumer);
@@ -139,11 +168,25 @@ class PipelinedSubpartition extends ResultSubpartition {
 		}
 	}
 
+	@Nullable
+	BufferAndBacklog pollBuffer(PipelinedSubpartitionView view) {
+		synchronized (buffers) {
+			// a view which has been replaced by the view of a reconnected consumer must not see any data
+			if (view != readView) {
+				return null;
+			}
+
+			return pollBuffer();
+		}
+	}
+
 	@Nullable
 	BufferAndBacklog pollBuffer() {
 		synchronized (buffers) {
 			Buffer buffer = null;
 
+			discardBuffersOfLostConsumer();
+
 			if (buffers.isEmpty()) {
 				flushRequested = false;
 			}
@@ -218,21 +261,78 @@ class PipelinedSubpartition extends ResultSubpartition {
 
 	@Override
 	public PipelinedSubpartitionView createReadView(BufferAvailabilityListener availabilityListener) throws IOException {
+		final PipelinedSubpartitionView lostView;
+		final PipelinedSubpartitionView newView;
+
 		synchronized (buffers) {
 			checkState(!isReleased);
-			checkState(readView == null,
+			checkState(readView == null || isReconnectable,
 					"Subpartition %s of is being (or already has been) consumed, " +
 					"but pipelined subpartitions can only be consumed once.", index, parent.getPartitionId());
 
-			LOG.debug("Creating read view for subpartition {} of partition {}.", index, parent.getPartitionId());
+			lostView = readView;
+
+			if (lostView != null) {
+				LOG.debug("Reconnecting subpartition {} of partition {} after its consumer has been lost.",
+					index, parent.getPartitionId());
+
+				// the end of partition event is kept, it is always the last one if the subpartition is finished
+				numBuffersToDiscard = isFinished ? buffers.size() - 1 : buffers.size();
+				discardPartialRecords = !isFinished;
+				discardBuffersOfLostConsumer();
+			} else {
+				LOG.debug("Creating read view for subpartition {} of partition {}.", index, parent.getPartitionId());
+			}
+
+			newView = new PipelinedSubpartitionView(this, availabilityListener);
+			readView = newView;
 
-			readView = new PipelinedSubpartitionView(this, availabilityListener);
 			if (!buffers.isEmpty()) {
 				notifyDataAvailable();
 			}
 		}
 
-		return readView;
+		if (lostView != null) {
+			lostView.releaseAllResources();
+		}
+
+		return newView;
+	}
+
+	/**
+	 * Discards the buffers which have been produced for a lost consumer. A buffer which is
+	 * still being written is discarded once it is finished.
+	 */
+	private void discardBuffersOfLostConsumer() {
+		assert Thread.holdsLock(buffers);
+
+		while (numBuffersToDiscard > 0 && !buffers.isEmpty()) {
+			final BufferConsumer bufferConsumer = buffers.peek();
+
+			bufferConsumer.build().recycleBuffer();
+
+			if (bufferConsumer.isFinished()) {
+				buffers.pop().close();
+				decreaseBuffersInBacklogUnsafe(bufferConsumer.isBuffer());
+				numBuffersToDiscard--;
+			} else {
+				break;
+			}
+		}
+	}
+
+	@Override
+	protected void onConsumedSubpartition() {
+		if (isReconnectable) {
+			synchronized (buffers) {
+				// a consumer which did not consume everything might have been lost and can reconnect
+				if (!isFinished || !buffers.isEmpty()) {
+					return;
+				}
+			}
+		}
+
+		super.onConsumedSubpartition();
 	}
 
 	public boolean isAvailable() {
@@ -48,7 +48,7 @@ class PipelinedSubpartitionView implements ResultSubpartitionView {
 	@Nullable
 	@Override
 	public BufferAndBacklog getNextBuffer() {
-		return parent.pollBuffer();
+		return parent.pollBuffer(this);
 	}
 
 	@Override
@@ -162,6 +162,13 @@ public class ResultPartition implements ResultPartitionWriter, BufferPoolOwner {
 
 				break;
 
+			case PIPELINED_APPROXIMATE:
+				for (int i = 0; i < subpartitions.length; i++) {
+					subpartitions[i] = new PipelinedSubpartition(i, this, true);
+				}
+
+				break;
+
 			default:
 				throw new IllegalArgumentException("Unsupported result partition type.");
 		}
@@ -35,7 +35,16 @@ public enum ResultPartitionType {
 	 * For batch jobs, it will be best to keep this unlimited ({@link #PIPELINED}) since there are
 	 * no checkpoint barriers.
 	 */
-	PIPELINED_BOUNDED(true, true, true);
+	PIPELINED_BOUNDED(true, true, true),
+
+	/**
+	 * Bounded pipelined partitions which a restarted consumer can connect to again.
+	 *
+	 * The data which has been produced for the lost consumer is discarded up to the next record
+	 * boundary. This gives at-least-once guarantees with data loss, in exchange for restarting
+	 * only the failed tasks instead of their whole pipelined region.
+	 */
+	PIPELINED_APPROXIMATE(true, true, true, true);
 
 	/** Can the partition be consumed while being produced? */
 	private final boolean isPipelined;
@@ -46,13 +55,24 @@ public enum ResultPartitionType {
 	/** Does this partition use a limited number of (network) buffers? */
 	private final boolean isBounded;
 
+	/** Can a new consumer connect to the partition after the previous one has been lost? */
+	private final boolean isReconnectable;
+
 	/**
 	 * Specifies the behaviour of an intermediate result partition at runtime.
 	 */
 	ResultPartitionType(boolean isPipelined, boolean hasBackPressure, boolean isBounded) {
+		this(isPipelined, hasBackPressure, isBounded, false);
+	}
+
+	/**
+	 * Specifies the behaviour of an intermediate result partition at runtime.
+	 */
+	ResultPartitionType(boolean isPipelined, boolean hasBackPressure, boolean isBounded, boolean isReconnectable) {
 		this.isPipelined = isPipelined;
 		this.hasBackPressure = hasBackPressure;
 		this.isBounded = isBounded;
+		this.isReconnectable = isReconnectable;
 	}
 
 	public boolean hasBackPressure() {
@@ -75,4 +95,14 @@ public enum ResultPartitionType {
 	public boolean isBounded() {
 		return isBounded;
 	}
+
+	/**
+	 * Whether a restarted consumer can consume the partition again, skipping the data which has
+	 * been produced for its previous execution attempt.
+	 *
+	 * @return <tt>true</tt> if the partition can be consumed again after its consumer has been lost
+	 */
+	public boolean isReconnectable() {
+		return isReconnectable;
+	}
 }
@@ -29,7 +29,7 @@ public enum DistributionPattern {
 	/**
 	 * Each producing sub task is connected to each sub task of the consuming task.
 	 * <p>
-	 * {@link ExecutionVertex#connectAllToAll(org.apache.flink.runtime.executiongraph.IntermediateResultPartition[], int)}
+	 * {@link ExecutionVertex#connectSharedSource(int, org.apache.flink.runtime.executiongraph.ExecutionEdge[])}
 	 */
 	ALL_TO_ALL,
 
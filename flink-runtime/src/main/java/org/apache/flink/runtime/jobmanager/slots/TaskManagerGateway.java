@@ -24,6 +24,7 @@ import org.apache.flink.runtime.blob.TransientBlobKey;
 import org.apache.flink.runtime.checkpoint.CheckpointOptions;
 import org.apache.flink.runtime.clusterframework.ApplicationStatus;
 import org.apache.flink.runtime.clusterframework.types.AllocationID;
+import org.apache.flink.runtime.concurrent.FutureUtils;
 import org.apache.flink.runtime.deployment.TaskDeploymentDescriptor;
 import org.apache.flink.runtime.executiongraph.ExecutionAttemptID;
 import org.apache.flink.runtime.executiongraph.PartitionInfo;
@@ -33,6 +34,9 @@ import org.apache.flink.runtime.messages.StackTrace;
 import org.apache.flink.runtime.messages.StackTraceSampleResponse;
 import org.apache.flink.runtime.rpc.RpcTimeout;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -101,6 +105,40 @@ public interface TaskManagerGateway {
 		TaskDeploymentDescriptor tdd,
 		Time timeout);
 
+	/**
+	 * Submit multiple tasks to the task manager. Gateways which
+	 * {@link #supportsBatchedTaskSubmission() support batched submission} send the tasks
+	 * together, so that the information which the tasks share (e.g. the serialized job and
+	 * task information) is transferred only once.
+	 *
+	 * @param tdds describing the tasks to submit
+	 * @param timeout of the submit operation
+	 * @return Future acknowledge of the successful operation, which fails if any of the tasks
+	 * could not be submitted
+	 */
+	default CompletableFuture<Acknowledge> submitTasks(
+			Collection<TaskDeploymentDescriptor> tdds,
+			Time timeout) {
+
+		final List<CompletableFuture<Acknowledge>> submitFutures = new ArrayList<>(tdds.size());
+
+		for (TaskDeploymentDescriptor tdd : tdds) {
+			submitFutures.add(submitTask(tdd, timeout));
+		}
+
+		return FutureUtils.waitForAll(submitFutures).thenApply(ignored -> Acknowledge.get());
+	}
+
+	/**
+	 * Returns whether {@link #submitTasks(Collection, Time)} submits the tasks with fewer
+	 * calls than {@link #submitTask(TaskDeploymentDescriptor, Time)} for each task.
+	 *
+	 * @return true if tasks should be submitted in batches to this task manager
+	 */
+	default boolean supportsBatchedTaskSubmission() {
+		return false;
+	}
+
 	/**
 	 * Stop the given task.
 	 *
@@ -20,9 +20,11 @@ package org.apache.flink.runtime.jobmaster;
 
 import org.apache.flink.annotation.VisibleForTesting;
 import org.apache.flink.api.common.JobID;
+import org.apache.flink.api.common.functions.AggregateFunction;
 import org.apache.flink.api.common.restartstrategy.RestartStrategies;
 import org.apache.flink.api.common.time.Time;
 import org.apache.flink.api.java.tuple.Tuple2;
+import org.apache.flink.configuration.JobManagerOptions;
 import org.apache.flink.core.io.InputSplit;
 import org.apache.flink.core.io.InputSplitAssigner;
 import org.apache.flink.queryablestate.KvStateID;
@@ -49,6 +51,7 @@ import org.apache.flink.runtime.executiongraph.ExecutionAttemptID;
 import org.apache.flink.runtime.executiongraph.ExecutionGraph;
 import org.apache.flink.runtime.executiongraph.ExecutionGraphBuilder;
 import org.apache.flink.runtime.executiongraph.ExecutionJobVertex;
+import org.apache.flink.runtime.executiongraph.ExecutionStatusListener;
 import org.apache.flink.runtime.executiongraph.IntermediateResult;
 import org.apache.flink.runtime.executiongraph.JobStatusListener;
 import org.apache.flink.runtime.executiongraph.restart.RestartStrategy;
@@ -58,6 +61,7 @@ import org.apache.flink.runtime.heartbeat.HeartbeatManager;
 import org.apache.flink.runtime.heartbeat.HeartbeatServices;
 import org.apache.flink.runtime.heartbeat.HeartbeatTarget;
 import org.apache.flink.runtime.highavailability.HighAvailabilityServices;
+import org.apache.flink.runtime.instance.SlotSharingGroupId;
 import org.apache.flink.runtime.io.network.partition.ResultPartitionID;
 import org.apache.flink.runtime.jobgraph.IntermediateDataSetID;
 import org.apache.flink.runtime.jobgraph.JobGraph;
@@ -67,6 +71,7 @@ import org.apache.flink.runtime.jobgraph.JobVertexID;
 import org.apache.flink.runtime.jobgraph.SavepointRestoreSettings;
 import org.apache.flink.runtime.jobmanager.OnCompletionActions;
 import org.apache.flink.runtime.jobmanager.PartitionProducerDisposedException;
+import org.apache.flink.runtime.jobmanager.scheduler.SlotSharingGroup;
 import org.apache.flink.runtime.jobmaster.exceptions.JobModificationException;
 import org.apache.flink.runtime.jobmaster.factories.JobManagerJobMetricGroupFactory;
 import org.apache.flink.runtime.jobmaster.message.ClassloadingProps;
@@ -89,6 +94,7 @@ import org.apache.flink.runtime.registration.RegistrationResponse;
 import org.apache.flink.runtime.registration.RetryingRegistration;
 import org.apache.flink.runtime.resourcemanager.ResourceManagerGateway;
 import org.apache.flink.runtime.resourcemanager.ResourceManagerId;
+import org.apache.flink.runtime.resourcemanager.ResourceOverview;
 import org.apache.flink.runtime.rest.handler.legacy.backpressure.BackPressureStatsTracker;
 import org.apache.flink.runtime.rest.handler.legacy.backpressure.OperatorBackPressureStats;
 import org.apache.flink.runtime.rest.handler.legacy.backpressure.OperatorBackPressureStatsResponse;
@@ -98,8 +104,8 @@ import org.apache.flink.runtime.rpc.RpcService;
 import org.apache.flink.runtime.rpc.RpcTimeout;
 import org.apache.flink.runtime.rpc.akka.AkkaRpcServiceUtils;
 import org.apache.flink.runtime.state.KeyGroupRange;
-import org.apache.flink.runtime.taskexecutor.AccumulatorReport;
 import org.apache.flink.runtime.taskexecutor.TaskExecutorGateway;
+import org.apache.flink.runtime.taskexecutor.TaskExecutorToJobManagerHeartbeatPayload;
 import org.apache.flink.runtime.taskexecutor.slot.SlotOffer;
 import org.apache.flink.runtime.taskmanager.TaskExecutionState;
 import org.apache.flink.runtime.taskmanager.TaskManagerLocation;
@@ -118,6 +124,7 @@ import java.net.InetSocketAddress;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -130,7 +137,9 @@ import java.util.concurrent.CompletionException;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeoutException;
+import java.util.function.ToIntFunction;
 
+import static org.apache.flink.util.Preconditions.checkArgument;
 import static org.apache.flink.util.Preconditions.checkNotNull;
 import static org.apache.flink.util.Preconditions.checkState;
 
@@ -161,13 +170,23 @@ public class JobMaster extends FencedRpcEndpoint<JobMasterId> implements JobMast
 
 	private final Time rpcTimeout;
 
+	/** The maximum number of tasks which are submitted to a TaskExecutor with a single rpc call. */
+	private final int taskSubmissionBatchSize;
+
+	/** Whether rescaling operations restore the rescaled job from a checkpoint instead of a savepoint. */
+	private final boolean rescaleFromCheckpoint;
+
+	/** The interval in which the available resources are checked, or null if reactive rescaling is disabled. */
+	@Nullable
+	private final Time reactiveRescalingInterval;
+
 	private final HighAvailabilityServices highAvailabilityServices;
 
 	private final BlobServer blobServer;
 
 	private final JobManagerJobMetricGroupFactory jobMetricGroupFactory;
 
-	private final HeartbeatManager<AccumulatorReport, Void> taskManagerHeartbeatManager;
+	private final HeartbeatManager<TaskExecutorToJobManagerHeartbeatPayload, Void> taskManagerHeartbeatManager;
 
 	private final HeartbeatManager<Void, Void> resourceManagerHeartbeatManager;
 
@@ -197,6 +216,11 @@ public class JobMaster extends FencedRpcEndpoint<JobMasterId> implements JobMast
 
 	private final Map<ResourceID, Tuple2<TaskManagerLocation, TaskExecutorGateway>> registeredTaskManagers;
 
+	// --------- Global aggregates --------
+
+	/** The accumulators of the global aggregates which are updated by the tasks, by name. */
+	private final Map<String, Object> globalAggregates;
+
 	// -------- Mutable fields ---------
 
 	private ExecutionGraph executionGraph;
@@ -210,6 +234,9 @@ public class JobMaster extends FencedRpcEndpoint<JobMasterId> implements JobMast
 	@Nullable
 	private String lastInternalSavepoint;
 
+	@Nullable
+	private CompletableFuture<Acknowledge> reactiveRescalingFuture;
+
 	@Nullable
 	private ResourceManagerAddress resourceManagerAddress;
 
@@ -244,6 +271,17 @@ public class JobMaster extends FencedRpcEndpoint<JobMasterId> implements JobMast
 		this.resourceId = checkNotNull(resourceId);
 		this.jobGraph = checkNotNull(jobGraph);
 		this.rpcTimeout = jobMasterConfiguration.getRpcTimeout();
+		this.taskSubmissionBatchSize = jobMasterConfiguration.getConfiguration().getInteger(JobManagerOptions.TASK_SUBMISSION_BATCH_SIZE);
+		checkArgument(taskSubmissionBatchSize > 0, "The option %s must be positive.", JobManagerOptions.TASK_SUBMISSION_BATCH_SIZE.key());
+		this.rescaleFromCheckpoint = jobMasterConfiguration.getConfiguration().getBoolean(JobManagerOptions.RESCALE_FROM_CHECKPOINT);
+
+		if (jobMasterConfiguration.getConfiguration().getBoolean(JobManagerOptions.REACTIVE_RESCALING_ENABLED)) {
+			this.reactiveRescalingInterval = Time.milliseconds(
+				jobMasterConfiguration.getConfiguration().getLong(JobManagerOptions.REACTIVE_RESCALING_CHECK_INTERVAL));
+		} else {
+			this.reactiveRescalingInterval = null;
+		}
+
 		this.highAvailabilityServices = checkNotNull(highAvailabilityService);
 		this.blobServer = checkNotNull(blobServer);
 		this.scheduledExecutorService = jobManagerSharedServices.getScheduledExecutorService();
@@ -287,6 +325,7 @@ public class JobMaster extends FencedRpcEndpoint<JobMasterId> implements JobMast
 		this.slotPoolGateway = slotPool.getSelfGateway(SlotPoolGateway.class);
 
 		this.registeredTaskManagers = new HashMap<>(4);
+		this.globalAggregates = new HashMap<>(4);
 
 		this.backPressureStatsTracker = checkNotNull(jobManagerSharedServices.getBackPressureStatsTracker());
 		this.lastInternalSavepoint = null;
@@ -455,12 +494,20 @@ public class JobMaster extends FencedRpcEndpoint<JobMasterId> implements JobMast
 		final CheckpointCoordinator checkpointCoordinator = currentExecutionGraph.getCheckpointCoordinator();
 		checkpointCoordinator.stopCheckpointScheduler();
 
-		// 4. take a savepoint
-		final CompletableFuture<String> savepointFuture = getJobModificationSavepoint(timeout);
+		// 4. take a savepoint or a checkpoint and restore the new execution graph from it
+		final CompletableFuture<ExecutionGraph> restoredExecutionGraphFuture;
 
-		final CompletableFuture<ExecutionGraph> executionGraphFuture = restoreExecutionGraphFromRescalingSavepoint(
-			newExecutionGraph,
-			savepointFuture)
+		if (rescaleFromCheckpoint) {
+			restoredExecutionGraphFuture = restoreExecutionGraphFromRescalingCheckpoint(
+				newExecutionGraph,
+				getJobModificationCheckpoint(checkpointCoordinator));
+		} else {
+			restoredExecutionGraphFuture = restoreExecutionGraphFromRescalingSavepoint(
+				newExecutionGraph,
+				getJobModificationSavepoint(timeout));
+		}
+
+		final CompletableFuture<ExecutionGraph> executionGraphFuture = restoredExecutionGraphFuture
 			.handleAsync(
 				(ExecutionGraph executionGraph, Throwable failure) -> {
 					if (failure != null) {
@@ -547,6 +594,22 @@ public class JobMaster extends FencedRpcEndpoint<JobMasterId> implements JobMast
 		}
 	}
 
+	@Override
+	public CompletableFuture<Collection<ExecutionAttemptID>> updateTaskExecutionStates(
+			final Collection<TaskExecutionState> taskExecutionStates) {
+		checkNotNull(taskExecutionStates, "taskExecutionStates");
+
+		final Collection<ExecutionAttemptID> unknownExecutionAttempts = new ArrayList<>(0);
+
+		for (TaskExecutionState taskExecutionState : taskExecutionStates) {
+			if (!executionGraph.updateState(taskExecutionState)) {
+				unknownExecutionAttempts.add(taskExecutionState.getID());
+			}
+		}
+
+		return CompletableFuture.completedFuture(unknownExecutionAttempts);
+	}
+
 	@Override
 	public CompletableFuture<SerializedInputSplit> requestNextInputSplit(
 			final JobVertexID vertexID,
@@ -665,7 +728,6 @@ public class JobMaster extends FencedRpcEndpoint<JobMasterId> implements JobMast
 			final CheckpointMetrics checkpointMetrics,
 			final TaskStateSnapshot checkpointState) {
 
-		final CheckpointCoordinator checkpointCoordinator = executionGraph.getCheckpointCoordinator();
 		final AcknowledgeCheckpoint ackMessage = new AcknowledgeCheckpoint(
 			jobID,
 			executionAttemptID,
@@ -673,12 +735,31 @@ public class JobMaster extends FencedRpcEndpoint<JobMasterId> implements JobMast
 			checkpointMetrics,
 			checkpointState);
 
+		receiveCheckpointAcknowledgements(Collections.singletonList(ackMessage));
+	}
+
+	@Override
+	public void acknowledgeCheckpoints(
+			final JobID jobID,
+			final Collection<AcknowledgeCheckpoint> acknowledgements) {
+		receiveCheckpointAcknowledgements(acknowledgements);
+	}
+
+	private void receiveCheckpointAcknowledgements(Collection<AcknowledgeCheckpoint> acknowledgements) {
+		if (acknowledgements.isEmpty()) {
+			return;
+		}
+
+		final CheckpointCoordinator checkpointCoordinator = executionGraph.getCheckpointCoordinator();
+
 		if (checkpointCoordinator != null) {
 			getRpcService().execute(() -> {
-				try {
-					checkpointCoordinator.receiveAcknowledgeMessage(ackMessage);
-				} catch (Throwable t) {
-					log.warn("Error while processing checkpoint acknowledgement message");
+				for (AcknowledgeCheckpoint ackMessage : acknowledgements) {
+					try {
+						checkpointCoordinator.receiveAcknowledgeMessage(ackMessage);
+					} catch (Throwable t) {
+						log.warn("Error while processing checkpoint acknowledgement message", t);
+					}
 				}
 			});
 		} else {
@@ -819,7 +900,10 @@ public class JobMaster extends FencedRpcEndpoint<JobMasterId> implements JobMast
 		final TaskManagerLocation taskManagerLocation = taskManager.f0;
 		final TaskExecutorGateway taskExecutorGateway = taskManager.f1;
 
-		final RpcTaskManagerGateway rpcTaskManagerGateway = new RpcTaskManagerGateway(taskExecutorGateway, getFencingToken());
+		final RpcTaskManagerGateway rpcTaskManagerGateway = new RpcTaskManagerGateway(
+			taskExecutorGateway,
+			getFencingToken(),
+			taskSubmissionBatchSize);
 
 		return slotPoolGateway.offerSlots(
 			taskManagerLocation,
@@ -899,8 +983,8 @@ public class JobMaster extends FencedRpcEndpoint<JobMasterId> implements JobMast
 	}
 
 	@Override
-	public void heartbeatFromTaskManager(final ResourceID resourceID, AccumulatorReport accumulatorReport) {
-		taskManagerHeartbeatManager.receiveHeartbeat(resourceID, accumulatorReport);
+	public void heartbeatFromTaskManager(final ResourceID resourceID, TaskExecutorToJobManagerHeartbeatPayload payload) {
+		taskManagerHeartbeatManager.receiveHeartbeat(resourceID, payload);
 	}
 
 	@Override
@@ -957,6 +1041,51 @@ public class JobMaster extends FencedRpcEndpoint<JobMasterId> implements JobMast
 			});
 	}
 
+	@Override
+	public CompletableFuture<String> stopWithSavepoint(
+			@Nullable final String targetDirectory,
+			final Time timeout) {
+
+		final CheckpointCoordinator checkpointCoordinator = executionGraph.getCheckpointCoordinator();
+		if (checkpointCoordinator == null) {
+			return FutureUtils.completedExceptionally(new IllegalStateException(
+				String.format("Job %s is not a streaming job.", jobGraph.getJobID())));
+		}
+
+		checkpointCoordinator.stopCheckpointScheduler();
+
+		return checkpointCoordinator
+			.triggerTerminatingSavepoint(System.currentTimeMillis(), targetDirectory)
+			.thenApply(CompletedCheckpoint::getExternalPointer)
+			.handleAsync((path, throwable) -> {
+				if (throwable != null) {
+					startCheckpointScheduler(checkpointCoordinator);
+
+					if (ExceptionUtils.findThrowable(throwable, CheckpointTriggerException.class).isPresent()) {
+						// the savepoint was never triggered, the job simply continues
+						throw new CompletionException(throwable);
+					}
+
+					// the sources may already have advanced to the end of event time, so the job
+					// cannot simply continue. it recovers from the latest checkpoint instead
+					log.info("Stopping {} with a savepoint failed. Restarting the job from the latest checkpoint.",
+						jobGraph.getJobID(), throwable);
+					executionGraph.failGlobal(new FlinkException(
+						"Could not stop the job with a savepoint.", throwable));
+					throw new CompletionException(throwable);
+				}
+
+				try {
+					log.info("Savepoint stored in {}. Now stopping {}.", path, jobGraph.getJobID());
+					executionGraph.stop();
+				} catch (StoppingException e) {
+					log.info("Job {} is not stoppable. Cancelling it instead.", jobGraph.getJobID());
+					executionGraph.cancel();
+				}
+				return path;
+			}, getMainThreadExecutor());
+	}
+
 	private void startCheckpointScheduler(final CheckpointCoordinator checkpointCoordinator) {
 		if (checkpointCoordinator.isPeriodicCheckpointingConfigured()) {
 			try {
@@ -986,6 +1115,34 @@ public class JobMaster extends FencedRpcEndpoint<JobMasterId> implements JobMast
 		slotPoolGateway.failAllocation(allocationID, cause);
 	}
 
+	@Override
+	public CompletableFuture<byte[]> updateGlobalAggregate(
+			String aggregateName,
+			byte[] serializedAggregand,
+			byte[] serializedAggregateFunction,
+			Time timeout) {
+
+		try {
+			final AggregateFunction<Object, Object, Object> aggregateFunction =
+				InstantiationUtil.deserializeObject(serializedAggregateFunction, userCodeLoader);
+			final Object aggregand = InstantiationUtil.deserializeObject(serializedAggregand, userCodeLoader);
+
+			Object accumulator = globalAggregates.get(aggregateName);
+			if (accumulator == null) {
+				accumulator = aggregateFunction.createAccumulator();
+			}
+
+			accumulator = aggregateFunction.add(aggregand, accumulator);
+			globalAggregates.put(aggregateName, accumulator);
+
+			return CompletableFuture.completedFuture(
+				InstantiationUtil.serializeObject(aggregateFunction.getResult(accumulator)));
+		} catch (Exception e) {
+			log.warn("Could not update the global aggregate {}.", aggregateName, e);
+			return FutureUtils.completedExceptionally(e);
+		}
+	}
+
 	//----------------------------------------------------------------------------------------------
 	// Internal methods
 	//----------------------------------------------------------------------------------------------
@@ -1011,6 +1168,8 @@ public class JobMaster extends FencedRpcEndpoint<JobMasterId> implements JobMast
 
 		resetAndScheduleExecutionGraph();
 
+		scheduleReactiveRescalingCheck();
+
 		return Acknowledge.get();
 	}
 
@@ -1119,6 +1278,10 @@ public class JobMaster extends FencedRpcEndpoint<JobMasterId> implements JobMast
 		jobStatusListener = new JobManagerJobStatusListener();
 		executionGraph.registerJobStatusListener(jobStatusListener);
 
+		if (jobMasterConfiguration.getConfiguration().getBoolean(JobManagerOptions.SLOT_BLACKLIST_ENABLED)) {
+			executionGraph.registerExecutionListener(new TaskFailureListener(executionGraph));
+		}
+
 		try {
 			executionGraph.scheduleForExecution();
 		}
@@ -1149,6 +1312,8 @@ public class JobMaster extends FencedRpcEndpoint<JobMasterId> implements JobMast
 	}
 
 	private ExecutionGraph createExecutionGraph(JobManagerJobMetricGroup currentJobManagerJobMetricGroup) throws JobExecutionException, JobException {
+		getMainThreadStatistics().registerMetrics(currentJobManagerJobMetricGroup);
+
 		return ExecutionGraphBuilder.buildGraph(
 			null,
 			jobGraph,
@@ -1419,6 +1584,85 @@ public class JobMaster extends FencedRpcEndpoint<JobMasterId> implements JobMast
 				}, scheduledExecutorService);
 	}
 
+	/**
+	 * Restore the given {@link ExecutionGraph} from the rescaling checkpoint. If the checkpoint future
+	 * completes with null, the given {@link ExecutionGraph} is restored from the initial savepoint, if
+	 * any.
+	 *
+	 * @param newExecutionGraph to restore
+	 * @param checkpointFuture containing the completed rescaling checkpoint
+	 * @return Future which is completed with the restored {@link ExecutionGraph}
+	 */
+	private CompletableFuture<ExecutionGraph> restoreExecutionGraphFromRescalingCheckpoint(
+			ExecutionGraph newExecutionGraph,
+			CompletableFuture<CompletedCheckpoint> checkpointFuture) {
+		return checkpointFuture
+			.thenApplyAsync(
+				(@Nullable CompletedCheckpoint checkpoint) -> {
+					if (checkpoint != null) {
+						try {
+							checkNotNull(newExecutionGraph.getCheckpointCoordinator()).restoreCompletedCheckpoint(
+								checkpoint,
+								newExecutionGraph.getAllVertices(),
+								false);
+						} catch (Exception e) {
+							final String message = String.format("Could not restore from rescaling checkpoint %d.",
+								checkpoint.getCheckpointID());
+
+							log.info(message);
+
+							throw new CompletionException(new JobModificationException(message, e));
+						}
+					} else {
+						// No rescaling checkpoint, restart from the initial savepoint or none
+						try {
+							tryRestoreExecutionGraphFromSavepoint(newExecutionGraph, jobGraph.getSavepointRestoreSettings());
+						} catch (Exception e) {
+							final String message = String.format("Could not restore from initial savepoint. This might indicate " +
+								"that the savepoint %s got corrupted.", jobGraph.getSavepointRestoreSettings().getRestorePath());
+
+							log.info(message);
+
+							throw new CompletionException(new JobModificationException(message, e));
+						}
+					}
+
+					return newExecutionGraph;
+				}, scheduledExecutorService);
+	}
+
+	/**
+	 * Takes a checkpoint for job modification purposes. If the checkpoint was not successful because
+	 * not all tasks were running, it returns the latest completed checkpoint which outlives the
+	 * suspension of the current execution, or null if there is none.
+	 *
+	 * @param checkpointCoordinator of the current execution
+	 * @return Future which is completed with the completed checkpoint to restore the modified job from
+	 */
+	private CompletableFuture<CompletedCheckpoint> getJobModificationCheckpoint(CheckpointCoordinator checkpointCoordinator) {
+		return checkpointCoordinator
+			.triggerRescalingCheckpoint(System.currentTimeMillis())
+			.handleAsync(
+				(CompletedCheckpoint checkpoint, Throwable throwable) -> {
+					if (throwable != null) {
+						final Throwable strippedThrowable = ExceptionUtils.stripCompletionException(throwable);
+						if (strippedThrowable instanceof CheckpointTriggerException &&
+								((CheckpointTriggerException) strippedThrowable).getCheckpointDeclineReason() == CheckpointDeclineReason.NOT_ALL_REQUIRED_TASKS_RUNNING) {
+							try {
+								return checkpointCoordinator.getLatestCheckpointRetainedOnSuspension();
+							} catch (Exception e) {
+								throw new CompletionException(e);
+							}
+						} else {
+							throw new CompletionException(strippedThrowable);
+						}
+					} else {
+						return checkpoint;
+					}
+				},
+				getMainThreadExecutor());
+	}
+
 	/**
 	 * Takes an internal savepoint for job modification purposes. If the savepoint was not successful because
 	 * not all tasks were running, it returns the last successful modification savepoint.
@@ -1488,6 +1732,138 @@ public class JobMaster extends FencedRpcEndpoint<JobMasterId> implements JobMast
 		}
 	}
 
+	//----------------------------------------------------------------------------------------------
+	// Reactive rescaling
+	//----------------------------------------------------------------------------------------------
+
+	private void scheduleReactiveRescalingCheck() {
+		if (reactiveRescalingInterval != null) {
+			scheduleRunAsync(this::checkReactiveRescaling, reactiveRescalingInterval);
+		}
+	}
+
+	private void checkReactiveRescaling() {
+		if (establishedResourceManagerConnection != null &&
+				executionGraph.getCheckpointCoordinator() != null &&
+				!isReactiveRescalingInProgress()) {
+
+			establishedResourceManagerConnection.getResourceManagerGateway()
+				.requestResourceOverview(rpcTimeout)
+				.thenAcceptAsync(this::rescaleToAvailableResources, getMainThreadExecutor())
+				.whenComplete(
+					(Void ignored, Throwable throwable) -> {
+						if (throwable != null) {
+							log.debug("Could not check the available resources for job {}.", jobGraph.getJobID(), throwable);
+						}
+					});
+		}
+
+		scheduleReactiveRescalingCheck();
+	}
+
+	/**
+	 * Rescales the job to the slots which are available to it, which are the slots it currently
+	 * occupies plus the free slots of the cluster. The target parallelism is the highest
+	 * parallelism for which the job needs no more than the available slots.
+	 *
+	 * @param resourceOverview of the cluster
+	 */
+	private void rescaleToAvailableResources(ResourceOverview resourceOverview) {
+		if (executionGraph.getState() != JobStatus.RUNNING || isReactiveRescalingInProgress()) {
+			return;
+		}
+
+		final Iterable<ExecutionJobVertex> vertices = executionGraph.getVerticesTopologically();
+
+		int currentParallelism = 0;
+		int maxParallelism = 0;
+
+		for (ExecutionJobVertex executionJobVertex : vertices) {
+			currentParallelism = Math.max(currentParallelism, executionJobVertex.getParallelism());
+			maxParallelism = Math.max(maxParallelism, executionJobVertex.getMaxParallelism());
+		}
+
+		final int occupiedSlots = getNumberRequiredSlots(vertices, ExecutionJobVertex::getParallelism);
+		final int availableSlots = Math.min(
+			resourceOverview.getNumberRegisteredSlots(),
+			occupiedSlots + resourceOverview.getNumberFreeSlots());
+
+		// the number of required slots does not decrease with the parallelism
+		int targetParallelism = 0;
+		int upperBound = maxParallelism;
+
+		while (targetParallelism < upperBound) {
+			final int parallelism = targetParallelism + (upperBound - targetParallelism + 1) / 2;
+			final int requiredSlots = getNumberRequiredSlots(
+				vertices,
+				executionJobVertex -> Math.min(parallelism, executionJobVertex.getMaxParallelism()));
+
+			if (requiredSlots <= availableSlots) {
+				targetParallelism = parallelism;
+			} else {
+				upperBound = parallelism - 1;
+			}
+		}
+
+		if (targetParallelism > 0 && targetParallelism != currentParallelism) {
+			final int newParallelism = targetParallelism;
+
+			log.info("Rescaling job {} ({}) from parallelism {} to {} because the available resources changed.",
+				jobGraph.getName(), jobGraph.getJobID(), currentParallelism, newParallelism);
+
+			final CompletableFuture<Acknowledge> rescalingFuture = rescaleJob(
+				newParallelism,
+				RescalingBehaviour.RELAXED,
+				rpcTimeout);
+
+			rescalingFuture.whenComplete(
+				(Acknowledge ignored, Throwable throwable) -> {
+					if (throwable != null) {
+						log.info("Could not rescale job {} to parallelism {}.", jobGraph.getJobID(), newParallelism, throwable);
+					}
+				});
+
+			reactiveRescalingFuture = rescalingFuture;
+		}
+	}
+
+	/**
+	 * Computes the number of slots which the given vertices occupy. The vertices of a slot sharing
+	 * group need as many slots as the highest parallelism among them, every other vertex needs a
+	 * slot per subtask.
+	 *
+	 * @param vertices to compute the required slots for
+	 * @param parallelismFunction returning the parallelism of a vertex
+	 * @return Number of slots required to run the given vertices
+	 */
+	private static int getNumberRequiredSlots(
+			Iterable<ExecutionJobVertex> vertices,
+			ToIntFunction<ExecutionJobVertex> parallelismFunction) {
+		final HashMap<SlotSharingGroupId, Integer> slotsPerSharingGroup = new HashMap<>(4);
+		int requiredSlots = 0;
+
+		for (ExecutionJobVertex executionJobVertex : vertices) {
+			final int parallelism = parallelismFunction.applyAsInt(executionJobVertex);
+			final SlotSharingGroup slotSharingGroup = executionJobVertex.getSlotSharingGroup();
+
+			if (slotSharingGroup == null) {
+				requiredSlots += parallelism;
+			} else {
+				slotsPerSharingGroup.merge(slotSharingGroup.getSlotSharingGroupId(), parallelism, Math::max);
+			}
+		}
+
+		for (int slotsOfSharingGroup : slotsPerSharingGroup.values()) {
+			requiredSlots += slotsOfSharingGroup;
+		}
+
+		return requiredSlots;
+	}
+
+	private boolean isReactiveRescalingInProgress() {
+		return reactiveRescalingFuture != null && !reactiveRescalingFuture.isDone();
+	}
+
 	//----------------------------------------------------------------------------------------------
 	// Utility classes
 	//----------------------------------------------------------------------------------------------
@@ -1597,7 +1973,43 @@ public class JobMaster extends FencedRpcEndpoint<JobMasterId> implements JobMast
 		}
 	}
 
-	private class TaskManagerHeartbeatListener implements HeartbeatListener<AccumulatorReport, Void> {
+	/**
+	 * Reports the TaskManagers on which tasks failed to the slot pool, which blacklists
+	 * TaskManagers and hosts with too many failures.
+	 */
+	private class TaskFailureListener implements ExecutionStatusListener {
+
+		private final ExecutionGraph executionGraph;
+
+		private TaskFailureListener(ExecutionGraph executionGraph) {
+			this.executionGraph = executionGraph;
+		}
+
+		@Override
+		public void executionStatusChanged(
+				JobID jobID,
+				JobVertexID vertexID,
+				String taskName,
+				int totalNumberOfSubTasks,
+				int subtaskIndex,
+				ExecutionAttemptID executionID,
+				ExecutionState newExecutionState,
+				long timestamp,
+				String optionalMessage) {
+
+			if (newExecutionState == ExecutionState.FAILED) {
+				// the listener is notified before the failed execution is deregistered
+				final Execution execution = executionGraph.getRegisteredExecutions().get(executionID);
+				final TaskManagerLocation taskManagerLocation = execution != null ? execution.getAssignedResourceLocation() : null;
+
+				if (taskManagerLocation != null) {
+					slotPoolGateway.reportTaskManagerFailure(taskManagerLocation);
+				}
+			}
+		}
+	}
+
+	private class TaskManagerHeartbeatListener implements HeartbeatListener<TaskExecutorToJobManagerHeartbeatPayload, Void> {
 
 		private final JobMasterGateway jobMasterGateway;
 
@@ -1613,10 +2025,12 @@ public class JobMaster extends FencedRpcEndpoint<JobMasterId> implements JobMast
 		}
 
 		@Override
-		public void reportPayload(ResourceID resourceID, AccumulatorReport payload) {
-			for (AccumulatorSnapshot snapshot : payload.getAccumulatorSnapshots()) {
+		public void reportPayload(ResourceID resourceID, TaskExecutorToJobManagerHeartbeatPayload payload) {
+			for (AccumulatorSnapshot snapshot : payload.getAccumulatorReport().getAccumulatorSnapshots()) {
 				executionGraph.updateAccumulators(snapshot);
 			}
+
+			receiveCheckpointAcknowledgements(payload.getCheckpointAcknowledgements());
 		}
 
 		@Override
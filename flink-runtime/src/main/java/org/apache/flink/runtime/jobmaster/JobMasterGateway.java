@@ -40,7 +40,7 @@ import org.apache.flink.runtime.resourcemanager.ResourceManagerId;
 import org.apache.flink.runtime.rest.handler.legacy.backpressure.OperatorBackPressureStatsResponse;
 import org.apache.flink.runtime.rpc.FencedRpcGateway;
 import org.apache.flink.runtime.rpc.RpcTimeout;
-import org.apache.flink.runtime.taskexecutor.AccumulatorReport;
+import org.apache.flink.runtime.taskexecutor.TaskExecutorToJobManagerHeartbeatPayload;
 import org.apache.flink.runtime.taskexecutor.slot.SlotOffer;
 import org.apache.flink.runtime.taskmanager.TaskExecutionState;
 import org.apache.flink.runtime.taskmanager.TaskManagerLocation;
@@ -112,6 +112,17 @@ public interface JobMasterGateway extends
 	CompletableFuture<Acknowledge> updateTaskExecutionState(
 			final TaskExecutionState taskExecutionState);
 
+	/**
+	 * Updates the task execution states of multiple tasks at once. The updates are applied in
+	 * the given order.
+	 *
+	 * @param taskExecutionStates New task execution states of the tasks
+	 * @return Future collection of the execution attempts which could not be updated because they
+	 * are unknown to the job master
+	 */
+	CompletableFuture<Collection<ExecutionAttemptID>> updateTaskExecutionStates(
+			final Collection<TaskExecutionState> taskExecutionStates);
+
 	/**
 	 * Requests the next input split for the {@link ExecutionJobVertex}.
 	 * The next input split is sent back to the sender as a
@@ -220,11 +231,11 @@ public interface JobMasterGateway extends
 	 * Sends the heartbeat to job manager from task manager.
 	 *
 	 * @param resourceID unique id of the task manager
-	 * @param accumulatorReport report containing accumulator updates
+	 * @param payload containing accumulator updates and pending checkpoint acknowledgements
 	 */
 	void heartbeatFromTaskManager(
 		final ResourceID resourceID,
-		final AccumulatorReport accumulatorReport);
+		final TaskExecutorToJobManagerHeartbeatPayload payload);
 
 	/**
 	 * Sends heartbeat request from the resource manager.
@@ -270,6 +281,19 @@ public interface JobMasterGateway extends
 		final boolean cancelJob,
 		final Time timeout);
 
+	/**
+	 * Stops the executed job with a savepoint. Before taking the savepoint, the sources advance
+	 * to the end of event time, so that the savepoint holds the final state of the job.
+	 *
+	 * @param targetDirectory to which to write the savepoint data or null if the
+	 *                           default savepoint directory should be used
+	 * @param timeout for the rpc call
+	 * @return Future which is completed with the savepoint path once completed
+	 */
+	CompletableFuture<String> stopWithSavepoint(
+		@Nullable final String targetDirectory,
+		final Time timeout);
+
 	/**
 	 * Requests the statistics on operator back pressure.
 	 *
@@ -286,4 +310,20 @@ public interface JobMasterGateway extends
 	 * @param cause the reason that the allocation failed
 	 */
 	void notifyAllocationFailure(AllocationID allocationID, Exception cause);
+
+	/**
+	 * Updates the named global aggregate of the job with the given value.
+	 *
+	 * @param aggregateName the name of the aggregate
+	 * @param serializedAggregand the serialized value to add to the aggregate
+	 * @param serializedAggregateFunction the serialized
+	 *        {@link org.apache.flink.api.common.functions.AggregateFunction} of the aggregate
+	 * @param timeout for the rpc call
+	 * @return Future which is completed with the serialized result of the aggregate
+	 */
+	CompletableFuture<byte[]> updateGlobalAggregate(
+		String aggregateName,
+		byte[] serializedAggregand,
+		byte[] serializedAggregateFunction,
+		@RpcTimeout Time timeout);
 }
@@ -24,6 +24,7 @@ import org.apache.flink.runtime.blob.TransientBlobKey;
 import org.apache.flink.runtime.checkpoint.CheckpointOptions;
 import org.apache.flink.runtime.clusterframework.ApplicationStatus;
 import org.apache.flink.runtime.clusterframework.types.AllocationID;
+import org.apache.flink.runtime.concurrent.FutureUtils;
 import org.apache.flink.runtime.deployment.TaskDeploymentDescriptor;
 import org.apache.flink.runtime.executiongraph.ExecutionAttemptID;
 import org.apache.flink.runtime.executiongraph.PartitionInfo;
@@ -36,6 +37,9 @@ import org.apache.flink.runtime.taskexecutor.FileType;
 import org.apache.flink.runtime.taskexecutor.TaskExecutorGateway;
 import org.apache.flink.util.Preconditions;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -47,9 +51,22 @@ public class RpcTaskManagerGateway implements TaskManagerGateway {
 
 	private final JobMasterId jobMasterId;
 
+	/** The maximum number of tasks which are submitted with a single rpc call. */
+	private final int maxTaskSubmissionBatchSize;
+
 	public RpcTaskManagerGateway(TaskExecutorGateway taskExecutorGateway, JobMasterId jobMasterId) {
+		this(taskExecutorGateway, jobMasterId, 1);
+	}
+
+	public RpcTaskManagerGateway(
+			TaskExecutorGateway taskExecutorGateway,
+			JobMasterId jobMasterId,
+			int maxTaskSubmissionBatchSize) {
+		Preconditions.checkArgument(maxTaskSubmissionBatchSize > 0, "The task submission batch size must be positive.");
+
 		this.taskExecutorGateway = Preconditions.checkNotNull(taskExecutorGateway);
 		this.jobMasterId = Preconditions.checkNotNull(jobMasterId);
+		this.maxTaskSubmissionBatchSize = maxTaskSubmissionBatchSize;
 	}
 
 	@Override
@@ -98,6 +115,38 @@ public class RpcTaskManagerGateway implements TaskManagerGateway {
 		return taskExecutorGateway.submitTask(tdd, jobMasterId, timeout);
 	}
 
+	@Override
+	public CompletableFuture<Acknowledge> submitTasks(Collection<TaskDeploymentDescriptor> tdds, Time timeout) {
+		if (tdds.size() <= maxTaskSubmissionBatchSize) {
+			return taskExecutorGateway.submitTasks(tdds, jobMasterId, timeout);
+		}
+
+		// split the tasks so that a single rpc message does not grow too large
+		final List<CompletableFuture<Acknowledge>> submitFutures = new ArrayList<>(
+			(tdds.size() + maxTaskSubmissionBatchSize - 1) / maxTaskSubmissionBatchSize);
+		ArrayList<TaskDeploymentDescriptor> batch = new ArrayList<>(maxTaskSubmissionBatchSize);
+
+		for (TaskDeploymentDescriptor tdd : tdds) {
+			batch.add(tdd);
+
+			if (batch.size() == maxTaskSubmissionBatchSize) {
+				submitFutures.add(taskExecutorGateway.submitTasks(batch, jobMasterId, timeout));
+				batch = new ArrayList<>(maxTaskSubmissionBatchSize);
+			}
+		}
+
+		if (!batch.isEmpty()) {
+			submitFutures.add(taskExecutorGateway.submitTasks(batch, jobMasterId, timeout));
+		}
+
+		return FutureUtils.waitForAll(submitFutures).thenApply(ignored -> Acknowledge.get());
+	}
+
+	@Override
+	public boolean supportsBatchedTaskSubmission() {
+		return maxTaskSubmissionBatchSize > 1;
+	}
+
 	@Override
 	public CompletableFuture<Acknowledge> stopTask(ExecutionAttemptID executionAttemptID, Time timeout) {
 		return taskExecutorGateway.stopTask(executionAttemptID, timeout);
@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.jobmaster.slotpool;
+
+import org.apache.flink.runtime.blacklist.BlacklistTracker;
+import org.apache.flink.runtime.clusterframework.types.SlotProfile;
+import org.apache.flink.runtime.jobmanager.scheduler.Locality;
+import org.apache.flink.runtime.jobmaster.SlotContext;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * {@link SchedulingStrategy} which excludes the candidates of blacklisted TaskManagers and hosts
+ * before it delegates the matching to another strategy.
+ */
+class BlacklistAwareSchedulingStrategy implements SchedulingStrategy {
+
+	private final SchedulingStrategy delegate;
+
+	private final BlacklistTracker blacklistTracker;
+
+	BlacklistAwareSchedulingStrategy(SchedulingStrategy delegate, BlacklistTracker blacklistTracker) {
+		this.delegate = checkNotNull(delegate);
+		this.blacklistTracker = checkNotNull(blacklistTracker);
+	}
+
+	@Nullable
+	@Override
+	public <IN, OUT> OUT findMatchWithLocality(
+			@Nonnull SlotProfile slotProfile,
+			@Nonnull Stream<IN> candidates,
+			@Nonnull Function<IN, SlotContext> contextExtractor,
+			@Nonnull Predicate<IN> additionalRequirementsFilter,
+			@Nonnull BiFunction<IN, Locality, OUT> resultProducer) {
+
+		return delegate.findMatchWithLocality(
+			slotProfile,
+			candidates,
+			contextExtractor,
+			(IN candidate) -> additionalRequirementsFilter.test(candidate) &&
+				!blacklistTracker.isBlacklisted(contextExtractor.apply(candidate).getTaskManagerLocation()),
+			resultProducer);
+	}
+}
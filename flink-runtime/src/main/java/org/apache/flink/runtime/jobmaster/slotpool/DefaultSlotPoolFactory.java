@@ -24,6 +24,7 @@ import org.apache.flink.configuration.CheckpointingOptions;
 import org.apache.flink.configuration.Configuration;
 import org.apache.flink.configuration.JobManagerOptions;
 import org.apache.flink.runtime.akka.AkkaUtils;
+import org.apache.flink.runtime.blacklist.BlacklistTracker;
 import org.apache.flink.runtime.rpc.RpcService;
 import org.apache.flink.runtime.util.clock.Clock;
 import org.apache.flink.runtime.util.clock.SystemClock;
@@ -50,17 +51,31 @@ public class DefaultSlotPoolFactory implements SlotPoolFactory {
 	@Nonnull
 	private final Time slotIdleTimeout;
 
+	@Nonnull
+	private final Configuration configuration;
+
 	public DefaultSlotPoolFactory(
 			@Nonnull RpcService rpcService,
 			@Nonnull SchedulingStrategy schedulingStrategy,
 			@Nonnull Clock clock,
 			@Nonnull Time rpcTimeout,
 			@Nonnull Time slotIdleTimeout) {
+		this(rpcService, schedulingStrategy, clock, rpcTimeout, slotIdleTimeout, new Configuration());
+	}
+
+	public DefaultSlotPoolFactory(
+			@Nonnull RpcService rpcService,
+			@Nonnull SchedulingStrategy schedulingStrategy,
+			@Nonnull Clock clock,
+			@Nonnull Time rpcTimeout,
+			@Nonnull Time slotIdleTimeout,
+			@Nonnull Configuration configuration) {
 		this.rpcService = rpcService;
 		this.schedulingStrategy = schedulingStrategy;
 		this.clock = clock;
 		this.rpcTimeout = rpcTimeout;
 		this.slotIdleTimeout = slotIdleTimeout;
+		this.configuration = configuration;
 	}
 
 	@Override
@@ -72,7 +87,9 @@ public class DefaultSlotPoolFactory implements SlotPoolFactory {
 			schedulingStrategy,
 			clock,
 			rpcTimeout,
-			slotIdleTimeout);
+			slotIdleTimeout,
+			// every slot pool tracks the failures of its own job
+			BlacklistTracker.fromConfiguration(configuration));
 	}
 
 	public static DefaultSlotPoolFactory fromConfiguration(
@@ -89,12 +106,15 @@ public class DefaultSlotPoolFactory implements SlotPoolFactory {
 			schedulingStrategy,
 			SystemClock.getInstance(),
 			rpcTimeout,
-			slotIdleTimeout);
+			slotIdleTimeout,
+			configuration);
 	}
 
 	private static SchedulingStrategy selectSchedulingStrategy(Configuration configuration) {
 		if (configuration.getBoolean(CheckpointingOptions.LOCAL_RECOVERY)) {
 			return PreviousAllocationSchedulingStrategy.getInstance();
+		} else if (configuration.getBoolean(JobManagerOptions.EVENLY_SPREAD_OUT_SLOTS)) {
+			return LocationPreferenceSchedulingStrategy.getEvenlySpreadOutInstance();
 		} else {
 			return LocationPreferenceSchedulingStrategy.getInstance();
 		}
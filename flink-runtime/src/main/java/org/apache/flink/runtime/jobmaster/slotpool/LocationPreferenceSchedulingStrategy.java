@@ -28,27 +28,46 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
  * Default {@link SchedulingStrategy} which tries to match a slot with its location preferences.
+ *
+ * <p>If the strategy spreads out evenly, it prefers, among the candidates with the best locality,
+ * the candidates of the TaskManager which offers the most candidates. For the available slots of
+ * the slot pool, this is the least occupied TaskManager. For the shared slots of a slot sharing
+ * group, this is the TaskManager which runs the fewest subtasks of the requesting vertex.
  */
 public class LocationPreferenceSchedulingStrategy implements SchedulingStrategy {
 
-	private static final LocationPreferenceSchedulingStrategy INSTANCE = new LocationPreferenceSchedulingStrategy();
+	private static final LocationPreferenceSchedulingStrategy INSTANCE = new LocationPreferenceSchedulingStrategy(false);
+
+	private static final LocationPreferenceSchedulingStrategy EVENLY_SPREAD_OUT_INSTANCE = new LocationPreferenceSchedulingStrategy(true);
 
 	/**
 	 * Calculates the candidate's locality score.
 	 */
 	private static final BiFunction<Integer, Integer, Integer> LOCALITY_EVALUATION_FUNCTION = (localWeigh, hostLocalWeigh) -> localWeigh * 10 + hostLocalWeigh;
 
-	LocationPreferenceSchedulingStrategy() {}
+	/** Whether candidates of TaskManagers with more candidates are preferred. */
+	private final boolean evenlySpreadOut;
+
+	LocationPreferenceSchedulingStrategy() {
+		this(false);
+	}
+
+	LocationPreferenceSchedulingStrategy(boolean evenlySpreadOut) {
+		this.evenlySpreadOut = evenlySpreadOut;
+	}
 
 	@Nullable
 	@Override
@@ -62,7 +81,7 @@ public class LocationPreferenceSchedulingStrategy implements SchedulingStrategy
 		Collection<TaskManagerLocation> locationPreferences = slotProfile.getPreferredLocations();
 
 		// if we have no location preferences, we can only filter by the additional requirements.
-		if (locationPreferences.isEmpty()) {
+		if (locationPreferences.isEmpty() && !evenlySpreadOut) {
 			return candidates
 				.filter(additionalRequirementsFilter)
 				.findFirst()
@@ -79,27 +98,56 @@ public class LocationPreferenceSchedulingStrategy implements SchedulingStrategy
 			preferredFQHostNames.merge(locationPreference.getFQDNHostname(), 1, Integer::sum);
 		}
 
-		Iterator<IN> iterator = candidates.iterator();
+		final Stream<IN> matchingCandidates = candidates.filter(additionalRequirementsFilter);
+		final Map<ResourceID, Integer> numberCandidatesPerTaskManager;
+		final Iterator<IN> iterator;
+
+		if (evenlySpreadOut) {
+			// we have to know the candidates of all TaskManagers before we can pick one
+			final List<IN> matchingCandidatesList = matchingCandidates.collect(Collectors.toList());
+
+			numberCandidatesPerTaskManager = new HashMap<>();
+			for (IN candidate : matchingCandidatesList) {
+				numberCandidatesPerTaskManager.merge(
+					contextExtractor.apply(candidate).getTaskManagerLocation().getResourceID(), 1, Integer::sum);
+			}
+
+			iterator = matchingCandidatesList.iterator();
+		} else {
+			numberCandidatesPerTaskManager = Collections.emptyMap();
+			iterator = matchingCandidates.iterator();
+		}
 
 		IN bestCandidate = null;
 		int bestCandidateScore = Integer.MIN_VALUE;
+		int bestCandidateSpread = Integer.MIN_VALUE;
 		Locality bestCandidateLocality = null;
 
 		while (iterator.hasNext()) {
 			IN candidate = iterator.next();
-			if (additionalRequirementsFilter.test(candidate)) {
-				SlotContext slotContext = contextExtractor.apply(candidate);
+			SlotContext slotContext = contextExtractor.apply(candidate);
+			ResourceID resourceId = slotContext.getTaskManagerLocation().getResourceID();
+
+			// this gets candidate is local-weigh
+			Integer localWeigh = preferredResourceIDs.getOrDefault(resourceId, 0);
 
-				// this gets candidate is local-weigh
-				Integer localWeigh = preferredResourceIDs.getOrDefault(slotContext.getTaskManagerLocation().getResourceID(), 0);
+			// this gets candidate is host-local-weigh
+			Integer hostLocalWeigh = preferredFQHostNames.getOrDefault(slotContext.getTaskManagerLocation().getFQDNHostname(), 0);
 
-				// this gets candidate is host-local-weigh
-				Integer hostLocalWeigh = preferredFQHostNames.getOrDefault(slotContext.getTaskManagerLocation().getFQDNHostname(), 0);
+			int candidateScore = LOCALITY_EVALUATION_FUNCTION.apply(localWeigh, hostLocalWeigh);
 
-				int candidateScore = LOCALITY_EVALUATION_FUNCTION.apply(localWeigh, hostLocalWeigh);
-				if (candidateScore > bestCandidateScore) {
-					bestCandidateScore = candidateScore;
-					bestCandidate = candidate;
+			// among candidates with the same locality, prefer the TaskManager with the most candidates
+			int candidateSpread = numberCandidatesPerTaskManager.getOrDefault(resourceId, 0);
+
+			if (candidateScore > bestCandidateScore ||
+					(candidateScore == bestCandidateScore && candidateSpread > bestCandidateSpread)) {
+				bestCandidateScore = candidateScore;
+				bestCandidateSpread = candidateSpread;
+				bestCandidate = candidate;
+
+				if (locationPreferences.isEmpty()) {
+					bestCandidateLocality = Locality.UNCONSTRAINED;
+				} else {
 					bestCandidateLocality = localWeigh > 0 ? Locality.LOCAL : hostLocalWeigh > 0 ? Locality.HOST_LOCAL : Locality.NON_LOCAL;
 				}
 			}
@@ -116,4 +164,8 @@ public class LocationPreferenceSchedulingStrategy implements SchedulingStrategy
 	public static LocationPreferenceSchedulingStrategy getInstance() {
 		return INSTANCE;
 	}
+
+	public static LocationPreferenceSchedulingStrategy getEvenlySpreadOutInstance() {
+		return EVENLY_SPREAD_OUT_INSTANCE;
+	}
 }
@@ -23,6 +23,7 @@ import org.apache.flink.api.common.JobID;
 import org.apache.flink.api.common.time.Time;
 import org.apache.flink.configuration.JobManagerOptions;
 import org.apache.flink.runtime.akka.AkkaUtils;
+import org.apache.flink.runtime.blacklist.BlacklistTracker;
 import org.apache.flink.runtime.clusterframework.types.AllocationID;
 import org.apache.flink.runtime.clusterframework.types.ResourceID;
 import org.apache.flink.runtime.clusterframework.types.ResourceProfile;
@@ -61,6 +62,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -116,6 +118,13 @@ public class SlotPool extends RpcEndpoint implements SlotPoolGateway, AllocatedS
 	/** The requests that are waiting for the resource manager to be connected. */
 	private final HashMap<SlotRequestId, PendingRequest> waitingForResourceManager;
 
+	/** The slot requests which are sent together to the resource manager once the current batch of RPCs is processed. */
+	private final LinkedHashMap<SlotRequestId, SlotRequest> slotRequestsToSend;
+
+	/** The resource manager to which the slot requests to send are sent. */
+	@Nullable
+	private ResourceManagerGateway slotRequestsToSendGateway;
+
 	/** Timeout for external request calls (e.g. to the ResourceManager or the TaskExecutor). */
 	private final Time rpcTimeout;
 
@@ -124,6 +133,9 @@ public class SlotPool extends RpcEndpoint implements SlotPoolGateway, AllocatedS
 
 	private final Clock clock;
 
+	/** Tracks the task failures per TaskManager to blacklist bad TaskManagers and hosts. */
+	private final BlacklistTracker blacklistTracker;
+
 	/** Managers for the different slot sharing groups. */
 	protected final Map<SlotSharingGroupId, SlotSharingManager> slotSharingManagers;
 
@@ -155,11 +167,25 @@ public class SlotPool extends RpcEndpoint implements SlotPoolGateway, AllocatedS
 			Clock clock,
 			Time rpcTimeout,
 			Time idleSlotTimeout) {
+		this(rpcService, jobId, schedulingStrategy, clock, rpcTimeout, idleSlotTimeout, BlacklistTracker.disabled());
+	}
+
+	public SlotPool(
+			RpcService rpcService,
+			JobID jobId,
+			SchedulingStrategy schedulingStrategy,
+			Clock clock,
+			Time rpcTimeout,
+			Time idleSlotTimeout,
+			BlacklistTracker blacklistTracker) {
 
 		super(rpcService);
 
 		this.jobId = checkNotNull(jobId);
-		this.schedulingStrategy = checkNotNull(schedulingStrategy);
+		this.blacklistTracker = checkNotNull(blacklistTracker);
+		this.schedulingStrategy = blacklistTracker.isEnabled() ?
+			new BlacklistAwareSchedulingStrategy(schedulingStrategy, blacklistTracker) :
+			checkNotNull(schedulingStrategy);
 		this.clock = checkNotNull(clock);
 		this.rpcTimeout = checkNotNull(rpcTimeout);
 		this.idleSlotTimeout = checkNotNull(idleSlotTimeout);
@@ -169,6 +195,8 @@ public class SlotPool extends RpcEndpoint implements SlotPoolGateway, AllocatedS
 		this.availableSlots = new AvailableSlots();
 		this.pendingRequests = new DualKeyMap<>(16);
 		this.waitingForResourceManager = new HashMap<>(16);
+		this.slotRequestsToSend = new LinkedHashMap<>(16);
+		this.slotRequestsToSendGateway = null;
 
 		this.providerAndOwner = new ProviderAndOwner(getSelfGateway(SlotPoolGateway.class));
 
@@ -701,16 +729,60 @@ public class SlotPool extends RpcEndpoint implements SlotPoolGateway, AllocatedS
 				}
 			});
 
-		CompletableFuture<Acknowledge> rmResponse = resourceManagerGateway.requestSlot(
-			jobMasterId,
-			new SlotRequest(jobId, allocationId, pendingRequest.getResourceProfile(), jobManagerAddress),
-			rpcTimeout);
+		// the requests to the same resource manager are collected until the RPCs which are
+		// currently queued at the slot pool have been processed and then sent in bulk. every
+		// request keeps its own allocation id, so that it can still be cancelled individually
+		if (slotRequestsToSendGateway != resourceManagerGateway) {
+			sendSlotRequests();
+		}
+
+		if (slotRequestsToSend.isEmpty()) {
+			slotRequestsToSendGateway = resourceManagerGateway;
+			runAsync(this::sendSlotRequests);
+		}
+
+		slotRequestsToSend.put(
+			pendingRequest.getSlotRequestId(),
+			new SlotRequest(jobId, allocationId, pendingRequest.getResourceProfile(), jobManagerAddress));
+	}
+
+	private void sendSlotRequests() {
+		final ResourceManagerGateway gateway = slotRequestsToSendGateway;
+		final List<SlotRequestId> slotRequestIds = new ArrayList<>(slotRequestsToSend.size());
+		final List<SlotRequest> slotRequests = new ArrayList<>(slotRequestsToSend.size());
 
-		// on failure, fail the request future
+		for (Map.Entry<SlotRequestId, SlotRequest> slotRequestToSend : slotRequestsToSend.entrySet()) {
+			// requests which have been fulfilled, failed or cancelled in the meantime are not sent
+			if (pendingRequests.containsKeyA(slotRequestToSend.getKey())) {
+				slotRequestIds.add(slotRequestToSend.getKey());
+				slotRequests.add(slotRequestToSend.getValue());
+			}
+		}
+
+		slotRequestsToSend.clear();
+		slotRequestsToSendGateway = null;
+
+		if (gateway == null || slotRequests.isEmpty()) {
+			return;
+		}
+
+		final CompletableFuture<Acknowledge> rmResponse;
+
+		if (slotRequests.size() == 1) {
+			rmResponse = gateway.requestSlot(jobMasterId, slotRequests.get(0), rpcTimeout);
+		} else {
+			log.info("Sending {} slot requests to the resource manager.", slotRequests.size());
+
+			rmResponse = gateway.requestSlots(jobMasterId, slotRequests, rpcTimeout);
+		}
+
+		// on failure, fail the request futures
 		rmResponse.whenCompleteAsync(
 			(Acknowledge ignored, Throwable failure) -> {
 				if (failure != null) {
-					slotRequestToResourceManagerFailed(pendingRequest.getSlotRequestId(), failure);
+					for (SlotRequestId slotRequestId : slotRequestIds) {
+						slotRequestToResourceManagerFailed(slotRequestId, failure);
+					}
 				}
 			},
 			getMainThreadExecutor());
@@ -1027,6 +1099,23 @@ public class SlotPool extends RpcEndpoint implements SlotPoolGateway, AllocatedS
 		// TODO: add some unit tests when the previous two are ready, the allocation may failed at any phase
 	}
 
+	@Override
+	public void reportTaskManagerFailure(TaskManagerLocation taskManagerLocation) {
+		if (!blacklistTracker.isEnabled()) {
+			return;
+		}
+
+		if (blacklistTracker.reportFailure(taskManagerLocation)) {
+			log.info("Blacklisted TaskManager {} on host {} because of too many task failures.",
+				taskManagerLocation.getResourceID(), taskManagerLocation.getFQDNHostname());
+		}
+
+		// the ResourceManager tracks the failures of all jobs
+		if (resourceManagerGateway != null) {
+			resourceManagerGateway.reportTaskManagerFailure(jobId, taskManagerLocation.getResourceID());
+		}
+	}
+
 	// ------------------------------------------------------------------------
 	//  Resource
 	// ------------------------------------------------------------------------
@@ -1057,6 +1146,7 @@ public class SlotPool extends RpcEndpoint implements SlotPoolGateway, AllocatedS
 	public CompletableFuture<Acknowledge> releaseTaskManager(final ResourceID resourceId, final Exception cause) {
 		if (registeredTaskManagers.remove(resourceId)) {
 			releaseTaskManagerInternal(resourceId, cause);
+			blacklistTracker.removeTaskManager(resourceId);
 		}
 
 		return CompletableFuture.completedFuture(Acknowledge.get());
@@ -1144,6 +1234,8 @@ public class SlotPool extends RpcEndpoint implements SlotPoolGateway, AllocatedS
 		allocatedSlots.clear();
 		pendingRequests.clear();
 		waitingForResourceManager.clear();
+		slotRequestsToSend.clear();
+		slotRequestsToSendGateway = null;
 		registeredTaskManagers.clear();
 		slotSharingManagers.clear();
 	}
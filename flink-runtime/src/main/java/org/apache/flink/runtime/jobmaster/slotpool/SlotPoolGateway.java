@@ -129,6 +129,14 @@ public interface SlotPoolGateway extends AllocatedSlotActions, RpcGateway {
 	 */
 	void failAllocation(AllocationID allocationID, Exception cause);
 
+	/**
+	 * Reports that a task failed on the given TaskManager. TaskManagers and hosts with too many
+	 * failures are blacklisted and their slots are no longer used for new tasks.
+	 *
+	 * @param taskManagerLocation of the TaskManager on which the task failed
+	 */
+	void reportTaskManagerFailure(TaskManagerLocation taskManagerLocation);
+
 	// ------------------------------------------------------------------------
 	//  allocating and disposing slots
 	// ------------------------------------------------------------------------
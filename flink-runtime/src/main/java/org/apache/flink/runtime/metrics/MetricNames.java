@@ -52,4 +52,8 @@ public class MetricNames {
 	public static final String IO_CURRENT_INPUT_1_WATERMARK = "currentInput1Watermark";
 	public static final String IO_CURRENT_INPUT_2_WATERMARK = "currentInput2Watermark";
 	public static final String IO_CURRENT_OUTPUT_WATERMARK = "currentOutputWatermark";
+
+	public static final String MAIN_THREAD_QUEUE_LENGTH = "mainThreadQueueLength";
+	public static final String MAIN_THREAD_NUM_PROCESSED_MESSAGES = "mainThreadNumProcessedMessages";
+	public static final String MAIN_THREAD_PROCESSING_TIME = "mainThreadProcessingTime";
 }
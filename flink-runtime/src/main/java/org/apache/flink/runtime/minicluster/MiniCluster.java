@@ -546,6 +546,17 @@ public class MiniCluster implements JobExecutorService, AutoCloseableAsync {
 		}
 	}
 
+	public CompletableFuture<String> stopWithSavepoint(JobID jobId, String targetDirectory) {
+		try {
+			return getDispatcherGateway().stopWithSavepoint(jobId, targetDirectory, rpcTimeout);
+		} catch (LeaderRetrievalException | InterruptedException e) {
+			return FutureUtils.completedExceptionally(
+				new FlinkException(
+					String.format("Could not stop job %s with a savepoint.", jobId),
+					e));
+		}
+	}
+
 	public CompletableFuture<Acknowledge> disposeSavepoint(String savepointPath) {
 		try {
 			return getDispatcherGateway().disposeSavepoint(savepointPath, rpcTimeout);
@@ -74,6 +74,7 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
@@ -428,12 +429,63 @@ public abstract class ResourceManager<WorkerType extends ResourceIDRetrievable>
 		}
 	}
 
+	@Override
+	public CompletableFuture<Acknowledge> requestSlots(
+			JobMasterId jobMasterId,
+			Collection<SlotRequest> slotRequests,
+			final Time timeout) {
+
+		if (slotRequests.isEmpty()) {
+			return CompletableFuture.completedFuture(Acknowledge.get());
+		}
+
+		JobID jobId = slotRequests.iterator().next().getJobId();
+		JobManagerRegistration jobManagerRegistration = jobManagerRegistrations.get(jobId);
+
+		if (null != jobManagerRegistration) {
+			if (Objects.equals(jobMasterId, jobManagerRegistration.getJobMasterId())) {
+				for (SlotRequest slotRequest : slotRequests) {
+					if (!jobId.equals(slotRequest.getJobId())) {
+						return FutureUtils.completedExceptionally(new ResourceManagerException(
+							"The slot requests of a bulk request have to belong to the same job."));
+					}
+				}
+
+				log.info("Request {} slots for job {}.", slotRequests.size(), jobId);
+
+				try {
+					slotManager.registerSlotRequests(slotRequests);
+				} catch (SlotManagerException e) {
+					return FutureUtils.completedExceptionally(e);
+				}
+
+				return CompletableFuture.completedFuture(Acknowledge.get());
+			} else {
+				return FutureUtils.completedExceptionally(new ResourceManagerException("The job leader's id " +
+					jobManagerRegistration.getJobMasterId() + " does not match the received id " + jobMasterId + '.'));
+			}
+
+		} else {
+			return FutureUtils.completedExceptionally(new ResourceManagerException("Could not find registered job manager for job " + jobId + '.'));
+		}
+	}
+
 	@Override
 	public void cancelSlotRequest(AllocationID allocationID) {
 		// As the slot allocations are async, it can not avoid all redundant slots, but should best effort.
 		slotManager.unregisterSlotRequest(allocationID);
 	}
 
+	@Override
+	public void reportTaskManagerFailure(JobID jobId, ResourceID taskExecutorId) {
+		final WorkerRegistration<WorkerType> registration = taskExecutors.get(taskExecutorId);
+
+		if (registration != null) {
+			log.debug("Task of job {} failed on TaskExecutor {}.", jobId, taskExecutorId);
+			slotManager.reportTaskManagerFailure(registration.getInstanceID());
+		}
+	}
+
 	@Override
 	public void notifySlotAvailable(
 			final InstanceID instanceID,
@@ -708,7 +760,12 @@ public abstract class ResourceManager<WorkerType extends ResourceIDRetrievable>
 			return new RegistrationResponse.Decline("unrecognized TaskExecutor");
 		} else {
 			WorkerRegistration<WorkerType> registration =
-				new WorkerRegistration<>(taskExecutorGateway, newWorker, dataPort, hardwareDescription);
+				new WorkerRegistration<>(
+					taskExecutorGateway,
+					newWorker,
+					dataPort,
+					hardwareDescription,
+					getWorkerHostname(newWorker));
 
 			taskExecutors.put(taskExecutorResourceId, registration);
 
@@ -1025,6 +1082,19 @@ public abstract class ResourceManager<WorkerType extends ResourceIDRetrievable>
 	 */
 	protected abstract WorkerType workerStarted(ResourceID resourceID);
 
+	/**
+	 * Returns the host of the given worker as known to the resource framework. Blacklisted hosts
+	 * are reported with this name. Returns null, if the host of the worker's rpc endpoint should
+	 * be used.
+	 *
+	 * @param worker The worker
+	 * @return The host of the worker, or null
+	 */
+	@Nullable
+	protected String getWorkerHostname(WorkerType worker) {
+		return null;
+	}
+
 	/**
 	 * Stops the given worker.
 	 *
@@ -1172,6 +1242,14 @@ public abstract class ResourceManager<WorkerType extends ResourceIDRetrievable>
 	//  Resource Management
 	// ------------------------------------------------------------------------
 
+	/**
+	 * Returns the hosts which are currently blacklisted because of too many task failures.
+	 * Resource managers which start workers should not start them on these hosts.
+	 */
+	protected Set<String> getBlacklistedHosts() {
+		return slotManager.getBlacklistedHosts();
+	}
+
 	protected int getNumberPendingSlotRequests() {
 		return slotManager.getNumberPendingSlotRequests();
 	}
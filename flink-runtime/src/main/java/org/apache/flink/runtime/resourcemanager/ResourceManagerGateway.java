@@ -80,6 +80,23 @@ public interface ResourceManagerGateway extends FencedRpcGateway<ResourceManager
 		SlotRequest slotRequest,
 		@RpcTimeout Time timeout);
 
+	/**
+	 * Requests multiple slots of the same job from the resource manager with a single RPC.
+	 *
+	 * <p>This only batches the transport: every slot request keeps its own {@link SlotRequest#getAllocationId()},
+	 * is matched independently of the other requests and can be cancelled individually via
+	 * {@link #cancelSlotRequest(AllocationID)}. In particular, the requests are not fulfilled all-or-nothing;
+	 * some of them may get a slot while others are still waiting for resources.
+	 *
+	 * @param jobMasterId id of the JobMaster
+	 * @param slotRequests The slots to request
+	 * @return The confirmation that all slot requests have been registered
+	 */
+	CompletableFuture<Acknowledge> requestSlots(
+		JobMasterId jobMasterId,
+		Collection<SlotRequest> slotRequests,
+		@RpcTimeout Time timeout);
+
 	/**
 	 * Cancel the slot allocation requests from the resource manager.
 	 *
@@ -87,6 +104,15 @@ public interface ResourceManagerGateway extends FencedRpcGateway<ResourceManager
 	 */
 	void cancelSlotRequest(AllocationID allocationID);
 
+	/**
+	 * Reports that a task of the given job failed on the given TaskExecutor. TaskExecutors and
+	 * hosts with too many failures are blacklisted.
+	 *
+	 * @param jobId of the failed task
+	 * @param taskExecutorId identifying the TaskExecutor on which the task failed
+	 */
+	void reportTaskManagerFailure(JobID jobId, ResourceID taskExecutorId);
+
 	/**
 	 * Register a {@link TaskExecutor} at the resource manager.
 	 *
@@ -58,7 +58,9 @@ public class ResourceManagerRuntimeServices {
 			scheduledExecutor,
 			slotManagerConfiguration.getTaskManagerRequestTimeout(),
 			slotManagerConfiguration.getSlotRequestTimeout(),
-			slotManagerConfiguration.getTaskManagerTimeout());
+			slotManagerConfiguration.getTaskManagerTimeout(),
+			slotManagerConfiguration.isEvenlySpreadOutSlots(),
+			slotManagerConfiguration.createBlacklistTracker());
 
 		final JobLeaderIdService jobLeaderIdService = new JobLeaderIdService(
 			highAvailabilityServices,
@@ -22,6 +22,8 @@ import org.apache.flink.runtime.clusterframework.types.ResourceID;
 import org.apache.flink.runtime.instance.InstanceID;
 import org.apache.flink.runtime.taskexecutor.TaskExecutorGateway;
 
+import javax.annotation.Nullable;
+
 import static org.apache.flink.util.Preconditions.checkNotNull;
 
 /**
@@ -36,10 +38,19 @@ public class TaskExecutorConnection {
 
 	private final TaskExecutorGateway taskExecutorGateway;
 
+	/** The host of the task executor as known to the resource framework, if it differs from the rpc host. */
+	@Nullable
+	private final String hostname;
+
 	public TaskExecutorConnection(ResourceID resourceID, TaskExecutorGateway taskExecutorGateway) {
+		this(resourceID, taskExecutorGateway, null);
+	}
+
+	public TaskExecutorConnection(ResourceID resourceID, TaskExecutorGateway taskExecutorGateway, @Nullable String hostname) {
 		this.resourceID = checkNotNull(resourceID);
 		this.instanceID = new InstanceID();
 		this.taskExecutorGateway = checkNotNull(taskExecutorGateway);
+		this.hostname = hostname;
 	}
 
 	public ResourceID getResourceID() {
@@ -53,4 +64,12 @@ public class TaskExecutorConnection {
 	public TaskExecutorGateway getTaskExecutorGateway() {
 		return taskExecutorGateway;
 	}
+
+	/**
+	 * Returns the host of the task executor, which is the host of its rpc endpoint unless the
+	 * resource framework knows the host under a different name.
+	 */
+	public String getHostname() {
+		return hostname != null ? hostname : taskExecutorGateway.getHostname();
+	}
 }
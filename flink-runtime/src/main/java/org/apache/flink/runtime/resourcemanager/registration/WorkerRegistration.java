@@ -23,6 +23,8 @@ import org.apache.flink.runtime.instance.HardwareDescription;
 import org.apache.flink.runtime.taskexecutor.TaskExecutorGateway;
 import org.apache.flink.util.Preconditions;
 
+import javax.annotation.Nullable;
+
 /**
  * This class extends the {@link TaskExecutorConnection}, adding the worker information.
  */
@@ -39,8 +41,17 @@ public class WorkerRegistration<WorkerType extends ResourceIDRetrievable> extend
 			WorkerType worker,
 			int dataPort,
 			HardwareDescription hardwareDescription) {
+		this(taskExecutorGateway, worker, dataPort, hardwareDescription, null);
+	}
+
+	public WorkerRegistration(
+			TaskExecutorGateway taskExecutorGateway,
+			WorkerType worker,
+			int dataPort,
+			HardwareDescription hardwareDescription,
+			@Nullable String hostname) {
 
-		super(worker.getResourceID(), taskExecutorGateway);
+		super(worker.getResourceID(), taskExecutorGateway, hostname);
 
 		this.worker = Preconditions.checkNotNull(worker);
 		this.dataPort = dataPort;
@@ -21,6 +21,7 @@ package org.apache.flink.runtime.resourcemanager.slotmanager;
 import org.apache.flink.annotation.VisibleForTesting;
 import org.apache.flink.api.common.JobID;
 import org.apache.flink.api.common.time.Time;
+import org.apache.flink.runtime.blacklist.BlacklistTracker;
 import org.apache.flink.runtime.clusterframework.types.AllocationID;
 import org.apache.flink.runtime.clusterframework.types.ResourceProfile;
 import org.apache.flink.runtime.clusterframework.types.SlotID;
@@ -37,6 +38,7 @@ import org.apache.flink.runtime.taskexecutor.SlotStatus;
 import org.apache.flink.runtime.taskexecutor.TaskExecutorGateway;
 import org.apache.flink.runtime.taskexecutor.exceptions.SlotAllocationException;
 import org.apache.flink.runtime.taskexecutor.exceptions.SlotOccupiedException;
+import org.apache.flink.util.ExceptionUtils;
 import org.apache.flink.util.FlinkException;
 import org.apache.flink.util.Preconditions;
 
@@ -46,11 +48,15 @@ import org.slf4j.LoggerFactory;
 import javax.annotation.Nullable;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
@@ -84,12 +90,27 @@ public class SlotManager implements AutoCloseable {
 	/** Timeout after which an unused TaskManager is released. */
 	private final Time taskManagerTimeout;
 
+	/** True iff the slots of the least utilized TaskManagers are allocated first. */
+	private final boolean evenlySpreadOutSlots;
+
+	/** Tracks the task failures per TaskManager to exclude the slots of bad TaskManagers and hosts. */
+	private final BlacklistTracker blacklistTracker;
+
 	/** Map for all registered slots. */
 	private final HashMap<SlotID, TaskManagerSlot> slots;
 
 	/** Index of all currently free slots. */
 	private final LinkedHashMap<SlotID, TaskManagerSlot> freeSlots;
 
+	/** The free slots per TaskManager, for all TaskManagers with free slots. */
+	private final HashMap<InstanceID, TaskManagerFreeSlots> freeSlotsPerTaskManager;
+
+	/** The TaskManagers with free slots, ordered by increasing utilization. */
+	private final TreeSet<TaskManagerFreeSlots> taskManagersByUtilization;
+
+	/** The number of TaskManagers which were added to the utilization index, used to order TaskManagers of equal utilization. */
+	private long taskManagerFreeSlotsCounter;
+
 	/** All currently registered task managers. */
 	private final HashMap<InstanceID, TaskManagerRegistration> taskManagerRegistrations;
 
@@ -120,13 +141,42 @@ public class SlotManager implements AutoCloseable {
 			Time taskManagerRequestTimeout,
 			Time slotRequestTimeout,
 			Time taskManagerTimeout) {
+		this(scheduledExecutor, taskManagerRequestTimeout, slotRequestTimeout, taskManagerTimeout, false);
+	}
+
+	public SlotManager(
+			ScheduledExecutor scheduledExecutor,
+			Time taskManagerRequestTimeout,
+			Time slotRequestTimeout,
+			Time taskManagerTimeout,
+			boolean evenlySpreadOutSlots) {
+		this(
+			scheduledExecutor,
+			taskManagerRequestTimeout,
+			slotRequestTimeout,
+			taskManagerTimeout,
+			evenlySpreadOutSlots,
+			BlacklistTracker.disabled());
+	}
+
+	public SlotManager(
+			ScheduledExecutor scheduledExecutor,
+			Time taskManagerRequestTimeout,
+			Time slotRequestTimeout,
+			Time taskManagerTimeout,
+			boolean evenlySpreadOutSlots,
+			BlacklistTracker blacklistTracker) {
 		this.scheduledExecutor = Preconditions.checkNotNull(scheduledExecutor);
 		this.taskManagerRequestTimeout = Preconditions.checkNotNull(taskManagerRequestTimeout);
 		this.slotRequestTimeout = Preconditions.checkNotNull(slotRequestTimeout);
 		this.taskManagerTimeout = Preconditions.checkNotNull(taskManagerTimeout);
+		this.evenlySpreadOutSlots = evenlySpreadOutSlots;
+		this.blacklistTracker = Preconditions.checkNotNull(blacklistTracker);
 
 		slots = new HashMap<>(16);
 		freeSlots = new LinkedHashMap<>(16);
+		freeSlotsPerTaskManager = new HashMap<>(4);
+		taskManagersByUtilization = new TreeSet<>(TaskManagerFreeSlots.UTILIZATION_COMPARATOR);
 		taskManagerRegistrations = new HashMap<>(4);
 		fulfilledSlotRequests = new HashMap<>(16);
 		pendingSlotRequests = new HashMap<>(16);
@@ -287,6 +337,88 @@ public class SlotManager implements AutoCloseable {
 		}
 	}
 
+	/**
+	 * Requests slots for all given slot requests at once. The requests are matched per resource
+	 * profile, so that the free slots are no longer scanned for a profile once there is no matching
+	 * free slot left. For the remaining requests, the resource manager is asked to allocate more
+	 * resources.
+	 *
+	 * <p>The slot requests stay individual requests which are identified by their allocation id.
+	 * They are not declared as a number of slots per resource profile, and they are not fulfilled
+	 * all-or-nothing: the requests which find a free slot are assigned right away, independently
+	 * of whether the other requests of the batch can be fulfilled.
+	 *
+	 * @param slotRequests specifying the requested slots
+	 * @return the number of registered slot requests, excluding duplicates
+	 * @throws SlotManagerException if some of the slot requests failed. In this case, none of the
+	 * slot requests registered by this call stays registered.
+	 */
+	public int registerSlotRequests(Collection<SlotRequest> slotRequests) throws SlotManagerException {
+		checkInit();
+
+		final LinkedHashMap<ResourceProfile, ArrayList<PendingSlotRequest>> requestsByProfile = new LinkedHashMap<>(4);
+		final ArrayList<PendingSlotRequest> registeredRequests = new ArrayList<>(slotRequests.size());
+
+		for (SlotRequest slotRequest : slotRequests) {
+			if (checkDuplicateRequest(slotRequest.getAllocationId())) {
+				LOG.debug("Ignoring a duplicate slot request with allocation id {}.", slotRequest.getAllocationId());
+			} else {
+				PendingSlotRequest pendingSlotRequest = new PendingSlotRequest(slotRequest);
+
+				pendingSlotRequests.put(slotRequest.getAllocationId(), pendingSlotRequest);
+				requestsByProfile
+					.computeIfAbsent(slotRequest.getResourceProfile(), ignored -> new ArrayList<>())
+					.add(pendingSlotRequest);
+
+				registeredRequests.add(pendingSlotRequest);
+			}
+		}
+
+		ResourceManagerException failure = null;
+
+		for (Map.Entry<ResourceProfile, ArrayList<PendingSlotRequest>> requestsOfProfile : requestsByProfile.entrySet()) {
+			final ResourceProfile resourceProfile = requestsOfProfile.getKey();
+			boolean hasMatchingFreeSlots = true;
+
+			for (PendingSlotRequest pendingSlotRequest : requestsOfProfile.getValue()) {
+				// a slot which has been freed in the meantime might have been assigned to this request
+				if (pendingSlotRequest.isAssigned() ||
+						pendingSlotRequests.get(pendingSlotRequest.getAllocationId()) != pendingSlotRequest) {
+					continue;
+				}
+
+				TaskManagerSlot taskManagerSlot = hasMatchingFreeSlots ? findMatchingSlot(resourceProfile) : null;
+
+				if (taskManagerSlot != null) {
+					allocateSlot(taskManagerSlot, pendingSlotRequest);
+				} else {
+					hasMatchingFreeSlots = false;
+
+					try {
+						resourceActions.allocateResource(resourceProfile);
+					} catch (ResourceManagerException e) {
+						// requesting the slot failed --> remove pending slot request
+						pendingSlotRequests.remove(pendingSlotRequest.getAllocationId());
+						failure = ExceptionUtils.firstOrSuppressed(e, failure);
+					}
+				}
+			}
+		}
+
+		if (failure != null) {
+			// the sender fails all requests of the batch, so none of them must stay registered
+			for (PendingSlotRequest pendingSlotRequest : registeredRequests) {
+				if (pendingSlotRequests.get(pendingSlotRequest.getAllocationId()) == pendingSlotRequest) {
+					unregisterSlotRequest(pendingSlotRequest.getAllocationId());
+				}
+			}
+
+			throw new SlotManagerException("Could not fulfill all of the " + registeredRequests.size() + " slot requests.", failure);
+		}
+
+		return registeredRequests.size();
+	}
+
 	/**
 	 * Cancels and removes a pending slot request with the given allocation id. If there is no such
 	 * pending request, then nothing is done.
@@ -482,19 +614,20 @@ public class SlotManager implements AutoCloseable {
 	 * slot available.
 	 */
 	protected TaskManagerSlot findMatchingSlot(ResourceProfile requestResourceProfile) {
-		Iterator<Map.Entry<SlotID, TaskManagerSlot>> iterator = freeSlots.entrySet().iterator();
-
-		while (iterator.hasNext()) {
-			TaskManagerSlot taskManagerSlot = iterator.next().getValue();
+		if (evenlySpreadOutSlots) {
+			return findMatchingSlotOfLeastUtilizedTaskManager(requestResourceProfile);
+		}
 
+		for (TaskManagerSlot taskManagerSlot : freeSlots.values()) {
 			// sanity check
 			Preconditions.checkState(
 				taskManagerSlot.getState() == TaskManagerSlot.State.FREE,
 				"TaskManagerSlot %s is not in state FREE but %s.",
 				taskManagerSlot.getSlotId(), taskManagerSlot.getState());
 
-			if (taskManagerSlot.getResourceProfile().isMatching(requestResourceProfile)) {
-				iterator.remove();
+			if (taskManagerSlot.getResourceProfile().isMatching(requestResourceProfile) &&
+					!isBlacklisted(taskManagerSlot.getTaskManagerConnection())) {
+				removeFreeSlot(taskManagerSlot.getSlotId());
 				return taskManagerSlot;
 			}
 		}
@@ -502,6 +635,153 @@ public class SlotManager implements AutoCloseable {
 		return null;
 	}
 
+	/**
+	 * Finds a matching slot of the TaskManager with the lowest fraction of slots which are not free.
+	 * Slots which are pending for a slot request are not free. The TaskManagers are visited in the
+	 * order of their utilization, so that usually only the least utilized one has to be checked.
+	 */
+	@Nullable
+	private TaskManagerSlot findMatchingSlotOfLeastUtilizedTaskManager(ResourceProfile requestResourceProfile) {
+		for (TaskManagerFreeSlots taskManagerFreeSlots : taskManagersByUtilization) {
+			if (isBlacklisted(taskManagerFreeSlots.getTaskManagerConnection())) {
+				continue;
+			}
+
+			for (TaskManagerSlot taskManagerSlot : taskManagerFreeSlots.getFreeSlots()) {
+				if (taskManagerSlot.getResourceProfile().isMatching(requestResourceProfile)) {
+					removeFreeSlot(taskManagerSlot.getSlotId());
+					return taskManagerSlot;
+				}
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Adds the given slot to the free slots and updates the utilization of its TaskManager.
+	 */
+	private void addFreeSlot(TaskManagerSlot freeSlot) {
+		freeSlots.put(freeSlot.getSlotId(), freeSlot);
+
+		final InstanceID instanceId = freeSlot.getInstanceId();
+		TaskManagerFreeSlots taskManagerFreeSlots = freeSlotsPerTaskManager.get(instanceId);
+
+		if (taskManagerFreeSlots == null) {
+			taskManagerFreeSlots = new TaskManagerFreeSlots(
+				freeSlot.getTaskManagerConnection(),
+				getNumberRegisteredSlotsOf(instanceId),
+				taskManagerFreeSlotsCounter++);
+			freeSlotsPerTaskManager.put(instanceId, taskManagerFreeSlots);
+		} else {
+			// the utilization is part of the ordering and must not change while the entry is in the set
+			taskManagersByUtilization.remove(taskManagerFreeSlots);
+		}
+
+		taskManagerFreeSlots.addFreeSlot(freeSlot);
+		taskManagersByUtilization.add(taskManagerFreeSlots);
+	}
+
+	/**
+	 * Removes the slot with the given id from the free slots and updates the utilization of its
+	 * TaskManager.
+	 *
+	 * @return The removed slot, or null if the slot was not free.
+	 */
+	@Nullable
+	private TaskManagerSlot removeFreeSlot(SlotID slotId) {
+		final TaskManagerSlot slot = freeSlots.remove(slotId);
+
+		if (slot != null) {
+			final TaskManagerFreeSlots taskManagerFreeSlots = freeSlotsPerTaskManager.get(slot.getInstanceId());
+
+			taskManagersByUtilization.remove(taskManagerFreeSlots);
+			taskManagerFreeSlots.removeFreeSlot(slotId);
+
+			if (taskManagerFreeSlots.hasFreeSlots()) {
+				taskManagersByUtilization.add(taskManagerFreeSlots);
+			} else {
+				freeSlotsPerTaskManager.remove(slot.getInstanceId());
+			}
+		}
+
+		return slot;
+	}
+
+	// ---------------------------------------------------------------------------------------------
+	// Blacklisting
+	// ---------------------------------------------------------------------------------------------
+
+	/**
+	 * Reports that a task failed on the given TaskManager. The free slots of TaskManagers and
+	 * hosts with too many failures are no longer allocated until their blacklisting ends.
+	 *
+	 * @param instanceId identifying the TaskManager on which the task failed
+	 */
+	public void reportTaskManagerFailure(InstanceID instanceId) {
+		final TaskManagerRegistration taskManagerRegistration = taskManagerRegistrations.get(instanceId);
+
+		if (taskManagerRegistration != null) {
+			final TaskExecutorConnection connection = taskManagerRegistration.getTaskManagerConnection();
+			final String host = connection.getHostname();
+
+			if (blacklistTracker.reportFailure(connection.getResourceID(), host)) {
+				LOG.info("Blacklisted TaskManager {} on host {} because of too many task failures.",
+					connection.getResourceID(), host);
+			}
+
+			// the failure might also have prolonged an existing blacklisting
+			if (started && isBlacklisted(connection)) {
+				final Executor currentMainThreadExecutor = mainThreadExecutor;
+
+				scheduledExecutor.schedule(
+					() -> currentMainThreadExecutor.execute(
+						() -> checkBlacklistExpiration()),
+					blacklistTracker.getBlacklistDurationMillis(),
+					TimeUnit.MILLISECONDS);
+			}
+		} else {
+			LOG.debug("Ignoring the task failure on the unknown TaskManager {}.", instanceId);
+		}
+	}
+
+	/**
+	 * Returns the hosts which are currently blacklisted.
+	 */
+	public Set<String> getBlacklistedHosts() {
+		return blacklistTracker.getBlacklistedHosts();
+	}
+
+	/**
+	 * Matches the free slots of TaskManagers whose blacklisting has ended against the pending slot
+	 * requests. These slots have been skipped when they became free and are otherwise only
+	 * considered again for new slot requests.
+	 */
+	private void checkBlacklistExpiration() {
+		if (!started || pendingSlotRequests.isEmpty()) {
+			return;
+		}
+
+		// allocating a slot can free other slots if the allocation fails right away
+		final ArrayList<TaskManagerSlot> candidateSlots = new ArrayList<>(freeSlots.values());
+
+		for (TaskManagerSlot freeSlot : candidateSlots) {
+			if (freeSlots.get(freeSlot.getSlotId()) == freeSlot && !isBlacklisted(freeSlot.getTaskManagerConnection())) {
+				final PendingSlotRequest pendingSlotRequest = findMatchingRequest(freeSlot.getResourceProfile());
+
+				if (pendingSlotRequest != null) {
+					removeFreeSlot(freeSlot.getSlotId());
+					allocateSlot(freeSlot, pendingSlotRequest);
+				}
+			}
+		}
+	}
+
+	private boolean isBlacklisted(TaskExecutorConnection connection) {
+		return blacklistTracker.isEnabled() &&
+			blacklistTracker.isBlacklisted(connection.getResourceID(), connection.getHostname());
+	}
+
 	// ---------------------------------------------------------------------------------------------
 	// Internal slot operations
 	// ---------------------------------------------------------------------------------------------
@@ -608,7 +888,7 @@ public class SlotManager implements AutoCloseable {
 					break;
 				case FREE:
 					// the slot is currently free --> it is stored in freeSlots
-					freeSlots.remove(slot.getSlotId());
+					removeFreeSlot(slot.getSlotId());
 					slot.updateAllocation(allocationId, jobId);
 					taskManagerRegistration.occupySlot();
 					break;
@@ -737,12 +1017,14 @@ public class SlotManager implements AutoCloseable {
 	private void handleFreeSlot(TaskManagerSlot freeSlot) {
 		Preconditions.checkState(freeSlot.getState() == TaskManagerSlot.State.FREE);
 
-		PendingSlotRequest pendingSlotRequest = findMatchingRequest(freeSlot.getResourceProfile());
+		PendingSlotRequest pendingSlotRequest = isBlacklisted(freeSlot.getTaskManagerConnection()) ?
+			null :
+			findMatchingRequest(freeSlot.getResourceProfile());
 
 		if (null != pendingSlotRequest) {
 			allocateSlot(freeSlot, pendingSlotRequest);
 		} else {
-			freeSlots.put(freeSlot.getSlotId(), freeSlot);
+			addFreeSlot(freeSlot);
 		}
 	}
 
@@ -766,7 +1048,7 @@ public class SlotManager implements AutoCloseable {
 		TaskManagerSlot slot = slots.remove(slotId);
 
 		if (null != slot) {
-			freeSlots.remove(slotId);
+			removeFreeSlot(slotId);
 
 			if (slot.getState() == TaskManagerSlot.State.PENDING) {
 				// reject the pending slot request --> triggering a new allocation attempt
@@ -946,6 +1228,8 @@ public class SlotManager implements AutoCloseable {
 		Preconditions.checkNotNull(taskManagerRegistration);
 
 		removeSlots(taskManagerRegistration.getSlots());
+
+		blacklistTracker.removeTaskManager(taskManagerRegistration.getTaskManagerConnection().getResourceID());
 	}
 
 	private boolean checkDuplicateRequest(AllocationID allocationId) {
@@ -997,4 +1281,61 @@ public class SlotManager implements AutoCloseable {
 			resourceActions.releaseResource(taskManagerRegistration.getInstanceId(), new FlinkException("Triggering of SlotManager#unregisterTaskManagersAndReleaseResources."));
 		}
 	}
+
+	// ---------------------------------------------------------------------------------------------
+	// Internal utilization index
+	// ---------------------------------------------------------------------------------------------
+
+	/**
+	 * The free slots of a TaskManager. The utilization of the TaskManager is the fraction of its
+	 * registered slots which are not free.
+	 */
+	private static final class TaskManagerFreeSlots {
+
+		/** Orders by increasing utilization and, for equal utilization, by the time of insertion into the index. */
+		static final Comparator<TaskManagerFreeSlots> UTILIZATION_COMPARATOR =
+			Comparator.comparingDouble(TaskManagerFreeSlots::getUtilization)
+				.thenComparingLong(taskManagerFreeSlots -> taskManagerFreeSlots.sequenceNumber);
+
+		private final TaskExecutorConnection taskManagerConnection;
+
+		private final int numberRegisteredSlots;
+
+		private final long sequenceNumber;
+
+		private final LinkedHashMap<SlotID, TaskManagerSlot> freeSlots;
+
+		TaskManagerFreeSlots(TaskExecutorConnection taskManagerConnection, int numberRegisteredSlots, long sequenceNumber) {
+			this.taskManagerConnection = taskManagerConnection;
+			this.numberRegisteredSlots = numberRegisteredSlots;
+			this.sequenceNumber = sequenceNumber;
+			this.freeSlots = new LinkedHashMap<>(4);
+		}
+
+		TaskExecutorConnection getTaskManagerConnection() {
+			return taskManagerConnection;
+		}
+
+		Collection<TaskManagerSlot> getFreeSlots() {
+			return freeSlots.values();
+		}
+
+		boolean hasFreeSlots() {
+			return !freeSlots.isEmpty();
+		}
+
+		void addFreeSlot(TaskManagerSlot freeSlot) {
+			freeSlots.put(freeSlot.getSlotId(), freeSlot);
+		}
+
+		void removeFreeSlot(SlotID slotId) {
+			freeSlots.remove(slotId);
+		}
+
+		double getUtilization() {
+			return numberRegisteredSlots > 0 ?
+				1.0 - (double) freeSlots.size() / numberRegisteredSlots :
+				1.0;
+		}
+	}
 }
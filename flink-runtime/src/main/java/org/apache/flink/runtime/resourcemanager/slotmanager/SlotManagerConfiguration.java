@@ -23,6 +23,8 @@ import org.apache.flink.configuration.AkkaOptions;
 import org.apache.flink.configuration.Configuration;
 import org.apache.flink.configuration.JobManagerOptions;
 import org.apache.flink.configuration.ResourceManagerOptions;
+import org.apache.flink.runtime.blacklist.BlacklistTracker;
+import org.apache.flink.runtime.util.clock.SystemClock;
 import org.apache.flink.util.ConfigurationException;
 import org.apache.flink.util.Preconditions;
 
@@ -41,14 +43,51 @@ public class SlotManagerConfiguration {
 	private final Time taskManagerRequestTimeout;
 	private final Time slotRequestTimeout;
 	private final Time taskManagerTimeout;
+	private final boolean evenlySpreadOutSlots;
+
+	/** The number of task failures after which a TaskManager is blacklisted, 0 if blacklisting is disabled. */
+	private final int blacklistMaxFailures;
+	private final Time blacklistFailureWindow;
+	private final Time blacklistDuration;
 
 	public SlotManagerConfiguration(
 			Time taskManagerRequestTimeout,
 			Time slotRequestTimeout,
 			Time taskManagerTimeout) {
+		this(taskManagerRequestTimeout, slotRequestTimeout, taskManagerTimeout, false);
+	}
+
+	public SlotManagerConfiguration(
+			Time taskManagerRequestTimeout,
+			Time slotRequestTimeout,
+			Time taskManagerTimeout,
+			boolean evenlySpreadOutSlots) {
+		this(
+			taskManagerRequestTimeout,
+			slotRequestTimeout,
+			taskManagerTimeout,
+			evenlySpreadOutSlots,
+			0,
+			Time.milliseconds(JobManagerOptions.SLOT_BLACKLIST_FAILURE_WINDOW.defaultValue()),
+			Time.milliseconds(JobManagerOptions.SLOT_BLACKLIST_DURATION.defaultValue()));
+	}
+
+	public SlotManagerConfiguration(
+			Time taskManagerRequestTimeout,
+			Time slotRequestTimeout,
+			Time taskManagerTimeout,
+			boolean evenlySpreadOutSlots,
+			int blacklistMaxFailures,
+			Time blacklistFailureWindow,
+			Time blacklistDuration) {
+		Preconditions.checkArgument(blacklistMaxFailures >= 0, "The maximum number of failures must not be negative.");
 		this.taskManagerRequestTimeout = Preconditions.checkNotNull(taskManagerRequestTimeout);
 		this.slotRequestTimeout = Preconditions.checkNotNull(slotRequestTimeout);
 		this.taskManagerTimeout = Preconditions.checkNotNull(taskManagerTimeout);
+		this.evenlySpreadOutSlots = evenlySpreadOutSlots;
+		this.blacklistMaxFailures = blacklistMaxFailures;
+		this.blacklistFailureWindow = Preconditions.checkNotNull(blacklistFailureWindow);
+		this.blacklistDuration = Preconditions.checkNotNull(blacklistDuration);
 	}
 
 	public Time getTaskManagerRequestTimeout() {
@@ -63,6 +102,25 @@ public class SlotManagerConfiguration {
 		return taskManagerTimeout;
 	}
 
+	public boolean isEvenlySpreadOutSlots() {
+		return evenlySpreadOutSlots;
+	}
+
+	/**
+	 * Creates a new tracker for the blacklisting of TaskManagers and hosts.
+	 */
+	public BlacklistTracker createBlacklistTracker() {
+		if (blacklistMaxFailures > 0) {
+			return new BlacklistTracker(
+				blacklistMaxFailures,
+				blacklistFailureWindow.toMilliseconds(),
+				blacklistDuration.toMilliseconds(),
+				SystemClock.getInstance());
+		} else {
+			return BlacklistTracker.disabled();
+		}
+	}
+
 	public static SlotManagerConfiguration fromConfiguration(Configuration configuration) throws ConfigurationException {
 		final String strTimeout = configuration.getString(AkkaOptions.ASK_TIMEOUT);
 		final Time rpcTimeout;
@@ -78,7 +136,20 @@ public class SlotManagerConfiguration {
 		final Time taskManagerTimeout = Time.milliseconds(
 				configuration.getLong(ResourceManagerOptions.TASK_MANAGER_TIMEOUT));
 
-		return new SlotManagerConfiguration(rpcTimeout, slotRequestTimeout, taskManagerTimeout);
+		final boolean evenlySpreadOutSlots = configuration.getBoolean(JobManagerOptions.EVENLY_SPREAD_OUT_SLOTS);
+
+		final int blacklistMaxFailures = configuration.getBoolean(JobManagerOptions.SLOT_BLACKLIST_ENABLED) ?
+			configuration.getInteger(JobManagerOptions.SLOT_BLACKLIST_MAX_FAILURES) :
+			0;
+
+		return new SlotManagerConfiguration(
+			rpcTimeout,
+			slotRequestTimeout,
+			taskManagerTimeout,
+			evenlySpreadOutSlots,
+			blacklistMaxFailures,
+			Time.milliseconds(configuration.getLong(JobManagerOptions.SLOT_BLACKLIST_FAILURE_WINDOW)),
+			Time.milliseconds(configuration.getLong(JobManagerOptions.SLOT_BLACKLIST_DURATION)));
 	}
 
 	private static Time getSlotRequestTimeout(final Configuration configuration) {
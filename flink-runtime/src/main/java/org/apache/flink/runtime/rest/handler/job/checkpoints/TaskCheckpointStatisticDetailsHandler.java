@@ -186,7 +186,11 @@ public class TaskCheckpointStatisticDetailsHandler
 						subtask.getAsyncCheckpointDuration()),
 					new SubtaskCheckpointStatistics.CompletedSubtaskCheckpointStatistics.CheckpointAlignment(
 						subtask.getAlignmentBuffered(),
-						subtask.getAlignmentDuration())
+						subtask.getAlignmentDuration()),
+					new SubtaskCheckpointStatistics.CompletedSubtaskCheckpointStatistics.CheckpointBarrierPropagation(
+						subtask.getCheckpointStartDelay(),
+						subtask.getBarrierPropagationDuration(),
+						subtask.getLastAlignedChannel())
 				));
 			}
 		}
@@ -64,6 +64,8 @@ import java.util.concurrent.CompletableFuture;
  * </pre>
  * If the body is omitted, or the field {@code target-property} is {@code null}, the default
  * savepoint directory as specified by {@link CheckpointingOptions#SAVEPOINT_DIRECTORY} will be used.
+ * If the field {@code drain} is {@code true}, the sources advance to the end of event time before
+ * the savepoint is taken, and the job is stopped once the savepoint has completed.
  * As written above, the response will contain a request id, e.g.,
  * <pre>
  * { "request-id": "7d273f5a62eb4730b9dea8e833733c1e" }
@@ -129,7 +131,12 @@ public class SavepointHandlers extends AbstractAsynchronousOperationHandlers<Asy
 
 			final boolean cancelJob = request.getRequestBody().isCancelJob();
 			final String targetDirectory = requestedTargetDirectory != null ? requestedTargetDirectory : defaultSavepointDir;
-			return gateway.triggerSavepoint(jobId, targetDirectory, cancelJob, RpcUtils.INF_TIMEOUT);
+
+			if (request.getRequestBody().isDrain()) {
+				return gateway.stopWithSavepoint(jobId, targetDirectory, RpcUtils.INF_TIMEOUT);
+			} else {
+				return gateway.triggerSavepoint(jobId, targetDirectory, cancelJob, RpcUtils.INF_TIMEOUT);
+			}
 		}
 
 		@Override
@@ -97,6 +97,8 @@ public class SubtaskCheckpointStatistics {
 
 		public static final String FIELD_NAME_ALIGNMENT = "alignment";
 
+		public static final String FIELD_NAME_BARRIER = "barrier";
+
 		@JsonProperty(FIELD_NAME_ACK_TIMESTAMP)
 		private final long ackTimestamp;
 
@@ -112,6 +114,9 @@ public class SubtaskCheckpointStatistics {
 		@JsonProperty(FIELD_NAME_ALIGNMENT)
 		private final CheckpointAlignment alignment;
 
+		@JsonProperty(FIELD_NAME_BARRIER)
+		private final CheckpointBarrierPropagation barrierPropagation;
+
 		@JsonCreator
 		public CompletedSubtaskCheckpointStatistics(
 				@JsonProperty(FIELD_NAME_INDEX) int index,
@@ -119,13 +124,15 @@ public class SubtaskCheckpointStatistics {
 				@JsonProperty(FIELD_NAME_DURATION) long duration,
 				@JsonProperty(FIELD_NAME_STATE_SIZE) long stateSize,
 				@JsonProperty(FIELD_NAME_CHECKPOINT_DURATION) CheckpointDuration checkpointDuration,
-				@JsonProperty(FIELD_NAME_ALIGNMENT) CheckpointAlignment alignment) {
+				@JsonProperty(FIELD_NAME_ALIGNMENT) CheckpointAlignment alignment,
+				@JsonProperty(FIELD_NAME_BARRIER) CheckpointBarrierPropagation barrierPropagation) {
 			super(index, "completed");
 			this.ackTimestamp = ackTimestamp;
 			this.duration = duration;
 			this.stateSize = stateSize;
 			this.checkpointDuration = checkpointDuration;
 			this.alignment = alignment;
+			this.barrierPropagation = barrierPropagation;
 		}
 
 		public long getAckTimestamp() {
@@ -148,6 +155,10 @@ public class SubtaskCheckpointStatistics {
 			return alignment;
 		}
 
+		public CheckpointBarrierPropagation getBarrierPropagation() {
+			return barrierPropagation;
+		}
+
 		@Override
 		public boolean equals(Object o) {
 			if (this == o) {
@@ -161,12 +172,13 @@ public class SubtaskCheckpointStatistics {
 				duration == that.duration &&
 				stateSize == that.stateSize &&
 				Objects.equals(checkpointDuration, that.checkpointDuration) &&
-				Objects.equals(alignment, that.alignment);
+				Objects.equals(alignment, that.alignment) &&
+				Objects.equals(barrierPropagation, that.barrierPropagation);
 		}
 
 		@Override
 		public int hashCode() {
-			return Objects.hash(ackTimestamp, duration, stateSize, checkpointDuration, alignment);
+			return Objects.hash(ackTimestamp, duration, stateSize, checkpointDuration, alignment, barrierPropagation);
 		}
 
 		/**
@@ -268,6 +280,68 @@ public class SubtaskCheckpointStatistics {
 				return Objects.hash(alignmentBuffered, alignmentDuration);
 			}
 		}
+
+		/**
+		 * Propagation statistics of the checkpoint barriers to the subtask.
+		 */
+		public static final class CheckpointBarrierPropagation {
+
+			public static final String FIELD_NAME_START_DELAY = "start_delay";
+
+			public static final String FIELD_NAME_PROPAGATION_DURATION = "end_to_end_propagation";
+
+			public static final String FIELD_NAME_LAST_ALIGNED_CHANNEL = "last_aligned_channel";
+
+			@JsonProperty(FIELD_NAME_START_DELAY)
+			private final long startDelay;
+
+			@JsonProperty(FIELD_NAME_PROPAGATION_DURATION)
+			private final long propagationDuration;
+
+			@JsonProperty(FIELD_NAME_LAST_ALIGNED_CHANNEL)
+			private final int lastAlignedChannel;
+
+			@JsonCreator
+			public CheckpointBarrierPropagation(
+					@JsonProperty(FIELD_NAME_START_DELAY) long startDelay,
+					@JsonProperty(FIELD_NAME_PROPAGATION_DURATION) long propagationDuration,
+					@JsonProperty(FIELD_NAME_LAST_ALIGNED_CHANNEL) int lastAlignedChannel) {
+				this.startDelay = startDelay;
+				this.propagationDuration = propagationDuration;
+				this.lastAlignedChannel = lastAlignedChannel;
+			}
+
+			public long getStartDelay() {
+				return startDelay;
+			}
+
+			public long getPropagationDuration() {
+				return propagationDuration;
+			}
+
+			public int getLastAlignedChannel() {
+				return lastAlignedChannel;
+			}
+
+			@Override
+			public boolean equals(Object o) {
+				if (this == o) {
+					return true;
+				}
+				if (o == null || getClass() != o.getClass()) {
+					return false;
+				}
+				CheckpointBarrierPropagation that = (CheckpointBarrierPropagation) o;
+				return startDelay == that.startDelay &&
+					propagationDuration == that.propagationDuration &&
+					lastAlignedChannel == that.lastAlignedChannel;
+			}
+
+			@Override
+			public int hashCode() {
+				return Objects.hash(startDelay, propagationDuration, lastAlignedChannel);
+			}
+		}
 	}
 
 	/**
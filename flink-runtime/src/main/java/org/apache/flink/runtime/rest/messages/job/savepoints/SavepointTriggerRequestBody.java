@@ -34,6 +34,8 @@ public class SavepointTriggerRequestBody implements RequestBody {
 
 	private static final String FIELD_NAME_CANCEL_JOB = "cancel-job";
 
+	private static final String FIELD_NAME_DRAIN = "drain";
+
 	@JsonProperty(FIELD_NAME_TARGET_DIRECTORY)
 	@Nullable
 	private final String targetDirectory;
@@ -41,12 +43,22 @@ public class SavepointTriggerRequestBody implements RequestBody {
 	@JsonProperty(FIELD_NAME_CANCEL_JOB)
 	private final boolean cancelJob;
 
+	/** Whether the job is stopped with the savepoint after the sources advanced to the end of event time. */
+	@JsonProperty(FIELD_NAME_DRAIN)
+	private final boolean drain;
+
+	public SavepointTriggerRequestBody(@Nullable final String targetDirectory, final boolean cancelJob) {
+		this(targetDirectory, cancelJob, false);
+	}
+
 	@JsonCreator
 	public SavepointTriggerRequestBody(
 			@Nullable @JsonProperty(FIELD_NAME_TARGET_DIRECTORY) final String targetDirectory,
-			@JsonProperty(value = FIELD_NAME_CANCEL_JOB, defaultValue = "false") final boolean cancelJob) {
+			@JsonProperty(value = FIELD_NAME_CANCEL_JOB, defaultValue = "false") final boolean cancelJob,
+			@JsonProperty(value = FIELD_NAME_DRAIN, defaultValue = "false") final boolean drain) {
 		this.targetDirectory = targetDirectory;
 		this.cancelJob = cancelJob;
+		this.drain = drain;
 	}
 
 	@Nullable
@@ -57,4 +69,8 @@ public class SavepointTriggerRequestBody implements RequestBody {
 	public boolean isCancelJob() {
 		return cancelJob;
 	}
+
+	public boolean isDrain() {
+		return drain;
+	}
 }
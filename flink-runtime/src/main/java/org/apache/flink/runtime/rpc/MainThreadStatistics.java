@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.rpc;
+
+import org.apache.flink.metrics.Counter;
+import org.apache.flink.metrics.Gauge;
+import org.apache.flink.metrics.Histogram;
+import org.apache.flink.metrics.MetricGroup;
+import org.apache.flink.metrics.SimpleCounter;
+import org.apache.flink.runtime.metrics.DescriptiveStatisticsHistogram;
+import org.apache.flink.runtime.metrics.MetricNames;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Statistics about the messages which are processed by the main thread of an {@link RpcEndpoint}.
+ *
+ * <p>The statistics are updated by the rpc server which runs the main thread. The queue length is
+ * increased by the senders of a message and decreased by the main thread once it takes the message
+ * out of its queue. It only covers messages which have been sent from within the same process,
+ * because remote senders cannot update it.
+ */
+public class MainThreadStatistics {
+
+	private static final int PROCESSING_TIME_HISTORY_SIZE = 1024;
+
+	private final Counter numProcessedMessages = new SimpleCounter();
+
+	/** Processing time of the most recent messages in microseconds. */
+	private final Histogram processingTime = new DescriptiveStatisticsHistogram(PROCESSING_TIME_HISTORY_SIZE);
+
+	/** Number of messages which have been sent to the main thread but have not been processed yet. */
+	private final AtomicInteger queueLength = new AtomicInteger();
+
+	/**
+	 * Records that a message has been sent to the main thread.
+	 */
+	public void reportEnqueuedMessage() {
+		queueLength.incrementAndGet();
+	}
+
+	/**
+	 * Records that the main thread has taken a message out of its queue.
+	 */
+	public void reportDequeuedMessage() {
+		queueLength.decrementAndGet();
+	}
+
+	/**
+	 * Records that the main thread has processed a message.
+	 *
+	 * @param processingTimeNanos time it took to process the message in nanoseconds
+	 */
+	public void reportProcessedMessage(long processingTimeNanos) {
+		numProcessedMessages.inc();
+		processingTime.update(TimeUnit.NANOSECONDS.toMicros(processingTimeNanos));
+	}
+
+	public int getQueueLength() {
+		// messages of senders which could not be counted must not lead to a negative length
+		return Math.max(0, queueLength.get());
+	}
+
+	public long getNumProcessedMessages() {
+		return numProcessedMessages.getCount();
+	}
+
+	/**
+	 * Registers the main thread metrics at the given metric group.
+	 *
+	 * @param metricGroup to register the metrics at
+	 */
+	public void registerMetrics(MetricGroup metricGroup) {
+		metricGroup.gauge(MetricNames.MAIN_THREAD_QUEUE_LENGTH, (Gauge<Integer>) this::getQueueLength);
+		metricGroup.counter(MetricNames.MAIN_THREAD_NUM_PROCESSED_MESSAGES, numProcessedMessages);
+		metricGroup.histogram(MetricNames.MAIN_THREAD_PROCESSING_TIME, processingTime);
+	}
+}
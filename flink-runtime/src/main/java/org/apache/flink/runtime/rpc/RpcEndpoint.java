@@ -75,6 +75,9 @@ public abstract class RpcEndpoint implements RpcGateway {
 	 * of the executing rpc server. */
 	private final MainThreadExecutor mainThreadExecutor;
 
+	/** Statistics about the messages processed by the main thread, updated by the rpc server. */
+	private final MainThreadStatistics mainThreadStatistics = new MainThreadStatistics();
+
 	/**
 	 * Initializes the RPC endpoint.
 	 *
@@ -108,6 +111,15 @@ public abstract class RpcEndpoint implements RpcGateway {
 		return endpointId;
 	}
 
+	/**
+	 * Returns the statistics about the messages processed by the main thread of this endpoint.
+	 *
+	 * @return Statistics of the endpoint's main thread
+	 */
+	public MainThreadStatistics getMainThreadStatistics() {
+		return mainThreadStatistics;
+	}
+
 	// ------------------------------------------------------------------------
 	//  Start & shutdown & lifecycle callbacks
 	// ------------------------------------------------------------------------
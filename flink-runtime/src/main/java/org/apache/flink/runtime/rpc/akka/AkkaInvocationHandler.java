@@ -22,6 +22,7 @@ import org.apache.flink.api.common.time.Time;
 import org.apache.flink.runtime.concurrent.FutureUtils;
 import org.apache.flink.runtime.rpc.FencedRpcGateway;
 import org.apache.flink.runtime.rpc.MainThreadExecutable;
+import org.apache.flink.runtime.rpc.MainThreadStatistics;
 import org.apache.flink.runtime.rpc.RpcGateway;
 import org.apache.flink.runtime.rpc.RpcServer;
 import org.apache.flink.runtime.rpc.RpcTimeout;
@@ -86,13 +87,18 @@ class AkkaInvocationHandler implements InvocationHandler, AkkaBasedEndpoint, Rpc
 	@Nullable
 	private final CompletableFuture<Void> terminationFuture;
 
+	// null if the rpc endpoint is not running in the same process
+	@Nullable
+	private final MainThreadStatistics mainThreadStatistics;
+
 	AkkaInvocationHandler(
 			String address,
 			String hostname,
 			ActorRef rpcEndpoint,
 			Time timeout,
 			long maximumFramesize,
-			@Nullable CompletableFuture<Void> terminationFuture) {
+			@Nullable CompletableFuture<Void> terminationFuture,
+			@Nullable MainThreadStatistics mainThreadStatistics) {
 
 		this.address = Preconditions.checkNotNull(address);
 		this.hostname = Preconditions.checkNotNull(hostname);
@@ -101,6 +107,7 @@ class AkkaInvocationHandler implements InvocationHandler, AkkaBasedEndpoint, Rpc
 		this.timeout = Preconditions.checkNotNull(timeout);
 		this.maximumFramesize = maximumFramesize;
 		this.terminationFuture = terminationFuture;
+		this.mainThreadStatistics = mainThreadStatistics;
 	}
 
 	@Override
@@ -314,6 +321,7 @@ class AkkaInvocationHandler implements InvocationHandler, AkkaBasedEndpoint, Rpc
 	 * @param message to send to the RPC endpoint.
 	 */
 	protected void tell(Object message) {
+		reportEnqueuedMessage();
 		rpcEndpoint.tell(message, ActorRef.noSender());
 	}
 
@@ -326,10 +334,21 @@ class AkkaInvocationHandler implements InvocationHandler, AkkaBasedEndpoint, Rpc
 	 * @return Response future
 	 */
 	protected CompletableFuture<?> ask(Object message, Time timeout) {
+		reportEnqueuedMessage();
 		return FutureUtils.toJava(
 			Patterns.ask(rpcEndpoint, message, timeout.toMilliseconds()));
 	}
 
+	/**
+	 * Counts a message which is sent to the RPC endpoint in the queue length of its main thread.
+	 * Only messages to RPC endpoints in the same process are counted.
+	 */
+	protected void reportEnqueuedMessage() {
+		if (mainThreadStatistics != null) {
+			mainThreadStatistics.reportEnqueuedMessage();
+		}
+	}
+
 	@Override
 	public String getAddress() {
 		return address;
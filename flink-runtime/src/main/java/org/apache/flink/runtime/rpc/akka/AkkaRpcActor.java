@@ -29,10 +29,12 @@ import org.apache.flink.runtime.rpc.akka.messages.Processing;
 import org.apache.flink.runtime.rpc.exceptions.RpcConnectionException;
 import org.apache.flink.runtime.rpc.messages.CallAsync;
 import org.apache.flink.runtime.rpc.messages.HandshakeSuccessMessage;
+import org.apache.flink.runtime.rpc.messages.LocalFencedMessage;
 import org.apache.flink.runtime.rpc.messages.LocalRpcInvocation;
 import org.apache.flink.runtime.rpc.messages.RemoteHandshakeMessage;
 import org.apache.flink.runtime.rpc.messages.RpcInvocation;
 import org.apache.flink.runtime.rpc.messages.RunAsync;
+import org.apache.flink.runtime.rpc.messages.UnfencedMessage;
 import org.apache.flink.util.ExceptionUtils;
 
 import akka.actor.ActorRef;
@@ -129,6 +131,11 @@ class AkkaRpcActor<T extends RpcEndpoint & RpcGateway> extends UntypedActor {
 
 	@Override
 	public void onReceive(final Object message) {
+		if (isLocalMessage(message)) {
+			// local messages have been counted by their sender, see AkkaInvocationHandler#reportEnqueuedMessage
+			rpcEndpoint.getMainThreadStatistics().reportDequeuedMessage();
+		}
+
 		if (message instanceof RemoteHandshakeMessage) {
 			handleHandshakeMessage((RemoteHandshakeMessage) message);
 		} else if (message.equals(Processing.START)) {
@@ -137,10 +144,12 @@ class AkkaRpcActor<T extends RpcEndpoint & RpcGateway> extends UntypedActor {
 			state = State.STOPPED;
 		} else if (state == State.STARTED) {
 			mainThreadValidator.enterMainThread();
+			final long startTimeNanos = System.nanoTime();
 
 			try {
 				handleRpcMessage(message);
 			} finally {
+				rpcEndpoint.getMainThreadStatistics().reportProcessedMessage(System.nanoTime() - startTimeNanos);
 				mainThreadValidator.exitMainThread();
 			}
 		} else {
@@ -171,6 +180,21 @@ class AkkaRpcActor<T extends RpcEndpoint & RpcGateway> extends UntypedActor {
 		}
 	}
 
+	/**
+	 * Checks whether the given message has been sent from within the same process. Only these
+	 * messages are counted in the main thread's queue length.
+	 */
+	private static boolean isLocalMessage(Object message) {
+		if (message instanceof UnfencedMessage) {
+			return isLocalMessage(((UnfencedMessage<?>) message).getPayload());
+		} else {
+			return message instanceof LocalRpcInvocation ||
+				message instanceof LocalFencedMessage ||
+				message instanceof RunAsync ||
+				message instanceof CallAsync;
+		}
+	}
+
 	private void handleHandshakeMessage(RemoteHandshakeMessage handshakeMessage) {
 		if (!isCompatibleVersion(handshakeMessage.getVersion())) {
 			sendErrorIfSender(new AkkaHandshakeException(
@@ -342,8 +366,16 @@ class AkkaRpcActor<T extends RpcEndpoint & RpcGateway> extends UntypedActor {
 
 				final Object envelopedSelfMessage = envelopeSelfMessage(message);
 
-				getContext().system().scheduler().scheduleOnce(delay, getSelf(), envelopedSelfMessage,
-						getContext().dispatcher(), ActorRef.noSender());
+				final ActorRef self = getSelf();
+
+				getContext().system().scheduler().scheduleOnce(
+					delay,
+					() -> {
+						// the message is counted once it is queued again
+						rpcEndpoint.getMainThreadStatistics().reportEnqueuedMessage();
+						self.tell(envelopedSelfMessage, ActorRef.noSender());
+					},
+					getContext().dispatcher());
 			}
 		}
 	}
@@ -27,6 +27,7 @@ import org.apache.flink.runtime.concurrent.akka.ActorSystemScheduledExecutorAdap
 import org.apache.flink.runtime.rpc.FencedMainThreadExecutable;
 import org.apache.flink.runtime.rpc.FencedRpcEndpoint;
 import org.apache.flink.runtime.rpc.FencedRpcGateway;
+import org.apache.flink.runtime.rpc.MainThreadStatistics;
 import org.apache.flink.runtime.rpc.RpcEndpoint;
 import org.apache.flink.runtime.rpc.RpcGateway;
 import org.apache.flink.runtime.rpc.RpcServer;
@@ -50,6 +51,7 @@ import akka.pattern.Patterns;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.ThreadSafe;
 
@@ -176,7 +178,8 @@ public class AkkaRpcService implements RpcService {
 					actorRef,
 					timeout,
 					maximumFramesize,
-					null);
+					null,
+					getMainThreadStatistics(actorRef));
 			});
 	}
 
@@ -196,6 +199,7 @@ public class AkkaRpcService implements RpcService {
 					timeout,
 					maximumFramesize,
 					null,
+					getMainThreadStatistics(actorRef),
 					() -> fencingToken);
 			});
 	}
@@ -248,6 +252,7 @@ public class AkkaRpcService implements RpcService {
 				timeout,
 				maximumFramesize,
 				terminationFuture,
+				rpcEndpoint.getMainThreadStatistics(),
 				((FencedRpcEndpoint<?>) rpcEndpoint)::getFencingToken);
 
 			implementedRpcGateways.add(FencedMainThreadExecutable.class);
@@ -258,7 +263,8 @@ public class AkkaRpcService implements RpcService {
 				actorRef,
 				timeout,
 				maximumFramesize,
-				terminationFuture);
+				terminationFuture,
+				rpcEndpoint.getMainThreadStatistics());
 		}
 
 		// Rather than using the System ClassLoader directly, we derive the ClassLoader
@@ -278,14 +284,16 @@ public class AkkaRpcService implements RpcService {
 	@Override
 	public <F extends Serializable> RpcServer fenceRpcServer(RpcServer rpcServer, F fencingToken) {
 		if (rpcServer instanceof AkkaBasedEndpoint) {
+			final ActorRef actorRef = ((AkkaBasedEndpoint) rpcServer).getActorRef();
 
 			InvocationHandler fencedInvocationHandler = new FencedAkkaInvocationHandler<>(
 				rpcServer.getAddress(),
 				rpcServer.getHostname(),
-				((AkkaBasedEndpoint) rpcServer).getActorRef(),
+				actorRef,
 				timeout,
 				maximumFramesize,
 				null,
+				getMainThreadStatistics(actorRef),
 				() -> fencingToken);
 
 			// Rather than using the System ClassLoader directly, we derive the ClassLoader
@@ -409,6 +417,18 @@ public class AkkaRpcService implements RpcService {
 		return Tuple2.of(actorAddress, hostname);
 	}
 
+	/**
+	 * Returns the main thread statistics of the rpc endpoint behind the given actor, if the rpc
+	 * endpoint has been started by this rpc service.
+	 */
+	@Nullable
+	private MainThreadStatistics getMainThreadStatistics(ActorRef actorRef) {
+		synchronized (lock) {
+			final RpcEndpoint rpcEndpoint = actors.get(actorRef);
+			return rpcEndpoint != null ? rpcEndpoint.getMainThreadStatistics() : null;
+		}
+	}
+
 	private <C extends RpcGateway> CompletableFuture<C> connectInternal(
 			final String address,
 			final Class<C> clazz,
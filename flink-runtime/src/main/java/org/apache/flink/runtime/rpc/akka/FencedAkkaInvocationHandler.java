@@ -23,6 +23,7 @@ import org.apache.flink.runtime.concurrent.FutureUtils;
 import org.apache.flink.runtime.rpc.FencedMainThreadExecutable;
 import org.apache.flink.runtime.rpc.FencedRpcEndpoint;
 import org.apache.flink.runtime.rpc.FencedRpcGateway;
+import org.apache.flink.runtime.rpc.MainThreadStatistics;
 import org.apache.flink.runtime.rpc.messages.CallAsync;
 import org.apache.flink.runtime.rpc.messages.FencedMessage;
 import org.apache.flink.runtime.rpc.messages.LocalFencedMessage;
@@ -61,8 +62,9 @@ public class FencedAkkaInvocationHandler<F extends Serializable> extends AkkaInv
 			Time timeout,
 			long maximumFramesize,
 			@Nullable CompletableFuture<Void> terminationFuture,
+			@Nullable MainThreadStatistics mainThreadStatistics,
 			Supplier<F> fencingTokenSupplier) {
-		super(address, hostname, rpcEndpoint, timeout, maximumFramesize, terminationFuture);
+		super(address, hostname, rpcEndpoint, timeout, maximumFramesize, terminationFuture, mainThreadStatistics);
 
 		this.fencingTokenSupplier = Preconditions.checkNotNull(fencingTokenSupplier);
 	}
@@ -84,6 +86,7 @@ public class FencedAkkaInvocationHandler<F extends Serializable> extends AkkaInv
 		checkNotNull(runnable, "runnable");
 
 		if (isLocal) {
+			reportEnqueuedMessage();
 			getActorRef().tell(
 				new UnfencedMessage<>(new RunAsync(runnable, 0L)), ActorRef.noSender());
 		} else {
@@ -98,6 +101,8 @@ public class FencedAkkaInvocationHandler<F extends Serializable> extends AkkaInv
 		checkNotNull(timeout, "timeout");
 
 		if (isLocal) {
+			reportEnqueuedMessage();
+
 			@SuppressWarnings("unchecked")
 			CompletableFuture<V> resultFuture = (CompletableFuture<V>) FutureUtils.toJava(
 				Patterns.ask(
@@ -248,6 +248,12 @@ public class IncrementalKeyedStateHandle implements KeyedStateHandle {
 			// deduplication and returns the previous reference.
 			sharedStateHandle.setValue(result.getReference());
 		}
+
+		// the private state of this handle may still be written into files that are shared with other handles
+		StateUtil.registerSharedStatesIfComposite(metaStateHandle, stateRegistry);
+		for (StreamStateHandle privateStateHandle : privateState.values()) {
+			StateUtil.registerSharedStatesIfComposite(privateStateHandle, stateRegistry);
+		}
 	}
 
 	/**
@@ -94,7 +94,8 @@ public class KeyGroupsStateHandle implements StreamStateHandle, KeyedStateHandle
 
 	@Override
 	public void registerSharedStates(SharedStateRegistry stateRegistry) {
-		// No shared states
+		// the key groups are not shared, but the stream they are written to may be
+		StateUtil.registerSharedStatesIfComposite(stateHandle, stateRegistry);
 	}
 
 	@Override
@@ -48,6 +48,21 @@ public class StateUtil {
 		return handle == null ? 0 : handle.getStateSize();
 	}
 
+	/**
+	 * Registers the shared states of the given state object with the given registry, if the state object
+	 * is a {@link CompositeStateHandle}. This is used for stream state handles nested in other handles,
+	 * which may point into files that are shared by many handles, like
+	 * {@link org.apache.flink.runtime.state.filesystem.SegmentFileStateHandle}.
+	 *
+	 * @param stateObject The state object, may be null.
+	 * @param stateRegistry The registry where shared states are registered.
+	 */
+	public static void registerSharedStatesIfComposite(StateObject stateObject, SharedStateRegistry stateRegistry) {
+		if (stateObject instanceof CompositeStateHandle) {
+			((CompositeStateHandle) stateObject).registerSharedStates(stateRegistry);
+		}
+	}
+
 	/**
 	 * Iterates through the passed state handles and calls discardState() on each handle that is not null. All
 	 * occurring exceptions are suppressed and collected until the iteration is over and emitted as a single exception.
@@ -20,6 +20,7 @@ package org.apache.flink.runtime.state.filesystem;
 
 import org.apache.flink.api.common.JobID;
 import org.apache.flink.core.fs.FileSystem;
+import org.apache.flink.core.fs.FileSystemKind;
 import org.apache.flink.core.fs.Path;
 import org.apache.flink.runtime.state.CheckpointStorageLocation;
 import org.apache.flink.runtime.state.CheckpointStorageLocationReference;
@@ -27,6 +28,9 @@ import org.apache.flink.runtime.state.CheckpointStreamFactory;
 import org.apache.flink.runtime.state.CheckpointStreamFactory.CheckpointStateOutputStream;
 import org.apache.flink.runtime.state.filesystem.FsCheckpointStreamFactory.FsCheckpointStateOutputStream;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import javax.annotation.Nullable;
 
 import java.io.IOException;
@@ -38,6 +42,8 @@ import static org.apache.flink.util.Preconditions.checkArgument;
  */
 public class FsCheckpointStorage extends AbstractFsCheckpointStorage {
 
+	private static final Logger LOG = LoggerFactory.getLogger(FsCheckpointStorage.class);
+
 	private final FileSystem fileSystem;
 
 	private final Path checkpointsDirectory;
@@ -48,15 +54,29 @@ public class FsCheckpointStorage extends AbstractFsCheckpointStorage {
 
 	private final int fileSizeThreshold;
 
+	/** Exclusive checkpoint state up to this size is appended to segment files. Zero disables segment files. */
+	private final int maxSegmentedStateSize;
+
 	public FsCheckpointStorage(
 			Path checkpointBaseDirectory,
 			@Nullable Path defaultSavepointDirectory,
 			JobID jobId,
 			int fileSizeThreshold) throws IOException {
 
+		this(checkpointBaseDirectory, defaultSavepointDirectory, jobId, fileSizeThreshold, 0);
+	}
+
+	public FsCheckpointStorage(
+			Path checkpointBaseDirectory,
+			@Nullable Path defaultSavepointDirectory,
+			JobID jobId,
+			int fileSizeThreshold,
+			int maxSegmentedStateSize) throws IOException {
+
 		super(jobId, defaultSavepointDirectory);
 
 		checkArgument(fileSizeThreshold >= 0);
+		checkArgument(maxSegmentedStateSize >= 0);
 
 		this.fileSystem = checkpointBaseDirectory.getFileSystem();
 		this.checkpointsDirectory = getCheckpointDirectoryForJob(checkpointBaseDirectory, jobId);
@@ -64,6 +84,15 @@ public class FsCheckpointStorage extends AbstractFsCheckpointStorage {
 		this.taskOwnedStateDirectory = new Path(checkpointsDirectory, CHECKPOINT_TASK_OWNED_STATE_DIR);
 		this.fileSizeThreshold = fileSizeThreshold;
 
+		// appended state must be persistent once the segment file is synced, which object stores do not support
+		if (maxSegmentedStateSize > 0 && fileSystem.getKind() != FileSystemKind.FILE_SYSTEM) {
+			LOG.warn("Segment aggregation of checkpoint state is not supported by the file system of {} and is disabled.",
+				checkpointBaseDirectory);
+			this.maxSegmentedStateSize = 0;
+		} else {
+			this.maxSegmentedStateSize = maxSegmentedStateSize;
+		}
+
 		// initialize the dedicated directories
 		fileSystem.mkdirs(checkpointsDirectory);
 		fileSystem.mkdirs(sharedStateDirectory);
@@ -101,7 +130,8 @@ public class FsCheckpointStorage extends AbstractFsCheckpointStorage {
 				sharedStateDirectory,
 				taskOwnedStateDirectory,
 				CheckpointStorageLocationReference.getDefault(),
-				fileSizeThreshold);
+				fileSizeThreshold,
+				maxSegmentedStateSize);
 	}
 
 	@Override
@@ -119,7 +149,8 @@ public class FsCheckpointStorage extends AbstractFsCheckpointStorage {
 					sharedStateDirectory,
 					taskOwnedStateDirectory,
 					reference,
-					fileSizeThreshold);
+					fileSizeThreshold,
+					maxSegmentedStateSize);
 		}
 		else {
 			// location encoded in the reference
@@ -49,6 +49,8 @@ public class FsCheckpointStorageLocation extends FsCheckpointStreamFactory imple
 
 	private final int fileStateSizeThreshold;
 
+	private final int maxSegmentedStateSize;
+
 	public FsCheckpointStorageLocation(
 			FileSystem fileSystem,
 			Path checkpointDir,
@@ -57,7 +59,19 @@ public class FsCheckpointStorageLocation extends FsCheckpointStreamFactory imple
 			CheckpointStorageLocationReference reference,
 			int fileStateSizeThreshold) {
 
-		super(fileSystem, checkpointDir, sharedStateDir, fileStateSizeThreshold);
+		this(fileSystem, checkpointDir, sharedStateDir, taskOwnedStateDir, reference, fileStateSizeThreshold, 0);
+	}
+
+	public FsCheckpointStorageLocation(
+			FileSystem fileSystem,
+			Path checkpointDir,
+			Path sharedStateDir,
+			Path taskOwnedStateDir,
+			CheckpointStorageLocationReference reference,
+			int fileStateSizeThreshold,
+			int maxSegmentedStateSize) {
+
+		super(fileSystem, checkpointDir, sharedStateDir, fileStateSizeThreshold, maxSegmentedStateSize);
 
 		checkArgument(fileStateSizeThreshold >= 0);
 
@@ -69,6 +83,7 @@ public class FsCheckpointStorageLocation extends FsCheckpointStreamFactory imple
 
 		this.metadataFilePath = new Path(checkpointDir, AbstractFsCheckpointStorage.METADATA_FILE_NAME);
 		this.fileStateSizeThreshold = fileStateSizeThreshold;
+		this.maxSegmentedStateSize = maxSegmentedStateSize;
 	}
 
 	// ------------------------------------------------------------------------
@@ -126,6 +141,7 @@ public class FsCheckpointStorageLocation extends FsCheckpointStreamFactory imple
 				", metadataFilePath=" + metadataFilePath +
 				", reference=" + reference +
 				", fileStateSizeThreshold=" + fileStateSizeThreshold +
+				", maxSegmentedStateSize=" + maxSegmentedStateSize +
 				'}';
 	}
 
@@ -46,6 +46,11 @@ import static org.apache.flink.util.Preconditions.checkNotNull;
  * files are written, but the state is returned inline in the state handle instead. This reduces
  * the problem of many small files that have only few bytes.
  *
+ * <p>Optionally, state for checkpoint exclusive data that is larger than that threshold but smaller
+ * than a second threshold is appended to shared segment files (see {@link SegmentFileWriter}),
+ * together with the state of all other tasks in the same process that write state for the same
+ * checkpoint. That further reduces the number of files per checkpoint.
+ *
  * <h2>Note on directory creation</h2>
  *
  * <p>The given target directory must already exist, this factory does not ensure that the
@@ -81,6 +86,9 @@ public class FsCheckpointStreamFactory implements CheckpointStreamFactory {
 	/** Cached handle to the file system for file operations. */
 	private final FileSystem filesystem;
 
+	/** Exclusive state up to this size is appended to segment files. Zero disables segment files. */
+	private final int maxSegmentedStateSize;
+
 	/**
 	 * Creates a new stream factory that stores its checkpoint data in the file system and location
 	 * defined by the given Path.
@@ -100,6 +108,32 @@ public class FsCheckpointStreamFactory implements CheckpointStreamFactory {
 			Path sharedStateDirectory,
 			int fileStateSizeThreshold) {
 
+		this(fileSystem, checkpointDirectory, sharedStateDirectory, fileStateSizeThreshold, 0);
+	}
+
+	/**
+	 * Creates a new stream factory that stores its checkpoint data in the file system and location
+	 * defined by the given Path, and appends checkpoint exclusive state chunks up to the given size
+	 * to segment files.
+	 *
+	 * <p><b>Important:</b> The given checkpoint directory must already exist. Refer to the class-level
+	 * JavaDocs for an explanation why this factory must not try and create the checkpoints.
+	 *
+	 * @param fileSystem The filesystem to write to.
+	 * @param checkpointDirectory The directory for checkpoint exclusive state data.
+	 * @param sharedStateDirectory The directory for shared checkpoint data.
+	 * @param fileStateSizeThreshold State up to this size will be stored as part of the metadata,
+	 *                             rather than in files
+	 * @param maxSegmentedStateSize Exclusive state up to this size will be appended to segment files,
+	 *                              rather than written to individual files. Zero disables segment files.
+	 */
+	public FsCheckpointStreamFactory(
+			FileSystem fileSystem,
+			Path checkpointDirectory,
+			Path sharedStateDirectory,
+			int fileStateSizeThreshold,
+			int maxSegmentedStateSize) {
+
 		if (fileStateSizeThreshold < 0) {
 			throw new IllegalArgumentException("The threshold for file state size must be zero or larger.");
 		}
@@ -107,22 +141,37 @@ public class FsCheckpointStreamFactory implements CheckpointStreamFactory {
 			throw new IllegalArgumentException("The threshold for file state size cannot be larger than " +
 				MAX_FILE_STATE_THRESHOLD);
 		}
+		if (maxSegmentedStateSize < 0) {
+			throw new IllegalArgumentException("The maximum size of segmented state must be zero or larger.");
+		}
 
 		this.filesystem = checkNotNull(fileSystem);
 		this.checkpointDirectory = checkNotNull(checkpointDirectory);
 		this.sharedStateDirectory = checkNotNull(sharedStateDirectory);
 		this.fileStateThreshold = fileStateSizeThreshold;
+		this.maxSegmentedStateSize = maxSegmentedStateSize;
 	}
 
 	// ------------------------------------------------------------------------
 
 	@Override
-	public FsCheckpointStateOutputStream createCheckpointStateOutputStream(CheckpointedStateScope scope) throws IOException {
+	public CheckpointStreamFactory.CheckpointStateOutputStream createCheckpointStateOutputStream(CheckpointedStateScope scope) throws IOException {
 
 
 		Path target = scope == CheckpointedStateScope.EXCLUSIVE ?checkpointDirectory: sharedStateDirectory;
 		int bufferSize = Math.max(DEFAULT_WRITE_BUFFER_SIZE, fileStateThreshold);
 
+		// shared state is referenced by later checkpoints on its own, so only exclusive state goes to segments
+		if (scope == CheckpointedStateScope.EXCLUSIVE && maxSegmentedStateSize > fileStateThreshold) {
+			return new FsSegmentedCheckpointStateOutputStream(
+				target,
+				filesystem,
+				SegmentFileWriter.acquire(filesystem, target),
+				bufferSize,
+				fileStateThreshold,
+				maxSegmentedStateSize);
+		}
+
 		return new FsCheckpointStateOutputStream(target, filesystem, bufferSize, fileStateThreshold);
 	}
 
@@ -360,4 +409,200 @@ public class FsCheckpointStreamFactory implements CheckpointStreamFactory {
 			throw new IOException("Could not open output stream for state backend", latestException);
 		}
 	}
+
+	/**
+	 * A {@link CheckpointStreamFactory.CheckpointStateOutputStream} that buffers the state in memory
+	 * and appends it to a segment file upon closing. If the state grows larger than the maximum size
+	 * of segmented state, the stream continues like a {@link FsCheckpointStateOutputStream} that
+	 * writes into its own file.
+	 */
+	public static final class FsSegmentedCheckpointStateOutputStream
+			extends CheckpointStreamFactory.CheckpointStateOutputStream {
+
+		private final Path basePath;
+
+		private final FileSystem fs;
+
+		private final SegmentFileWriter segmentWriter;
+
+		private final int fileStreamBufferSize;
+
+		private final int localStateThreshold;
+
+		private final int maxSegmentedStateSize;
+
+		/** The buffered state, grows up to the maximum size of segmented state. */
+		private byte[] buffer;
+
+		private int pos;
+
+		/** The stream to which the state is written once it exceeds the maximum size of segmented state. */
+		private FsCheckpointStateOutputStream fileStream;
+
+		private boolean segmentWriterReleased;
+
+		private volatile boolean closed;
+
+		public FsSegmentedCheckpointStateOutputStream(
+				Path basePath,
+				FileSystem fs,
+				SegmentFileWriter segmentWriter,
+				int fileStreamBufferSize,
+				int localStateThreshold,
+				int maxSegmentedStateSize) {
+
+			if (maxSegmentedStateSize < localStateThreshold) {
+				throw new IllegalArgumentException();
+			}
+
+			this.basePath = basePath;
+			this.fs = fs;
+			this.segmentWriter = checkNotNull(segmentWriter);
+			this.fileStreamBufferSize = fileStreamBufferSize;
+			this.localStateThreshold = localStateThreshold;
+			this.maxSegmentedStateSize = maxSegmentedStateSize;
+			this.buffer = new byte[Math.min(DEFAULT_WRITE_BUFFER_SIZE, maxSegmentedStateSize)];
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			if (fileStream != null) {
+				fileStream.write(b);
+			} else {
+				ensureCapacity(1);
+				if (fileStream != null) {
+					fileStream.write(b);
+				} else {
+					buffer[pos++] = (byte) b;
+				}
+			}
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			if (fileStream != null) {
+				fileStream.write(b, off, len);
+			} else {
+				ensureCapacity(len);
+				if (fileStream != null) {
+					fileStream.write(b, off, len);
+				} else {
+					System.arraycopy(b, off, buffer, pos, len);
+					pos += len;
+				}
+			}
+		}
+
+		@Override
+		public long getPos() throws IOException {
+			return fileStream != null ? fileStream.getPos() : pos;
+		}
+
+		@Override
+		public void flush() throws IOException {
+			if (closed) {
+				throw new IOException("closed");
+			}
+			// buffered state is only written when the stream is closed
+			if (fileStream != null) {
+				fileStream.flush();
+			}
+		}
+
+		@Override
+		public void sync() throws IOException {
+			if (fileStream != null) {
+				fileStream.sync();
+			}
+		}
+
+		/**
+		 * Checks whether the stream is closed.
+		 * @return True if the stream was closed, false if it is still open.
+		 */
+		public boolean isClosed() {
+			return closed;
+		}
+
+		@Override
+		public void close() {
+			if (!closed) {
+				closed = true;
+				buffer = null;
+				releaseSegmentWriter();
+
+				if (fileStream != null) {
+					fileStream.close();
+				}
+			}
+		}
+
+		@Nullable
+		@Override
+		public StreamStateHandle closeAndGetHandle() throws IOException {
+			// check if there was nothing ever written
+			if (fileStream == null && pos == 0) {
+				// nothing to append, so there is no need to keep the current segment file open for this stream
+				close();
+				return null;
+			}
+
+			synchronized (this) {
+				if (!closed) {
+					try {
+						if (fileStream != null) {
+							return fileStream.closeAndGetHandle();
+						}
+						else if (pos <= localStateThreshold) {
+							return new ByteStreamStateHandle(
+								new Path(basePath, UUID.randomUUID().toString()).toString(),
+								Arrays.copyOf(buffer, pos));
+						}
+						else {
+							return segmentWriter.append(buffer, 0, pos);
+						}
+					} finally {
+						closed = true;
+						buffer = null;
+						releaseSegmentWriter();
+					}
+				}
+				else {
+					throw new IOException("Stream has already been closed and discarded.");
+				}
+			}
+		}
+
+		/**
+		 * Makes sure that the given number of bytes fits into the buffer, or switches to writing
+		 * into an own file if the state would exceed the maximum size of segmented state.
+		 */
+		private void ensureCapacity(int len) throws IOException {
+			if (closed) {
+				throw new IOException("closed");
+			}
+
+			final long required = (long) pos + len;
+			if (required <= buffer.length) {
+				return;
+			}
+
+			if (required > maxSegmentedStateSize) {
+				fileStream = new FsCheckpointStateOutputStream(basePath, fs, fileStreamBufferSize, localStateThreshold);
+				fileStream.write(buffer, 0, pos);
+				buffer = null;
+				pos = 0;
+				releaseSegmentWriter();
+			} else {
+				buffer = Arrays.copyOf(buffer, (int) Math.min(maxSegmentedStateSize, Math.max(required, 2L * buffer.length)));
+			}
+		}
+
+		private void releaseSegmentWriter() {
+			if (!segmentWriterReleased) {
+				segmentWriterReleased = true;
+				segmentWriter.release();
+			}
+		}
+	}
 }
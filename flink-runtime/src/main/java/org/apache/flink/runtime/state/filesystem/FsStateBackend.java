@@ -70,6 +70,11 @@ import static org.apache.flink.util.Preconditions.checkNotNull;
  * checkpoints needs to fit into the JobManager's heap memory. This is typically not a problem,
  * unless the threshold {@link #getMinFileSizeThreshold()} is increased significantly.
  *
+ * <p>On file systems like HDFS, the backend can additionally append the state chunks of all tasks in a
+ * TaskManager that belong to the same checkpoint to shared segment files, see
+ * {@link CheckpointingOptions#FS_SEGMENT_AGGREGATION}. That reduces the number of files per checkpoint
+ * without increasing the size of the checkpoint metadata.
+ *
  * <h1>Persistence Guarantees</h1>
  *
  * <p>Checkpoints from this state backend are as persistent and available as filesystem that is written to.
@@ -106,6 +111,14 @@ public class FsStateBackend extends AbstractFileStateBackend implements Configur
 	 * A value of 'undefined' means not yet configured, in which case the default will be used. */
 	private final TernaryBoolean asynchronousSnapshots;
 
+	/** Switch to append small state chunks to shared segment files.
+	 * A value of 'undefined' means not yet configured, in which case the default will be used. */
+	private final TernaryBoolean segmentAggregation;
+
+	/** State chunks up to this size are appended to segment files, if segment aggregation is enabled.
+	 * A value of '-1' means not yet configured, in which case the default will be used. */
+	private final int maxSegmentedStateSize;
+
 	// -----------------------------------------------------------------------
 
 	/**
@@ -325,6 +338,8 @@ public class FsStateBackend extends AbstractFileStateBackend implements Configur
 
 		this.fileStateThreshold = fileStateSizeThreshold;
 		this.asynchronousSnapshots = asynchronousSnapshots;
+		this.segmentAggregation = TernaryBoolean.UNDEFINED;
+		this.maxSegmentedStateSize = -1;
 	}
 
 	/**
@@ -358,6 +373,25 @@ public class FsStateBackend extends AbstractFileStateBackend implements Configur
 					CheckpointingOptions.FS_SMALL_FILE_THRESHOLD.key(), sizeThreshold,
 					CheckpointingOptions.FS_SMALL_FILE_THRESHOLD.defaultValue());
 		}
+
+		this.segmentAggregation = original.segmentAggregation.resolveUndefined(
+				configuration.getBoolean(CheckpointingOptions.FS_SEGMENT_AGGREGATION));
+
+		final int maxSegmentedStateSize = original.maxSegmentedStateSize >= 0 ?
+				original.maxSegmentedStateSize :
+				configuration.getInteger(CheckpointingOptions.FS_SEGMENT_AGGREGATION_MAX_STATE_SIZE);
+
+		if (maxSegmentedStateSize >= 0) {
+			this.maxSegmentedStateSize = maxSegmentedStateSize;
+		}
+		else {
+			this.maxSegmentedStateSize = CheckpointingOptions.FS_SEGMENT_AGGREGATION_MAX_STATE_SIZE.defaultValue();
+
+			LoggerFactory.getLogger(AbstractFileStateBackend.class).warn(
+					"Ignoring invalid maximum segmented state size ({}): {} - using default value {} instead.",
+					CheckpointingOptions.FS_SEGMENT_AGGREGATION_MAX_STATE_SIZE.key(), maxSegmentedStateSize,
+					CheckpointingOptions.FS_SEGMENT_AGGREGATION_MAX_STATE_SIZE.defaultValue());
+		}
 	}
 
 	// ------------------------------------------------------------------------
@@ -407,6 +441,31 @@ public class FsStateBackend extends AbstractFileStateBackend implements Configur
 				CheckpointingOptions.FS_SMALL_FILE_THRESHOLD.defaultValue();
 	}
 
+	/**
+	 * Gets whether small state chunks of all tasks in a TaskManager are appended to shared segment files.
+	 *
+	 * <p>If not explicitly configured, this is the default value of
+	 * {@link CheckpointingOptions#FS_SEGMENT_AGGREGATION}.
+	 */
+	public boolean isUsingSegmentAggregation() {
+		return segmentAggregation.getOrDefault(CheckpointingOptions.FS_SEGMENT_AGGREGATION.defaultValue());
+	}
+
+	/**
+	 * Gets the maximum size of state chunks that are appended to segment files, if segment aggregation
+	 * is enabled.
+	 *
+	 * <p>If not explicitly configured, this is the default value of
+	 * {@link CheckpointingOptions#FS_SEGMENT_AGGREGATION_MAX_STATE_SIZE}.
+	 *
+	 * @return The maximum size of segmented state chunks, in bytes.
+	 */
+	public int getMaxSegmentedStateSize() {
+		return maxSegmentedStateSize >= 0 ?
+				maxSegmentedStateSize :
+				CheckpointingOptions.FS_SEGMENT_AGGREGATION_MAX_STATE_SIZE.defaultValue();
+	}
+
 	/**
 	 * Gets whether the key/value data structures are asynchronously snapshotted.
 	 *
@@ -440,7 +499,12 @@ public class FsStateBackend extends AbstractFileStateBackend implements Configur
 	@Override
 	public CheckpointStorage createCheckpointStorage(JobID jobId) throws IOException {
 		checkNotNull(jobId, "jobId");
-		return new FsCheckpointStorage(getCheckpointPath(), getSavepointPath(), jobId, getMinFileSizeThreshold());
+		return new FsCheckpointStorage(
+				getCheckpointPath(),
+				getSavepointPath(),
+				jobId,
+				getMinFileSizeThreshold(),
+				isUsingSegmentAggregation() ? getMaxSegmentedStateSize() : 0);
 	}
 
 	// ------------------------------------------------------------------------
@@ -497,6 +561,7 @@ public class FsStateBackend extends AbstractFileStateBackend implements Configur
 				"checkpoints: '" + getCheckpointPath() +
 				"', savepoints: '" + getSavepointPath() +
 				"', asynchronous: " + asynchronousSnapshots +
-				", fileStateThreshold: " + fileStateThreshold + ")";
+				", fileStateThreshold: " + fileStateThreshold +
+				", segmentAggregation: " + segmentAggregation + ")";
 	}
 }
@@ -0,0 +1,269 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.state.filesystem;
+
+import org.apache.flink.core.fs.FSDataInputStream;
+import org.apache.flink.core.fs.FileSystem;
+import org.apache.flink.core.fs.Path;
+import org.apache.flink.runtime.state.CompositeStateHandle;
+import org.apache.flink.runtime.state.SharedStateRegistry;
+import org.apache.flink.runtime.state.SharedStateRegistryKey;
+import org.apache.flink.runtime.state.StreamStateHandle;
+import org.apache.flink.util.Preconditions;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * {@link StreamStateHandle} for state that was appended to a segment file, which holds the state
+ * of many state streams of the same checkpoint. The state is identified by the path of the segment
+ * file, and its start position and size within that file.
+ *
+ * <p>The segment file is shared by all handles that point into it, so a single handle never deletes
+ * the segment file. Once the checkpoint completes, the handles register a reference to the segment file
+ * with the {@link SharedStateRegistry}, which deletes the segment file when the last reference is released.
+ * Segment files of checkpoints which never complete are deleted together with the checkpoint directory.
+ */
+public class SegmentFileStateHandle implements StreamStateHandle, CompositeStateHandle {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final Logger LOG = LoggerFactory.getLogger(SegmentFileStateHandle.class);
+
+	/** The path to the segment file in the filesystem, fully describing the file system. */
+	private final Path segmentFilePath;
+
+	/** The position in the segment file where the state starts. */
+	private final long startPosition;
+
+	/** The size of the state in the segment file. */
+	private final long stateSize;
+
+	/**
+	 * The registry in which this handle registered its reference to the segment file.
+	 * This variable is not null iff the handle was registered.
+	 */
+	private transient SharedStateRegistry sharedStateRegistry;
+
+	public SegmentFileStateHandle(Path segmentFilePath, long startPosition, long stateSize) {
+		checkArgument(startPosition >= 0);
+		checkArgument(stateSize >= 0);
+		this.segmentFilePath = checkNotNull(segmentFilePath);
+		this.startPosition = startPosition;
+		this.stateSize = stateSize;
+	}
+
+	/**
+	 * Gets the path of the segment file that contains this handle's state.
+	 */
+	public Path getSegmentFilePath() {
+		return segmentFilePath;
+	}
+
+	/**
+	 * Gets the position in the segment file where this handle's state starts.
+	 */
+	public long getStartPosition() {
+		return startPosition;
+	}
+
+	@Override
+	public FSDataInputStream openInputStream() throws IOException {
+		final FSDataInputStream in = getFileSystem().open(segmentFilePath);
+		try {
+			in.seek(startPosition);
+		} catch (IOException e) {
+			in.close();
+			throw e;
+		}
+		return new SegmentInputStream(in, startPosition, stateSize);
+	}
+
+	/**
+	 * Releases the reference to the segment file, if this handle was registered. Otherwise this
+	 * does nothing, because other handles of the same checkpoint may still use the segment file.
+	 */
+	@Override
+	public void discardState() throws Exception {
+		final SharedStateRegistry registry = this.sharedStateRegistry;
+		if (registry != null) {
+			registry.unregisterReference(createSharedStateRegistryKey(segmentFilePath));
+		}
+	}
+
+	@Override
+	public void registerSharedStates(SharedStateRegistry stateRegistry) {
+		// like for incremental keyed state handles, registering again with a different registry
+		// transfers the ownership to the new registry after a restart
+		Preconditions.checkState(
+			sharedStateRegistry != stateRegistry,
+			"The state handle has already registered its shared states to the given registry.");
+
+		sharedStateRegistry = Preconditions.checkNotNull(stateRegistry);
+
+		LOG.trace("Registering reference to segment file {}.", segmentFilePath);
+
+		stateRegistry.registerReference(
+			createSharedStateRegistryKey(segmentFilePath),
+			new SegmentFileDisposalHandle(segmentFilePath));
+	}
+
+	@Override
+	public long getStateSize() {
+		return stateSize;
+	}
+
+	private FileSystem getFileSystem() throws IOException {
+		return FileSystem.get(segmentFilePath.toUri());
+	}
+
+	private static SharedStateRegistryKey createSharedStateRegistryKey(Path segmentFilePath) {
+		return new SharedStateRegistryKey(segmentFilePath.toString());
+	}
+
+	// ------------------------------------------------------------------------
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (o == null || getClass() != o.getClass()) {
+			return false;
+		}
+
+		SegmentFileStateHandle that = (SegmentFileStateHandle) o;
+		return startPosition == that.startPosition &&
+			stateSize == that.stateSize &&
+			segmentFilePath.equals(that.segmentFilePath);
+	}
+
+	@Override
+	public int hashCode() {
+		int result = segmentFilePath.hashCode();
+		result = 31 * result + (int) (startPosition ^ (startPosition >>> 32));
+		result = 31 * result + (int) (stateSize ^ (stateSize >>> 32));
+		return result;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("Segment File State: %s @ %d [%d bytes]", segmentFilePath, startPosition, stateSize);
+	}
+
+	// ------------------------------------------------------------------------
+
+	/**
+	 * The handle that is registered for a segment file in the {@link SharedStateRegistry}. It deletes
+	 * the segment file and then tries to delete the checkpoint directory, because the registry may
+	 * delete the segment file only after the checkpoint attempted to drop its directory.
+	 */
+	private static final class SegmentFileDisposalHandle extends FileStateHandle {
+
+		private static final long serialVersionUID = 1L;
+
+		SegmentFileDisposalHandle(Path segmentFilePath) {
+			super(segmentFilePath, -1L);
+		}
+
+		@Override
+		public void discardState() throws Exception {
+			super.discardState();
+
+			final Path checkpointDirectory = getFilePath().getParent();
+			if (checkpointDirectory != null) {
+				try {
+					// non-recursive, this fails if the directory still holds other files
+					FileSystem.get(checkpointDirectory.toUri()).delete(checkpointDirectory, false);
+				} catch (IOException ignored) {}
+			}
+		}
+	}
+
+	/**
+	 * An input stream that reads the section of a segment file that belongs to one handle.
+	 * Positions are relative to the start of the section.
+	 */
+	private static final class SegmentInputStream extends FSDataInputStream {
+
+		private final FSDataInputStream in;
+
+		private final long startPosition;
+
+		private final long endPosition;
+
+		SegmentInputStream(FSDataInputStream in, long startPosition, long length) {
+			this.in = in;
+			this.startPosition = startPosition;
+			this.endPosition = startPosition + length;
+		}
+
+		@Override
+		public void seek(long desired) throws IOException {
+			checkArgument(desired >= 0 && startPosition + desired <= endPosition,
+				"Position %s is out of the bounds of the state.", desired);
+			in.seek(startPosition + desired);
+		}
+
+		@Override
+		public long getPos() throws IOException {
+			return in.getPos() - startPosition;
+		}
+
+		@Override
+		public int read() throws IOException {
+			return remaining() > 0L ? in.read() : -1;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			final long remaining = remaining();
+			if (len == 0) {
+				return 0;
+			} else if (remaining <= 0L) {
+				return -1;
+			}
+			return in.read(b, off, (int) Math.min(len, remaining));
+		}
+
+		@Override
+		public long skip(long n) throws IOException {
+			return in.skip(Math.min(n, Math.max(remaining(), 0L)));
+		}
+
+		@Override
+		public int available() throws IOException {
+			return (int) Math.min(in.available(), Math.max(remaining(), 0L));
+		}
+
+		@Override
+		public void close() throws IOException {
+			in.close();
+		}
+
+		private long remaining() throws IOException {
+			return endPosition - in.getPos();
+		}
+	}
+}
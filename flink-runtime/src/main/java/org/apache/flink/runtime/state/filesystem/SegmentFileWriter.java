@@ -0,0 +1,200 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.state.filesystem;
+
+import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.core.fs.FSDataOutputStream;
+import org.apache.flink.core.fs.FileSystem;
+import org.apache.flink.core.fs.Path;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.concurrent.GuardedBy;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.apache.flink.util.Preconditions.checkNotNull;
+import static org.apache.flink.util.Preconditions.checkState;
+
+/**
+ * Appends the state of many small checkpoint state streams to shared segment files.
+ *
+ * <p>There is one writer per checkpoint directory in each TaskManager process, shared by all
+ * streams of all tasks that write state for the same checkpoint. The writer is reference counted
+ * by the open streams that use it, and closes its current segment file once no stream uses it any
+ * more. Segment files are also rolled over once they exceed {@link #MAX_SEGMENT_FILE_SIZE}.
+ *
+ * <p>Each appended chunk is synced to the file system before its handle is returned, so the handle
+ * is valid while other streams still append to the same segment file. That requires a file system
+ * which persists data on {@link FSDataOutputStream#sync()}, which is not the case for object stores.
+ */
+final class SegmentFileWriter {
+
+	private static final Logger LOG = LoggerFactory.getLogger(SegmentFileWriter.class);
+
+	/** The prefix of the names of segment files. */
+	static final String SEGMENT_FILE_PREFIX = "segment-";
+
+	/** Segment files are rolled over once they are larger than this. */
+	static final long MAX_SEGMENT_FILE_SIZE = 64L * 1024L * 1024L;
+
+	/** The writers of this process, by the checkpoint directory they write to. */
+	@GuardedBy("WRITERS")
+	private static final Map<Path, SegmentFileWriter> WRITERS = new HashMap<>();
+
+	// ------------------------------------------------------------------------
+
+	private final FileSystem fileSystem;
+
+	private final Path directory;
+
+	/** The number of streams that currently use this writer. */
+	@GuardedBy("WRITERS")
+	private int references;
+
+	@GuardedBy("this")
+	private FSDataOutputStream currentSegmentStream;
+
+	@GuardedBy("this")
+	private Path currentSegmentPath;
+
+	@GuardedBy("this")
+	private boolean closed;
+
+	private SegmentFileWriter(FileSystem fileSystem, Path directory) {
+		this.fileSystem = checkNotNull(fileSystem);
+		this.directory = checkNotNull(directory);
+	}
+
+	/**
+	 * Gets the writer for the given checkpoint directory, and registers one more user of it.
+	 * Each call must be matched by a call to {@link #release()}.
+	 */
+	static SegmentFileWriter acquire(FileSystem fileSystem, Path directory) {
+		synchronized (WRITERS) {
+			SegmentFileWriter writer = WRITERS.get(directory);
+			if (writer == null) {
+				writer = new SegmentFileWriter(fileSystem, directory);
+				WRITERS.put(directory, writer);
+			}
+			writer.references++;
+			return writer;
+		}
+	}
+
+	/**
+	 * Releases one use of this writer. The last release closes the current segment file.
+	 */
+	void release() {
+		synchronized (WRITERS) {
+			checkState(references > 0, "The segment file writer was released too often.");
+			if (--references > 0) {
+				return;
+			}
+			WRITERS.remove(directory);
+		}
+
+		synchronized (this) {
+			closed = true;
+			closeCurrentSegment();
+		}
+	}
+
+	/**
+	 * Appends the given bytes to the current segment file and syncs the segment file.
+	 *
+	 * @return The handle to the appended bytes.
+	 */
+	synchronized SegmentFileStateHandle append(byte[] bytes, int offset, int length) throws IOException {
+		checkState(!closed, "The segment file writer has been closed.");
+
+		if (currentSegmentStream == null) {
+			openSegment();
+		}
+
+		final Path segmentPath = currentSegmentPath;
+		final long startPosition;
+		final long endPosition;
+
+		try {
+			startPosition = currentSegmentStream.getPos();
+			currentSegmentStream.write(bytes, offset, length);
+			currentSegmentStream.flush();
+			currentSegmentStream.sync();
+			endPosition = currentSegmentStream.getPos();
+		} catch (IOException e) {
+			// the segment file is in an unknown state, so we continue with a new one
+			closeCurrentSegment();
+			throw new IOException("Could not append state to segment file " + segmentPath, e);
+		}
+
+		if (endPosition >= MAX_SEGMENT_FILE_SIZE) {
+			closeCurrentSegment();
+		}
+
+		return new SegmentFileStateHandle(segmentPath, startPosition, length);
+	}
+
+	@GuardedBy("this")
+	private void openSegment() throws IOException {
+		Exception latestException = null;
+		for (int attempt = 0; attempt < 10; attempt++) {
+			try {
+				Path segmentPath = new Path(directory, SEGMENT_FILE_PREFIX + UUID.randomUUID());
+				FSDataOutputStream segmentStream = fileSystem.create(segmentPath, FileSystem.WriteMode.NO_OVERWRITE);
+
+				// success, managed to open the stream
+				this.currentSegmentPath = segmentPath;
+				this.currentSegmentStream = segmentStream;
+				return;
+			}
+			catch (Exception e) {
+				latestException = e;
+			}
+		}
+
+		throw new IOException("Could not open segment file for state backend", latestException);
+	}
+
+	@GuardedBy("this")
+	private void closeCurrentSegment() {
+		if (currentSegmentStream != null) {
+			try {
+				currentSegmentStream.close();
+			} catch (Throwable t) {
+				// the segment file is not deleted, because handles to its synced data may exist
+				LOG.warn("Could not close segment file {}.", currentSegmentPath, t);
+			} finally {
+				currentSegmentStream = null;
+				currentSegmentPath = null;
+			}
+		}
+	}
+
+	@VisibleForTesting
+	static int getNumberOfOpenWriters() {
+		synchronized (WRITERS) {
+			return WRITERS.size();
+		}
+	}
+}
@@ -25,6 +25,7 @@ import org.apache.flink.api.common.state.FoldingStateDescriptor;
 import org.apache.flink.api.common.state.ListStateDescriptor;
 import org.apache.flink.api.common.state.MapStateDescriptor;
 import org.apache.flink.api.common.state.ReducingStateDescriptor;
+import org.apache.flink.api.common.state.SortedMapStateDescriptor;
 import org.apache.flink.api.common.state.State;
 import org.apache.flink.api.common.state.StateDescriptor;
 import org.apache.flink.api.common.state.ValueStateDescriptor;
@@ -111,6 +112,7 @@ public class HeapKeyedStateBackend<K> extends AbstractKeyedStateBackend<K> {
 			Tuple2.of(ValueStateDescriptor.class, (StateFactory) HeapValueState::create),
 			Tuple2.of(ListStateDescriptor.class, (StateFactory) HeapListState::create),
 			Tuple2.of(MapStateDescriptor.class, (StateFactory) HeapMapState::create),
+			Tuple2.of(SortedMapStateDescriptor.class, (StateFactory) HeapSortedMapState::create),
 			Tuple2.of(AggregatingStateDescriptor.class, (StateFactory) HeapAggregatingState::create),
 			Tuple2.of(ReducingStateDescriptor.class, (StateFactory) HeapReducingState::create),
 			Tuple2.of(FoldingStateDescriptor.class, (StateFactory) HeapFoldingState::create)
@@ -333,7 +335,7 @@ public class HeapKeyedStateBackend<K> extends AbstractKeyedStateBackend<K> {
 			if (stateDesc instanceof ListStateDescriptor) {
 				return (StateSnapshotTransformer<SV>) new StateSnapshotTransformer
 					.ListStateSnapshotTransformer<>(original.get());
-			} else if (stateDesc instanceof MapStateDescriptor) {
+			} else if (stateDesc instanceof MapStateDescriptor || stateDesc instanceof SortedMapStateDescriptor) {
 				return (StateSnapshotTransformer<SV>) new StateSnapshotTransformer
 					.MapStateSnapshotTransformer<>(original.get());
 			} else {
@@ -53,7 +53,7 @@ class HeapMapState<K, N, UK, UV>
 	 * @param namespaceSerializer The serializer for the namespace.
 	 * @param defaultValue The default value for the state.
 	 */
-	private HeapMapState(
+	HeapMapState(
 		StateTable<K, N, Map<UK, UV>> stateTable,
 		TypeSerializer<K> keySerializer,
 		TypeSerializer<Map<UK, UV>> valueSerializer,
@@ -96,7 +96,7 @@ class HeapMapState<K, N, UK, UV>
 
 		Map<UK, UV> userMap = stateTable.get(currentNamespace);
 		if (userMap == null) {
-			userMap = new HashMap<>();
+			userMap = createUserMap();
 			stateTable.put(currentNamespace, userMap);
 		}
 
@@ -109,13 +109,20 @@ class HeapMapState<K, N, UK, UV>
 		Map<UK, UV> userMap = stateTable.get(currentNamespace);
 
 		if (userMap == null) {
-			userMap = new HashMap<>();
+			userMap = createUserMap();
 			stateTable.put(currentNamespace, userMap);
 		}
 
 		userMap.putAll(value);
 	}
 
+	/**
+	 * Creates the map that holds the mappings of a namespace when the first mapping is added.
+	 */
+	Map<UK, UV> createUserMap() {
+		return new HashMap<>();
+	}
+
 	@Override
 	public void remove(UK userKey) {
 
@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.state.heap;
+
+import org.apache.flink.api.common.state.SortedMapState;
+import org.apache.flink.api.common.state.State;
+import org.apache.flink.api.common.state.StateDescriptor;
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.api.common.typeutils.base.SortedMapSerializer;
+import org.apache.flink.runtime.state.internal.InternalSortedMapState;
+import org.apache.flink.util.Preconditions;
+
+import javax.annotation.Nullable;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Heap-backed partitioned {@link SortedMapState} that is snapshotted into files. The mappings of
+ * every namespace are kept in a {@link TreeMap} that is ordered by the comparator of the state.
+ *
+ * @param <K> The type of the key.
+ * @param <N> The type of the namespace.
+ * @param <UK> The type of the keys in the state.
+ * @param <UV> The type of the values in the state.
+ */
+class HeapSortedMapState<K, N, UK, UV>
+	extends HeapMapState<K, N, UK, UV>
+	implements InternalSortedMapState<K, N, UK, UV> {
+
+	/** The comparator that defines the order of the keys in the state. */
+	private final Comparator<UK> comparator;
+
+	/**
+	 * Creates a new key/value state for the given tree map of key/value pairs.
+	 *
+	 * @param stateTable The state table for which this state is associated to.
+	 * @param keySerializer The serializer for the keys.
+	 * @param valueSerializer The serializer for the state.
+	 * @param namespaceSerializer The serializer for the namespace.
+	 * @param defaultValue The default value for the state.
+	 */
+	private HeapSortedMapState(
+		StateTable<K, N, Map<UK, UV>> stateTable,
+		TypeSerializer<K> keySerializer,
+		TypeSerializer<Map<UK, UV>> valueSerializer,
+		TypeSerializer<N> namespaceSerializer,
+		Map<UK, UV> defaultValue) {
+		super(stateTable, keySerializer, valueSerializer, namespaceSerializer, defaultValue);
+
+		Preconditions.checkState(valueSerializer instanceof SortedMapSerializer, "Unexpected serializer type.");
+		this.comparator = ((SortedMapSerializer<UK, UV>) valueSerializer).getComparator();
+	}
+
+	@Override
+	Map<UK, UV> createUserMap() {
+		return new TreeMap<>(comparator);
+	}
+
+	@Override
+	public UK firstKey() {
+		SortedMap<UK, UV> userMap = getUserMap();
+		return userMap == null || userMap.isEmpty() ? null : userMap.firstKey();
+	}
+
+	@Override
+	public UK lastKey() {
+		SortedMap<UK, UV> userMap = getUserMap();
+		return userMap == null || userMap.isEmpty() ? null : userMap.lastKey();
+	}
+
+	@Override
+	public Iterable<Map.Entry<UK, UV>> headMap(UK toKey) {
+		return subMap(null, Preconditions.checkNotNull(toKey));
+	}
+
+	@Override
+	public Iterable<Map.Entry<UK, UV>> tailMap(UK fromKey) {
+		return subMap(Preconditions.checkNotNull(fromKey), null);
+	}
+
+	@Override
+	public Iterable<Map.Entry<UK, UV>> subMap(@Nullable UK fromKey, @Nullable UK toKey) {
+		SortedMap<UK, UV> userMap = getUserMap();
+
+		if (userMap == null) {
+			return Collections.emptyList();
+		}
+
+		if (fromKey == null) {
+			return toKey == null ? userMap.entrySet() : userMap.headMap(toKey).entrySet();
+		} else if (toKey == null) {
+			return userMap.tailMap(fromKey).entrySet();
+		} else if (comparator.compare(fromKey, toKey) >= 0) {
+			return Collections.emptyList();
+		} else {
+			return userMap.subMap(fromKey, toKey).entrySet();
+		}
+	}
+
+	private SortedMap<UK, UV> getUserMap() {
+		// the maps are created by this state or by the sorted map serializer
+		return (SortedMap<UK, UV>) stateTable.get(currentNamespace);
+	}
+
+	@SuppressWarnings("unchecked")
+	static <UK, UV, K, N, SV, S extends State, IS extends S> IS create(
+		StateDescriptor<S, SV> stateDesc,
+		StateTable<K, N, SV> stateTable,
+		TypeSerializer<K> keySerializer) {
+		return (IS) new HeapSortedMapState<>(
+			(StateTable<K, N, Map<UK, UV>>) stateTable,
+			keySerializer,
+			(TypeSerializer<Map<UK, UV>>) stateTable.getStateSerializer(),
+			stateTable.getNamespaceSerializer(),
+			(Map<UK, UV>) stateDesc.getDefaultValue());
+	}
+}
@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.taskexecutor;
+
+import org.apache.flink.annotation.PublicEvolving;
+import org.apache.flink.api.common.functions.AggregateFunction;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * This interface gives access to transient, named, global aggregates. The aggregates are kept by
+ * the JobMaster and can be used to share information amongst the parallel tasks of a job, for
+ * example their current event time.
+ *
+ * <p>The aggregates are not designed for high throughput updates and they do NOT survive a
+ * failover of the JobMaster. Every update results in a serialized RPC call to the JobMaster.
+ */
+@PublicEvolving
+public interface GlobalAggregateManager {
+
+	/**
+	 * Adds the given value to the named global aggregate and returns the result of the aggregate.
+	 * The update is sent asynchronously, so that the calling thread does not wait for the JobMaster.
+	 *
+	 * @param aggregateName The name of the aggregate, which is shared by all tasks of the job.
+	 * @param aggregand The value to add to the aggregate.
+	 * @param aggregateFunction The function that creates the accumulator of the aggregate, adds
+	 *                          the value to it and computes the result. It has to be the same
+	 *                          for all updates of the same aggregate.
+	 * @return Future which is completed with the result of the aggregate after the update, or
+	 *         completed exceptionally if the update of the aggregate fails.
+	 */
+	<IN, ACC, OUT> CompletableFuture<OUT> updateGlobalAggregate(
+		String aggregateName,
+		IN aggregand,
+		AggregateFunction<IN, ACC, OUT> aggregateFunction);
+}
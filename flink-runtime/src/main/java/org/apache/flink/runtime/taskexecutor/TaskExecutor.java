@@ -21,6 +21,7 @@ package org.apache.flink.runtime.taskexecutor;
 import org.apache.flink.annotation.VisibleForTesting;
 import org.apache.flink.api.common.JobID;
 import org.apache.flink.api.common.time.Time;
+import org.apache.flink.configuration.TaskManagerOptions;
 import org.apache.flink.runtime.accumulators.AccumulatorSnapshot;
 import org.apache.flink.runtime.blob.BlobCacheService;
 import org.apache.flink.runtime.blob.TransientBlobCache;
@@ -37,6 +38,7 @@ import org.apache.flink.runtime.execution.ExecutionState;
 import org.apache.flink.runtime.execution.librarycache.BlobLibraryCacheManager;
 import org.apache.flink.runtime.execution.librarycache.LibraryCacheManager;
 import org.apache.flink.runtime.executiongraph.ExecutionAttemptID;
+import org.apache.flink.runtime.executiongraph.ExecutionGraphException;
 import org.apache.flink.runtime.executiongraph.JobInformation;
 import org.apache.flink.runtime.executiongraph.PartitionInfo;
 import org.apache.flink.runtime.executiongraph.TaskInformation;
@@ -62,6 +64,7 @@ import org.apache.flink.runtime.leaderretrieval.LeaderRetrievalListener;
 import org.apache.flink.runtime.leaderretrieval.LeaderRetrievalService;
 import org.apache.flink.runtime.messages.Acknowledge;
 import org.apache.flink.runtime.messages.StackTraceSampleResponse;
+import org.apache.flink.runtime.messages.checkpoint.AcknowledgeCheckpoint;
 import org.apache.flink.runtime.metrics.groups.TaskManagerMetricGroup;
 import org.apache.flink.runtime.metrics.groups.TaskMetricGroup;
 import org.apache.flink.runtime.query.KvStateClientProxy;
@@ -86,7 +89,9 @@ import org.apache.flink.runtime.taskexecutor.exceptions.SlotOccupiedException;
 import org.apache.flink.runtime.taskexecutor.exceptions.TaskException;
 import org.apache.flink.runtime.taskexecutor.exceptions.TaskManagerException;
 import org.apache.flink.runtime.taskexecutor.exceptions.TaskSubmissionException;
+import org.apache.flink.runtime.taskexecutor.rpc.RpcBatcher;
 import org.apache.flink.runtime.taskexecutor.rpc.RpcCheckpointResponder;
+import org.apache.flink.runtime.taskexecutor.rpc.RpcGlobalAggregateManager;
 import org.apache.flink.runtime.taskexecutor.rpc.RpcInputSplitProvider;
 import org.apache.flink.runtime.taskexecutor.rpc.RpcKvStateRegistryListener;
 import org.apache.flink.runtime.taskexecutor.rpc.RpcPartitionStateChecker;
@@ -125,6 +130,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.TimeoutException;
 
 import static org.apache.flink.util.Preconditions.checkArgument;
@@ -147,7 +153,7 @@ public class TaskExecutor extends RpcEndpoint implements TaskExecutorGateway {
 	private final TaskManagerConfiguration taskManagerConfiguration;
 
 	/** The heartbeat manager for job manager in the task manager. */
-	private final HeartbeatManager<Void, AccumulatorReport> jobManagerHeartbeatManager;
+	private final HeartbeatManager<Void, TaskExecutorToJobManagerHeartbeatPayload> jobManagerHeartbeatManager;
 
 	/** The heartbeat manager for resource manager in the task manager. */
 	private final HeartbeatManager<Void, SlotReport> resourceManagerHeartbeatManager;
@@ -188,6 +194,9 @@ public class TaskExecutor extends RpcEndpoint implements TaskExecutorGateway {
 
 	private final HardwareDescription hardwareDescription;
 
+	/** Maximum time for which task state updates and checkpoint acknowledgements are batched. */
+	private final long rpcBatchDelayMillis;
+
 	private FileCache fileCache;
 
 	// --------- resource manager --------
@@ -219,6 +228,7 @@ public class TaskExecutor extends RpcEndpoint implements TaskExecutorGateway {
 		checkArgument(taskManagerConfiguration.getNumberSlots() > 0, "The number of slots has to be larger than 0.");
 
 		this.taskManagerConfiguration = checkNotNull(taskManagerConfiguration);
+		this.rpcBatchDelayMillis = taskManagerConfiguration.getConfiguration().getLong(TaskManagerOptions.RPC_BATCH_DELAY);
 		this.taskExecutorServices = checkNotNull(taskExecutorServices);
 		this.haServices = checkNotNull(haServices);
 		this.fatalErrorHandler = checkNotNull(fatalErrorHandler);
@@ -491,6 +501,9 @@ public class TaskExecutor extends RpcEndpoint implements TaskExecutorGateway {
 
 			TaskManagerActions taskManagerActions = jobManagerConnection.getTaskManagerActions();
 			CheckpointResponder checkpointResponder = jobManagerConnection.getCheckpointResponder();
+			GlobalAggregateManager aggregateManager = new RpcGlobalAggregateManager(
+				jobManagerConnection.getJobManagerGateway(),
+				taskManagerConfiguration.getTimeout());
 
 			LibraryCacheManager libraryCache = jobManagerConnection.getLibraryCacheManager();
 			ResultPartitionConsumableNotifier resultPartitionConsumableNotifier = jobManagerConnection.getResultPartitionConsumableNotifier();
@@ -529,6 +542,7 @@ public class TaskExecutor extends RpcEndpoint implements TaskExecutorGateway {
 				taskManagerActions,
 				inputSplitProvider,
 				checkpointResponder,
+				aggregateManager,
 				blobCacheService,
 				libraryCache,
 				fileCache,
@@ -564,6 +578,34 @@ public class TaskExecutor extends RpcEndpoint implements TaskExecutorGateway {
 		}
 	}
 
+	@Override
+	public CompletableFuture<Acknowledge> submitTasks(
+			Collection<TaskDeploymentDescriptor> tdds,
+			JobMasterId jobMasterId,
+			Time timeout) {
+
+		Throwable submissionFailure = null;
+
+		// the submission of a task completes synchronously, see submitTask
+		for (TaskDeploymentDescriptor tdd : tdds) {
+			final CompletableFuture<Acknowledge> submitFuture = submitTask(tdd, jobMasterId, timeout);
+
+			try {
+				submitFuture.getNow(null);
+			} catch (CompletionException e) {
+				submissionFailure = ExceptionUtils.firstOrSuppressed(
+					ExceptionUtils.stripCompletionException(e),
+					submissionFailure);
+			}
+		}
+
+		if (submissionFailure == null) {
+			return CompletableFuture.completedFuture(Acknowledge.get());
+		} else {
+			return FutureUtils.completedExceptionally(submissionFailure);
+		}
+	}
+
 	@Override
 	public CompletableFuture<Acknowledge> cancelTask(ExecutionAttemptID executionAttemptID, Time timeout) {
 		final Task task = taskSlotTable.getTask(executionAttemptID);
@@ -1139,14 +1181,14 @@ public class TaskExecutor extends RpcEndpoint implements TaskExecutorGateway {
 		jobManagerTable.put(jobId, newJobManagerConnection);
 
 		// monitor the job manager as heartbeat target
-		jobManagerHeartbeatManager.monitorTarget(jobManagerResourceID, new HeartbeatTarget<AccumulatorReport>() {
+		jobManagerHeartbeatManager.monitorTarget(jobManagerResourceID, new HeartbeatTarget<TaskExecutorToJobManagerHeartbeatPayload>() {
 			@Override
-			public void receiveHeartbeat(ResourceID resourceID, AccumulatorReport payload) {
+			public void receiveHeartbeat(ResourceID resourceID, TaskExecutorToJobManagerHeartbeatPayload payload) {
 				jobMasterGateway.heartbeatFromTaskManager(resourceID, payload);
 			}
 
 			@Override
-			public void requestHeartbeat(ResourceID resourceID, AccumulatorReport payload) {
+			public void requestHeartbeat(ResourceID resourceID, TaskExecutorToJobManagerHeartbeatPayload payload) {
 				// request heartbeat will never be called on the task manager side
 			}
 		});
@@ -1214,7 +1256,10 @@ public class TaskExecutor extends RpcEndpoint implements TaskExecutorGateway {
 
 		TaskManagerActions taskManagerActions = new TaskManagerActionsImpl(jobMasterGateway);
 
-		CheckpointResponder checkpointResponder = new RpcCheckpointResponder(jobMasterGateway);
+		CheckpointResponder checkpointResponder = new RpcCheckpointResponder(
+			jobMasterGateway,
+			getRpcService().getScheduledExecutor(),
+			rpcBatchDelayMillis);
 
 		final LibraryCacheManager libraryCacheManager = new BlobLibraryCacheManager(
 			blobCacheService.getPermanentBlobService(),
@@ -1314,8 +1359,36 @@ public class TaskExecutor extends RpcEndpoint implements TaskExecutorGateway {
 			getMainThreadExecutor());
 	}
 
-	private void unregisterTaskAndNotifyFinalState(
+	private void updateTaskExecutionStates(
 			final JobMasterGateway jobMasterGateway,
+			final List<TaskExecutionState> taskExecutionStates) {
+		if (taskExecutionStates.size() == 1) {
+			updateTaskExecutionState(jobMasterGateway, taskExecutionStates.get(0));
+			return;
+		}
+
+		CompletableFuture<Collection<ExecutionAttemptID>> futureUnknownExecutions =
+			jobMasterGateway.updateTaskExecutionStates(taskExecutionStates);
+
+		futureUnknownExecutions.whenCompleteAsync(
+			(unknownExecutions, throwable) -> {
+				if (throwable != null) {
+					for (TaskExecutionState taskExecutionState : taskExecutionStates) {
+						failTask(taskExecutionState.getID(), throwable);
+					}
+				} else {
+					for (ExecutionAttemptID executionAttemptID : unknownExecutions) {
+						failTask(
+							executionAttemptID,
+							new ExecutionGraphException("The execution attempt " + executionAttemptID + " was not found."));
+					}
+				}
+			},
+			getMainThreadExecutor());
+	}
+
+	private void unregisterTaskAndNotifyFinalState(
+			final TaskManagerActions taskManagerActions,
 			final ExecutionAttemptID executionAttemptID) {
 
 		Task task = taskSlotTable.removeTask(executionAttemptID);
@@ -1333,8 +1406,7 @@ public class TaskExecutor extends RpcEndpoint implements TaskExecutorGateway {
 
 			AccumulatorSnapshot accumulatorSnapshot = task.getAccumulatorRegistry().getSnapshot();
 
-			updateTaskExecutionState(
-					jobMasterGateway,
+			taskManagerActions.updateTaskExecutionState(
 					new TaskExecutionState(
 						task.getJobID(),
 						task.getExecutionId(),
@@ -1546,15 +1618,20 @@ public class TaskExecutor extends RpcEndpoint implements TaskExecutorGateway {
 	}
 
 	private final class TaskManagerActionsImpl implements TaskManagerActions {
-		private final JobMasterGateway jobMasterGateway;
+		private final RpcBatcher<TaskExecutionState> taskExecutionStateBatcher;
 
 		private TaskManagerActionsImpl(JobMasterGateway jobMasterGateway) {
-			this.jobMasterGateway = checkNotNull(jobMasterGateway);
+			checkNotNull(jobMasterGateway);
+
+			this.taskExecutionStateBatcher = new RpcBatcher<>(
+				taskExecutionStates -> updateTaskExecutionStates(jobMasterGateway, taskExecutionStates),
+				getRpcService().getScheduledExecutor(),
+				rpcBatchDelayMillis);
 		}
 
 		@Override
 		public void notifyFinalState(final ExecutionAttemptID executionAttemptID) {
-			runAsync(() -> unregisterTaskAndNotifyFinalState(jobMasterGateway, executionAttemptID));
+			runAsync(() -> unregisterTaskAndNotifyFinalState(this, executionAttemptID));
 		}
 
 		@Override
@@ -1574,7 +1651,7 @@ public class TaskExecutor extends RpcEndpoint implements TaskExecutorGateway {
 
 		@Override
 		public void updateTaskExecutionState(final TaskExecutionState taskExecutionState) {
-			TaskExecutor.this.updateTaskExecutionState(jobMasterGateway, taskExecutionState);
+			taskExecutionStateBatcher.add(taskExecutionState);
 		}
 	}
 
@@ -1594,7 +1671,7 @@ public class TaskExecutor extends RpcEndpoint implements TaskExecutorGateway {
 		}
 	}
 
-	private class JobManagerHeartbeatListener implements HeartbeatListener<Void, AccumulatorReport> {
+	private class JobManagerHeartbeatListener implements HeartbeatListener<Void, TaskExecutorToJobManagerHeartbeatPayload> {
 
 		@Override
 		public void notifyHeartbeatTimeout(final ResourceID resourceID) {
@@ -1621,7 +1698,7 @@ public class TaskExecutor extends RpcEndpoint implements TaskExecutorGateway {
 		}
 
 		@Override
-		public CompletableFuture<AccumulatorReport> retrievePayload(ResourceID resourceID) {
+		public CompletableFuture<TaskExecutorToJobManagerHeartbeatPayload> retrievePayload(ResourceID resourceID) {
 			validateRunsInMainThread();
 			JobManagerConnection jobManagerConnection = jobManagerConnections.get(resourceID);
 			if (jobManagerConnection != null) {
@@ -1634,9 +1711,24 @@ public class TaskExecutor extends RpcEndpoint implements TaskExecutorGateway {
 					Task task = allTasks.next();
 					accumulatorSnapshots.add(task.getAccumulatorRegistry().getSnapshot());
 				}
-				return CompletableFuture.completedFuture(new AccumulatorReport(accumulatorSnapshots));
+
+				// checkpoint acknowledgements which are still batched are sent along with the heartbeat
+				final CheckpointResponder checkpointResponder = jobManagerConnection.getCheckpointResponder();
+				final Collection<AcknowledgeCheckpoint> checkpointAcknowledgements;
+
+				if (checkpointResponder instanceof RpcCheckpointResponder) {
+					checkpointAcknowledgements = ((RpcCheckpointResponder) checkpointResponder).takePendingAcknowledgements();
+				} else {
+					checkpointAcknowledgements = Collections.emptyList();
+				}
+
+				return CompletableFuture.completedFuture(new TaskExecutorToJobManagerHeartbeatPayload(
+					new AccumulatorReport(accumulatorSnapshots),
+					checkpointAcknowledgements));
 			} else {
-				return CompletableFuture.completedFuture(new AccumulatorReport(Collections.emptyList()));
+				return CompletableFuture.completedFuture(new TaskExecutorToJobManagerHeartbeatPayload(
+					new AccumulatorReport(Collections.emptyList()),
+					Collections.emptyList()));
 			}
 		}
 	}
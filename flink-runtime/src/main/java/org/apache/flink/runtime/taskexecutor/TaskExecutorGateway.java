@@ -37,6 +37,7 @@ import org.apache.flink.runtime.rpc.RpcGateway;
 import org.apache.flink.runtime.rpc.RpcTimeout;
 import org.apache.flink.runtime.taskmanager.Task;
 
+import java.util.Collection;
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -84,6 +85,20 @@ public interface TaskExecutorGateway extends RpcGateway {
 		JobMasterId jobMasterId,
 		@RpcTimeout Time timeout);
 
+	/**
+	 * Submit multiple {@link Task Tasks} to the {@link TaskExecutor} with a single call.
+	 *
+	 * @param tdds describing the tasks to submit
+	 * @param jobMasterId identifying the submitting JobMaster
+	 * @param timeout of the submit operation
+	 * @return Future acknowledge of the successful operation, which fails if any of the tasks
+	 * could not be submitted
+	 */
+	CompletableFuture<Acknowledge> submitTasks(
+		Collection<TaskDeploymentDescriptor> tdds,
+		JobMasterId jobMasterId,
+		@RpcTimeout Time timeout);
+
 	/**
 	 * Update the task where the given partitions can be found.
 	 *
@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.taskexecutor;
+
+import org.apache.flink.runtime.messages.checkpoint.AcknowledgeCheckpoint;
+
+import java.io.Serializable;
+import java.util.Collection;
+
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * Payload of the heartbeats which the TaskExecutor sends to the JobManager of a job. Besides the
+ * accumulator report, it carries the checkpoint acknowledgements which have not been sent yet.
+ */
+public class TaskExecutorToJobManagerHeartbeatPayload implements Serializable {
+
+	private static final long serialVersionUID = -3947360227340207613L;
+
+	private final AccumulatorReport accumulatorReport;
+
+	private final Collection<AcknowledgeCheckpoint> checkpointAcknowledgements;
+
+	public TaskExecutorToJobManagerHeartbeatPayload(
+			AccumulatorReport accumulatorReport,
+			Collection<AcknowledgeCheckpoint> checkpointAcknowledgements) {
+		this.accumulatorReport = checkNotNull(accumulatorReport);
+		this.checkpointAcknowledgements = checkNotNull(checkpointAcknowledgements);
+	}
+
+	public AccumulatorReport getAccumulatorReport() {
+		return accumulatorReport;
+	}
+
+	public Collection<AcknowledgeCheckpoint> getCheckpointAcknowledgements() {
+		return checkpointAcknowledgements;
+	}
+}
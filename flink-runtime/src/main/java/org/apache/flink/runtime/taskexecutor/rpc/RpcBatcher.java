@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.taskexecutor.rpc;
+
+import org.apache.flink.runtime.concurrent.ScheduledExecutor;
+
+import javax.annotation.concurrent.GuardedBy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * Collects messages which are sent to the same rpc endpoint and sends them as a single batch.
+ *
+ * <p>The first message of a batch schedules the sending of the batch after the maximum batch delay.
+ * All messages which are added until then are sent together, in the order in which they were added.
+ * A maximum batch delay of 0 disables the batching and sends every message on its own right away.
+ *
+ * <p>Messages can be added from any thread.
+ *
+ * @param <T> type of the batched messages
+ */
+public class RpcBatcher<T> {
+
+	private final Consumer<List<T>> batchSender;
+
+	private final ScheduledExecutor scheduledExecutor;
+
+	private final long maxBatchDelayMillis;
+
+	private final Object lock = new Object();
+
+	@GuardedBy("lock")
+	private List<T> pendingMessages = new ArrayList<>(4);
+
+	@GuardedBy("lock")
+	private boolean sendScheduled;
+
+	public RpcBatcher(
+			Consumer<List<T>> batchSender,
+			ScheduledExecutor scheduledExecutor,
+			long maxBatchDelayMillis) {
+		checkArgument(maxBatchDelayMillis >= 0L, "The maximum batch delay must not be negative.");
+
+		this.batchSender = checkNotNull(batchSender);
+		this.scheduledExecutor = checkNotNull(scheduledExecutor);
+		this.maxBatchDelayMillis = maxBatchDelayMillis;
+	}
+
+	/**
+	 * Adds a message to the current batch. If batching is disabled, the message is sent right away.
+	 *
+	 * @param message to send
+	 */
+	public void add(T message) {
+		checkNotNull(message);
+
+		if (maxBatchDelayMillis == 0L) {
+			batchSender.accept(Collections.singletonList(message));
+			return;
+		}
+
+		synchronized (lock) {
+			pendingMessages.add(message);
+
+			if (!sendScheduled) {
+				sendScheduled = true;
+				scheduledExecutor.schedule(this::sendPendingMessages, maxBatchDelayMillis, TimeUnit.MILLISECONDS);
+			}
+		}
+	}
+
+	/**
+	 * Removes all pending messages from the current batch without sending them. This allows to
+	 * send them along with another message, for example a heartbeat.
+	 *
+	 * @return the pending messages in the order in which they were added
+	 */
+	public List<T> takePendingMessages() {
+		synchronized (lock) {
+			if (pendingMessages.isEmpty()) {
+				return Collections.emptyList();
+			}
+
+			final List<T> messages = pendingMessages;
+			pendingMessages = new ArrayList<>(4);
+			return messages;
+		}
+	}
+
+	/**
+	 * Sends all pending messages as one batch.
+	 */
+	public void sendPendingMessages() {
+		final List<T> messages;
+
+		synchronized (lock) {
+			sendScheduled = false;
+			messages = takePendingMessages();
+		}
+
+		if (!messages.isEmpty()) {
+			batchSender.accept(messages);
+		}
+	}
+}
@@ -22,16 +22,47 @@ import org.apache.flink.api.common.JobID;
 import org.apache.flink.runtime.checkpoint.CheckpointCoordinatorGateway;
 import org.apache.flink.runtime.checkpoint.CheckpointMetrics;
 import org.apache.flink.runtime.checkpoint.TaskStateSnapshot;
+import org.apache.flink.runtime.concurrent.ScheduledExecutor;
 import org.apache.flink.runtime.executiongraph.ExecutionAttemptID;
+import org.apache.flink.runtime.messages.checkpoint.AcknowledgeCheckpoint;
 import org.apache.flink.runtime.taskmanager.CheckpointResponder;
 import org.apache.flink.util.Preconditions;
 
+import javax.annotation.Nullable;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
 public class RpcCheckpointResponder implements CheckpointResponder {
 
 	private final CheckpointCoordinatorGateway checkpointCoordinatorGateway;
 
+	/** Batches the checkpoint acknowledgements, null if every acknowledgement is sent on its own. */
+	@Nullable
+	private final RpcBatcher<AcknowledgeCheckpoint> acknowledgementBatcher;
+
 	public RpcCheckpointResponder(CheckpointCoordinatorGateway checkpointCoordinatorGateway) {
 		this.checkpointCoordinatorGateway = Preconditions.checkNotNull(checkpointCoordinatorGateway);
+		this.acknowledgementBatcher = null;
+	}
+
+	/**
+	 * Creates a checkpoint responder which sends the checkpoint acknowledgements in batches.
+	 * Declined checkpoints are always reported right away.
+	 *
+	 * @param checkpointCoordinatorGateway to send the checkpoint responses to
+	 * @param scheduledExecutor to schedule the sending of the batches
+	 * @param maxBatchDelayMillis maximum time for which an acknowledgement is held back, 0 disables the batching
+	 */
+	public RpcCheckpointResponder(
+			CheckpointCoordinatorGateway checkpointCoordinatorGateway,
+			ScheduledExecutor scheduledExecutor,
+			long maxBatchDelayMillis) {
+		this.checkpointCoordinatorGateway = Preconditions.checkNotNull(checkpointCoordinatorGateway);
+		this.acknowledgementBatcher = maxBatchDelayMillis > 0L ?
+			new RpcBatcher<>(this::sendAcknowledgements, scheduledExecutor, maxBatchDelayMillis) :
+			null;
 	}
 
 	@Override
@@ -42,12 +73,46 @@ public class RpcCheckpointResponder implements CheckpointResponder {
 			CheckpointMetrics checkpointMetrics,
 			TaskStateSnapshot subtaskState) {
 
-		checkpointCoordinatorGateway.acknowledgeCheckpoint(
-			jobID,
-			executionAttemptID,
-			checkpointId,
-			checkpointMetrics,
-			subtaskState);
+		if (acknowledgementBatcher != null) {
+			acknowledgementBatcher.add(
+				new AcknowledgeCheckpoint(jobID, executionAttemptID, checkpointId, checkpointMetrics, subtaskState));
+		} else {
+			checkpointCoordinatorGateway.acknowledgeCheckpoint(
+				jobID,
+				executionAttemptID,
+				checkpointId,
+				checkpointMetrics,
+				subtaskState);
+		}
+	}
+
+	/**
+	 * Removes the checkpoint acknowledgements which have not been sent yet, so that they can be
+	 * sent along with another message.
+	 *
+	 * @return the pending checkpoint acknowledgements
+	 */
+	public Collection<AcknowledgeCheckpoint> takePendingAcknowledgements() {
+		if (acknowledgementBatcher != null) {
+			return acknowledgementBatcher.takePendingMessages();
+		} else {
+			return Collections.emptyList();
+		}
+	}
+
+	private void sendAcknowledgements(List<AcknowledgeCheckpoint> acknowledgements) {
+		if (acknowledgements.size() == 1) {
+			final AcknowledgeCheckpoint acknowledgement = acknowledgements.get(0);
+
+			checkpointCoordinatorGateway.acknowledgeCheckpoint(
+				acknowledgement.getJob(),
+				acknowledgement.getTaskExecutionId(),
+				acknowledgement.getCheckpointId(),
+				acknowledgement.getCheckpointMetrics(),
+				acknowledgement.getSubtaskState());
+		} else {
+			checkpointCoordinatorGateway.acknowledgeCheckpoints(acknowledgements.get(0).getJob(), acknowledgements);
+		}
 	}
 
 	@Override
@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.taskexecutor.rpc;
+
+import org.apache.flink.api.common.functions.AggregateFunction;
+import org.apache.flink.api.common.time.Time;
+import org.apache.flink.runtime.concurrent.FutureUtils;
+import org.apache.flink.runtime.jobmaster.JobMasterGateway;
+import org.apache.flink.runtime.taskexecutor.GlobalAggregateManager;
+import org.apache.flink.util.InstantiationUtil;
+import org.apache.flink.util.Preconditions;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * {@link GlobalAggregateManager} which updates the aggregates at the JobMaster of the job.
+ */
+public class RpcGlobalAggregateManager implements GlobalAggregateManager {
+
+	private final JobMasterGateway jobMasterGateway;
+
+	private final Time timeout;
+
+	public RpcGlobalAggregateManager(JobMasterGateway jobMasterGateway, Time timeout) {
+		this.jobMasterGateway = Preconditions.checkNotNull(jobMasterGateway);
+		this.timeout = Preconditions.checkNotNull(timeout);
+	}
+
+	@Override
+	public <IN, ACC, OUT> CompletableFuture<OUT> updateGlobalAggregate(
+			String aggregateName,
+			IN aggregand,
+			AggregateFunction<IN, ACC, OUT> aggregateFunction) {
+
+		Preconditions.checkNotNull(aggregateName);
+		Preconditions.checkNotNull(aggregateFunction);
+
+		// the values are serialized, since the JobMaster needs the user code class loader to read them
+		final byte[] serializedAggregand;
+		final byte[] serializedAggregateFunction;
+		try {
+			serializedAggregand = InstantiationUtil.serializeObject(aggregand);
+			serializedAggregateFunction = InstantiationUtil.serializeObject(aggregateFunction);
+		} catch (IOException e) {
+			return FutureUtils.completedExceptionally(
+				new IOException("Could not serialize the update of the global aggregate " + aggregateName + '.', e));
+		}
+
+		return jobMasterGateway
+			.updateGlobalAggregate(aggregateName, serializedAggregand, serializedAggregateFunction, timeout)
+			.thenApply(serializedResult -> {
+				try {
+					return InstantiationUtil.<OUT>deserializeObject(serializedResult, aggregateFunction.getClass().getClassLoader());
+				} catch (IOException | ClassNotFoundException e) {
+					throw new CompletionException(
+						new IOException("Could not deserialize the result of the global aggregate " + aggregateName + '.', e));
+				}
+			});
+	}
+}
@@ -39,6 +39,7 @@ import org.apache.flink.runtime.memory.MemoryManager;
 import org.apache.flink.runtime.metrics.groups.TaskMetricGroup;
 import org.apache.flink.runtime.query.TaskKvStateRegistry;
 import org.apache.flink.runtime.state.TaskStateManager;
+import org.apache.flink.runtime.taskexecutor.GlobalAggregateManager;
 
 import java.util.Map;
 import java.util.concurrent.Future;
@@ -77,6 +78,8 @@ public class RuntimeEnvironment implements Environment {
 	
 	private final CheckpointResponder checkpointResponder;
 
+	private final GlobalAggregateManager aggregateManager;
+
 	private final AccumulatorRegistry accumulatorRegistry;
 
 	private final TaskKvStateRegistry kvStateRegistry;
@@ -109,6 +112,7 @@ public class RuntimeEnvironment implements Environment {
 			InputGate[] inputGates,
 			TaskEventDispatcher taskEventDispatcher,
 			CheckpointResponder checkpointResponder,
+			GlobalAggregateManager aggregateManager,
 			TaskManagerRuntimeInfo taskManagerInfo,
 			TaskMetricGroup metrics,
 			Task containingTask) {
@@ -133,6 +137,7 @@ public class RuntimeEnvironment implements Environment {
 		this.inputGates = checkNotNull(inputGates);
 		this.taskEventDispatcher = checkNotNull(taskEventDispatcher);
 		this.checkpointResponder = checkNotNull(checkpointResponder);
+		this.aggregateManager = checkNotNull(aggregateManager);
 		this.taskManagerInfo = checkNotNull(taskManagerInfo);
 		this.containingTask = containingTask;
 		this.metrics = metrics;
@@ -225,6 +230,11 @@ public class RuntimeEnvironment implements Environment {
 		return splitProvider;
 	}
 
+	@Override
+	public GlobalAggregateManager getGlobalAggregateManager() {
+		return aggregateManager;
+	}
+
 	@Override
 	public Map<String, Future<Path>> getDistributedCacheEntries() {
 		return distCacheEntries;
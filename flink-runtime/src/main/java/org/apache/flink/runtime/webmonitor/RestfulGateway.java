@@ -144,6 +144,23 @@ public interface RestfulGateway extends RpcGateway {
 		throw new UnsupportedOperationException();
 	}
 
+	/**
+	 * Stops the job with a savepoint with the given savepoint directory as a target. Before
+	 * taking the savepoint, the sources advance to the end of event time.
+	 *
+	 * @param jobId           ID of the job which should be stopped.
+	 * @param targetDirectory Target directory for the savepoint.
+	 * @param timeout         Timeout for the asynchronous operation
+	 * @return A future to the {@link CompletedCheckpoint#getExternalPointer() external pointer} of
+	 * the savepoint.
+	 */
+	default CompletableFuture<String> stopWithSavepoint(
+			JobID jobId,
+			String targetDirectory,
+			@RpcTimeout Time timeout) {
+		throw new UnsupportedOperationException();
+	}
+
 	/**
 	 * Dispose the given savepoint.
 	 *
@@ -22,7 +22,7 @@ import java.io.{File, FileInputStream, IOException}
 import java.lang.management.ManagementFactory
 import java.net.{BindException, InetAddress, InetSocketAddress, ServerSocket}
 import java.util
-import java.util.concurrent.{Callable, TimeUnit, TimeoutException}
+import java.util.concurrent.{Callable, CompletableFuture, TimeUnit, TimeoutException}
 import java.util.{Collections, UUID}
 
 import _root_.akka.actor._
@@ -30,6 +30,7 @@ import _root_.akka.pattern.ask
 import _root_.akka.util.Timeout
 import grizzled.slf4j.Logger
 import org.apache.commons.lang3.exception.ExceptionUtils
+import org.apache.flink.api.common.functions.AggregateFunction
 import org.apache.flink.api.common.time.Time
 import org.apache.flink.configuration._
 import org.apache.flink.core.fs.FileSystem
@@ -68,7 +69,7 @@ import org.apache.flink.runtime.metrics.{MetricRegistryConfiguration, MetricRegi
 import org.apache.flink.runtime.process.ProcessReaper
 import org.apache.flink.runtime.security.{SecurityConfiguration, SecurityUtils}
 import org.apache.flink.runtime.state.{TaskExecutorLocalStateStoresManager, TaskStateManagerImpl}
-import org.apache.flink.runtime.taskexecutor.{TaskExecutor, TaskManagerConfiguration, TaskManagerServices, TaskManagerServicesConfiguration}
+import org.apache.flink.runtime.taskexecutor.{GlobalAggregateManager, TaskExecutor, TaskManagerConfiguration, TaskManagerServices, TaskManagerServicesConfiguration}
 import org.apache.flink.runtime.util._
 import org.apache.flink.runtime.{FlinkActor, LeaderSessionMessageFilter, LogMessages}
 import org.apache.flink.util.NetUtils
@@ -1222,6 +1223,17 @@ class TaskManager(
         tdd.getTaskRestore,
         checkpointResponder)
 
+      // global aggregates are kept by the JobMaster, which the legacy mode does not have
+      val aggregateManager = new GlobalAggregateManager {
+        override def updateGlobalAggregate[IN, ACC, OUT](
+            aggregateName: String,
+            aggregand: IN,
+            aggregateFunction: AggregateFunction[IN, ACC, OUT]): CompletableFuture[OUT] = {
+          FutureUtils.completedExceptionally[OUT](new UnsupportedOperationException(
+            "Global aggregates are not supported in the legacy mode."))
+        }
+      }
+
       val task = new Task(
         jobInformation,
         taskInformation,
@@ -1240,6 +1252,7 @@ class TaskManager(
         taskManagerConnection,
         inputSplitProvider,
         checkpointResponder,
+        aggregateManager,
         blobCache,
         libCache,
         fileCache,
@@ -0,0 +1,186 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.blacklist;
+
+import org.apache.flink.runtime.clusterframework.types.ResourceID;
+import org.apache.flink.runtime.util.clock.ManualClock;
+import org.apache.flink.util.TestLogger;
+
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the {@link BlacklistTracker}.
+ */
+public class BlacklistTrackerTest extends TestLogger {
+
+	private static final long FAILURE_WINDOW = 1000L;
+
+	private static final long BLACKLIST_DURATION = 10000L;
+
+	/**
+	 * Tests that a TaskManager is blacklisted once it reaches the maximum number of failures
+	 * within the failure window.
+	 */
+	@Test
+	public void testTaskManagerIsBlacklistedAfterMaxFailures() {
+		final ManualClock clock = new ManualClock();
+		final BlacklistTracker blacklistTracker = new BlacklistTracker(2, FAILURE_WINDOW, BLACKLIST_DURATION, clock);
+		final ResourceID taskManagerId = ResourceID.generate();
+
+		assertFalse(blacklistTracker.reportFailure(taskManagerId, "host1"));
+		assertFalse(blacklistTracker.isBlacklisted(taskManagerId, "host2"));
+
+		assertTrue(blacklistTracker.reportFailure(taskManagerId, "host1"));
+		assertTrue(blacklistTracker.isBlacklisted(taskManagerId, "host2"));
+		assertFalse(blacklistTracker.isBlacklisted(ResourceID.generate(), "host2"));
+	}
+
+	/**
+	 * Tests that failures which happened before the failure window are not counted.
+	 */
+	@Test
+	public void testFailuresOutsideOfWindowAreIgnored() {
+		final ManualClock clock = new ManualClock();
+		final BlacklistTracker blacklistTracker = new BlacklistTracker(2, FAILURE_WINDOW, BLACKLIST_DURATION, clock);
+		final ResourceID taskManagerId = ResourceID.generate();
+
+		assertFalse(blacklistTracker.reportFailure(taskManagerId, "host"));
+		clock.advanceTime(FAILURE_WINDOW + 1L, TimeUnit.MILLISECONDS);
+		assertFalse(blacklistTracker.reportFailure(taskManagerId, "host"));
+
+		assertFalse(blacklistTracker.isBlacklisted(taskManagerId, "host"));
+	}
+
+	/**
+	 * Tests that failures of different TaskManagers on the same host blacklist the host.
+	 */
+	@Test
+	public void testHostIsBlacklisted() {
+		final ManualClock clock = new ManualClock();
+		final BlacklistTracker blacklistTracker = new BlacklistTracker(2, FAILURE_WINDOW, BLACKLIST_DURATION, clock);
+
+		assertFalse(blacklistTracker.reportFailure(ResourceID.generate(), "host"));
+		assertTrue(blacklistTracker.reportFailure(ResourceID.generate(), "host"));
+
+		assertTrue(blacklistTracker.isBlacklisted(ResourceID.generate(), "host"));
+		assertFalse(blacklistTracker.isBlacklisted(ResourceID.generate(), "otherHost"));
+		assertEquals(Collections.singleton("host"), blacklistTracker.getBlacklistedHosts());
+	}
+
+	/**
+	 * Tests that blacklisted TaskManagers and hosts are released after the blacklist duration.
+	 */
+	@Test
+	public void testBlacklistExpires() {
+		final ManualClock clock = new ManualClock();
+		final BlacklistTracker blacklistTracker = new BlacklistTracker(1, FAILURE_WINDOW, BLACKLIST_DURATION, clock);
+		final ResourceID taskManagerId = ResourceID.generate();
+
+		assertTrue(blacklistTracker.reportFailure(taskManagerId, "host"));
+		assertTrue(blacklistTracker.isBlacklisted(taskManagerId, "host"));
+
+		clock.advanceTime(BLACKLIST_DURATION, TimeUnit.MILLISECONDS);
+
+		assertFalse(blacklistTracker.isBlacklisted(taskManagerId, "host"));
+		assertTrue(blacklistTracker.getBlacklistedHosts().isEmpty());
+	}
+
+	/**
+	 * Tests that the failures of TaskManagers and hosts which did not fail again within the
+	 * failure window and the expired blacklistings are eventually dropped.
+	 */
+	@Test
+	public void testExpiredEntriesArePruned() {
+		final ManualClock clock = new ManualClock();
+		final BlacklistTracker blacklistTracker = new BlacklistTracker(2, FAILURE_WINDOW, BLACKLIST_DURATION, clock);
+
+		for (int i = 0; i < 10; i++) {
+			assertFalse(blacklistTracker.reportFailure(ResourceID.generate(), "host" + i));
+		}
+
+		assertEquals(10, blacklistTracker.getNumberTrackedTaskManagers());
+		assertEquals(10, blacklistTracker.getNumberTrackedHosts());
+
+		clock.advanceTime(FAILURE_WINDOW, TimeUnit.MILLISECONDS);
+		blacklistTracker.reportFailure(ResourceID.generate(), "otherHost");
+
+		// only the new failure is left
+		assertEquals(1, blacklistTracker.getNumberTrackedTaskManagers());
+		assertEquals(1, blacklistTracker.getNumberTrackedHosts());
+
+		final ResourceID blacklistedTaskManagerId = ResourceID.generate();
+		blacklistTracker.reportFailure(blacklistedTaskManagerId, "blacklistedHost");
+		assertTrue(blacklistTracker.reportFailure(blacklistedTaskManagerId, "blacklistedHost"));
+
+		assertEquals(2, blacklistTracker.getNumberTrackedTaskManagers());
+		assertEquals(2, blacklistTracker.getNumberTrackedHosts());
+
+		clock.advanceTime(BLACKLIST_DURATION, TimeUnit.MILLISECONDS);
+		blacklistTracker.reportFailure(ResourceID.generate(), "otherHost");
+
+		// only the newest failure is left, the blacklisting has expired
+
+		assertEquals(1, blacklistTracker.getNumberTrackedTaskManagers());
+		assertEquals(1, blacklistTracker.getNumberTrackedHosts());
+	}
+
+	/**
+	 * Tests that the failures of a removed TaskManager are dropped, but not the failures of its host.
+	 */
+	@Test
+	public void testRemoveTaskManager() {
+		final ManualClock clock = new ManualClock();
+		final BlacklistTracker blacklistTracker = new BlacklistTracker(2, FAILURE_WINDOW, BLACKLIST_DURATION, clock);
+		final ResourceID taskManagerId = ResourceID.generate();
+
+		assertFalse(blacklistTracker.reportFailure(taskManagerId, "host"));
+		blacklistTracker.removeTaskManager(taskManagerId);
+
+		assertEquals(0, blacklistTracker.getNumberTrackedTaskManagers());
+		assertEquals(1, blacklistTracker.getNumberTrackedHosts());
+
+		// the host failure is still counted
+		assertTrue(blacklistTracker.reportFailure(ResourceID.generate(), "host"));
+		assertTrue(blacklistTracker.isBlacklisted(taskManagerId, "host"));
+	}
+
+	/**
+	 * Tests that the disabled tracker never blacklists anything.
+	 */
+	@Test
+	public void testDisabledTracker() {
+		final BlacklistTracker blacklistTracker = BlacklistTracker.disabled();
+		final ResourceID taskManagerId = ResourceID.generate();
+
+		for (int i = 0; i < 10; i++) {
+			assertFalse(blacklistTracker.reportFailure(taskManagerId, "host"));
+		}
+
+		assertFalse(blacklistTracker.isEnabled());
+		assertFalse(blacklistTracker.isBlacklisted(taskManagerId, "host"));
+		assertTrue(blacklistTracker.getBlacklistedHosts().isEmpty());
+	}
+}
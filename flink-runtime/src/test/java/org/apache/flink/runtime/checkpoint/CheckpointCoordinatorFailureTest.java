@@ -42,7 +42,6 @@ import java.util.List;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
-import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
@@ -110,16 +109,11 @@ public class CheckpointCoordinatorFailureTest extends TestLogger {
 
 		AcknowledgeCheckpoint acknowledgeMessage = new AcknowledgeCheckpoint(jid, executionAttemptId, checkpointId, new CheckpointMetrics(), subtaskState);
 
-		try {
-			coord.receiveAcknowledgeMessage(acknowledgeMessage);
-			fail("Expected a checkpoint exception because the completed checkpoint store could not " +
-				"store the completed checkpoint.");
-		} catch (CheckpointException e) {
-			// ignore because we expected this exception
-		}
+		coord.receiveAcknowledgeMessage(acknowledgeMessage);
 
 		// make sure that the pending checkpoint has been discarded after we could not complete it
 		assertTrue(pendingCheckpoint.isDiscarded());
+		assertEquals(0, coord.getNumberOfPendingCheckpoints());
 
 		// make sure that the subtask state has been discarded after we could not complete it.
 		verify(operatorSubtaskState).discardState();
@@ -23,6 +23,7 @@ import org.apache.flink.api.common.time.Time;
 import org.apache.flink.api.java.tuple.Tuple2;
 import org.apache.flink.core.fs.FSDataInputStream;
 import org.apache.flink.core.fs.Path;
+import org.apache.flink.core.testutils.ManuallyTriggeredDirectExecutor;
 import org.apache.flink.runtime.concurrent.Executors;
 import org.apache.flink.runtime.execution.ExecutionState;
 import org.apache.flink.runtime.executiongraph.Execution;
@@ -62,6 +63,7 @@ import org.junit.Assert;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentCaptor;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
 import org.mockito.verification.VerificationMode;
@@ -80,6 +82,7 @@ import java.util.Random;
 import java.util.UUID;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -1732,6 +1735,89 @@ public class CheckpointCoordinatorTest extends TestLogger {
 		}
 	}
 
+	/**
+	 * Tests that a fully acknowledged checkpoint is finalized by the coordinator's executor
+	 * and not in the thread that delivered the last acknowledgement.
+	 */
+	@Test
+	public void testAsynchronousCheckpointFinalization() throws Exception {
+		final JobID jid = new JobID();
+		final long timestamp = System.currentTimeMillis();
+
+		final ExecutionAttemptID attemptID1 = new ExecutionAttemptID();
+		final ExecutionAttemptID attemptID2 = new ExecutionAttemptID();
+		ExecutionVertex vertex1 = mockExecutionVertex(attemptID1);
+		ExecutionVertex vertex2 = mockExecutionVertex(attemptID2);
+
+		final ManuallyTriggeredDirectExecutor executor = new ManuallyTriggeredDirectExecutor();
+
+		CheckpointCoordinator coord = new CheckpointCoordinator(
+			jid,
+			600000,
+			600000,
+			0,
+			Integer.MAX_VALUE,
+			CheckpointRetentionPolicy.NEVER_RETAIN_AFTER_TERMINATION,
+			new ExecutionVertex[] { vertex1, vertex2 },
+			new ExecutionVertex[] { vertex1, vertex2 },
+			new ExecutionVertex[] { vertex1, vertex2 },
+			new StandaloneCheckpointIDCounter(),
+			new StandaloneCompletedCheckpointStore(1),
+			new MemoryStateBackend(),
+			executor,
+			SharedStateRegistry.DEFAULT_FACTORY);
+
+		// the first checkpoint is finalized once the executor runs the finalization
+		assertTrue(coord.triggerCheckpoint(timestamp, false));
+		long checkpointId = coord.getPendingCheckpoints().keySet().iterator().next();
+		PendingCheckpoint checkpoint = coord.getPendingCheckpoints().get(checkpointId);
+
+		coord.receiveAcknowledgeMessage(new AcknowledgeCheckpoint(jid, attemptID1, checkpointId));
+		assertEquals(0, executor.numQueuedRunnables());
+
+		coord.receiveAcknowledgeMessage(new AcknowledgeCheckpoint(jid, attemptID2, checkpointId));
+		assertTrue(checkpoint.isFullyAcknowledged());
+		assertEquals(1, executor.numQueuedRunnables());
+
+		// acknowledgements alone do not complete the checkpoint
+		assertEquals(1, coord.getNumberOfPendingCheckpoints());
+		assertEquals(0, coord.getNumberOfRetainedSuccessfulCheckpoints());
+		assertFalse(checkpoint.isDiscarded());
+		assertFalse(checkpoint.getCompletionFuture().isDone());
+
+		executor.trigger();
+
+		assertEquals(0, coord.getNumberOfPendingCheckpoints());
+		assertEquals(1, coord.getNumberOfRetainedSuccessfulCheckpoints());
+		assertEquals(checkpointId, coord.getSuccessfulCheckpoints().get(0).getCheckpointID());
+		assertTrue(checkpoint.isDiscarded());
+		assertTrue(checkpoint.getCompletionFuture().isDone());
+
+		// a checkpoint that is declined between the last acknowledgement and its finalization
+		// must not be completed
+		assertTrue(coord.triggerCheckpoint(timestamp + 2, false));
+		checkpointId = coord.getPendingCheckpoints().keySet().iterator().next();
+		checkpoint = coord.getPendingCheckpoints().get(checkpointId);
+
+		coord.receiveAcknowledgeMessage(new AcknowledgeCheckpoint(jid, attemptID1, checkpointId));
+		coord.receiveAcknowledgeMessage(new AcknowledgeCheckpoint(jid, attemptID2, checkpointId));
+		assertEquals(1, executor.numQueuedRunnables());
+
+		coord.receiveDeclineMessage(new DeclineCheckpoint(jid, attemptID1, checkpointId));
+		assertTrue(checkpoint.isDiscarded());
+
+		while (executor.numQueuedRunnables() > 0) {
+			executor.trigger();
+		}
+
+		assertEquals(0, coord.getNumberOfPendingCheckpoints());
+		assertEquals(1, coord.getNumberOfRetainedSuccessfulCheckpoints());
+		assertNotEquals(checkpointId, coord.getSuccessfulCheckpoints().get(0).getCheckpointID());
+		assertTrue(checkpoint.getCompletionFuture().isCompletedExceptionally());
+
+		coord.shutdown(JobStatus.FINISHED);
+	}
+
 	@Test
 	public void testMaxConcurrentAttempsWithSubsumption() {
 		try {
@@ -1956,6 +2042,200 @@ public class CheckpointCoordinatorTest extends TestLogger {
 		assertFalse("Did not trigger savepoint", savepoint1.isDone());
 	}
 
+	/**
+	 * Tests that a savepoint aborts the pending checkpoints if it is configured to subsume them,
+	 * and that the next periodic checkpoint is not queued behind the aborted checkpoint.
+	 */
+	@Test
+	public void testSavepointSubsumesPendingCheckpoints() throws Exception {
+		JobID jobId = new JobID();
+
+		final ExecutionAttemptID attemptID1 = new ExecutionAttemptID();
+		ExecutionVertex vertex1 = mockExecutionVertex(attemptID1);
+
+		StandaloneCheckpointIDCounter checkpointIDCounter = new StandaloneCheckpointIDCounter();
+
+		CheckpointCoordinator coord = new CheckpointCoordinator(
+			jobId,
+			100000,
+			200000,
+			0L,
+			1,
+			CheckpointRetentionPolicy.NEVER_RETAIN_AFTER_TERMINATION,
+			new ExecutionVertex[] { vertex1 },
+			new ExecutionVertex[] { vertex1 },
+			new ExecutionVertex[] { vertex1 },
+			checkpointIDCounter,
+			new StandaloneCompletedCheckpointStore(2),
+			new MemoryStateBackend(),
+			Executors.directExecutor(),
+			SharedStateRegistry.DEFAULT_FACTORY);
+
+		coord.setSubsumePendingCheckpointsOnSavepoint(true);
+
+		String savepointDir = tmpFolder.newFolder().getAbsolutePath();
+
+		assertTrue(coord.triggerCheckpoint(0, false));
+		long checkpointId = checkpointIDCounter.getLast();
+		PendingCheckpoint checkpoint = coord.getPendingCheckpoints().get(checkpointId);
+
+		CompletableFuture<CompletedCheckpoint> savepointFuture = coord.triggerSavepoint(1, savepointDir);
+		long savepointId = checkpointIDCounter.getLast();
+
+		// the checkpoint is aborted, only the savepoint is pending
+		assertTrue(checkpoint.isDiscarded());
+		assertEquals(1, coord.getNumberOfPendingCheckpoints());
+		assertTrue(coord.getPendingCheckpoints().containsKey(savepointId));
+
+		coord.receiveAcknowledgeMessage(new AcknowledgeCheckpoint(jobId, attemptID1, savepointId));
+		assertTrue(savepointFuture.isDone());
+		assertEquals(0, coord.getNumberOfPendingCheckpoints());
+	}
+
+	/**
+	 * Tests that by default a savepoint runs alongside the pending checkpoints.
+	 */
+	@Test
+	public void testSavepointRunsAlongsidePendingCheckpoints() throws Exception {
+		JobID jobId = new JobID();
+
+		final ExecutionAttemptID attemptID1 = new ExecutionAttemptID();
+		ExecutionVertex vertex1 = mockExecutionVertex(attemptID1);
+
+		StandaloneCheckpointIDCounter checkpointIDCounter = new StandaloneCheckpointIDCounter();
+
+		CheckpointCoordinator coord = new CheckpointCoordinator(
+			jobId,
+			100000,
+			200000,
+			0L,
+			1,
+			CheckpointRetentionPolicy.NEVER_RETAIN_AFTER_TERMINATION,
+			new ExecutionVertex[] { vertex1 },
+			new ExecutionVertex[] { vertex1 },
+			new ExecutionVertex[] { vertex1 },
+			checkpointIDCounter,
+			new StandaloneCompletedCheckpointStore(2),
+			new MemoryStateBackend(),
+			Executors.directExecutor(),
+			SharedStateRegistry.DEFAULT_FACTORY);
+
+		String savepointDir = tmpFolder.newFolder().getAbsolutePath();
+
+		assertTrue(coord.triggerCheckpoint(0, false));
+		long checkpointId = checkpointIDCounter.getLast();
+		PendingCheckpoint checkpoint = coord.getPendingCheckpoints().get(checkpointId);
+
+		CompletableFuture<CompletedCheckpoint> savepointFuture = coord.triggerSavepoint(1, savepointDir);
+		long savepointId = checkpointIDCounter.getLast();
+
+		assertFalse(checkpoint.isDiscarded());
+		assertEquals(2, coord.getNumberOfPendingCheckpoints());
+
+		coord.receiveAcknowledgeMessage(new AcknowledgeCheckpoint(jobId, attemptID1, savepointId));
+		assertTrue(savepointFuture.isDone());
+		assertFalse(checkpoint.isDiscarded());
+
+		coord.receiveAcknowledgeMessage(new AcknowledgeCheckpoint(jobId, attemptID1, checkpointId));
+		assertEquals(0, coord.getNumberOfPendingCheckpoints());
+		assertEquals(1, coord.getNumberOfRetainedSuccessfulCheckpoints());
+	}
+
+	/**
+	 * Tests that savepoints expire after the savepoint timeout, independent of the checkpoint timeout.
+	 */
+	@Test
+	public void testSavepointTimeout() throws Exception {
+		JobID jobId = new JobID();
+
+		final ExecutionAttemptID attemptID1 = new ExecutionAttemptID();
+		ExecutionVertex vertex1 = mockExecutionVertex(attemptID1);
+
+		StandaloneCheckpointIDCounter checkpointIDCounter = new StandaloneCheckpointIDCounter();
+
+		CheckpointCoordinator coord = new CheckpointCoordinator(
+			jobId,
+			600000,
+			600000,
+			0L,
+			Integer.MAX_VALUE,
+			CheckpointRetentionPolicy.NEVER_RETAIN_AFTER_TERMINATION,
+			new ExecutionVertex[] { vertex1 },
+			new ExecutionVertex[] { vertex1 },
+			new ExecutionVertex[] { vertex1 },
+			checkpointIDCounter,
+			new StandaloneCompletedCheckpointStore(2),
+			new MemoryStateBackend(),
+			Executors.directExecutor(),
+			SharedStateRegistry.DEFAULT_FACTORY);
+
+		coord.setSavepointTimeout(200);
+		assertEquals(200, coord.getSavepointTimeout());
+
+		String savepointDir = tmpFolder.newFolder().getAbsolutePath();
+
+		assertTrue(coord.triggerCheckpoint(0, false));
+		long checkpointId = checkpointIDCounter.getLast();
+
+		CompletableFuture<CompletedCheckpoint> savepointFuture = coord.triggerSavepoint(1, savepointDir);
+
+		try {
+			savepointFuture.get();
+			fail("The savepoint should have expired.");
+		} catch (ExecutionException expected) {
+			// expected
+		}
+
+		// the checkpoint is still pending
+		assertEquals(1, coord.getNumberOfPendingCheckpoints());
+		assertTrue(coord.getPendingCheckpoints().containsKey(checkpointId));
+
+		coord.shutdown(JobStatus.FINISHED);
+	}
+
+	/**
+	 * Tests that terminating savepoints are sent to the tasks with their checkpoint type and
+	 * complete like regular savepoints.
+	 */
+	@Test
+	public void testTriggerTerminatingSavepoint() throws Exception {
+		JobID jobId = new JobID();
+
+		final ExecutionAttemptID attemptID1 = new ExecutionAttemptID();
+		ExecutionVertex vertex1 = mockExecutionVertex(attemptID1);
+
+		StandaloneCheckpointIDCounter checkpointIDCounter = new StandaloneCheckpointIDCounter();
+
+		CheckpointCoordinator coord = new CheckpointCoordinator(
+			jobId,
+			100000,
+			200000,
+			0L,
+			1,
+			CheckpointRetentionPolicy.NEVER_RETAIN_AFTER_TERMINATION,
+			new ExecutionVertex[] { vertex1 },
+			new ExecutionVertex[] { vertex1 },
+			new ExecutionVertex[] { vertex1 },
+			checkpointIDCounter,
+			new StandaloneCompletedCheckpointStore(2),
+			new MemoryStateBackend(),
+			Executors.directExecutor(),
+			SharedStateRegistry.DEFAULT_FACTORY);
+
+		String savepointDir = tmpFolder.newFolder().getAbsolutePath();
+
+		CompletableFuture<CompletedCheckpoint> savepointFuture = coord.triggerTerminatingSavepoint(0, savepointDir);
+		long savepointId = checkpointIDCounter.getLast();
+
+		ArgumentCaptor<CheckpointOptions> optionsCaptor = ArgumentCaptor.forClass(CheckpointOptions.class);
+		verify(vertex1.getCurrentExecutionAttempt(), times(1)).triggerCheckpoint(eq(savepointId), eq(0L), optionsCaptor.capture());
+		assertEquals(CheckpointType.TERMINATING_SAVEPOINT, optionsCaptor.getValue().getCheckpointType());
+
+		coord.receiveAcknowledgeMessage(new AcknowledgeCheckpoint(jobId, attemptID1, savepointId));
+		assertTrue(savepointFuture.isDone());
+		assertTrue(savepointFuture.get().getProperties().isSavepoint());
+	}
+
 	/**
 	 * Tests that the checkpointed partitioned and non-partitioned state is assigned properly to
 	 * the {@link Execution} upon recovery.
@@ -3552,6 +3832,78 @@ public class CheckpointCoordinatorTest extends TestLogger {
 			completedCheckpointStore.getLatestCheckpoint().getCheckpointID() == checkpointIDCounter.getLast());
 	}
 
+	/**
+	 * Tests that a rescaling checkpoint outlives the suspension of the job and that it can be
+	 * restored by the coordinator of another execution of the job.
+	 */
+	@Test
+	public void testRescalingCheckpointIsRestoredByOtherCoordinator() throws Exception {
+		final JobID jobId = new JobID();
+		final ExecutionAttemptID executionAttemptId = new ExecutionAttemptID();
+		final ExecutionVertex vertex1 = mockExecutionVertex(executionAttemptId);
+		final CompletedCheckpointStore completedCheckpointStore = new StandaloneCompletedCheckpointStore(1);
+		final StandaloneCheckpointIDCounter checkpointIDCounter = new StandaloneCheckpointIDCounter();
+
+		final CheckpointCoordinator checkpointCoordinator = new CheckpointCoordinator(
+			jobId,
+			600000L,
+			600000L,
+			0L,
+			Integer.MAX_VALUE,
+			CheckpointRetentionPolicy.NEVER_RETAIN_AFTER_TERMINATION,
+			new ExecutionVertex[]{vertex1},
+			new ExecutionVertex[]{vertex1},
+			new ExecutionVertex[]{vertex1},
+			checkpointIDCounter,
+			completedCheckpointStore,
+			new MemoryStateBackend(),
+			Executors.directExecutor(),
+			SharedStateRegistry.DEFAULT_FACTORY);
+
+		final CompletableFuture<CompletedCheckpoint> checkpointFuture = checkpointCoordinator.triggerRescalingCheckpoint(1L);
+
+		checkpointCoordinator.receiveAcknowledgeMessage(
+			new AcknowledgeCheckpoint(
+				jobId,
+				executionAttemptId,
+				checkpointIDCounter.getLast()));
+
+		final CompletedCheckpoint checkpoint = checkpointFuture.get();
+
+		assertEquals(checkpoint.getCheckpointID(), completedCheckpointStore.getLatestCheckpoint().getCheckpointID());
+		assertEquals(checkpoint, checkpointCoordinator.getLatestCheckpointRetainedOnSuspension());
+
+		checkpointCoordinator.shutdown(JobStatus.SUSPENDED);
+
+		// restore the checkpoint with the coordinator of the rescaled job
+		final CompletedCheckpointStore newCompletedCheckpointStore = new StandaloneCompletedCheckpointStore(1);
+		final StandaloneCheckpointIDCounter newCheckpointIDCounter = new StandaloneCheckpointIDCounter();
+
+		final CheckpointCoordinator newCheckpointCoordinator = new CheckpointCoordinator(
+			jobId,
+			600000L,
+			600000L,
+			0L,
+			Integer.MAX_VALUE,
+			CheckpointRetentionPolicy.NEVER_RETAIN_AFTER_TERMINATION,
+			new ExecutionVertex[]{vertex1},
+			new ExecutionVertex[]{vertex1},
+			new ExecutionVertex[]{vertex1},
+			newCheckpointIDCounter,
+			newCompletedCheckpointStore,
+			new MemoryStateBackend(),
+			Executors.directExecutor(),
+			SharedStateRegistry.DEFAULT_FACTORY);
+
+		assertTrue(newCheckpointCoordinator.restoreCompletedCheckpoint(
+			checkpoint,
+			Collections.<JobVertexID, ExecutionJobVertex>emptyMap(),
+			false));
+
+		assertEquals(checkpoint.getCheckpointID(), newCompletedCheckpointStore.getLatestCheckpoint().getCheckpointID());
+		assertEquals(checkpoint.getCheckpointID(), newCheckpointIDCounter.getLast());
+	}
+
 	@Test
 	public void testSharedStateRegistrationOnRestore() throws Exception {
 
@@ -22,6 +22,7 @@ import org.apache.flink.util.InstantiationUtil;
 
 import org.junit.Test;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
@@ -69,6 +70,39 @@ public class CheckpointPropertiesTest {
 		assertFalse(props.discardOnJobSuspended());
 	}
 
+	/**
+	 * Tests the properties of savepoints after which the job is stopped.
+	 */
+	@Test
+	public void testTerminatingSavepointProperties() {
+		CheckpointProperties props = CheckpointProperties.forTerminatingSavepoint();
+
+		assertTrue(props.forceCheckpoint());
+		assertTrue(props.isSavepoint());
+		assertEquals(CheckpointType.TERMINATING_SAVEPOINT, props.getCheckpointType());
+		assertFalse(props.discardOnSubsumed());
+		assertFalse(props.discardOnJobFinished());
+		assertFalse(props.discardOnJobCancelled());
+		assertFalse(props.discardOnJobFailed());
+		assertFalse(props.discardOnJobSuspended());
+	}
+
+	/**
+	 * Tests the rescaling checkpoint properties.
+	 */
+	@Test
+	public void testRescalingCheckpointProperties() {
+		CheckpointProperties props = CheckpointProperties.forRescaling();
+
+		assertTrue(props.forceCheckpoint());
+		assertFalse(props.isSavepoint());
+		assertTrue(props.discardOnSubsumed());
+		assertTrue(props.discardOnJobFinished());
+		assertTrue(props.discardOnJobCancelled());
+		assertTrue(props.discardOnJobFailed());
+		assertFalse(props.discardOnJobSuspended());
+	}
+
 	/**
 	 * Tests the isSavepoint utility works as expected.
 	 */
@@ -314,9 +314,11 @@ public class CheckpointStatsTrackerTest {
 			CheckpointStatsTracker.LATEST_COMPLETED_CHECKPOINT_SIZE_METRIC,
 			CheckpointStatsTracker.LATEST_COMPLETED_CHECKPOINT_DURATION_METRIC,
 			CheckpointStatsTracker.LATEST_COMPLETED_CHECKPOINT_ALIGNMENT_BUFFERED_METRIC,
-			CheckpointStatsTracker.LATEST_COMPLETED_CHECKPOINT_EXTERNAL_PATH_METRIC
+			CheckpointStatsTracker.LATEST_COMPLETED_CHECKPOINT_EXTERNAL_PATH_METRIC,
+			CheckpointStatsTracker.LATEST_ACKNOWLEDGE_PROCESSING_DURATION_METRIC,
+			CheckpointStatsTracker.LATEST_COMPLETED_CHECKPOINT_FINALIZATION_DURATION_METRIC
 		)));
-		assertEquals(9, registeredGaugeNames.size());
+		assertEquals(11, registeredGaugeNames.size());
 	}
 
 	/**
@@ -359,6 +361,8 @@ public class CheckpointStatsTrackerTest {
 		Gauge<Long> latestCompletedDuration = (Gauge<Long>) registeredGauges.get(CheckpointStatsTracker.LATEST_COMPLETED_CHECKPOINT_DURATION_METRIC);
 		Gauge<Long> latestCompletedAlignmentBuffered = (Gauge<Long>) registeredGauges.get(CheckpointStatsTracker.LATEST_COMPLETED_CHECKPOINT_ALIGNMENT_BUFFERED_METRIC);
 		Gauge<String> latestCompletedExternalPath = (Gauge<String>) registeredGauges.get(CheckpointStatsTracker.LATEST_COMPLETED_CHECKPOINT_EXTERNAL_PATH_METRIC);
+		Gauge<Long> latestAckProcessingDuration = (Gauge<Long>) registeredGauges.get(CheckpointStatsTracker.LATEST_ACKNOWLEDGE_PROCESSING_DURATION_METRIC);
+		Gauge<Long> latestFinalizationDuration = (Gauge<Long>) registeredGauges.get(CheckpointStatsTracker.LATEST_COMPLETED_CHECKPOINT_FINALIZATION_DURATION_METRIC);
 
 		assertEquals(Long.valueOf(0), numCheckpoints.getValue());
 		assertEquals(Integer.valueOf(0), numInProgressCheckpoints.getValue());
@@ -369,6 +373,8 @@ public class CheckpointStatsTrackerTest {
 		assertEquals(Long.valueOf(-1), latestCompletedDuration.getValue());
 		assertEquals(Long.valueOf(-1), latestCompletedAlignmentBuffered.getValue());
 		assertEquals("n/a", latestCompletedExternalPath.getValue());
+		assertEquals(Long.valueOf(-1), latestAckProcessingDuration.getValue());
+		assertEquals(Long.valueOf(-1), latestFinalizationDuration.getValue());
 
 		PendingCheckpointStats pending = stats.reportPendingCheckpoint(
 			0,
@@ -397,8 +403,10 @@ public class CheckpointStatsTrackerTest {
 			ignored);
 
 		assertTrue(pending.reportSubtaskStats(jobVertex.getJobVertexId(), subtaskStats));
+		stats.reportAcknowledgeProcessingDuration(1234L);
 
 		pending.reportCompletedCheckpoint(externalPath);
+		stats.reportFinalizationDuration(42L);
 
 		// Verify completed checkpoint updated
 		assertEquals(Long.valueOf(1), numCheckpoints.getValue());
@@ -410,6 +418,8 @@ public class CheckpointStatsTrackerTest {
 		assertEquals(Long.valueOf(ackTimestamp), latestCompletedDuration.getValue());
 		assertEquals(Long.valueOf(alignmenetBuffered), latestCompletedAlignmentBuffered.getValue());
 		assertEquals(externalPath, latestCompletedExternalPath.getValue());
+		assertEquals(Long.valueOf(1234L), latestAckProcessingDuration.getValue());
+		assertEquals(Long.valueOf(42L), latestFinalizationDuration.getValue());
 
 		// Check failed
 		PendingCheckpointStats nextPending = stats.reportPendingCheckpoint(
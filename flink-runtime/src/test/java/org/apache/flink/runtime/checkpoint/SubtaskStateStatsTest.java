@@ -54,6 +54,39 @@ public class SubtaskStateStatsTest {
 
 		// Trigger timestamp < ack timestamp
 		assertEquals(0, stats.getEndToEndDuration(ackTimestamp + 1));
+
+		// Barrier propagation is unknown
+		assertEquals(-1L, stats.getCheckpointStartDelay());
+		assertEquals(-1L, stats.getBarrierPropagationDuration());
+		assertEquals(-1, stats.getLastAlignedChannel());
+	}
+
+	/**
+	 * Tests access to the barrier propagation stats.
+	 */
+	@Test
+	public void testBarrierPropagationAccess() throws Exception {
+		SubtaskStateStats stats = new SubtaskStateStats(
+			0,
+			Integer.MAX_VALUE + 1L,
+			Integer.MAX_VALUE + 2L,
+			Integer.MAX_VALUE + 3L,
+			Integer.MAX_VALUE + 4L,
+			Integer.MAX_VALUE + 5L,
+			Integer.MAX_VALUE + 6L,
+			Integer.MAX_VALUE + 7L,
+			Integer.MAX_VALUE + 8L,
+			3);
+
+		assertEquals(Integer.MAX_VALUE + 7L, stats.getCheckpointStartDelay());
+		assertEquals(Integer.MAX_VALUE + 8L, stats.getBarrierPropagationDuration());
+		assertEquals(3, stats.getLastAlignedChannel());
+
+		SubtaskStateStats copy = CommonTestUtils.createCopySerializable(stats);
+
+		assertEquals(Integer.MAX_VALUE + 7L, copy.getCheckpointStartDelay());
+		assertEquals(Integer.MAX_VALUE + 8L, copy.getBarrierPropagationDuration());
+		assertEquals(3, copy.getLastAlignedChannel());
 	}
 
 	/**
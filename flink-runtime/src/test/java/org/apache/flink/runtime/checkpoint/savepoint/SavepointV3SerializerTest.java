@@ -0,0 +1,291 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.checkpoint.savepoint;
+
+import org.apache.flink.core.fs.Path;
+import org.apache.flink.core.memory.ByteArrayInputStreamWithPos;
+import org.apache.flink.core.memory.ByteArrayOutputStreamWithPos;
+import org.apache.flink.core.memory.DataInputViewStreamWrapper;
+import org.apache.flink.core.memory.DataOutputViewStreamWrapper;
+import org.apache.flink.runtime.checkpoint.MasterState;
+import org.apache.flink.runtime.checkpoint.OperatorState;
+import org.apache.flink.runtime.checkpoint.OperatorSubtaskState;
+import org.apache.flink.runtime.jobgraph.OperatorID;
+import org.apache.flink.runtime.state.IncrementalKeyedStateHandle;
+import org.apache.flink.runtime.state.KeyGroupRange;
+import org.apache.flink.runtime.state.StateHandleID;
+import org.apache.flink.runtime.state.StreamStateHandle;
+import org.apache.flink.runtime.state.KeyGroupRangeOffsets;
+import org.apache.flink.runtime.state.KeyGroupsStateHandle;
+import org.apache.flink.runtime.state.filesystem.FileStateHandle;
+import org.apache.flink.runtime.state.filesystem.SegmentFileStateHandle;
+import org.apache.flink.util.TestLogger;
+
+import org.junit.Test;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Various tests for the version 3 format serializer of a checkpoint.
+ */
+public class SavepointV3SerializerTest extends TestLogger {
+
+	@Test
+	public void testCheckpointWithNoState() throws Exception {
+		final Random rnd = new Random();
+
+		for (int i = 0; i < 100; ++i) {
+			final long checkpointId = rnd.nextLong() & 0x7fffffffffffffffL;
+			final Collection<OperatorState> taskStates = Collections.emptyList();
+			final Collection<MasterState> masterStates = Collections.emptyList();
+
+			testCheckpointSerialization(checkpointId, taskStates, masterStates);
+		}
+	}
+
+	@Test
+	public void testCheckpointWithOnlyMasterState() throws Exception {
+		final Random rnd = new Random();
+		final int maxNumMasterStates = 5;
+
+		for (int i = 0; i < 100; ++i) {
+			final long checkpointId = rnd.nextLong() & 0x7fffffffffffffffL;
+
+			final Collection<OperatorState> operatorStates = Collections.emptyList();
+
+			final int numMasterStates = rnd.nextInt(maxNumMasterStates) + 1;
+			final Collection<MasterState> masterStates =
+					CheckpointTestUtils.createRandomMasterStates(rnd, numMasterStates);
+
+			testCheckpointSerialization(checkpointId, operatorStates, masterStates);
+		}
+	}
+
+	@Test
+	public void testCheckpointWithMasterAndTaskState() throws Exception {
+		final Random rnd = new Random();
+
+		final int maxNumMasterStates = 5;
+		final int maxTaskStates = 20;
+		final int maxNumSubtasks = 20;
+
+		for (int i = 0; i < 100; ++i) {
+			final long checkpointId = rnd.nextLong() & 0x7fffffffffffffffL;
+
+			final int numTasks = rnd.nextInt(maxTaskStates) + 1;
+			final int numSubtasks = rnd.nextInt(maxNumSubtasks) + 1;
+			final Collection<OperatorState> taskStates =
+					CheckpointTestUtils.createOperatorStates(rnd, numTasks, numSubtasks);
+
+			final int numMasterStates = rnd.nextInt(maxNumMasterStates) + 1;
+			final Collection<MasterState> masterStates =
+					CheckpointTestUtils.createRandomMasterStates(rnd, numMasterStates);
+
+			testCheckpointSerialization(checkpointId, taskStates, masterStates);
+		}
+	}
+
+	/**
+	 * Tests that incremental state handles which share files with each other are restored
+	 * with their files, and that the shared files are only stored once.
+	 */
+	@Test
+	public void testSharedFileHandlesAreDeduplicated() throws Exception {
+		final int numSubtasks = 128;
+		final Collection<OperatorState> operatorStates = createIncrementalOperatorStates(numSubtasks);
+
+		final SavepointV3 deserialized = serializeAndDeserializeV3(42L, operatorStates, Collections.emptyList());
+		assertEquals(operatorStates, deserialized.getOperatorStates());
+
+		// all subtasks reference the same shared file, which should map to the same restored handle
+		StreamStateHandle sharedHandle = null;
+		for (OperatorState operatorState : deserialized.getOperatorStates()) {
+			for (OperatorSubtaskState subtaskState : operatorState.getStates()) {
+				IncrementalKeyedStateHandle keyedStateHandle =
+					(IncrementalKeyedStateHandle) subtaskState.getManagedKeyedState().iterator().next();
+				StreamStateHandle handle = keyedStateHandle.getSharedState().get(new StateHandleID("common.sst"));
+
+				if (sharedHandle == null) {
+					sharedHandle = handle;
+				}
+				assertSame(sharedHandle, handle);
+			}
+		}
+	}
+
+	/**
+	 * Tests that the version 3 format is smaller than the version 2 format for checkpoints
+	 * with many file handles in the same directory.
+	 */
+	@Test
+	public void testMetadataIsSmallerThanVersion2() throws Exception {
+		final Collection<OperatorState> operatorStates = createIncrementalOperatorStates(128);
+
+		ByteArrayOutputStreamWithPos v2Bytes = new ByteArrayOutputStreamWithPos();
+		try (DataOutputStream out = new DataOutputViewStreamWrapper(v2Bytes)) {
+			SavepointV2Serializer.INSTANCE.serialize(
+				new SavepointV2(42L, operatorStates, Collections.emptyList()), out);
+		}
+
+		ByteArrayOutputStreamWithPos v3Bytes = new ByteArrayOutputStreamWithPos();
+		try (DataOutputStream out = new DataOutputViewStreamWrapper(v3Bytes)) {
+			SavepointV3Serializer.INSTANCE.serialize(
+				new SavepointV3(42L, operatorStates, Collections.emptyList()), out);
+		}
+
+		assertTrue(
+			"Expected version 3 (" + v3Bytes.getPosition() + " bytes) to be less than half the size of " +
+				"version 2 (" + v2Bytes.getPosition() + " bytes).",
+			v3Bytes.getPosition() * 2 < v2Bytes.getPosition());
+	}
+
+	@Test
+	public void testSegmentFileHandles() throws Exception {
+		final Path segmentFile = new Path("hdfs://namenode:9000/flink/checkpoints/chk-42/segment-" + UUID.randomUUID());
+		final int numSubtasks = 16;
+
+		final OperatorState operatorState = new OperatorState(new OperatorID(), numSubtasks, 128);
+		for (int subtask = 0; subtask < numSubtasks; subtask++) {
+			final KeyGroupsStateHandle keyedStateHandle = new KeyGroupsStateHandle(
+				new KeyGroupRangeOffsets(KeyGroupRange.of(subtask, subtask), new long[] {0L}),
+				new SegmentFileStateHandle(segmentFile, 1000L * subtask, 1000L));
+
+			operatorState.putState(subtask, new OperatorSubtaskState(null, null, keyedStateHandle, null));
+		}
+
+		final Collection<OperatorState> operatorStates = Collections.singletonList(operatorState);
+		final SavepointV3 deserialized = serializeAndDeserializeV3(42L, operatorStates, Collections.emptyList());
+
+		assertEquals(operatorStates, deserialized.getOperatorStates());
+	}
+
+	@Test
+	public void testVarLongRoundTrip() throws Exception {
+		final long[] values = {0L, 1L, 127L, 128L, 16383L, 16384L, Integer.MAX_VALUE, Long.MAX_VALUE, -1L, Long.MIN_VALUE};
+
+		ByteArrayOutputStreamWithPos baos = new ByteArrayOutputStreamWithPos();
+		DataOutputStream out = new DataOutputViewStreamWrapper(baos);
+		for (long value : values) {
+			SavepointV3Serializer.writeVarLong(value, out);
+		}
+		out.close();
+
+		DataInputStream in = new DataInputViewStreamWrapper(new ByteArrayInputStreamWithPos(baos.toByteArray()));
+		for (long value : values) {
+			assertEquals(value, SavepointV3Serializer.readVarLong(in));
+		}
+	}
+
+	@Test(expected = IOException.class)
+	public void testReadVarIntRejectsOverflow() throws Exception {
+		ByteArrayOutputStreamWithPos baos = new ByteArrayOutputStreamWithPos();
+		DataOutputStream out = new DataOutputViewStreamWrapper(baos);
+		SavepointV3Serializer.writeVarLong(Integer.MAX_VALUE + 1L, out);
+		out.close();
+
+		DataInputStream in = new DataInputViewStreamWrapper(new ByteArrayInputStreamWithPos(baos.toByteArray()));
+		SavepointV3Serializer.readVarInt(in);
+	}
+
+	// ------------------------------------------------------------------------
+
+	private static Collection<OperatorState> createIncrementalOperatorStates(int numSubtasks) {
+		final String directory = "hdfs://namenode:9000/flink/checkpoints/3f3a2b1c4d5e6f708192a3b4c5d6e7f8/shared/";
+		final FileStateHandle commonFile = new FileStateHandle(new Path(directory + "common.sst"), 4096L);
+
+		final OperatorState operatorState = new OperatorState(new OperatorID(), numSubtasks, 128);
+		for (int subtask = 0; subtask < numSubtasks; subtask++) {
+			final Map<StateHandleID, StreamStateHandle> sharedState = new HashMap<>();
+			// every subtask has its own copy of the handle to the common file, as after a restore
+			sharedState.put(new StateHandleID("common.sst"), new FileStateHandle(commonFile.getFilePath(), 4096L));
+			for (int file = 0; file < 8; file++) {
+				String fileName = UUID.randomUUID() + ".sst";
+				sharedState.put(new StateHandleID(fileName), new FileStateHandle(new Path(directory + fileName), 1024L * file));
+			}
+
+			final Map<StateHandleID, StreamStateHandle> privateState = new HashMap<>();
+			privateState.put(new StateHandleID("MANIFEST"), new FileStateHandle(new Path(directory + UUID.randomUUID()), 128L));
+
+			final IncrementalKeyedStateHandle keyedStateHandle = new IncrementalKeyedStateHandle(
+				UUID.randomUUID(),
+				KeyGroupRange.of(subtask, subtask),
+				42L,
+				sharedState,
+				privateState,
+				new FileStateHandle(new Path(directory + UUID.randomUUID()), 256L));
+
+			operatorState.putState(subtask, new OperatorSubtaskState(null, null, keyedStateHandle, null));
+		}
+
+		final List<OperatorState> operatorStates = new ArrayList<>(1);
+		operatorStates.add(operatorState);
+		return operatorStates;
+	}
+
+	private static SavepointV3 serializeAndDeserializeV3(
+			long checkpointId,
+			Collection<OperatorState> operatorStates,
+			Collection<MasterState> masterStates) throws IOException {
+
+		SavepointV3Serializer serializer = SavepointV3Serializer.INSTANCE;
+
+		ByteArrayOutputStreamWithPos baos = new ByteArrayOutputStreamWithPos();
+		DataOutputStream out = new DataOutputViewStreamWrapper(baos);
+
+		serializer.serialize(new SavepointV3(checkpointId, operatorStates, masterStates), out);
+		out.close();
+
+		byte[] bytes = baos.toByteArray();
+
+		DataInputStream in = new DataInputViewStreamWrapper(new ByteArrayInputStreamWithPos(bytes));
+		return serializer.deserialize(in, SavepointV3SerializerTest.class.getClassLoader());
+	}
+
+	private void testCheckpointSerialization(
+			long checkpointId,
+			Collection<OperatorState> operatorStates,
+			Collection<MasterState> masterStates) throws IOException {
+
+		SavepointV3 deserialized = serializeAndDeserializeV3(checkpointId, operatorStates, masterStates);
+
+		assertEquals(checkpointId, deserialized.getCheckpointId());
+		assertEquals(operatorStates, deserialized.getOperatorStates());
+
+		assertEquals(masterStates.size(), deserialized.getMasterStates().size());
+		for (Iterator<MasterState> a = masterStates.iterator(), b = deserialized.getMasterStates().iterator();
+				a.hasNext();) {
+			CheckpointTestUtils.assertMasterStateEquality(a.next(), b.next());
+		}
+	}
+}
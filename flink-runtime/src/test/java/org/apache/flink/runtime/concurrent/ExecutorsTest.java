@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.concurrent;
+
+import org.apache.flink.util.TestLogger;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the {@link Executor} implementations in {@link Executors}.
+ */
+public class ExecutorsTest extends TestLogger {
+
+	/**
+	 * Tests that the serial executor runs its runnables in submission order and never
+	 * concurrently, even if the backing executor has multiple threads.
+	 */
+	@Test
+	public void testSerialExecutorRunsInOrder() throws Exception {
+		final int numRunnables = 1000;
+		final ExecutorService backingExecutor = java.util.concurrent.Executors.newFixedThreadPool(4);
+
+		try {
+			final Executor serialExecutor = Executors.serialExecutor(backingExecutor);
+			final List<Integer> executionOrder = new ArrayList<>(numRunnables);
+			final AtomicInteger concurrentRunnables = new AtomicInteger(0);
+			final AtomicInteger maxConcurrentRunnables = new AtomicInteger(0);
+			final CountDownLatch allDone = new CountDownLatch(numRunnables);
+
+			for (int i = 0; i < numRunnables; i++) {
+				final int index = i;
+				serialExecutor.execute(() -> {
+					final int concurrent = concurrentRunnables.incrementAndGet();
+					maxConcurrentRunnables.accumulateAndGet(concurrent, Math::max);
+
+					executionOrder.add(index);
+
+					concurrentRunnables.decrementAndGet();
+					allDone.countDown();
+				});
+			}
+
+			assertTrue(allDone.await(10L, TimeUnit.SECONDS));
+			assertEquals(1, maxConcurrentRunnables.get());
+
+			for (int i = 0; i < numRunnables; i++) {
+				assertEquals(Integer.valueOf(i), executionOrder.get(i));
+			}
+		} finally {
+			backingExecutor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Tests that runnables which are submitted from within a runnable of a serial executor on
+	 * top of a direct executor are run after the submitting runnable finished.
+	 */
+	@Test
+	public void testSerialExecutorOnDirectExecutorDefersNestedRunnables() {
+		final Executor serialExecutor = Executors.serialExecutor(Executors.directExecutor());
+		final List<String> executionOrder = new ArrayList<>(3);
+
+		serialExecutor.execute(() -> {
+			executionOrder.add("outer-start");
+			serialExecutor.execute(() -> executionOrder.add("nested"));
+			executionOrder.add("outer-end");
+		});
+
+		assertEquals(3, executionOrder.size());
+		assertEquals("outer-start", executionOrder.get(0));
+		assertEquals("outer-end", executionOrder.get(1));
+		assertEquals("nested", executionOrder.get(2));
+	}
+
+	/**
+	 * Tests that a failing runnable does not prevent the execution of subsequent runnables.
+	 */
+	@Test
+	public void testSerialExecutorContinuesAfterFailure() {
+		final Executor serialExecutor = Executors.serialExecutor(Executors.directExecutor());
+		final AtomicInteger executed = new AtomicInteger(0);
+
+		serialExecutor.execute(() -> {
+			throw new RuntimeException("Test exception");
+		});
+		serialExecutor.execute(executed::incrementAndGet);
+
+		assertEquals(1, executed.get());
+	}
+}
@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.executiongraph;
+
+import org.apache.flink.api.common.JobID;
+import org.apache.flink.runtime.executiongraph.restart.NoRestartStrategy;
+import org.apache.flink.runtime.io.network.partition.ResultPartitionType;
+import org.apache.flink.runtime.jobgraph.DistributionPattern;
+import org.apache.flink.runtime.jobgraph.JobVertex;
+import org.apache.flink.runtime.jobmanager.scheduler.Scheduler;
+import org.apache.flink.runtime.testingUtils.TestingUtils;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time and the heap needed to build the {@link ExecutionGraph} of a job whose
+ * vertices are connected all-to-all, for a range of parallelisms.
+ *
+ * <p>The benchmark is run via its main method. The parallelisms can be passed as arguments.
+ */
+public class ExecutionGraphConstructionBenchmark {
+
+	private static final int[] DEFAULT_PARALLELISMS = {100, 500, 1000, 2000};
+
+	private static final int NUM_WARMUP_RUNS = 2;
+
+	private static final int NUM_MEASURED_RUNS = 5;
+
+	private final ScheduledExecutorService executor;
+
+	public ExecutionGraphConstructionBenchmark(ScheduledExecutorService executor) {
+		this.executor = executor;
+	}
+
+	/**
+	 * Builds the execution graph of a source, map and sink job with the given parallelism.
+	 */
+	public ExecutionGraph buildGraph(int parallelism) throws Exception {
+		final JobVertex source = ExecutionGraphTestUtils.createNoOpVertex(parallelism);
+		final JobVertex map = ExecutionGraphTestUtils.createNoOpVertex(parallelism);
+		final JobVertex sink = ExecutionGraphTestUtils.createNoOpVertex(parallelism);
+
+		map.connectNewDataSetAsInput(source, DistributionPattern.ALL_TO_ALL, ResultPartitionType.PIPELINED);
+		sink.connectNewDataSetAsInput(map, DistributionPattern.ALL_TO_ALL, ResultPartitionType.PIPELINED);
+
+		return ExecutionGraphTestUtils.createExecutionGraph(
+			new JobID(),
+			new Scheduler(TestingUtils.defaultExecutionContext()),
+			new NoRestartStrategy(),
+			executor,
+			source,
+			map,
+			sink);
+	}
+
+	/**
+	 * Returns the average time in milliseconds to build the execution graph with the given
+	 * parallelism.
+	 */
+	public double measureBuildTimeMillis(int parallelism) throws Exception {
+		for (int i = 0; i < NUM_WARMUP_RUNS; i++) {
+			buildGraph(parallelism);
+		}
+
+		final long start = System.nanoTime();
+		for (int i = 0; i < NUM_MEASURED_RUNS; i++) {
+			buildGraph(parallelism);
+		}
+		return (System.nanoTime() - start) / 1_000_000.0 / NUM_MEASURED_RUNS;
+	}
+
+	/**
+	 * Returns the heap in bytes retained by the execution graph with the given parallelism.
+	 */
+	public long measureRetainedHeapBytes(int parallelism) throws Exception {
+		final long before = usedHeapAfterGc();
+		final ExecutionGraph graph = buildGraph(parallelism);
+		final long after = usedHeapAfterGc();
+
+		// keep the graph reachable until the heap has been measured
+		if (graph.getAllVertices().isEmpty()) {
+			throw new IllegalStateException("The execution graph has no vertices.");
+		}
+		return after - before;
+	}
+
+	private static long usedHeapAfterGc() throws InterruptedException {
+		final Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+			Thread.sleep(100L);
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+	public static void main(String[] args) throws Exception {
+		final int[] parallelisms;
+		if (args.length > 0) {
+			parallelisms = new int[args.length];
+			for (int i = 0; i < args.length; i++) {
+				parallelisms[i] = Integer.parseInt(args[i]);
+			}
+		}
+		else {
+			parallelisms = DEFAULT_PARALLELISMS;
+		}
+
+		final ScheduledExecutorService executor =
+			Executors.newScheduledThreadPool(Runtime.getRuntime().availableProcessors());
+
+		try {
+			final ExecutionGraphConstructionBenchmark benchmark = new ExecutionGraphConstructionBenchmark(executor);
+
+			System.out.println("parallelism\tbuild time (ms)\tretained heap (MB)");
+			for (int parallelism : parallelisms) {
+				final double buildTime = benchmark.measureBuildTimeMillis(parallelism);
+				final long retainedHeap = benchmark.measureRetainedHeapBytes(parallelism);
+
+				System.out.println(String.format("%d\t%.1f\t%.1f",
+					parallelism, buildTime, retainedHeap / (1024.0 * 1024.0)));
+			}
+		}
+		finally {
+			executor.shutdownNow();
+			executor.awaitTermination(10L, TimeUnit.SECONDS);
+		}
+	}
+}
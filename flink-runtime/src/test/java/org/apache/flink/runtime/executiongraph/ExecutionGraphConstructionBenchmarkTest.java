@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.executiongraph;
+
+import org.apache.flink.util.TestLogger;
+
+import org.junit.Test;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for the {@link ExecutionGraphConstructionBenchmark}.
+ */
+public class ExecutionGraphConstructionBenchmarkTest extends TestLogger {
+
+	@Test
+	public void testBuildGraph() throws Exception {
+		final ScheduledExecutorService executor = Executors.newScheduledThreadPool(4);
+
+		try {
+			final ExecutionGraph graph = new ExecutionGraphConstructionBenchmark(executor).buildGraph(50);
+
+			assertEquals(3, graph.getAllVertices().size());
+			assertEquals(150, graph.getTotalNumberOfVertices());
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+}
@@ -44,6 +44,8 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 
 import org.apache.flink.configuration.Configuration;
 import org.apache.flink.core.io.InputSplit;
@@ -646,4 +648,176 @@ public class ExecutionGraphConstructionTest {
 			fail(e.getMessage());
 		}
 	}
+
+	/**
+	 * Tests that the subtasks of an all-to-all connection share their input edges and that the
+	 * partitions still expose one consumer edge per consuming subtask.
+	 */
+	@Test
+	public void testAllToAllConnectionSharesInputEdges() throws Exception {
+		JobVertex v1 = new JobVertex("vertex1");
+		JobVertex v2 = new JobVertex("vertex2");
+		v1.setParallelism(3);
+		v2.setParallelism(5);
+		v1.setInvokableClass(AbstractInvokable.class);
+		v2.setInvokableClass(AbstractInvokable.class);
+
+		v2.connectNewDataSetAsInput(v1, DistributionPattern.ALL_TO_ALL, ResultPartitionType.PIPELINED);
+
+		ExecutionGraph eg = new ExecutionGraph(
+			TestingUtils.defaultExecutor(),
+			TestingUtils.defaultExecutor(),
+			new JobID(),
+			"Test Job Sample Name",
+			new Configuration(),
+			new SerializedValue<>(new ExecutionConfig()),
+			AkkaUtils.getDefaultTimeout(),
+			new NoRestartStrategy(),
+			new Scheduler(TestingUtils.defaultExecutionContext()));
+
+		eg.attachJobGraph(Arrays.asList(v1, v2));
+
+		ExecutionVertex[] producers = eg.getJobVertex(v1.getID()).getTaskVertices();
+		ExecutionVertex[] consumers = eg.getJobVertex(v2.getID()).getTaskVertices();
+
+		ExecutionEdge[] sharedEdges = consumers[0].getInputEdges(0);
+		assertEquals(producers.length, sharedEdges.length);
+		for (ExecutionVertex consumer : consumers) {
+			assertTrue(sharedEdges == consumer.getInputEdges(0));
+		}
+
+		for (ExecutionVertex producer : producers) {
+			IntermediateResultPartition partition = producer.getProducedPartitions().values().iterator().next();
+			assertTrue(partition == sharedEdges[producer.getParallelSubtaskIndex()].getSource());
+
+			List<List<ExecutionEdge>> consumerGroups = partition.getConsumers();
+			assertEquals(1, consumerGroups.size());
+			assertEquals(consumers.length, consumerGroups.get(0).size());
+
+			for (int i = 0; i < consumers.length; i++) {
+				ExecutionEdge consumerEdge = consumerGroups.get(0).get(i);
+				assertTrue(partition == consumerEdge.getSource());
+				assertTrue(consumers[i] == consumerEdge.getTarget());
+				assertEquals(0, consumerEdge.getInputNum());
+			}
+		}
+	}
+
+	/**
+	 * Tests that the execution job vertices of a larger job are created in parallel on the I/O
+	 * executor and are attached in topological order.
+	 */
+	@Test
+	public void testParallelJobVertexCreation() throws Exception {
+		final List<JobVertex> jobVertices = createAllToAllChain(16);
+		final ExecutorService ioExecutor = java.util.concurrent.Executors.newFixedThreadPool(4);
+
+		try {
+			ExecutionGraph eg = createExecutionGraph(ioExecutor);
+			eg.attachJobGraph(jobVertices);
+
+			verifyAllToAllChain(eg, jobVertices);
+		}
+		finally {
+			ioExecutor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Tests that the calling thread creates all execution job vertices if the I/O executor
+	 * does not run the creation tasks.
+	 */
+	@Test
+	public void testParallelJobVertexCreationWithoutExecutorThreads() throws Exception {
+		final List<JobVertex> jobVertices = createAllToAllChain(8);
+
+		// an executor which never runs the submitted tasks
+		ExecutionGraph eg = createExecutionGraph(ignored -> {});
+		eg.attachJobGraph(jobVertices);
+
+		verifyAllToAllChain(eg, jobVertices);
+	}
+
+	/**
+	 * Tests that a failure to create one of the execution job vertices in parallel fails the
+	 * attachment of the job graph.
+	 */
+	@Test
+	public void testParallelJobVertexCreationFailure() throws Exception {
+		final List<JobVertex> jobVertices = createAllToAllChain(8);
+
+		@SuppressWarnings("unchecked")
+		InputSplitSource<InputSplit> failingSource = mock(InputSplitSource.class);
+		when(failingSource.createInputSplits(Matchers.anyInt())).thenThrow(new RuntimeException("Test exception"));
+		jobVertices.get(0).setInputSplitSource(failingSource);
+
+		final ExecutorService ioExecutor = java.util.concurrent.Executors.newFixedThreadPool(4);
+
+		try {
+			ExecutionGraph eg = createExecutionGraph(ioExecutor);
+			eg.attachJobGraph(jobVertices);
+			fail("Expected the attachment of the job graph to fail.");
+		}
+		catch (JobException e) {
+			// expected
+		}
+		finally {
+			ioExecutor.shutdownNow();
+		}
+	}
+
+	private static List<JobVertex> createAllToAllChain(int numVertices) {
+		final List<JobVertex> jobVertices = new ArrayList<>(numVertices);
+
+		for (int i = 0; i < numVertices; i++) {
+			JobVertex vertex = new JobVertex("vertex" + i);
+			vertex.setParallelism(i % 4 + 1);
+			vertex.setInvokableClass(AbstractInvokable.class);
+
+			if (i > 0) {
+				vertex.connectNewDataSetAsInput(jobVertices.get(i - 1), DistributionPattern.ALL_TO_ALL, ResultPartitionType.PIPELINED);
+			}
+
+			jobVertices.add(vertex);
+		}
+
+		return jobVertices;
+	}
+
+	private static void verifyAllToAllChain(ExecutionGraph eg, List<JobVertex> jobVertices) {
+		assertEquals(jobVertices.size(), eg.getAllVertices().size());
+
+		int index = 0;
+		for (ExecutionJobVertex ejv : eg.getVerticesTopologically()) {
+			final JobVertex jobVertex = jobVertices.get(index);
+
+			assertTrue(jobVertex == ejv.getJobVertex());
+			assertEquals(jobVertex.getParallelism(), ejv.getParallelism());
+
+			if (index > 0) {
+				final int numProducers = jobVertices.get(index - 1).getParallelism();
+
+				for (ExecutionVertex consumer : ejv.getTaskVertices()) {
+					assertEquals(numProducers, consumer.getInputEdges(0).length);
+				}
+			}
+
+			index++;
+		}
+
+		assertEquals(jobVertices.size(), index);
+	}
+
+	private static ExecutionGraph createExecutionGraph(Executor ioExecutor) throws Exception {
+		return new ExecutionGraph(
+			TestingUtils.defaultExecutor(),
+			ioExecutor,
+			new JobID(),
+			"Test Job Sample Name",
+			new Configuration(),
+			new SerializedValue<>(new ExecutionConfig()),
+			AkkaUtils.getDefaultTimeout(),
+			new NoRestartStrategy(),
+			new Scheduler(TestingUtils.defaultExecutionContext()));
+	}
 }
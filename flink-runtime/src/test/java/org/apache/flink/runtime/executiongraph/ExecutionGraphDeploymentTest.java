@@ -26,6 +26,7 @@ import org.apache.flink.api.java.tuple.Tuple2;
 import org.apache.flink.configuration.CheckpointingOptions;
 import org.apache.flink.configuration.Configuration;
 import org.apache.flink.metrics.groups.UnregisteredMetricsGroup;
+import org.apache.flink.runtime.JobException;
 import org.apache.flink.runtime.accumulators.AccumulatorSnapshot;
 import org.apache.flink.runtime.akka.AkkaUtils;
 import org.apache.flink.runtime.blob.BlobWriter;
@@ -33,6 +34,7 @@ import org.apache.flink.runtime.blob.PermanentBlobService;
 import org.apache.flink.runtime.blob.VoidBlobWriter;
 import org.apache.flink.runtime.checkpoint.CheckpointRetentionPolicy;
 import org.apache.flink.runtime.checkpoint.StandaloneCheckpointRecoveryFactory;
+import org.apache.flink.runtime.deployment.InputChannelDeploymentDescriptor;
 import org.apache.flink.runtime.deployment.InputGateDeploymentDescriptor;
 import org.apache.flink.runtime.deployment.ResultPartitionDeploymentDescriptor;
 import org.apache.flink.runtime.deployment.TaskDeploymentDescriptor;
@@ -55,6 +57,7 @@ import org.apache.flink.runtime.jobgraph.tasks.JobCheckpointingSettings;
 import org.apache.flink.runtime.jobmanager.scheduler.Scheduler;
 import org.apache.flink.runtime.jobmanager.slots.ActorTaskManagerGateway;
 import org.apache.flink.runtime.jobmaster.SlotOwner;
+import org.apache.flink.runtime.messages.Acknowledge;
 import org.apache.flink.runtime.operators.BatchTask;
 import org.apache.flink.runtime.taskmanager.LocalTaskManagerLocation;
 import org.apache.flink.runtime.taskmanager.TaskExecutionState;
@@ -67,6 +70,7 @@ import org.apache.flink.util.TestLogger;
 import org.junit.Test;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -84,6 +88,8 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
 
@@ -657,6 +663,167 @@ public class ExecutionGraphDeploymentTest extends TestLogger {
 		}
 	}
 
+	/**
+	 * Tests that eager scheduling submits all tasks of a TaskManager with a single call, and that
+	 * the subtasks on the same TaskManager share the descriptors of their all-to-all inputs.
+	 */
+	@Test
+	public void testEagerSchedulingSubmitsTasksInBatches() throws Exception {
+		final int parallelism = 2;
+		final ProgrammedSlotProvider slotProvider = new ProgrammedSlotProvider(parallelism);
+
+		final JobVertexID sourceVertexId = new JobVertexID();
+		final JobVertex sourceVertex = new JobVertex("Test source", sourceVertexId);
+		sourceVertex.setInvokableClass(NoOpInvokable.class);
+		sourceVertex.setParallelism(parallelism);
+
+		final JobVertexID sinkVertexId = new JobVertexID();
+		final JobVertex sinkVertex = new JobVertex("Test sink", sinkVertexId);
+		sinkVertex.setInvokableClass(NoOpInvokable.class);
+		sinkVertex.setParallelism(parallelism);
+
+		sinkVertex.connectNewDataSetAsInput(sourceVertex, DistributionPattern.ALL_TO_ALL, ResultPartitionType.PIPELINED);
+
+		final TaskManagerLocation taskManagerLocation = new LocalTaskManagerLocation();
+		final BatchRecordingTaskManagerGateway taskManagerGateway = new BatchRecordingTaskManagerGateway();
+
+		for (JobVertexID jobVertexID : Arrays.asList(sourceVertexId, sinkVertexId)) {
+			CompletableFuture<LogicalSlot>[] slotFutureArray = new CompletableFuture[parallelism];
+
+			for (int i = 0; i < parallelism; i++) {
+				slotFutureArray[i] = CompletableFuture.completedFuture(
+					new SimpleSlot(mock(SlotOwner.class), taskManagerLocation, i, taskManagerGateway));
+			}
+
+			slotProvider.addSlots(jobVertexID, slotFutureArray);
+		}
+
+		final ExecutionGraph executionGraph = ExecutionGraphTestUtils.createExecutionGraph(
+			new JobID(),
+			slotProvider,
+			new NoRestartStrategy(),
+			new DirectScheduledExecutorService(),
+			Time.seconds(10L),
+			sourceVertex,
+			sinkVertex);
+
+		executionGraph.setScheduleMode(ScheduleMode.EAGER);
+		executionGraph.scheduleForExecution();
+
+		for (ExecutionVertex executionVertex : executionGraph.getAllExecutionVertices()) {
+			assertEquals(ExecutionState.DEPLOYING, executionVertex.getCurrentExecutionAttempt().getState());
+		}
+
+		assertEquals(1, taskManagerGateway.submittedBatches.size());
+
+		final Collection<TaskDeploymentDescriptor> batch = taskManagerGateway.submittedBatches.get(0);
+		assertEquals(2 * parallelism, batch.size());
+
+		InputChannelDeploymentDescriptor[] sharedDescriptors = null;
+
+		for (TaskDeploymentDescriptor tdd : batch) {
+			if (!tdd.getInputGates().isEmpty()) {
+				final InputChannelDeploymentDescriptor[] descriptors =
+					tdd.getInputGates().iterator().next().getInputChannelDeploymentDescriptors();
+
+				assertEquals(parallelism, descriptors.length);
+
+				if (sharedDescriptors == null) {
+					sharedDescriptors = descriptors;
+				} else {
+					assertSame(sharedDescriptors, descriptors);
+				}
+			}
+		}
+
+		assertNotNull(sharedDescriptors);
+
+		// outside of a deployment round, the descriptors are not cached
+		final ExecutionJobVertex sinkJobVertex = executionGraph.getJobVertex(sinkVertexId);
+		final ExecutionEdge[] edges = sinkJobVertex.getTaskVertices()[0].getInputEdges(0);
+
+		assertNotSame(
+			sinkJobVertex.getSharedInputChannelDescriptors(0, edges, taskManagerLocation.getResourceID()),
+			sinkJobVertex.getSharedInputChannelDescriptors(0, edges, taskManagerLocation.getResourceID()));
+	}
+
+	/**
+	 * Tests that an execution of a batch which cannot be deployed is failed on its own,
+	 * and that the other executions of the batch are still submitted.
+	 */
+	@Test
+	public void testBatchedSubmissionOnlyFailsUndeployableExecutions() throws Exception {
+		final int parallelism = 2;
+		final ProgrammedSlotProvider slotProvider = new ProgrammedSlotProvider(parallelism);
+
+		final JobVertexID sourceVertexId = new JobVertexID();
+		final JobVertex sourceVertex = new JobVertex("Test source", sourceVertexId);
+		sourceVertex.setInvokableClass(NoOpInvokable.class);
+		sourceVertex.setParallelism(parallelism);
+
+		final JobVertexID sinkVertexId = new JobVertexID();
+		final JobVertex sinkVertex = new JobVertex("Test sink", sinkVertexId);
+		sinkVertex.setInvokableClass(NoOpInvokable.class);
+		sinkVertex.setParallelism(parallelism);
+
+		sinkVertex.connectNewDataSetAsInput(sourceVertex, DistributionPattern.ALL_TO_ALL, ResultPartitionType.PIPELINED);
+
+		final TaskManagerLocation taskManagerLocation = new LocalTaskManagerLocation();
+		final BatchRecordingTaskManagerGateway taskManagerGateway = new BatchRecordingTaskManagerGateway();
+
+		for (JobVertexID jobVertexID : Arrays.asList(sourceVertexId, sinkVertexId)) {
+			CompletableFuture<LogicalSlot>[] slotFutureArray = new CompletableFuture[parallelism];
+
+			for (int i = 0; i < parallelism; i++) {
+				final SimpleSlot slot;
+
+				if (jobVertexID.equals(sourceVertexId) && i == 0) {
+					// the TaskManager of this slot is considered dead once the task is deployed
+					slot = new SimpleSlot(mock(SlotOwner.class), taskManagerLocation, i, taskManagerGateway) {
+						@Override
+						public boolean isAlive() {
+							return false;
+						}
+					};
+				} else {
+					slot = new SimpleSlot(mock(SlotOwner.class), taskManagerLocation, i, taskManagerGateway);
+				}
+
+				slotFutureArray[i] = CompletableFuture.completedFuture(slot);
+			}
+
+			slotProvider.addSlots(jobVertexID, slotFutureArray);
+		}
+
+		final ExecutionGraph executionGraph = ExecutionGraphTestUtils.createExecutionGraph(
+			new JobID(),
+			slotProvider,
+			new NoRestartStrategy(),
+			new DirectScheduledExecutorService(),
+			Time.seconds(10L),
+			sourceVertex,
+			sinkVertex);
+
+		executionGraph.setScheduleMode(ScheduleMode.EAGER);
+		executionGraph.scheduleForExecution();
+
+		final Execution undeployableExecution = executionGraph.getJobVertex(sourceVertexId)
+			.getTaskVertices()[0].getCurrentExecutionAttempt();
+
+		assertEquals(ExecutionState.FAILED, undeployableExecution.getState());
+		assertTrue(undeployableExecution.getFailureCause() instanceof JobException);
+
+		// the other executions were deployed with a single call
+		assertEquals(1, taskManagerGateway.submittedBatches.size());
+
+		final Collection<TaskDeploymentDescriptor> batch = taskManagerGateway.submittedBatches.get(0);
+		assertEquals(2 * parallelism - 1, batch.size());
+
+		for (TaskDeploymentDescriptor tdd : batch) {
+			assertNotEquals(undeployableExecution.getAttemptId(), tdd.getExecutionAttemptId());
+		}
+	}
+
 	private SimpleSlot createSlot(TaskManagerLocation taskManagerLocation, int index) {
 		return new SimpleSlot(
 			mock(SlotOwner.class),
@@ -665,6 +832,26 @@ public class ExecutionGraphDeploymentTest extends TestLogger {
 			new SimpleAckingTaskManagerGateway());
 	}
 
+	/**
+	 * A {@link SimpleAckingTaskManagerGateway} which supports batched task submission and
+	 * records the submitted batches.
+	 */
+	private static final class BatchRecordingTaskManagerGateway extends SimpleAckingTaskManagerGateway {
+
+		private final List<Collection<TaskDeploymentDescriptor>> submittedBatches = new ArrayList<>();
+
+		@Override
+		public CompletableFuture<Acknowledge> submitTasks(Collection<TaskDeploymentDescriptor> tdds, Time timeout) {
+			submittedBatches.add(new ArrayList<>(tdds));
+			return CompletableFuture.completedFuture(Acknowledge.get());
+		}
+
+		@Override
+		public boolean supportsBatchedTaskSubmission() {
+			return true;
+		}
+	}
+
 	@SuppressWarnings("serial")
 	public static class FailingFinalizeJobVertex extends JobVertex {
 
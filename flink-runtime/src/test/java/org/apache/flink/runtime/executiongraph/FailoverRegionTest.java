@@ -21,41 +21,75 @@ package org.apache.flink.runtime.executiongraph;
 import org.apache.flink.api.common.JobID;
 import org.apache.flink.runtime.JobException;
 import org.apache.flink.runtime.akka.AkkaUtils;
+import org.apache.flink.runtime.checkpoint.CheckpointProperties;
+import org.apache.flink.runtime.checkpoint.CheckpointRetentionPolicy;
+import org.apache.flink.runtime.checkpoint.CheckpointStatsTracker;
+import org.apache.flink.runtime.checkpoint.CompletedCheckpoint;
+import org.apache.flink.runtime.checkpoint.JobManagerTaskRestore;
+import org.apache.flink.runtime.checkpoint.OperatorState;
+import org.apache.flink.runtime.checkpoint.OperatorSubtaskState;
+import org.apache.flink.runtime.checkpoint.StandaloneCheckpointIDCounter;
+import org.apache.flink.runtime.checkpoint.StandaloneCompletedCheckpointStore;
 import org.apache.flink.runtime.concurrent.Executors;
+import org.apache.flink.runtime.deployment.TaskDeploymentDescriptor;
+import org.apache.flink.runtime.concurrent.ScheduledExecutor;
 import org.apache.flink.runtime.execution.ExecutionState;
 import org.apache.flink.runtime.executiongraph.failover.FailoverStrategy;
 import org.apache.flink.runtime.executiongraph.failover.FailoverStrategy.Factory;
 import org.apache.flink.runtime.executiongraph.failover.RestartPipelinedRegionStrategy;
 import org.apache.flink.runtime.executiongraph.restart.InfiniteDelayRestartStrategy;
 import org.apache.flink.runtime.executiongraph.restart.NoRestartStrategy;
+import org.apache.flink.runtime.executiongraph.restart.RestartCallback;
 import org.apache.flink.runtime.executiongraph.restart.RestartStrategy;
 import org.apache.flink.runtime.executiongraph.utils.SimpleSlotProvider;
 import org.apache.flink.runtime.instance.Instance;
 import org.apache.flink.runtime.jobmaster.slotpool.SlotProvider;
+import org.apache.flink.runtime.io.network.partition.PartitionNotFoundException;
+import org.apache.flink.runtime.io.network.partition.ResultPartitionID;
 import org.apache.flink.runtime.io.network.partition.ResultPartitionType;
 import org.apache.flink.runtime.jobgraph.DistributionPattern;
 import org.apache.flink.runtime.jobgraph.JobStatus;
 import org.apache.flink.runtime.jobgraph.JobVertex;
-import org.apache.flink.runtime.jobgraph.ScheduleMode;
+import org.apache.flink.runtime.jobgraph.OperatorID;
 import org.apache.flink.runtime.jobgraph.tasks.AbstractInvokable;
+import org.apache.flink.runtime.jobgraph.tasks.CheckpointCoordinatorConfiguration;
 import org.apache.flink.runtime.jobmanager.scheduler.LocationPreferenceConstraint;
 import org.apache.flink.runtime.jobmanager.scheduler.Scheduler;
 import org.apache.flink.runtime.jobmanager.slots.ActorTaskManagerGateway;
+import org.apache.flink.runtime.messages.TaskMessages.SubmitTask;
+import org.apache.flink.runtime.metrics.groups.UnregisteredMetricGroups;
+import org.apache.flink.runtime.state.KeyGroupRange;
+import org.apache.flink.runtime.state.KeyGroupRangeAssignment;
+import org.apache.flink.runtime.state.KeyGroupRangeOffsets;
+import org.apache.flink.runtime.state.KeyGroupsStateHandle;
+import org.apache.flink.runtime.state.memory.ByteStreamStateHandle;
+import org.apache.flink.runtime.state.memory.MemoryStateBackend;
+import org.apache.flink.runtime.state.testutils.TestCompletedCheckpointStorageLocation;
 import org.apache.flink.runtime.testingUtils.TestingUtils;
 import org.apache.flink.util.TestLogger;
 
-import org.junit.Ignore;
 import org.junit.Test;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+
+import scala.concurrent.ExecutionContext;
 
 import static org.apache.flink.runtime.executiongraph.ExecutionGraphTestUtils.SimpleActorGateway;
 import static org.apache.flink.runtime.executiongraph.ExecutionGraphTestUtils.waitUntilExecutionState;
 import static org.apache.flink.runtime.executiongraph.ExecutionGraphTestUtils.waitUntilFailoverRegionState;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 public class FailoverRegionTest extends TestLogger {
@@ -66,7 +100,7 @@ public class FailoverRegionTest extends TestLogger {
 	 */
 	@Test
 	public void testSingleRegionFailover() throws Exception {
-		RestartStrategy restartStrategy = new InfiniteDelayRestartStrategy(10);
+		RestartStrategy restartStrategy = new DirectRestartStrategy(10);
 		ExecutionGraph eg = createSingleRegionExecutionGraph(restartStrategy);
 		RestartPipelinedRegionStrategy strategy = (RestartPipelinedRegionStrategy)eg.getFailoverStrategy();
 
@@ -83,6 +117,57 @@ public class FailoverRegionTest extends TestLogger {
 		assertEquals(JobStatus.RUNNING, strategy.getFailoverRegion(ev).getState());
 	}
 
+	/**
+	 * Tests that the restart of a failover region is delayed by the restart strategy.
+	 */
+	@Test
+	public void testRegionRestartIsDelayedByRestartStrategy() throws Exception {
+		RestartStrategy restartStrategy = new InfiniteDelayRestartStrategy(10);
+		ExecutionGraph eg = createSingleRegionExecutionGraph(restartStrategy);
+		RestartPipelinedRegionStrategy strategy = (RestartPipelinedRegionStrategy) eg.getFailoverStrategy();
+
+		ExecutionVertex ev = eg.getAllExecutionVertices().iterator().next();
+
+		ev.getCurrentExecutionAttempt().fail(new Exception("Test Exception"));
+		for (ExecutionVertex evs : eg.getAllExecutionVertices()) {
+			evs.getCurrentExecutionAttempt().cancelingComplete();
+		}
+
+		// the restart strategy never triggers the restart
+		assertEquals(JobStatus.CANCELED, strategy.getFailoverRegion(ev).getState());
+		for (ExecutionVertex evs : eg.getAllExecutionVertices()) {
+			assertEquals(0, evs.getCurrentExecutionAttempt().getAttemptNumber());
+		}
+		assertEquals(JobStatus.RUNNING, eg.getState());
+	}
+
+	/**
+	 * Tests that restarts of a failover region count as restart attempts, so that the job
+	 * fails once the restart strategy does not allow any further restarts.
+	 */
+	@Test
+	public void testRegionRestartsCountAsRestartAttempts() throws Exception {
+		RestartStrategy restartStrategy = new DirectRestartStrategy(1);
+		ExecutionGraph eg = createSingleRegionExecutionGraph(restartStrategy);
+		RestartPipelinedRegionStrategy strategy = (RestartPipelinedRegionStrategy) eg.getFailoverStrategy();
+
+		ExecutionVertex ev = eg.getAllExecutionVertices().iterator().next();
+
+		ev.getCurrentExecutionAttempt().fail(new Exception("Test Exception"));
+		for (ExecutionVertex evs : eg.getAllExecutionVertices()) {
+			evs.getCurrentExecutionAttempt().cancelingComplete();
+		}
+		assertEquals(JobStatus.RUNNING, strategy.getFailoverRegion(ev).getState());
+		assertEquals(1, ev.getCurrentExecutionAttempt().getAttemptNumber());
+		assertFalse(restartStrategy.canRestart());
+
+		ev.getCurrentExecutionAttempt().fail(new Exception("Test Exception"));
+		for (ExecutionVertex evs : eg.getAllExecutionVertices()) {
+			evs.getCurrentExecutionAttempt().cancelingComplete();
+		}
+		assertEquals(JobStatus.FAILED, eg.getState());
+	}
+
 	/**
 	 * Tests that a job has server failover regions and one region failover does not influence others
 	 * 
@@ -132,7 +217,7 @@ public class FailoverRegionTest extends TestLogger {
 			TestingUtils.defaultExecutor(),
 			TestingUtils.defaultExecutor(),
 			AkkaUtils.getDefaultTimeout(),
-			new InfiniteDelayRestartStrategy(10),
+			new DirectRestartStrategy(10),
 			new FailoverPipelinedRegionWithDirectExecutor(),
 			slotProvider);
 
@@ -254,7 +339,7 @@ public class FailoverRegionTest extends TestLogger {
 				TestingUtils.defaultExecutor(),
 				TestingUtils.defaultExecutor(),
 				AkkaUtils.getDefaultTimeout(),
-				new InfiniteDelayRestartStrategy(10),
+				new DirectRestartStrategy(10),
 				new RestartPipelinedRegionStrategy.Factory(),
 				scheduler);
 		try {
@@ -287,12 +372,10 @@ public class FailoverRegionTest extends TestLogger {
 	}
 
 	/**
-	 * Tests that if a task reports the result of its preceding task is failed,
-	 * its preceding task will be considered as failed, and start to failover
-	 * TODO: as the report part is not finished yet, this case is ignored temporarily
-	 * @throws Exception
+	 * Tests that if a task reports that the blocking result of its preceding task is missing,
+	 * the region of the preceding task is restarted as well, and the failed task is only
+	 * scheduled again once the result has been produced again.
 	 */
-	@Ignore
 	@Test
 	public void testSucceedingNoticePreceding() throws Exception {
 		Instance instance = ExecutionGraphTestUtils.getInstance(
@@ -326,7 +409,7 @@ public class FailoverRegionTest extends TestLogger {
 			TestingUtils.defaultExecutor(),
 			TestingUtils.defaultExecutor(),
 			AkkaUtils.getDefaultTimeout(),
-			new InfiniteDelayRestartStrategy(10),
+			new DirectRestartStrategy(10),
 			new FailoverPipelinedRegionWithDirectExecutor(),
 			scheduler);
 		try {
@@ -336,16 +419,170 @@ public class FailoverRegionTest extends TestLogger {
 			e.printStackTrace();
 			fail("Job failed with exception: " + e.getMessage());
 		}
-		eg.setScheduleMode(ScheduleMode.EAGER);
 		eg.scheduleForExecution();
 		RestartPipelinedRegionStrategy strategy = (RestartPipelinedRegionStrategy)eg.getFailoverStrategy();
 
-		ExecutionVertex ev11 = eg.getJobVertex(v2.getID()).getTaskVertices()[0];
+		ExecutionVertex ev11 = eg.getJobVertex(v1.getID()).getTaskVertices()[0];
 		ExecutionVertex ev21 = eg.getJobVertex(v2.getID()).getTaskVertices()[0];
-		ev21.getCurrentExecutionAttempt().fail(new Exception("Fail with v1"));
 
-		assertEquals(JobStatus.CANCELLING, strategy.getFailoverRegion(ev21).getState());
-		assertEquals(JobStatus.CANCELLING, strategy.getFailoverRegion(ev11).getState());
+		waitUntilExecutionState(ev11.getCurrentExecutionAttempt(), ExecutionState.DEPLOYING, 2000);
+		ev11.getCurrentExecutionAttempt().markFinished();
+		waitUntilExecutionState(ev21.getCurrentExecutionAttempt(), ExecutionState.DEPLOYING, 2000);
+
+		final IntermediateResultPartition partition = ev11.getProducedPartitions().values().iterator().next();
+		ev21.getCurrentExecutionAttempt().fail(new PartitionNotFoundException(
+			new ResultPartitionID(partition.getPartitionId(), ev11.getCurrentExecutionAttempt().getAttemptId())));
+
+		// the producer is running again, the consumer waits for the result to be produced
+		assertEquals(JobStatus.RUNNING, strategy.getFailoverRegion(ev11).getState());
+		assertEquals(JobStatus.RUNNING, strategy.getFailoverRegion(ev21).getState());
+		assertEquals(1, ev11.getCurrentExecutionAttempt().getAttemptNumber());
+		assertEquals(1, ev21.getCurrentExecutionAttempt().getAttemptNumber());
+		assertFalse(partition.isConsumable());
+		assertEquals(ExecutionState.CREATED, ev21.getCurrentExecutionAttempt().getState());
+
+		waitUntilExecutionState(ev11.getCurrentExecutionAttempt(), ExecutionState.DEPLOYING, 2000);
+		ev11.getCurrentExecutionAttempt().markFinished();
+
+		assertTrue(partition.isConsumable());
+		waitUntilExecutionState(ev21.getCurrentExecutionAttempt(), ExecutionState.DEPLOYING, 2000);
+	}
+
+	/**
+	 * Tests that a restarted failover region restores the state of the latest completed
+	 * checkpoint into its own subtasks, and leaves the subtasks of other regions untouched.
+	 */
+	@Test
+	public void testRegionFailoverRestoresSubtaskState() throws Exception {
+		final SubmissionRecordingActorGateway taskManagerGateway =
+			new SubmissionRecordingActorGateway(TestingUtils.directExecutionContext());
+		Instance instance = ExecutionGraphTestUtils.getInstance(
+				new ActorTaskManagerGateway(
+						taskManagerGateway),
+				4);
+
+		Scheduler scheduler = new Scheduler(TestingUtils.defaultExecutionContext());
+		scheduler.newInstanceAvailable(instance);
+
+		final JobID jobId = new JobID();
+		final String jobName = "Test Job Sample Name";
+
+		JobVertex v1 = new JobVertex("vertex1");
+		JobVertex v2 = new JobVertex("vertex2");
+
+		v1.setParallelism(2);
+		v2.setParallelism(2);
+
+		v1.setInvokableClass(AbstractInvokable.class);
+		v2.setInvokableClass(AbstractInvokable.class);
+
+		// two independent regions: (a1) -> (b1) and (a2) -> (b2)
+		v2.connectNewDataSetAsInput(v1, DistributionPattern.POINTWISE, ResultPartitionType.PIPELINED);
+
+		List<JobVertex> ordered = new ArrayList<>(Arrays.asList(v1, v2));
+
+		ExecutionGraph eg = new ExecutionGraph(
+			new DummyJobInformation(
+				jobId,
+				jobName),
+			TestingUtils.defaultExecutor(),
+			TestingUtils.defaultExecutor(),
+			AkkaUtils.getDefaultTimeout(),
+			new DirectRestartStrategy(10),
+			new FailoverPipelinedRegionWithDirectExecutor(),
+			scheduler);
+
+		eg.attachJobGraph(ordered);
+
+		final List<ExecutionJobVertex> allVertices = new ArrayList<>(eg.getAllVertices().values());
+		final CheckpointCoordinatorConfiguration checkpointCoordinatorConfiguration = new CheckpointCoordinatorConfiguration(
+			Long.MAX_VALUE,
+			600000L,
+			0L,
+			1,
+			CheckpointRetentionPolicy.NEVER_RETAIN_AFTER_TERMINATION,
+			true);
+		final StandaloneCompletedCheckpointStore checkpointStore = new StandaloneCompletedCheckpointStore(1);
+
+		eg.enableCheckpointing(
+			checkpointCoordinatorConfiguration.getCheckpointInterval(),
+			checkpointCoordinatorConfiguration.getCheckpointTimeout(),
+			checkpointCoordinatorConfiguration.getMinPauseBetweenCheckpoints(),
+			checkpointCoordinatorConfiguration.getMaxConcurrentCheckpoints(),
+			checkpointCoordinatorConfiguration.getCheckpointRetentionPolicy(),
+			allVertices,
+			allVertices,
+			allVertices,
+			Collections.emptyList(),
+			new StandaloneCheckpointIDCounter(),
+			checkpointStore,
+			new MemoryStateBackend(),
+			new CheckpointStatsTracker(
+				1,
+				allVertices,
+				checkpointCoordinatorConfiguration,
+				UnregisteredMetricGroups.createUnregisteredTaskMetricGroup()));
+
+		// a completed checkpoint with keyed state for every subtask of the first vertex
+		final long checkpointId = 42L;
+		final ExecutionJobVertex ejv1 = eg.getJobVertex(v1.getID());
+		final OperatorID operatorId = OperatorID.fromJobVertexID(v1.getID());
+		final OperatorState operatorState = new OperatorState(operatorId, ejv1.getParallelism(), ejv1.getMaxParallelism());
+		for (int subtask = 0; subtask < ejv1.getParallelism(); subtask++) {
+			final KeyGroupRange keyGroupRange = KeyGroupRangeAssignment.computeKeyGroupRangeForOperatorIndex(
+				ejv1.getMaxParallelism(), ejv1.getParallelism(), subtask);
+			final KeyGroupsStateHandle keyedState = new KeyGroupsStateHandle(
+				new KeyGroupRangeOffsets(keyGroupRange),
+				new ByteStreamStateHandle("keyed-state-" + subtask, new byte[] {1, 2, 3}));
+			operatorState.putState(subtask, new OperatorSubtaskState(null, null, keyedState, null));
+		}
+
+		checkpointStore.addCheckpoint(new CompletedCheckpoint(
+			jobId,
+			checkpointId,
+			0L,
+			1L,
+			Collections.singletonMap(operatorId, operatorState),
+			Collections.emptyList(),
+			CheckpointProperties.forCheckpoint(CheckpointRetentionPolicy.NEVER_RETAIN_AFTER_TERMINATION),
+			new TestCompletedCheckpointStorageLocation()));
+
+		eg.scheduleForExecution();
+		RestartPipelinedRegionStrategy strategy = (RestartPipelinedRegionStrategy) eg.getFailoverStrategy();
+
+		ExecutionVertex ev11 = ejv1.getTaskVertices()[0];
+		ExecutionVertex ev12 = ejv1.getTaskVertices()[1];
+		ExecutionVertex ev21 = eg.getJobVertex(v2.getID()).getTaskVertices()[0];
+		ExecutionVertex ev22 = eg.getJobVertex(v2.getID()).getTaskVertices()[1];
+
+		final Execution previousExecution12 = ev12.getCurrentExecutionAttempt();
+		waitUntilExecutionState(ev11.getCurrentExecutionAttempt(), ExecutionState.DEPLOYING, 2000);
+		waitUntilExecutionState(ev12.getCurrentExecutionAttempt(), ExecutionState.DEPLOYING, 2000);
+
+		// the consumers are not scheduled yet, so the region is restarted right away
+		ev11.getCurrentExecutionAttempt().fail(new Exception("Test Exception"));
+		assertEquals(JobStatus.RUNNING, strategy.getFailoverRegion(ev11).getState());
+		assertEquals(JobStatus.RUNNING, strategy.getFailoverRegion(ev12).getState());
+
+		// the restarted stateful subtask has its state restored
+		assertEquals(1, ev11.getCurrentExecutionAttempt().getAttemptNumber());
+		final TaskDeploymentDescriptor deployment = taskManagerGateway.waitForSubmission(
+			ev11.getCurrentExecutionAttempt().getAttemptId(), 2000);
+		final JobManagerTaskRestore taskRestore = deployment.getTaskRestore();
+		assertNotNull(taskRestore);
+		assertEquals(checkpointId, taskRestore.getRestoreCheckpointId());
+		final OperatorSubtaskState restoredState = taskRestore.getTaskStateSnapshot().getSubtaskStateByOperatorID(operatorId);
+		assertNotNull(restoredState);
+		assertTrue(restoredState.getManagedKeyedState().hasState());
+
+		// the restarted stateless subtask has nothing to restore
+		assertEquals(1, ev21.getCurrentExecutionAttempt().getAttemptNumber());
+		assertNull(ev21.getCurrentExecutionAttempt().getTaskRestore());
+
+		// the other region was neither restarted nor restored
+		assertSame(previousExecution12, ev12.getCurrentExecutionAttempt());
+		assertNull(ev12.getCurrentExecutionAttempt().getTaskRestore());
+		assertEquals(0, ev22.getCurrentExecutionAttempt().getAttemptNumber());
 	}
 
 	/**
@@ -378,7 +615,7 @@ public class FailoverRegionTest extends TestLogger {
 	 */
 	@Test
 	public void testFailWhileRestarting() throws Exception {
-		RestartStrategy restartStrategy = new InfiniteDelayRestartStrategy();
+		RestartStrategy restartStrategy = new DirectRestartStrategy(10);
 		ExecutionGraph eg = createSingleRegionExecutionGraph(restartStrategy);
 		RestartPipelinedRegionStrategy strategy = (RestartPipelinedRegionStrategy)eg.getFailoverStrategy();
 
@@ -452,6 +689,65 @@ public class FailoverRegionTest extends TestLogger {
 
 	// ------------------------------------------------------------------------
 
+	/**
+	 * A restart strategy that restarts directly in the calling thread, for a limited
+	 * number of restart attempts.
+	 */
+	private static class DirectRestartStrategy implements RestartStrategy {
+
+		private final int maxRestartAttempts;
+
+		private int restartAttempts;
+
+		DirectRestartStrategy(int maxRestartAttempts) {
+			this.maxRestartAttempts = maxRestartAttempts;
+		}
+
+		@Override
+		public boolean canRestart() {
+			return restartAttempts < maxRestartAttempts;
+		}
+
+		@Override
+		public void restart(RestartCallback restarter, ScheduledExecutor executor) {
+			restartAttempts++;
+			restarter.triggerFullRecovery();
+		}
+	}
+
+	/**
+	 * An actor gateway that acknowledges all messages and records the submitted tasks.
+	 */
+	@SuppressWarnings("serial")
+	private static class SubmissionRecordingActorGateway extends SimpleActorGateway {
+
+		private final Map<ExecutionAttemptID, TaskDeploymentDescriptor> submittedTasks = new ConcurrentHashMap<>();
+
+		SubmissionRecordingActorGateway(ExecutionContext executionContext) {
+			super(executionContext);
+		}
+
+		@Override
+		public Object handleMessage(Object message) {
+			if (message instanceof SubmitTask) {
+				final TaskDeploymentDescriptor tdd = ((SubmitTask) message).tasks();
+				submittedTasks.put(tdd.getExecutionAttemptId(), tdd);
+			}
+			return super.handleMessage(message);
+		}
+
+		TaskDeploymentDescriptor waitForSubmission(ExecutionAttemptID attemptId, long maxWaitMillis) throws Exception {
+			final long deadline = System.nanoTime() + maxWaitMillis * 1_000_000;
+			while (!submittedTasks.containsKey(attemptId)) {
+				if (System.nanoTime() >= deadline) {
+					throw new TimeoutException("The execution " + attemptId + " was not submitted in time.");
+				}
+				Thread.sleep(2);
+			}
+			return submittedTasks.get(attemptId);
+		}
+	}
+
 	/**
 	 * A factory to create a RestartPipelinedRegionStrategy that uses a
 	 * direct (synchronous) executor for easier testing.
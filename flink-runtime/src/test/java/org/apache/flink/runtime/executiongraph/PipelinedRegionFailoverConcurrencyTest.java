@@ -44,6 +44,7 @@ import java.util.concurrent.Executor;
 
 import static org.apache.flink.runtime.executiongraph.ExecutionGraphTestUtils.waitUntilExecutionState;
 import static org.apache.flink.runtime.executiongraph.ExecutionGraphTestUtils.waitUntilJobStatus;
+import static org.apache.flink.runtime.executiongraph.ExecutionGraphTestUtils.waitUntilFailoverRegionState;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
@@ -210,7 +211,7 @@ public class PipelinedRegionFailoverConcurrencyTest extends TestLogger {
 		final ExecutionGraph graph = createSampleGraph(
 				jid,
 				new FailoverPipelinedRegionWithCustomExecutor(executor),
-				new FixedDelayRestartStrategy(2, 0), // twice restart, no delay
+				new FixedDelayRestartStrategy(3, 0), // one global and two local restarts, no delay
 				slotProvider,
 				2);
 		RestartPipelinedRegionStrategy strategy = (RestartPipelinedRegionStrategy)graph.getFailoverStrategy();
@@ -254,6 +255,7 @@ public class PipelinedRegionFailoverConcurrencyTest extends TestLogger {
 
 		// let the recovery action continue - this should do nothing any more
 		executor.trigger();
+		waitUntilFailoverRegionState(strategy.getFailoverRegion(vertex2), JobStatus.RUNNING, 1000);
 
 		// validate that the graph is still peachy
 		assertEquals(JobStatus.RUNNING, graph.getState());
@@ -275,6 +277,7 @@ public class PipelinedRegionFailoverConcurrencyTest extends TestLogger {
 
 		// let the local recovery action continue - this should recover the vertex2
 		executor.trigger();
+		waitUntilFailoverRegionState(strategy.getFailoverRegion(vertex2), JobStatus.RUNNING, 1000);
 
 		waitUntilExecutionState(vertex2.getCurrentExecutionAttempt(), ExecutionState.DEPLOYING, 1000);
 		vertex2.getCurrentExecutionAttempt().switchToRunning();
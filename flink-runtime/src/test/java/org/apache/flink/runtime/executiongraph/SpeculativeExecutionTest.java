@@ -0,0 +1,302 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.executiongraph;
+
+import org.apache.flink.api.common.JobID;
+import org.apache.flink.api.common.time.Time;
+import org.apache.flink.runtime.clusterframework.types.SlotProfile;
+import org.apache.flink.runtime.execution.ExecutionState;
+import org.apache.flink.runtime.executiongraph.restart.NoRestartStrategy;
+import org.apache.flink.runtime.executiongraph.utils.SimpleAckingTaskManagerGateway;
+import org.apache.flink.runtime.executiongraph.utils.SimpleSlotProvider;
+import org.apache.flink.runtime.instance.SimpleSlot;
+import org.apache.flink.runtime.instance.SlotSharingGroupId;
+import org.apache.flink.runtime.io.network.partition.ResultPartitionType;
+import org.apache.flink.runtime.jobgraph.DistributionPattern;
+import org.apache.flink.runtime.jobgraph.JobStatus;
+import org.apache.flink.runtime.jobgraph.JobVertex;
+import org.apache.flink.runtime.jobmanager.scheduler.ScheduledUnit;
+import org.apache.flink.runtime.jobmaster.LogicalSlot;
+import org.apache.flink.runtime.jobmaster.SlotOwner;
+import org.apache.flink.runtime.jobmaster.SlotRequestId;
+import org.apache.flink.runtime.jobmaster.slotpool.SlotProvider;
+import org.apache.flink.runtime.messages.Acknowledge;
+import org.apache.flink.runtime.taskmanager.TaskExecutionState;
+import org.apache.flink.runtime.taskmanager.TaskManagerLocation;
+import org.apache.flink.runtime.testtasks.NoOpInvokable;
+import org.apache.flink.runtime.testutils.DirectScheduledExecutorService;
+import org.apache.flink.util.TestLogger;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.annotation.Nullable;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the speculative execution of slow tasks via {@link ExecutionVertex#launchSpeculativeExecution}
+ * and the {@link SlowTaskDetector}.
+ */
+public class SpeculativeExecutionTest extends TestLogger {
+
+	private static final int PARALLELISM = 4;
+
+	private final JobID jobId = new JobID();
+
+	private ExecutionGraph executionGraph;
+
+	private ExecutionJobVertex source;
+
+	private ExecutionJobVertex map;
+
+	private ExecutionJobVertex sink;
+
+	/**
+	 * Creates the graph source -> map -> sink with blocking exchanges and runs it until all
+	 * subtasks of the map vertex are running.
+	 */
+	@Before
+	public void setup() throws Exception {
+		final JobVertex sourceVertex = createVertex("source");
+		final JobVertex mapVertex = createVertex("map");
+		final JobVertex sinkVertex = createVertex("sink");
+
+		mapVertex.connectNewDataSetAsInput(sourceVertex, DistributionPattern.POINTWISE, ResultPartitionType.BLOCKING);
+		sinkVertex.connectNewDataSetAsInput(mapVertex, DistributionPattern.ALL_TO_ALL, ResultPartitionType.BLOCKING);
+
+		executionGraph = ExecutionGraphTestUtils.createExecutionGraph(
+			jobId,
+			new SimpleSlotProvider(jobId, 4 * PARALLELISM),
+			new NoRestartStrategy(),
+			new DirectScheduledExecutorService(),
+			sourceVertex,
+			mapVertex,
+			sinkVertex);
+
+		source = executionGraph.getJobVertex(sourceVertex.getID());
+		map = executionGraph.getJobVertex(mapVertex.getID());
+		sink = executionGraph.getJobVertex(sinkVertex.getID());
+
+		executionGraph.scheduleForExecution();
+
+		for (ExecutionVertex vertex : source.getTaskVertices()) {
+			finish(vertex.getCurrentExecutionAttempt());
+		}
+
+		for (ExecutionVertex vertex : map.getTaskVertices()) {
+			updateState(vertex.getCurrentExecutionAttempt(), ExecutionState.RUNNING);
+		}
+	}
+
+	@Test
+	public void testSpeculativeExecutionFinishesFirst() throws Exception {
+		final ExecutionVertex vertex = map.getTaskVertices()[0];
+		final Execution original = vertex.getCurrentExecutionAttempt();
+
+		vertex.launchSpeculativeExecution(executionGraph.getSlotProvider(), false).get();
+
+		final Execution speculative = vertex.getSpeculativeExecutionAttempt();
+		assertNotNull(speculative);
+		assertEquals(ExecutionState.DEPLOYING, speculative.getState());
+		assertEquals(original.getAttemptNumber() + 1, speculative.getAttemptNumber());
+		assertNotEquals(
+			original.getAssignedResourceLocation().getResourceID(),
+			speculative.getAssignedResourceLocation().getResourceID());
+
+		finish(speculative);
+
+		assertEquals(speculative, vertex.getCurrentExecutionAttempt());
+		assertEquals(ExecutionState.FINISHED, speculative.getState());
+		assertEquals(ExecutionState.CANCELING, original.getState());
+		assertNull(vertex.getSpeculativeExecutionAttempt());
+		assertEquals(original.getAttemptId(), vertex.getPriorExecutionAttempt(original.getAttemptNumber()).getAttemptId());
+	}
+
+	@Test
+	public void testOriginalExecutionFinishesFirst() throws Exception {
+		final ExecutionVertex vertex = map.getTaskVertices()[0];
+		final Execution original = vertex.getCurrentExecutionAttempt();
+
+		vertex.launchSpeculativeExecution(executionGraph.getSlotProvider(), false).get();
+		final Execution speculative = vertex.getSpeculativeExecutionAttempt();
+		assertNotNull(speculative);
+
+		updateState(original, ExecutionState.FINISHED);
+
+		assertEquals(original, vertex.getCurrentExecutionAttempt());
+		assertEquals(ExecutionState.FINISHED, original.getState());
+		assertEquals(ExecutionState.CANCELING, speculative.getState());
+		assertNull(vertex.getSpeculativeExecutionAttempt());
+	}
+
+	@Test
+	public void testFailingSpeculativeExecutionDoesNotFailJob() throws Exception {
+		final ExecutionVertex vertex = map.getTaskVertices()[0];
+		final Execution original = vertex.getCurrentExecutionAttempt();
+
+		vertex.launchSpeculativeExecution(executionGraph.getSlotProvider(), false).get();
+		final Execution speculative = vertex.getSpeculativeExecutionAttempt();
+		assertNotNull(speculative);
+
+		updateState(speculative, ExecutionState.FAILED);
+
+		assertEquals(ExecutionState.FAILED, speculative.getState());
+		assertEquals(ExecutionState.RUNNING, original.getState());
+		assertEquals(JobStatus.RUNNING, executionGraph.getState());
+		assertNull(vertex.getSpeculativeExecutionAttempt());
+	}
+
+	@Test
+	public void testNoFurtherSpeculationAfterPlacementOnSameTaskManager() throws Exception {
+		final ExecutionVertex vertex = map.getTaskVertices()[0];
+		final Execution original = vertex.getCurrentExecutionAttempt();
+		final SameTaskManagerSlotProvider slotProvider = new SameTaskManagerSlotProvider(original.getAssignedResourceLocation());
+
+		vertex.launchSpeculativeExecution(slotProvider, false).get();
+
+		assertEquals(1, slotProvider.getNumberOfAllocatedSlots());
+		assertNull(vertex.getSpeculativeExecutionAttempt());
+		assertFalse(vertex.isSpeculativeExecutionAllowed());
+
+		// the next attempt would end up on the same TaskManager again
+		vertex.launchSpeculativeExecution(slotProvider, false).get();
+		assertEquals(1, slotProvider.getNumberOfAllocatedSlots());
+		assertEquals(ExecutionState.RUNNING, original.getState());
+	}
+
+	@Test
+	public void testDetectorSkipsVertexAfterPlacementOnSameTaskManager() throws Exception {
+		final SlowTaskDetector detector = new SlowTaskDetector(executionGraph, 0.75, 1.5);
+		final ExecutionVertex[] mapVertices = map.getTaskVertices();
+
+		mapVertices[3].launchSpeculativeExecution(
+			new SameTaskManagerSlotProvider(mapVertices[3].getCurrentExecutionAttempt().getAssignedResourceLocation()),
+			false).get();
+
+		finish(mapVertices[0].getCurrentExecutionAttempt());
+		finish(mapVertices[1].getCurrentExecutionAttempt());
+		finish(mapVertices[2].getCurrentExecutionAttempt());
+		Thread.sleep(5L);
+		detector.run();
+
+		assertNull(mapVertices[3].getSpeculativeExecutionAttempt());
+	}
+
+	@Test
+	public void testSpeculatableVertices() {
+		assertFalse(SlowTaskDetector.isSpeculatable(source));
+		assertTrue(SlowTaskDetector.isSpeculatable(map));
+		assertFalse(SlowTaskDetector.isSpeculatable(sink));
+	}
+
+	@Test
+	public void testDetectorLaunchesSpeculativeExecutionForSlowTask() throws Exception {
+		final SlowTaskDetector detector = new SlowTaskDetector(executionGraph, 0.75, 1.5);
+		final ExecutionVertex[] mapVertices = map.getTaskVertices();
+
+		// not enough finished subtasks to determine the median
+		finish(mapVertices[0].getCurrentExecutionAttempt());
+		finish(mapVertices[1].getCurrentExecutionAttempt());
+		Thread.sleep(5L);
+		detector.run();
+
+		assertNull(mapVertices[2].getSpeculativeExecutionAttempt());
+		assertNull(mapVertices[3].getSpeculativeExecutionAttempt());
+
+		finish(mapVertices[2].getCurrentExecutionAttempt());
+
+		// the finished subtasks ran for (almost) no time, the last subtask is running for longer
+		Thread.sleep(5L);
+		detector.run();
+
+		assertNotNull(mapVertices[3].getSpeculativeExecutionAttempt());
+	}
+
+	// ------------------------------------------------------------------------
+
+	private static JobVertex createVertex(String name) {
+		final JobVertex vertex = new JobVertex(name);
+		vertex.setInvokableClass(NoOpInvokable.class);
+		vertex.setParallelism(PARALLELISM);
+		return vertex;
+	}
+
+	private void finish(Execution execution) {
+		if (execution.getState() == ExecutionState.DEPLOYING) {
+			updateState(execution, ExecutionState.RUNNING);
+		}
+		updateState(execution, ExecutionState.FINISHED);
+	}
+
+	private void updateState(Execution execution, ExecutionState state) {
+		assertTrue(executionGraph.updateState(new TaskExecutionState(jobId, execution.getAttemptId(), state)));
+	}
+
+	/**
+	 * A {@link SlotProvider} which returns slots on a single TaskManager.
+	 */
+	private static final class SameTaskManagerSlotProvider implements SlotProvider, SlotOwner {
+
+		private final TaskManagerLocation location;
+
+		private final AtomicInteger numberOfAllocatedSlots = new AtomicInteger();
+
+		SameTaskManagerSlotProvider(TaskManagerLocation location) {
+			this.location = location;
+		}
+
+		@Override
+		public CompletableFuture<LogicalSlot> allocateSlot(
+				SlotRequestId slotRequestId,
+				ScheduledUnit task,
+				boolean allowQueuedScheduling,
+				SlotProfile slotProfile,
+				Time timeout) {
+			numberOfAllocatedSlots.incrementAndGet();
+			return CompletableFuture.completedFuture(
+				new SimpleSlot(this, location, 0, new SimpleAckingTaskManagerGateway()));
+		}
+
+		@Override
+		public CompletableFuture<Acknowledge> cancelSlotRequest(
+				SlotRequestId slotRequestId,
+				@Nullable SlotSharingGroupId slotSharingGroupId,
+				Throwable cause) {
+			return CompletableFuture.completedFuture(Acknowledge.get());
+		}
+
+		@Override
+		public CompletableFuture<Boolean> returnAllocatedSlot(LogicalSlot logicalSlot) {
+			return CompletableFuture.completedFuture(true);
+		}
+
+		int getNumberOfAllocatedSlots() {
+			return numberOfAllocatedSlots.get();
+		}
+	}
+}
@@ -59,6 +59,10 @@ public class EventSerializerTest {
 		CheckpointOptions savepoint = new CheckpointOptions(
 				CheckpointType.SAVEPOINT, new CheckpointStorageLocationReference(reference));
 		testCheckpointBarrierSerialization(id, timestamp, savepoint);
+
+		CheckpointOptions terminatingSavepoint = new CheckpointOptions(
+				CheckpointType.TERMINATING_SAVEPOINT, new CheckpointStorageLocationReference(reference));
+		testCheckpointBarrierSerialization(id, timestamp, terminatingSavepoint);
 	}
 
 	private void testCheckpointBarrierSerialization(long id, long timestamp, CheckpointOptions options) throws IOException {
@@ -21,6 +21,7 @@ package org.apache.flink.runtime.io.network.partition;
 import org.apache.flink.core.memory.MemorySegment;
 import org.apache.flink.core.memory.MemorySegmentFactory;
 import org.apache.flink.runtime.event.AbstractEvent;
+import org.apache.flink.runtime.io.network.api.EndOfPartitionEvent;
 import org.apache.flink.runtime.io.network.buffer.Buffer;
 import org.apache.flink.runtime.io.network.buffer.BufferBuilder;
 import org.apache.flink.runtime.io.network.buffer.BufferConsumer;
@@ -45,6 +46,7 @@ import static org.apache.flink.runtime.io.network.buffer.BufferBuilderTestUtils.
 import static org.apache.flink.runtime.io.network.buffer.BufferBuilderTestUtils.createEventBufferConsumer;
 import static org.apache.flink.runtime.io.network.buffer.BufferBuilderTestUtils.createFilledBufferBuilder;
 import static org.apache.flink.runtime.io.network.buffer.BufferBuilderTestUtils.createFilledBufferConsumer;
+import static org.apache.flink.runtime.io.network.buffer.BufferBuilderTestUtils.fillBufferBuilder;
 import static org.apache.flink.runtime.io.network.util.TestBufferFactory.BUFFER_SIZE;
 import static org.apache.flink.util.FutureUtil.waitForAll;
 import static org.apache.flink.util.Preconditions.checkState;
@@ -55,6 +57,7 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -231,6 +234,69 @@ public class PipelinedSubpartitionTest extends SubpartitionTestBase {
 		}
 	}
 
+	/**
+	 * Tests that a consumer can reconnect to a reconnectable subpartition and that the data which has
+	 * been produced for the lost consumer is discarded up to the next record boundary.
+	 */
+	@Test
+	public void testReconnectDiscardsDataOfLostConsumer() throws Exception {
+		final ResultPartition parent = mock(ResultPartition.class);
+		final PipelinedSubpartition subpartition = new PipelinedSubpartition(0, parent, true);
+
+		try {
+			final ResultSubpartitionView lostView = subpartition.createReadView(new NoOpBufferAvailablityListener());
+
+			subpartition.add(createFilledBufferConsumer(1024));
+			final BufferBuilder unfinishedBufferBuilder = createFilledBufferBuilder(512);
+			subpartition.add(unfinishedBufferBuilder.createBufferConsumer());
+
+			// the lost consumer releases its view, which must not release the subpartition
+			lostView.releaseAllResources();
+			verify(parent, never()).onConsumedSubpartition(0);
+
+			final ResultSubpartitionView readView = subpartition.createReadView(new NoOpBufferAvailablityListener());
+			assertTrue(lostView.isReleased());
+
+			// the record started for the lost consumer is completed in the next buffer, which is discarded as well
+			fillBufferBuilder(unfinishedBufferBuilder, 256).finish();
+			final BufferBuilder continuationBufferBuilder = createBufferBuilder();
+			subpartition.add(continuationBufferBuilder.createBufferConsumer(true));
+			fillBufferBuilder(continuationBufferBuilder, 128).finish();
+
+			subpartition.add(createFilledBufferConsumer(100));
+			subpartition.flush();
+
+			assertNextBuffer(readView, 100, false, 0, false, true);
+			assertNoNextBuffer(readView);
+			assertNoNextBuffer(lostView);
+			assertEquals(0, subpartition.getBuffersInBacklog());
+		} finally {
+			subpartition.release();
+		}
+	}
+
+	/**
+	 * Tests that the end of partition event is not discarded when a consumer reconnects to a finished
+	 * reconnectable subpartition, and that the parent is notified once the subpartition has been consumed.
+	 */
+	@Test
+	public void testReconnectToFinishedSubpartition() throws Exception {
+		final ResultPartition parent = mock(ResultPartition.class);
+		final PipelinedSubpartition subpartition = new PipelinedSubpartition(0, parent, true);
+
+		subpartition.createReadView(new NoOpBufferAvailablityListener()).releaseAllResources();
+		subpartition.add(createFilledBufferConsumer(1024));
+		subpartition.finish();
+
+		final ResultSubpartitionView readView = subpartition.createReadView(new NoOpBufferAvailablityListener());
+
+		assertNextEvent(readView, 4, EndOfPartitionEvent.class, false, 0, false, true);
+		assertNoNextBuffer(readView);
+
+		readView.releaseAllResources();
+		verify(parent).onConsumedSubpartition(0);
+	}
+
 	@Test
 	public void testEmptyFlush() throws Exception {
 		final PipelinedSubpartition subpartition = createSubpartition();
@@ -22,6 +22,7 @@ import org.apache.flink.api.common.ExecutionConfig;
 import org.apache.flink.api.common.JobID;
 import org.apache.flink.api.common.io.DefaultInputSplitAssigner;
 import org.apache.flink.api.common.restartstrategy.RestartStrategies;
+import org.apache.flink.api.common.time.Deadline;
 import org.apache.flink.api.common.time.Time;
 import org.apache.flink.api.java.tuple.Tuple3;
 import org.apache.flink.configuration.BlobServerOptions;
@@ -67,17 +68,20 @@ import org.apache.flink.runtime.jobgraph.DistributionPattern;
 import org.apache.flink.runtime.jobgraph.IntermediateDataSetID;
 import org.apache.flink.runtime.jobgraph.JobGraph;
 import org.apache.flink.runtime.jobgraph.JobVertex;
+import org.apache.flink.runtime.jobgraph.JobVertexID;
 import org.apache.flink.runtime.jobgraph.SavepointRestoreSettings;
 import org.apache.flink.runtime.jobgraph.tasks.AbstractInvokable;
 import org.apache.flink.runtime.jobgraph.tasks.CheckpointCoordinatorConfiguration;
 import org.apache.flink.runtime.jobgraph.tasks.JobCheckpointingSettings;
 import org.apache.flink.runtime.jobmanager.OnCompletionActions;
+import org.apache.flink.runtime.jobmanager.scheduler.SlotSharingGroup;
 import org.apache.flink.runtime.jobmaster.factories.UnregisteredJobManagerJobMetricGroupFactory;
 import org.apache.flink.runtime.jobmaster.slotpool.DefaultSlotPoolFactory;
 import org.apache.flink.runtime.leaderretrieval.SettableLeaderRetrievalService;
 import org.apache.flink.runtime.messages.Acknowledge;
 import org.apache.flink.runtime.registration.RegistrationResponse;
 import org.apache.flink.runtime.resourcemanager.ResourceManagerId;
+import org.apache.flink.runtime.resourcemanager.ResourceOverview;
 import org.apache.flink.runtime.resourcemanager.SlotRequest;
 import org.apache.flink.runtime.resourcemanager.utils.TestingResourceManagerGateway;
 import org.apache.flink.runtime.rpc.RpcUtils;
@@ -112,6 +116,7 @@ import javax.annotation.Nonnull;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -917,6 +922,151 @@ public class JobMasterTest extends TestLogger {
 		}
 	}
 
+	/**
+	 * Tests that a rescaling operation which cannot take a rescaling checkpoint, because the tasks
+	 * are not running, restores the rescaled job from the latest checkpoint which outlives the
+	 * suspension of the job.
+	 */
+	@Test
+	public void testRescalingRestoresFromRetainedCheckpoint() throws Exception {
+		final JobVertex jobVertex = createRescalableJobVertex("Vertex");
+		final JobGraph jobGraph = createJobGraphForRescaling(jobVertex);
+
+		final long checkpointId = 42L;
+		final CompletedCheckpoint completedCheckpoint = new CompletedCheckpoint(
+			jobGraph.getJobID(),
+			checkpointId,
+			1L,
+			1L,
+			Collections.emptyMap(),
+			null,
+			CheckpointProperties.forRescaling(),
+			new DummyCheckpointStorageLocation());
+
+		final StandaloneCompletedCheckpointStore completedCheckpointStore = new StandaloneCompletedCheckpointStore(1);
+		completedCheckpointStore.addCheckpoint(completedCheckpoint);
+		final StandaloneCheckpointIDCounter checkpointIdCounter = new StandaloneCheckpointIDCounter();
+		haServices.setCheckpointRecoveryFactory(new TestingCheckpointRecoveryFactory(completedCheckpointStore, checkpointIdCounter));
+
+		configuration.setBoolean(JobManagerOptions.RESCALE_FROM_CHECKPOINT, true);
+
+		final JobMaster jobMaster = createJobMaster(
+			configuration,
+			jobGraph,
+			haServices,
+			new TestingJobManagerSharedServicesBuilder().build(),
+			heartbeatServices);
+
+		CompletableFuture<Acknowledge> startFuture = jobMaster.start(jobMasterId, testingTimeout);
+
+		try {
+			startFuture.get(testingTimeout.toMilliseconds(), TimeUnit.MILLISECONDS);
+
+			final JobMasterGateway jobMasterGateway = jobMaster.getSelfGateway(JobMasterGateway.class);
+
+			jobMasterGateway.rescaleJob(3, RescalingBehaviour.RELAXED, testingTimeout).get();
+
+			final ArchivedExecutionGraph archivedExecutionGraph = jobMasterGateway.requestJob(testingTimeout).get();
+			assertThat(archivedExecutionGraph.getJobVertex(jobVertex.getID()).getParallelism(), is(3));
+
+			// restoring the checkpoint resets the checkpoint id counter
+			assertThat(checkpointIdCounter.getLast(), is(checkpointId));
+		} finally {
+			RpcUtils.terminateRpcEndpoint(jobMaster, testingTimeout);
+		}
+	}
+
+	/**
+	 * Tests that reactive rescaling rescales the job to the available slots and that every slot
+	 * sharing group of the job needs its own slots.
+	 */
+	@Test
+	public void testReactiveRescalingToAvailableSlots() throws Exception {
+		final JobVertex source = createRescalableJobVertex("Source");
+		final JobVertex sink = createRescalableJobVertex("Sink");
+		source.setSlotSharingGroup(new SlotSharingGroup());
+		sink.setSlotSharingGroup(new SlotSharingGroup());
+		sink.connectNewDataSetAsInput(source, DistributionPattern.ALL_TO_ALL, ResultPartitionType.PIPELINED);
+
+		final JobGraph jobGraph = createJobGraphForRescaling(source, sink);
+
+		configuration.setBoolean(JobManagerOptions.RESCALE_FROM_CHECKPOINT, true);
+		configuration.setBoolean(JobManagerOptions.REACTIVE_RESCALING_ENABLED, true);
+		configuration.setLong(JobManagerOptions.REACTIVE_RESCALING_CHECK_INTERVAL, 10L);
+
+		final TestingResourceManagerGateway resourceManagerGateway = new TestingResourceManagerGateway();
+		// the job occupies 2 slots, so 6 slots are available to it
+		resourceManagerGateway.setRequestResourceOverviewSupplier(
+			() -> CompletableFuture.completedFuture(new ResourceOverview(3, 6, 4)));
+		rpcService.registerGateway(resourceManagerGateway.getAddress(), resourceManagerGateway);
+
+		final JobMaster jobMaster = createJobMaster(
+			configuration,
+			jobGraph,
+			haServices,
+			new TestingJobManagerSharedServicesBuilder().build(),
+			heartbeatServices);
+
+		CompletableFuture<Acknowledge> startFuture = jobMaster.start(jobMasterId, testingTimeout);
+
+		try {
+			startFuture.get(testingTimeout.toMilliseconds(), TimeUnit.MILLISECONDS);
+
+			rmLeaderRetrievalService.notifyListener(resourceManagerGateway.getAddress(), resourceManagerGateway.getFencingToken().toUUID());
+
+			final JobMasterGateway jobMasterGateway = jobMaster.getSelfGateway(JobMasterGateway.class);
+			final Deadline deadline = Deadline.fromNow(Duration.ofMillis(testingTimeout.toMilliseconds()));
+			ArchivedExecutionGraph archivedExecutionGraph = jobMasterGateway.requestJob(testingTimeout).get();
+
+			while (archivedExecutionGraph.getJobVertex(source.getID()).getParallelism() == 1 && deadline.hasTimeLeft()) {
+				Thread.sleep(10L);
+				archivedExecutionGraph = jobMasterGateway.requestJob(testingTimeout).get();
+			}
+
+			// both slot sharing groups run with parallelism 3 in the 6 available slots
+			assertThat(archivedExecutionGraph.getJobVertex(source.getID()).getParallelism(), is(3));
+			assertThat(archivedExecutionGraph.getJobVertex(sink.getID()).getParallelism(), is(3));
+		} finally {
+			RpcUtils.terminateRpcEndpoint(jobMaster, testingTimeout);
+		}
+	}
+
+	private JobVertex createRescalableJobVertex(String name) {
+		final JobVertex jobVertex = new JobVertex(name);
+		jobVertex.setInvokableClass(NoOpInvokable.class);
+		jobVertex.setParallelism(1);
+		jobVertex.setMaxParallelism(4);
+
+		return jobVertex;
+	}
+
+	private JobGraph createJobGraphForRescaling(JobVertex... jobVertices) {
+		final JobGraph jobGraph = new JobGraph(jobVertices);
+		jobGraph.setAllowQueuedScheduling(true);
+
+		final List<JobVertexID> vertexIds = new ArrayList<>(jobVertices.length);
+		for (JobVertex jobVertex : jobVertices) {
+			vertexIds.add(jobVertex.getID());
+		}
+
+		// rescaling requires checkpointing
+		final CheckpointCoordinatorConfiguration checkpointCoordinatorConfiguration = new CheckpointCoordinatorConfiguration(
+			Long.MAX_VALUE,
+			1000L,
+			0L,
+			1,
+			CheckpointRetentionPolicy.NEVER_RETAIN_AFTER_TERMINATION,
+			true);
+		jobGraph.setSnapshotSettings(new JobCheckpointingSettings(
+			vertexIds,
+			vertexIds,
+			vertexIds,
+			checkpointCoordinatorConfiguration,
+			null));
+
+		return jobGraph;
+	}
+
 	private JobGraph producerConsumerJobGraph() {
 		final JobVertex producer = new JobVertex("Producer");
 		producer.setInvokableClass(NoOpInvokable.class);
@@ -22,6 +22,7 @@ import org.apache.flink.runtime.clusterframework.types.AllocationID;
 import org.apache.flink.runtime.clusterframework.types.ResourceID;
 import org.apache.flink.runtime.clusterframework.types.ResourceProfile;
 import org.apache.flink.runtime.clusterframework.types.SlotProfile;
+import org.apache.flink.runtime.jobmanager.scheduler.Locality;
 import org.apache.flink.runtime.jobmanager.slots.TaskManagerGateway;
 import org.apache.flink.runtime.taskmanager.TaskManagerLocation;
 import org.apache.flink.util.TestLogger;
@@ -104,6 +105,32 @@ public class AvailableSlotsTest extends TestLogger {
 		assertFalse(availableSlots.containsTaskManager(resource1));
 	}
 
+	@Test
+	public void testPollEvenlySpreadOut() {
+		SlotPool.AvailableSlots availableSlots = new SlotPool.AvailableSlots();
+
+		final ResourceID resource1 = new ResourceID("resource1");
+		final ResourceID resource2 = new ResourceID("resource2");
+
+		availableSlots.add(createAllocatedSlot(resource1), 1L);
+		availableSlots.add(createAllocatedSlot(resource2), 2L);
+		availableSlots.add(createAllocatedSlot(resource2), 3L);
+		availableSlots.add(createAllocatedSlot(resource2), 4L);
+
+		final SchedulingStrategy schedulingStrategy = LocationPreferenceSchedulingStrategy.getEvenlySpreadOutInstance();
+
+		// the TaskManager with the most free slots is the least occupied one
+		for (int i = 0; i < 2; i++) {
+			SlotAndLocality slotAndLocality = availableSlots.poll(schedulingStrategy, SlotProfile.noLocality(DEFAULT_TESTING_PROFILE));
+			assertEquals(resource2, slotAndLocality.getSlot().getTaskManagerLocation().getResourceID());
+			assertEquals(Locality.UNCONSTRAINED, slotAndLocality.getLocality());
+		}
+
+		assertEquals(2, availableSlots.size());
+		assertTrue(availableSlots.containsTaskManager(resource1));
+		assertTrue(availableSlots.containsTaskManager(resource2));
+	}
+
 	static AllocatedSlot createAllocatedSlot(final ResourceID resourceId) {
 		TaskManagerLocation mockTaskManagerLocation = mock(TaskManagerLocation.class);
 		when(mockTaskManagerLocation.getResourceID()).thenReturn(resourceId);
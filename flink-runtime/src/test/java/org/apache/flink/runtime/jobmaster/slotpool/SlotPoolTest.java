@@ -144,6 +144,46 @@ public class SlotPoolTest extends TestLogger {
 		}
 	}
 
+	/**
+	 * Tests that the slot requests which have been stashed while no resource manager was
+	 * connected are sent to the resource manager in a single bulk request.
+	 */
+	@Test
+	public void testStashedSlotRequestsAreSentInBulk() throws Exception {
+		final int numberSlotRequests = 3;
+		final CompletableFuture<Collection<SlotRequest>> bulkSlotRequestFuture = new CompletableFuture<>();
+		final TestingResourceManagerGateway bulkResourceManagerGateway = new TestingResourceManagerGateway() {
+			@Override
+			public CompletableFuture<Acknowledge> requestSlots(JobMasterId jobMasterId, Collection<SlotRequest> slotRequests, Time timeout) {
+				bulkSlotRequestFuture.complete(slotRequests);
+				return super.requestSlots(jobMasterId, slotRequests, timeout);
+			}
+		};
+
+		final SlotPool slotPool = new SlotPool(rpcService, jobId, LocationPreferenceSchedulingStrategy.getInstance());
+
+		try {
+			slotPool.start(JobMasterId.generate(), "foobar");
+			final SlotPoolGateway slotPoolGateway = slotPool.getSelfGateway(SlotPoolGateway.class);
+
+			for (int i = 0; i < numberSlotRequests; i++) {
+				slotPoolGateway.allocateSlot(
+					new SlotRequestId(),
+					new DummyScheduledUnit(),
+					SlotProfile.noLocality(DEFAULT_TESTING_PROFILE),
+					true,
+					timeout);
+			}
+
+			slotPoolGateway.connectToResourceManager(bulkResourceManagerGateway);
+
+			final Collection<SlotRequest> slotRequests = bulkSlotRequestFuture.get(timeout.toMilliseconds(), TimeUnit.MILLISECONDS);
+			assertEquals(numberSlotRequests, slotRequests.size());
+		} finally {
+			RpcUtils.terminateRpcEndpoint(slotPool, timeout);
+		}
+	}
+
 	@Test
 	public void testAllocationFulfilledByReturnedSlot() throws Exception {
 		final ArrayBlockingQueue<SlotRequest> slotRequestQueue = new ArrayBlockingQueue<>(2);
@@ -38,13 +38,14 @@ import org.apache.flink.runtime.jobmaster.RescalingBehaviour;
 import org.apache.flink.runtime.jobmaster.SerializedInputSplit;
 import org.apache.flink.runtime.jobmaster.message.ClassloadingProps;
 import org.apache.flink.runtime.messages.Acknowledge;
+import org.apache.flink.runtime.messages.checkpoint.AcknowledgeCheckpoint;
 import org.apache.flink.runtime.messages.webmonitor.JobDetails;
 import org.apache.flink.runtime.query.KvStateLocation;
 import org.apache.flink.runtime.registration.RegistrationResponse;
 import org.apache.flink.runtime.resourcemanager.ResourceManagerId;
 import org.apache.flink.runtime.rest.handler.legacy.backpressure.OperatorBackPressureStatsResponse;
 import org.apache.flink.runtime.state.KeyGroupRange;
-import org.apache.flink.runtime.taskexecutor.AccumulatorReport;
+import org.apache.flink.runtime.taskexecutor.TaskExecutorToJobManagerHeartbeatPayload;
 import org.apache.flink.runtime.taskexecutor.slot.SlotOffer;
 import org.apache.flink.runtime.taskmanager.TaskExecutionState;
 import org.apache.flink.runtime.taskmanager.TaskManagerLocation;
@@ -85,6 +86,11 @@ public class TestingJobMasterGateway implements JobMasterGateway {
 		throw new UnsupportedOperationException();
 	}
 
+	@Override
+	public CompletableFuture<Collection<ExecutionAttemptID>> updateTaskExecutionStates(Collection<TaskExecutionState> taskExecutionStates) {
+		throw new UnsupportedOperationException();
+	}
+
 	@Override
 	public CompletableFuture<SerializedInputSplit> requestNextInputSplit(JobVertexID vertexID, ExecutionAttemptID executionAttempt) {
 		throw new UnsupportedOperationException();
@@ -131,7 +137,7 @@ public class TestingJobMasterGateway implements JobMasterGateway {
 	}
 
 	@Override
-	public void heartbeatFromTaskManager(ResourceID resourceID, AccumulatorReport accumulatorReport) {
+	public void heartbeatFromTaskManager(ResourceID resourceID, TaskExecutorToJobManagerHeartbeatPayload payload) {
 		throw new UnsupportedOperationException();
 	}
 
@@ -160,6 +166,11 @@ public class TestingJobMasterGateway implements JobMasterGateway {
 		throw new UnsupportedOperationException();
 	}
 
+	@Override
+	public CompletableFuture<String> stopWithSavepoint(@Nullable final String targetDirectory, final Time timeout) {
+		throw new UnsupportedOperationException();
+	}
+
 	@Override
 	public CompletableFuture<OperatorBackPressureStatsResponse> requestOperatorBackPressureStats(JobVertexID jobVertexId) {
 		throw new UnsupportedOperationException();
@@ -170,11 +181,21 @@ public class TestingJobMasterGateway implements JobMasterGateway {
 		throw new UnsupportedOperationException();
 	}
 
+	@Override
+	public CompletableFuture<byte[]> updateGlobalAggregate(String aggregateName, byte[] serializedAggregand, byte[] serializedAggregateFunction, Time timeout) {
+		throw new UnsupportedOperationException();
+	}
+
 	@Override
 	public void acknowledgeCheckpoint(JobID jobID, ExecutionAttemptID executionAttemptID, long checkpointId, CheckpointMetrics checkpointMetrics, TaskStateSnapshot subtaskState) {
 		throw new UnsupportedOperationException();
 	}
 
+	@Override
+	public void acknowledgeCheckpoints(JobID jobID, Collection<AcknowledgeCheckpoint> acknowledgements) {
+		throw new UnsupportedOperationException();
+	}
+
 	@Override
 	public void declineCheckpoint(JobID jobID, ExecutionAttemptID executionAttemptID, long checkpointId, Throwable cause) {
 		throw new UnsupportedOperationException();
@@ -42,6 +42,8 @@ import org.apache.flink.runtime.query.KvStateRegistry;
 import org.apache.flink.runtime.query.TaskKvStateRegistry;
 import org.apache.flink.runtime.state.TaskStateManager;
 import org.apache.flink.runtime.state.TestTaskStateManager;
+import org.apache.flink.runtime.taskexecutor.GlobalAggregateManager;
+import org.apache.flink.runtime.taskexecutor.TestGlobalAggregateManager;
 import org.apache.flink.runtime.taskmanager.TaskManagerRuntimeInfo;
 import org.apache.flink.runtime.util.TestingTaskManagerRuntimeInfo;
 
@@ -60,6 +62,7 @@ public class DummyEnvironment implements Environment {
 	private TaskStateManager taskStateManager;
 	private final AccumulatorRegistry accumulatorRegistry = new AccumulatorRegistry(jobId, executionId);
 	private ClassLoader userClassLoader;
+	private final GlobalAggregateManager aggregateManager = new TestGlobalAggregateManager();
 
 	public DummyEnvironment() {
 		this("Test Job", 1, 0, 1);
@@ -137,6 +140,11 @@ public class DummyEnvironment implements Environment {
 		return null;
 	}
 
+	@Override
+	public GlobalAggregateManager getGlobalAggregateManager() {
+		return aggregateManager;
+	}
+
 	@Override
 	public IOManager getIOManager() {
 		return null;
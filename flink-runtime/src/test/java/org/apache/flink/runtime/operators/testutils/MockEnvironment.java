@@ -45,6 +45,8 @@ import org.apache.flink.runtime.metrics.groups.UnregisteredMetricGroups;
 import org.apache.flink.runtime.query.KvStateRegistry;
 import org.apache.flink.runtime.query.TaskKvStateRegistry;
 import org.apache.flink.runtime.state.TaskStateManager;
+import org.apache.flink.runtime.taskexecutor.GlobalAggregateManager;
+import org.apache.flink.runtime.taskexecutor.TestGlobalAggregateManager;
 import org.apache.flink.runtime.taskmanager.TaskManagerRuntimeInfo;
 import org.apache.flink.runtime.util.TestingTaskManagerRuntimeInfo;
 import org.apache.flink.types.Record;
@@ -104,6 +106,8 @@ public class MockEnvironment implements Environment, AutoCloseable {
 
 	private final TaskEventDispatcher taskEventDispatcher = new TaskEventDispatcher();
 
+	private final GlobalAggregateManager aggregateManager = new TestGlobalAggregateManager();
+
 	private Optional<Class<Throwable>> expectedExternalFailureCause = Optional.empty();
 
 	private Optional<Throwable> actualExternalFailureCause = Optional.empty();
@@ -221,6 +225,11 @@ public class MockEnvironment implements Environment, AutoCloseable {
 		return this.inputSplitProvider;
 	}
 
+	@Override
+	public GlobalAggregateManager getGlobalAggregateManager() {
+		return aggregateManager;
+	}
+
 	@Override
 	public TaskInfo getTaskInfo() {
 		return taskInfo;
@@ -23,6 +23,7 @@ import org.apache.flink.api.common.time.Time;
 import org.apache.flink.api.java.tuple.Tuple2;
 import org.apache.flink.api.java.tuple.Tuple3;
 import org.apache.flink.api.java.tuple.Tuple5;
+import org.apache.flink.runtime.blacklist.BlacklistTracker;
 import org.apache.flink.runtime.clusterframework.types.AllocationID;
 import org.apache.flink.runtime.clusterframework.types.ResourceID;
 import org.apache.flink.runtime.clusterframework.types.ResourceProfile;
@@ -30,6 +31,7 @@ import org.apache.flink.runtime.clusterframework.types.SlotID;
 import org.apache.flink.runtime.clusterframework.types.TaskManagerSlot;
 import org.apache.flink.runtime.concurrent.Executors;
 import org.apache.flink.runtime.concurrent.FutureUtils;
+import org.apache.flink.runtime.concurrent.ManuallyTriggeredScheduledExecutor;
 import org.apache.flink.runtime.concurrent.ScheduledExecutor;
 import org.apache.flink.runtime.instance.InstanceID;
 import org.apache.flink.runtime.messages.Acknowledge;
@@ -44,6 +46,8 @@ import org.apache.flink.runtime.taskexecutor.TestingTaskExecutorGateway;
 import org.apache.flink.runtime.taskexecutor.TestingTaskExecutorGatewayBuilder;
 import org.apache.flink.runtime.taskexecutor.exceptions.SlotAllocationException;
 import org.apache.flink.runtime.testingUtils.TestingUtils;
+import org.apache.flink.runtime.util.clock.ManualClock;
+import org.apache.flink.runtime.util.clock.SystemClock;
 import org.apache.flink.util.FlinkException;
 import org.apache.flink.util.TestLogger;
 
@@ -53,7 +57,9 @@ import org.mockito.ArgumentCaptor;
 import javax.annotation.Nonnull;
 
 import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -75,6 +81,7 @@ import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThat;
@@ -83,6 +90,7 @@ import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -289,6 +297,351 @@ public class SlotManagerTest extends TestLogger {
 		}
 	}
 
+	/**
+	 * Tests that a bulk slot request allocates the free slots and requests new resources for the
+	 * remaining slot requests.
+	 */
+	@Test
+	public void testBulkSlotRequest() throws Exception {
+		final ResourceManagerId resourceManagerId = ResourceManagerId.generate();
+		final ResourceID resourceID = ResourceID.generate();
+		final JobID jobId = new JobID();
+		final SlotID slotId1 = new SlotID(resourceID, 0);
+		final SlotID slotId2 = new SlotID(resourceID, 1);
+		final ResourceProfile resourceProfile = new ResourceProfile(42.0, 1337);
+
+		final List<SlotRequest> slotRequests = new ArrayList<>(3);
+		for (int i = 0; i < 3; i++) {
+			slotRequests.add(new SlotRequest(jobId, new AllocationID(), resourceProfile, "localhost"));
+		}
+
+		ResourceActions resourceManagerActions = mock(ResourceActions.class);
+
+		try (SlotManager slotManager = createSlotManager(resourceManagerId, resourceManagerActions)) {
+
+			final TaskExecutorGateway taskExecutorGateway = mock(TaskExecutorGateway.class);
+			when(taskExecutorGateway.requestSlot(
+				any(SlotID.class),
+				eq(jobId),
+				any(AllocationID.class),
+				anyString(),
+				eq(resourceManagerId),
+				any(Time.class))).thenReturn(CompletableFuture.completedFuture(Acknowledge.get()));
+
+			final TaskExecutorConnection taskExecutorConnection = new TaskExecutorConnection(resourceID, taskExecutorGateway);
+			final SlotReport slotReport = new SlotReport(Arrays.asList(
+				new SlotStatus(slotId1, resourceProfile),
+				new SlotStatus(slotId2, resourceProfile)));
+
+			slotManager.registerTaskManager(taskExecutorConnection, slotReport);
+
+			assertEquals(3, slotManager.registerSlotRequests(slotRequests));
+
+			// duplicates are ignored
+			assertEquals(0, slotManager.registerSlotRequests(slotRequests));
+
+			verify(taskExecutorGateway, times(2)).requestSlot(
+				any(SlotID.class),
+				eq(jobId),
+				any(AllocationID.class),
+				anyString(),
+				eq(resourceManagerId),
+				any(Time.class));
+			verify(resourceManagerActions, times(1)).allocateResource(eq(resourceProfile));
+
+			assertEquals(0, slotManager.getNumberFreeSlots());
+			assertEquals(slotRequests.get(0).getAllocationId(), slotManager.getSlot(slotId1).getAllocationId());
+			assertEquals(slotRequests.get(1).getAllocationId(), slotManager.getSlot(slotId2).getAllocationId());
+			assertNotNull(slotManager.getSlotRequest(slotRequests.get(2).getAllocationId()));
+		}
+	}
+
+	/**
+	 * Tests that a partially failed bulk slot request unregisters all slot requests it has
+	 * registered, but keeps the slot requests which were registered before.
+	 */
+	@Test
+	public void testBulkSlotRequestPartialFailure() throws Exception {
+		final ResourceManagerId resourceManagerId = ResourceManagerId.generate();
+		final JobID jobId = new JobID();
+		final ResourceProfile resourceProfile = new ResourceProfile(42.0, 1337);
+
+		final SlotRequest previousSlotRequest = new SlotRequest(jobId, new AllocationID(), resourceProfile, "localhost");
+
+		final List<SlotRequest> slotRequests = new ArrayList<>(4);
+		slotRequests.add(previousSlotRequest);
+		for (int i = 0; i < 3; i++) {
+			slotRequests.add(new SlotRequest(jobId, new AllocationID(), resourceProfile, "localhost"));
+		}
+
+		ResourceActions resourceManagerActions = mock(ResourceActions.class);
+		// every failing call throws a new exception, because the failures are combined
+		doNothing()
+			.doNothing()
+			.doAnswer(invocation -> {
+				throw new ResourceManagerException("Test exception");
+			})
+			.when(resourceManagerActions).allocateResource(any(ResourceProfile.class));
+
+		try (SlotManager slotManager = createSlotManager(resourceManagerId, resourceManagerActions)) {
+
+			assertTrue(slotManager.registerSlotRequest(previousSlotRequest));
+
+			try {
+				slotManager.registerSlotRequests(slotRequests);
+				fail("The bulk slot request should have failed.");
+			} catch (SlotManagerException expected) {
+				// expected
+			}
+
+			assertEquals(1, slotManager.getNumberPendingSlotRequests());
+			assertNotNull(slotManager.getSlotRequest(previousSlotRequest.getAllocationId()));
+
+			for (SlotRequest slotRequest : slotRequests.subList(1, slotRequests.size())) {
+				assertNull(slotManager.getSlotRequest(slotRequest.getAllocationId()));
+			}
+		}
+	}
+
+	/**
+	 * Tests that the slot manager allocates the slots of the least utilized task managers first
+	 * if slots are spread out evenly.
+	 */
+	@Test
+	public void testEvenlySpreadOutSlots() throws Exception {
+		final ResourceManagerId resourceManagerId = ResourceManagerId.generate();
+		final JobID jobId = new JobID();
+		final ResourceProfile resourceProfile = new ResourceProfile(42.0, 1337);
+
+		final TaskExecutorGateway taskExecutorGateway = mock(TaskExecutorGateway.class);
+		when(taskExecutorGateway.requestSlot(
+			any(SlotID.class),
+			eq(jobId),
+			any(AllocationID.class),
+			anyString(),
+			eq(resourceManagerId),
+			any(Time.class))).thenReturn(new CompletableFuture<>());
+
+		final ResourceID resourceId1 = ResourceID.generate();
+		final ResourceID resourceId2 = ResourceID.generate();
+
+		try (SlotManager slotManager = new SlotManager(
+				TestingUtils.defaultScheduledExecutor(),
+				TestingUtils.infiniteTime(),
+				TestingUtils.infiniteTime(),
+				TestingUtils.infiniteTime(),
+				true)) {
+
+			slotManager.start(resourceManagerId, Executors.directExecutor(), mock(ResourceActions.class));
+
+			for (ResourceID resourceId : Arrays.asList(resourceId1, resourceId2)) {
+				slotManager.registerTaskManager(
+					new TaskExecutorConnection(resourceId, taskExecutorGateway),
+					new SlotReport(Arrays.asList(
+						new SlotStatus(new SlotID(resourceId, 0), resourceProfile),
+						new SlotStatus(new SlotID(resourceId, 1), resourceProfile))));
+			}
+
+			final AllocationID allocationId1 = new AllocationID();
+			final AllocationID allocationId2 = new AllocationID();
+
+			slotManager.registerSlotRequest(new SlotRequest(jobId, allocationId1, resourceProfile, "localhost"));
+			slotManager.registerSlotRequest(new SlotRequest(jobId, allocationId2, resourceProfile, "localhost"));
+
+			final ArgumentCaptor<SlotID> slotIdCaptor = ArgumentCaptor.forClass(SlotID.class);
+			verify(taskExecutorGateway, times(2)).requestSlot(
+				slotIdCaptor.capture(),
+				eq(jobId),
+				any(AllocationID.class),
+				anyString(),
+				eq(resourceManagerId),
+				any(Time.class));
+
+			final List<SlotID> requestedSlots = slotIdCaptor.getAllValues();
+			assertNotEquals(requestedSlots.get(0).getResourceID(), requestedSlots.get(1).getResourceID());
+		}
+	}
+
+	/**
+	 * Tests that the utilization of the task managers is updated with every allocation if slots
+	 * are spread out evenly, also for task managers with different numbers of slots.
+	 */
+	@Test
+	public void testEvenlySpreadOutSlotsUpdatesUtilization() throws Exception {
+		final ResourceManagerId resourceManagerId = ResourceManagerId.generate();
+		final JobID jobId = new JobID();
+		final ResourceProfile resourceProfile = new ResourceProfile(42.0, 1337);
+
+		final TaskExecutorGateway taskExecutorGateway = mock(TaskExecutorGateway.class);
+		when(taskExecutorGateway.requestSlot(
+			any(SlotID.class),
+			eq(jobId),
+			any(AllocationID.class),
+			anyString(),
+			eq(resourceManagerId),
+			any(Time.class))).thenReturn(new CompletableFuture<>());
+
+		final ResourceID resourceId1 = ResourceID.generate();
+		final ResourceID resourceId2 = ResourceID.generate();
+
+		try (SlotManager slotManager = new SlotManager(
+				TestingUtils.defaultScheduledExecutor(),
+				TestingUtils.infiniteTime(),
+				TestingUtils.infiniteTime(),
+				TestingUtils.infiniteTime(),
+				true)) {
+
+			slotManager.start(resourceManagerId, Executors.directExecutor(), mock(ResourceActions.class));
+
+			final List<SlotStatus> slotStatuses = new ArrayList<>();
+			for (int i = 0; i < 4; i++) {
+				slotStatuses.add(new SlotStatus(new SlotID(resourceId1, i), resourceProfile));
+			}
+			slotManager.registerTaskManager(new TaskExecutorConnection(resourceId1, taskExecutorGateway), new SlotReport(slotStatuses));
+
+			slotManager.registerTaskManager(
+				new TaskExecutorConnection(resourceId2, taskExecutorGateway),
+				new SlotReport(Arrays.asList(
+					new SlotStatus(new SlotID(resourceId2, 0), resourceProfile),
+					new SlotStatus(new SlotID(resourceId2, 1), resourceProfile))));
+
+			for (int i = 0; i < 4; i++) {
+				slotManager.registerSlotRequest(new SlotRequest(jobId, new AllocationID(), resourceProfile, "localhost"));
+			}
+
+			final ArgumentCaptor<SlotID> slotIdCaptor = ArgumentCaptor.forClass(SlotID.class);
+			verify(taskExecutorGateway, times(4)).requestSlot(
+				slotIdCaptor.capture(),
+				eq(jobId),
+				any(AllocationID.class),
+				anyString(),
+				eq(resourceManagerId),
+				any(Time.class));
+
+			// utilizations before each allocation: (0, 0), (1/4, 0), (1/4, 1/2), (1/2, 1/2)
+			final List<ResourceID> allocatedTaskManagers = new ArrayList<>();
+			for (SlotID slotId : slotIdCaptor.getAllValues()) {
+				allocatedTaskManagers.add(slotId.getResourceID());
+			}
+			assertEquals(Arrays.asList(resourceId1, resourceId2, resourceId1, resourceId1), allocatedTaskManagers);
+		}
+	}
+
+	/**
+	 * Tests that the free slots of a blacklisted TaskManager are not used to fulfill slot requests
+	 * and that new resources are requested instead.
+	 */
+	@Test
+	public void testFreeSlotsOfBlacklistedTaskManagerAreNotAllocated() throws Exception {
+		final ResourceManagerId resourceManagerId = ResourceManagerId.generate();
+		final ResourceActions resourceManagerActions = mock(ResourceActions.class);
+		final JobID jobId = new JobID();
+		final ResourceID resourceId = ResourceID.generate();
+		final ResourceProfile resourceProfile = new ResourceProfile(42.0, 1337);
+
+		final TaskExecutorGateway taskExecutorGateway = mock(TaskExecutorGateway.class);
+		final TaskExecutorConnection taskExecutorConnection = new TaskExecutorConnection(resourceId, taskExecutorGateway, "host");
+
+		try (SlotManager slotManager = new SlotManager(
+				TestingUtils.defaultScheduledExecutor(),
+				TestingUtils.infiniteTime(),
+				TestingUtils.infiniteTime(),
+				TestingUtils.infiniteTime(),
+				false,
+				new BlacklistTracker(1, 60000L, 3600000L, SystemClock.getInstance()))) {
+
+			slotManager.start(resourceManagerId, Executors.directExecutor(), resourceManagerActions);
+
+			slotManager.registerTaskManager(
+				taskExecutorConnection,
+				new SlotReport(new SlotStatus(new SlotID(resourceId, 0), resourceProfile)));
+
+			slotManager.reportTaskManagerFailure(taskExecutorConnection.getInstanceID());
+
+			assertEquals(Collections.singleton("host"), slotManager.getBlacklistedHosts());
+
+			slotManager.registerSlotRequest(new SlotRequest(jobId, new AllocationID(), resourceProfile, "localhost"));
+
+			verify(resourceManagerActions).allocateResource(eq(resourceProfile));
+			verify(taskExecutorGateway, never()).requestSlot(
+				any(SlotID.class),
+				any(JobID.class),
+				any(AllocationID.class),
+				anyString(),
+				any(ResourceManagerId.class),
+				any(Time.class));
+		}
+	}
+
+	/**
+	 * Tests that the free slots of a TaskManager are matched against the pending slot requests
+	 * once the blacklisting of the TaskManager has ended.
+	 */
+	@Test
+	public void testFreeSlotsAreAllocatedAfterBlacklistExpiration() throws Exception {
+		final ResourceManagerId resourceManagerId = ResourceManagerId.generate();
+		final ResourceActions resourceManagerActions = mock(ResourceActions.class);
+		final JobID jobId = new JobID();
+		final ResourceID resourceId = ResourceID.generate();
+		final SlotID slotId = new SlotID(resourceId, 0);
+		final AllocationID allocationId = new AllocationID();
+		final ResourceProfile resourceProfile = new ResourceProfile(42.0, 1337);
+		final ManualClock clock = new ManualClock();
+		final ManuallyTriggeredScheduledExecutor scheduledExecutor = new ManuallyTriggeredScheduledExecutor();
+
+		final TaskExecutorGateway taskExecutorGateway = mock(TaskExecutorGateway.class);
+		when(taskExecutorGateway.requestSlot(
+			any(SlotID.class),
+			any(JobID.class),
+			any(AllocationID.class),
+			anyString(),
+			any(ResourceManagerId.class),
+			any(Time.class))).thenReturn(new CompletableFuture<>());
+		final TaskExecutorConnection taskExecutorConnection = new TaskExecutorConnection(resourceId, taskExecutorGateway, "host");
+
+		try (SlotManager slotManager = new SlotManager(
+				scheduledExecutor,
+				TestingUtils.infiniteTime(),
+				TestingUtils.infiniteTime(),
+				TestingUtils.infiniteTime(),
+				false,
+				new BlacklistTracker(1, 60000L, 1000L, clock))) {
+
+			slotManager.start(resourceManagerId, Executors.directExecutor(), resourceManagerActions);
+
+			slotManager.registerTaskManager(
+				taskExecutorConnection,
+				new SlotReport(new SlotStatus(slotId, resourceProfile)));
+
+			slotManager.reportTaskManagerFailure(taskExecutorConnection.getInstanceID());
+
+			slotManager.registerSlotRequest(new SlotRequest(jobId, allocationId, resourceProfile, "localhost"));
+
+			verify(taskExecutorGateway, never()).requestSlot(
+				any(SlotID.class),
+				any(JobID.class),
+				any(AllocationID.class),
+				anyString(),
+				any(ResourceManagerId.class),
+				any(Time.class));
+			assertEquals(1, slotManager.getNumberFreeSlots());
+
+			clock.advanceTime(2L, TimeUnit.SECONDS);
+			scheduledExecutor.triggerScheduledTasks();
+
+			verify(taskExecutorGateway).requestSlot(
+				eq(slotId),
+				eq(jobId),
+				eq(allocationId),
+				anyString(),
+				eq(resourceManagerId),
+				any(Time.class));
+			assertEquals(0, slotManager.getNumberFreeSlots());
+			// the allocation is pending until the TaskManager acknowledges it
+			assertEquals(allocationId, slotManager.getSlot(slotId).getAssignedSlotRequest().getAllocationId());
+		}
+	}
+
 	/**
 	 * Checks that un-registering a pending slot request will cancel it, removing it from all
 	 * assigned task manager slots and then remove it from the slot manager.
@@ -46,6 +46,7 @@ import org.apache.flink.runtime.taskexecutor.SlotReport;
 import org.apache.flink.runtime.taskexecutor.TaskExecutorRegistrationSuccess;
 import org.apache.flink.util.Preconditions;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.concurrent.CompletableFuture;
@@ -53,6 +54,7 @@ import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Implementation of the {@link ResourceManagerGateway} for testing purposes solely.
@@ -89,6 +91,10 @@ public class TestingResourceManagerGateway implements ResourceManagerGateway {
 
 	private volatile Consumer<Tuple3<InstanceID, SlotID, AllocationID>> notifySlotAvailableConsumer;
 
+	private volatile BiConsumer<JobID, ResourceID> reportTaskManagerFailureConsumer;
+
+	private volatile Supplier<CompletableFuture<ResourceOverview>> requestResourceOverviewSupplier;
+
 	public TestingResourceManagerGateway() {
 		this(
 			ResourceManagerId.generate(),
@@ -127,6 +133,14 @@ public class TestingResourceManagerGateway implements ResourceManagerGateway {
 		this.requestSlotConsumer = slotRequestConsumer;
 	}
 
+	public void setReportTaskManagerFailureConsumer(BiConsumer<JobID, ResourceID> reportTaskManagerFailureConsumer) {
+		this.reportTaskManagerFailureConsumer = reportTaskManagerFailureConsumer;
+	}
+
+	public void setRequestResourceOverviewSupplier(Supplier<CompletableFuture<ResourceOverview>> requestResourceOverviewSupplier) {
+		this.requestResourceOverviewSupplier = requestResourceOverviewSupplier;
+	}
+
 	public void setRegisterJobManagerConsumer(Consumer<Tuple4<JobMasterId, ResourceID, String, JobID>> registerJobManagerConsumer) {
 		this.registerJobManagerConsumer = registerJobManagerConsumer;
 	}
@@ -190,6 +204,17 @@ public class TestingResourceManagerGateway implements ResourceManagerGateway {
 		}
 	}
 
+	@Override
+	public CompletableFuture<Acknowledge> requestSlots(JobMasterId jobMasterId, Collection<SlotRequest> slotRequests, Time timeout) {
+		final Collection<CompletableFuture<Acknowledge>> slotFutures = new ArrayList<>(slotRequests.size());
+
+		for (SlotRequest slotRequest : slotRequests) {
+			slotFutures.add(requestSlot(jobMasterId, slotRequest, timeout));
+		}
+
+		return FutureUtils.waitForAll(slotFutures).thenApply(ignored -> Acknowledge.get());
+	}
+
 	@Override
 	public void cancelSlotRequest(AllocationID allocationID) {
 		Consumer<AllocationID> currentCancelSlotConsumer = cancelSlotConsumer;
@@ -199,6 +224,15 @@ public class TestingResourceManagerGateway implements ResourceManagerGateway {
 		}
 	}
 
+	@Override
+	public void reportTaskManagerFailure(JobID jobId, ResourceID taskExecutorId) {
+		final BiConsumer<JobID, ResourceID> currentReportTaskManagerFailureConsumer = reportTaskManagerFailureConsumer;
+
+		if (currentReportTaskManagerFailureConsumer != null) {
+			currentReportTaskManagerFailureConsumer.accept(jobId, taskExecutorId);
+		}
+	}
+
 	@Override
 	public CompletableFuture<Acknowledge> sendSlotReport(ResourceID taskManagerResourceId, InstanceID taskManagerRegistrationId, SlotReport slotReport, Time timeout) {
 		final Function<Tuple3<ResourceID, InstanceID, SlotReport>, CompletableFuture<Acknowledge>> currentSendSlotReportFunction = sendSlotReportFunction;
@@ -298,7 +332,13 @@ public class TestingResourceManagerGateway implements ResourceManagerGateway {
 
 	@Override
 	public CompletableFuture<ResourceOverview> requestResourceOverview(Time timeout) {
-		return FutureUtils.completedExceptionally(new UnsupportedOperationException("Not yet implemented"));
+		final Supplier<CompletableFuture<ResourceOverview>> currentSupplier = requestResourceOverviewSupplier;
+
+		if (currentSupplier != null) {
+			return currentSupplier.get();
+		} else {
+			return FutureUtils.completedExceptionally(new UnsupportedOperationException("Not yet implemented"));
+		}
 	}
 
 	@Override
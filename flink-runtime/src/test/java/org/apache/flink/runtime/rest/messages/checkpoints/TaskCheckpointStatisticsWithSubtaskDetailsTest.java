@@ -55,7 +55,8 @@ public class TaskCheckpointStatisticsWithSubtaskDetailsTest extends RestResponse
 			13L,
 			1337L,
 			new SubtaskCheckpointStatistics.CompletedSubtaskCheckpointStatistics.CheckpointDuration(1L, 2L),
-			new SubtaskCheckpointStatistics.CompletedSubtaskCheckpointStatistics.CheckpointAlignment(2L, 3L)));
+			new SubtaskCheckpointStatistics.CompletedSubtaskCheckpointStatistics.CheckpointAlignment(2L, 3L),
+			new SubtaskCheckpointStatistics.CompletedSubtaskCheckpointStatistics.CheckpointBarrierPropagation(4L, 7L, 2)));
 
 		return new TaskCheckpointStatisticsWithSubtaskDetails(
 			4L,
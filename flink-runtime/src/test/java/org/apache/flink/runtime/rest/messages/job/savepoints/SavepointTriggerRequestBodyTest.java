@@ -45,7 +45,8 @@ public class SavepointTriggerRequestBodyTest
 	public static Collection<Object[]> data() {
 		return Arrays.asList(new Object[][]{
 			{new SavepointTriggerRequestBody("/tmp", true)},
-			{new SavepointTriggerRequestBody("/tmp", false)}
+			{new SavepointTriggerRequestBody("/tmp", false)},
+			{new SavepointTriggerRequestBody("/tmp", false, true)}
 		});
 	}
 
@@ -64,5 +65,7 @@ public class SavepointTriggerRequestBodyTest
 			final SavepointTriggerRequestBody expected,
 			final SavepointTriggerRequestBody actual) {
 		assertEquals(expected.getTargetDirectory(), actual.getTargetDirectory());
+		assertEquals(expected.isCancelJob(), actual.isCancelJob());
+		assertEquals(expected.isDrain(), actual.isDrain());
 	}
 }
@@ -19,8 +19,10 @@
 package org.apache.flink.runtime.rpc.akka;
 
 import org.apache.flink.api.common.time.Time;
+import org.apache.flink.core.testutils.OneShotLatch;
 import org.apache.flink.runtime.akka.AkkaUtils;
 import org.apache.flink.runtime.concurrent.FutureUtils;
+import org.apache.flink.runtime.rpc.MainThreadStatistics;
 import org.apache.flink.runtime.rpc.RpcEndpoint;
 import org.apache.flink.runtime.rpc.RpcGateway;
 import org.apache.flink.runtime.rpc.RpcService;
@@ -87,6 +89,76 @@ public class AkkaRpcActorTest extends TestLogger {
 		assertEquals(rpcEndpoint.getAddress(), rpcGateway.getAddress());
 	}
 
+	/**
+	 * Tests that the {@link AkkaRpcActor} reports the processed messages to the
+	 * {@link MainThreadStatistics} of the rpc endpoint.
+	 */
+	@Test
+	public void testMainThreadStatistics() throws Exception {
+		final DummyRpcEndpoint rpcEndpoint = new DummyRpcEndpoint(akkaRpcService);
+		rpcEndpoint.start();
+
+		try {
+			final DummyRpcGateway rpcGateway = rpcEndpoint.getSelfGateway(DummyRpcGateway.class);
+			final int numCalls = 3;
+
+			for (int i = 0; i < numCalls; i++) {
+				assertEquals(Integer.valueOf(42), rpcGateway.foobar().get(timeout.getSize(), timeout.getUnit()));
+			}
+
+			// the statistics are read in the main thread after all previous messages have been processed
+			assertEquals(Long.valueOf(numCalls), rpcEndpoint.getNumProcessedMessagesInMainThread().get(timeout.getSize(), timeout.getUnit()));
+		} finally {
+			rpcEndpoint.shutDown();
+		}
+	}
+
+	/**
+	 * Tests that the messages which wait for the main thread are counted in the queue length of the
+	 * {@link MainThreadStatistics}, regardless of whether they were sent via the self gateway or via
+	 * a connected gateway.
+	 */
+	@Test
+	public void testMainThreadQueueLength() throws Exception {
+		final DummyRpcEndpoint rpcEndpoint = new DummyRpcEndpoint(akkaRpcService);
+		rpcEndpoint.start();
+
+		try {
+			final MainThreadStatistics mainThreadStatistics = rpcEndpoint.getMainThreadStatistics();
+			final DummyRpcGateway selfGateway = rpcEndpoint.getSelfGateway(DummyRpcGateway.class);
+			final DummyRpcGateway connectedGateway = akkaRpcService.connect(rpcEndpoint.getAddress(), DummyRpcGateway.class)
+				.get(timeout.getSize(), timeout.getUnit());
+
+			// block the main thread so that the following messages stay in the queue
+			final OneShotLatch mainThreadBlocked = new OneShotLatch();
+			final OneShotLatch unblockMainThread = new OneShotLatch();
+			rpcEndpoint.runInMainThread(() -> {
+				mainThreadBlocked.trigger();
+				try {
+					unblockMainThread.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			});
+			mainThreadBlocked.await();
+			assertEquals(0, mainThreadStatistics.getQueueLength());
+
+			final CompletableFuture<Integer> selfCall = selfGateway.foobar();
+			final CompletableFuture<Integer> connectedCall = connectedGateway.foobar();
+			rpcEndpoint.runInMainThread(() -> {});
+			assertEquals(3, mainThreadStatistics.getQueueLength());
+
+			unblockMainThread.trigger();
+			assertEquals(Integer.valueOf(42), selfCall.get(timeout.getSize(), timeout.getUnit()));
+			assertEquals(Integer.valueOf(42), connectedCall.get(timeout.getSize(), timeout.getUnit()));
+
+			// the queue length is read in the main thread after all previous messages have been processed
+			assertEquals(Integer.valueOf(0), rpcEndpoint.getQueueLengthInMainThread().get(timeout.getSize(), timeout.getUnit()));
+		} finally {
+			rpcEndpoint.shutDown();
+		}
+	}
+
 	/**
 	 * Tests that a {@link RpcConnectionException} is thrown if the rpc endpoint cannot be connected to.
 	 */
@@ -329,6 +401,18 @@ public class AkkaRpcActorTest extends TestLogger {
 		public void setFoobar(int value) {
 			_foobar = value;
 		}
+
+		CompletableFuture<Long> getNumProcessedMessagesInMainThread() {
+			return callAsync(() -> getMainThreadStatistics().getNumProcessedMessages(), timeout);
+		}
+
+		CompletableFuture<Integer> getQueueLengthInMainThread() {
+			return callAsync(() -> getMainThreadStatistics().getQueueLength(), timeout);
+		}
+
+		void runInMainThread(Runnable runnable) {
+			runAsync(runnable);
+		}
 	}
 
 	// ------------------------------------------------------------------------
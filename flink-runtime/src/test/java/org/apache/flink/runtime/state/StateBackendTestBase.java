@@ -32,6 +32,8 @@ import org.apache.flink.api.common.state.MapState;
 import org.apache.flink.api.common.state.MapStateDescriptor;
 import org.apache.flink.api.common.state.ReducingState;
 import org.apache.flink.api.common.state.ReducingStateDescriptor;
+import org.apache.flink.api.common.state.SortedMapState;
+import org.apache.flink.api.common.state.SortedMapStateDescriptor;
 import org.apache.flink.api.common.state.StateDescriptor;
 import org.apache.flink.api.common.state.ValueState;
 import org.apache.flink.api.common.state.ValueStateDescriptor;
@@ -44,6 +46,7 @@ import org.apache.flink.api.common.typeutils.base.DoubleSerializer;
 import org.apache.flink.api.common.typeutils.base.FloatSerializer;
 import org.apache.flink.api.common.typeutils.base.IntSerializer;
 import org.apache.flink.api.common.typeutils.base.LongSerializer;
+import org.apache.flink.api.common.typeutils.base.OrderPreservingLongSerializer;
 import org.apache.flink.api.common.typeutils.base.StringSerializer;
 import org.apache.flink.api.java.typeutils.GenericTypeInfo;
 import org.apache.flink.api.java.typeutils.TypeExtractor;
@@ -101,6 +104,7 @@ import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -3070,6 +3074,139 @@ public abstract class StateBackendTestBase<B extends AbstractStateBackend> exten
 		backend.dispose();
 	}
 
+	/**
+	 * Verify that {@code SortedMapState#subMap} returns the mappings within the range in
+	 * ascending order of their keys, also after restoring from a snapshot.
+	 */
+	@Test
+	public void testSortedMapStateSubMap() throws Exception {
+		CheckpointStreamFactory streamFactory = createStreamFactory();
+		SharedStateRegistry sharedStateRegistry = new SharedStateRegistry();
+		AbstractKeyedStateBackend<Integer> backend = createKeyedBackend(IntSerializer.INSTANCE);
+
+		SortedMapStateDescriptor<Long, String> kvId = new SortedMapStateDescriptor<>(
+			"id", Comparator.<Long>naturalOrder(), OrderPreservingLongSerializer.INSTANCE, StringSerializer.INSTANCE);
+
+		SortedMapState<Long, String> state = backend.getPartitionedState(VoidNamespace.INSTANCE, VoidNamespaceSerializer.INSTANCE, kvId);
+
+		backend.setCurrentKey(1);
+		assertFalse(state.subMap(null, null).iterator().hasNext());
+
+		// more mappings than the RocksDB map iterator loads at once, including negative keys
+		for (long i = -150L; i < 150L; i++) {
+			state.put(i * 2, String.valueOf(i * 2));
+		}
+
+		backend.setCurrentKey(2);
+		state.put(1L, String.valueOf(1L));
+
+		backend.setCurrentKey(1);
+		assertContainsEvenKeys(state.subMap(null, null), -300L, 298L);
+		assertContainsEvenKeys(state.subMap(-10L, 10L), -10L, 8L);
+		assertContainsEvenKeys(state.subMap(-11L, 11L), -10L, 10L);
+		assertContainsEvenKeys(state.subMap(null, 0L), -300L, -2L);
+		assertContainsEvenKeys(state.subMap(290L, null), 290L, 298L);
+		assertFalse(state.subMap(10L, 10L).iterator().hasNext());
+		assertFalse(state.subMap(10L, -10L).iterator().hasNext());
+		assertFalse(state.subMap(1000L, null).iterator().hasNext());
+
+		KeyedStateHandle snapshot = runSnapshot(
+			backend.snapshot(682375462378L, 2, streamFactory, CheckpointOptions.forCheckpointWithDefaultLocation()),
+			sharedStateRegistry);
+		backend.dispose();
+
+		backend = restoreKeyedBackend(IntSerializer.INSTANCE, snapshot);
+		snapshot.discardState();
+
+		state = backend.getPartitionedState(VoidNamespace.INSTANCE, VoidNamespaceSerializer.INSTANCE, kvId);
+
+		backend.setCurrentKey(1);
+		assertContainsEvenKeys(state.subMap(-10L, 10L), -10L, 8L);
+
+		state.remove(0L);
+		Iterator<Map.Entry<Long, String>> iterator = state.subMap(-2L, 3L).iterator();
+		assertEquals(Long.valueOf(-2L), iterator.next().getKey());
+		assertEquals(Long.valueOf(2L), iterator.next().getKey());
+		assertFalse(iterator.hasNext());
+
+		backend.setCurrentKey(2);
+		assertFalse(state.subMap(null, 1L).iterator().hasNext());
+		iterator = state.subMap(1L, null).iterator();
+		assertEquals(Long.valueOf(1L), iterator.next().getKey());
+		assertFalse(iterator.hasNext());
+
+		backend.dispose();
+	}
+
+	/**
+	 * Verify that {@code SortedMapState} returns the lowest and the highest key and the head and
+	 * tail maps of the current key, independent of the mappings of the neighbouring keys.
+	 */
+	@Test
+	public void testSortedMapStateFirstAndLastKey() throws Exception {
+		AbstractKeyedStateBackend<Integer> backend = createKeyedBackend(IntSerializer.INSTANCE);
+
+		SortedMapStateDescriptor<Long, String> kvId = new SortedMapStateDescriptor<>(
+			"id", Comparator.<Long>naturalOrder(), OrderPreservingLongSerializer.INSTANCE, StringSerializer.INSTANCE);
+
+		SortedMapState<Long, String> state = backend.getPartitionedState(VoidNamespace.INSTANCE, VoidNamespaceSerializer.INSTANCE, kvId);
+
+		for (int key = 0; key < 10; key++) {
+			backend.setCurrentKey(key);
+			assertNull(state.firstKey());
+			assertNull(state.lastKey());
+
+			if (key % 2 == 0) {
+				for (long i = -key; i <= key; i++) {
+					state.put(i * 2, String.valueOf(i * 2));
+				}
+			}
+		}
+
+		for (int key = 0; key < 10; key++) {
+			backend.setCurrentKey(key);
+
+			if (key % 2 == 0) {
+				assertEquals(Long.valueOf(-key * 2L), state.firstKey());
+				assertEquals(Long.valueOf(key * 2L), state.lastKey());
+				assertContainsEvenKeys(state.headMap(0L), -key * 2L, -2L);
+				assertContainsEvenKeys(state.headMap(1L), -key * 2L, 0L);
+				assertContainsEvenKeys(state.tailMap(0L), 0L, key * 2L);
+			} else {
+				assertNull(state.firstKey());
+				assertNull(state.lastKey());
+				assertFalse(state.headMap(0L).iterator().hasNext());
+				assertFalse(state.tailMap(0L).iterator().hasNext());
+			}
+		}
+
+		backend.setCurrentKey(4);
+		state.remove(-8L);
+		state.remove(8L);
+		assertEquals(Long.valueOf(-6L), state.firstKey());
+		assertEquals(Long.valueOf(6L), state.lastKey());
+
+		state.clear();
+		assertNull(state.firstKey());
+		assertNull(state.lastKey());
+
+		backend.dispose();
+	}
+
+	private static void assertContainsEvenKeys(
+			Iterable<Map.Entry<Long, String>> entries,
+			long firstKey,
+			long lastKey) {
+
+		long expectedKey = firstKey;
+		for (Map.Entry<Long, String> entry : entries) {
+			assertEquals(Long.valueOf(expectedKey), entry.getKey());
+			assertEquals(String.valueOf(expectedKey), entry.getValue());
+			expectedKey += 2;
+		}
+		assertEquals(lastKey + 2, expectedKey);
+	}
+
 	/**
 	 * This test verifies that state is correctly assigned to key groups and that restore
 	 * restores the relevant key groups in the backend.
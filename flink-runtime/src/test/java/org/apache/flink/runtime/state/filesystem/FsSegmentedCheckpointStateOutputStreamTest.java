@@ -0,0 +1,226 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.state.filesystem;
+
+import org.apache.flink.core.fs.FSDataInputStream;
+import org.apache.flink.core.fs.FileSystem;
+import org.apache.flink.core.fs.Path;
+import org.apache.flink.runtime.state.CheckpointStreamFactory.CheckpointStateOutputStream;
+import org.apache.flink.runtime.state.CheckpointedStateScope;
+import org.apache.flink.runtime.state.StreamStateHandle;
+import org.apache.flink.runtime.state.filesystem.FsCheckpointStreamFactory.FsCheckpointStateOutputStream;
+import org.apache.flink.runtime.state.filesystem.FsCheckpointStreamFactory.FsSegmentedCheckpointStateOutputStream;
+import org.apache.flink.runtime.state.memory.ByteStreamStateHandle;
+import org.apache.flink.util.TestLogger;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the {@link FsSegmentedCheckpointStateOutputStream} and the {@link SegmentFileWriter}.
+ */
+public class FsSegmentedCheckpointStateOutputStreamTest extends TestLogger {
+
+	private static final int FILE_STATE_THRESHOLD = 64;
+
+	private static final int MAX_SEGMENTED_STATE_SIZE = 16 * 1024;
+
+	@Rule
+	public final TemporaryFolder tempDir = new TemporaryFolder();
+
+	private File checkpointDir;
+
+	private FsCheckpointStreamFactory streamFactory;
+
+	@Before
+	public void createStreamFactory() throws IOException {
+		checkpointDir = tempDir.newFolder();
+		streamFactory = new FsCheckpointStreamFactory(
+			FileSystem.getLocalFileSystem(),
+			Path.fromLocalFile(checkpointDir),
+			Path.fromLocalFile(tempDir.newFolder()),
+			FILE_STATE_THRESHOLD,
+			MAX_SEGMENTED_STATE_SIZE);
+	}
+
+	@Test
+	public void testExclusiveStreamsAreSegmented() throws Exception {
+		CheckpointStateOutputStream stream =
+			streamFactory.createCheckpointStateOutputStream(CheckpointedStateScope.EXCLUSIVE);
+		assertTrue(stream instanceof FsSegmentedCheckpointStateOutputStream);
+		stream.close();
+
+		stream = streamFactory.createCheckpointStateOutputStream(CheckpointedStateScope.SHARED);
+		assertTrue(stream instanceof FsCheckpointStateOutputStream);
+		stream.close();
+
+		assertEquals(0, SegmentFileWriter.getNumberOfOpenWriters());
+	}
+
+	@Test
+	public void testEmptyState() throws Exception {
+		CheckpointStateOutputStream stream =
+			streamFactory.createCheckpointStateOutputStream(CheckpointedStateScope.EXCLUSIVE);
+
+		assertNull(stream.closeAndGetHandle());
+		assertEquals(0, SegmentFileWriter.getNumberOfOpenWriters());
+	}
+
+	@Test
+	public void testStateBelowMemThreshold() throws Exception {
+		final byte[] state = randomBytes(FILE_STATE_THRESHOLD);
+
+		StreamStateHandle handle = writeState(state);
+
+		assertTrue(handle instanceof ByteStreamStateHandle);
+		assertArrayEquals(state, readState(handle));
+		assertEquals(0, checkpointDir.list().length);
+	}
+
+	@Test
+	public void testStateAboveMaxSegmentedStateSize() throws Exception {
+		final byte[] state = randomBytes(MAX_SEGMENTED_STATE_SIZE + 1);
+
+		StreamStateHandle handle = writeState(state);
+
+		assertTrue(handle instanceof FileStateHandle);
+		assertArrayEquals(state, readState(handle));
+		assertEquals(0, SegmentFileWriter.getNumberOfOpenWriters());
+	}
+
+	/**
+	 * Tests that the state of concurrently open streams is appended to the same segment file,
+	 * and that each handle only reads its own state.
+	 */
+	@Test
+	public void testConcurrentStreamsShareSegmentFile() throws Exception {
+		final int numStreams = 10;
+		final CheckpointStateOutputStream[] streams = new CheckpointStateOutputStream[numStreams];
+		final byte[][] states = new byte[numStreams][];
+
+		for (int i = 0; i < numStreams; i++) {
+			streams[i] = streamFactory.createCheckpointStateOutputStream(CheckpointedStateScope.EXCLUSIVE);
+			states[i] = randomBytes(FILE_STATE_THRESHOLD + 1 + i * 1000);
+		}
+
+		// write in small chunks to exercise the growing buffer
+		for (int i = 0; i < numStreams; i++) {
+			for (int pos = 0; pos < states[i].length; pos += 100) {
+				streams[i].write(states[i], pos, Math.min(100, states[i].length - pos));
+			}
+			assertEquals(states[i].length, streams[i].getPos());
+		}
+
+		final SegmentFileStateHandle[] handles = new SegmentFileStateHandle[numStreams];
+		for (int i = 0; i < numStreams; i++) {
+			handles[i] = (SegmentFileStateHandle) streams[i].closeAndGetHandle();
+		}
+
+		assertEquals(1, checkpointDir.list().length);
+		assertEquals(0, SegmentFileWriter.getNumberOfOpenWriters());
+
+		for (int i = 0; i < numStreams; i++) {
+			assertEquals(handles[0].getSegmentFilePath(), handles[i].getSegmentFilePath());
+			assertEquals(states[i].length, handles[i].getStateSize());
+			assertArrayEquals(states[i], readState(handles[i]));
+		}
+	}
+
+	/**
+	 * Tests that the segment file is closed once no stream uses the writer any more.
+	 */
+	@Test
+	public void testSegmentFileIsClosedAfterLastStream() throws Exception {
+		SegmentFileStateHandle first = (SegmentFileStateHandle) writeState(randomBytes(1000));
+		SegmentFileStateHandle second = (SegmentFileStateHandle) writeState(randomBytes(1000));
+
+		assertNotEquals(first.getSegmentFilePath(), second.getSegmentFilePath());
+		assertEquals(2, checkpointDir.list().length);
+	}
+
+	@Test
+	public void testSeekIsRelativeToState() throws Exception {
+		CheckpointStateOutputStream other =
+			streamFactory.createCheckpointStateOutputStream(CheckpointedStateScope.EXCLUSIVE);
+		other.write(randomBytes(500));
+		other.closeAndGetHandle();
+
+		final byte[] state = randomBytes(1000);
+		StreamStateHandle handle = writeState(state);
+
+		try (FSDataInputStream in = handle.openInputStream()) {
+			assertEquals(0L, in.getPos());
+
+			in.seek(600L);
+			assertEquals(600L, in.getPos());
+			assertEquals(state[600], (byte) in.read());
+
+			in.seek(state.length);
+			assertEquals(-1, in.read());
+		}
+	}
+
+	@Test
+	public void testCloseReleasesSegmentFileWriter() throws Exception {
+		CheckpointStateOutputStream stream =
+			streamFactory.createCheckpointStateOutputStream(CheckpointedStateScope.EXCLUSIVE);
+		stream.write(randomBytes(1000));
+
+		assertEquals(1, SegmentFileWriter.getNumberOfOpenWriters());
+		stream.close();
+		assertEquals(0, SegmentFileWriter.getNumberOfOpenWriters());
+	}
+
+	// ------------------------------------------------------------------------
+
+	private StreamStateHandle writeState(byte[] state) throws IOException {
+		CheckpointStateOutputStream stream =
+			streamFactory.createCheckpointStateOutputStream(CheckpointedStateScope.EXCLUSIVE);
+		stream.write(state);
+		return stream.closeAndGetHandle();
+	}
+
+	private static byte[] readState(StreamStateHandle handle) throws IOException {
+		final byte[] state = new byte[(int) handle.getStateSize()];
+		try (DataInputStream in = new DataInputStream(handle.openInputStream())) {
+			in.readFully(state);
+			assertEquals(-1, in.read());
+		}
+		return state;
+	}
+
+	private static byte[] randomBytes(int size) {
+		final byte[] bytes = new byte[size];
+		new Random().nextBytes(bytes);
+		return bytes;
+	}
+}
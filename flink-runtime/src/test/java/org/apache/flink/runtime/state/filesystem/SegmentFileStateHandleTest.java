@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.state.filesystem;
+
+import org.apache.flink.core.fs.Path;
+import org.apache.flink.runtime.checkpoint.OperatorSubtaskState;
+import org.apache.flink.runtime.state.KeyGroupRange;
+import org.apache.flink.runtime.state.KeyGroupRangeOffsets;
+import org.apache.flink.runtime.state.KeyGroupsStateHandle;
+import org.apache.flink.runtime.state.OperatorStateHandle;
+import org.apache.flink.runtime.state.OperatorStreamStateHandle;
+import org.apache.flink.runtime.state.SharedStateRegistry;
+import org.apache.flink.util.TestLogger;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Collections;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the {@link SegmentFileStateHandle}.
+ */
+public class SegmentFileStateHandleTest extends TestLogger {
+
+	@Rule
+	public final TemporaryFolder tempFolder = new TemporaryFolder();
+
+	@Test
+	public void testUnregisteredDiscardKeepsSegmentFile() throws Exception {
+		File segmentFile = createSegmentFile();
+
+		SegmentFileStateHandle handle = new SegmentFileStateHandle(Path.fromLocalFile(segmentFile), 0L, 10L);
+		handle.discardState();
+
+		assertTrue(segmentFile.exists());
+	}
+
+	/**
+	 * Tests that the segment file is only deleted once the last registered handle to it was discarded.
+	 */
+	@Test
+	public void testSegmentFileIsDeletedWithLastReference() throws Exception {
+		File segmentFile = createSegmentFile();
+		SharedStateRegistry registry = new SharedStateRegistry();
+
+		SegmentFileStateHandle first = new SegmentFileStateHandle(Path.fromLocalFile(segmentFile), 0L, 10L);
+		SegmentFileStateHandle second = new SegmentFileStateHandle(Path.fromLocalFile(segmentFile), 10L, 10L);
+		first.registerSharedStates(registry);
+		second.registerSharedStates(registry);
+
+		first.discardState();
+		assertTrue(segmentFile.exists());
+
+		second.discardState();
+		assertFalse(segmentFile.exists());
+
+		// the checkpoint directory is cleaned up with the last segment file
+		assertFalse(segmentFile.getParentFile().exists());
+	}
+
+	/**
+	 * Tests that after a restart, the references are released in the registry of the new attempt.
+	 */
+	@Test
+	public void testRegistrationWithNewRegistry() throws Exception {
+		File segmentFile = createSegmentFile();
+
+		SegmentFileStateHandle handle = new SegmentFileStateHandle(Path.fromLocalFile(segmentFile), 0L, 10L);
+		handle.registerSharedStates(new SharedStateRegistry());
+		handle.registerSharedStates(new SharedStateRegistry());
+
+		handle.discardState();
+		assertFalse(segmentFile.exists());
+	}
+
+	/**
+	 * Tests that segment file handles nested in the keyed and operator state of a subtask are registered.
+	 */
+	@Test
+	public void testNestedHandlesAreRegistered() throws Exception {
+		File segmentFile = createSegmentFile();
+		SharedStateRegistry registry = new SharedStateRegistry();
+
+		KeyGroupsStateHandle keyedStateHandle = new KeyGroupsStateHandle(
+			new KeyGroupRangeOffsets(KeyGroupRange.of(0, 0), new long[] {0L}),
+			new SegmentFileStateHandle(Path.fromLocalFile(segmentFile), 0L, 10L));
+
+		OperatorStreamStateHandle operatorStateHandle = new OperatorStreamStateHandle(
+			Collections.singletonMap(
+				"state",
+				new OperatorStateHandle.StateMetaInfo(new long[] {0L}, OperatorStateHandle.Mode.SPLIT_DISTRIBUTE)),
+			new SegmentFileStateHandle(Path.fromLocalFile(segmentFile), 10L, 10L));
+
+		OperatorSubtaskState subtaskState = new OperatorSubtaskState(operatorStateHandle, null, keyedStateHandle, null);
+		registry.registerAll(Collections.singletonList(subtaskState));
+
+		subtaskState.discardState();
+		assertFalse(segmentFile.exists());
+	}
+
+	private File createSegmentFile() throws IOException {
+		File segmentFile = new File(tempFolder.newFolder(), SegmentFileWriter.SEGMENT_FILE_PREFIX + "test");
+		try (FileOutputStream out = new FileOutputStream(segmentFile)) {
+			out.write(new byte[20]);
+		}
+		return segmentFile;
+	}
+}
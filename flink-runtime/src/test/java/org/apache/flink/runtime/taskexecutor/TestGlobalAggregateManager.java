@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.taskexecutor;
+
+import org.apache.flink.api.common.functions.AggregateFunction;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * An util class for testing that keeps the global aggregates in memory, like the JobMaster does.
+ */
+public class TestGlobalAggregateManager implements GlobalAggregateManager {
+
+	private final Map<String, Object> accumulators = new HashMap<>();
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public synchronized <IN, ACC, OUT> CompletableFuture<OUT> updateGlobalAggregate(
+			String aggregateName,
+			IN aggregand,
+			AggregateFunction<IN, ACC, OUT> aggregateFunction) {
+
+		ACC accumulator = (ACC) accumulators.get(aggregateName);
+		if (accumulator == null) {
+			accumulator = aggregateFunction.createAccumulator();
+		}
+
+		accumulator = aggregateFunction.add(aggregand, accumulator);
+		accumulators.put(aggregateName, accumulator);
+		return CompletableFuture.completedFuture(aggregateFunction.getResult(accumulator));
+	}
+}
@@ -36,6 +36,9 @@ import org.apache.flink.runtime.messages.StackTraceSampleResponse;
 import org.apache.flink.runtime.resourcemanager.ResourceManagerId;
 import org.apache.flink.util.Preconditions;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
@@ -89,6 +92,17 @@ public class TestingTaskExecutorGateway implements TaskExecutorGateway {
 		return submitTaskConsumer.apply(tdd, jobMasterId);
 	}
 
+	@Override
+	public CompletableFuture<Acknowledge> submitTasks(Collection<TaskDeploymentDescriptor> tdds, JobMasterId jobMasterId, Time timeout) {
+		final List<CompletableFuture<Acknowledge>> submitFutures = new ArrayList<>(tdds.size());
+
+		for (TaskDeploymentDescriptor tdd : tdds) {
+			submitFutures.add(submitTaskConsumer.apply(tdd, jobMasterId));
+		}
+
+		return FutureUtils.waitForAll(submitFutures).thenApply(ignored -> Acknowledge.get());
+	}
+
 	@Override
 	public CompletableFuture<Acknowledge> updatePartitions(ExecutionAttemptID executionAttemptID, Iterable<PartitionInfo> partitionInfos, Time timeout) {
 		return CompletableFuture.completedFuture(Acknowledge.get());
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.taskexecutor.rpc;
+
+import org.apache.flink.runtime.concurrent.ManuallyTriggeredScheduledExecutor;
+import org.apache.flink.util.TestLogger;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the {@link RpcBatcher}.
+ */
+public class RpcBatcherTest extends TestLogger {
+
+	/**
+	 * Tests that messages are collected until the scheduled sending of the batch.
+	 */
+	@Test
+	public void testMessagesAreSentInBatches() {
+		final ManuallyTriggeredScheduledExecutor scheduledExecutor = new ManuallyTriggeredScheduledExecutor();
+		final List<List<Integer>> sentBatches = new ArrayList<>(2);
+		final RpcBatcher<Integer> batcher = new RpcBatcher<>(sentBatches::add, scheduledExecutor, 10L);
+
+		batcher.add(1);
+		batcher.add(2);
+		batcher.add(3);
+
+		assertTrue(sentBatches.isEmpty());
+
+		scheduledExecutor.triggerScheduledTasks();
+
+		assertEquals(Collections.singletonList(Arrays.asList(1, 2, 3)), sentBatches);
+
+		batcher.add(4);
+		scheduledExecutor.triggerScheduledTasks();
+
+		assertEquals(Arrays.asList(Arrays.asList(1, 2, 3), Collections.singletonList(4)), sentBatches);
+	}
+
+	/**
+	 * Tests that a batch delay of 0 sends every message right away.
+	 */
+	@Test
+	public void testZeroDelayDisablesBatching() {
+		final ManuallyTriggeredScheduledExecutor scheduledExecutor = new ManuallyTriggeredScheduledExecutor();
+		final List<List<Integer>> sentBatches = new ArrayList<>(2);
+		final RpcBatcher<Integer> batcher = new RpcBatcher<>(sentBatches::add, scheduledExecutor, 0L);
+
+		batcher.add(1);
+		batcher.add(2);
+
+		assertEquals(Arrays.asList(Collections.singletonList(1), Collections.singletonList(2)), sentBatches);
+	}
+
+	/**
+	 * Tests that taken messages are not sent by the batcher anymore.
+	 */
+	@Test
+	public void testTakePendingMessages() {
+		final ManuallyTriggeredScheduledExecutor scheduledExecutor = new ManuallyTriggeredScheduledExecutor();
+		final List<List<Integer>> sentBatches = new ArrayList<>(2);
+		final RpcBatcher<Integer> batcher = new RpcBatcher<>(sentBatches::add, scheduledExecutor, 10L);
+
+		batcher.add(1);
+		batcher.add(2);
+
+		assertEquals(Arrays.asList(1, 2), batcher.takePendingMessages());
+		assertTrue(batcher.takePendingMessages().isEmpty());
+
+		scheduledExecutor.triggerScheduledTasks();
+
+		assertTrue(sentBatches.isEmpty());
+	}
+}
@@ -51,6 +51,8 @@ import java.util.Arrays;
 import java.util.Iterator;
 import java.util.Map;
 
+import static org.apache.flink.contrib.streaming.state.RocksDBCachingPriorityQueueSet.OrderedByteArraySetCache.LEXICOGRAPHIC_BYTE_COMPARATOR;
+
 /**
  * {@link MapState} implementation that stores state in RocksDB.
  *
@@ -82,7 +84,7 @@ class RocksDBMapState<K, N, UK, UV>
 	 * @param defaultValue The default value for the state.
 	 * @param backend The backend for which this state is bind to.
 	 */
-	private RocksDBMapState(
+	RocksDBMapState(
 			ColumnFamilyHandle columnFamily,
 			TypeSerializer<N> namespaceSerializer,
 			TypeSerializer<Map<UK, UV>> valueSerializer,
@@ -214,6 +216,70 @@ class RocksDBMapState<K, N, UK, UV>
 		};
 	}
 
+	/**
+	 * Returns the entries whose serialized user keys lie in the given range, in the order of the
+	 * serialized user keys. The bounds are serialized eagerly, so that the returned iterable
+	 * refers to the current key and namespace.
+	 *
+	 * @param fromKey The lowest user key of the range (inclusive), or {@code null} for no lower bound.
+	 * @param toKey The highest user key of the range (exclusive), or {@code null} for no upper bound.
+	 */
+	Iterable<Map.Entry<UK, UV>> rangeEntries(@Nullable UK fromKey, @Nullable UK toKey) throws IOException {
+		final byte[] prefixBytes = serializeCurrentKeyAndNamespace();
+		final byte[] startBytes = fromKey == null ? prefixBytes : serializeUserKeyWithCurrentKeyAndNamespace(fromKey);
+		final byte[] endBytes = toKey == null ? null : serializeUserKeyWithCurrentKeyAndNamespace(toKey);
+
+		return () -> new RocksDBMapIterator<Map.Entry<UK, UV>>(
+				backend.db, prefixBytes, startBytes, endBytes, userKeySerializer, userValueSerializer) {
+			@Override
+			public Map.Entry<UK, UV> next() {
+				return nextEntry();
+			}
+		};
+	}
+
+	/**
+	 * Returns the lowest user key of the current key and namespace in the order of the serialized
+	 * user keys, or {@code null} if there are no mappings.
+	 */
+	@Nullable
+	UK firstUserKey() throws IOException {
+		final byte[] prefixBytes = serializeCurrentKeyAndNamespace();
+
+		try (RocksIteratorWrapper iterator = RocksDBKeyedStateBackend.getRocksIterator(backend.db, columnFamily)) {
+			iterator.seek(prefixBytes);
+
+			return iterator.isValid() && startWithKeyPrefix(prefixBytes, iterator.key()) ?
+				deserializeUserKey(prefixBytes.length, iterator.key(), userKeySerializer) : null;
+		}
+	}
+
+	/**
+	 * Returns the highest user key of the current key and namespace in the order of the serialized
+	 * user keys, or {@code null} if there are no mappings.
+	 */
+	@Nullable
+	UK lastUserKey() throws IOException {
+		final byte[] prefixBytes = serializeCurrentKeyAndNamespace();
+		final byte[] successorBytes = prefixSuccessor(prefixBytes);
+
+		try (RocksIteratorWrapper iterator = RocksDBKeyedStateBackend.getRocksIterator(backend.db, columnFamily)) {
+			// position the iterator on the last entry before all keys with a greater prefix
+			if (successorBytes != null) {
+				iterator.seek(successorBytes);
+			}
+
+			if (successorBytes != null && iterator.isValid()) {
+				iterator.prev();
+			} else {
+				iterator.seekToLast();
+			}
+
+			return iterator.isValid() && startWithKeyPrefix(prefixBytes, iterator.key()) ?
+				deserializeUserKey(prefixBytes.length, iterator.key(), userKeySerializer) : null;
+		}
+	}
+
 	@Override
 	public void clear() {
 		try {
@@ -347,6 +413,23 @@ class RocksDBMapState<K, N, UK, UV>
 		return isNull ? null : valueSerializer.deserialize(dataInputView);
 	}
 
+	/**
+	 * Returns the lowest bytes that are greater than all bytes with the given prefix, or
+	 * {@code null} if there are no such bytes.
+	 */
+	@Nullable
+	private static byte[] prefixSuccessor(byte[] prefixBytes) {
+		for (int i = prefixBytes.length; --i >= 0; ) {
+			if (prefixBytes[i] != (byte) 0xFF) {
+				byte[] successorBytes = Arrays.copyOf(prefixBytes, i + 1);
+				successorBytes[i]++;
+				return successorBytes;
+			}
+		}
+
+		return null;
+	}
+
 	private boolean startWithKeyPrefix(byte[] keyPrefixBytes, byte[] rawKeyBytes) {
 		if (rawKeyBytes.length < keyPrefixBytes.length) {
 			return false;
@@ -487,6 +570,16 @@ class RocksDBMapState<K, N, UK, UV>
 		 */
 		private final byte[] keyPrefixBytes;
 
+		/** The bytes at which the iteration starts, which have the key prefix bytes as prefix. */
+		private final byte[] seekBytes;
+
+		/**
+		 * The bytes before which the iteration stops (exclusive), or null if all entries with
+		 * the key prefix bytes are accessed.
+		 */
+		@Nullable
+		private final byte[] endBytes;
+
 		/**
 		 * True if all entries have been accessed or the iterator has come across an
 		 * entry with a different prefix.
@@ -506,8 +599,21 @@ class RocksDBMapState<K, N, UK, UV>
 				final TypeSerializer<UK> keySerializer,
 				final TypeSerializer<UV> valueSerializer) {
 
+			this(db, keyPrefixBytes, keyPrefixBytes, null, keySerializer, valueSerializer);
+		}
+
+		RocksDBMapIterator(
+				final RocksDB db,
+				final byte[] keyPrefixBytes,
+				final byte[] seekBytes,
+				@Nullable final byte[] endBytes,
+				final TypeSerializer<UK> keySerializer,
+				final TypeSerializer<UV> valueSerializer) {
+
 			this.db = db;
 			this.keyPrefixBytes = keyPrefixBytes;
+			this.seekBytes = seekBytes;
+			this.endBytes = endBytes;
 			this.keySerializer = keySerializer;
 			this.valueSerializer = valueSerializer;
 		}
@@ -561,12 +667,12 @@ class RocksDBMapState<K, N, UK, UV>
 			try (RocksIteratorWrapper iterator = RocksDBKeyedStateBackend.getRocksIterator(db, columnFamily)) {
 
 				/*
-				 * The iteration starts from the prefix bytes at the first loading. The cache then is
+				 * The iteration starts from the seek bytes at the first loading. The cache then is
 				 * reloaded when the next entry to return is the last one in the cache. At that time,
 				 * we will start the iterating from the last returned entry.
  				 */
 				RocksDBMapEntry lastEntry = cacheEntries.size() == 0 ? null : cacheEntries.get(cacheEntries.size() - 1);
-				byte[] startBytes = (lastEntry == null ? keyPrefixBytes : lastEntry.rawKeyBytes);
+				byte[] startBytes = (lastEntry == null ? seekBytes : lastEntry.rawKeyBytes);
 
 				cacheEntries.clear();
 				cacheIndex = 0;
@@ -582,7 +688,8 @@ class RocksDBMapState<K, N, UK, UV>
 				}
 
 				while (true) {
-					if (!iterator.isValid() || !startWithKeyPrefix(keyPrefixBytes, iterator.key())) {
+					if (!iterator.isValid() || !startWithKeyPrefix(keyPrefixBytes, iterator.key()) ||
+						(endBytes != null && LEXICOGRAPHIC_BYTE_COMPARATOR.compare(iterator.key(), endBytes) >= 0)) {
 						expired = true;
 						break;
 					}
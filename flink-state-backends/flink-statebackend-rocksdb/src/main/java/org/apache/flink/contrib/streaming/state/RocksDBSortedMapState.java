@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.contrib.streaming.state;
+
+import org.apache.flink.api.common.state.SortedMapState;
+import org.apache.flink.api.common.state.State;
+import org.apache.flink.api.common.state.StateDescriptor;
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.api.common.typeutils.base.SortedMapSerializer;
+import org.apache.flink.api.java.tuple.Tuple2;
+import org.apache.flink.runtime.state.RegisteredKeyValueStateBackendMetaInfo;
+import org.apache.flink.runtime.state.internal.InternalSortedMapState;
+import org.apache.flink.util.Preconditions;
+
+import org.rocksdb.ColumnFamilyHandle;
+
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * {@link SortedMapState} implementation that stores state in RocksDB.
+ *
+ * <p>RocksDB orders the entries of the state by their serialized user keys, so the ranges are
+ * scanned with a single seek and the first and the last key are looked up with bounded
+ * iterators. This relies on the key serializer to preserve the order of the
+ * comparator of the state, see {@link org.apache.flink.api.common.state.SortedMapStateDescriptor}.
+ *
+ * @param <K> The type of the key.
+ * @param <N> The type of the namespace.
+ * @param <UK> The type of the keys in the map state.
+ * @param <UV> The type of the values in the map state.
+ */
+class RocksDBSortedMapState<K, N, UK, UV>
+	extends RocksDBMapState<K, N, UK, UV>
+	implements InternalSortedMapState<K, N, UK, UV> {
+
+	/**
+	 * Creates a new {@code RocksDBSortedMapState}.
+	 *
+	 * @param columnFamily The RocksDB column family that this state is associated to.
+	 * @param namespaceSerializer The serializer for the namespace.
+	 * @param valueSerializer The serializer for the state.
+	 * @param defaultValue The default value for the state.
+	 * @param backend The backend for which this state is bind to.
+	 */
+	private RocksDBSortedMapState(
+			ColumnFamilyHandle columnFamily,
+			TypeSerializer<N> namespaceSerializer,
+			TypeSerializer<Map<UK, UV>> valueSerializer,
+			Map<UK, UV> defaultValue,
+			RocksDBKeyedStateBackend<K> backend) {
+
+		super(columnFamily, namespaceSerializer, valueSerializer, defaultValue, backend);
+
+		Preconditions.checkState(valueSerializer instanceof SortedMapSerializer, "Unexpected serializer type.");
+	}
+
+	@Override
+	public UK firstKey() throws IOException {
+		return firstUserKey();
+	}
+
+	@Override
+	public UK lastKey() throws IOException {
+		return lastUserKey();
+	}
+
+	@Override
+	public Iterable<Map.Entry<UK, UV>> headMap(UK toKey) throws IOException {
+		return rangeEntries(null, Preconditions.checkNotNull(toKey));
+	}
+
+	@Override
+	public Iterable<Map.Entry<UK, UV>> tailMap(UK fromKey) throws IOException {
+		return rangeEntries(Preconditions.checkNotNull(fromKey), null);
+	}
+
+	@Override
+	public Iterable<Map.Entry<UK, UV>> subMap(@Nullable UK fromKey, @Nullable UK toKey) throws IOException {
+		return rangeEntries(fromKey, toKey);
+	}
+
+	@SuppressWarnings("unchecked")
+	static <UK, UV, K, N, SV, S extends State, IS extends S> IS create(
+		StateDescriptor<S, SV> stateDesc,
+		Tuple2<ColumnFamilyHandle, RegisteredKeyValueStateBackendMetaInfo<N, SV>> registerResult,
+		RocksDBKeyedStateBackend<K> backend) {
+		return (IS) new RocksDBSortedMapState<>(
+			registerResult.f0,
+			registerResult.f1.getNamespaceSerializer(),
+			(TypeSerializer<Map<UK, UV>>) registerResult.f1.getStateSerializer(),
+			(Map<UK, UV>) stateDesc.getDefaultValue(),
+			backend);
+	}
+}
@@ -63,4 +63,9 @@ public class SimpleTimerService implements TimerService {
 	public void deleteEventTimeTimer(long time) {
 		internalTimerService.deleteEventTimeTimer(VoidNamespace.INSTANCE, time);
 	}
+
+	@Override
+	public void deleteTimersForCurrentKey() {
+		internalTimerService.deleteTimersForCurrentKey();
+	}
 }
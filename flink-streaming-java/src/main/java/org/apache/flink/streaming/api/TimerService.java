@@ -75,4 +75,15 @@ public interface TimerService {
 	 * it is removed from the current keyed context.
 	 */
 	void deleteEventTimeTimer(long time);
+
+	/**
+	 * Deletes all processing-time and event-time timers of the current key, e.g. when the state
+	 * of the key is cleared, without knowing their trigger times.
+	 *
+	 * <p><b>NOTE:</b> This scans all timers of the key group of the current key, so its cost grows
+	 * with the number of timers in the key group, not with the number of timers of the key. If the
+	 * timers are stored in RocksDB, all timers of the key group are read from RocksDB. If the trigger
+	 * times are known, deleting the timers one by one is cheaper.
+	 */
+	void deleteTimersForCurrentKey();
 }
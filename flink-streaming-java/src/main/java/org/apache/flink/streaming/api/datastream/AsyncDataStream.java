@@ -46,7 +46,7 @@ public class AsyncDataStream {
 	 */
 	public enum OutputMode { ORDERED, UNORDERED }
 
-	private static final int DEFAULT_QUEUE_CAPACITY = 100;
+	private static final int DEFAULT_QUEUE_CAPACITY = AsyncWaitOptions.DEFAULT_CAPACITY;
 
 	/**
 	 * Add an AsyncWaitOperator.
@@ -66,6 +66,27 @@ public class AsyncDataStream {
 			long timeout,
 			int bufSize,
 			OutputMode mode) {
+		return addOperator(in, func, timeout, new AsyncWaitOptions().setCapacity(bufSize), mode);
+	}
+
+	/**
+	 * Add an AsyncWaitOperator.
+	 *
+	 * @param in The {@link DataStream} where the {@link AsyncWaitOperator} will be added.
+	 * @param func {@link AsyncFunction} wrapped inside {@link AsyncWaitOperator}.
+	 * @param timeout for the asynchronous operation to complete
+	 * @param options The {@link AsyncWaitOptions} for the capacity, retries and batching.
+	 * @param mode Processing mode for {@link AsyncWaitOperator}.
+	 * @param <IN> Input type.
+	 * @param <OUT> Output type.
+	 * @return A new {@link SingleOutputStreamOperator}
+	 */
+	private static <IN, OUT> SingleOutputStreamOperator<OUT> addOperator(
+			DataStream<IN> in,
+			AsyncFunction<IN, OUT> func,
+			long timeout,
+			AsyncWaitOptions options,
+			OutputMode mode) {
 
 		TypeInformation<OUT> outTypeInfo = TypeExtractor.getUnaryOperatorReturnType(
 			func,
@@ -81,7 +102,7 @@ public class AsyncDataStream {
 		AsyncWaitOperator<IN, OUT> operator = new AsyncWaitOperator<>(
 			in.getExecutionEnvironment().clean(func),
 			timeout,
-			bufSize,
+			options,
 			mode);
 
 		return in.transform("async wait operator", outTypeInfo, operator);
@@ -131,6 +152,28 @@ public class AsyncDataStream {
 			OutputMode.UNORDERED);
 	}
 
+	/**
+	 * Add an AsyncWaitOperator with the given {@link AsyncWaitOptions}. The order of output stream
+	 * records may be reordered.
+	 *
+	 * @param in Input {@link DataStream}
+	 * @param func {@link AsyncFunction}
+	 * @param timeout for the asynchronous operation to complete, including its retries
+	 * @param timeUnit of the given timeout
+	 * @param options The options for the capacity and the retries of the async i/o operations
+	 * @param <IN> Type of input record
+	 * @param <OUT> Type of output record
+	 * @return A new {@link SingleOutputStreamOperator}.
+	 */
+	public static <IN, OUT> SingleOutputStreamOperator<OUT> unorderedWait(
+			DataStream<IN> in,
+			AsyncFunction<IN, OUT> func,
+			long timeout,
+			TimeUnit timeUnit,
+			AsyncWaitOptions options) {
+		return addOperator(in, func, timeUnit.toMillis(timeout), options, OutputMode.UNORDERED);
+	}
+
 	/**
 	 * Add an AsyncWaitOperator. The order to process input records is guaranteed to be the same as
 	 * input ones.
@@ -177,4 +220,26 @@ public class AsyncDataStream {
 			DEFAULT_QUEUE_CAPACITY,
 			OutputMode.ORDERED);
 	}
+
+	/**
+	 * Add an AsyncWaitOperator with the given {@link AsyncWaitOptions}. The order to process input
+	 * records is guaranteed to be the same as input ones.
+	 *
+	 * @param in Input {@link DataStream}
+	 * @param func {@link AsyncFunction}
+	 * @param timeout for the asynchronous operation to complete, including its retries
+	 * @param timeUnit of the given timeout
+	 * @param options The options for the capacity and the retries of the async i/o operations
+	 * @param <IN> Type of input record
+	 * @param <OUT> Type of output record
+	 * @return A new {@link SingleOutputStreamOperator}.
+	 */
+	public static <IN, OUT> SingleOutputStreamOperator<OUT> orderedWait(
+			DataStream<IN> in,
+			AsyncFunction<IN, OUT> func,
+			long timeout,
+			TimeUnit timeUnit,
+			AsyncWaitOptions options) {
+		return addOperator(in, func, timeUnit.toMillis(timeout), options, OutputMode.ORDERED);
+	}
 }
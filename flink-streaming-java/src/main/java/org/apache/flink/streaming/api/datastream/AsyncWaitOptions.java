@@ -0,0 +1,206 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.streaming.api.datastream;
+
+import org.apache.flink.annotation.PublicEvolving;
+import org.apache.flink.streaming.api.functions.async.AsyncBatchFunction;
+import org.apache.flink.streaming.api.functions.async.AsyncFunction;
+import org.apache.flink.streaming.api.functions.async.ResultFuture;
+import org.apache.flink.streaming.api.windowing.time.Time;
+
+import java.io.Serializable;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * Options for the asynchronous operations that are added with {@link AsyncDataStream}.
+ *
+ * <p>The options define how many asynchronous operations can be in flight at the same time, and
+ * whether failed operations are retried:
+ *
+ * <ul>
+ *     <li>The <i>capacity</i> is the maximum number of in-flight operations. With
+ *     <i>adaptive capacity</i>, the number of in-flight operations is adapted between a minimum and
+ *     the capacity, based on the observed latency of the operations. It is increased while the
+ *     latency stays close to the lowest observed latency, and decreased if the latency grows or
+ *     operations fail.</li>
+ *     <li>With <i>retries</i>, an operation whose {@link ResultFuture} is completed exceptionally is
+ *     invoked again after an exponentially growing delay, until the maximum number of retries is
+ *     reached. The input element of the operation stays in the checkpointed state of the operator
+ *     until the operation has finally completed, so that it is retried after a recovery as well.
+ *     The timeout of an operation includes its retries.</li>
+ *     <li>With <i>batching</i>, the inputs of an {@link AsyncBatchFunction} are collected into batches
+ *     of a maximum size, and one asynchronous operation is triggered per batch. A batch is
+ *     triggered once it is full, once the maximum delay has passed since its first input arrived,
+ *     and before watermarks are forwarded. Every input of a batch counts towards the capacity.</li>
+ * </ul>
+ *
+ * <pre>{@code
+ * AsyncDataStream.unorderedWait(input, asyncFunction, 1, TimeUnit.SECONDS,
+ *     new AsyncWaitOptions()
+ *         .setCapacity(1000)
+ *         .enableAdaptiveCapacity(50)
+ *         .setRetries(3, Time.milliseconds(10), Time.seconds(1)));
+ * }</pre>
+ */
+@PublicEvolving
+public class AsyncWaitOptions implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	/** The default maximum number of in-flight asynchronous operations. */
+	public static final int DEFAULT_CAPACITY = 100;
+
+	private int capacity = DEFAULT_CAPACITY;
+
+	/** The minimum number of in-flight operations with adaptive capacity, or -1 if disabled. */
+	private int minCapacity = -1;
+
+	private int maxRetries = 0;
+
+	private long initialRetryDelay = 100L;
+
+	private long maxRetryDelay = 10_000L;
+
+	private int maxBatchSize = 1;
+
+	private long maxBatchDelay = 0L;
+
+	/**
+	 * Sets the maximum number of asynchronous operations that can be in flight at the same time.
+	 */
+	public AsyncWaitOptions setCapacity(int capacity) {
+		checkArgument(capacity > 0, "The capacity must be greater than 0.");
+		this.capacity = capacity;
+		return this;
+	}
+
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * Enables the adaptation of the number of in-flight asynchronous operations to their observed
+	 * latency. The number of in-flight operations is kept between the given minimum and the
+	 * {@link #setCapacity(int) capacity}.
+	 */
+	public AsyncWaitOptions enableAdaptiveCapacity(int minCapacity) {
+		checkArgument(minCapacity > 0, "The minimum capacity must be greater than 0.");
+		this.minCapacity = minCapacity;
+		return this;
+	}
+
+	public boolean isAdaptiveCapacityEnabled() {
+		return minCapacity > 0;
+	}
+
+	public int getMinCapacity() {
+		return isAdaptiveCapacityEnabled() ? minCapacity : capacity;
+	}
+
+	/**
+	 * Enables retries for asynchronous operations whose {@link ResultFuture} is completed
+	 * exceptionally. The {@link AsyncFunction} is invoked again after the delay, which starts at
+	 * the given initial delay and doubles with every retry, up to the given maximum delay.
+	 *
+	 * @param maxRetries The maximum number of retries of an operation, 0 disables retries.
+	 * @param initialDelay The delay before the first retry.
+	 * @param maxDelay The maximum delay before a retry.
+	 */
+	public AsyncWaitOptions setRetries(int maxRetries, Time initialDelay, Time maxDelay) {
+		checkArgument(maxRetries >= 0, "The maximum number of retries must not be negative.");
+		checkNotNull(initialDelay, "initialDelay");
+		checkNotNull(maxDelay, "maxDelay");
+		checkArgument(initialDelay.toMilliseconds() >= 0, "The initial retry delay must not be negative.");
+		checkArgument(maxDelay.toMilliseconds() >= initialDelay.toMilliseconds(),
+			"The maximum retry delay must not be smaller than the initial retry delay.");
+
+		this.maxRetries = maxRetries;
+		this.initialRetryDelay = initialDelay.toMilliseconds();
+		this.maxRetryDelay = maxDelay.toMilliseconds();
+		return this;
+	}
+
+	public int getMaxRetries() {
+		return maxRetries;
+	}
+
+	/**
+	 * Returns the delay in milliseconds before the given retry of an operation.
+	 *
+	 * @param retry The number of the retry, starting at 1.
+	 */
+	public long getRetryDelay(int retry) {
+		checkArgument(retry > 0, "The number of the retry must be positive.");
+
+		// the shift would overflow for large numbers of retries, which exceed the maximum anyway
+		if (retry > Long.numberOfLeadingZeros(initialRetryDelay)) {
+			return maxRetryDelay;
+		}
+		return Math.min(initialRetryDelay << (retry - 1), maxRetryDelay);
+	}
+
+	/**
+	 * Enables batching for an {@link AsyncBatchFunction}. The inputs are collected into batches of
+	 * at most the given size, and a batch is triggered at the latest after the given delay. The
+	 * maximum batch size should not exceed the {@link #setCapacity(int) capacity}, since every
+	 * input of a batch occupies a place in the queue of the operator.
+	 *
+	 * @param maxBatchSize The maximum number of inputs of a batch.
+	 * @param maxBatchDelay The maximum time that an input waits for its batch to be triggered.
+	 */
+	public AsyncWaitOptions setBatching(int maxBatchSize, Time maxBatchDelay) {
+		checkArgument(maxBatchSize > 0, "The maximum batch size must be greater than 0.");
+		checkNotNull(maxBatchDelay, "maxBatchDelay");
+		checkArgument(maxBatchDelay.toMilliseconds() >= 0, "The maximum batch delay must not be negative.");
+
+		this.maxBatchSize = maxBatchSize;
+		this.maxBatchDelay = maxBatchDelay.toMilliseconds();
+		return this;
+	}
+
+	public boolean isBatchingEnabled() {
+		return maxBatchSize > 1;
+	}
+
+	public int getMaxBatchSize() {
+		return maxBatchSize;
+	}
+
+	/**
+	 * Returns the maximum time in milliseconds that an input waits for its batch to be triggered.
+	 */
+	public long getMaxBatchDelay() {
+		return maxBatchDelay;
+	}
+
+	@Override
+	public String toString() {
+		return "AsyncWaitOptions{" +
+			"capacity=" + capacity +
+			", minCapacity=" + minCapacity +
+			", maxRetries=" + maxRetries +
+			", initialRetryDelay=" + initialRetryDelay +
+			", maxRetryDelay=" + maxRetryDelay +
+			", maxBatchSize=" + maxBatchSize +
+			", maxBatchDelay=" + maxBatchDelay +
+			'}';
+	}
+}
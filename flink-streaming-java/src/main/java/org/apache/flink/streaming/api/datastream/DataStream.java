@@ -21,6 +21,7 @@ import org.apache.flink.annotation.Internal;
 import org.apache.flink.annotation.Public;
 import org.apache.flink.annotation.PublicEvolving;
 import org.apache.flink.api.common.ExecutionConfig;
+import org.apache.flink.api.common.functions.AggregateFunction;
 import org.apache.flink.api.common.functions.FilterFunction;
 import org.apache.flink.api.common.functions.FlatMapFunction;
 import org.apache.flink.api.common.functions.MapFunction;
@@ -41,7 +42,9 @@ import org.apache.flink.api.java.functions.KeySelector;
 import org.apache.flink.api.java.io.CsvOutputFormat;
 import org.apache.flink.api.java.io.TextOutputFormat;
 import org.apache.flink.api.java.tuple.Tuple;
+import org.apache.flink.api.java.tuple.Tuple2;
 import org.apache.flink.api.java.typeutils.InputTypeConfigurable;
+import org.apache.flink.api.java.typeutils.TupleTypeInfo;
 import org.apache.flink.api.java.typeutils.TypeExtractor;
 import org.apache.flink.core.fs.FileSystem.WriteMode;
 import org.apache.flink.core.fs.Path;
@@ -58,6 +61,7 @@ import org.apache.flink.streaming.api.functions.sink.SinkFunction;
 import org.apache.flink.streaming.api.functions.sink.SocketClientSink;
 import org.apache.flink.streaming.api.functions.timestamps.AscendingTimestampExtractor;
 import org.apache.flink.streaming.api.functions.timestamps.BoundedOutOfOrdernessTimestampExtractor;
+import org.apache.flink.streaming.api.operators.LocalAggregateOperator;
 import org.apache.flink.streaming.api.operators.OneInputStreamOperator;
 import org.apache.flink.streaming.api.operators.ProcessOperator;
 import org.apache.flink.streaming.api.operators.StreamFilter;
@@ -340,6 +344,196 @@ public class DataStream<T> {
 				getType(), getExecutionConfig())));
 	}
 
+	/**
+	 * Pre-aggregates the elements of this stream per key with the given {@link AggregateFunction},
+	 * before the stream is partitioned by the key. This reduces the number of records that are sent
+	 * to the subtask of a frequent key, and is useful if the distribution of the keys is skewed.
+	 *
+	 * <p>The elements are added to one accumulator per key and parallel instance of this operation,
+	 * which are kept in memory. The partial accumulators are emitted as {@code (key, accumulator)}
+	 * pairs once the number of keys reaches {@code maxNumKeys}, and before watermarks and checkpoint
+	 * barriers are forwarded. To also bound the time that the elements are kept in memory, use
+	 * {@link #localAggregate(KeySelector, AggregateFunction, int, Time)}. A partial accumulator has the largest timestamp of the elements that
+	 * were added to it. The partial accumulators are merged per key with
+	 * {@link KeyedStream#mergePartialAggregates(AggregateFunction)}, for example:
+	 *
+	 * <pre>{@code
+	 * stream
+	 *     .localAggregate(keySelector, aggregateFunction, 1000)
+	 *     .keyBy(0)
+	 *     .mergePartialAggregates(aggregateFunction);
+	 * }</pre>
+	 *
+	 * <p>Elements with different timestamps are added to the same partial accumulator. To merge the
+	 * partial accumulators per window, use
+	 * {@link #localAggregate(KeySelector, WindowAssigner, AggregateFunction, int)} instead.
+	 *
+	 * @param keySelector The KeySelector that extracts the key of the elements.
+	 * @param aggregateFunction The AggregateFunction that creates the partial accumulators. It must
+	 *                          implement {@link AggregateFunction#merge(Object, Object)}.
+	 * @param maxNumKeys The maximum number of keys for which partial accumulators are kept in memory.
+	 *
+	 * @param <K> The type of the key.
+	 * @param <ACC> The type of the accumulator of the {@code AggregateFunction}.
+	 *
+	 * @return The stream of {@code (key, accumulator)} pairs.
+	 */
+	@PublicEvolving
+	public <K, ACC> SingleOutputStreamOperator<Tuple2<K, ACC>> localAggregate(
+			KeySelector<T, K> keySelector,
+			AggregateFunction<T, ACC, ?> aggregateFunction,
+			int maxNumKeys) {
+
+		Preconditions.checkNotNull(keySelector);
+		Preconditions.checkNotNull(aggregateFunction);
+
+		return createLocalAggregate(
+				"Local Aggregate", keySelector, null, aggregateFunction, maxNumKeys, LocalAggregateOperator.NO_MAX_LATENCY);
+	}
+
+	/**
+	 * Pre-aggregates the elements of this stream per key with the given {@link AggregateFunction},
+	 * before the stream is partitioned by the key. This works like
+	 * {@link #localAggregate(KeySelector, AggregateFunction, int)}, but additionally emits the
+	 * partial accumulators once {@code maxLatency} has passed in processing time since the first of
+	 * them was created. This bounds the latency that the local aggregation adds if the keys are
+	 * spread over many elements or the stream is slow.
+	 *
+	 * @param keySelector The KeySelector that extracts the key of the elements.
+	 * @param aggregateFunction The AggregateFunction that creates the partial accumulators. It must
+	 *                          implement {@link AggregateFunction#merge(Object, Object)}.
+	 * @param maxNumKeys The maximum number of keys for which partial accumulators are kept in memory.
+	 * @param maxLatency The maximum time that the partial accumulators are kept in memory.
+	 *
+	 * @param <K> The type of the key.
+	 * @param <ACC> The type of the accumulator of the {@code AggregateFunction}.
+	 *
+	 * @return The stream of {@code (key, accumulator)} pairs.
+	 */
+	@PublicEvolving
+	public <K, ACC> SingleOutputStreamOperator<Tuple2<K, ACC>> localAggregate(
+			KeySelector<T, K> keySelector,
+			AggregateFunction<T, ACC, ?> aggregateFunction,
+			int maxNumKeys,
+			Time maxLatency) {
+
+		Preconditions.checkNotNull(keySelector);
+		Preconditions.checkNotNull(aggregateFunction);
+		Preconditions.checkNotNull(maxLatency, "The maximum latency must not be null.");
+		Preconditions.checkArgument(maxLatency.toMilliseconds() >= 0, "The maximum latency must not be negative.");
+
+		return createLocalAggregate(
+				"Local Aggregate", keySelector, null, aggregateFunction, maxNumKeys, maxLatency.toMilliseconds());
+	}
+
+	/**
+	 * Pre-aggregates the elements of this stream per key and window with the given
+	 * {@link AggregateFunction}, before the stream is partitioned by the key. This works like
+	 * {@link #localAggregate(KeySelector, AggregateFunction, int)}, but keeps one partial accumulator
+	 * per key and window, so that a partial accumulator never combines the elements of different
+	 * windows. The partial accumulators are merged per key and window with
+	 * {@link WindowedStream#mergePartialAggregates(AggregateFunction)}, using the same window assigner:
+	 *
+	 * <pre>{@code
+	 * stream
+	 *     .localAggregate(keySelector, TumblingEventTimeWindows.of(Time.minutes(1)), aggregateFunction, 1000)
+	 *     .keyBy(0)
+	 *     .window(TumblingEventTimeWindows.of(Time.minutes(1)))
+	 *     .mergePartialAggregates(aggregateFunction);
+	 * }</pre>
+	 *
+	 * <p>Only event-time window assigners that assign every element to exactly one window, such as
+	 * tumbling windows, are supported, because the window operation downstream assigns the partial
+	 * accumulators to windows by their timestamp.
+	 *
+	 * @param keySelector The KeySelector that extracts the key of the elements.
+	 * @param windowAssigner The WindowAssigner that assigns the elements to windows.
+	 * @param aggregateFunction The AggregateFunction that creates the partial accumulators. It must
+	 *                          implement {@link AggregateFunction#merge(Object, Object)}.
+	 * @param maxNumKeys The maximum number of keys and windows for which partial accumulators are kept
+	 *                   in memory.
+	 *
+	 * @param <K> The type of the key.
+	 * @param <ACC> The type of the accumulator of the {@code AggregateFunction}.
+	 *
+	 * @return The stream of {@code (key, accumulator)} pairs.
+	 */
+	@PublicEvolving
+	public <K, ACC> SingleOutputStreamOperator<Tuple2<K, ACC>> localAggregate(
+			KeySelector<T, K> keySelector,
+			WindowAssigner<? super T, ? extends Window> windowAssigner,
+			AggregateFunction<T, ACC, ?> aggregateFunction,
+			int maxNumKeys) {
+
+		Preconditions.checkNotNull(keySelector);
+		Preconditions.checkNotNull(windowAssigner);
+		Preconditions.checkNotNull(aggregateFunction);
+
+		return createLocalAggregate(
+				"Local Window Aggregate", keySelector, windowAssigner, aggregateFunction, maxNumKeys, LocalAggregateOperator.NO_MAX_LATENCY);
+	}
+
+	/**
+	 * Pre-aggregates the elements of this stream per key and window with the given
+	 * {@link AggregateFunction}, before the stream is partitioned by the key. This works like
+	 * {@link #localAggregate(KeySelector, WindowAssigner, AggregateFunction, int)}, but additionally
+	 * emits the partial accumulators once {@code maxLatency} has passed in processing time since the
+	 * first of them was created.
+	 *
+	 * @param keySelector The KeySelector that extracts the key of the elements.
+	 * @param windowAssigner The WindowAssigner that assigns the elements to windows.
+	 * @param aggregateFunction The AggregateFunction that creates the partial accumulators. It must
+	 *                          implement {@link AggregateFunction#merge(Object, Object)}.
+	 * @param maxNumKeys The maximum number of keys and windows for which partial accumulators are kept
+	 *                   in memory.
+	 * @param maxLatency The maximum time that the partial accumulators are kept in memory.
+	 *
+	 * @param <K> The type of the key.
+	 * @param <ACC> The type of the accumulator of the {@code AggregateFunction}.
+	 *
+	 * @return The stream of {@code (key, accumulator)} pairs.
+	 */
+	@PublicEvolving
+	public <K, ACC> SingleOutputStreamOperator<Tuple2<K, ACC>> localAggregate(
+			KeySelector<T, K> keySelector,
+			WindowAssigner<? super T, ? extends Window> windowAssigner,
+			AggregateFunction<T, ACC, ?> aggregateFunction,
+			int maxNumKeys,
+			Time maxLatency) {
+
+		Preconditions.checkNotNull(keySelector);
+		Preconditions.checkNotNull(windowAssigner);
+		Preconditions.checkNotNull(aggregateFunction);
+		Preconditions.checkNotNull(maxLatency, "The maximum latency must not be null.");
+		Preconditions.checkArgument(maxLatency.toMilliseconds() >= 0, "The maximum latency must not be negative.");
+
+		return createLocalAggregate(
+				"Local Window Aggregate", keySelector, windowAssigner, aggregateFunction, maxNumKeys, maxLatency.toMilliseconds());
+	}
+
+	private <K, ACC> SingleOutputStreamOperator<Tuple2<K, ACC>> createLocalAggregate(
+			String operatorName,
+			KeySelector<T, K> keySelector,
+			WindowAssigner<? super T, ? extends Window> windowAssigner,
+			AggregateFunction<T, ACC, ?> aggregateFunction,
+			int maxNumKeys,
+			long maxLatency) {
+
+		TypeInformation<K> keyType = TypeExtractor.getKeySelectorTypes(keySelector, getType());
+		TypeInformation<ACC> accumulatorType = TypeExtractor.getAggregateFunctionAccumulatorType(
+				aggregateFunction, getType(), Utils.getCallLocationName(), false);
+
+		LocalAggregateOperator<K, T, ACC> operator = new LocalAggregateOperator<>(
+				clean(aggregateFunction),
+				clean(keySelector),
+				keyType.createSerializer(getExecutionConfig()),
+				windowAssigner,
+				maxNumKeys,
+				maxLatency);
+
+		return transform(operatorName, new TupleTypeInfo<>(keyType, accumulatorType), operator);
+	}
+
 	/**
 	 * Partitions a tuple DataStream on the specified key fields using a custom partitioner.
 	 * This method takes the key position to partition on, and a partitioner that accepts the key type.
@@ -21,9 +21,11 @@ import org.apache.flink.annotation.Internal;
 import org.apache.flink.annotation.Public;
 import org.apache.flink.annotation.PublicEvolving;
 import org.apache.flink.api.common.InvalidProgramException;
+import org.apache.flink.api.common.functions.AggregateFunction;
 import org.apache.flink.api.common.functions.FlatMapFunction;
 import org.apache.flink.api.common.functions.FoldFunction;
 import org.apache.flink.api.common.functions.ReduceFunction;
+import org.apache.flink.api.common.functions.RichFunction;
 import org.apache.flink.api.common.state.FoldingStateDescriptor;
 import org.apache.flink.api.common.state.ReducingStateDescriptor;
 import org.apache.flink.api.common.state.ValueStateDescriptor;
@@ -34,6 +36,7 @@ import org.apache.flink.api.java.Utils;
 import org.apache.flink.api.java.functions.KeySelector;
 import org.apache.flink.api.java.typeutils.ObjectArrayTypeInfo;
 import org.apache.flink.api.java.typeutils.PojoTypeInfo;
+import org.apache.flink.api.java.typeutils.TupleTypeInfo;
 import org.apache.flink.api.java.typeutils.TupleTypeInfoBase;
 import org.apache.flink.api.java.typeutils.TypeExtractor;
 import org.apache.flink.streaming.api.TimeCharacteristic;
@@ -41,6 +44,7 @@ import org.apache.flink.streaming.api.functions.KeyedProcessFunction;
 import org.apache.flink.streaming.api.functions.ProcessFunction;
 import org.apache.flink.streaming.api.functions.aggregation.AggregationFunction;
 import org.apache.flink.streaming.api.functions.aggregation.ComparableAggregator;
+import org.apache.flink.streaming.api.functions.aggregation.PartialAggregateMergeFunction;
 import org.apache.flink.streaming.api.functions.aggregation.SumAggregator;
 import org.apache.flink.streaming.api.functions.co.ProcessJoinFunction;
 import org.apache.flink.streaming.api.functions.query.QueryableAppendingStateOperator;
@@ -49,7 +53,9 @@ import org.apache.flink.streaming.api.functions.sink.SinkFunction;
 import org.apache.flink.streaming.api.graph.StreamGraphGenerator;
 import org.apache.flink.streaming.api.operators.KeyedProcessOperator;
 import org.apache.flink.streaming.api.operators.LegacyKeyedProcessOperator;
+import org.apache.flink.streaming.api.operators.MiniBatchStreamGroupedReduce;
 import org.apache.flink.streaming.api.operators.OneInputStreamOperator;
+import org.apache.flink.streaming.api.operators.StreamGroupedAggregate;
 import org.apache.flink.streaming.api.operators.StreamGroupedFold;
 import org.apache.flink.streaming.api.operators.StreamGroupedReduce;
 import org.apache.flink.streaming.api.operators.co.IntervalJoinOperator;
@@ -104,6 +110,21 @@ public class KeyedStream<T, KEY> extends DataStream<T> {
 	/** The type of the key by which the stream is partitioned. */
 	private final TypeInformation<KEY> keyType;
 
+	/**
+	 * The maximum latency in milliseconds of the mini-batches of the non-windowed aggregations,
+	 * or -1 if the mini-batch mode is disabled.
+	 */
+	private long miniBatchMaxLatency = -1L;
+
+	/** The maximum number of elements of the mini-batches of the non-windowed aggregations. */
+	private long miniBatchMaxSize = -1L;
+
+	/**
+	 * The interval in milliseconds to which the timers of the process functions are rounded up,
+	 * or 0 if timer coalescing is disabled.
+	 */
+	private long timerCoalescingInterval = 0L;
+
 	/**
 	 * Creates a new {@link KeyedStream} using the given {@link KeySelector}
 	 * to partition operator state by key.
@@ -246,6 +267,76 @@ public class KeyedStream<T, KEY> extends DataStream<T> {
 		return keyType;
 	}
 
+	/**
+	 * Enables the mini-batch mode for the non-windowed aggregations of this stream, i.e. for
+	 * {@link #reduce(ReduceFunction)}, {@code sum}, {@code min}, {@code max}, {@code minBy} and
+	 * {@code maxBy}.
+	 *
+	 * <p>In the mini-batch mode, the elements are buffered per parallel instance and reduced per
+	 * key in memory. The state of a key is then read and updated only once per mini-batch, which
+	 * considerably reduces the cost of state access for state backends that keep the state in
+	 * serialized form, like the RocksDB state backend. Instead of one result per element, a single
+	 * result per key and mini-batch is emitted. The reduce function must be associative.
+	 *
+	 * <p>A mini-batch is flushed once it contains the given maximum number of elements, once the
+	 * given maximum latency has passed since its first element arrived, and before watermarks and
+	 * checkpoint barriers are forwarded.
+	 *
+	 * @param maxLatency The maximum time that an element is buffered.
+	 * @param maxBatchSize The maximum number of elements of a mini-batch.
+	 * @return This keyed stream, with the mini-batch mode enabled.
+	 */
+	@PublicEvolving
+	public KeyedStream<T, KEY> enableMiniBatch(Time maxLatency, long maxBatchSize) {
+		Preconditions.checkNotNull(maxLatency, "The maximum latency must not be null.");
+		Preconditions.checkArgument(maxLatency.toMilliseconds() >= 0, "The maximum latency must not be negative.");
+		Preconditions.checkArgument(maxBatchSize > 0, "The maximum batch size must be positive.");
+
+		this.miniBatchMaxLatency = maxLatency.toMilliseconds();
+		this.miniBatchMaxSize = maxBatchSize;
+		return this;
+	}
+
+	/**
+	 * Enables the coalescing of the timers of the {@link KeyedProcessFunction KeyedProcessFunctions}
+	 * that are applied to this stream with {@link #process(KeyedProcessFunction)}.
+	 *
+	 * <p>The timestamps of the processing-time and event-time timers are rounded up to the next
+	 * multiple of the given interval, so that all timers of a key that fall into the same interval
+	 * are deduplicated into a single timer. This reduces the size of the timer state and the number
+	 * of timers that fire, at the cost of timers firing up to one interval late. The function
+	 * receives the rounded timestamp in {@code onTimer()}. Deleting a timer deletes all timers of
+	 * the key that were coalesced with it.
+	 *
+	 * @param interval The interval to which the timers are rounded up.
+	 * @return This keyed stream, with timer coalescing enabled.
+	 */
+	@PublicEvolving
+	public KeyedStream<T, KEY> enableTimerCoalescing(Time interval) {
+		Preconditions.checkNotNull(interval, "The interval must not be null.");
+		Preconditions.checkArgument(interval.toMilliseconds() > 0, "The interval must be positive.");
+
+		this.timerCoalescingInterval = interval.toMilliseconds();
+		return this;
+	}
+
+	/**
+	 * Creates the operator for a non-windowed aggregation with the given reduce function, which
+	 * runs in the mini-batch mode if it is enabled for this stream.
+	 *
+	 * @param reducer The reduce function of the aggregation.
+	 * @return The operator for the aggregation.
+	 */
+	@Internal
+	public OneInputStreamOperator<T, T> createReduceOperator(ReduceFunction<T> reducer) {
+		if (miniBatchMaxLatency >= 0) {
+			return new MiniBatchStreamGroupedReduce<>(
+				clean(reducer), getType().createSerializer(getExecutionConfig()), miniBatchMaxLatency, miniBatchMaxSize);
+		} else {
+			return new StreamGroupedReduce<>(clean(reducer), getType().createSerializer(getExecutionConfig()));
+		}
+	}
+
 	@Override
 	protected DataStream<T> setConnectionType(StreamPartitioner<T> partitioner) {
 		throw new UnsupportedOperationException("Cannot override partitioning for KeyedStream.");
@@ -394,7 +485,8 @@ public class KeyedStream<T, KEY> extends DataStream<T> {
 			KeyedProcessFunction<KEY, T, R> keyedProcessFunction,
 			TypeInformation<R> outputType) {
 
-		KeyedProcessOperator<KEY, T, R> operator = new KeyedProcessOperator<>(clean(keyedProcessFunction));
+		KeyedProcessOperator<KEY, T, R> operator =
+			new KeyedProcessOperator<>(clean(keyedProcessFunction), timerCoalescingInterval);
 		return transform("KeyedProcess", outputType, operator);
 	}
 
@@ -491,6 +583,8 @@ public class KeyedStream<T, KEY> extends DataStream<T> {
 		private boolean lowerBoundInclusive;
 		private boolean upperBoundInclusive;
 
+		private boolean sortedBuffers;
+
 		public IntervalJoined(
 				KeyedStream<IN1, KEY> left,
 				KeyedStream<IN2, KEY> right,
@@ -530,6 +624,19 @@ public class KeyedStream<T, KEY> extends DataStream<T> {
 			return this;
 		}
 
+		/**
+		 * Keeps the buffered elements sorted by timestamp, so that the join candidates of an element
+		 * are found with a range scan instead of a scan over all buffered elements of its key.
+		 *
+		 * <p>The sorted buffers are stored as a different kind of state. A savepoint of the join can
+		 * therefore only be restored if the sorted buffers are enabled in both jobs or in neither.
+		 */
+		@PublicEvolving
+		public IntervalJoined<IN1, IN2, KEY> sortedBuffers() {
+			this.sortedBuffers = true;
+			return this;
+		}
+
 		/**
 		 * Completes the join operation with the given user function that is executed for each joined pair
 		 * of elements.
@@ -584,7 +691,8 @@ public class KeyedStream<T, KEY> extends DataStream<T> {
 					upperBoundInclusive,
 					left.getType().createSerializer(left.getExecutionConfig()),
 					right.getType().createSerializer(right.getExecutionConfig()),
-					cleanedUdf
+					cleanedUdf,
+					sortedBuffers
 				);
 
 			return left
@@ -682,14 +790,16 @@ public class KeyedStream<T, KEY> extends DataStream<T> {
 	 * values based on the key value. Only input values with the same key will
 	 * go to the same reducer.
 	 *
+	 * <p>If the mini-batch mode is enabled, a single result is emitted per key and mini-batch,
+	 * see {@link #enableMiniBatch(Time, long)}.
+	 *
 	 * @param reducer
 	 *            The {@link ReduceFunction} that will be called for every
 	 *            element of the input values with the same key.
 	 * @return The transformed DataStream.
 	 */
 	public SingleOutputStreamOperator<T> reduce(ReduceFunction<T> reducer) {
-		return transform("Keyed Reduce", getType(), new StreamGroupedReduce<T>(
-				clean(reducer), getType().createSerializer(getExecutionConfig())));
+		return transform("Keyed Reduce", getType(), createReduceOperator(reducer));
 	}
 
 	/**
@@ -716,6 +826,49 @@ public class KeyedStream<T, KEY> extends DataStream<T> {
 		return transform("Keyed Fold", outType, new StreamGroupedFold<>(clean(folder), initialValue));
 	}
 
+	/**
+	 * Merges the partial accumulators of each key and emits the current result of the given
+	 * aggregation function for every partial accumulator. The elements of this stream must be the
+	 * {@code (key, accumulator)} pairs that are created by
+	 * {@link DataStream#localAggregate(KeySelector, AggregateFunction, int)} with the same
+	 * aggregation function, keyed by the key of the pair.
+	 *
+	 * <p>The partial accumulators are merged with {@link AggregateFunction#merge(Object, Object)}.
+	 *
+	 * @param function The aggregation function that created the partial accumulators.
+	 * @return The transformed DataStream.
+	 *
+	 * @param <ACC> The type of the AggregateFunction's accumulator
+	 * @param <R> The type of the elements in the resulting stream, equal to the
+	 *            AggregateFunction's result type
+	 */
+	@PublicEvolving
+	@SuppressWarnings("unchecked")
+	public <ACC, R> SingleOutputStreamOperator<R> mergePartialAggregates(AggregateFunction<?, ACC, R> function) {
+		Preconditions.checkNotNull(function, "function");
+
+		if (function instanceof RichFunction) {
+			throw new UnsupportedOperationException("This aggregation function cannot be a RichFunction.");
+		}
+
+		TypeInformation<T> inputType = getType();
+		Preconditions.checkArgument(inputType instanceof TupleTypeInfo && inputType.getArity() == 2,
+				"Partial aggregates can only be merged on a stream of (key, accumulator) pairs, " +
+				"as created by DataStream#localAggregate(), but the type of the stream is " + inputType + '.');
+
+		TypeInformation<ACC> accumulatorType = ((TupleTypeInfo<?>) inputType).getTypeAt(1);
+
+		// the input type of the function is not the type of this stream, only the result type is extracted
+		TypeInformation<R> resultType = TypeExtractor.getAggregateFunctionReturnType(
+				(AggregateFunction<Object, ACC, R>) function, null, null, false);
+
+		StreamGroupedAggregate<T, ACC, R> operator = new StreamGroupedAggregate<>(
+				(AggregateFunction<T, ACC, R>) (AggregateFunction<?, ACC, R>) new PartialAggregateMergeFunction<Object, ACC, R>(clean(function)),
+				accumulatorType.createSerializer(getExecutionConfig()));
+
+		return transform("Keyed Partial Aggregate Merge", resultType, operator);
+	}
+
 	/**
 	 * Applies an aggregation that gives a rolling sum of the data stream at the
 	 * given position grouped by the given key. An independent aggregate is kept
@@ -989,9 +1142,7 @@ public class KeyedStream<T, KEY> extends DataStream<T> {
 	}
 
 	protected SingleOutputStreamOperator<T> aggregate(AggregationFunction<T> aggregate) {
-		StreamGroupedReduce<T> operator = new StreamGroupedReduce<T>(
-				clean(aggregate), getType().createSerializer(getExecutionConfig()));
-		return transform("Keyed Aggregation", getType(), operator);
+		return transform("Keyed Aggregation", getType(), createReduceOperator(aggregate));
 	}
 
 	/**
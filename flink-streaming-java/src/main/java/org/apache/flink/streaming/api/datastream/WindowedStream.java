@@ -34,10 +34,13 @@ import org.apache.flink.api.common.typeinfo.TypeInformation;
 import org.apache.flink.api.common.typeutils.TypeSerializer;
 import org.apache.flink.api.java.Utils;
 import org.apache.flink.api.java.functions.KeySelector;
+import org.apache.flink.api.java.tuple.Tuple2;
+import org.apache.flink.api.java.typeutils.TupleTypeInfo;
 import org.apache.flink.api.java.typeutils.TypeExtractor;
 import org.apache.flink.streaming.api.environment.StreamExecutionEnvironment;
 import org.apache.flink.streaming.api.functions.aggregation.AggregationFunction;
 import org.apache.flink.streaming.api.functions.aggregation.ComparableAggregator;
+import org.apache.flink.streaming.api.functions.aggregation.PartialAggregateMergeFunction;
 import org.apache.flink.streaming.api.functions.aggregation.SumAggregator;
 import org.apache.flink.streaming.api.functions.windowing.AggregateApplyWindowFunction;
 import org.apache.flink.streaming.api.functions.windowing.FoldApplyProcessWindowFunction;
@@ -50,12 +53,18 @@ import org.apache.flink.streaming.api.functions.windowing.WindowFunction;
 import org.apache.flink.streaming.api.operators.OneInputStreamOperator;
 import org.apache.flink.streaming.api.windowing.assigners.BaseAlignedWindowAssigner;
 import org.apache.flink.streaming.api.windowing.assigners.MergingWindowAssigner;
+import org.apache.flink.streaming.api.windowing.assigners.SlidingEventTimeWindows;
+import org.apache.flink.streaming.api.windowing.assigners.SlidingProcessingTimeWindows;
+import org.apache.flink.streaming.api.windowing.assigners.TumblingEventTimeWindows;
+import org.apache.flink.streaming.api.windowing.assigners.TumblingProcessingTimeWindows;
 import org.apache.flink.streaming.api.windowing.assigners.WindowAssigner;
 import org.apache.flink.streaming.api.windowing.evictors.Evictor;
 import org.apache.flink.streaming.api.windowing.time.Time;
 import org.apache.flink.streaming.api.windowing.triggers.Trigger;
+import org.apache.flink.streaming.api.windowing.windows.TimeWindow;
 import org.apache.flink.streaming.api.windowing.windows.Window;
 import org.apache.flink.streaming.runtime.operators.windowing.EvictingWindowOperator;
+import org.apache.flink.streaming.runtime.operators.windowing.PanedWindowOperator;
 import org.apache.flink.streaming.runtime.operators.windowing.WindowOperator;
 import org.apache.flink.streaming.runtime.operators.windowing.functions.InternalAggregateProcessWindowFunction;
 import org.apache.flink.streaming.runtime.operators.windowing.functions.InternalIterableProcessWindowFunction;
@@ -121,6 +130,9 @@ public class WindowedStream<T, K, W extends Window> {
  	 */
 	private OutputTag<T> lateDataOutputTag;
 
+	/** Whether aggregations of the windows are computed from per-pane accumulators. */
+	private boolean paneAggregation;
+
 	@PublicEvolving
 	public WindowedStream(KeyedStream<T, K> input,
 			WindowAssigner<? super T, W> windowAssigner) {
@@ -194,6 +206,34 @@ public class WindowedStream<T, K, W extends Window> {
 		return this;
 	}
 
+	/**
+	 * Enables pane-based aggregation for the {@code aggregate()} operations on this stream.
+	 *
+	 * <p>With pane-based aggregation, every element is added to the accumulator of exactly one pane
+	 * instead of to the accumulators of all windows that contain it. The length of the panes is the
+	 * greatest common divisor of the window size and slide. When a window fires, the accumulators of
+	 * its panes are merged. For sliding windows whose size is a large multiple of the slide, this
+	 * greatly reduces the per-element cost and the size of the window state.
+	 *
+	 * <p>Pane-based aggregation is only supported for tumbling and sliding time windows with their
+	 * default trigger and without an evictor, and requires an {@link AggregateFunction} that
+	 * implements {@link AggregateFunction#merge(Object, Object)}. The state of a pane-based window
+	 * operation is not compatible with the state of a regular window operation, so a savepoint
+	 * of the one cannot be restored by the other.
+	 */
+	@PublicEvolving
+	public WindowedStream<T, K, W> enablePaneAggregation() {
+		if (!(windowAssigner instanceof TumblingEventTimeWindows ||
+				windowAssigner instanceof SlidingEventTimeWindows ||
+				windowAssigner instanceof TumblingProcessingTimeWindows ||
+				windowAssigner instanceof SlidingProcessingTimeWindows)) {
+			throw new UnsupportedOperationException("Cannot use pane-based aggregation with a " +
+				windowAssigner.getClass().getSimpleName() + ".");
+		}
+		this.paneAggregation = true;
+		return this;
+	}
+
 
 	// ------------------------------------------------------------------------
 	//  Operations on the keyed windows
@@ -730,6 +770,48 @@ public class WindowedStream<T, K, W extends Window> {
 				accumulatorType, resultType, resultType);
 	}
 
+	/**
+	 * Merges the partial accumulators of each window and applies the given aggregation function
+	 * to the result. The elements of this stream must be the {@code (key, accumulator)} pairs that
+	 * are created by {@link DataStream#localAggregate(KeySelector, WindowAssigner, AggregateFunction, int)}
+	 * with the same window assigner and aggregation function.
+	 *
+	 * <p>The partial accumulators are merged with {@link AggregateFunction#merge(Object, Object)}.
+	 *
+	 * @param function The aggregation function that created the partial accumulators.
+	 * @return The data stream that is the result of applying the aggregation function to the window.
+	 *
+	 * @param <ACC> The type of the AggregateFunction's accumulator
+	 * @param <R> The type of the elements in the resulting stream, equal to the
+	 *            AggregateFunction's result type
+	 */
+	@PublicEvolving
+	@SuppressWarnings("unchecked")
+	public <ACC, R> SingleOutputStreamOperator<R> mergePartialAggregates(AggregateFunction<?, ACC, R> function) {
+		checkNotNull(function, "function");
+
+		if (function instanceof RichFunction) {
+			throw new UnsupportedOperationException("This aggregation function cannot be a RichFunction.");
+		}
+
+		TypeInformation<T> inputType = input.getType();
+		checkArgument(inputType instanceof TupleTypeInfo && inputType.getArity() == 2,
+				"Partial aggregates can only be merged on a stream of (key, accumulator) pairs, " +
+				"as created by DataStream#localAggregate(), but the type of the stream is " + inputType + '.');
+
+		TypeInformation<ACC> accumulatorType = ((TupleTypeInfo<?>) inputType).getTypeAt(1);
+
+		// the input type of the function is not the type of this stream, only the result type is extracted
+		TypeInformation<R> resultType = TypeExtractor.getAggregateFunctionReturnType(
+				(AggregateFunction<Object, ACC, R>) function, null, null, false);
+
+		WindowedStream<Tuple2<Object, ACC>, K, W> partialAggregates =
+				(WindowedStream<Tuple2<Object, ACC>, K, W>) (WindowedStream<?, K, W>) this;
+
+		return partialAggregates.aggregate(
+				new PartialAggregateMergeFunction<>(function), accumulatorType, resultType);
+	}
+
 	/**
 	 * Applies the given window function to each window. The window function is called for each
 	 * evaluation of the window for each key individually. The output of the window function is
@@ -814,7 +896,13 @@ public class WindowedStream<T, K, W extends Window> {
 
 		OneInputStreamOperator<T, R> operator;
 
-		if (evictor != null) {
+		if (paneAggregation) {
+			AggregatingStateDescriptor<T, ACC, V> stateDesc = new AggregatingStateDescriptor<>("window-panes",
+					aggregateFunction, accumulatorType.createSerializer(getExecutionEnvironment().getConfig()));
+
+			operator = createPanedWindowOperator(keySel, stateDesc, new InternalSingleValueWindowFunction<>(windowFunction));
+
+		} else if (evictor != null) {
 			@SuppressWarnings({"unchecked", "rawtypes"})
 			TypeSerializer<StreamRecord<T>> streamRecordSerializer =
 					(TypeSerializer<StreamRecord<T>>) new StreamElementSerializer(input.getType().createSerializer(getExecutionEnvironment().getConfig()));
@@ -964,7 +1052,13 @@ public class WindowedStream<T, K, W extends Window> {
 
 		OneInputStreamOperator<T, R> operator;
 
-		if (evictor != null) {
+		if (paneAggregation) {
+			AggregatingStateDescriptor<T, ACC, V> stateDesc = new AggregatingStateDescriptor<>("window-panes",
+					aggregateFunction, accumulatorType.createSerializer(getExecutionEnvironment().getConfig()));
+
+			operator = createPanedWindowOperator(keySel, stateDesc, new InternalSingleValueProcessWindowFunction<>(windowFunction));
+
+		} else if (evictor != null) {
 			@SuppressWarnings({"unchecked", "rawtypes"})
 			TypeSerializer<StreamRecord<T>> streamRecordSerializer =
 					(TypeSerializer<StreamRecord<T>>) new StreamElementSerializer(input.getType().createSerializer(getExecutionEnvironment().getConfig()));
@@ -1304,6 +1398,55 @@ public class WindowedStream<T, K, W extends Window> {
 		return input.transform(opName, resultType, operator);
 	}
 
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private <ACC, V, R> OneInputStreamOperator<T, R> createPanedWindowOperator(
+			KeySelector<T, K> keySel,
+			AggregatingStateDescriptor<T, ACC, V> stateDesc,
+			InternalWindowFunction<V, R, K, W> windowFunction) {
+
+		if (evictor != null) {
+			throw new UnsupportedOperationException("Cannot use pane-based aggregation with an Evictor.");
+		}
+		if (trigger.getClass() != windowAssigner.getDefaultTrigger(getExecutionEnvironment()).getClass()) {
+			throw new UnsupportedOperationException("Cannot use pane-based aggregation with a " +
+				trigger.getClass().getSimpleName() + ".");
+		}
+
+		final long size;
+		final long slide;
+		final long offset;
+		if (windowAssigner instanceof TumblingEventTimeWindows) {
+			size = slide = ((TumblingEventTimeWindows) windowAssigner).getSize();
+			offset = ((TumblingEventTimeWindows) windowAssigner).getOffset();
+		} else if (windowAssigner instanceof SlidingEventTimeWindows) {
+			size = ((SlidingEventTimeWindows) windowAssigner).getSize();
+			slide = ((SlidingEventTimeWindows) windowAssigner).getSlide();
+			offset = ((SlidingEventTimeWindows) windowAssigner).getOffset();
+		} else if (windowAssigner instanceof TumblingProcessingTimeWindows) {
+			size = slide = ((TumblingProcessingTimeWindows) windowAssigner).getSize();
+			offset = ((TumblingProcessingTimeWindows) windowAssigner).getOffset();
+		} else {
+			size = ((SlidingProcessingTimeWindows) windowAssigner).getSize();
+			slide = ((SlidingProcessingTimeWindows) windowAssigner).getSlide();
+			offset = ((SlidingProcessingTimeWindows) windowAssigner).getOffset();
+		}
+
+		// the assigners that support pane-based aggregation all assign time windows
+		return new PanedWindowOperator<>(
+				(WindowAssigner<? super T, TimeWindow>) (WindowAssigner) windowAssigner,
+				size,
+				slide,
+				offset,
+				(TypeSerializer<TimeWindow>) (TypeSerializer) windowAssigner.getWindowSerializer(getExecutionEnvironment().getConfig()),
+				keySel,
+				input.getKeyType().createSerializer(getExecutionEnvironment().getConfig()),
+				stateDesc,
+				(InternalWindowFunction<V, R, K, TimeWindow>) (InternalWindowFunction) windowFunction,
+				(Trigger<? super T, ? super TimeWindow>) (Trigger) trigger,
+				allowedLateness,
+				lateDataOutputTag);
+	}
+
 	private static String generateFunctionName(Function function) {
 		Class<? extends Function> functionClass = function.getClass();
 		if (functionClass.isAnonymousClass()) {
@@ -72,6 +72,9 @@ public class CheckpointConfig implements java.io.Serializable {
 	/** Determines if a tasks are failed or not if there is an error in their checkpointing. Default: true */
 	private boolean failOnCheckpointingErrors = true;
 
+	/** Flag to let restarted tasks reconnect to their running producers, dropping in-flight data. */
+	private boolean approximateRecovery;
+
 	// ------------------------------------------------------------------------
 
 	/**
@@ -249,6 +252,34 @@ public class CheckpointConfig implements java.io.Serializable {
 		this.failOnCheckpointingErrors = failOnCheckpointingErrors;
 	}
 
+	/**
+	 * Enables or disables approximate recovery.
+	 *
+	 * <p>With approximate recovery, a failed task is restarted from its latest checkpointed state
+	 * while its producers keep running. The restarted task reconnects to its producers, which drop
+	 * the data that has been in flight to the failed task up to the next record boundary. This gives
+	 * at-least-once guarantees with data loss, and requires the failover strategy
+	 * {@code jobmanager.execution.failover-strategy: region}. Jobs using approximate recovery should
+	 * use {@link CheckpointingMode#AT_LEAST_ONCE}, because dropped checkpoint barriers delay the
+	 * alignment of exactly-once checkpoints until they are declined.
+	 *
+	 * @param approximateRecovery True to enable approximate recovery.
+	 */
+	@PublicEvolving
+	public void enableApproximateRecovery(boolean approximateRecovery) {
+		this.approximateRecovery = approximateRecovery;
+	}
+
+	/**
+	 * Returns whether approximate recovery is enabled.
+	 *
+	 * @return <code>true</code> if restarted tasks reconnect to their running producers.
+	 */
+	@PublicEvolving
+	public boolean isApproximateRecoveryEnabled() {
+		return approximateRecovery;
+	}
+
 	/**
 	 * Enables checkpoints to be persisted externally.
 	 *
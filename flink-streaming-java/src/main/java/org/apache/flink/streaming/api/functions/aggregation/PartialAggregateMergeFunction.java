@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.streaming.api.functions.aggregation;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.api.common.functions.AggregateFunction;
+import org.apache.flink.api.java.tuple.Tuple2;
+
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * An {@link AggregateFunction} that merges the partial accumulators that are emitted by a
+ * {@link org.apache.flink.streaming.api.operators.LocalAggregateOperator}, using the
+ * {@link AggregateFunction#merge(Object, Object)} method of the aggregate function that
+ * created them.
+ *
+ * @param <K> The type of the key.
+ * @param <ACC> The type of the accumulator.
+ * @param <R> The type of the result.
+ */
+@Internal
+public class PartialAggregateMergeFunction<K, ACC, R> implements AggregateFunction<Tuple2<K, ACC>, ACC, R> {
+
+	private static final long serialVersionUID = 1L;
+
+	private final AggregateFunction<?, ACC, R> aggregateFunction;
+
+	public PartialAggregateMergeFunction(AggregateFunction<?, ACC, R> aggregateFunction) {
+		this.aggregateFunction = checkNotNull(aggregateFunction);
+	}
+
+	@Override
+	public ACC createAccumulator() {
+		return aggregateFunction.createAccumulator();
+	}
+
+	@Override
+	public ACC add(Tuple2<K, ACC> value, ACC accumulator) {
+		return aggregateFunction.merge(accumulator, value.f1);
+	}
+
+	@Override
+	public R getResult(ACC accumulator) {
+		return aggregateFunction.getResult(accumulator);
+	}
+
+	@Override
+	public ACC merge(ACC a, ACC b) {
+		return aggregateFunction.merge(a, b);
+	}
+}
@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.streaming.api.functions.async;
+
+import org.apache.flink.annotation.PublicEvolving;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An {@link AsyncFunction} which triggers one asynchronous operation for a batch of inputs, for
+ * example a request to the batch endpoint of an external service.
+ *
+ * <p>The batches are only formed if batching is enabled in the
+ * {@link org.apache.flink.streaming.api.datastream.AsyncWaitOptions} of the operation. Otherwise,
+ * every input is passed as a batch of its own.
+ *
+ * <p>The {@link ResultFuture} of a batch has to be completed with one collection of results per
+ * input, in the order of the inputs. The results are then emitted as if every input had been
+ * processed by its own asynchronous operation, i.e. with the timestamp of its input and according
+ * to the output mode of the operation. If the result future is completed exceptionally, the
+ * operation fails for all inputs of the batch.
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * public class BatchLookup implements AsyncBatchFunction<String, String> {
+ *   public void asyncInvokeBatch(List<String> keys, ResultFuture<Collection<String>> result) {
+ *     client.multiGet(keys).whenComplete((values, error) -> {
+ *       if (error != null) {
+ *         result.completeExceptionally(error);
+ *       } else {
+ *         List<Collection<String>> perInput = new ArrayList<>(values.size());
+ *         for (String value : values) {
+ *           perInput.add(Collections.singleton(value));
+ *         }
+ *         result.complete(perInput);
+ *       }
+ *     });
+ *   }
+ * }
+ * }</pre>
+ *
+ * @param <IN> The type of the input elements.
+ * @param <OUT> The type of the returned elements.
+ */
+@PublicEvolving
+public interface AsyncBatchFunction<IN, OUT> extends AsyncFunction<IN, OUT> {
+
+	/**
+	 * Trigger an async operation for a batch of stream inputs.
+	 *
+	 * @param inputs elements coming from an upstream task, in the order of their arrival
+	 * @param resultFuture to be completed with one collection of results per input, in the order
+	 *                     of the inputs
+	 * @exception Exception in case of a user code error. An exception will make the task fail and
+	 * trigger fail-over process.
+	 */
+	void asyncInvokeBatch(List<IN> inputs, ResultFuture<Collection<OUT>> resultFuture) throws Exception;
+
+	/**
+	 * Triggers the async operation for a batch which only consists of the given input.
+	 */
+	@Override
+	default void asyncInvoke(IN input, ResultFuture<OUT> resultFuture) throws Exception {
+		asyncInvokeBatch(Collections.singletonList(input), new ResultFuture<Collection<OUT>>() {
+			@Override
+			public void complete(Collection<Collection<OUT>> results) {
+				if (results.size() != 1) {
+					resultFuture.completeExceptionally(new IllegalStateException(
+						"Expected the results of 1 input, but got " + results.size() + '.'));
+				} else {
+					resultFuture.complete(results.iterator().next());
+				}
+			}
+
+			@Override
+			public void completeExceptionally(Throwable error) {
+				resultFuture.completeExceptionally(error);
+			}
+		});
+	}
+}
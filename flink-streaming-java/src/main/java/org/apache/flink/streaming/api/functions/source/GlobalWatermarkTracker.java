@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.streaming.api.functions.source;
+
+import org.apache.flink.annotation.PublicEvolving;
+import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.api.common.functions.AggregateFunction;
+import org.apache.flink.runtime.taskexecutor.GlobalAggregateManager;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * Shares the watermarks of the parallel subtasks of one or more sources through a global aggregate
+ * of the JobMaster. A source subtask periodically reports its own watermark and receives the
+ * minimum watermark of all subtasks that use the same aggregate. With that, a source can stop
+ * reading inputs which are too far ahead in event time, so that downstream event time operators
+ * do not have to buffer their records until the slowest input has caught up.
+ *
+ * <p>A subtask which has not reported its watermark within the expiration time, for example
+ * because it has finished, does not hold back the global watermark anymore. A subtask that
+ * does not have any inputs should report {@link Long#MAX_VALUE}.
+ */
+@PublicEvolving
+public class GlobalWatermarkTracker {
+
+	private final GlobalAggregateManager aggregateManager;
+
+	private final String aggregateName;
+
+	private final String subtaskId;
+
+	private final WatermarkAggregateFunction aggregateFunction;
+
+	/**
+	 * Creates a tracker for the given subtask.
+	 *
+	 * @param aggregateManager The manager of the global aggregates of the job.
+	 * @param aggregateName The name of the aggregate that is shared by all aligned subtasks.
+	 * @param subtaskId The id of the subtask, which is unique among the aligned subtasks.
+	 * @param expirationMillis The time after which the watermark of a subtask that did not report
+	 *                         its watermark anymore is ignored.
+	 */
+	public GlobalWatermarkTracker(
+			GlobalAggregateManager aggregateManager,
+			String aggregateName,
+			String subtaskId,
+			long expirationMillis) {
+
+		checkArgument(expirationMillis > 0, "The expiration time must be positive.");
+
+		this.aggregateManager = checkNotNull(aggregateManager);
+		this.aggregateName = checkNotNull(aggregateName);
+		this.subtaskId = checkNotNull(subtaskId);
+		this.aggregateFunction = new WatermarkAggregateFunction(expirationMillis);
+	}
+
+	/**
+	 * Reports the current watermark of this subtask. The watermark is sent asynchronously.
+	 *
+	 * @param localWatermark The current watermark of this subtask.
+	 * @return Future which is completed with the minimum watermark of all subtasks which use the
+	 *         same aggregate, or completed exceptionally if the global aggregate could not be updated.
+	 */
+	public CompletableFuture<Long> updateWatermark(long localWatermark) {
+		return aggregateManager.updateGlobalAggregate(
+			aggregateName,
+			new WatermarkUpdate(subtaskId, localWatermark),
+			aggregateFunction);
+	}
+
+	// ------------------------------------------------------------------------
+
+	/**
+	 * The watermark of a subtask, which is sent to the JobMaster.
+	 */
+	@VisibleForTesting
+	static final class WatermarkUpdate implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		private final String subtaskId;
+
+		private final long watermark;
+
+		WatermarkUpdate(String subtaskId, long watermark) {
+			this.subtaskId = subtaskId;
+			this.watermark = watermark;
+		}
+	}
+
+	/**
+	 * The latest watermark of a subtask and the time at which the JobMaster received it.
+	 */
+	static final class WatermarkState {
+
+		private final long watermark;
+
+		private final long updateTime;
+
+		WatermarkState(long watermark, long updateTime) {
+			this.watermark = watermark;
+			this.updateTime = updateTime;
+		}
+	}
+
+	/**
+	 * The aggregate function which runs on the JobMaster. It keeps the latest watermark per
+	 * subtask and computes the minimum over all watermarks which have not expired.
+	 */
+	@VisibleForTesting
+	static final class WatermarkAggregateFunction
+			implements AggregateFunction<WatermarkUpdate, Map<String, WatermarkState>, Long> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final long expirationMillis;
+
+		WatermarkAggregateFunction(long expirationMillis) {
+			this.expirationMillis = expirationMillis;
+		}
+
+		@Override
+		public Map<String, WatermarkState> createAccumulator() {
+			return new HashMap<>();
+		}
+
+		@Override
+		public Map<String, WatermarkState> add(WatermarkUpdate update, Map<String, WatermarkState> accumulator) {
+			// the time of the JobMaster is used, so that the clocks of the TaskManagers do not matter
+			accumulator.put(update.subtaskId, new WatermarkState(update.watermark, System.currentTimeMillis()));
+			return accumulator;
+		}
+
+		@Override
+		public Long getResult(Map<String, WatermarkState> accumulator) {
+			final long expirationTime = System.currentTimeMillis() - expirationMillis;
+
+			long minWatermark = Long.MAX_VALUE;
+			for (Iterator<WatermarkState> iterator = accumulator.values().iterator(); iterator.hasNext(); ) {
+				final WatermarkState state = iterator.next();
+
+				if (state.updateTime < expirationTime) {
+					iterator.remove();
+				} else {
+					minWatermark = Math.min(minWatermark, state.watermark);
+				}
+			}
+			return minWatermark;
+		}
+
+		@Override
+		public Map<String, WatermarkState> merge(Map<String, WatermarkState> a, Map<String, WatermarkState> b) {
+			throw new UnsupportedOperationException("The watermarks of the subtasks are never merged.");
+		}
+	}
+}
@@ -483,18 +483,22 @@ public class StreamingJobGraphGenerator {
 
 		downStreamConfig.setNumberOfInputs(downStreamConfig.getNumberOfInputs() + 1);
 
+		// with approximate recovery, restarted consumers reconnect to their running producers
+		final ResultPartitionType resultPartitionType = streamGraph.getCheckpointConfig().isApproximateRecoveryEnabled() ?
+			ResultPartitionType.PIPELINED_APPROXIMATE : ResultPartitionType.PIPELINED_BOUNDED;
+
 		StreamPartitioner<?> partitioner = edge.getPartitioner();
 		JobEdge jobEdge;
 		if (partitioner instanceof ForwardPartitioner || partitioner instanceof RescalePartitioner) {
 			jobEdge = downStreamVertex.connectNewDataSetAsInput(
 				headVertex,
 				DistributionPattern.POINTWISE,
-				ResultPartitionType.PIPELINED_BOUNDED);
+				resultPartitionType);
 		} else {
 			jobEdge = downStreamVertex.connectNewDataSetAsInput(
 					headVertex,
 					DistributionPattern.ALL_TO_ALL,
-					ResultPartitionType.PIPELINED_BOUNDED);
+					resultPartitionType);
 		}
 		// set strategy name so that web interface can show it.
 		jobEdge.setShipStrategyName(partitioner.toString());
@@ -239,6 +239,9 @@ public abstract class AbstractStreamOperator<OUT>
 		}
 
 		timeServiceManager = context.internalTimerServiceManager();
+		if (timeServiceManager != null) {
+			timeServiceManager.registerMetrics(getMetricGroup());
+		}
 
 		CloseableIterable<KeyGroupStatePartitionStreamProvider> keyedStateInputs = context.rawKeyedStateInputs();
 		CloseableIterable<StatePartitionStreamProvider> operatorStateInputs = context.rawOperatorStateInputs();
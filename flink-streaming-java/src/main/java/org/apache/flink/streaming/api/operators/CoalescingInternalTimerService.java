@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.streaming.api.operators;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.annotation.VisibleForTesting;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * An {@link InternalTimerService} that rounds the timestamps of all timers up to the next multiple
+ * of a coalescing interval before it passes them on to another timer service. Timers of the same
+ * key and namespace that fall into the same interval are thereby deduplicated into a single timer,
+ * which reduces the number of timers that are stored and fired.
+ *
+ * <p>A timer fires up to one coalescing interval later than requested, with the rounded timestamp.
+ * Deleting a timer deletes the coalesced timer, i.e. also all other timers of the same key and
+ * namespace that were coalesced into it.
+ *
+ * @param <N> Type of the namespace to which timers are scoped.
+ */
+@Internal
+public class CoalescingInternalTimerService<N> implements InternalTimerService<N> {
+
+	private final InternalTimerService<N> timerService;
+
+	private final long coalescingInterval;
+
+	public CoalescingInternalTimerService(InternalTimerService<N> timerService, long coalescingInterval) {
+		checkArgument(coalescingInterval > 0, "The coalescing interval must be positive.");
+
+		this.timerService = checkNotNull(timerService);
+		this.coalescingInterval = coalescingInterval;
+	}
+
+	@Override
+	public long currentProcessingTime() {
+		return timerService.currentProcessingTime();
+	}
+
+	@Override
+	public long currentWatermark() {
+		return timerService.currentWatermark();
+	}
+
+	@Override
+	public void registerProcessingTimeTimer(N namespace, long time) {
+		timerService.registerProcessingTimeTimer(namespace, coalesce(time, coalescingInterval));
+	}
+
+	@Override
+	public void deleteProcessingTimeTimer(N namespace, long time) {
+		timerService.deleteProcessingTimeTimer(namespace, coalesce(time, coalescingInterval));
+	}
+
+	@Override
+	public void registerEventTimeTimer(N namespace, long time) {
+		timerService.registerEventTimeTimer(namespace, coalesce(time, coalescingInterval));
+	}
+
+	@Override
+	public void deleteEventTimeTimer(N namespace, long time) {
+		timerService.deleteEventTimeTimer(namespace, coalesce(time, coalescingInterval));
+	}
+
+	@Override
+	public void deleteTimersForCurrentKey() {
+		timerService.deleteTimersForCurrentKey();
+	}
+
+	@Override
+	public void deleteProcessingTimeTimersBefore(long time) {
+		timerService.deleteProcessingTimeTimersBefore(time);
+	}
+
+	@Override
+	public void deleteEventTimeTimersBefore(long time) {
+		timerService.deleteEventTimeTimersBefore(time);
+	}
+
+	/**
+	 * Rounds the given time up to the next multiple of the given interval. Times that are already
+	 * a multiple of the interval are not changed, and times that cannot be rounded up without an
+	 * overflow are rounded to {@link Long#MAX_VALUE}.
+	 */
+	@VisibleForTesting
+	static long coalesce(long time, long interval) {
+		final long remainder = Math.floorMod(time, interval);
+		if (remainder == 0) {
+			return time;
+		}
+
+		final long floor = time - remainder;
+		return floor > Long.MAX_VALUE - interval ? Long.MAX_VALUE : floor + interval;
+	}
+}
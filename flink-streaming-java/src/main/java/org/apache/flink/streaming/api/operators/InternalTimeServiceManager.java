@@ -21,6 +21,9 @@ package org.apache.flink.streaming.api.operators;
 import org.apache.flink.annotation.Internal;
 import org.apache.flink.annotation.VisibleForTesting;
 import org.apache.flink.core.memory.DataOutputView;
+import org.apache.flink.metrics.Counter;
+import org.apache.flink.metrics.MetricGroup;
+import org.apache.flink.metrics.SimpleCounter;
 import org.apache.flink.runtime.state.KeyGroupRange;
 import org.apache.flink.runtime.state.KeyGroupedInternalPriorityQueue;
 import org.apache.flink.runtime.state.PriorityQueueSetFactory;
@@ -53,7 +56,12 @@ public class InternalTimeServiceManager<K> {
 	@VisibleForTesting
 	static final String EVENT_TIMER_PREFIX = TIMER_STATE_PREFIX + "/event_";
 
+	static final String TIMERS_REGISTERED_METRIC_NAME = "numTimersRegistered";
+	static final String TIMERS_DELETED_METRIC_NAME = "numTimersDeleted";
+	static final String TIMERS_FIRED_METRIC_NAME = "numTimersFired";
+
 	private final KeyGroupRange localKeyGroupRange;
+	private final int totalKeyGroups;
 	private final KeyContext keyContext;
 
 	private final PriorityQueueSetFactory priorityQueueSetFactory;
@@ -63,13 +71,20 @@ public class InternalTimeServiceManager<K> {
 
 	private final boolean useLegacySynchronousSnapshots;
 
+	/** The counters are shared by all timer services of the operator. */
+	private final Counter numTimersRegistered = new SimpleCounter();
+	private final Counter numTimersDeleted = new SimpleCounter();
+	private final Counter numTimersFired = new SimpleCounter();
+
 	InternalTimeServiceManager(
 		KeyGroupRange localKeyGroupRange,
+		int totalKeyGroups,
 		KeyContext keyContext,
 		PriorityQueueSetFactory priorityQueueSetFactory,
 		ProcessingTimeService processingTimeService, boolean useLegacySynchronousSnapshots) {
 
 		this.localKeyGroupRange = Preconditions.checkNotNull(localKeyGroupRange);
+		this.totalKeyGroups = totalKeyGroups;
 		this.priorityQueueSetFactory = Preconditions.checkNotNull(priorityQueueSetFactory);
 		this.keyContext = Preconditions.checkNotNull(keyContext);
 		this.processingTimeService = Preconditions.checkNotNull(processingTimeService);
@@ -101,10 +116,14 @@ public class InternalTimeServiceManager<K> {
 
 			timerService = new InternalTimerServiceImpl<>(
 				localKeyGroupRange,
+				totalKeyGroups,
 				keyContext,
 				processingTimeService,
 				createTimerPriorityQueue(PROCESSING_TIMER_PREFIX + name, timerSerializer),
-				createTimerPriorityQueue(EVENT_TIMER_PREFIX + name, timerSerializer));
+				createTimerPriorityQueue(EVENT_TIMER_PREFIX + name, timerSerializer),
+				numTimersRegistered,
+				numTimersDeleted,
+				numTimersFired);
 
 			timerServices.put(name, timerService);
 		}
@@ -123,6 +142,16 @@ public class InternalTimeServiceManager<K> {
 			timerSerializer);
 	}
 
+	/**
+	 * Registers the counters of the registered, deleted and fired timers of all timer services
+	 * with the given metric group of the operator.
+	 */
+	public void registerMetrics(MetricGroup metricGroup) {
+		metricGroup.counter(TIMERS_REGISTERED_METRIC_NAME, numTimersRegistered);
+		metricGroup.counter(TIMERS_DELETED_METRIC_NAME, numTimersDeleted);
+		metricGroup.counter(TIMERS_FIRED_METRIC_NAME, numTimersFired);
+	}
+
 	public void advanceWatermark(Watermark watermark) throws Exception {
 		for (InternalTimerServiceImpl<?, ?> service : timerServices.values()) {
 			service.advanceWatermark(watermark.getTimestamp());
@@ -58,4 +58,30 @@ public interface InternalTimerService<N> {
 	 * Deletes the timer for the given key and namespace.
 	 */
 	void deleteEventTimeTimer(N namespace, long time);
+
+	/**
+	 * Deletes all processing-time and event-time timers of the current key, in all namespaces.
+	 *
+	 * <p>This scans all timers of the key group of the current key, so its cost grows with the
+	 * number of timers in the key group.
+	 */
+	void deleteTimersForCurrentKey();
+
+	/**
+	 * Deletes the processing-time timers of all keys and namespaces that would fire before the
+	 * given time.
+	 *
+	 * <p>This is not scoped to the current key and therefore not exposed through the user-facing
+	 * {@link org.apache.flink.streaming.api.TimerService}.
+	 */
+	void deleteProcessingTimeTimersBefore(long time);
+
+	/**
+	 * Deletes the event-time timers of all keys and namespaces that would fire before the given
+	 * time.
+	 *
+	 * <p>This is not scoped to the current key and therefore not exposed through the user-facing
+	 * {@link org.apache.flink.streaming.api.TimerService}.
+	 */
+	void deleteEventTimeTimersBefore(long time);
 }
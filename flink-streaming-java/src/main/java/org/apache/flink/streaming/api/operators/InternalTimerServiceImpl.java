@@ -22,8 +22,10 @@ import org.apache.flink.annotation.VisibleForTesting;
 import org.apache.flink.api.common.typeutils.CompatibilityResult;
 import org.apache.flink.api.common.typeutils.CompatibilityUtil;
 import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.metrics.Counter;
 import org.apache.flink.runtime.state.InternalPriorityQueue;
 import org.apache.flink.runtime.state.KeyGroupRange;
+import org.apache.flink.runtime.state.KeyGroupRangeAssignment;
 import org.apache.flink.runtime.state.KeyGroupedInternalPriorityQueue;
 import org.apache.flink.streaming.runtime.tasks.ProcessingTimeCallback;
 import org.apache.flink.streaming.runtime.tasks.ProcessingTimeService;
@@ -66,6 +68,26 @@ public class InternalTimerServiceImpl<K, N> implements InternalTimerService<N>,
 
 	private final int localKeyGroupRangeStartIdx;
 
+	/** The total number of key groups, i.e. the max parallelism of the operator. */
+	private final int totalKeyGroups;
+
+	/**
+	 * The number of calls to register a timer with this service. A timer which already exists is
+	 * counted again, because the timer queues only report whether their head changed, not whether
+	 * they changed at all, and checking for the timer would cost a lookup in the state backend.
+	 */
+	private final Counter numTimersRegistered;
+
+	/**
+	 * The number of timers that were deleted before they fired. Single deletes are counted per
+	 * call, like registrations, even if the timer does not exist. Bulk deletes count the timers
+	 * that they actually removed.
+	 */
+	private final Counter numTimersDeleted;
+
+	/** The number of timers that fired. */
+	private final Counter numTimersFired;
+
 	/**
 	 * The local event time, as denoted by the last received
 	 * {@link org.apache.flink.streaming.api.watermark.Watermark Watermark}.
@@ -97,11 +119,21 @@ public class InternalTimerServiceImpl<K, N> implements InternalTimerService<N>,
 
 	InternalTimerServiceImpl(
 		KeyGroupRange localKeyGroupRange,
+		int totalKeyGroups,
 		KeyContext keyContext,
 		ProcessingTimeService processingTimeService,
 		KeyGroupedInternalPriorityQueue<TimerHeapInternalTimer<K, N>> processingTimeTimersQueue,
-		KeyGroupedInternalPriorityQueue<TimerHeapInternalTimer<K, N>> eventTimeTimersQueue) {
+		KeyGroupedInternalPriorityQueue<TimerHeapInternalTimer<K, N>> eventTimeTimersQueue,
+		Counter numTimersRegistered,
+		Counter numTimersDeleted,
+		Counter numTimersFired) {
 
+		checkArgument(totalKeyGroups > 0, "The total number of key groups must be positive.");
+
+		this.totalKeyGroups = totalKeyGroups;
+		this.numTimersRegistered = checkNotNull(numTimersRegistered);
+		this.numTimersDeleted = checkNotNull(numTimersDeleted);
+		this.numTimersFired = checkNotNull(numTimersFired);
 		this.keyContext = checkNotNull(keyContext);
 		this.processingTimeService = checkNotNull(processingTimeService);
 		this.localKeyGroupRange = checkNotNull(localKeyGroupRange);
@@ -193,6 +225,7 @@ public class InternalTimerServiceImpl<K, N> implements InternalTimerService<N>,
 
 	@Override
 	public void registerProcessingTimeTimer(N namespace, long time) {
+		numTimersRegistered.inc();
 		InternalTimer<K, N> oldHead = processingTimeTimersQueue.peek();
 		if (processingTimeTimersQueue.add(new TimerHeapInternalTimer<>(time, (K) keyContext.getCurrentKey(), namespace))) {
 			long nextTriggerTime = oldHead != null ? oldHead.getTimestamp() : Long.MAX_VALUE;
@@ -208,19 +241,73 @@ public class InternalTimerServiceImpl<K, N> implements InternalTimerService<N>,
 
 	@Override
 	public void registerEventTimeTimer(N namespace, long time) {
+		numTimersRegistered.inc();
 		eventTimeTimersQueue.add(new TimerHeapInternalTimer<>(time, (K) keyContext.getCurrentKey(), namespace));
 	}
 
 	@Override
 	public void deleteProcessingTimeTimer(N namespace, long time) {
+		numTimersDeleted.inc();
 		processingTimeTimersQueue.remove(new TimerHeapInternalTimer<>(time, (K) keyContext.getCurrentKey(), namespace));
 	}
 
 	@Override
 	public void deleteEventTimeTimer(N namespace, long time) {
+		numTimersDeleted.inc();
 		eventTimeTimersQueue.remove(new TimerHeapInternalTimer<>(time, (K) keyContext.getCurrentKey(), namespace));
 	}
 
+	@Override
+	@SuppressWarnings("unchecked")
+	public void deleteTimersForCurrentKey() {
+		final K key = (K) keyContext.getCurrentKey();
+		final int keyGroup = KeyGroupRangeAssignment.assignToKeyGroup(key, totalKeyGroups);
+
+		deleteTimersForKey(processingTimeTimersQueue, key, keyGroup);
+		deleteTimersForKey(eventTimeTimersQueue, key, keyGroup);
+	}
+
+	@Override
+	public void deleteProcessingTimeTimersBefore(long time) {
+		// if the head is removed, the physical timer fires without any due timers and is
+		// then re-registered for the new head in onProcessingTime()
+		deleteTimersBefore(processingTimeTimersQueue, time);
+	}
+
+	@Override
+	public void deleteEventTimeTimersBefore(long time) {
+		deleteTimersBefore(eventTimeTimersQueue, time);
+	}
+
+	private void deleteTimersForKey(
+			KeyGroupedInternalPriorityQueue<TimerHeapInternalTimer<K, N>> queue,
+			K key,
+			int keyGroup) {
+
+		// all timers of the key group of the key are scanned, as the queue has no index per key;
+		// they are collected first because the subset may be a view on the queue
+		final List<TimerHeapInternalTimer<K, N>> timersOfKey = new ArrayList<>();
+		for (TimerHeapInternalTimer<K, N> timer : queue.getSubsetForKeyGroup(keyGroup)) {
+			if (key.equals(timer.getKey())) {
+				timersOfKey.add(timer);
+			}
+		}
+
+		for (TimerHeapInternalTimer<K, N> timer : timersOfKey) {
+			queue.remove(timer);
+		}
+		numTimersDeleted.inc(timersOfKey.size());
+	}
+
+	private void deleteTimersBefore(KeyGroupedInternalPriorityQueue<TimerHeapInternalTimer<K, N>> queue, long time) {
+		InternalTimer<K, N> timer;
+
+		while ((timer = queue.peek()) != null && timer.getTimestamp() < time) {
+			queue.poll();
+			numTimersDeleted.inc();
+		}
+	}
+
 	@Override
 	public void onProcessingTime(long time) throws Exception {
 		// null out the timer in case the Triggerable calls registerProcessingTimeTimer()
@@ -231,6 +318,7 @@ public class InternalTimerServiceImpl<K, N> implements InternalTimerService<N>,
 
 		while ((timer = processingTimeTimersQueue.peek()) != null && timer.getTimestamp() <= time) {
 			processingTimeTimersQueue.poll();
+			numTimersFired.inc();
 			keyContext.setCurrentKey(timer.getKey());
 			triggerTarget.onProcessingTime(timer);
 		}
@@ -247,6 +335,7 @@ public class InternalTimerServiceImpl<K, N> implements InternalTimerService<N>,
 
 		while ((timer = eventTimeTimersQueue.peek()) != null && timer.getTimestamp() <= time) {
 			eventTimeTimersQueue.poll();
+			numTimersFired.inc();
 			keyContext.setCurrentKey(timer.getKey());
 			triggerTarget.onEventTime(timer);
 		}
@@ -27,6 +27,7 @@ import org.apache.flink.streaming.api.functions.KeyedProcessFunction;
 import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
 import org.apache.flink.util.OutputTag;
 
+import static org.apache.flink.util.Preconditions.checkArgument;
 import static org.apache.flink.util.Preconditions.checkNotNull;
 import static org.apache.flink.util.Preconditions.checkState;
 
@@ -40,6 +41,9 @@ public class KeyedProcessOperator<K, IN, OUT>
 
 	private static final long serialVersionUID = 1L;
 
+	/** The interval to which the timestamps of the timers are rounded up, or 0 to not round them. */
+	private final long timerCoalescingInterval;
+
 	private transient TimestampedCollector<OUT> collector;
 
 	private transient ContextImpl context;
@@ -47,8 +51,15 @@ public class KeyedProcessOperator<K, IN, OUT>
 	private transient OnTimerContextImpl onTimerContext;
 
 	public KeyedProcessOperator(KeyedProcessFunction<K, IN, OUT> function) {
+		this(function, 0L);
+	}
+
+	public KeyedProcessOperator(KeyedProcessFunction<K, IN, OUT> function, long timerCoalescingInterval) {
 		super(function);
 
+		checkArgument(timerCoalescingInterval >= 0, "The timer coalescing interval must not be negative.");
+		this.timerCoalescingInterval = timerCoalescingInterval;
+
 		chainingStrategy = ChainingStrategy.ALWAYS;
 	}
 
@@ -60,6 +71,10 @@ public class KeyedProcessOperator<K, IN, OUT>
 		InternalTimerService<VoidNamespace> internalTimerService =
 				getInternalTimerService("user-timers", VoidNamespaceSerializer.INSTANCE, this);
 
+		if (timerCoalescingInterval > 0) {
+			internalTimerService = new CoalescingInternalTimerService<>(internalTimerService, timerCoalescingInterval);
+		}
+
 		TimerService timerService = new SimpleTimerService(internalTimerService);
 
 		context = new ContextImpl(userFunction, timerService);
@@ -0,0 +1,268 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.streaming.api.operators;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.api.common.functions.AggregateFunction;
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.api.java.functions.KeySelector;
+import org.apache.flink.api.java.tuple.Tuple2;
+import org.apache.flink.streaming.api.watermark.Watermark;
+import org.apache.flink.streaming.api.windowing.assigners.MergingWindowAssigner;
+import org.apache.flink.streaming.api.windowing.assigners.WindowAssigner;
+import org.apache.flink.streaming.api.windowing.windows.Window;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.streaming.runtime.tasks.ProcessingTimeCallback;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * A {@link StreamOperator} that pre-aggregates the elements of a non-keyed stream per key with an
+ * {@link AggregateFunction}, before the stream is partitioned by the key.
+ *
+ * <p>The operator keeps one accumulator per key in memory and emits the partial accumulators as
+ * {@code (key, accumulator)} pairs, with the largest timestamp of the elements that were added to
+ * the accumulator. The partial accumulators are emitted once the number of keys reaches the
+ * maximum, once the maximum latency has passed since the first of them was created, and before
+ * watermarks and checkpoint barriers are forwarded. The accumulators are therefore never part of
+ * a checkpoint and the operator has no state.
+ *
+ * <p>If a {@link WindowAssigner} is given, the accumulators are kept per key and window, so that a
+ * partial accumulator never combines the elements of different windows. Only event-time assigners
+ * that assign every element to exactly one window, such as tumbling windows, are supported, because
+ * the window operator downstream assigns the partial accumulators to windows by their timestamp.
+ *
+ * <p>The partial accumulators of a key are merged by a keyed operator downstream, using
+ * {@link AggregateFunction#merge(Object, Object)}. This reduces the number of records that are
+ * sent to the subtask of a frequent key.
+ *
+ * @param <K> The type of the key.
+ * @param <IN> The type of the input elements.
+ * @param <ACC> The type of the accumulator.
+ */
+@Internal
+public class LocalAggregateOperator<K, IN, ACC>
+		extends AbstractUdfStreamOperator<Tuple2<K, ACC>, AggregateFunction<IN, ACC, ?>>
+		implements OneInputStreamOperator<IN, Tuple2<K, ACC>>, ProcessingTimeCallback {
+
+	private static final long serialVersionUID = 1L;
+
+	/** The maximum latency which indicates that the accumulators are not emitted after some time. */
+	public static final long NO_MAX_LATENCY = Long.MAX_VALUE;
+
+	private final KeySelector<IN, K> keySelector;
+
+	private final TypeSerializer<K> keySerializer;
+
+	/** The assigner of the windows that the accumulators are kept for, or null if they are only kept per key. */
+	private final WindowAssigner<? super IN, ? extends Window> windowAssigner;
+
+	/** The maximum number of keys, or pairs of key and window, for which accumulators are kept before they are emitted. */
+	private final int maxNumKeys;
+
+	/** The maximum time in milliseconds that an element is kept in an accumulator before it is emitted. */
+	private final long maxLatency;
+
+	// ------------------------------------------------------------------------
+
+	/** The partial accumulators and their timestamps per key and window. */
+	private transient Map<Tuple2<K, Window>, StreamRecord<ACC>> accumulators;
+
+	private transient WindowAssigner.WindowAssignerContext windowAssignerContext;
+
+	private transient boolean copyKeys;
+
+	/** The timer that emits the accumulators once the maximum latency has passed. */
+	private transient ScheduledFuture<?> flushTimer;
+
+	public LocalAggregateOperator(
+			AggregateFunction<IN, ACC, ?> aggregateFunction,
+			KeySelector<IN, K> keySelector,
+			TypeSerializer<K> keySerializer,
+			int maxNumKeys) {
+		this(aggregateFunction, keySelector, keySerializer, null, maxNumKeys, NO_MAX_LATENCY);
+	}
+
+	public LocalAggregateOperator(
+			AggregateFunction<IN, ACC, ?> aggregateFunction,
+			KeySelector<IN, K> keySelector,
+			TypeSerializer<K> keySerializer,
+			WindowAssigner<? super IN, ? extends Window> windowAssigner,
+			int maxNumKeys) {
+		this(aggregateFunction, keySelector, keySerializer, windowAssigner, maxNumKeys, NO_MAX_LATENCY);
+	}
+
+	public LocalAggregateOperator(
+			AggregateFunction<IN, ACC, ?> aggregateFunction,
+			KeySelector<IN, K> keySelector,
+			TypeSerializer<K> keySerializer,
+			WindowAssigner<? super IN, ? extends Window> windowAssigner,
+			int maxNumKeys,
+			long maxLatency) {
+		super(aggregateFunction);
+
+		checkArgument(maxNumKeys > 0, "The maximum number of keys must be positive.");
+		checkArgument(maxLatency >= 0, "The maximum latency must not be negative.");
+		checkArgument(windowAssigner == null || (windowAssigner.isEventTime() && !(windowAssigner instanceof MergingWindowAssigner)),
+			"Local aggregation only supports event-time windows that are not merged.");
+
+		this.keySelector = checkNotNull(keySelector);
+		this.keySerializer = checkNotNull(keySerializer);
+		this.windowAssigner = windowAssigner;
+		this.maxNumKeys = maxNumKeys;
+		this.maxLatency = maxLatency;
+
+		chainingStrategy = ChainingStrategy.ALWAYS;
+	}
+
+	@Override
+	public void open() throws Exception {
+		super.open();
+
+		accumulators = new HashMap<>();
+
+		windowAssignerContext = new WindowAssigner.WindowAssignerContext() {
+			@Override
+			public long getCurrentProcessingTime() {
+				return getProcessingTimeService().getCurrentProcessingTime();
+			}
+		};
+
+		// with object reuse, the runtime may reuse the elements that the keys were extracted from
+		copyKeys = getExecutionConfig().isObjectReuseEnabled();
+	}
+
+	@Override
+	public void processElement(StreamRecord<IN> element) throws Exception {
+		final K key = keySelector.getKey(element.getValue());
+		final Tuple2<K, Window> keyAndWindow = new Tuple2<>(key, assignWindow(element));
+
+		StreamRecord<ACC> accumulator = accumulators.get(keyAndWindow);
+		if (accumulator == null) {
+			accumulator = new StreamRecord<>(userFunction.createAccumulator());
+			if (copyKeys) {
+				keyAndWindow.f0 = keySerializer.copy(key);
+			}
+			accumulators.put(keyAndWindow, accumulator);
+		}
+
+		final ACC newAccumulator = userFunction.add(element.getValue(), accumulator.getValue());
+		if (element.hasTimestamp() && (!accumulator.hasTimestamp() || element.getTimestamp() > accumulator.getTimestamp())) {
+			accumulator.replace(newAccumulator, element.getTimestamp());
+		} else {
+			accumulator.replace(newAccumulator);
+		}
+
+		if (accumulators.size() >= maxNumKeys) {
+			flush();
+		} else if (flushTimer == null && maxLatency != NO_MAX_LATENCY) {
+			final long now = getProcessingTimeService().getCurrentProcessingTime();
+			flushTimer = getProcessingTimeService().registerTimer(now + maxLatency, this);
+		}
+	}
+
+	@Override
+	public void onProcessingTime(long timestamp) throws Exception {
+		flushTimer = null;
+		flush();
+	}
+
+	@Override
+	public void processWatermark(Watermark mark) throws Exception {
+		flush();
+		super.processWatermark(mark);
+	}
+
+	@Override
+	public void prepareSnapshotPreBarrier(long checkpointId) throws Exception {
+		super.prepareSnapshotPreBarrier(checkpointId);
+		flush();
+	}
+
+	@Override
+	public void close() throws Exception {
+		flush();
+		super.close();
+	}
+
+	@Override
+	public void dispose() throws Exception {
+		cancelFlushTimer();
+		super.dispose();
+	}
+
+	/**
+	 * Returns the single window of the element, or null if the accumulators are only kept per key.
+	 */
+	private Window assignWindow(StreamRecord<IN> element) {
+		if (windowAssigner == null) {
+			return null;
+		}
+
+		final Collection<? extends Window> windows = windowAssigner.assignWindows(
+			element.getValue(), element.getTimestamp(), windowAssignerContext);
+
+		if (windows.size() != 1) {
+			throw new UnsupportedOperationException("Local aggregation requires a window assigner that assigns " +
+				"every element to exactly one window, but " + windowAssigner + " assigned " + windows.size() + '.');
+		}
+		return windows.iterator().next();
+	}
+
+	/**
+	 * Emits the partial accumulators of all keys and windows.
+	 */
+	private void flush() {
+		cancelFlushTimer();
+
+		if (accumulators.isEmpty()) {
+			return;
+		}
+
+		for (Map.Entry<Tuple2<K, Window>, StreamRecord<ACC>> accumulator : accumulators.entrySet()) {
+			final StreamRecord<ACC> record = accumulator.getValue();
+			output.collect(record.replace(new Tuple2<>(accumulator.getKey().f0, record.getValue())));
+		}
+
+		accumulators.clear();
+	}
+
+	private void cancelFlushTimer() {
+		if (flushTimer != null) {
+			flushTimer.cancel(false);
+			flushTimer = null;
+		}
+	}
+
+	// ------------------------------------------------------------------------
+	// Getters for testing
+	// ------------------------------------------------------------------------
+
+	@VisibleForTesting
+	int getNumKeys() {
+		return accumulators.size();
+	}
+}
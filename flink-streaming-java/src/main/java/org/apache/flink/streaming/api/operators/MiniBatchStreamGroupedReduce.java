@@ -0,0 +1,215 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.streaming.api.operators;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.api.common.functions.ReduceFunction;
+import org.apache.flink.api.common.state.ValueState;
+import org.apache.flink.api.common.state.ValueStateDescriptor;
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.streaming.api.watermark.Watermark;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.streaming.runtime.tasks.ProcessingTimeCallback;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+
+/**
+ * A {@link StreamOperator} for executing a {@link ReduceFunction} on a
+ * {@link org.apache.flink.streaming.api.datastream.KeyedStream} in mini-batches.
+ *
+ * <p>Contrary to the {@link StreamGroupedReduce}, which reads and updates the state of the key for
+ * every element, this operator reduces the elements of a mini-batch per key in memory and then
+ * reads and updates the state only once per key and mini-batch. For every key of the mini-batch,
+ * a single element with the reduced value is emitted, with the timestamp of the last element of
+ * the key. This requires the {@code ReduceFunction} to be associative.
+ *
+ * <p>A mini-batch is flushed once it contains the maximum number of elements, once the maximum
+ * latency has passed since its first element arrived, and before watermarks and checkpoint barriers
+ * are forwarded. The buffered elements are therefore never part of a checkpoint, and the state is
+ * the same as the one of the {@link StreamGroupedReduce}.
+ *
+ * @param <K> The type of the key.
+ * @param <IN> The type of the elements.
+ */
+@Internal
+public class MiniBatchStreamGroupedReduce<K, IN> extends AbstractUdfStreamOperator<IN, ReduceFunction<IN>>
+		implements OneInputStreamOperator<IN, IN>, ProcessingTimeCallback {
+
+	private static final long serialVersionUID = 1L;
+
+	private final TypeSerializer<IN> serializer;
+
+	/** The maximum time in milliseconds that an element is buffered. */
+	private final long maxLatency;
+
+	/** The maximum number of elements of a mini-batch. */
+	private final long maxBatchSize;
+
+	// ------------------------------------------------------------------------
+
+	private transient ValueState<IN> values;
+
+	/** The elements of the current mini-batch, reduced per key, in the order of their first arrival. */
+	private transient Map<K, StreamRecord<IN>> buffer;
+
+	private transient long numBufferedElements;
+
+	private transient boolean copyElements;
+
+	private transient TypeSerializer<K> keySerializer;
+
+	/** The timer that flushes the current mini-batch once the maximum latency has passed. */
+	private transient ScheduledFuture<?> flushTimer;
+
+	public MiniBatchStreamGroupedReduce(
+			ReduceFunction<IN> reducer,
+			TypeSerializer<IN> serializer,
+			long maxLatency,
+			long maxBatchSize) {
+		super(reducer);
+
+		checkArgument(maxLatency >= 0, "The maximum latency must not be negative.");
+		checkArgument(maxBatchSize > 0, "The maximum batch size must be positive.");
+
+		this.serializer = serializer;
+		this.maxLatency = maxLatency;
+		this.maxBatchSize = maxBatchSize;
+	}
+
+	@Override
+	public void open() throws Exception {
+		super.open();
+		ValueStateDescriptor<IN> stateId = new ValueStateDescriptor<>(StreamGroupedReduce.STATE_NAME, serializer);
+		values = getPartitionedState(stateId);
+
+		buffer = new LinkedHashMap<>();
+		numBufferedElements = 0L;
+
+		// with object reuse, the runtime may reuse the buffered elements and their keys
+		copyElements = getExecutionConfig().isObjectReuseEnabled();
+		keySerializer = this.<K>getKeyedStateBackend().getKeySerializer();
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public void processElement(StreamRecord<IN> element) throws Exception {
+		final IN value = copyElements ? serializer.copy(element.getValue()) : element.getValue();
+		final K key = (K) getCurrentKey();
+
+		final StreamRecord<IN> bufferedElement = buffer.get(key);
+		if (bufferedElement == null) {
+			buffer.put(copyElements ? keySerializer.copy(key) : key, element.copy(value));
+		} else {
+			final IN reduced = userFunction.reduce(bufferedElement.getValue(), value);
+			if (element.hasTimestamp()) {
+				bufferedElement.replace(reduced, element.getTimestamp());
+			} else {
+				bufferedElement.replace(reduced);
+			}
+		}
+
+		if (++numBufferedElements >= maxBatchSize) {
+			flush();
+		} else if (flushTimer == null) {
+			final long now = getProcessingTimeService().getCurrentProcessingTime();
+			flushTimer = getProcessingTimeService().registerTimer(now + maxLatency, this);
+		}
+	}
+
+	@Override
+	public void onProcessingTime(long timestamp) throws Exception {
+		flushTimer = null;
+		flush();
+	}
+
+	@Override
+	public void processWatermark(Watermark mark) throws Exception {
+		flush();
+		super.processWatermark(mark);
+	}
+
+	@Override
+	public void prepareSnapshotPreBarrier(long checkpointId) throws Exception {
+		super.prepareSnapshotPreBarrier(checkpointId);
+		flush();
+	}
+
+	@Override
+	public void close() throws Exception {
+		flush();
+		super.close();
+	}
+
+	@Override
+	public void dispose() throws Exception {
+		cancelFlushTimer();
+		super.dispose();
+	}
+
+	/**
+	 * Applies the reduced elements of the current mini-batch to the state of their keys and emits
+	 * the results.
+	 */
+	private void flush() throws Exception {
+		cancelFlushTimer();
+
+		if (numBufferedElements == 0L) {
+			return;
+		}
+
+		for (Map.Entry<K, StreamRecord<IN>> bufferedElement : buffer.entrySet()) {
+			setCurrentKey(bufferedElement.getKey());
+
+			final StreamRecord<IN> element = bufferedElement.getValue();
+			final IN currentValue = values.value();
+
+			if (currentValue != null) {
+				IN reduced = userFunction.reduce(currentValue, element.getValue());
+				values.update(reduced);
+				output.collect(element.replace(reduced));
+			} else {
+				values.update(element.getValue());
+				output.collect(element);
+			}
+		}
+
+		buffer.clear();
+		numBufferedElements = 0L;
+	}
+
+	private void cancelFlushTimer() {
+		if (flushTimer != null) {
+			flushTimer.cancel(false);
+			flushTimer = null;
+		}
+	}
+
+	// ------------------------------------------------------------------------
+	// Getters for testing
+	// ------------------------------------------------------------------------
+
+	@VisibleForTesting
+	long getNumBufferedElements() {
+		return numBufferedElements;
+	}
+}
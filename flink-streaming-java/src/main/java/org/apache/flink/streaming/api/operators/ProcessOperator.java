@@ -132,6 +132,11 @@ public class ProcessOperator<IN, OUT>
 			throw new UnsupportedOperationException(UNSUPPORTED_DELETE_TIMER_MSG);
 		}
 
+		@Override
+		public void deleteTimersForCurrentKey() {
+			throw new UnsupportedOperationException(UNSUPPORTED_DELETE_TIMER_MSG);
+		}
+
 		@Override
 		public TimerService timerService() {
 			return this;
@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.streaming.api.operators;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.api.common.functions.AggregateFunction;
+import org.apache.flink.api.common.state.AggregatingState;
+import org.apache.flink.api.common.state.AggregatingStateDescriptor;
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+
+/**
+ * A {@link StreamOperator} for executing an {@link AggregateFunction} on a
+ * {@link org.apache.flink.streaming.api.datastream.KeyedStream}. The operator emits the
+ * current result of the key for every element.
+ */
+@Internal
+public class StreamGroupedAggregate<IN, ACC, OUT> extends AbstractUdfStreamOperator<OUT, AggregateFunction<IN, ACC, OUT>>
+		implements OneInputStreamOperator<IN, OUT> {
+
+	private static final long serialVersionUID = 1L;
+
+	static final String STATE_NAME = "_op_state";
+
+	private transient AggregatingState<IN, OUT> accumulators;
+
+	private final TypeSerializer<ACC> accumulatorSerializer;
+
+	public StreamGroupedAggregate(AggregateFunction<IN, ACC, OUT> aggregateFunction, TypeSerializer<ACC> accumulatorSerializer) {
+		super(aggregateFunction);
+		this.accumulatorSerializer = accumulatorSerializer;
+	}
+
+	@Override
+	public void open() throws Exception {
+		super.open();
+		AggregatingStateDescriptor<IN, ACC, OUT> stateId =
+			new AggregatingStateDescriptor<>(STATE_NAME, userFunction, accumulatorSerializer);
+		accumulators = getPartitionedState(stateId);
+	}
+
+	@Override
+	public void processElement(StreamRecord<IN> element) throws Exception {
+		accumulators.add(element.getValue());
+		output.collect(element.replace(accumulators.get()));
+	}
+}
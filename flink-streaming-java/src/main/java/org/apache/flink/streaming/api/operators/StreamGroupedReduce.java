@@ -35,7 +35,7 @@ public class StreamGroupedReduce<IN> extends AbstractUdfStreamOperator<IN, Reduc
 
 	private static final long serialVersionUID = 1L;
 
-	private static final String STATE_NAME = "_op_state";
+	static final String STATE_NAME = "_op_state";
 
 	private transient ValueState<IN> values;
 
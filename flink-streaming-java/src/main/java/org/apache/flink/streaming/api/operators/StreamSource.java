@@ -114,6 +114,17 @@ public class StreamSource<OUT, SRC extends SourceFunction<OUT>>
 		}
 	}
 
+	/**
+	 * Advances the source to the end of event time by emitting the final watermark, as a finite
+	 * source does when it reaches its end. The caller must hold the checkpoint lock.
+	 */
+	public void advanceToEndOfEventTime() {
+		// the context is not initialized if the source was never running.
+		if (ctx != null) {
+			ctx.emitWatermark(Watermark.MAX_WATERMARK);
+		}
+	}
+
 	/**
 	 * Marks this source as canceled or stopped.
 	 *
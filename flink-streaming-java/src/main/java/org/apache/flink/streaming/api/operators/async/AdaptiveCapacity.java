@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.streaming.api.operators.async;
+
+import org.apache.flink.annotation.Internal;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+
+/**
+ * Adapts the number of in-flight asynchronous operations of the {@link AsyncWaitOperator} to
+ * their observed latency, with an additive-increase/multiplicative-decrease scheme.
+ *
+ * <p>The latency of every completed operation is compared to the lowest latency that has been
+ * observed in the previous window of completions. As long as the latency stays within
+ * {@link #LATENCY_TOLERANCE} times the lowest latency, the capacity is increased by one per
+ * capacity completions. If the latency exceeds it, which indicates that the requests queue up in
+ * the external system, or if an operation fails, the capacity is decreased by
+ * {@link #DECREASE_FACTOR}, at most once per capacity completions.
+ *
+ * <p>The completions must be reported by a single thread, while the capacity can be read by
+ * any thread.
+ */
+@Internal
+public class AdaptiveCapacity {
+
+	/** The factor by which the latency may exceed the lowest observed latency. */
+	static final double LATENCY_TOLERANCE = 2.0;
+
+	/** The factor by which the capacity is decreased. */
+	static final double DECREASE_FACTOR = 0.9;
+
+	/** The number of completions after which the lowest observed latency is renewed. */
+	static final int LATENCY_WINDOW = 1000;
+
+	private final int minCapacity;
+
+	private final int maxCapacity;
+
+	/** The capacity, including the fraction of the additive increase. */
+	private double limit;
+
+	private volatile int capacity;
+
+	/** The lowest latency of the previous window, the baseline for the comparison. */
+	private long baselineLatency = Long.MAX_VALUE;
+
+	/** The lowest latency of the current window. */
+	private long windowMinLatency = Long.MAX_VALUE;
+
+	private int windowCompletions;
+
+	/** The number of completions until the capacity may be decreased again. */
+	private int completionsUntilDecrease;
+
+	public AdaptiveCapacity(int minCapacity, int maxCapacity) {
+		checkArgument(minCapacity > 0, "The minimum capacity must be greater than 0.");
+		checkArgument(maxCapacity >= minCapacity, "The maximum capacity must not be smaller than the minimum capacity.");
+
+		this.minCapacity = minCapacity;
+		this.maxCapacity = maxCapacity;
+		this.limit = minCapacity;
+		this.capacity = minCapacity;
+	}
+
+	/**
+	 * Returns the current number of asynchronous operations that may be in flight.
+	 */
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * Reports the completion of an asynchronous operation.
+	 *
+	 * @param latencyNanos The time between the invocation and the completion of the operation.
+	 * @param failed Whether the operation completed exceptionally.
+	 */
+	public void onCompletion(long latencyNanos, boolean failed) {
+		windowMinLatency = Math.min(windowMinLatency, latencyNanos);
+		if (++windowCompletions >= LATENCY_WINDOW || baselineLatency == Long.MAX_VALUE) {
+			baselineLatency = windowMinLatency;
+			windowMinLatency = Long.MAX_VALUE;
+			windowCompletions = 0;
+		}
+
+		if (completionsUntilDecrease > 0) {
+			completionsUntilDecrease--;
+		}
+
+		if (failed || latencyNanos > baselineLatency * LATENCY_TOLERANCE) {
+			if (completionsUntilDecrease == 0) {
+				limit = Math.max(minCapacity, limit * DECREASE_FACTOR);
+				completionsUntilDecrease = (int) limit;
+			}
+		} else {
+			limit = Math.min(maxCapacity, limit + 1.0 / limit);
+		}
+
+		capacity = (int) limit;
+	}
+}
@@ -19,6 +19,7 @@
 package org.apache.flink.streaming.api.operators.async;
 
 import org.apache.flink.annotation.Internal;
+import org.apache.flink.annotation.VisibleForTesting;
 import org.apache.flink.api.common.state.ListState;
 import org.apache.flink.api.common.state.ListStateDescriptor;
 import org.apache.flink.api.common.typeutils.TypeSerializer;
@@ -26,6 +27,8 @@ import org.apache.flink.runtime.state.StateInitializationContext;
 import org.apache.flink.runtime.state.StateSnapshotContext;
 import org.apache.flink.streaming.api.datastream.AsyncDataStream;
 import org.apache.flink.streaming.api.datastream.AsyncDataStream.OutputMode;
+import org.apache.flink.streaming.api.datastream.AsyncWaitOptions;
+import org.apache.flink.streaming.api.functions.async.AsyncBatchFunction;
 import org.apache.flink.streaming.api.functions.async.AsyncFunction;
 import org.apache.flink.streaming.api.functions.async.ResultFuture;
 import org.apache.flink.streaming.api.graph.StreamConfig;
@@ -33,7 +36,7 @@ import org.apache.flink.streaming.api.operators.AbstractUdfStreamOperator;
 import org.apache.flink.streaming.api.operators.ChainingStrategy;
 import org.apache.flink.streaming.api.operators.OneInputStreamOperator;
 import org.apache.flink.streaming.api.operators.Output;
-import org.apache.flink.streaming.api.operators.async.queue.OrderedStreamElementQueue;
+import org.apache.flink.streaming.api.operators.async.queue.LockFreeOrderedStreamElementQueue;
 import org.apache.flink.streaming.api.operators.async.queue.StreamElementQueue;
 import org.apache.flink.streaming.api.operators.async.queue.StreamElementQueueEntry;
 import org.apache.flink.streaming.api.operators.async.queue.StreamRecordQueueEntry;
@@ -48,7 +51,10 @@ import org.apache.flink.streaming.runtime.tasks.StreamTask;
 import org.apache.flink.util.ExceptionUtils;
 import org.apache.flink.util.Preconditions;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledFuture;
@@ -66,6 +72,13 @@ import java.util.concurrent.TimeUnit;
  * operator stores all currently in-flight {@link StreamElement} in it's operator state. Upon
  * recovery the recorded set of stream elements is replayed.
  *
+ * <p>The {@link AsyncWaitOptions} of the operator define the maximum number of in-flight operations,
+ * whether this number is adapted to the observed latency of the operations, and whether failed
+ * operations are retried. A retried operation stays in the queue, and thus in the operator state,
+ * until it has finally completed. If batching is enabled, the input elements are collected and
+ * passed to an {@link AsyncBatchFunction} together. Every element of a batch has its own queue
+ * entry, so that the batches do not change the output order or the state of the operator.
+ *
  * <p>In case of chaining of this operator, it has to be made sure that the operators in the chain are
  * opened tail to head. The reason for this is that an opened {@link AsyncWaitOperator} starts
  * already emitting recovered {@link StreamElement} to downstream operators.
@@ -84,6 +97,9 @@ public class AsyncWaitOperator<IN, OUT>
 	/** Capacity of the stream element queue. */
 	private final int capacity;
 
+	/** Options for the capacity, the retries and the batching of the async operations. */
+	private final AsyncWaitOptions options;
+
 	/** Output mode for this operator. */
 	private final AsyncDataStream.OutputMode outputMode;
 
@@ -112,16 +128,42 @@ public class AsyncWaitOperator<IN, OUT>
 	/** Thread running the emitter. */
 	private transient Thread emitterThread;
 
+	/** Adapts the number of in-flight operations to their latency, null if the capacity is fixed. */
+	private transient AdaptiveCapacity adaptiveCapacity;
+
+	/** Input elements of the batch which has not been invoked yet, null if batching is disabled. */
+	private transient List<IN> batchInputs;
+
+	/** Queue entries of the input elements of the current batch. */
+	private transient List<StreamRecordQueueEntry<OUT>> batchEntries;
+
+	/** Timer which invokes the current batch once the maximum batch delay has passed. */
+	private transient ScheduledFuture<?> batchTimer;
+
 	public AsyncWaitOperator(
 			AsyncFunction<IN, OUT> asyncFunction,
 			long timeout,
 			int capacity,
 			AsyncDataStream.OutputMode outputMode) {
+		this(asyncFunction, timeout, new AsyncWaitOptions().setCapacity(capacity), outputMode);
+	}
+
+	public AsyncWaitOperator(
+			AsyncFunction<IN, OUT> asyncFunction,
+			long timeout,
+			AsyncWaitOptions options,
+			AsyncDataStream.OutputMode outputMode) {
 		super(asyncFunction);
 		chainingStrategy = ChainingStrategy.ALWAYS;
 
+		this.options = Preconditions.checkNotNull(options, "options");
+
+		this.capacity = options.getCapacity();
 		Preconditions.checkArgument(capacity > 0, "The number of concurrent async operation should be greater than 0.");
-		this.capacity = capacity;
+		Preconditions.checkArgument(options.getMinCapacity() <= capacity,
+			"The minimum capacity must not be greater than the capacity.");
+		Preconditions.checkArgument(!options.isBatchingEnabled() || asyncFunction instanceof AsyncBatchFunction,
+			"Batching requires an AsyncBatchFunction.");
 
 		this.outputMode = Preconditions.checkNotNull(outputMode, "outputMode");
 
@@ -142,10 +184,7 @@ public class AsyncWaitOperator<IN, OUT>
 
 		switch (outputMode) {
 			case ORDERED:
-				queue = new OrderedStreamElementQueue(
-					capacity,
-					executor,
-					this);
+				queue = new LockFreeOrderedStreamElementQueue(capacity);
 				break;
 			case UNORDERED:
 				queue = new UnorderedStreamElementQueue(
@@ -156,6 +195,15 @@ public class AsyncWaitOperator<IN, OUT>
 			default:
 				throw new IllegalStateException("Unknown async mode: " + outputMode + '.');
 		}
+
+		if (options.isAdaptiveCapacityEnabled()) {
+			adaptiveCapacity = new AdaptiveCapacity(options.getMinCapacity(), capacity);
+		}
+
+		if (options.isBatchingEnabled()) {
+			batchInputs = new ArrayList<>(options.getMaxBatchSize());
+			batchEntries = new ArrayList<>(options.getMaxBatchSize());
+		}
 	}
 
 	@Override
@@ -221,15 +269,35 @@ public class AsyncWaitOperator<IN, OUT>
 				executor);
 		}
 
+		if (adaptiveCapacity != null) {
+			final long invocationTime = System.nanoTime();
+
+			// the completions are reported by the single executor thread
+			streamRecordBufferEntry.onComplete(
+				(StreamElementQueueEntry<Collection<OUT>> value) -> {
+					adaptiveCapacity.onCompletion(System.nanoTime() - invocationTime, value.isCompletedExceptionally());
+				},
+				executor);
+		}
+
 		addAsyncBufferEntry(streamRecordBufferEntry);
 
-		userFunction.asyncInvoke(element.getValue(), streamRecordBufferEntry);
+		if (batchInputs != null) {
+			addToBatch(element.getValue(), streamRecordBufferEntry);
+		} else if (options.getMaxRetries() > 0) {
+			userFunction.asyncInvoke(element.getValue(), new RetryingResultFuture(element.getValue(), streamRecordBufferEntry, 0));
+		} else {
+			userFunction.asyncInvoke(element.getValue(), streamRecordBufferEntry);
+		}
 	}
 
 	@Override
 	public void processWatermark(Watermark mark) throws Exception {
 		WatermarkQueueEntry watermarkBufferEntry = new WatermarkQueueEntry(mark);
 
+		// the watermark can only be emitted after the elements of the current batch
+		invokeBatch();
+
 		addAsyncBufferEntry(watermarkBufferEntry);
 	}
 
@@ -274,6 +342,8 @@ public class AsyncWaitOperator<IN, OUT>
 		try {
 			assert(Thread.holdsLock(checkpointingLock));
 
+			invokeBatch();
+
 			while (!queue.isEmpty()) {
 				// wait for the emitter thread to output the remaining elements
 				// for that he needs the checkpointing lock and thus we have to free it
@@ -389,16 +459,21 @@ public class AsyncWaitOperator<IN, OUT>
 	 * elements. The emitter is also responsible for notifying this method if the queue has capacity
 	 * left again, by calling notifyAll on the checkpointing lock.
 	 *
+	 * <p>If the queue is full, the current batch is invoked before waiting, since the queue entries
+	 * of its elements cannot complete otherwise.
+	 *
 	 * @param streamElementQueueEntry to add to the operator's queue
 	 * @param <T> Type of the stream element queue entry's result
-	 * @throws InterruptedException if the current thread has been interrupted
+	 * @throws Exception if the current thread has been interrupted or the batch could not be invoked
 	 */
-	private <T> void addAsyncBufferEntry(StreamElementQueueEntry<T> streamElementQueueEntry) throws InterruptedException {
+	private <T> void addAsyncBufferEntry(StreamElementQueueEntry<T> streamElementQueueEntry) throws Exception {
 		assert(Thread.holdsLock(checkpointingLock));
 
 		pendingStreamElementQueueEntry = streamElementQueueEntry;
 
-		while (!queue.tryPut(streamElementQueueEntry)) {
+		while (!hasCapacityFor(streamElementQueueEntry) || !queue.tryPut(streamElementQueueEntry)) {
+			invokeBatch();
+
 			// we wait for the emitter to notify us if the queue has space left again
 			checkpointingLock.wait();
 		}
@@ -406,8 +481,212 @@ public class AsyncWaitOperator<IN, OUT>
 		pendingStreamElementQueueEntry = null;
 	}
 
+	/**
+	 * Checks whether the adaptive capacity permits to add the given entry. Watermarks are only
+	 * limited by the capacity of the queue, since they do not cause an async operation.
+	 */
+	private boolean hasCapacityFor(StreamElementQueueEntry<?> streamElementQueueEntry) {
+		return adaptiveCapacity == null ||
+			streamElementQueueEntry.isWatermark() ||
+			queue.size() < adaptiveCapacity.getCapacity();
+	}
+
+	/**
+	 * Adds the given input element, whose queue entry has already been added to the queue, to the
+	 * current batch. The batch is invoked once it reaches the maximum batch size or once the
+	 * maximum batch delay has passed since its first element was added.
+	 */
+	private void addToBatch(IN input, StreamRecordQueueEntry<OUT> streamRecordBufferEntry) throws Exception {
+		batchInputs.add(input);
+		batchEntries.add(streamRecordBufferEntry);
+
+		if (batchInputs.size() >= options.getMaxBatchSize()) {
+			invokeBatch();
+		} else if (batchTimer == null) {
+			final long batchTimestamp = getProcessingTimeService().getCurrentProcessingTime() +
+				options.getMaxBatchDelay();
+
+			// the processing time callback is invoked under the checkpoint lock, like processElement
+			batchTimer = getProcessingTimeService().registerTimer(
+				batchTimestamp,
+				timestamp -> {
+					batchTimer = null;
+					invokeBatch();
+				});
+		}
+	}
+
+	/**
+	 * Invokes the {@link AsyncBatchFunction} with the elements of the current batch, if batching is
+	 * enabled and the batch is not empty.
+	 */
+	private void invokeBatch() throws Exception {
+		if (batchInputs == null || batchInputs.isEmpty()) {
+			return;
+		}
+
+		if (batchTimer != null) {
+			batchTimer.cancel(false);
+			batchTimer = null;
+		}
+
+		final List<IN> inputs = batchInputs;
+		final List<StreamRecordQueueEntry<OUT>> entries = batchEntries;
+
+		batchInputs = new ArrayList<>(options.getMaxBatchSize());
+		batchEntries = new ArrayList<>(options.getMaxBatchSize());
+
+		((AsyncBatchFunction<IN, OUT>) userFunction).asyncInvokeBatch(inputs, new BatchResultFuture(inputs, entries, 0));
+	}
+
+	/**
+	 * Registers a timer which runs the given retry after the retry delay, if the maximum number of
+	 * retries is not reached yet.
+	 *
+	 * @return Whether the retry has been scheduled.
+	 */
+	private boolean scheduleRetry(int retry, Throwable error, ProcessingTimeCallback retryCallback) {
+		if (retry >= options.getMaxRetries()) {
+			return false;
+		}
+
+		LOG.debug("Retrying async operation of {} after failure ({}/{}).",
+			getOperatorName(), retry + 1, options.getMaxRetries(), error);
+
+		final long retryTimestamp = getProcessingTimeService().getCurrentProcessingTime() +
+			options.getRetryDelay(retry + 1);
+
+		try {
+			// the processing time callback is invoked under the checkpoint lock, like processElement
+			getProcessingTimeService().registerTimer(retryTimestamp, retryCallback);
+			return true;
+		} catch (Throwable t) {
+			// the timer service is shut down, so the operator is not running anymore
+			error.addSuppressed(t);
+			return false;
+		}
+	}
+
 	@Override
 	public void failOperator(Throwable throwable) {
 		getContainingTask().getEnvironment().failExternally(throwable);
 	}
+
+	@VisibleForTesting
+	int getCurrentCapacity() {
+		return adaptiveCapacity != null ? adaptiveCapacity.getCapacity() : capacity;
+	}
+
+	/**
+	 * The {@link ResultFuture} that is passed to the {@link AsyncFunction} if retries are enabled.
+	 * If it is completed exceptionally and the maximum number of retries is not reached, the
+	 * function is invoked again after the retry delay. Otherwise, it completes the queue entry of
+	 * the input element, which stays in the queue until then.
+	 */
+	private class RetryingResultFuture implements ResultFuture<OUT> {
+
+		private final IN input;
+
+		private final StreamRecordQueueEntry<OUT> streamRecordBufferEntry;
+
+		private final int retry;
+
+		RetryingResultFuture(IN input, StreamRecordQueueEntry<OUT> streamRecordBufferEntry, int retry) {
+			this.input = input;
+			this.streamRecordBufferEntry = streamRecordBufferEntry;
+			this.retry = retry;
+		}
+
+		@Override
+		public void complete(Collection<OUT> result) {
+			streamRecordBufferEntry.complete(result);
+		}
+
+		@Override
+		public void completeExceptionally(Throwable error) {
+			final boolean retrying = !streamRecordBufferEntry.isDone() && scheduleRetry(
+				retry,
+				error,
+				timestamp -> {
+					// the entry may have timed out in the meantime
+					if (!streamRecordBufferEntry.isDone()) {
+						userFunction.asyncInvoke(input, new RetryingResultFuture(input, streamRecordBufferEntry, retry + 1));
+					}
+				});
+
+			if (!retrying) {
+				streamRecordBufferEntry.completeExceptionally(error);
+			}
+		}
+	}
+
+	/**
+	 * The {@link ResultFuture} that is passed to the {@link AsyncBatchFunction}. It completes the
+	 * queue entries of the elements of the batch with the results in the order of the elements. If
+	 * it is completed exceptionally, the elements of the batch which have not completed in the
+	 * meantime, e.g. by a timeout, are retried together.
+	 */
+	private class BatchResultFuture implements ResultFuture<Collection<OUT>> {
+
+		private final List<IN> inputs;
+
+		private final List<StreamRecordQueueEntry<OUT>> streamRecordBufferEntries;
+
+		private final int retry;
+
+		BatchResultFuture(List<IN> inputs, List<StreamRecordQueueEntry<OUT>> streamRecordBufferEntries, int retry) {
+			this.inputs = inputs;
+			this.streamRecordBufferEntries = streamRecordBufferEntries;
+			this.retry = retry;
+		}
+
+		@Override
+		public void complete(Collection<Collection<OUT>> results) {
+			if (results.size() != streamRecordBufferEntries.size()) {
+				final Exception error = new IllegalStateException("The async batch function returned " +
+					results.size() + " results for a batch of " + streamRecordBufferEntries.size() + " elements.");
+
+				for (StreamRecordQueueEntry<OUT> streamRecordBufferEntry : streamRecordBufferEntries) {
+					streamRecordBufferEntry.completeExceptionally(error);
+				}
+				return;
+			}
+
+			final Iterator<StreamRecordQueueEntry<OUT>> entryIterator = streamRecordBufferEntries.iterator();
+			for (Collection<OUT> result : results) {
+				entryIterator.next().complete(result);
+			}
+		}
+
+		@Override
+		public void completeExceptionally(Throwable error) {
+			final boolean retrying = scheduleRetry(
+				retry,
+				error,
+				timestamp -> {
+					final List<IN> remainingInputs = new ArrayList<>(inputs.size());
+					final List<StreamRecordQueueEntry<OUT>> remainingEntries = new ArrayList<>(inputs.size());
+
+					// some entries may have timed out in the meantime
+					for (int i = 0; i < inputs.size(); i++) {
+						if (!streamRecordBufferEntries.get(i).isDone()) {
+							remainingInputs.add(inputs.get(i));
+							remainingEntries.add(streamRecordBufferEntries.get(i));
+						}
+					}
+
+					if (!remainingInputs.isEmpty()) {
+						((AsyncBatchFunction<IN, OUT>) userFunction).asyncInvokeBatch(
+							remainingInputs,
+							new BatchResultFuture(remainingInputs, remainingEntries, retry + 1));
+					}
+				});
+
+			if (!retrying) {
+				for (StreamRecordQueueEntry<OUT> streamRecordBufferEntry : streamRecordBufferEntries) {
+					streamRecordBufferEntry.completeExceptionally(error);
+				}
+			}
+		}
+	}
 }
@@ -97,56 +97,60 @@ public class Emitter<OUT> implements Runnable {
 		}
 	}
 
+	/**
+	 * Outputs the given completed async result and all async results which are completed at the
+	 * head of the queue afterwards, while holding the checkpoint lock only once. The number of
+	 * drained results is bounded by the size of the queue, so that the lock is released regularly.
+	 */
 	private void output(AsyncResult asyncResult) throws InterruptedException {
-		if (asyncResult.isWatermark()) {
-			synchronized (checkpointLock) {
-				AsyncWatermarkResult asyncWatermarkResult = asyncResult.asWatermark();
-
-				LOG.debug("Output async watermark.");
-				output.emitWatermark(asyncWatermarkResult.getWatermark());
+		synchronized (checkpointLock) {
+			AsyncResult completedResult = asyncResult;
+			int remaining = streamElementQueue.size();
+
+			do {
+				if (completedResult.isWatermark()) {
+					AsyncWatermarkResult asyncWatermarkResult = completedResult.asWatermark();
+
+					LOG.debug("Output async watermark.");
+					output.emitWatermark(asyncWatermarkResult.getWatermark());
+				} else {
+					outputResultCollection(completedResult.asResultCollection());
+				}
 
 				// remove the peeked element from the async collector buffer so that it is no longer
 				// checkpointed
 				streamElementQueue.poll();
 
-				// notify the main thread that there is again space left in the async collector
-				// buffer
-				checkpointLock.notifyAll();
-			}
-		} else {
-			AsyncCollectionResult<OUT> streamRecordResult = asyncResult.asResultCollection();
+				completedResult = --remaining > 0 ? streamElementQueue.tryPeek() : null;
+			} while (completedResult != null);
 
-			if (streamRecordResult.hasTimestamp()) {
-				timestampedCollector.setAbsoluteTimestamp(streamRecordResult.getTimestamp());
-			} else {
-				timestampedCollector.eraseTimestamp();
-			}
+			// notify the main thread that there is again space left in the async collector
+			// buffer
+			checkpointLock.notifyAll();
+		}
+	}
 
-			synchronized (checkpointLock) {
-				LOG.debug("Output async stream element collection result.");
-
-				try {
-					Collection<OUT> resultCollection = streamRecordResult.get();
-
-					if (resultCollection != null) {
-						for (OUT result : resultCollection) {
-							timestampedCollector.collect(result);
-						}
-					}
-				} catch (Exception e) {
-					operatorActions.failOperator(
-						new Exception("An async function call terminated with an exception. " +
-							"Failing the AsyncWaitOperator.", e));
-				}
+	private void outputResultCollection(AsyncCollectionResult<OUT> streamRecordResult) {
+		if (streamRecordResult.hasTimestamp()) {
+			timestampedCollector.setAbsoluteTimestamp(streamRecordResult.getTimestamp());
+		} else {
+			timestampedCollector.eraseTimestamp();
+		}
 
-				// remove the peeked element from the async collector buffer so that it is no longer
-				// checkpointed
-				streamElementQueue.poll();
+		LOG.debug("Output async stream element collection result.");
+
+		try {
+			Collection<OUT> resultCollection = streamRecordResult.get();
 
-				// notify the main thread that there is again space left in the async collector
-				// buffer
-				checkpointLock.notifyAll();
+			if (resultCollection != null) {
+				for (OUT result : resultCollection) {
+					timestampedCollector.collect(result);
+				}
 			}
+		} catch (Exception e) {
+			operatorActions.failOperator(
+				new Exception("An async function call terminated with an exception. " +
+					"Failing the AsyncWaitOperator.", e));
 		}
 	}
 
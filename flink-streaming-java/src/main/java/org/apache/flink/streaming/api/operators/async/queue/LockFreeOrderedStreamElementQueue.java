@@ -0,0 +1,168 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.streaming.api.operators.async.queue;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.util.Preconditions;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Ordered {@link StreamElementQueue} implementation which does not use a lock. Like the
+ * {@link OrderedStreamElementQueue}, it emits asynchronous results in the order in which the
+ * {@link StreamElementQueueEntry} have been added to the queue.
+ *
+ * <p>The queue supports a single producer thread, which puts entries into the queue, and a single
+ * consumer thread, which peeks at and polls entries from the queue. The entries can be completed by
+ * arbitrary threads. Instead of acquiring a lock and signalling a condition on every completion, the
+ * completing thread only unparks the consumer thread if it is waiting. This avoids the contention
+ * on the lock and the hand-over of the completion to an executor thread.
+ */
+@Internal
+public class LockFreeOrderedStreamElementQueue implements StreamElementQueue {
+
+	/** Capacity of this queue. */
+	private final int capacity;
+
+	/** Queue for the inserted StreamElementQueueEntries. */
+	private final ConcurrentLinkedQueue<StreamElementQueueEntry<?>> queue;
+
+	/** Number of entries in the queue. */
+	private final AtomicInteger numberEntries;
+
+	/** The consumer thread while it waits for a completed head entry, otherwise null. */
+	private volatile Thread waitingConsumer;
+
+	/** The producer thread while it waits for capacity, otherwise null. */
+	private volatile Thread waitingProducer;
+
+	public LockFreeOrderedStreamElementQueue(int capacity) {
+		Preconditions.checkArgument(capacity > 0, "The capacity must be larger than 0.");
+		this.capacity = capacity;
+
+		this.queue = new ConcurrentLinkedQueue<>();
+		this.numberEntries = new AtomicInteger(0);
+	}
+
+	@Override
+	public <T> void put(StreamElementQueueEntry<T> streamElementQueueEntry) throws InterruptedException {
+		while (!tryPut(streamElementQueueEntry)) {
+			waitingProducer = Thread.currentThread();
+
+			// check again after announcing the wait, so that we cannot miss the signal of the consumer
+			if (numberEntries.get() >= capacity) {
+				LockSupport.park(this);
+			}
+
+			waitingProducer = null;
+
+			if (Thread.interrupted()) {
+				throw new InterruptedException();
+			}
+		}
+	}
+
+	@Override
+	public <T> boolean tryPut(StreamElementQueueEntry<T> streamElementQueueEntry) {
+		if (numberEntries.get() >= capacity) {
+			return false;
+		}
+
+		numberEntries.incrementAndGet();
+		queue.offer(streamElementQueueEntry);
+
+		// the callback runs directly if the entry is already completed, e.g. for watermarks
+		streamElementQueueEntry.getFuture().whenComplete((value, throwable) -> signal(waitingConsumer));
+
+		return true;
+	}
+
+	@Override
+	public AsyncResult peekBlockingly() throws InterruptedException {
+		return awaitCompletedHead();
+	}
+
+	@Override
+	public AsyncResult tryPeek() {
+		final StreamElementQueueEntry<?> head = queue.peek();
+
+		return head != null && head.isDone() ? head : null;
+	}
+
+	@Override
+	public AsyncResult poll() throws InterruptedException {
+		final StreamElementQueueEntry<?> head = awaitCompletedHead();
+
+		queue.poll();
+		numberEntries.decrementAndGet();
+
+		signal(waitingProducer);
+
+		return head;
+	}
+
+	@Override
+	public Collection<StreamElementQueueEntry<?>> values() {
+		return new ArrayList<>(queue);
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return numberEntries.get() == 0;
+	}
+
+	@Override
+	public int size() {
+		return numberEntries.get();
+	}
+
+	private StreamElementQueueEntry<?> awaitCompletedHead() throws InterruptedException {
+		while (true) {
+			StreamElementQueueEntry<?> head = queue.peek();
+
+			if (head == null || !head.isDone()) {
+				waitingConsumer = Thread.currentThread();
+
+				// check again after announcing the wait, so that we cannot miss a completion
+				head = queue.peek();
+				if (head == null || !head.isDone()) {
+					LockSupport.park(this);
+				}
+
+				waitingConsumer = null;
+
+				if (Thread.interrupted()) {
+					throw new InterruptedException();
+				}
+			} else {
+				return head;
+			}
+		}
+	}
+
+	private static void signal(Thread waitingThread) {
+		if (waitingThread != null) {
+			LockSupport.unpark(waitingThread);
+		}
+	}
+}
@@ -97,6 +97,17 @@ public class OrderedStreamElementQueue implements StreamElementQueue {
 		}
 	}
 
+	@Override
+	public AsyncResult tryPeek() throws InterruptedException {
+		lock.lockInterruptibly();
+
+		try {
+			return queue.isEmpty() || !queue.peek().isDone() ? null : queue.peek();
+		} finally {
+			lock.unlock();
+		}
+	}
+
 	@Override
 	public AsyncResult poll() throws InterruptedException {
 		lock.lockInterruptibly();
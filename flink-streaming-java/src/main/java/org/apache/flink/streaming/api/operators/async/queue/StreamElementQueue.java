@@ -21,6 +21,8 @@ package org.apache.flink.streaming.api.operators.async.queue;
 import org.apache.flink.annotation.Internal;
 import org.apache.flink.streaming.api.operators.async.AsyncWaitOperator;
 
+import javax.annotation.Nullable;
+
 import java.util.Collection;
 
 /**
@@ -63,6 +65,16 @@ public interface StreamElementQueue {
 	 */
 	AsyncResult peekBlockingly() throws InterruptedException;
 
+	/**
+	 * Peek at the head of the queue and return the first completed {@link AsyncResult}, if there
+	 * is one. Contrary to {@link #peekBlockingly()}, this operation does not block.
+	 *
+	 * @return Completed {@link AsyncResult}, or null if there is no completed async result
+	 * @throws InterruptedException if the current thread has been interrupted while peeking
+	 */
+	@Nullable
+	AsyncResult tryPeek() throws InterruptedException;
+
 	/**
 	 * Poll the first completed {@link AsyncResult} from the head of this queue. This operation is
 	 * blocking and only returns once a completed async result has been found.
@@ -55,6 +55,15 @@ public abstract class StreamElementQueueEntry<T> implements AsyncResult {
 		return getFuture().isDone();
 	}
 
+	/**
+	 * True if the stream element queue entry has been completed exceptionally; otherwise false.
+	 *
+	 * @return True if the stream element queue entry has been completed exceptionally; otherwise false.
+	 */
+	public boolean isCompletedExceptionally() {
+		return getFuture().isCompletedExceptionally();
+	}
+
 	/**
 	 * Register the given complete function to be called once this queue entry has been completed.
 	 *
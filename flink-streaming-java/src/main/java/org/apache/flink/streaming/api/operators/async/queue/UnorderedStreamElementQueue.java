@@ -156,6 +156,17 @@ public class UnorderedStreamElementQueue implements StreamElementQueue {
 		}
 	}
 
+	@Override
+	public AsyncResult tryPeek() throws InterruptedException {
+		lock.lockInterruptibly();
+
+		try {
+			return completedQueue.peek();
+		} finally {
+			lock.unlock();
+		}
+	}
+
 	@Override
 	public AsyncResult poll() throws InterruptedException {
 		lock.lockInterruptibly();
@@ -138,6 +138,11 @@ public class CoProcessOperator<IN1, IN2, OUT>
 			throw new UnsupportedOperationException(UNSUPPORTED_DELETE_TIMER_MSG);
 		}
 
+		@Override
+		public void deleteTimersForCurrentKey() {
+			throw new UnsupportedOperationException(UNSUPPORTED_DELETE_TIMER_MSG);
+		}
+
 		@Override
 		public TimerService timerService() {
 			return this;
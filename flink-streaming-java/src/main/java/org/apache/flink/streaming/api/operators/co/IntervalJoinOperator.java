@@ -22,6 +22,8 @@ import org.apache.flink.annotation.Internal;
 import org.apache.flink.annotation.VisibleForTesting;
 import org.apache.flink.api.common.state.MapState;
 import org.apache.flink.api.common.state.MapStateDescriptor;
+import org.apache.flink.api.common.state.SortedMapState;
+import org.apache.flink.api.common.state.SortedMapStateDescriptor;
 import org.apache.flink.api.common.typeutils.CompatibilityResult;
 import org.apache.flink.api.common.typeutils.CompatibilityUtil;
 import org.apache.flink.api.common.typeutils.CompositeTypeSerializerConfigSnapshot;
@@ -31,6 +33,7 @@ import org.apache.flink.api.common.typeutils.TypeSerializerConfigSnapshot;
 import org.apache.flink.api.common.typeutils.UnloadableDummyTypeSerializer;
 import org.apache.flink.api.common.typeutils.base.ListSerializer;
 import org.apache.flink.api.common.typeutils.base.LongSerializer;
+import org.apache.flink.api.common.typeutils.base.OrderPreservingLongSerializer;
 import org.apache.flink.api.common.typeutils.base.StringSerializer;
 import org.apache.flink.api.java.tuple.Tuple2;
 import org.apache.flink.core.memory.DataInputView;
@@ -54,6 +57,7 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -73,6 +77,11 @@ import java.util.Objects;
  * there are, they are joined and passed to the aforementioned function. The same happens the
  * other way around when receiving an element on the right side.
  *
+ * <p>Optionally, the buffers are kept sorted by timestamp, so the join candidates of an element are
+ * looked up with a range scan over the timestamps within the bounds instead of a scan over the
+ * whole buffer. Sorted buffers are stored as a different kind of state, so a savepoint can only be
+ * restored with the same setting.
+ *
  * <p>Whenever a pair of elements is emitted it will be assigned the max timestamp of either of
  * the elements.
  *
@@ -106,6 +115,8 @@ public class IntervalJoinOperator<K, T1, T2, OUT>
 	private final TypeSerializer<T1> leftTypeSerializer;
 	private final TypeSerializer<T2> rightTypeSerializer;
 
+	private final boolean sortedBuffers;
+
 	private transient MapState<Long, List<BufferEntry<T1>>> leftBuffer;
 	private transient MapState<Long, List<BufferEntry<T2>>> rightBuffer;
 
@@ -134,6 +145,40 @@ public class IntervalJoinOperator<K, T1, T2, OUT>
 			TypeSerializer<T1> leftTypeSerializer,
 			TypeSerializer<T2> rightTypeSerializer,
 			ProcessJoinFunction<T1, T2, OUT> udf) {
+		this(
+			lowerBound,
+			upperBound,
+			lowerBoundInclusive,
+			upperBoundInclusive,
+			leftTypeSerializer,
+			rightTypeSerializer,
+			udf,
+			false);
+	}
+
+	/**
+	 * Creates a new IntervalJoinOperator.
+	 *
+	 * @param lowerBound          The lower bound for evaluating if elements should be joined
+	 * @param upperBound          The upper bound for evaluating if elements should be joined
+	 * @param lowerBoundInclusive Whether or not to include elements where the timestamp matches
+	 *                            the lower bound
+	 * @param upperBoundInclusive Whether or not to include elements where the timestamp matches
+	 *                            the upper bound
+	 * @param udf                 A user-defined {@link ProcessJoinFunction} that gets called
+	 *                            whenever two elements of T1 and T2 are joined
+	 * @param sortedBuffers       Whether the buffers are kept sorted by timestamp, which is not
+	 *                            compatible with the state of unsorted buffers
+	 */
+	public IntervalJoinOperator(
+			long lowerBound,
+			long upperBound,
+			boolean lowerBoundInclusive,
+			boolean upperBoundInclusive,
+			TypeSerializer<T1> leftTypeSerializer,
+			TypeSerializer<T2> rightTypeSerializer,
+			ProcessJoinFunction<T1, T2, OUT> udf,
+			boolean sortedBuffers) {
 
 		super(Preconditions.checkNotNull(udf));
 
@@ -147,6 +192,8 @@ public class IntervalJoinOperator<K, T1, T2, OUT>
 
 		this.leftTypeSerializer = Preconditions.checkNotNull(leftTypeSerializer);
 		this.rightTypeSerializer = Preconditions.checkNotNull(rightTypeSerializer);
+
+		this.sortedBuffers = sortedBuffers;
 	}
 
 	@Override
@@ -163,17 +210,35 @@ public class IntervalJoinOperator<K, T1, T2, OUT>
 	public void initializeState(StateInitializationContext context) throws Exception {
 		super.initializeState(context);
 
-		this.leftBuffer = context.getKeyedStateStore().getMapState(new MapStateDescriptor<>(
-			LEFT_BUFFER,
-			LongSerializer.INSTANCE,
-			new ListSerializer<>(new BufferEntrySerializer<>(leftTypeSerializer))
-		));
-
-		this.rightBuffer = context.getKeyedStateStore().getMapState(new MapStateDescriptor<>(
-			RIGHT_BUFFER,
-			LongSerializer.INSTANCE,
-			new ListSerializer<>(new BufferEntrySerializer<>(rightTypeSerializer))
-		));
+		if (sortedBuffers) {
+			// the timestamps are serialized order preserving, so that the
+			// buffers can also be range-scanned in serialized form
+			this.leftBuffer = context.getKeyedStateStore().getSortedMapState(new SortedMapStateDescriptor<>(
+				LEFT_BUFFER,
+				Comparator.<Long>naturalOrder(),
+				OrderPreservingLongSerializer.INSTANCE,
+				new ListSerializer<>(new BufferEntrySerializer<>(leftTypeSerializer))
+			));
+
+			this.rightBuffer = context.getKeyedStateStore().getSortedMapState(new SortedMapStateDescriptor<>(
+				RIGHT_BUFFER,
+				Comparator.<Long>naturalOrder(),
+				OrderPreservingLongSerializer.INSTANCE,
+				new ListSerializer<>(new BufferEntrySerializer<>(rightTypeSerializer))
+			));
+		} else {
+			this.leftBuffer = context.getKeyedStateStore().getMapState(new MapStateDescriptor<>(
+				LEFT_BUFFER,
+				LongSerializer.INSTANCE,
+				new ListSerializer<>(new BufferEntrySerializer<>(leftTypeSerializer))
+			));
+
+			this.rightBuffer = context.getKeyedStateStore().getMapState(new MapStateDescriptor<>(
+				RIGHT_BUFFER,
+				LongSerializer.INSTANCE,
+				new ListSerializer<>(new BufferEntrySerializer<>(rightTypeSerializer))
+			));
+		}
 	}
 
 	/**
@@ -227,11 +292,22 @@ public class IntervalJoinOperator<K, T1, T2, OUT>
 
 		addToBuffer(ourBuffer, ourValue, ourTimestamp);
 
-		for (Map.Entry<Long, List<BufferEntry<OTHER>>> bucket: otherBuffer.entries()) {
+		final long fromTimestamp = ourTimestamp + relativeLowerBound;
+		final long toTimestamp = ourTimestamp + relativeUpperBound;
+
+		final Iterable<Map.Entry<Long, List<BufferEntry<OTHER>>>> candidates;
+		if (sortedBuffers) {
+			// the upper bound of the range is exclusive
+			final Long toKey = toTimestamp == Long.MAX_VALUE ? null : toTimestamp + 1L;
+			candidates = ((SortedMapState<Long, List<BufferEntry<OTHER>>>) otherBuffer).subMap(fromTimestamp, toKey);
+		} else {
+			candidates = otherBuffer.entries();
+		}
+
+		for (Map.Entry<Long, List<BufferEntry<OTHER>>> bucket: candidates) {
 			final long timestamp  = bucket.getKey();
 
-			if (timestamp < ourTimestamp + relativeLowerBound ||
-					timestamp > ourTimestamp + relativeUpperBound) {
+			if (timestamp < fromTimestamp || timestamp > toTimestamp) {
 				continue;
 			}
 
@@ -72,6 +72,14 @@ public class TumblingEventTimeWindows extends WindowAssigner<Object, TimeWindow>
 		}
 	}
 
+	public long getSize() {
+		return size;
+	}
+
+	public long getOffset() {
+		return offset;
+	}
+
 	@Override
 	public Trigger<Object, TimeWindow> getDefaultTrigger(StreamExecutionEnvironment env) {
 		return EventTimeTrigger.create();
@@ -68,6 +68,10 @@ public class TumblingProcessingTimeWindows extends WindowAssigner<Object, TimeWi
 		return size;
 	}
 
+	public long getOffset() {
+		return offset;
+	}
+
 	@Override
 	public Trigger<Object, TimeWindow> getDefaultTrigger(StreamExecutionEnvironment env) {
 		return ProcessingTimeTrigger.create();
@@ -109,6 +109,12 @@ public class BarrierBuffer implements CheckpointBarrierHandler {
 	/** The time (in nanoseconds) that the latest alignment took. */
 	private long latestAlignmentDurationNanos;
 
+	/** The time (in nanoseconds) between the triggering of the latest checkpoint and its first barrier. */
+	private long latestCheckpointStartDelayNanos;
+
+	/** The index of the channel from which the latest barrier was received. */
+	private int lastBarrierChannelIndex = -1;
+
 	/** Flag to indicate whether we have drawn all available input. */
 	private boolean endOfStream;
 
@@ -231,6 +237,8 @@ public class BarrierBuffer implements CheckpointBarrierHandler {
 			if (barrierId > currentCheckpointId) {
 				// new checkpoint
 				currentCheckpointId = barrierId;
+				latestCheckpointStartDelayNanos = getDelaySinceTriggerNanos(receivedBarrier);
+				lastBarrierChannelIndex = channelIndex;
 				notifyCheckpoint(receivedBarrier);
 			}
 			return;
@@ -260,7 +268,7 @@ public class BarrierBuffer implements CheckpointBarrierHandler {
 				releaseBlocksAndResetBarriers();
 
 				// begin a the new checkpoint
-				beginNewAlignment(barrierId, channelIndex);
+				beginNewAlignment(receivedBarrier, channelIndex);
 			}
 			else {
 				// ignore trailing barrier from an earlier checkpoint (obsolete now)
@@ -269,7 +277,7 @@ public class BarrierBuffer implements CheckpointBarrierHandler {
 		}
 		else if (barrierId > currentCheckpointId) {
 			// first barrier of a new checkpoint
-			beginNewAlignment(barrierId, channelIndex);
+			beginNewAlignment(receivedBarrier, channelIndex);
 		}
 		else {
 			// either the current checkpoint was canceled (numBarriers == 0) or
@@ -391,7 +399,10 @@ public class BarrierBuffer implements CheckpointBarrierHandler {
 
 			CheckpointMetrics checkpointMetrics = new CheckpointMetrics()
 					.setBytesBufferedInAlignment(bytesBuffered)
-					.setAlignmentDurationNanos(latestAlignmentDurationNanos);
+					.setAlignmentDurationNanos(latestAlignmentDurationNanos)
+					.setCheckpointStartDelayNanos(latestCheckpointStartDelayNanos)
+					.setBarrierPropagationNanos(getDelaySinceTriggerNanos(checkpointBarrier))
+					.setLastAlignedChannelIndex(lastBarrierChannelIndex);
 
 			toNotifyOnCheckpoint.triggerCheckpointOnBarrier(
 				checkpointMetaData,
@@ -451,11 +462,14 @@ public class BarrierBuffer implements CheckpointBarrierHandler {
 		numQueuedBytes = 0L;
 	}
 
-	private void beginNewAlignment(long checkpointId, int channelIndex) throws IOException {
+	private void beginNewAlignment(CheckpointBarrier firstBarrier, int channelIndex) throws IOException {
+		final long checkpointId = firstBarrier.getId();
+
 		currentCheckpointId = checkpointId;
 		onBarrier(channelIndex);
 
 		startOfAlignmentTimestamp = System.nanoTime();
+		latestCheckpointStartDelayNanos = getDelaySinceTriggerNanos(firstBarrier);
 
 		if (LOG.isDebugEnabled()) {
 			LOG.debug("{}: Starting stream alignment for checkpoint {}.",
@@ -484,6 +498,7 @@ public class BarrierBuffer implements CheckpointBarrierHandler {
 			blockedChannels[channelIndex] = true;
 
 			numBarriersReceived++;
+			lastBarrierChannelIndex = channelIndex;
 
 			if (LOG.isDebugEnabled()) {
 				LOG.debug("{}: Received barrier from channel {}.",
@@ -570,10 +585,22 @@ public class BarrierBuffer implements CheckpointBarrierHandler {
 		}
 	}
 
+	@Override
+	public long getCheckpointStartDelayNanos() {
+		return latestCheckpointStartDelayNanos;
+	}
+
 	// ------------------------------------------------------------------------
 	// Utilities
 	// ------------------------------------------------------------------------
 
+	/**
+	 * Gets the time since the checkpoint of the given barrier was triggered, in nanoseconds.
+	 */
+	static long getDelaySinceTriggerNanos(CheckpointBarrier barrier) {
+		return Math.max(0L, System.currentTimeMillis() - barrier.getTimestamp()) * 1_000_000;
+	}
+
 	@Override
 	public String toString() {
 		return String.format("%s: last checkpoint: %d, current barriers: %d, closed channels: %d",
@@ -21,7 +21,6 @@ package org.apache.flink.streaming.runtime.io;
 import org.apache.flink.annotation.Internal;
 import org.apache.flink.runtime.checkpoint.CheckpointMetaData;
 import org.apache.flink.runtime.checkpoint.CheckpointMetrics;
-import org.apache.flink.runtime.checkpoint.CheckpointOptions;
 import org.apache.flink.runtime.checkpoint.decline.CheckpointDeclineOnCancellationBarrierException;
 import org.apache.flink.runtime.io.network.api.CancelCheckpointMarker;
 import org.apache.flink.runtime.io.network.api.CheckpointBarrier;
@@ -80,6 +79,9 @@ public class BarrierTracker implements CheckpointBarrierHandler {
 	/** The highest checkpoint ID encountered so far. */
 	private long latestPendingCheckpointID = -1;
 
+	/** The time (in nanoseconds) between the triggering of the latest checkpoint and its first barrier. */
+	private long latestCheckpointStartDelayNanos;
+
 	// ------------------------------------------------------------------------
 
 	public BarrierTracker(InputGate inputGate) {
@@ -140,12 +142,18 @@ public class BarrierTracker implements CheckpointBarrierHandler {
 		return 0L;
 	}
 
+	@Override
+	public long getCheckpointStartDelayNanos() {
+		return latestCheckpointStartDelayNanos;
+	}
+
 	private void processBarrier(CheckpointBarrier receivedBarrier, int channelIndex) throws Exception {
 		final long barrierId = receivedBarrier.getId();
 
 		// fast path for single channel trackers
 		if (totalNumberOfInputChannels == 1) {
-			notifyCheckpoint(barrierId, receivedBarrier.getTimestamp(), receivedBarrier.getCheckpointOptions());
+			latestCheckpointStartDelayNanos = BarrierBuffer.getDelaySinceTriggerNanos(receivedBarrier);
+			notifyCheckpoint(receivedBarrier, latestCheckpointStartDelayNanos, channelIndex);
 			return;
 		}
 
@@ -183,7 +191,7 @@ public class BarrierTracker implements CheckpointBarrierHandler {
 						LOG.debug("Received all barriers for checkpoint {}", barrierId);
 					}
 
-					notifyCheckpoint(receivedBarrier.getId(), receivedBarrier.getTimestamp(), receivedBarrier.getCheckpointOptions());
+					notifyCheckpoint(receivedBarrier, cbc.startDelayNanos(), channelIndex);
 				}
 			}
 		}
@@ -194,7 +202,8 @@ public class BarrierTracker implements CheckpointBarrierHandler {
 			// successful checkpoint for that ID anyways
 			if (barrierId > latestPendingCheckpointID) {
 				latestPendingCheckpointID = barrierId;
-				pendingCheckpoints.addLast(new CheckpointBarrierCount(barrierId));
+				latestCheckpointStartDelayNanos = BarrierBuffer.getDelaySinceTriggerNanos(receivedBarrier);
+				pendingCheckpoints.addLast(new CheckpointBarrierCount(barrierId, latestCheckpointStartDelayNanos));
 
 				// make sure we do not track too many checkpoints
 				if (pendingCheckpoints.size() > MAX_CHECKPOINTS_TO_TRACK) {
@@ -249,7 +258,7 @@ public class BarrierTracker implements CheckpointBarrierHandler {
 
 			latestPendingCheckpointID = checkpointId;
 
-			CheckpointBarrierCount abortedMarker = new CheckpointBarrierCount(checkpointId);
+			CheckpointBarrierCount abortedMarker = new CheckpointBarrierCount(checkpointId, -1L);
 			abortedMarker.markAborted();
 			pendingCheckpoints.addFirst(abortedMarker);
 
@@ -260,14 +269,22 @@ public class BarrierTracker implements CheckpointBarrierHandler {
 		}
 	}
 
-	private void notifyCheckpoint(long checkpointId, long timestamp, CheckpointOptions checkpointOptions) throws Exception {
+	private void notifyCheckpoint(
+			CheckpointBarrier lastBarrier,
+			long checkpointStartDelayNanos,
+			int lastChannelIndex) throws Exception {
+
 		if (toNotifyOnCheckpoint != null) {
-			CheckpointMetaData checkpointMetaData = new CheckpointMetaData(checkpointId, timestamp);
+			CheckpointMetaData checkpointMetaData = new CheckpointMetaData(lastBarrier.getId(), lastBarrier.getTimestamp());
 			CheckpointMetrics checkpointMetrics = new CheckpointMetrics()
 				.setBytesBufferedInAlignment(0L)
-				.setAlignmentDurationNanos(0L);
+				.setAlignmentDurationNanos(0L)
+				.setCheckpointStartDelayNanos(checkpointStartDelayNanos)
+				.setBarrierPropagationNanos(BarrierBuffer.getDelaySinceTriggerNanos(lastBarrier))
+				.setLastAlignedChannelIndex(lastChannelIndex);
 
-			toNotifyOnCheckpoint.triggerCheckpointOnBarrier(checkpointMetaData, checkpointOptions, checkpointMetrics);
+			toNotifyOnCheckpoint.triggerCheckpointOnBarrier(
+				checkpointMetaData, lastBarrier.getCheckpointOptions(), checkpointMetrics);
 		}
 	}
 
@@ -291,15 +308,22 @@ public class BarrierTracker implements CheckpointBarrierHandler {
 
 		private boolean aborted;
 
-		CheckpointBarrierCount(long checkpointId) {
+		private final long startDelayNanos;
+
+		CheckpointBarrierCount(long checkpointId, long startDelayNanos) {
 			this.checkpointId = checkpointId;
 			this.barrierCount = 1;
+			this.startDelayNanos = startDelayNanos;
 		}
 
 		public long checkpointId() {
 			return checkpointId;
 		}
 
+		public long startDelayNanos() {
+			return startDelayNanos;
+		}
+
 		public int incrementBarrierCount() {
 			return ++barrierCount;
 		}
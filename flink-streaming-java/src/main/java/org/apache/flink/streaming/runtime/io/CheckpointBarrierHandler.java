@@ -76,4 +76,13 @@ public interface CheckpointBarrierHandler {
 	 * @return The duration in nanoseconds
 	 */
 	long getAlignmentDurationNanos();
+
+	/**
+	 * Gets the time between the triggering of the latest checkpoint and the arrival of its first
+	 * barrier at this handler, in nanoseconds. The time is based on the wall clocks of the
+	 * JobManager and the TaskManager and is therefore subject to clock skew between the two.
+	 *
+	 * @return The start delay in nanoseconds
+	 */
+	long getCheckpointStartDelayNanos();
 }
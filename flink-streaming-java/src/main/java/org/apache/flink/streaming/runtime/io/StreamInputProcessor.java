@@ -152,6 +152,7 @@ public class StreamInputProcessor<IN> {
 
 		this.watermarkGauge = watermarkGauge;
 		metrics.gauge("checkpointAlignmentTime", barrierHandler::getAlignmentDurationNanos);
+		metrics.gauge("checkpointStartDelayNanos", barrierHandler::getCheckpointStartDelayNanos);
 	}
 
 	public boolean processInput() throws Exception {
@@ -184,6 +184,7 @@ public class StreamTwoInputProcessor<IN1, IN2> {
 		this.input1WatermarkGauge = input1WatermarkGauge;
 		this.input2WatermarkGauge = input2WatermarkGauge;
 		metrics.gauge("checkpointAlignmentTime", barrierHandler::getAlignmentDurationNanos);
+		metrics.gauge("checkpointStartDelayNanos", barrierHandler::getCheckpointStartDelayNanos);
 	}
 
 	public boolean processInput() throws Exception {
@@ -0,0 +1,315 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.streaming.runtime.operators.windowing;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.api.common.functions.AggregateFunction;
+import org.apache.flink.api.common.state.AggregatingStateDescriptor;
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.api.java.functions.KeySelector;
+import org.apache.flink.runtime.state.internal.InternalAppendingState;
+import org.apache.flink.streaming.api.operators.InternalTimer;
+import org.apache.flink.streaming.api.windowing.assigners.WindowAssigner;
+import org.apache.flink.streaming.api.windowing.triggers.Trigger;
+import org.apache.flink.streaming.api.windowing.windows.TimeWindow;
+import org.apache.flink.streaming.runtime.operators.windowing.functions.InternalWindowFunction;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.util.OutputTag;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * A {@link WindowOperator} for aligned tumbling and sliding time windows that aggregates every
+ * element into exactly one pane instead of into every window that contains the element.
+ *
+ * <p>The panes partition the time axis into intervals whose length is the greatest common divisor
+ * of the window size and the window slide, so that every window consists of a whole number of panes.
+ * When a window fires, the accumulators of its panes are merged with
+ * {@link AggregateFunction#merge(Object, Object)} and the result is emitted. This reduces the work
+ * per element and the size of the state from {@code size / slide} accumulators to one accumulator,
+ * at the cost of merging {@code size / gcd(size, slide)} accumulators whenever a window fires.
+ *
+ * <p>The operator behaves like a {@link WindowOperator} with the default trigger of the assigner,
+ * i.e. a window fires once its end is reached and again for every late element within the allowed
+ * lateness. Custom triggers and evictors are not supported. Only the window whose end is reached
+ * next has a registered timer; the timer of the following window is registered when a window fires
+ * and the following window contains a non-empty pane.
+ *
+ * @param <K> The type of key returned by the {@code KeySelector}.
+ * @param <IN> The type of the incoming elements.
+ * @param <ACC> The type of the accumulator of the {@code AggregateFunction}.
+ * @param <V> The type of the result of the {@code AggregateFunction}.
+ * @param <OUT> The type of elements emitted by the {@code InternalWindowFunction}.
+ */
+@Internal
+public class PanedWindowOperator<K, IN, ACC, V, OUT>
+		extends WindowOperator<K, IN, V, OUT, TimeWindow> {
+
+	private static final long serialVersionUID = 1L;
+
+	// ------------------------------------------------------------------------
+	// these fields are set by the API stream graph builder to configure the operator
+
+	private final long windowSize;
+
+	private final long windowSlide;
+
+	private final long windowOffset;
+
+	private final long paneSize;
+
+	private final AggregatingStateDescriptor<IN, ACC, V> paneStateDescriptor;
+
+	// ------------------------------------------------------------------------
+	// the fields below are instantiated once the operator runs in the runtime
+
+	private transient InternalAppendingState<K, TimeWindow, IN, ACC, V> paneState;
+
+	private transient AggregateFunction<IN, ACC, V> aggregateFunction;
+
+	private transient TypeSerializer<ACC> accumulatorSerializer;
+
+	// ------------------------------------------------------------------------
+
+	public PanedWindowOperator(
+			WindowAssigner<? super IN, TimeWindow> windowAssigner,
+			long windowSize,
+			long windowSlide,
+			long windowOffset,
+			TypeSerializer<TimeWindow> windowSerializer,
+			KeySelector<IN, K> keySelector,
+			TypeSerializer<K> keySerializer,
+			AggregatingStateDescriptor<IN, ACC, V> paneStateDescriptor,
+			InternalWindowFunction<V, OUT, K, TimeWindow> windowFunction,
+			Trigger<? super IN, ? super TimeWindow> trigger,
+			long allowedLateness,
+			OutputTag<IN> lateDataOutputTag) {
+
+		super(windowAssigner, windowSerializer, keySelector,
+			keySerializer, null, windowFunction, trigger, allowedLateness, lateDataOutputTag);
+
+		checkArgument(windowSize > 0, "The window size must be positive.");
+		checkArgument(windowSlide > 0, "The window slide must be positive.");
+		checkArgument(Math.abs(windowOffset) < windowSlide,
+			"The absolute value of the window offset must be smaller than the window slide.");
+
+		this.paneStateDescriptor = checkNotNull(paneStateDescriptor);
+		checkArgument(paneStateDescriptor.isSerializerInitialized(),
+			"pane state serializer is not properly initialized");
+
+		this.windowSize = windowSize;
+		this.windowSlide = windowSlide;
+		this.windowOffset = windowOffset;
+		this.paneSize = gcd(windowSize, windowSlide);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public void open() throws Exception {
+		super.open();
+
+		paneState = (InternalAppendingState<K, TimeWindow, IN, ACC, V>)
+			getOrCreateKeyedState(windowSerializer, paneStateDescriptor);
+		aggregateFunction = paneStateDescriptor.getAggregateFunction();
+		accumulatorSerializer = paneStateDescriptor.getSerializer().duplicate();
+	}
+
+	@Override
+	public void processElement(StreamRecord<IN> element) throws Exception {
+		final long timestamp;
+		if (windowAssigner.isEventTime()) {
+			timestamp = element.getTimestamp();
+			if (timestamp == Long.MIN_VALUE) {
+				// Long.MIN_VALUE is currently assigned when no timestamp is present
+				throw new RuntimeException("Record has Long.MIN_VALUE timestamp (= no timestamp marker). " +
+					"Is the time characteristic set to 'ProcessingTime', or did you forget to call " +
+					"'DataStream.assignTimestampsAndWatermarks(...)'?");
+			}
+		} else {
+			timestamp = internalTimerService.currentProcessingTime();
+		}
+
+		final long paneStart = TimeWindow.getWindowStartWithOffset(timestamp, windowOffset % paneSize, paneSize);
+		final long lastWindowStart = TimeWindow.getWindowStartWithOffset(paneStart, windowOffset, windowSlide);
+
+		//if element is handled by none of the windows that contain its pane
+		boolean isSkippedElement = true;
+
+		// the pane lies in a gap between two windows if the slide is larger than the size
+		if (paneStart < lastWindowStart + windowSize) {
+			final long firstWindowStart = lastWindowStart -
+				((lastWindowStart + windowSize - (paneStart + paneSize)) / windowSlide) * windowSlide;
+
+			triggerContext.key = this.<K>getKeyedStateBackend().getCurrentKey();
+
+			for (long start = firstWindowStart; start <= lastWindowStart; start += windowSlide) {
+				final TimeWindow window = new TimeWindow(start, start + windowSize);
+
+				// drop if the window is already late
+				if (isWindowLate(window)) {
+					continue;
+				}
+
+				if (isSkippedElement) {
+					isSkippedElement = false;
+					paneState.setCurrentNamespace(new TimeWindow(paneStart, paneStart + paneSize));
+					paneState.add(element.getValue());
+				}
+
+				triggerContext.window = window;
+
+				if (windowAssigner.isEventTime() && window.maxTimestamp() <= internalTimerService.currentWatermark()) {
+					// late firing within the allowed lateness, the same as the default trigger would do
+					fireWindow(window);
+					registerCleanupTimer(window);
+				} else {
+					// the windows after this one are fired one after another once this one fires
+					registerFiringTimer(window);
+					break;
+				}
+			}
+		}
+
+		// side output input event if
+		// element not handled by any window
+		// late arriving tag has been set
+		// windowAssigner is event time and current timestamp + allowed lateness no less than element timestamp
+		if (isSkippedElement && isElementLate(element)) {
+			if (lateDataOutputTag != null){
+				sideOutput(element);
+			} else {
+				this.numLateRecordsDropped.inc();
+			}
+		}
+	}
+
+	@Override
+	public void onEventTime(InternalTimer<K, TimeWindow> timer) throws Exception {
+		if (windowAssigner.isEventTime()) {
+			onTimer(timer);
+		}
+	}
+
+	@Override
+	public void onProcessingTime(InternalTimer<K, TimeWindow> timer) throws Exception {
+		if (!windowAssigner.isEventTime()) {
+			onTimer(timer);
+		}
+	}
+
+	private void onTimer(InternalTimer<K, TimeWindow> timer) throws Exception {
+		final TimeWindow window = timer.getNamespace();
+
+		triggerContext.key = timer.getKey();
+		triggerContext.window = window;
+
+		if (timer.getTimestamp() == window.maxTimestamp()) {
+			final long lastNonEmptyPaneStart = fireWindow(window);
+
+			// the next window has to fire as well if it shares a non-empty pane with this one
+			if (lastNonEmptyPaneStart >= window.getStart() + windowSlide) {
+				final long nextStart = window.getStart() + windowSlide;
+				triggerContext.window = new TimeWindow(nextStart, nextStart + windowSize);
+				registerFiringTimer(triggerContext.window);
+				triggerContext.window = window;
+			}
+
+			if (allowedLateness > 0) {
+				registerCleanupTimer(window);
+			}
+		}
+
+		if (isCleanupTime(window, timer.getTimestamp())) {
+			// the panes before the start of the next window are not part of any other window
+			final long end = Math.min(window.getStart() + windowSlide, window.getEnd());
+			for (long paneStart = window.getStart(); paneStart < end; paneStart += paneSize) {
+				paneState.setCurrentNamespace(new TimeWindow(paneStart, paneStart + paneSize));
+				paneState.clear();
+			}
+
+			processContext.window = window;
+			processContext.clear();
+		}
+	}
+
+	/**
+	 * Merges the accumulators of the panes of the given window and emits the result, if the window
+	 * contains at least one non-empty pane.
+	 *
+	 * <p>The caller must ensure that the correct key is set in the state backend and the
+	 * triggerContext object.
+	 *
+	 * @return The start of the last non-empty pane of the window, or {@link Long#MIN_VALUE}
+	 *         if all panes of the window are empty.
+	 */
+	private long fireWindow(TimeWindow window) throws Exception {
+		ACC accumulator = null;
+		long lastNonEmptyPaneStart = Long.MIN_VALUE;
+
+		for (long paneStart = window.getStart(); paneStart < window.getEnd(); paneStart += paneSize) {
+			paneState.setCurrentNamespace(new TimeWindow(paneStart, paneStart + paneSize));
+			final ACC paneAccumulator = paneState.getInternal();
+
+			if (paneAccumulator != null) {
+				// the accumulators of the panes are still needed by the following windows and the
+				// merge function may modify or return either of its arguments, so we only hand
+				// copies to it
+				final ACC paneAccumulatorCopy = accumulatorSerializer.copy(paneAccumulator);
+				accumulator = accumulator == null ?
+					paneAccumulatorCopy :
+					aggregateFunction.merge(accumulator, paneAccumulatorCopy);
+				lastNonEmptyPaneStart = paneStart;
+			}
+		}
+
+		if (accumulator != null) {
+			emitWindowContents(window, aggregateFunction.getResult(accumulator));
+		}
+
+		return lastNonEmptyPaneStart;
+	}
+
+	private void registerFiringTimer(TimeWindow window) {
+		if (windowAssigner.isEventTime()) {
+			triggerContext.registerEventTimeTimer(window.maxTimestamp());
+		} else {
+			triggerContext.registerProcessingTimeTimer(window.maxTimestamp());
+		}
+	}
+
+	private static long gcd(long a, long b) {
+		while (b != 0) {
+			final long remainder = a % b;
+			a = b;
+			b = remainder;
+		}
+		return a;
+	}
+
+	// ------------------------------------------------------------------------
+	// Getters for testing
+	// ------------------------------------------------------------------------
+
+	@VisibleForTesting
+	long getPaneSize() {
+		return paneSize;
+	}
+}
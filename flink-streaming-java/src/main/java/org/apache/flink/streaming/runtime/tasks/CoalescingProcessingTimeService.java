@@ -0,0 +1,351 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.streaming.runtime.tasks;
+
+import org.apache.flink.annotation.VisibleForTesting;
+
+import javax.annotation.Nonnull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * A {@link SystemProcessingTimeService} that does not schedule one task per registered timer, but
+ * keeps the timers in a queue and fires them in ticks of a fixed resolution.
+ *
+ * <p>The timestamp of every timer is rounded up to the next tick, and only the earliest tick is
+ * scheduled with the executor. When a tick fires, all timers that are due at that point are fired
+ * one after another within a single acquisition of the checkpoint lock. The timers are called
+ * with their own timestamp, but they fire up to one tick resolution later than requested.
+ *
+ * <p>Cancelled timers are not removed from the queue right away, because removing an arbitrary
+ * element from the queue takes linear time. They are skipped when they are due, and the queue is
+ * compacted once more than half of its timers are cancelled, which keeps cancelling a timer at
+ * amortized logarithmic cost.
+ *
+ * <p>Periodic tasks that are registered with {@link #scheduleAtFixedRate(ProcessingTimeCallback, long, long)}
+ * are not coalesced.
+ */
+public class CoalescingProcessingTimeService extends SystemProcessingTimeService {
+
+	/** The resolution of the ticks in milliseconds. */
+	private final long tickResolution;
+
+	/** The timers that did not fire yet, ordered by their timestamp. Guarded by itself. */
+	private final PriorityQueue<CoalescedTimer> timers;
+
+	/** The number of cancelled timers which are still in the queue. Guarded by the timers queue. */
+	private int numCancelledTimers;
+
+	/** The callback that fires the due timers when a tick is reached. */
+	private final ProcessingTimeCallback tickCallback;
+
+	/** The timestamp of the earliest scheduled tick, or {@link Long#MAX_VALUE} if none is scheduled. */
+	private long scheduledTick = Long.MAX_VALUE;
+
+	/** The future of the earliest scheduled tick, if any. */
+	private ScheduledFuture<?> scheduledTickFuture;
+
+	public CoalescingProcessingTimeService(
+			AsyncExceptionHandler failureHandler,
+			Object checkpointLock,
+			ThreadFactory threadFactory,
+			long tickResolution) {
+
+		super(failureHandler, checkpointLock, threadFactory);
+
+		checkArgument(tickResolution > 0, "The tick resolution must be positive.");
+		this.tickResolution = tickResolution;
+		this.timers = new PriorityQueue<>();
+		this.tickCallback = this::onTick;
+	}
+
+	/**
+	 * Registers a task to be executed no sooner than time {@code timestamp} and no later than one
+	 * tick resolution after it.
+	 *
+	 * @param timestamp Time when the task is to be enabled (in processing time)
+	 * @param target    The task to be executed
+	 * @return The future that represents the scheduled task. This always returns some future,
+	 *         even if the timer was shut down
+	 */
+	@Override
+	public ScheduledFuture<?> registerTimer(long timestamp, ProcessingTimeCallback target) {
+		if (isTerminated()) {
+			throw new IllegalStateException("Timer service is shut down");
+		}
+
+		final CoalescedTimer timer = new CoalescedTimer(timestamp, checkNotNull(target));
+		final long tick = getTick(timestamp);
+
+		synchronized (timers) {
+			timers.add(timer);
+			timer.inQueue = true;
+
+			if (tick < scheduledTick) {
+				scheduleTick(tick);
+			}
+		}
+
+		return timer;
+	}
+
+	@Override
+	public void quiesce() throws InterruptedException {
+		super.quiesce();
+		clearTimers();
+	}
+
+	@Override
+	public void shutdownService() {
+		super.shutdownService();
+		clearTimers();
+	}
+
+	/**
+	 * Returns the number of timers that neither fired nor were cancelled.
+	 */
+	@VisibleForTesting
+	int getNumTimers() {
+		synchronized (timers) {
+			return timers.size() - numCancelledTimers;
+		}
+	}
+
+	/**
+	 * Returns the number of timers in the queue, including the cancelled ones which were not
+	 * removed yet.
+	 */
+	@VisibleForTesting
+	int getQueueSize() {
+		synchronized (timers) {
+			return timers.size();
+		}
+	}
+
+	private void clearTimers() {
+		synchronized (timers) {
+			for (CoalescedTimer timer : timers) {
+				timer.inQueue = false;
+			}
+			timers.clear();
+			numCancelledTimers = 0;
+		}
+	}
+
+	/** Must be called while holding the lock of the timers queue. */
+	private CoalescedTimer pollTimer() {
+		final CoalescedTimer timer = timers.poll();
+		timer.inQueue = false;
+		if (timer.cancelledInQueue) {
+			numCancelledTimers--;
+		}
+		return timer;
+	}
+
+	/**
+	 * Marks the given cancelled timer for removal and compacts the queue if more than half of its
+	 * timers are cancelled. Must be called while holding the lock of the timers queue.
+	 */
+	private void onTimerCancelled(CoalescedTimer timer) {
+		if (!timer.inQueue || timer.cancelledInQueue) {
+			return;
+		}
+
+		// if this was the earliest timer, its tick still fires, but only reschedules the next one
+		timer.cancelledInQueue = true;
+		numCancelledTimers++;
+
+		if (numCancelledTimers * 2 > timers.size()) {
+			timers.removeIf(queuedTimer -> {
+				if (queuedTimer.cancelledInQueue) {
+					queuedTimer.inQueue = false;
+					return true;
+				}
+				return false;
+			});
+			numCancelledTimers = 0;
+		}
+	}
+
+	/**
+	 * Rounds the given timestamp up to the next tick. Timestamps that cannot be rounded up without
+	 * an overflow are rounded to {@link Long#MAX_VALUE}.
+	 */
+	private long getTick(long timestamp) {
+		final long remainder = Math.floorMod(timestamp, tickResolution);
+		if (remainder == 0) {
+			return timestamp;
+		}
+
+		final long floor = timestamp - remainder;
+		return floor > Long.MAX_VALUE - tickResolution ? Long.MAX_VALUE : floor + tickResolution;
+	}
+
+	/** Must be called while holding the lock of the timers queue. */
+	private void scheduleTick(long tick) {
+		if (scheduledTickFuture != null) {
+			scheduledTickFuture.cancel(false);
+		}
+
+		scheduledTick = tick;
+		scheduledTickFuture = super.registerTimer(tick, tickCallback);
+	}
+
+	/**
+	 * Fires all timers that are due. This is called by the executor while holding the checkpoint lock.
+	 */
+	private void onTick(long tick) throws Exception {
+		// the current time is at least one millisecond past the tick, see registerTimer()
+		final long now = getCurrentProcessingTime();
+		final List<CoalescedTimer> dueTimers = new ArrayList<>();
+
+		synchronized (timers) {
+			// a tick that was replaced by an earlier one may still fire, in which case it only
+			// fires the due timers, but leaves the scheduling to the current tick
+			if (tick == scheduledTick) {
+				scheduledTick = Long.MAX_VALUE;
+				scheduledTickFuture = null;
+			}
+
+			CoalescedTimer timer;
+			while ((timer = timers.peek()) != null && timer.timestamp < now) {
+				pollTimer();
+				if (!timer.cancelledInQueue) {
+					dueTimers.add(timer);
+				}
+			}
+		}
+
+		try {
+			for (CoalescedTimer timer : dueTimers) {
+				timer.fire();
+			}
+		} finally {
+			synchronized (timers) {
+				// cancelled timers must not keep the next tick early
+				CoalescedTimer head;
+				while ((head = timers.peek()) != null && head.cancelledInQueue) {
+					pollTimer();
+				}
+
+				if (head != null && !isTerminated()) {
+					final long nextTick = getTick(head.timestamp);
+					if (nextTick < scheduledTick) {
+						scheduleTick(nextTick);
+					}
+				}
+			}
+		}
+	}
+
+	// ------------------------------------------------------------------------
+
+	/**
+	 * A timer in the queue, which is also the future that is returned to the caller. Cancelled
+	 * timers stay in the queue until they are due or the queue is compacted.
+	 */
+	private final class CoalescedTimer implements ScheduledFuture<Object> {
+
+		private final long timestamp;
+
+		private final ProcessingTimeCallback target;
+
+		private final CompletableFuture<Object> completion;
+
+		/** Whether the timer is in the queue. Guarded by the timers queue. */
+		private boolean inQueue;
+
+		/** Whether the timer was cancelled while it was in the queue. Guarded by the timers queue. */
+		private boolean cancelledInQueue;
+
+		private CoalescedTimer(long timestamp, ProcessingTimeCallback target) {
+			this.timestamp = timestamp;
+			this.target = target;
+			this.completion = new CompletableFuture<>();
+		}
+
+		private void fire() throws Exception {
+			if (!completion.isDone()) {
+				try {
+					target.onProcessingTime(timestamp);
+				} finally {
+					completion.complete(null);
+				}
+			}
+		}
+
+		@Override
+		public long getDelay(@Nonnull TimeUnit unit) {
+			return unit.convert(timestamp + 1 - getCurrentProcessingTime(), TimeUnit.MILLISECONDS);
+		}
+
+		@Override
+		public int compareTo(@Nonnull Delayed o) {
+			if (o instanceof CoalescedTimer) {
+				return Long.compare(timestamp, ((CoalescedTimer) o).timestamp);
+			}
+			return Long.compare(getDelay(TimeUnit.MILLISECONDS), o.getDelay(TimeUnit.MILLISECONDS));
+		}
+
+		@Override
+		public boolean cancel(boolean mayInterruptIfRunning) {
+			// unlike cancel(), this only returns true for the call that actually cancels the timer
+			final boolean cancelled = completion.completeExceptionally(new CancellationException());
+			if (cancelled) {
+				synchronized (timers) {
+					onTimerCancelled(this);
+				}
+			}
+			return cancelled;
+		}
+
+		@Override
+		public boolean isCancelled() {
+			return completion.isCancelled();
+		}
+
+		@Override
+		public boolean isDone() {
+			return completion.isDone();
+		}
+
+		@Override
+		public Object get() throws InterruptedException, ExecutionException {
+			return completion.get();
+		}
+
+		@Override
+		public Object get(long timeout, @Nonnull TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+			return completion.get(timeout, unit);
+		}
+	}
+}
@@ -110,6 +110,11 @@ public class SourceStreamTask<OUT, SRC extends SourceFunction<OUT>, OP extends S
 	//  Checkpointing
 	// ------------------------------------------------------------------------
 
+	@Override
+	protected void advanceToEndOfEventTime() {
+		headOperator.advanceToEndOfEventTime();
+	}
+
 	@Override
 	public boolean triggerCheckpoint(CheckpointMetaData checkpointMetaData, CheckpointOptions checkpointOptions) throws Exception {
 		if (!externallyInducedCheckpoints) {
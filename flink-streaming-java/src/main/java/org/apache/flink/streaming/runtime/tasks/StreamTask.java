@@ -26,6 +26,7 @@ import org.apache.flink.core.fs.FileSystemSafetyNet;
 import org.apache.flink.runtime.checkpoint.CheckpointMetaData;
 import org.apache.flink.runtime.checkpoint.CheckpointMetrics;
 import org.apache.flink.runtime.checkpoint.CheckpointOptions;
+import org.apache.flink.runtime.checkpoint.CheckpointType;
 import org.apache.flink.runtime.checkpoint.TaskStateSnapshot;
 import org.apache.flink.runtime.execution.CancelTaskException;
 import org.apache.flink.runtime.execution.Environment;
@@ -261,7 +262,15 @@ public abstract class StreamTask<OUT, OP extends StreamOperator<OUT>>
 				ThreadFactory timerThreadFactory = new DispatcherThreadFactory(TRIGGER_THREAD_GROUP,
 					"Time Trigger for " + getName(), getUserCodeClassLoader());
 
-				timerService = new SystemProcessingTimeService(this, getCheckpointLock(), timerThreadFactory);
+				final long timerResolution = getEnvironment().getTaskManagerInfo().getConfiguration()
+					.getLong(TaskManagerOptions.TASK_PROCESSING_TIME_TIMER_RESOLUTION);
+
+				if (timerResolution > 0) {
+					timerService = new CoalescingProcessingTimeService(
+						this, getCheckpointLock(), timerThreadFactory, timerResolution);
+				} else {
+					timerService = new SystemProcessingTimeService(this, getCheckpointLock(), timerThreadFactory);
+				}
 			}
 
 			operatorChain = new OperatorChain<>(this, streamRecordWriters);
@@ -556,10 +565,15 @@ public abstract class StreamTask<OUT, OP extends StreamOperator<OUT>>
 	@Override
 	public boolean triggerCheckpoint(CheckpointMetaData checkpointMetaData, CheckpointOptions checkpointOptions) throws Exception {
 		try {
-			// No alignment if we inject a checkpoint
+			// No alignment if we inject a checkpoint, the barriers start here
+			final long startDelayNanos =
+				Math.max(0L, System.currentTimeMillis() - checkpointMetaData.getTimestamp()) * 1_000_000;
+
 			CheckpointMetrics checkpointMetrics = new CheckpointMetrics()
 					.setBytesBufferedInAlignment(0L)
-					.setAlignmentDurationNanos(0L);
+					.setAlignmentDurationNanos(0L)
+					.setCheckpointStartDelayNanos(startDelayNanos)
+					.setBarrierPropagationNanos(startDelayNanos);
 
 			return performCheckpoint(checkpointMetaData, checkpointOptions, checkpointMetrics);
 		}
@@ -626,6 +640,12 @@ public abstract class StreamTask<OUT, OP extends StreamOperator<OUT>>
 				// We generally try to emit the checkpoint barrier as soon as possible to not affect downstream
 				// checkpoint alignments
 
+				// Step (0): Before a savepoint which terminates the job, sources advance to the end of event time,
+				//           so that all event time timers fire and the savepoint holds the final state
+				if (checkpointOptions.getCheckpointType() == CheckpointType.TERMINATING_SAVEPOINT) {
+					advanceToEndOfEventTime();
+				}
+
 				// Step (1): Prepare the checkpoint, allow operators to do some pre-barrier work.
 				//           The pre-barrier work should be nothing or minimal in the common case.
 				operatorChain.prepareSnapshotPreBarrier(checkpointMetaData.getCheckpointId());
@@ -669,6 +689,13 @@ public abstract class StreamTask<OUT, OP extends StreamOperator<OUT>>
 		}
 	}
 
+	/**
+	 * Advances the task to the end of event time before a savepoint which terminates the job.
+	 * Only source tasks advance event time, all other tasks receive the final watermark from
+	 * their inputs before the checkpoint barrier. The method is called under the checkpoint lock.
+	 */
+	protected void advanceToEndOfEventTime() throws Exception {}
+
 	public ExecutorService getAsyncOperationsThreadPool() {
 		return asyncOperationsThreadPool;
 	}
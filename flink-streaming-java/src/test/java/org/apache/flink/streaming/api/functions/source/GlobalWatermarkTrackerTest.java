@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.streaming.api.functions.source;
+
+import org.apache.flink.runtime.taskexecutor.TestGlobalAggregateManager;
+import org.apache.flink.util.TestLogger;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for the {@link GlobalWatermarkTracker}.
+ */
+public class GlobalWatermarkTrackerTest extends TestLogger {
+
+	@Test
+	public void testMinimumWatermark() throws Exception {
+		TestGlobalAggregateManager aggregateManager = new TestGlobalAggregateManager();
+
+		GlobalWatermarkTracker tracker1 = new GlobalWatermarkTracker(aggregateManager, "group", "1", 60_000L);
+		GlobalWatermarkTracker tracker2 = new GlobalWatermarkTracker(aggregateManager, "group", "2", 60_000L);
+		GlobalWatermarkTracker otherGroupTracker = new GlobalWatermarkTracker(aggregateManager, "other", "1", 60_000L);
+
+		assertEquals(10L, (long) tracker1.updateWatermark(10L).get());
+		assertEquals(10L, (long) tracker2.updateWatermark(20L).get());
+		assertEquals(20L, (long) tracker1.updateWatermark(30L).get());
+
+		// a subtask without inputs does not hold back the others
+		assertEquals(30L, (long) tracker2.updateWatermark(Long.MAX_VALUE).get());
+
+		assertEquals(5L, (long) otherGroupTracker.updateWatermark(5L).get());
+		assertEquals(40L, (long) tracker1.updateWatermark(40L).get());
+	}
+
+	@Test
+	public void testExpiredWatermark() throws Exception {
+		TestGlobalAggregateManager aggregateManager = new TestGlobalAggregateManager();
+
+		GlobalWatermarkTracker tracker1 = new GlobalWatermarkTracker(aggregateManager, "group", "1", 1L);
+		GlobalWatermarkTracker tracker2 = new GlobalWatermarkTracker(aggregateManager, "group", "2", 1L);
+
+		tracker1.updateWatermark(10L).get();
+
+		// wait until the watermark of the first subtask has expired
+		Thread.sleep(10L);
+
+		assertEquals(20L, (long) tracker2.updateWatermark(20L).get());
+	}
+}
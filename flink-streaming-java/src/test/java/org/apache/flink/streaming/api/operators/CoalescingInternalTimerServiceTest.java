@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.streaming.api.operators;
+
+import org.apache.flink.util.TestLogger;
+
+import org.junit.Test;
+
+import java.util.Collection;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for {@link CoalescingInternalTimerService}.
+ */
+public class CoalescingInternalTimerServiceTest extends TestLogger {
+
+	@Test
+	public void testCoalesce() {
+		assertEquals(0L, CoalescingInternalTimerService.coalesce(0L, 10L));
+		assertEquals(10L, CoalescingInternalTimerService.coalesce(1L, 10L));
+		assertEquals(10L, CoalescingInternalTimerService.coalesce(10L, 10L));
+		assertEquals(20L, CoalescingInternalTimerService.coalesce(11L, 10L));
+		assertEquals(-10L, CoalescingInternalTimerService.coalesce(-15L, 10L));
+		assertEquals(Long.MAX_VALUE, CoalescingInternalTimerService.coalesce(Long.MAX_VALUE, 10L));
+		assertEquals(Long.MAX_VALUE, CoalescingInternalTimerService.coalesce(Long.MAX_VALUE - 1, 10L));
+		assertEquals(Long.MIN_VALUE, CoalescingInternalTimerService.coalesce(Long.MIN_VALUE, 8L));
+	}
+
+	@Test
+	public void testTimersAreDeduplicated() throws Exception {
+		TestKeyContext keyContext = new TestKeyContext();
+		TestInternalTimerService<String, String> timerService = new TestInternalTimerService<>(keyContext);
+		CoalescingInternalTimerService<String> coalescingTimerService =
+			new CoalescingInternalTimerService<>(timerService, 10L);
+
+		keyContext.setCurrentKey("key1");
+		coalescingTimerService.registerEventTimeTimer("ns", 1L);
+		coalescingTimerService.registerEventTimeTimer("ns", 9L);
+		coalescingTimerService.registerEventTimeTimer("ns", 11L);
+		coalescingTimerService.registerProcessingTimeTimer("ns", 5L);
+		coalescingTimerService.registerProcessingTimeTimer("ns", 10L);
+
+		keyContext.setCurrentKey("key2");
+		coalescingTimerService.registerEventTimeTimer("ns", 3L);
+		coalescingTimerService.registerEventTimeTimer("ns", 15L);
+		coalescingTimerService.deleteEventTimeTimer("ns", 12L);
+
+		Collection<TestInternalTimerService.Timer<String, String>> eventTimeTimers = timerService.advanceWatermark(9L);
+		assertEquals(0, eventTimeTimers.size());
+
+		eventTimeTimers = timerService.advanceWatermark(20L);
+		assertEquals(3, eventTimeTimers.size());
+		assertEquals(3, eventTimeTimers.stream().filter(timer -> timer.getTimestamp() == 10L || timer.getTimestamp() == 20L).count());
+
+		Collection<TestInternalTimerService.Timer<String, String>> processingTimeTimers = timerService.advanceProcessingTime(10L);
+		assertEquals(1, processingTimeTimers.size());
+		assertEquals(10L, processingTimeTimers.iterator().next().getTimestamp());
+	}
+
+	private static class TestKeyContext implements KeyContext {
+
+		private Object key;
+
+		@Override
+		public void setCurrentKey(Object key) {
+			this.key = key;
+		}
+
+		@Override
+		public Object getCurrentKey() {
+			return key;
+		}
+	}
+}
@@ -23,6 +23,7 @@ import org.apache.flink.api.common.typeutils.base.IntSerializer;
 import org.apache.flink.api.common.typeutils.base.StringSerializer;
 import org.apache.flink.core.memory.DataInputViewStreamWrapper;
 import org.apache.flink.core.memory.DataOutputViewStreamWrapper;
+import org.apache.flink.metrics.SimpleCounter;
 import org.apache.flink.runtime.state.KeyGroupRange;
 import org.apache.flink.runtime.state.KeyGroupRangeAssignment;
 import org.apache.flink.runtime.state.KeyGroupedInternalPriorityQueue;
@@ -91,6 +92,7 @@ public class InternalTimerServiceImplTest {
 
 		InternalTimerServiceImpl<Integer, String> service = createInternalTimerService(
 			testKeyGroupList,
+			maxParallelism,
 			keyContext,
 			processingTimeService,
 			IntSerializer.INSTANCE,
@@ -119,6 +121,7 @@ public class InternalTimerServiceImplTest {
 
 		InternalTimerServiceImpl<Integer, String> timerService = createInternalTimerService(
 			keyGroupRange,
+			totalNoOfKeyGroups,
 			keyContext,
 			new TestProcessingTimeService(),
 			IntSerializer.INSTANCE,
@@ -356,6 +359,142 @@ public class InternalTimerServiceImplTest {
 		assertEquals(42, timerService.currentWatermark());
 	}
 
+	@Test
+	public void testDeleteTimersForCurrentKey() throws Exception {
+		@SuppressWarnings("unchecked")
+		Triggerable<Integer, String> mockTriggerable = mock(Triggerable.class);
+
+		TestKeyContext keyContext = new TestKeyContext();
+		TestProcessingTimeService processingTimeService = new TestProcessingTimeService();
+		InternalTimerServiceImpl<Integer, String> timerService =
+				createAndStartInternalTimerService(mockTriggerable, keyContext, processingTimeService, testKeyGroupRange, createQueueFactory());
+
+		// get two different keys
+		int key1 = getKeyInKeyGroupRange(testKeyGroupRange, maxParallelism);
+		int key2 = getKeyInKeyGroupRange(testKeyGroupRange, maxParallelism);
+		while (key2 == key1) {
+			key2 = getKeyInKeyGroupRange(testKeyGroupRange, maxParallelism);
+		}
+
+		keyContext.setCurrentKey(key1);
+
+		timerService.registerEventTimeTimer("ciao", 10);
+		timerService.registerEventTimeTimer("hello", 20);
+		timerService.registerProcessingTimeTimer("ciao", 10);
+
+		keyContext.setCurrentKey(key2);
+
+		timerService.registerEventTimeTimer("ciao", 10);
+		timerService.registerProcessingTimeTimer("hello", 20);
+
+		keyContext.setCurrentKey(key1);
+		timerService.deleteTimersForCurrentKey();
+
+		assertEquals(1, timerService.numEventTimeTimers());
+		assertEquals(1, timerService.numProcessingTimeTimers());
+
+		timerService.advanceWatermark(20);
+		processingTimeService.setCurrentTime(20);
+
+		verify(mockTriggerable, times(1)).onEventTime(anyInternalTimer());
+		verify(mockTriggerable, times(1)).onEventTime(eq(new TimerHeapInternalTimer<>(10, key2, "ciao")));
+		verify(mockTriggerable, times(1)).onProcessingTime(anyInternalTimer());
+		verify(mockTriggerable, times(1)).onProcessingTime(eq(new TimerHeapInternalTimer<>(20, key2, "hello")));
+	}
+
+	@Test
+	public void testDeleteTimersBefore() throws Exception {
+		@SuppressWarnings("unchecked")
+		Triggerable<Integer, String> mockTriggerable = mock(Triggerable.class);
+
+		TestKeyContext keyContext = new TestKeyContext();
+		TestProcessingTimeService processingTimeService = new TestProcessingTimeService();
+		InternalTimerServiceImpl<Integer, String> timerService =
+				createAndStartInternalTimerService(mockTriggerable, keyContext, processingTimeService, testKeyGroupRange, createQueueFactory());
+
+		int key = getKeyInKeyGroupRange(testKeyGroupRange, maxParallelism);
+		keyContext.setCurrentKey(key);
+
+		timerService.registerEventTimeTimer("ciao", 10);
+		timerService.registerEventTimeTimer("hello", 20);
+		timerService.registerEventTimeTimer("ciao", 30);
+		timerService.registerProcessingTimeTimer("ciao", 10);
+		timerService.registerProcessingTimeTimer("hello", 20);
+
+		timerService.deleteEventTimeTimersBefore(30);
+		timerService.deleteProcessingTimeTimersBefore(20);
+
+		assertEquals(1, timerService.numEventTimeTimers());
+		assertEquals(1, timerService.numProcessingTimeTimers());
+
+		timerService.advanceWatermark(30);
+
+		verify(mockTriggerable, times(1)).onEventTime(anyInternalTimer());
+		verify(mockTriggerable, times(1)).onEventTime(eq(new TimerHeapInternalTimer<>(30, key, "ciao")));
+
+		// the physical timer of the deleted head fires without any effect and moves on to the next timer
+		processingTimeService.setCurrentTime(10);
+
+		verify(mockTriggerable, never()).onProcessingTime(anyInternalTimer());
+		assertThat(processingTimeService.getActiveTimerTimestamps(), containsInAnyOrder(20L));
+
+		processingTimeService.setCurrentTime(20);
+
+		verify(mockTriggerable, times(1)).onProcessingTime(eq(new TimerHeapInternalTimer<>(20, key, "hello")));
+	}
+
+	@Test
+	public void testTimerMetrics() throws Exception {
+		@SuppressWarnings("unchecked")
+		Triggerable<Integer, String> mockTriggerable = mock(Triggerable.class);
+
+		TestKeyContext keyContext = new TestKeyContext();
+		TestProcessingTimeService processingTimeService = new TestProcessingTimeService();
+
+		SimpleCounter numTimersRegistered = new SimpleCounter();
+		SimpleCounter numTimersDeleted = new SimpleCounter();
+		SimpleCounter numTimersFired = new SimpleCounter();
+
+		TimerSerializer<Integer, String> timerSerializer =
+			new TimerSerializer<>(IntSerializer.INSTANCE, StringSerializer.INSTANCE);
+		InternalTimerServiceImpl<Integer, String> timerService = new InternalTimerServiceImpl<>(
+			testKeyGroupRange,
+			maxParallelism,
+			keyContext,
+			processingTimeService,
+			createTimerQueue("__test_processing_timers", timerSerializer, createQueueFactory()),
+			createTimerQueue("__test_event_timers", timerSerializer, createQueueFactory()),
+			numTimersRegistered,
+			numTimersDeleted,
+			numTimersFired);
+		timerService.startTimerService(IntSerializer.INSTANCE, StringSerializer.INSTANCE, mockTriggerable);
+
+		keyContext.setCurrentKey(getKeyInKeyGroupRange(testKeyGroupRange, maxParallelism));
+
+		timerService.registerEventTimeTimer("ciao", 10);
+		timerService.registerEventTimeTimer("hello", 20);
+		timerService.registerEventTimeTimer("ciao", 30);
+		timerService.registerProcessingTimeTimer("ciao", 10);
+
+		timerService.deleteEventTimeTimer("hello", 20);
+		timerService.deleteEventTimeTimersBefore(20);
+		timerService.advanceWatermark(30);
+		processingTimeService.setCurrentTime(10);
+
+		assertEquals(4, numTimersRegistered.getCount());
+		assertEquals(2, numTimersDeleted.getCount());
+		assertEquals(2, numTimersFired.getCount());
+
+		// single registrations and deletes are counted per call
+		timerService.registerEventTimeTimer("ciao", 40);
+		timerService.registerEventTimeTimer("ciao", 40);
+		timerService.deleteEventTimeTimer("hello", 40);
+
+		assertEquals(6, numTimersRegistered.getCount());
+		assertEquals(3, numTimersDeleted.getCount());
+		assertEquals(1, timerService.numEventTimeTimers());
+	}
+
 	/**
 	 * This also verifies that we don't have leakage between keys/namespaces.
 	 */
@@ -806,7 +945,7 @@ public class InternalTimerServiceImplTest {
 		return result;
 	}
 
-	private static InternalTimerServiceImpl<Integer, String> createAndStartInternalTimerService(
+	private InternalTimerServiceImpl<Integer, String> createAndStartInternalTimerService(
 			Triggerable<Integer, String> triggerable,
 			KeyContext keyContext,
 			ProcessingTimeService processingTimeService,
@@ -814,6 +953,7 @@ public class InternalTimerServiceImplTest {
 			PriorityQueueSetFactory priorityQueueSetFactory) {
 		InternalTimerServiceImpl<Integer, String> service = createInternalTimerService(
 			keyGroupList,
+			maxParallelism,
 			keyContext,
 			processingTimeService,
 			IntSerializer.INSTANCE,
@@ -824,7 +964,7 @@ public class InternalTimerServiceImplTest {
 		return service;
 	}
 
-	private static InternalTimerServiceImpl<Integer, String> restoreTimerService(
+	private InternalTimerServiceImpl<Integer, String> restoreTimerService(
 			Map<Integer, byte[]> state,
 			int snapshotVersion,
 			Triggerable<Integer, String> triggerable,
@@ -836,6 +976,7 @@ public class InternalTimerServiceImplTest {
 		// create an empty service
 		InternalTimerServiceImpl<Integer, String> service = createInternalTimerService(
 			keyGroupsList,
+			maxParallelism,
 			keyContext,
 			processingTimeService,
 			IntSerializer.INSTANCE,
@@ -888,6 +1029,7 @@ public class InternalTimerServiceImplTest {
 
 	private static <K, N> InternalTimerServiceImpl<K, N> createInternalTimerService(
 		KeyGroupRange keyGroupsList,
+		int totalKeyGroups,
 		KeyContext keyContext,
 		ProcessingTimeService processingTimeService,
 		TypeSerializer<K> keySerializer,
@@ -898,10 +1040,14 @@ public class InternalTimerServiceImplTest {
 
 		return new InternalTimerServiceImpl<>(
 			keyGroupsList,
+			totalKeyGroups,
 			keyContext,
 			processingTimeService,
 			createTimerQueue("__test_processing_timers", timerSerializer, priorityQueueSetFactory),
-			createTimerQueue("__test_event_timers", timerSerializer, priorityQueueSetFactory));
+			createTimerQueue("__test_event_timers", timerSerializer, priorityQueueSetFactory),
+			new SimpleCounter(),
+			new SimpleCounter(),
+			new SimpleCounter());
 	}
 
 	private static <K, N> KeyGroupedInternalPriorityQueue<TimerHeapInternalTimer<K, N>> createTimerQueue(
@@ -0,0 +1,408 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.streaming.api.operators;
+
+import org.apache.flink.api.common.functions.AggregateFunction;
+import org.apache.flink.api.common.typeinfo.BasicTypeInfo;
+import org.apache.flink.api.common.typeutils.base.IntSerializer;
+import org.apache.flink.api.java.functions.KeySelector;
+import org.apache.flink.api.java.tuple.Tuple2;
+import org.apache.flink.streaming.api.datastream.DataStream;
+import org.apache.flink.streaming.api.datastream.SingleOutputStreamOperator;
+import org.apache.flink.streaming.api.environment.StreamExecutionEnvironment;
+import org.apache.flink.streaming.api.transformations.OneInputTransformation;
+import org.apache.flink.streaming.api.watermark.Watermark;
+import org.apache.flink.streaming.api.windowing.assigners.TumblingEventTimeWindows;
+import org.apache.flink.streaming.api.windowing.time.Time;
+import org.apache.flink.streaming.runtime.operators.windowing.PanedWindowOperator;
+import org.apache.flink.streaming.runtime.operators.windowing.WindowOperator;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.streaming.util.KeyedOneInputStreamOperatorTestHarness;
+import org.apache.flink.streaming.util.OneInputStreamOperatorTestHarness;
+import org.apache.flink.streaming.util.TestHarnessUtil;
+import org.apache.flink.util.TestLogger;
+
+import org.junit.Test;
+
+import java.util.Comparator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link LocalAggregateOperator}.
+ */
+public class LocalAggregateOperatorTest extends TestLogger {
+
+	@Test
+	public void testFlushOnMaxNumKeys() throws Exception {
+		LocalAggregateOperator<Integer, Integer, Long> operator = createOperator(2);
+		OneInputStreamOperatorTestHarness<Integer, Tuple2<Integer, Long>> testHarness =
+			new OneInputStreamOperatorTestHarness<>(operator);
+
+		testHarness.open();
+
+		testHarness.processElement(new StreamRecord<>(1, 3L));
+		testHarness.processElement(new StreamRecord<>(1, 1L));
+		testHarness.processElement(new StreamRecord<>(11, 2L));
+
+		assertTrue(testHarness.getOutput().isEmpty());
+		assertEquals(1, operator.getNumKeys());
+
+		// the second key flushes the accumulators of both keys
+		testHarness.processElement(new StreamRecord<>(2, 4L));
+		assertEquals(0, operator.getNumKeys());
+
+		ConcurrentLinkedQueue<Object> expectedOutput = new ConcurrentLinkedQueue<>();
+		// the partial accumulators have the largest timestamp of their elements
+		expectedOutput.add(new StreamRecord<>(Tuple2.of(1, 13L), 3L));
+		expectedOutput.add(new StreamRecord<>(Tuple2.of(2, 2L), 4L));
+
+		TestHarnessUtil.assertOutputEqualsSorted(
+			"Output was not correct.", expectedOutput, testHarness.getOutput(), new PartialAggregateComparator());
+
+		testHarness.close();
+	}
+
+	@Test
+	public void testFlushBeforeWatermarkAndOnClose() throws Exception {
+		LocalAggregateOperator<Integer, Integer, Long> operator = createOperator(100);
+		OneInputStreamOperatorTestHarness<Integer, Tuple2<Integer, Long>> testHarness =
+			new OneInputStreamOperatorTestHarness<>(operator);
+
+		testHarness.open();
+
+		testHarness.processElement(new StreamRecord<>(1, 1L));
+		testHarness.processElement(new StreamRecord<>(11, 2L));
+		testHarness.processWatermark(new Watermark(2L));
+		testHarness.processElement(new StreamRecord<>(21, 3L));
+		testHarness.close();
+
+		ConcurrentLinkedQueue<Object> expectedOutput = new ConcurrentLinkedQueue<>();
+		expectedOutput.add(new StreamRecord<>(Tuple2.of(1, 12L), 2L));
+		expectedOutput.add(new Watermark(2L));
+		expectedOutput.add(new StreamRecord<>(Tuple2.of(1, 21L), 3L));
+
+		TestHarnessUtil.assertOutputEquals("Output was not correct.", expectedOutput, testHarness.getOutput());
+	}
+
+	@Test
+	public void testFlushBeforeSnapshot() throws Exception {
+		LocalAggregateOperator<Integer, Integer, Long> operator = createOperator(100);
+		OneInputStreamOperatorTestHarness<Integer, Tuple2<Integer, Long>> testHarness =
+			new OneInputStreamOperatorTestHarness<>(operator);
+
+		testHarness.open();
+
+		testHarness.processElement(new StreamRecord<>(1, 1L));
+		testHarness.processElement(new StreamRecord<>(11, 2L));
+
+		operator.prepareSnapshotPreBarrier(1L);
+		assertEquals(0, operator.getNumKeys());
+
+		ConcurrentLinkedQueue<Object> expectedOutput = new ConcurrentLinkedQueue<>();
+		expectedOutput.add(new StreamRecord<>(Tuple2.of(1, 12L), 2L));
+
+		TestHarnessUtil.assertOutputEquals("Output was not correct.", expectedOutput, testHarness.getOutput());
+
+		testHarness.close();
+	}
+
+	@Test
+	public void testFlushAfterMaxLatency() throws Exception {
+		LocalAggregateOperator<Integer, Integer, Long> operator = new LocalAggregateOperator<>(
+			new SumAggregator(), new LastDigitKeySelector(), IntSerializer.INSTANCE, null, 100, 10L);
+		OneInputStreamOperatorTestHarness<Integer, Tuple2<Integer, Long>> testHarness =
+			new OneInputStreamOperatorTestHarness<>(operator);
+
+		testHarness.setProcessingTime(0L);
+		testHarness.open();
+
+		testHarness.processElement(new StreamRecord<>(1, 1L));
+		testHarness.setProcessingTime(5L);
+		testHarness.processElement(new StreamRecord<>(2, 2L));
+
+		// the latency is measured from the first element of the accumulators
+		testHarness.setProcessingTime(9L);
+		assertEquals(2, operator.getNumKeys());
+
+		testHarness.setProcessingTime(10L);
+		assertEquals(0, operator.getNumKeys());
+
+		ConcurrentLinkedQueue<Object> expectedOutput = new ConcurrentLinkedQueue<>();
+		expectedOutput.add(new StreamRecord<>(Tuple2.of(1, 1L), 1L));
+		expectedOutput.add(new StreamRecord<>(Tuple2.of(2, 2L), 2L));
+
+		TestHarnessUtil.assertOutputEqualsSorted(
+			"Output was not correct.", expectedOutput, testHarness.getOutput(), new PartialAggregateComparator());
+		testHarness.getOutput().clear();
+
+		// a flush by a watermark cancels the timer, and the next element registers a new one
+		testHarness.setProcessingTime(15L);
+		testHarness.processElement(new StreamRecord<>(11, 3L));
+		testHarness.processWatermark(new Watermark(3L));
+
+		testHarness.setProcessingTime(20L);
+		testHarness.processElement(new StreamRecord<>(21, 4L));
+
+		testHarness.setProcessingTime(25L);
+		assertEquals(1, operator.getNumKeys());
+
+		testHarness.setProcessingTime(30L);
+		assertEquals(0, operator.getNumKeys());
+
+		expectedOutput.clear();
+		expectedOutput.add(new StreamRecord<>(Tuple2.of(1, 11L), 3L));
+		expectedOutput.add(new Watermark(3L));
+		expectedOutput.add(new StreamRecord<>(Tuple2.of(1, 21L), 4L));
+
+		TestHarnessUtil.assertOutputEquals("Output was not correct.", expectedOutput, testHarness.getOutput());
+
+		testHarness.close();
+	}
+
+	@Test
+	public void testAccumulatorsPerWindow() throws Exception {
+		LocalAggregateOperator<Integer, Integer, Long> operator = new LocalAggregateOperator<>(
+			new SumAggregator(), new LastDigitKeySelector(), IntSerializer.INSTANCE, TUMBLING_WINDOWS, 100);
+		OneInputStreamOperatorTestHarness<Integer, Tuple2<Integer, Long>> testHarness =
+			new OneInputStreamOperatorTestHarness<>(operator);
+
+		testHarness.open();
+
+		testHarness.processElement(new StreamRecord<>(1, 3L));
+		testHarness.processElement(new StreamRecord<>(11, 13L));
+		testHarness.processElement(new StreamRecord<>(21, 5L));
+		assertEquals(2, operator.getNumKeys());
+
+		testHarness.close();
+
+		ConcurrentLinkedQueue<Object> expectedOutput = new ConcurrentLinkedQueue<>();
+		// the elements of different windows are not added to the same accumulator
+		expectedOutput.add(new StreamRecord<>(Tuple2.of(1, 22L), 5L));
+		expectedOutput.add(new StreamRecord<>(Tuple2.of(1, 11L), 13L));
+
+		TestHarnessUtil.assertOutputEqualsSorted(
+			"Output was not correct.", expectedOutput, testHarness.getOutput(), new PartialAggregateTimestampComparator());
+	}
+
+	@Test
+	public void testMergeWithWindowOperator() throws Exception {
+		SingleOutputStreamOperator<Tuple2<Integer, Long>> partials = createWindowedLocalAggregate();
+		SingleOutputStreamOperator<Long> merged = partials
+			.keyBy(new PartialAggregateKeySelector())
+			.window(TUMBLING_WINDOWS)
+			.mergePartialAggregates(new SumAggregator());
+
+		OneInputStreamOperator<Tuple2<Integer, Long>, Long> mergeOperator = getOperator(merged);
+		assertTrue(mergeOperator instanceof WindowOperator);
+
+		verifyWindowedMerge(getOperator(partials), mergeOperator);
+	}
+
+	@Test
+	public void testMergeWithPanedWindowOperator() throws Exception {
+		SingleOutputStreamOperator<Tuple2<Integer, Long>> partials = createWindowedLocalAggregate();
+		SingleOutputStreamOperator<Long> merged = partials
+			.keyBy(new PartialAggregateKeySelector())
+			.window(TUMBLING_WINDOWS)
+			.enablePaneAggregation()
+			.mergePartialAggregates(new SumAggregator());
+
+		OneInputStreamOperator<Tuple2<Integer, Long>, Long> mergeOperator = getOperator(merged);
+		assertTrue(mergeOperator instanceof PanedWindowOperator);
+
+		verifyWindowedMerge(getOperator(partials), mergeOperator);
+	}
+
+	@Test
+	public void testMergeWithKeyedStream() throws Exception {
+		StreamExecutionEnvironment env = StreamExecutionEnvironment.getExecutionEnvironment();
+		SingleOutputStreamOperator<Tuple2<Integer, Long>> partials = env.fromElements(1, 2)
+			.localAggregate(new LastDigitKeySelector(), new SumAggregator(), 100);
+		SingleOutputStreamOperator<Long> merged = partials
+			.keyBy(new PartialAggregateKeySelector())
+			.mergePartialAggregates(new SumAggregator());
+
+		OneInputStreamOperator<Tuple2<Integer, Long>, Long> mergeOperator = getOperator(merged);
+		assertTrue(mergeOperator instanceof StreamGroupedAggregate);
+
+		KeyedOneInputStreamOperatorTestHarness<Integer, Tuple2<Integer, Long>, Long> testHarness =
+			new KeyedOneInputStreamOperatorTestHarness<>(mergeOperator, new PartialAggregateKeySelector(), BasicTypeInfo.INT_TYPE_INFO);
+
+		testHarness.open();
+
+		testHarness.processElement(new StreamRecord<>(Tuple2.of(1, 12L), 1L));
+		testHarness.processElement(new StreamRecord<>(Tuple2.of(2, 2L), 2L));
+		testHarness.processElement(new StreamRecord<>(Tuple2.of(1, 21L), 3L));
+
+		ConcurrentLinkedQueue<Object> expectedOutput = new ConcurrentLinkedQueue<>();
+		expectedOutput.add(new StreamRecord<>(12L, 1L));
+		expectedOutput.add(new StreamRecord<>(2L, 2L));
+		expectedOutput.add(new StreamRecord<>(33L, 3L));
+
+		TestHarnessUtil.assertOutputEquals("Output was not correct.", expectedOutput, testHarness.getOutput());
+
+		testHarness.close();
+	}
+
+	// ------------------------------------------------------------------------
+
+	private static final TumblingEventTimeWindows TUMBLING_WINDOWS = TumblingEventTimeWindows.of(Time.milliseconds(10));
+
+	private static LocalAggregateOperator<Integer, Integer, Long> createOperator(int maxNumKeys) {
+		return new LocalAggregateOperator<>(new SumAggregator(), new LastDigitKeySelector(), IntSerializer.INSTANCE, maxNumKeys);
+	}
+
+	private static SingleOutputStreamOperator<Tuple2<Integer, Long>> createWindowedLocalAggregate() {
+		StreamExecutionEnvironment env = StreamExecutionEnvironment.getExecutionEnvironment();
+		return env.fromElements(1, 2).localAggregate(new LastDigitKeySelector(), TUMBLING_WINDOWS, new SumAggregator(), 100);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <IN, OUT> OneInputStreamOperator<IN, OUT> getOperator(DataStream<OUT> stream) {
+		return ((OneInputTransformation<IN, OUT>) stream.getTransformation()).getOperator();
+	}
+
+	/**
+	 * Runs the elements through the local aggregation and the window operation that merges the
+	 * partial accumulators, and verifies the results of the windows.
+	 */
+	private static void verifyWindowedMerge(
+			OneInputStreamOperator<Integer, Tuple2<Integer, Long>> localOperator,
+			OneInputStreamOperator<Tuple2<Integer, Long>, Long> mergeOperator) throws Exception {
+
+		assertTrue(localOperator instanceof LocalAggregateOperator);
+
+		OneInputStreamOperatorTestHarness<Integer, Tuple2<Integer, Long>> localHarness =
+			new OneInputStreamOperatorTestHarness<>(localOperator);
+		localHarness.open();
+
+		localHarness.processElement(new StreamRecord<>(1, 1L));
+		localHarness.processElement(new StreamRecord<>(11, 2L));
+		localHarness.processElement(new StreamRecord<>(2, 3L));
+		localHarness.processWatermark(new Watermark(5L));
+		localHarness.processElement(new StreamRecord<>(21, 4L));
+		localHarness.processElement(new StreamRecord<>(21, 12L));
+		localHarness.processElement(new StreamRecord<>(1, 15L));
+		localHarness.processWatermark(new Watermark(20L));
+		localHarness.close();
+
+		KeyedOneInputStreamOperatorTestHarness<Integer, Tuple2<Integer, Long>, Long> mergeHarness =
+			new KeyedOneInputStreamOperatorTestHarness<>(mergeOperator, new PartialAggregateKeySelector(), BasicTypeInfo.INT_TYPE_INFO);
+		mergeHarness.open();
+
+		boolean receivedPartialAggregates = false;
+		for (Object element : localHarness.getOutput()) {
+			if (element instanceof Watermark) {
+				mergeHarness.processWatermark((Watermark) element);
+			} else {
+				@SuppressWarnings("unchecked")
+				StreamRecord<Tuple2<Integer, Long>> record = (StreamRecord<Tuple2<Integer, Long>>) element;
+				mergeHarness.processElement(record);
+				receivedPartialAggregates = true;
+			}
+		}
+		assertTrue(receivedPartialAggregates);
+
+		ConcurrentLinkedQueue<Object> expectedOutput = new ConcurrentLinkedQueue<>();
+		expectedOutput.add(new Watermark(5L));
+		// the partial accumulators of the key 1 are only merged with those of the same window
+		expectedOutput.add(new StreamRecord<>(2L, 9L));
+		expectedOutput.add(new StreamRecord<>(33L, 9L));
+		expectedOutput.add(new StreamRecord<>(22L, 19L));
+		expectedOutput.add(new Watermark(20L));
+
+		TestHarnessUtil.assertOutputEqualsSorted(
+			"Output was not correct.", expectedOutput, mergeHarness.getOutput(), new ResultComparator());
+
+		mergeHarness.close();
+	}
+
+	private static class SumAggregator implements AggregateFunction<Integer, Long, Long> {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		public Long createAccumulator() {
+			return 0L;
+		}
+
+		@Override
+		public Long add(Integer value, Long accumulator) {
+			return accumulator + value;
+		}
+
+		@Override
+		public Long getResult(Long accumulator) {
+			return accumulator;
+		}
+
+		@Override
+		public Long merge(Long a, Long b) {
+			return a + b;
+		}
+	}
+
+	private static class LastDigitKeySelector implements KeySelector<Integer, Integer> {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		public Integer getKey(Integer value) throws Exception {
+			return value % 10;
+		}
+	}
+
+	private static class PartialAggregateKeySelector implements KeySelector<Tuple2<Integer, Long>, Integer> {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		public Integer getKey(Tuple2<Integer, Long> value) throws Exception {
+			return value.f0;
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static class PartialAggregateComparator implements Comparator<Object> {
+		@Override
+		public int compare(Object o1, Object o2) {
+			Tuple2<Integer, Long> t1 = ((StreamRecord<Tuple2<Integer, Long>>) o1).getValue();
+			Tuple2<Integer, Long> t2 = ((StreamRecord<Tuple2<Integer, Long>>) o2).getValue();
+			return Integer.compare(t1.f0, t2.f0);
+		}
+	}
+
+	private static class PartialAggregateTimestampComparator implements Comparator<Object> {
+		@Override
+		public int compare(Object o1, Object o2) {
+			return Long.compare(((StreamRecord<?>) o1).getTimestamp(), ((StreamRecord<?>) o2).getTimestamp());
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static class ResultComparator implements Comparator<Object> {
+		@Override
+		public int compare(Object o1, Object o2) {
+			StreamRecord<Long> r1 = (StreamRecord<Long>) o1;
+			StreamRecord<Long> r2 = (StreamRecord<Long>) o2;
+			int comparison = Long.compare(r1.getTimestamp(), r2.getTimestamp());
+			return comparison != 0 ? comparison : Long.compare(r1.getValue(), r2.getValue());
+		}
+	}
+}
@@ -0,0 +1,201 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.streaming.api.operators;
+
+import org.apache.flink.api.common.functions.ReduceFunction;
+import org.apache.flink.api.common.typeinfo.BasicTypeInfo;
+import org.apache.flink.api.common.typeutils.base.IntSerializer;
+import org.apache.flink.api.java.functions.KeySelector;
+import org.apache.flink.runtime.checkpoint.OperatorSubtaskState;
+import org.apache.flink.streaming.api.watermark.Watermark;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.streaming.util.KeyedOneInputStreamOperatorTestHarness;
+import org.apache.flink.streaming.util.OneInputStreamOperatorTestHarness;
+import org.apache.flink.streaming.util.TestHarnessUtil;
+import org.apache.flink.util.TestLogger;
+
+import org.junit.Test;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link MiniBatchStreamGroupedReduce}.
+ */
+public class MiniBatchStreamGroupedReduceTest extends TestLogger {
+
+	@Test
+	public void testFlushOnMaxBatchSize() throws Exception {
+		MiniBatchStreamGroupedReduce<Integer, Integer> operator = createOperator(Long.MAX_VALUE / 2, 4);
+		OneInputStreamOperatorTestHarness<Integer, Integer> testHarness = createTestHarness(operator);
+
+		testHarness.open();
+
+		testHarness.processElement(new StreamRecord<>(1, 1L));
+		testHarness.processElement(new StreamRecord<>(2, 2L));
+		testHarness.processElement(new StreamRecord<>(1, 3L));
+
+		assertTrue(testHarness.getOutput().isEmpty());
+		assertEquals(3L, operator.getNumBufferedElements());
+
+		testHarness.processElement(new StreamRecord<>(2, 4L));
+		assertEquals(0L, operator.getNumBufferedElements());
+
+		testHarness.processElement(new StreamRecord<>(1, 5L));
+		testHarness.processElement(new StreamRecord<>(1, 6L));
+		testHarness.processElement(new StreamRecord<>(3, 7L));
+		testHarness.processElement(new StreamRecord<>(2, 8L));
+
+		ConcurrentLinkedQueue<Object> expectedOutput = new ConcurrentLinkedQueue<>();
+		// one element per key and mini-batch, with the timestamp of the last element of the key
+		expectedOutput.add(new StreamRecord<>(2, 3L));
+		expectedOutput.add(new StreamRecord<>(4, 4L));
+		expectedOutput.add(new StreamRecord<>(4, 6L));
+		expectedOutput.add(new StreamRecord<>(3, 7L));
+		expectedOutput.add(new StreamRecord<>(6, 8L));
+
+		TestHarnessUtil.assertOutputEquals("Output was not correct.", expectedOutput, testHarness.getOutput());
+
+		testHarness.close();
+	}
+
+	@Test
+	public void testFlushOnMaxLatency() throws Exception {
+		MiniBatchStreamGroupedReduce<Integer, Integer> operator = createOperator(100L, 1000);
+		OneInputStreamOperatorTestHarness<Integer, Integer> testHarness = createTestHarness(operator);
+
+		testHarness.setProcessingTime(0L);
+		testHarness.open();
+
+		testHarness.processElement(new StreamRecord<>(1, 1L));
+		testHarness.setProcessingTime(50L);
+		testHarness.processElement(new StreamRecord<>(1, 2L));
+		testHarness.setProcessingTime(99L);
+
+		assertTrue(testHarness.getOutput().isEmpty());
+
+		testHarness.setProcessingTime(100L);
+
+		// the next mini-batch starts a new timer
+		testHarness.processElement(new StreamRecord<>(1, 3L));
+		testHarness.setProcessingTime(199L);
+		assertEquals(1L, operator.getNumBufferedElements());
+		testHarness.setProcessingTime(200L);
+
+		ConcurrentLinkedQueue<Object> expectedOutput = new ConcurrentLinkedQueue<>();
+		expectedOutput.add(new StreamRecord<>(2, 2L));
+		expectedOutput.add(new StreamRecord<>(3, 3L));
+
+		TestHarnessUtil.assertOutputEquals("Output was not correct.", expectedOutput, testHarness.getOutput());
+
+		testHarness.close();
+	}
+
+	@Test
+	public void testFlushBeforeWatermark() throws Exception {
+		MiniBatchStreamGroupedReduce<Integer, Integer> operator = createOperator(Long.MAX_VALUE / 2, 1000);
+		OneInputStreamOperatorTestHarness<Integer, Integer> testHarness = createTestHarness(operator);
+
+		testHarness.open();
+
+		testHarness.processElement(new StreamRecord<>(1, 1L));
+		testHarness.processElement(new StreamRecord<>(1, 2L));
+		testHarness.processWatermark(new Watermark(2L));
+		testHarness.processElement(new StreamRecord<>(2, 3L));
+		testHarness.close();
+
+		ConcurrentLinkedQueue<Object> expectedOutput = new ConcurrentLinkedQueue<>();
+		expectedOutput.add(new StreamRecord<>(2, 2L));
+		expectedOutput.add(new Watermark(2L));
+		// the remaining elements are flushed on close
+		expectedOutput.add(new StreamRecord<>(2, 3L));
+
+		TestHarnessUtil.assertOutputEquals("Output was not correct.", expectedOutput, testHarness.getOutput());
+	}
+
+	/**
+	 * Verifies that the mini-batch is flushed before a checkpoint barrier, and that the state can
+	 * be restored by a {@link StreamGroupedReduce}.
+	 */
+	@Test
+	public void testFlushBeforeSnapshotAndStateCompatibility() throws Exception {
+		MiniBatchStreamGroupedReduce<Integer, Integer> operator = createOperator(Long.MAX_VALUE / 2, 1000);
+		OneInputStreamOperatorTestHarness<Integer, Integer> testHarness = createTestHarness(operator);
+
+		testHarness.open();
+
+		testHarness.processElement(new StreamRecord<>(1, 1L));
+		testHarness.processElement(new StreamRecord<>(1, 2L));
+
+		operator.prepareSnapshotPreBarrier(1L);
+		assertEquals(0L, operator.getNumBufferedElements());
+
+		OperatorSubtaskState snapshot = testHarness.snapshot(1L, 3L);
+		testHarness.close();
+
+		ConcurrentLinkedQueue<Object> expectedOutput = new ConcurrentLinkedQueue<>();
+		expectedOutput.add(new StreamRecord<>(2, 2L));
+		TestHarnessUtil.assertOutputEquals("Output was not correct.", expectedOutput, testHarness.getOutput());
+
+		OneInputStreamOperatorTestHarness<Integer, Integer> restoredHarness = createTestHarness(
+			new StreamGroupedReduce<>(new SumReducer(), IntSerializer.INSTANCE));
+
+		restoredHarness.initializeState(snapshot);
+		restoredHarness.open();
+
+		restoredHarness.processElement(new StreamRecord<>(1, 4L));
+
+		expectedOutput.clear();
+		expectedOutput.add(new StreamRecord<>(3, 4L));
+		TestHarnessUtil.assertOutputEquals("Output was not correct.", expectedOutput, restoredHarness.getOutput());
+
+		restoredHarness.close();
+	}
+
+	// ------------------------------------------------------------------------
+
+	private static MiniBatchStreamGroupedReduce<Integer, Integer> createOperator(long maxLatency, long maxBatchSize) {
+		return new MiniBatchStreamGroupedReduce<>(new SumReducer(), IntSerializer.INSTANCE, maxLatency, maxBatchSize);
+	}
+
+	private static OneInputStreamOperatorTestHarness<Integer, Integer> createTestHarness(
+			OneInputStreamOperator<Integer, Integer> operator) throws Exception {
+		return new KeyedOneInputStreamOperatorTestHarness<>(operator, new IntegerKeySelector(), BasicTypeInfo.INT_TYPE_INFO);
+	}
+
+	private static class SumReducer implements ReduceFunction<Integer> {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		public Integer reduce(Integer value1, Integer value2) throws Exception {
+			return value1 + value2;
+		}
+	}
+
+	private static class IntegerKeySelector implements KeySelector<Integer, Integer> {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		public Integer getKey(Integer value) throws Exception {
+			return value;
+		}
+	}
+}
@@ -23,6 +23,7 @@ import org.apache.flink.annotation.Internal;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.PriorityQueue;
 import java.util.Set;
@@ -108,6 +109,34 @@ public class TestInternalTimerService<K, N> implements InternalTimerService<N> {
 		}
 	}
 
+	@Override
+	public void deleteTimersForCurrentKey() {
+		Object key = keyContext.getCurrentKey();
+		deleteTimers(processingTimeTimers, processingTimeTimersQueue, key, Long.MAX_VALUE);
+		deleteTimers(watermarkTimers, watermarkTimersQueue, key, Long.MAX_VALUE);
+	}
+
+	@Override
+	public void deleteProcessingTimeTimersBefore(long time) {
+		deleteTimers(processingTimeTimers, processingTimeTimersQueue, null, time);
+	}
+
+	@Override
+	public void deleteEventTimeTimersBefore(long time) {
+		deleteTimers(watermarkTimers, watermarkTimersQueue, null, time);
+	}
+
+	private void deleteTimers(Set<Timer<K, N>> timers, PriorityQueue<Timer<K, N>> queue, Object key, long time) {
+		Iterator<Timer<K, N>> iterator = timers.iterator();
+		while (iterator.hasNext()) {
+			Timer<K, N> timer = iterator.next();
+			if ((key == null || key.equals(timer.key)) && timer.timestamp < time) {
+				iterator.remove();
+				queue.remove(timer);
+			}
+		}
+	}
+
 	public Collection<Timer<K, N>> advanceProcessingTime(long time) throws Exception {
 		List<Timer<K, N>> result = new ArrayList<>();
 
@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.streaming.api.operators.async;
+
+import org.apache.flink.util.TestLogger;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for {@link AdaptiveCapacity}.
+ */
+public class AdaptiveCapacityTest extends TestLogger {
+
+	@Test
+	public void testIncreaseWithStableLatency() {
+		AdaptiveCapacity adaptiveCapacity = new AdaptiveCapacity(1, 10);
+		assertEquals(1, adaptiveCapacity.getCapacity());
+
+		int previousCapacity = adaptiveCapacity.getCapacity();
+		for (int i = 0; i < 100; i++) {
+			adaptiveCapacity.onCompletion(100L, false);
+
+			// the capacity never jumps
+			assertEquals(previousCapacity, adaptiveCapacity.getCapacity(), 1);
+			previousCapacity = adaptiveCapacity.getCapacity();
+		}
+
+		assertEquals(10, adaptiveCapacity.getCapacity());
+	}
+
+	@Test
+	public void testDecreaseWithGrowingLatency() {
+		AdaptiveCapacity adaptiveCapacity = new AdaptiveCapacity(1, 10);
+		for (int i = 0; i < 100; i++) {
+			adaptiveCapacity.onCompletion(100L, false);
+		}
+		assertEquals(10, adaptiveCapacity.getCapacity());
+
+		adaptiveCapacity.onCompletion(100L * 3, false);
+		assertEquals(9, adaptiveCapacity.getCapacity());
+
+		// the capacity is decreased at most once per capacity completions
+		for (int i = 0; i < 8; i++) {
+			adaptiveCapacity.onCompletion(100L * 3, false);
+			assertEquals(9, adaptiveCapacity.getCapacity());
+		}
+
+		adaptiveCapacity.onCompletion(100L * 3, false);
+		assertEquals(8, adaptiveCapacity.getCapacity());
+
+		// latencies within the tolerance increase the capacity again
+		for (int i = 0; i < 100; i++) {
+			adaptiveCapacity.onCompletion(150L, false);
+		}
+		assertEquals(10, adaptiveCapacity.getCapacity());
+	}
+
+	@Test
+	public void testDecreaseOnFailureDownToMinimum() {
+		AdaptiveCapacity adaptiveCapacity = new AdaptiveCapacity(5, 10);
+		for (int i = 0; i < 100; i++) {
+			adaptiveCapacity.onCompletion(100L, false);
+		}
+		assertEquals(10, adaptiveCapacity.getCapacity());
+
+		for (int i = 0; i < 1000; i++) {
+			adaptiveCapacity.onCompletion(100L, true);
+		}
+		assertEquals(5, adaptiveCapacity.getCapacity());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidCapacities() {
+		new AdaptiveCapacity(10, 5);
+	}
+}
@@ -39,8 +39,10 @@ import org.apache.flink.runtime.operators.testutils.MockEnvironmentBuilder;
 import org.apache.flink.runtime.operators.testutils.MockInputSplitProvider;
 import org.apache.flink.runtime.state.TestTaskStateManager;
 import org.apache.flink.streaming.api.datastream.AsyncDataStream;
+import org.apache.flink.streaming.api.datastream.AsyncWaitOptions;
 import org.apache.flink.streaming.api.datastream.DataStream;
 import org.apache.flink.streaming.api.environment.StreamExecutionEnvironment;
+import org.apache.flink.streaming.api.functions.async.AsyncBatchFunction;
 import org.apache.flink.streaming.api.functions.async.AsyncFunction;
 import org.apache.flink.streaming.api.functions.async.ResultFuture;
 import org.apache.flink.streaming.api.functions.async.RichAsyncFunction;
@@ -51,6 +53,7 @@ import org.apache.flink.streaming.api.operators.async.queue.StreamElementQueue;
 import org.apache.flink.streaming.api.operators.async.queue.StreamElementQueueEntry;
 import org.apache.flink.streaming.api.operators.async.queue.StreamRecordQueueEntry;
 import org.apache.flink.streaming.api.watermark.Watermark;
+import org.apache.flink.streaming.api.windowing.time.Time;
 import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
 import org.apache.flink.streaming.runtime.tasks.OneInputStreamTask;
 import org.apache.flink.streaming.runtime.tasks.OneInputStreamTaskTestHarness;
@@ -77,9 +80,11 @@ import javax.annotation.Nonnull;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Optional;
 import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
@@ -90,6 +95,7 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
@@ -930,6 +936,222 @@ public class AsyncWaitOperatorTest extends TestLogger {
 		}
 	}
 
+	/**
+	 * Tests that failed async operations are retried with an exponential backoff and that the
+	 * result of the successful retry is emitted.
+	 */
+	@Test(timeout = 10000L)
+	public void testRetries() throws Exception {
+		FailingAsyncFunction asyncFunction = new FailingAsyncFunction(2);
+
+		AsyncWaitOperator<Integer, Integer> asyncWaitOperator = new AsyncWaitOperator<>(
+			asyncFunction,
+			TIMEOUT,
+			new AsyncWaitOptions()
+				.setCapacity(2)
+				.setRetries(2, Time.milliseconds(10L), Time.milliseconds(100L)),
+			AsyncDataStream.OutputMode.ORDERED);
+
+		OneInputStreamOperatorTestHarness<Integer, Integer> harness = new OneInputStreamOperatorTestHarness<>(
+			asyncWaitOperator,
+			IntSerializer.INSTANCE);
+
+		harness.setProcessingTime(0L);
+		harness.open();
+
+		synchronized (harness.getCheckpointLock()) {
+			harness.processElement(1, 1L);
+		}
+
+		assertEquals(1, asyncFunction.getNumInvocations());
+
+		// the first retry happens after 10 ms, the second one after another 20 ms
+		harness.setProcessingTime(10L);
+		assertEquals(2, asyncFunction.getNumInvocations());
+
+		harness.setProcessingTime(29L);
+		assertEquals(2, asyncFunction.getNumInvocations());
+
+		harness.setProcessingTime(30L);
+		assertEquals(3, asyncFunction.getNumInvocations());
+
+		synchronized (harness.getCheckpointLock()) {
+			harness.close();
+		}
+
+		ConcurrentLinkedQueue<Object> expectedOutput = new ConcurrentLinkedQueue<>();
+		expectedOutput.add(new StreamRecord<>(1, 1L));
+
+		TestHarnessUtil.assertOutputEquals("Output was not correct.", expectedOutput, harness.getOutput());
+	}
+
+	/**
+	 * Tests that the operator fails once the maximum number of retries is exhausted.
+	 */
+	@Test(timeout = 10000L)
+	public void testExhaustedRetries() throws Exception {
+		FailingAsyncFunction asyncFunction = new FailingAsyncFunction(Integer.MAX_VALUE);
+
+		AsyncWaitOperator<Integer, Integer> asyncWaitOperator = new AsyncWaitOperator<>(
+			asyncFunction,
+			TIMEOUT,
+			new AsyncWaitOptions()
+				.setCapacity(2)
+				.setRetries(1, Time.milliseconds(10L), Time.milliseconds(10L)),
+			AsyncDataStream.OutputMode.UNORDERED);
+
+		final MockEnvironment mockEnvironment = createMockEnvironment();
+		mockEnvironment.setExpectedExternalFailureCause(Throwable.class);
+
+		OneInputStreamOperatorTestHarness<Integer, Integer> harness = new OneInputStreamOperatorTestHarness<>(
+			asyncWaitOperator,
+			IntSerializer.INSTANCE,
+			mockEnvironment);
+
+		harness.setProcessingTime(0L);
+		harness.open();
+
+		synchronized (harness.getCheckpointLock()) {
+			harness.processElement(1, 1L);
+		}
+
+		harness.setProcessingTime(10L);
+		assertEquals(2, asyncFunction.getNumInvocations());
+
+		synchronized (harness.getCheckpointLock()) {
+			harness.close();
+		}
+
+		assertTrue(harness.getEnvironment().getActualExternalFailureCause().isPresent());
+	}
+
+	/**
+	 * AsyncFunction which completes the result with an {@link Exception} for the given number of
+	 * invocations and returns the input afterwards.
+	 */
+	/**
+	 * Tests that the elements are passed to the {@link AsyncBatchFunction} once the batch is full,
+	 * the maximum batch delay has passed or a watermark arrives, and that the results are emitted
+	 * per element.
+	 */
+	@Test(timeout = 10000L)
+	public void testBatching() throws Exception {
+		BatchingAsyncFunction asyncFunction = new BatchingAsyncFunction();
+
+		AsyncWaitOperator<Integer, Integer> asyncWaitOperator = new AsyncWaitOperator<>(
+			asyncFunction,
+			TIMEOUT,
+			new AsyncWaitOptions()
+				.setCapacity(10)
+				.setBatching(3, Time.milliseconds(10L)),
+			AsyncDataStream.OutputMode.ORDERED);
+
+		OneInputStreamOperatorTestHarness<Integer, Integer> harness = new OneInputStreamOperatorTestHarness<>(
+			asyncWaitOperator,
+			IntSerializer.INSTANCE);
+
+		harness.setProcessingTime(0L);
+		harness.open();
+
+		synchronized (harness.getCheckpointLock()) {
+			harness.processElement(1, 1L);
+			harness.processElement(2, 2L);
+			harness.processElement(3, 3L);
+			harness.processElement(4, 4L);
+		}
+
+		assertEquals(Collections.singletonList(Arrays.asList(1, 2, 3)), asyncFunction.getBatches());
+
+		harness.setProcessingTime(9L);
+		assertEquals(1, asyncFunction.getBatches().size());
+
+		harness.setProcessingTime(10L);
+		assertEquals(Arrays.asList(1, 2, 3), asyncFunction.getBatches().get(0));
+		assertEquals(Collections.singletonList(4), asyncFunction.getBatches().get(1));
+
+		synchronized (harness.getCheckpointLock()) {
+			harness.processElement(5, 5L);
+			harness.processWatermark(new Watermark(5L));
+		}
+
+		assertEquals(3, asyncFunction.getBatches().size());
+		assertEquals(Collections.singletonList(5), asyncFunction.getBatches().get(2));
+
+		synchronized (harness.getCheckpointLock()) {
+			harness.close();
+		}
+
+		ConcurrentLinkedQueue<Object> expectedOutput = new ConcurrentLinkedQueue<>();
+		expectedOutput.add(new StreamRecord<>(2, 1L));
+		expectedOutput.add(new StreamRecord<>(4, 2L));
+		expectedOutput.add(new StreamRecord<>(6, 3L));
+		expectedOutput.add(new StreamRecord<>(8, 4L));
+		expectedOutput.add(new StreamRecord<>(10, 5L));
+		expectedOutput.add(new Watermark(5L));
+
+		TestHarnessUtil.assertOutputEquals("Output was not correct.", expectedOutput, harness.getOutput());
+	}
+
+	/**
+	 * Tests that batching cannot be enabled for a function which is not an {@link AsyncBatchFunction}.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testBatchingRequiresBatchFunction() {
+		new AsyncWaitOperator<>(
+			new MyAsyncFunction(),
+			TIMEOUT,
+			new AsyncWaitOptions().setBatching(3, Time.milliseconds(10L)),
+			AsyncDataStream.OutputMode.ORDERED);
+	}
+
+	private static class BatchingAsyncFunction implements AsyncBatchFunction<Integer, Integer> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final List<List<Integer>> batches = new ArrayList<>();
+
+		@Override
+		public void asyncInvokeBatch(List<Integer> inputs, ResultFuture<Collection<Integer>> resultFuture) {
+			batches.add(new ArrayList<>(inputs));
+
+			List<Collection<Integer>> results = new ArrayList<>(inputs.size());
+			for (Integer input : inputs) {
+				results.add(Collections.singletonList(input * 2));
+			}
+			resultFuture.complete(results);
+		}
+
+		List<List<Integer>> getBatches() {
+			return batches;
+		}
+	}
+
+	private static class FailingAsyncFunction implements AsyncFunction<Integer, Integer> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int numFailures;
+
+		private final AtomicInteger numInvocations = new AtomicInteger();
+
+		private FailingAsyncFunction(int numFailures) {
+			this.numFailures = numFailures;
+		}
+
+		@Override
+		public void asyncInvoke(Integer input, ResultFuture<Integer> resultFuture) throws Exception {
+			if (numInvocations.incrementAndGet() <= numFailures) {
+				resultFuture.completeExceptionally(new Exception("Test exception"));
+			} else {
+				resultFuture.complete(Collections.singletonList(input));
+			}
+		}
+
+		int getNumInvocations() {
+			return numInvocations.get();
+		}
+	}
+
 	/**
 	 * FLINK-6435
 	 *
@@ -41,6 +41,7 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
+import static org.apache.flink.streaming.api.operators.async.queue.StreamElementQueueTest.StreamElementQueueType.LockFreeOrderedStreamElementQueueType;
 import static org.apache.flink.streaming.api.operators.async.queue.StreamElementQueueTest.StreamElementQueueType.OrderedStreamElementQueueType;
 import static org.apache.flink.streaming.api.operators.async.queue.StreamElementQueueTest.StreamElementQueueType.UnorderedStreamElementQueueType;
 import static org.mockito.Matchers.any;
@@ -80,12 +81,13 @@ public class StreamElementQueueTest extends TestLogger {
 
 	enum StreamElementQueueType {
 		OrderedStreamElementQueueType,
-		UnorderedStreamElementQueueType
+		UnorderedStreamElementQueueType,
+		LockFreeOrderedStreamElementQueueType
 	}
 
 	@Parameterized.Parameters
 	public static Collection<StreamElementQueueType> streamElementQueueTypes() {
-		return Arrays.asList(OrderedStreamElementQueueType, UnorderedStreamElementQueueType);
+		return Arrays.asList(OrderedStreamElementQueueType, UnorderedStreamElementQueueType, LockFreeOrderedStreamElementQueueType);
 	}
 
 	private final StreamElementQueueType streamElementQueueType;
@@ -100,6 +102,8 @@ public class StreamElementQueueTest extends TestLogger {
 				return new OrderedStreamElementQueue(capacity, executor, operatorActions);
 			case UnorderedStreamElementQueueType:
 				return new UnorderedStreamElementQueue(capacity, executor, operatorActions);
+			case LockFreeOrderedStreamElementQueueType:
+				return new LockFreeOrderedStreamElementQueue(capacity);
 			default:
 				throw new IllegalStateException("Unknown stream element queue type: " + streamElementQueueType);
 		}
@@ -160,6 +164,29 @@ public class StreamElementQueueTest extends TestLogger {
 		verify(operatorActions, never()).failOperator(any(Exception.class));
 	}
 
+	@Test
+	public void testTryPeek() throws InterruptedException {
+		OperatorActions operatorActions = mock(OperatorActions.class);
+		StreamElementQueue queue = createStreamElementQueue(2, operatorActions);
+
+		Assert.assertNull(queue.tryPeek());
+
+		StreamRecordQueueEntry<Integer> streamRecordQueueEntry = new StreamRecordQueueEntry<>(new StreamRecord<>(42, 1L));
+		queue.put(streamRecordQueueEntry);
+
+		// the entry is not completed yet
+		Assert.assertNull(queue.tryPeek());
+
+		streamRecordQueueEntry.complete(Collections.<Integer>emptyList());
+
+		// the completion may be handled asynchronously
+		Assert.assertEquals(streamRecordQueueEntry, queue.peekBlockingly());
+		Assert.assertEquals(streamRecordQueueEntry, queue.tryPeek());
+		Assert.assertEquals(1, queue.size());
+
+		verify(operatorActions, never()).failOperator(any(Exception.class));
+	}
+
 	/**
 	 * Tests that a put operation blocks if the queue is full.
 	 */
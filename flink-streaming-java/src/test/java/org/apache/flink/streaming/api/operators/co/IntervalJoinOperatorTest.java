@@ -60,15 +60,18 @@ public class IntervalJoinOperatorTest {
 
 	private final boolean lhsFasterThanRhs;
 
-	@Parameters(name = "lhs faster than rhs: {0}")
+	private final boolean sortedBuffers;
+
+	@Parameters(name = "lhs faster than rhs: {0}, sorted buffers: {1}")
 	public static Collection<Object[]> data() {
 		return Arrays.asList(new Object[][]{
-			{true}, {false}
+			{true, false}, {false, false}, {true, true}, {false, true}
 		});
 	}
 
-	public IntervalJoinOperatorTest(boolean lhsFasterThanRhs) {
+	public IntervalJoinOperatorTest(boolean lhsFasterThanRhs, boolean sortedBuffers) {
 		this.lhsFasterThanRhs = lhsFasterThanRhs;
+		this.sortedBuffers = sortedBuffers;
 	}
 
 	@Test
@@ -658,7 +661,8 @@ public class IntervalJoinOperatorTest {
 				upperBoundInclusive,
 				TestElem.serializer(),
 				TestElem.serializer(),
-				new PassthroughFunction()
+				new PassthroughFunction(),
+				sortedBuffers
 			);
 
 		return new TestHarness(
@@ -682,7 +686,8 @@ public class IntervalJoinOperatorTest {
 				upperBoundInclusive,
 				TestElem.serializer(),
 				TestElem.serializer(),
-				new PassthroughFunction()
+				new PassthroughFunction(),
+				sortedBuffers
 			);
 
 		TestHarness t = new TestHarness(
@@ -227,6 +227,7 @@ public abstract class BarrierBufferTestBase {
 		assertEquals(2L, handler.getNextExpectedCheckpointId());
 		validateAlignmentTime(startTs, buffer.getAlignmentDurationNanos());
 		validateAlignmentBuffered(handler.getLastReportedBytesBufferedInAlignment(), sequence[5], sequence[6]);
+		assertEquals(0, handler.getLastReportedCheckpointMetrics().getLastAlignedChannelIndex());
 
 		check(sequence[6], buffer.getNextNonBlocked(), PAGE_SIZE);
 
@@ -244,6 +245,7 @@ public abstract class BarrierBufferTestBase {
 		assertEquals(3L, handler.getNextExpectedCheckpointId());
 		validateAlignmentTime(startTs, buffer.getAlignmentDurationNanos());
 		validateAlignmentBuffered(handler.getLastReportedBytesBufferedInAlignment());
+		assertEquals(2, handler.getLastReportedCheckpointMetrics().getLastAlignedChannelIndex());
 
 		check(sequence[18], buffer.getNextNonBlocked(), PAGE_SIZE);
 
@@ -291,6 +293,43 @@ public abstract class BarrierBufferTestBase {
 		buffer.cleanup();
 	}
 
+	/**
+	 * Validates that the delay until the first barrier, the delay until the last barrier and the
+	 * channel of the last barrier are reported with the checkpoint.
+	 */
+	@Test
+	public void testBarrierPropagationMetrics() throws Exception {
+		final long triggerTimestamp = System.currentTimeMillis() - 10_000L;
+
+		BufferOrEvent[] sequence = {
+			createBarrier(1, triggerTimestamp, 1),
+			createBuffer(0, PAGE_SIZE),
+			createBarrier(1, triggerTimestamp, 0),
+			createEndOfPartition(0), createEndOfPartition(1)
+		};
+
+		MockInputGate gate = new MockInputGate(PAGE_SIZE, 2, Arrays.asList(sequence));
+		BarrierBuffer buffer = createBarrierHandler(gate);
+
+		ValidatingCheckpointHandler handler = new ValidatingCheckpointHandler();
+		buffer.registerCheckpointEventHandler(handler);
+		handler.setNextExpectedCheckpointId(1L);
+
+		check(sequence[1], buffer.getNextNonBlocked(), PAGE_SIZE);
+		assertEquals(1L, handler.getNextExpectedCheckpointId());
+
+		check(sequence[3], buffer.getNextNonBlocked(), PAGE_SIZE);
+		assertEquals(2L, handler.getNextExpectedCheckpointId());
+
+		final CheckpointMetrics checkpointMetrics = handler.getLastReportedCheckpointMetrics();
+		assertTrue(checkpointMetrics.getCheckpointStartDelayNanos() >= 10_000L * 1_000_000L);
+		assertEquals(checkpointMetrics.getCheckpointStartDelayNanos(), buffer.getCheckpointStartDelayNanos());
+		assertTrue(checkpointMetrics.getBarrierPropagationNanos() >= checkpointMetrics.getCheckpointStartDelayNanos());
+		assertEquals(0, checkpointMetrics.getLastAlignedChannelIndex());
+
+		buffer.cleanup();
+	}
+
 	@Test
 	public void testMultiChannelTrailingBlockedData() throws Exception {
 		BufferOrEvent[] sequence = {
@@ -1285,8 +1324,12 @@ public abstract class BarrierBufferTestBase {
 	// ------------------------------------------------------------------------
 
 	private static BufferOrEvent createBarrier(long checkpointId, int channel) {
+		return createBarrier(checkpointId, System.currentTimeMillis(), channel);
+	}
+
+	private static BufferOrEvent createBarrier(long checkpointId, long timestamp, int channel) {
 		return new BufferOrEvent(new CheckpointBarrier(
-			checkpointId, System.currentTimeMillis(), CheckpointOptions.forCheckpointWithDefaultLocation()), channel);
+			checkpointId, timestamp, CheckpointOptions.forCheckpointWithDefaultLocation()), channel);
 	}
 
 	private static BufferOrEvent createCancellationBarrier(long checkpointId, int channel) {
@@ -1346,6 +1389,7 @@ public abstract class BarrierBufferTestBase {
 
 		private long nextExpectedCheckpointId = -1L;
 		private long lastReportedBytesBufferedInAlignment = -1;
+		private CheckpointMetrics lastReportedCheckpointMetrics;
 
 		public ValidatingCheckpointHandler() {
 			super(new DummyEnvironment("test", 1, 0));
@@ -1363,6 +1407,10 @@ public abstract class BarrierBufferTestBase {
 			return lastReportedBytesBufferedInAlignment;
 		}
 
+		CheckpointMetrics getLastReportedCheckpointMetrics() {
+			return lastReportedCheckpointMetrics;
+		}
+
 		@Override
 		public void invoke() {
 			throw new UnsupportedOperationException();
@@ -1386,9 +1434,13 @@ public abstract class BarrierBufferTestBase {
 			assertTrue(checkpointMetaData.getTimestamp() > 0);
 			assertTrue(checkpointMetrics.getBytesBufferedInAlignment() >= 0);
 			assertTrue(checkpointMetrics.getAlignmentDurationNanos() >= 0);
+			assertTrue(checkpointMetrics.getCheckpointStartDelayNanos() >= 0);
+			assertTrue(checkpointMetrics.getBarrierPropagationNanos() >= checkpointMetrics.getCheckpointStartDelayNanos());
+			assertTrue(checkpointMetrics.getLastAlignedChannelIndex() >= 0);
 
 			nextExpectedCheckpointId++;
 			lastReportedBytesBufferedInAlignment = checkpointMetrics.getBytesBufferedInAlignment();
+			lastReportedCheckpointMetrics = checkpointMetrics;
 		}
 
 		@Override
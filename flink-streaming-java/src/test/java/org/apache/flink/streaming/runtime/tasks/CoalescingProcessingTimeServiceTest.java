@@ -0,0 +1,276 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.streaming.runtime.tasks;
+
+import org.apache.flink.streaming.runtime.operators.TestProcessingTimeServiceTest.ReferenceSettingExceptionHandler;
+import org.apache.flink.util.TestLogger;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for {@link CoalescingProcessingTimeService}.
+ */
+public class CoalescingProcessingTimeServiceTest extends TestLogger {
+
+	@Test(timeout = 10000)
+	public void testTimersAreFiredInOneTick() throws Exception {
+		final Object lock = new Object();
+		final AtomicReference<Throwable> errorRef = new AtomicReference<>();
+
+		final CoalescingProcessingTimeService timer = new CoalescingProcessingTimeService(
+			new ReferenceSettingExceptionHandler(errorRef), lock, null, 100L);
+
+		try {
+			final AtomicInteger numFired = new AtomicInteger();
+			final List<ScheduledFuture<?>> futures = new ArrayList<>();
+
+			// hold the lock so that no timer can fire before all of them are registered
+			synchronized (lock) {
+				final long now = timer.getCurrentProcessingTime();
+
+				for (int i = 0; i < 100; i++) {
+					final long timestamp = now + (i % 10);
+					futures.add(timer.registerTimer(timestamp, new ProcessingTimeCallback() {
+						@Override
+						public void onProcessingTime(long time) {
+							assertTrue(Thread.holdsLock(lock));
+							assertEquals(timestamp, time);
+							assertTrue(timer.getCurrentProcessingTime() > timestamp);
+							numFired.incrementAndGet();
+						}
+					}));
+				}
+
+				// one tick for all timers instead of one task per timer
+				assertEquals(1, timer.getNumTasksScheduled());
+				assertEquals(100, timer.getNumTimers());
+			}
+
+			for (ScheduledFuture<?> future : futures) {
+				future.get();
+			}
+
+			assertEquals(100, numFired.get());
+			assertEquals(0, timer.getNumTimers());
+
+			// check that no asynchronous error was reported
+			if (errorRef.get() != null) {
+				throw new Exception(errorRef.get());
+			}
+		}
+		finally {
+			timer.shutdownService();
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void testEarlierTimerReplacesTick() throws Exception {
+		final Object lock = new Object();
+		final AtomicReference<Throwable> errorRef = new AtomicReference<>();
+
+		final CoalescingProcessingTimeService timer = new CoalescingProcessingTimeService(
+			new ReferenceSettingExceptionHandler(errorRef), lock, null, 10L);
+
+		try {
+			final long now = timer.getCurrentProcessingTime();
+
+			final ScheduledFuture<?> lateFuture = timer.registerTimer(now + 3600_000L, new ProcessingTimeCallback() {
+				@Override
+				public void onProcessingTime(long timestamp) {}
+			});
+			final ScheduledFuture<?> earlyFuture = timer.registerTimer(now, new ProcessingTimeCallback() {
+				@Override
+				public void onProcessingTime(long timestamp) {}
+			});
+
+			earlyFuture.get();
+
+			// the tick is complete once we hold the lock
+			synchronized (lock) {
+				assertFalse(lateFuture.isDone());
+				assertEquals(1, timer.getNumTimers());
+				assertEquals(1, timer.getNumTasksScheduled());
+			}
+
+			// check that no asynchronous error was reported
+			if (errorRef.get() != null) {
+				throw new Exception(errorRef.get());
+			}
+		}
+		finally {
+			timer.shutdownService();
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void testCancelledTimerDoesNotFire() throws Exception {
+		final Object lock = new Object();
+		final AtomicReference<Throwable> errorRef = new AtomicReference<>();
+
+		final CoalescingProcessingTimeService timer = new CoalescingProcessingTimeService(
+			new ReferenceSettingExceptionHandler(errorRef), lock, null, 10L);
+
+		try {
+			final long now = timer.getCurrentProcessingTime();
+
+			final ScheduledFuture<?> cancelledFuture = timer.registerTimer(now + 100L, new ProcessingTimeCallback() {
+				@Override
+				public void onProcessingTime(long timestamp) {
+					fail("The timer was cancelled.");
+				}
+			});
+			final ScheduledFuture<?> future = timer.registerTimer(now + 101L, new ProcessingTimeCallback() {
+				@Override
+				public void onProcessingTime(long timestamp) {}
+			});
+
+			assertTrue(cancelledFuture.cancel(false));
+			assertTrue(cancelledFuture.isCancelled());
+
+			// the cancelled timer stays in the queue until it is due
+			assertEquals(1, timer.getNumTimers());
+			assertEquals(2, timer.getQueueSize());
+
+			future.get();
+
+			assertTrue(future.isDone());
+			assertFalse(future.isCancelled());
+			assertEquals(0, timer.getQueueSize());
+
+			// check that no asynchronous error was reported
+			if (errorRef.get() != null) {
+				throw new Exception(errorRef.get());
+			}
+		}
+		finally {
+			timer.shutdownService();
+		}
+	}
+
+	@Test
+	public void testCancelledTimersAreRemoved() throws Exception {
+		final Object lock = new Object();
+		final AtomicReference<Throwable> errorRef = new AtomicReference<>();
+
+		final CoalescingProcessingTimeService timer = new CoalescingProcessingTimeService(
+			new ReferenceSettingExceptionHandler(errorRef), lock, null, 10L);
+
+		try {
+			final long now = timer.getCurrentProcessingTime();
+			final List<ScheduledFuture<?>> futures = new ArrayList<>();
+
+			for (int i = 0; i < 1000; i++) {
+				futures.add(timer.registerTimer(now + 3600_000L + i, new ProcessingTimeCallback() {
+					@Override
+					public void onProcessingTime(long timestamp) {
+						fail("The timer was cancelled.");
+					}
+				}));
+			}
+			assertEquals(1000, timer.getNumTimers());
+
+			// cancel every other timer, starting with the earliest one
+			for (int i = 0; i < futures.size(); i += 2) {
+				assertTrue(futures.get(i).cancel(false));
+				// the cancelled timers are removed lazily, but never make up more than half of the queue
+				assertTrue(timer.getQueueSize() <= 2 * timer.getNumTimers());
+			}
+			assertEquals(500, timer.getNumTimers());
+
+			// cancelling a timer twice has no effect
+			assertFalse(futures.get(0).cancel(false));
+			assertEquals(500, timer.getNumTimers());
+
+			for (int i = 1; i < futures.size(); i += 2) {
+				assertTrue(futures.get(i).cancel(false));
+				assertTrue(timer.getQueueSize() <= 2 * timer.getNumTimers());
+			}
+			assertEquals(0, timer.getNumTimers());
+			assertEquals(0, timer.getQueueSize());
+
+			// check that no asynchronous error was reported
+			if (errorRef.get() != null) {
+				throw new Exception(errorRef.get());
+			}
+		}
+		finally {
+			timer.shutdownService();
+		}
+	}
+
+	@Test
+	public void testQuiescingClearsTimers() throws Exception {
+		final Object lock = new Object();
+		final AtomicReference<Throwable> errorRef = new AtomicReference<>();
+
+		final CoalescingProcessingTimeService timer = new CoalescingProcessingTimeService(
+			new ReferenceSettingExceptionHandler(errorRef), lock, null, 10L);
+
+		try {
+			timer.registerTimer(timer.getCurrentProcessingTime() + 3600_000L, new ProcessingTimeCallback() {
+				@Override
+				public void onProcessingTime(long timestamp) {}
+			});
+			assertEquals(1, timer.getNumTimers());
+
+			timer.quiesce();
+			timer.awaitPendingAfterQuiesce();
+
+			assertEquals(0, timer.getNumTimers());
+
+			// registering after quiescing is possible, but the timers never fire
+			ScheduledFuture<?> future = timer.registerTimer(timer.getCurrentProcessingTime(), new ProcessingTimeCallback() {
+				@Override
+				public void onProcessingTime(long timestamp) {
+					fail("The timer service is quiesced.");
+				}
+			});
+			Thread.sleep(50L);
+			assertFalse(future.isDone());
+		}
+		finally {
+			timer.shutdownService();
+		}
+
+		assertTrue(timer.shutdownAndAwaitPending(10L, TimeUnit.SECONDS));
+
+		try {
+			timer.registerTimer(timer.getCurrentProcessingTime(), new ProcessingTimeCallback() {
+				@Override
+				public void onProcessingTime(long timestamp) {}
+			});
+			fail("should result in an exception");
+		}
+		catch (IllegalStateException e) {
+			// expected
+		}
+	}
+}
@@ -29,7 +29,6 @@ import org.apache.flink.streaming.api.functions.aggregation.{ComparableAggregato
 import org.apache.flink.streaming.api.functions.co.ProcessJoinFunction
 import org.apache.flink.streaming.api.functions.query.{QueryableAppendingStateOperator, QueryableValueStateOperator}
 import org.apache.flink.streaming.api.functions.{KeyedProcessFunction, ProcessFunction}
-import org.apache.flink.streaming.api.operators.StreamGroupedReduce
 import org.apache.flink.streaming.api.scala.function.StatefulFunction
 import org.apache.flink.streaming.api.windowing.assigners._
 import org.apache.flink.streaming.api.windowing.time.Time
@@ -49,6 +48,38 @@ class KeyedStream[T, K](javaStream: KeyedJavaStream[T, K]) extends DataStream[T]
   @Internal
   def getKeyType = javaStream.getKeyType()
 
+  /**
+   * Enables the mini-batch mode for the non-windowed aggregations of this stream, i.e. for
+   * reduce, sum, min, max, minBy and maxBy.
+   *
+   * In the mini-batch mode, the elements are reduced per key in memory and the state of a key
+   * is read and updated only once per mini-batch. A single result per key and mini-batch is
+   * emitted. The reduce function must be associative.
+   *
+   * A mini-batch is flushed once it contains the given maximum number of elements, once the
+   * given maximum latency has passed since its first element arrived, and before watermarks and
+   * checkpoint barriers are forwarded.
+   */
+  @PublicEvolving
+  def enableMiniBatch(maxLatency: Time, maxBatchSize: Long): KeyedStream[T, K] = {
+    javaStream.enableMiniBatch(maxLatency, maxBatchSize)
+    this
+  }
+
+  /**
+   * Enables the coalescing of the timers of the [[KeyedProcessFunction]]s that are applied to
+   * this stream with process().
+   *
+   * The timestamps of the timers are rounded up to the next multiple of the given interval, so
+   * that all timers of a key that fall into the same interval are deduplicated into a single
+   * timer. Timers fire up to one interval late, with the rounded timestamp.
+   */
+  @PublicEvolving
+  def enableTimerCoalescing(interval: Time): KeyedStream[T, K] = {
+    javaStream.enableTimerCoalescing(interval)
+    this
+  }
+
 
   // ------------------------------------------------------------------------
   //  basic transformations
@@ -173,6 +204,7 @@ class KeyedStream[T, K](javaStream: KeyedJavaStream[T, K]) extends DataStream[T]
 
     private var lowerBoundInclusive = true
     private var upperBoundInclusive = true
+    private var useSortedBuffers = false
 
     /**
       * Set the lower bound to be exclusive
@@ -192,6 +224,19 @@ class KeyedStream[T, K](javaStream: KeyedJavaStream[T, K]) extends DataStream[T]
       this
     }
 
+    /**
+      * Keeps the buffered elements sorted by timestamp, so that the join candidates of an element
+      * are found with a range scan instead of a scan over all buffered elements of its key.
+      *
+      * The sorted buffers are stored as a different kind of state. A savepoint of the join can
+      * therefore only be restored if the sorted buffers are enabled in both jobs or in neither.
+      */
+    @PublicEvolving
+    def sortedBuffers(): IntervalJoined[IN1, IN2, KEY] = {
+      this.useSortedBuffers = true
+      this
+    }
+
     /**
       * Completes the join operation with the user function that is executed for each joined pair
       * of elements.
@@ -209,6 +254,9 @@ class KeyedStream[T, K](javaStream: KeyedJavaStream[T, K]) extends DataStream[T]
         upperBound,
         lowerBoundInclusive,
         upperBoundInclusive)
+      if (useSortedBuffers) {
+        javaJoined.sortedBuffers()
+      }
       asScalaStream(javaJoined.process(processJoinFunction))
     }
   }
@@ -497,9 +545,8 @@ class KeyedStream[T, K](javaStream: KeyedJavaStream[T, K]) extends DataStream[T]
           javaStream.getExecutionConfig)
     }
 
-    val invokable =  new StreamGroupedReduce[T](reducer,
-      getType().createSerializer(getExecutionConfig))
-     
+    val invokable = javaStream.createReduceOperator(reducer)
+
     new DataStream[T](javaStream.transform("aggregation", javaStream.getType(),invokable))
       .asInstanceOf[DataStream[T]]
   }
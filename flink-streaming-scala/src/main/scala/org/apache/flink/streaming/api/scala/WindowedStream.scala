@@ -87,6 +87,20 @@ class WindowedStream[T, K, W <: Window](javaStream: JavaWStream[T, K, W]) {
     this
   }
 
+  /**
+   * Enables pane-based aggregation for the aggregate() operations on this stream.
+   *
+   * Every element is added to the accumulator of exactly one pane instead of to the
+   * accumulators of all windows that contain it. Only supported for tumbling and sliding
+   * time windows with their default trigger and without an evictor. The state is not
+   * compatible with the state of a regular window operation.
+   */
+  @PublicEvolving
+  def enablePaneAggregation(): WindowedStream[T, K, W] = {
+    javaStream.enablePaneAggregation()
+    this
+  }
+
   /**
    * Sets the [[Trigger]] that should be used to trigger window emission.
    */
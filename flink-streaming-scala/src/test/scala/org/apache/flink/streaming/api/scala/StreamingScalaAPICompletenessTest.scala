@@ -57,6 +57,7 @@ class StreamingScalaAPICompletenessTest extends ScalaAPICompletenessTestBase {
       "org.apache.flink.streaming.api.datastream.AllWindowedStream.getInputType",
 
       "org.apache.flink.streaming.api.datastream.KeyedStream.getKeySelector",
+      "org.apache.flink.streaming.api.datastream.KeyedStream.createReduceOperator",
 
       "org.apache.flink.streaming.api.environment.StreamExecutionEnvironment.isChainingEnabled",
       "org.apache.flink.streaming.api.environment.StreamExecutionEnvironment." +
@@ -71,6 +72,11 @@ class StreamingScalaAPICompletenessTest extends ScalaAPICompletenessTestBase {
       // TypeHints are only needed for Java API, Scala API doesn't need them
       "org.apache.flink.streaming.api.datastream.SingleOutputStreamOperator.returns",
 
+      // Local aggregation emits Java tuples and is not yet supported in the Scala API
+      "org.apache.flink.streaming.api.datastream.DataStream.localAggregate",
+      "org.apache.flink.streaming.api.datastream.WindowedStream.mergePartialAggregates",
+      "org.apache.flink.streaming.api.datastream.KeyedStream.mergePartialAggregates",
+
       // Deactivated until Scala API has new windowing API
       "org.apache.flink.streaming.api.datastream.DataStream.timeWindowAll",
       "org.apache.flink.streaming.api.datastream.DataStream.windowAll"
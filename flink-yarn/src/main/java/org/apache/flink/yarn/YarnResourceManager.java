@@ -58,9 +58,12 @@ import org.apache.hadoop.yarn.conf.YarnConfiguration;
 
 import javax.annotation.Nullable;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -115,6 +118,9 @@ public class YarnResourceManager extends ResourceManager<YarnWorkerNode> impleme
 
 	private final Map<ResourceProfile, Integer> resourcePriorities = new HashMap<>();
 
+	/** The hosts which are currently blacklisted at YARN. */
+	private final Set<String> yarnBlacklistedHosts = new HashSet<>();
+
 	public YarnResourceManager(
 			RpcService rpcService,
 			String resourceManagerEndpointId,
@@ -312,6 +318,12 @@ public class YarnResourceManager extends ResourceManager<YarnWorkerNode> impleme
 		return workerNodeMap.get(resourceID);
 	}
 
+	@Override
+	protected String getWorkerHostname(YarnWorkerNode worker) {
+		// blacklisted hosts are passed to YARN, which only knows the node names
+		return worker.getContainer().getNodeId().getHost();
+	}
+
 	// ------------------------------------------------------------------------
 	//  AMRMClientAsync CallbackHandler methods
 	// ------------------------------------------------------------------------
@@ -443,6 +455,8 @@ public class YarnResourceManager extends ResourceManager<YarnWorkerNode> impleme
 	}
 
 	private void requestYarnContainer(Resource resource, Priority priority) {
+		updateYarnBlacklist();
+
 		resourceManagerClient.addContainerRequest(new AMRMClient.ContainerRequest(resource, null, null, priority));
 
 		// make sure we transmit the request fast and receive fast news of granted allocations
@@ -455,6 +469,36 @@ public class YarnResourceManager extends ResourceManager<YarnWorkerNode> impleme
 			numPendingContainerRequests);
 	}
 
+	/**
+	 * Passes the changes of the blacklisted hosts to YARN, so that new containers are not
+	 * allocated on hosts with too many task failures.
+	 */
+	private void updateYarnBlacklist() {
+		final Set<String> blacklistedHosts = getBlacklistedHosts();
+
+		final List<String> additions = new ArrayList<>();
+		for (String host : blacklistedHosts) {
+			if (!yarnBlacklistedHosts.contains(host)) {
+				additions.add(host);
+			}
+		}
+
+		final List<String> removals = new ArrayList<>();
+		for (String host : yarnBlacklistedHosts) {
+			if (!blacklistedHosts.contains(host)) {
+				removals.add(host);
+			}
+		}
+
+		if (!additions.isEmpty() || !removals.isEmpty()) {
+			log.info("Updating the YARN blacklist, adding hosts {} and removing hosts {}.", additions, removals);
+
+			resourceManagerClient.updateBlacklist(additions, removals);
+			yarnBlacklistedHosts.addAll(additions);
+			yarnBlacklistedHosts.removeAll(removals);
+		}
+	}
+
 	private ContainerLaunchContext createTaskExecutorLaunchContext(Resource resource, String containerId, String host)
 			throws Exception {
 		// init the ContainerLaunchContext